@@ -21,12 +21,17 @@ import com.google.cloud.teleport.spanner.ddl.Ddl;
 import com.google.cloud.teleport.spanner.spannerio.SpannerAccessor;
 import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
 import com.google.spanner.admin.database.v1.UpdateDatabaseDdlMetadata;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionView;
 import org.slf4j.Logger;
@@ -41,6 +46,7 @@ class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
   private final SpannerConfig spannerConfig;
   private final PCollectionView<List<String>> pendingDDLStatements;
   private final ValueProvider<Boolean> waitForApply;
+  private final SerializableFunction<Ddl, Collection<String>> statementSelector;
   private static final Logger LOG = LoggerFactory.getLogger(ApplyDDLTransform.class);
 
   /**
@@ -54,9 +60,27 @@ class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
       SpannerConfig spannerConfig,
       PCollectionView<List<String>> pendingDDLStatements,
       ValueProvider<Boolean> waitForApply) {
+    this(spannerConfig, pendingDDLStatements, waitForApply, null);
+  }
+
+  /**
+   * Constructor that applies only a part of the pending DDL statements.
+   *
+   * @param spannerConfig the spanner config for database.
+   * @param pendingDDLStatements the list of pending DDL statements to be applied.
+   * @param waitForApply wait till all the ddl statements are committed.
+   * @param statementSelector returns the statements to apply for the {@link Ddl}, of which only
+   *     the pending ones are applied.
+   */
+  public ApplyDDLTransform(
+      SpannerConfig spannerConfig,
+      PCollectionView<List<String>> pendingDDLStatements,
+      ValueProvider<Boolean> waitForApply,
+      SerializableFunction<Ddl, Collection<String>> statementSelector) {
     this.spannerConfig = spannerConfig;
     this.pendingDDLStatements = pendingDDLStatements;
     this.waitForApply = waitForApply;
+    this.statementSelector = statementSelector;
   }
 
   @Override
@@ -84,6 +108,13 @@ class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
                     DatabaseAdminClient databaseAdminClient =
                         spannerAccessor.getDatabaseAdminClient();
                     List<String> statements = c.sideInput(pendingDDLStatements);
+                    if (statementSelector != null) {
+                      Set<String> selected = new HashSet<>(statementSelector.apply(ddl));
+                      statements =
+                          statements.stream()
+                              .filter(selected::contains)
+                              .collect(Collectors.toList());
+                    }
                     LOG.info("Applying DDL statements: {}", statements);
                     if (!statements.isEmpty()) {
                       // This just kicks off the applying the DDL statements.
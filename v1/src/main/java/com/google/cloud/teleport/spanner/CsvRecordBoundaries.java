@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds record boundaries in a delimited text file from an arbitrary byte offset, so that a file
+ * whose quoted values may contain newlines can be split into shards without first scanning it from
+ * the start.
+ *
+ * <p>The parser state at an arbitrary offset is unknown: it may be inside a quoted value, inside
+ * an unquoted value, right after an escape character and so on. {@link #find} starts from every
+ * possible state at once and follows all of them byte by byte. A state that runs into data the
+ * CSV parser would reject, such as a character after a closing quote, is dropped. The boundary is
+ * placed after the first newline that ends a record in every remaining state, where the true state
+ * is certain to have ended a record as well.
+ *
+ * <p>A file without quotes never rules out the state that started inside a quoted value. As a
+ * heuristic, a quoted value is assumed to be shorter than {@code maxQuotedValueBytes}, and states
+ * which have stayed quoted for longer are dropped. Regions that stay ambiguous are scanned
+ * serially until the states agree, which at worst moves the boundary to the end of the file.
+ *
+ * <p>The boundary found from an offset never precedes the boundary found from an earlier offset,
+ * so shards whose ends are resolved this way never overlap and never leave a gap. The quote,
+ * delimiter and escape characters must be ASCII, which never appear within multi-byte UTF-8
+ * characters.
+ */
+class CsvRecordBoundaries {
+  /** The default for the longest quoted value, in bytes, the boundaries can be found around. */
+  static final long DEFAULT_MAX_QUOTED_VALUE_BYTES = 4 * 1024 * 1024L;
+
+  private static final Logger LOG = LoggerFactory.getLogger(CsvRecordBoundaries.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int FIELD_START = 0;
+  private static final int UNQUOTED = 1;
+  private static final int UNQUOTED_ESCAPED = 2;
+  private static final int QUOTED = 3;
+  private static final int QUOTED_ESCAPED = 4;
+  private static final int QUOTE_IN_QUOTED = 5;
+  private static final int AFTER_QUOTED = 6;
+  private static final int STATES = 7;
+  private static final int INVALID = -1;
+
+  private final long maxQuotedValueBytes;
+  private final int[][] transitions = new int[STATES][256];
+  private final boolean[][] recordEnds = new boolean[STATES][256];
+
+  CsvRecordBoundaries(char quote, char delimiter, Character escape) {
+    this(quote, delimiter, escape, DEFAULT_MAX_QUOTED_VALUE_BYTES);
+  }
+
+  @VisibleForTesting
+  CsvRecordBoundaries(char quote, char delimiter, Character escape, long maxQuotedValueBytes) {
+    this.maxQuotedValueBytes = maxQuotedValueBytes;
+    int escapeByte = (escape == null || escape == 0) ? -1 : escape;
+    for (int state = 0; state < STATES; state++) {
+      for (int b = 0; b < 256; b++) {
+        transitions[state][b] = transition(state, b, quote, delimiter, escapeByte);
+        recordEnds[state][b] = b == '\n' && transitions[state][b] == FIELD_START;
+      }
+    }
+  }
+
+  /** Returns the parser state after reading byte {@code b} in {@code state}. */
+  private static int transition(int state, int b, char quote, char delimiter, int escape) {
+    boolean quoted = state == QUOTED || state == QUOTED_ESCAPED;
+    if (state == UNQUOTED_ESCAPED || state == QUOTED_ESCAPED) {
+      return quoted ? QUOTED : UNQUOTED;
+    }
+    if (quoted) {
+      return b == escape ? QUOTED_ESCAPED : (b == quote ? QUOTE_IN_QUOTED : QUOTED);
+    }
+    if (state == QUOTE_IN_QUOTED && b == quote) {
+      // A quote right after a quote is an escaped quote within the value.
+      return QUOTED;
+    }
+    if (b == delimiter || b == '\n') {
+      return FIELD_START;
+    }
+    if (state == QUOTE_IN_QUOTED || state == AFTER_QUOTED) {
+      // Once the value has ended, only whitespace may precede the next delimiter or newline.
+      return (b == ' ' || b == '\t' || b == '\r') ? AFTER_QUOTED : INVALID;
+    }
+    if (state == FIELD_START && b == quote) {
+      return QUOTED;
+    }
+    return b == escape ? UNQUOTED_ESCAPED : UNQUOTED;
+  }
+
+  /** Returns whether the boundaries can be found for the given quote, delimiter and escape. */
+  static boolean isSupported(char quote, char delimiter, Character escape) {
+    return quote < 0x80 && delimiter < 0x80 && (escape == null || escape < 0x80);
+  }
+
+  /**
+   * Returns the offset of the record boundary for {@code offset}: the start of the file for offset
+   * zero, the end of the file for offsets at or past it, and otherwise the offset right after the
+   * first newline past {@code offset} that ends a record in every possible parser state.
+   */
+  long find(SeekableByteChannel channel, long offset) throws IOException {
+    long size = channel.size();
+    if (offset <= 0) {
+      return 0;
+    }
+    if (offset >= size) {
+      return size;
+    }
+
+    // The length of the quoted value so far for each live state, or -1 if the state is not live.
+    long[] ages = new long[STATES];
+    long[] nextAges = new long[STATES];
+    channel.position(offset);
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    long position = offset;
+    while (true) {
+      buffer.clear();
+      int read = channel.read(buffer);
+      if (read < 0) {
+        LOG.info("No record boundary found after offset {}, using the end of the file", offset);
+        return size;
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        int b = buffer.get() & 0xff;
+        position++;
+        Arrays.fill(nextAges, -1);
+        boolean live = false;
+        boolean recordEnd = true;
+        for (int state = 0; state < STATES; state++) {
+          int next = ages[state] < 0 ? INVALID : transitions[state][b];
+          if (next == INVALID) {
+            continue;
+          }
+          long age = isQuoted(next) ? ages[state] + 1 : 0;
+          if (age > maxQuotedValueBytes) {
+            continue;
+          }
+          live = true;
+          recordEnd &= recordEnds[state][b];
+          if (nextAges[next] < 0 || age < nextAges[next]) {
+            nextAges[next] = age;
+          }
+        }
+        if (!live) {
+          throw new RuntimeException(
+              "Unable to find a record boundary after offset "
+                  + offset
+                  + ", found invalid data at offset "
+                  + (position - 1));
+        }
+        if (recordEnd) {
+          if (position - offset > maxQuotedValueBytes) {
+            LOG.info(
+                "Scanned {} bytes from offset {} to a record boundary", position - offset, offset);
+          }
+          return position;
+        }
+        long[] swap = ages;
+        ages = nextAges;
+        nextAges = swap;
+      }
+    }
+  }
+
+  private static boolean isQuoted(int state) {
+    return state == QUOTED || state == QUOTED_ESCAPED || state == QUOTE_IN_QUOTED;
+  }
+}
@@ -23,6 +23,7 @@ import com.google.cloud.spanner.Dialect;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.teleport.spanner.ddl.ChangeStream;
 import com.google.cloud.teleport.spanner.ddl.Ddl;
+import com.google.cloud.teleport.spanner.ddl.ForeignKey;
 import com.google.cloud.teleport.spanner.ddl.NamedSchema;
 import com.google.cloud.teleport.spanner.ddl.Placement;
 import com.google.cloud.teleport.spanner.ddl.PropertyGraph;
@@ -56,7 +57,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -102,6 +107,10 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ImportTransform.class);
   private static final int MAX_DEPTH = 8;
+  private static final TupleTag<KV<String, String>> PARENT_FILES_TAG =
+      new TupleTag<KV<String, String>>() {};
+  private static final TupleTag<KV<String, String>> LEAF_FILES_TAG =
+      new TupleTag<KV<String, String>>() {};
 
   private final SpannerConfig spannerConfig;
   private final ValueProvider<String> importDirectory;
@@ -215,20 +224,6 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
 
     PCollectionView<Ddl> ddlView = ddl.apply("Cloud Spanner DDL as view", View.asSingleton());
 
-    PCollectionView<HashMultimap<Integer, String>> levelsView =
-        ddl.apply(
-                "Group tables by depth",
-                ParDo.of(
-                    new DoFn<Ddl, HashMultimap<Integer, String>>() {
-
-                      @ProcessElement
-                      public void processElement(ProcessContext c) {
-                        Ddl ddl = c.element();
-                        c.output(ddl.perLevelView());
-                      }
-                    }))
-            .apply(View.asSingleton());
-
     PCollection<HashMultimap<String, String>> acc =
         tableFiles
             .apply("Combine table files", Combine.globally(AsList.fn()))
@@ -247,59 +242,189 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                       }
                     }));
 
+    // Tables are loaded in stages by their level, which is the number of ancestors whose rows must
+    // be written before their own. Each level is written by two stages: one for the tables that
+    // have dependent tables, which the next level waits for, and one for the other tables, which
+    // nothing waits for. Indexes are created as soon as the stage of their table has finished, and
+    // foreign keys as soon as the stages of both their tables have finished.
     PCollection<?> previousComputation = ddl;
+    List<PCollection<?>> leafWrites = new ArrayList<>();
+    List<PCollection<?>> appliedDdl = new ArrayList<>();
     for (int i = 0; i < MAX_DEPTH; i++) {
       final int depth = i;
-      PCollection<KV<String, String>> levelFiles =
+      PCollectionTuple levelFiles =
           acc.apply(
-                  "Get Avro filenames depth " + depth,
-                  ParDo.of(
-                          new DoFn<HashMultimap<String, String>, KV<String, String>>() {
-
-                            @ProcessElement
-                            public void processElement(ProcessContext c) {
-                              HashMultimap<String, String> allFiles = c.element();
-                              HashMultimap<Integer, String> levels = c.sideInput(levelsView);
-
-                              Set<String> tables = levels.get(depth);
-                              for (String table : tables) {
-                                for (String file : allFiles.get(table)) {
-                                  c.output(KV.of(file, table));
-                                }
-                              }
+              "Get Avro filenames depth " + depth,
+              ParDo.of(
+                      new DoFn<HashMultimap<String, String>, KV<String, String>>() {
+
+                        @ProcessElement
+                        public void processElement(ProcessContext c) {
+                          HashMultimap<String, String> allFiles = c.element();
+                          Ddl ddl = c.sideInput(ddlView);
+
+                          Set<String> tables = ddl.perLoadLevelView().get(depth);
+                          for (String table : tables) {
+                            TupleTag<KV<String, String>> tag =
+                                ddl.hasDependentTables(table) ? PARENT_FILES_TAG : LEAF_FILES_TAG;
+                            for (String file : allFiles.get(table)) {
+                              c.output(tag, KV.of(file, table));
                             }
-                          })
-                      .withSideInputs(levelsView))
-              .apply("Wait for previous depth " + depth, Wait.on(previousComputation));
-      PCollection<Mutation> mutations =
-          levelFiles.apply(
-              "Avro files as mutations " + depth, new AvroTableFileAsMutations(ddlView));
-
-      SpannerWriteResult result =
-          mutations.apply(
-              "Write mutations " + depth,
-              SpannerIO.write()
-                  .withSchemaReadySignal(ddl)
-                  .withSpannerConfig(spannerConfig)
-                  .withCommitDeadline(Duration.standardMinutes(1))
-                  .withMaxCumulativeBackoff(Duration.standardHours(2))
-                  .withMaxNumMutations(10000)
-                  .withGroupingFactor(100)
-                  .withDialectView(dialectView));
-      previousComputation = result.getOutput();
+                          }
+                        }
+                      })
+                  .withSideInputs(ddlView)
+                  .withOutputTags(PARENT_FILES_TAG, TupleTagList.of(LEAF_FILES_TAG)));
+
+      PCollection<?> parentsWritten =
+          writeFiles(
+              levelFiles.get(PARENT_FILES_TAG),
+              previousComputation,
+              "depth " + depth,
+              ddl,
+              ddlView,
+              dialectView);
+      PCollection<?> leavesWritten =
+          writeFiles(
+              levelFiles.get(LEAF_FILES_TAG),
+              previousComputation,
+              "leaf tables depth " + depth,
+              ddl,
+              ddlView,
+              dialectView);
+      leafWrites.add(leavesWritten);
+
+      appliedDdl.add(
+          ddl.apply("Wait for tables depth " + depth, Wait.on(parentsWritten))
+              .apply(
+                  "Create Indexes depth " + depth,
+                  new ApplyDDLTransform(
+                      spannerConfig,
+                      pendingIndexes,
+                      waitForIndexes,
+                      d -> loadStageIndexes(d, depth, true))));
+      appliedDdl.add(
+          ddl.apply("Wait for leaf tables depth " + depth, Wait.on(leavesWritten))
+              .apply(
+                  "Create Indexes leaf tables depth " + depth,
+                  new ApplyDDLTransform(
+                      spannerConfig,
+                      pendingIndexes,
+                      waitForIndexes,
+                      d -> loadStageIndexes(d, depth, false))));
+
+      // All tables up to this level have been written once the leaf tables of every level so far
+      // and the tables with dependent tables of this level have.
+      List<PCollection<?>> levelsWritten = new ArrayList<>(leafWrites);
+      levelsWritten.add(parentsWritten);
+      appliedDdl.add(
+          ddl.apply("Wait for tables up to depth " + depth, Wait.on(levelsWritten))
+              .apply(
+                  "Add Foreign Keys depth " + depth,
+                  new ApplyDDLTransform(
+                      spannerConfig,
+                      pendingForeignKeys,
+                      waitForForeignKeys,
+                      d -> loadLevelForeignKeys(d, depth))));
+      previousComputation = parentsWritten;
     }
-    ddl.apply(Wait.on(previousComputation))
-        .apply(
-            "Create Indexes", new ApplyDDLTransform(spannerConfig, pendingIndexes, waitForIndexes))
-        .apply(
-            "Add Foreign Keys",
-            new ApplyDDLTransform(spannerConfig, pendingForeignKeys, waitForForeignKeys))
+    ddl.apply("Wait for indexes and foreign keys", Wait.on(appliedDdl))
         .apply(
             "Create Change Streams",
             new ApplyDDLTransform(spannerConfig, pendingChangeStreams, waitForChangeStreams));
     return PDone.in(begin.getPipeline());
   }
 
+  /** Writes the Avro files of tables once {@code signal} is done and returns the write output. */
+  private PCollection<?> writeFiles(
+      PCollection<KV<String, String>> files,
+      PCollection<?> signal,
+      String name,
+      PCollection<Ddl> ddl,
+      PCollectionView<Ddl> ddlView,
+      PCollectionView<Dialect> dialectView) {
+    PCollection<Mutation> mutations =
+        files
+            .apply("Wait for previous " + name, Wait.on(signal))
+            .apply("Avro files as mutations " + name, new AvroTableFileAsMutations(ddlView));
+
+    SpannerWriteResult result =
+        mutations.apply(
+            "Write mutations " + name,
+            SpannerIO.write()
+                .withSchemaReadySignal(ddl)
+                .withSpannerConfig(spannerConfig)
+                .withCommitDeadline(Duration.standardMinutes(1))
+                .withMaxCumulativeBackoff(Duration.standardHours(2))
+                .withMaxNumMutations(10000)
+                .withGroupingFactor(100)
+                .withDialectView(dialectView));
+    return result.getOutput();
+  }
+
+  /**
+   * Returns the tables of a load stage: the tables on {@code level} that have dependent tables if
+   * {@code withDependentTables} is set, and the ones that do not otherwise.
+   */
+  @VisibleForTesting
+  static Set<String> loadStageTables(Ddl ddl, int level, boolean withDependentTables) {
+    Set<String> result = new HashSet<>();
+    for (String table : ddl.perLoadLevelView().get(level)) {
+      if (ddl.hasDependentTables(table) == withDependentTables) {
+        result.add(table);
+      }
+    }
+    return result;
+  }
+
+  /** Returns the create index statements for the tables of a load stage. */
+  @VisibleForTesting
+  static List<String> loadStageIndexes(Ddl ddl, int level, boolean withDependentTables) {
+    List<String> result = new ArrayList<>();
+    for (String table : loadStageTables(ddl, level, withDependentTables)) {
+      result.addAll(ddl.table(table).indexes());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the foreign key statements that can be applied once the tables up to {@code level} are
+   * written and not before: those of the tables where the highest level of the table and the
+   * tables it references is {@code level}. The foreign keys of a table whose referenced tables are
+   * not known wait for the last level, when every table has been written.
+   */
+  @VisibleForTesting
+  static List<String> loadLevelForeignKeys(Ddl ddl, int level) {
+    Map<String, Integer> tableLevels = new HashMap<>();
+    for (Map.Entry<Integer, String> entry : ddl.perLoadLevelView().entries()) {
+      tableLevels.put(entry.getValue(), entry.getKey());
+    }
+    List<String> result = new ArrayList<>();
+    for (Table table : ddl.allTables()) {
+      if (table.foreignKeys().isEmpty()) {
+        continue;
+      }
+      int foreignKeyLevel = tableLevels.get(table.name().toLowerCase());
+      Collection<Table> referencedTables = ddl.allReferencedTables(table.name());
+      if (referencedTables.isEmpty()) {
+        foreignKeyLevel = MAX_DEPTH - 1;
+      }
+      for (Table referencedTable : referencedTables) {
+        Integer referencedLevel =
+            referencedTable == null ? null : tableLevels.get(referencedTable.name().toLowerCase());
+        if (referencedLevel == null) {
+          foreignKeyLevel = MAX_DEPTH - 1;
+          break;
+        }
+        foreignKeyLevel = Math.max(foreignKeyLevel, referencedLevel);
+      }
+      if (foreignKeyLevel == level) {
+        result.addAll(table.foreignKeys());
+      }
+    }
+    return result;
+  }
+
   /** Read contents of the top-level manifest file. */
   @VisibleForTesting
   static class ReadExportManifestFile extends PTransform<PBegin, PCollection<Export>> {
@@ -645,6 +770,13 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                               // Account for additional DDL changes for tables being created
                               createIndexStatements.addAll(table.indexes());
                               createForeignKeyStatements.addAll(table.foreignKeys());
+                              for (String foreignKey : table.foreignKeys()) {
+                                String referencedTable =
+                                    ForeignKey.parseReferencedTable(foreignKey);
+                                if (referencedTable != null) {
+                                  mergedDdl.addReferencedTable(table.name(), referencedTable);
+                                }
+                              }
                             }
                             for (KV<String, Schema> kv : missingPropertyGraphs) {
                               PropertyGraph graph =
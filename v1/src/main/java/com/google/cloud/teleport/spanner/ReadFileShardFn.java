@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.spanner;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -52,6 +53,7 @@ class ReadFileShardFn extends DoFn<FileShard, KV<String, CSVRecord>> {
   private final ValueProvider<Character> escape;
   private final ValueProvider<String> nullString;
   private final ValueProvider<Boolean> handleNewLine;
+  private final ValueProvider<Boolean> parallelSplit;
 
   ReadFileShardFn(
       ValueProvider<Character> columnDelimiter,
@@ -60,12 +62,48 @@ class ReadFileShardFn extends DoFn<FileShard, KV<String, CSVRecord>> {
       ValueProvider<Character> escape,
       ValueProvider<String> nullString,
       ValueProvider<Boolean> handleNewLine) {
+    this(
+        columnDelimiter,
+        fieldQualifier,
+        trailingDelimiter,
+        escape,
+        nullString,
+        handleNewLine,
+        ValueProvider.StaticValueProvider.of(false));
+  }
+
+  ReadFileShardFn(
+      ValueProvider<Character> columnDelimiter,
+      ValueProvider<Character> fieldQualifier,
+      ValueProvider<Boolean> trailingDelimiter,
+      ValueProvider<Character> escape,
+      ValueProvider<String> nullString,
+      ValueProvider<Boolean> handleNewLine,
+      ValueProvider<Boolean> parallelSplit) {
     this.columnDelimiter = columnDelimiter;
     this.fieldQualifier = fieldQualifier;
     this.trailingDelimiter = trailingDelimiter;
     this.escape = escape;
     this.nullString = nullString;
     this.handleNewLine = handleNewLine;
+    this.parallelSplit = parallelSplit;
+  }
+
+  /**
+   * Returns whether shards are split at fixed offsets and read between the record boundaries found
+   * by {@link CsvRecordBoundaries}, which requires handleNewLine mode and ASCII special characters.
+   */
+  static boolean isParallelSplit(
+      ValueProvider<Boolean> handleNewLine,
+      ValueProvider<Boolean> parallelSplit,
+      ValueProvider<Character> fieldQualifier,
+      ValueProvider<Character> columnDelimiter,
+      ValueProvider<Character> escape) {
+    return handleNewLine.get()
+        && parallelSplit != null
+        && Boolean.TRUE.equals(parallelSplit.get())
+        && CsvRecordBoundaries.isSupported(
+            fieldQualifier.get(), columnDelimiter.get(), escape == null ? null : escape.get());
   }
 
   @ProcessElement
@@ -113,6 +151,29 @@ class ReadFileShardFn extends DoFn<FileShard, KV<String, CSVRecord>> {
       } catch (IOException e) {
         throw new RuntimeException("Unable to readFile: " + readingFile, e);
       }
+    } else if (isParallelSplit(
+        handleNewLine, parallelSplit, fieldQualifier, columnDelimiter, escape)) {
+      // Read the records between the record boundaries of the shard start and end. The previous
+      // shard ends on the same boundary this shard starts on.
+      try (SeekableByteChannel channel = (SeekableByteChannel) FileSystems.open(readingFile)) {
+        CsvRecordBoundaries boundaries =
+            new CsvRecordBoundaries(fieldQualifier.get(), columnDelimiter.get(), escape.get());
+        long start = boundaries.find(channel, shard.getRange().getFrom());
+        long end = boundaries.find(channel, shard.getRange().getTo());
+        if (start >= end) {
+          return;
+        }
+        channel.position(start);
+        Reader reader =
+            new InputStreamReader(
+                ByteStreams.limit(Channels.newInputStream(channel), end - start));
+        CSVParser parser = new CSVParser(reader, csvFormat);
+        for (CSVRecord record : parser) {
+          c.output(KV.of(shard.getTableName(), record));
+        }
+      } catch (IOException e) {
+        throw new RuntimeException("Unable to readFile: " + readingFile, e);
+      }
     } else {
       try {
         ReadableByteChannel channel = FileSystems.open(readingFile);
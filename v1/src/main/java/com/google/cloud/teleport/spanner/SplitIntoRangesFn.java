@@ -52,6 +52,7 @@ class SplitIntoRangesFn extends DoFn<ReadableFile, FileShard> {
   private final ValueProvider<Character> columnDelimiter;
   private final ValueProvider<Character> escapeChar;
   private final ValueProvider<Boolean> handleNewLine;
+  private final ValueProvider<Boolean> parallelSplit;
 
   SplitIntoRangesFn(
       long desiredBundleSize,
@@ -64,6 +65,7 @@ class SplitIntoRangesFn extends DoFn<ReadableFile, FileShard> {
     this.quoteChar = ValueProvider.StaticValueProvider.of('"');
     this.columnDelimiter = ValueProvider.StaticValueProvider.of(',');
     this.escapeChar = ValueProvider.StaticValueProvider.of((char) 0);
+    this.parallelSplit = ValueProvider.StaticValueProvider.of(false);
   }
 
   SplitIntoRangesFn(
@@ -73,12 +75,36 @@ class SplitIntoRangesFn extends DoFn<ReadableFile, FileShard> {
       ValueProvider<Character> columnDelimiter,
       ValueProvider<Character> escapeChar,
       ValueProvider<Boolean> handleNewLine) {
+    this(
+        desiredBundleSize,
+        filenamesToTableNamesMapView,
+        quoteChar,
+        columnDelimiter,
+        escapeChar,
+        handleNewLine,
+        ValueProvider.StaticValueProvider.of(false));
+  }
+
+  /**
+   * Creates a {@link SplitIntoRangesFn} which, when {@code parallelSplit} is set in handleNewLine
+   * mode, splits files at fixed offsets without scanning them. {@link ReadFileShardFn} then moves
+   * each shard's start and end to record boundaries with {@link CsvRecordBoundaries}.
+   */
+  SplitIntoRangesFn(
+      long desiredBundleSize,
+      PCollectionView<Map<String, String>> filenamesToTableNamesMapView,
+      ValueProvider<Character> quoteChar,
+      ValueProvider<Character> columnDelimiter,
+      ValueProvider<Character> escapeChar,
+      ValueProvider<Boolean> handleNewLine,
+      ValueProvider<Boolean> parallelSplit) {
     this.filenamesToTableNamesMapView = filenamesToTableNamesMapView;
     this.desiredBundleSize = desiredBundleSize;
     this.quoteChar = quoteChar;
     this.columnDelimiter = columnDelimiter;
     this.escapeChar = escapeChar;
     this.handleNewLine = handleNewLine;
+    this.parallelSplit = parallelSplit;
   }
 
   @ProcessElement
@@ -99,8 +125,11 @@ class SplitIntoRangesFn extends DoFn<ReadableFile, FileShard> {
               tableName, c.element(), new OffsetRange(0, metadata.sizeBytes()), Long.MAX_VALUE));
       return;
     }
-    if (!handleNewLine.get()) {
-      // Create shards without parsing.
+    if (!handleNewLine.get()
+        || ReadFileShardFn.isParallelSplit(
+            handleNewLine, parallelSplit, quoteChar, columnDelimiter, escapeChar)) {
+      // Create shards without parsing. In parallel split mode, the shard readers find the record
+      // boundaries themselves.
       for (OffsetRange range :
           new OffsetRange(0, metadata.sizeBytes()).split(desiredBundleSize, 0)) {
         // We fill in MAX_VALUE in the record count as it is not needed when not in handleNewLine
@@ -298,6 +298,20 @@ public class TextImportPipeline {
     ValueProvider<String> getInvalidOutputPath();
 
     void setInvalidOutputPath(ValueProvider<String> value);
+
+    @TemplateParameter.Boolean(
+        order = 17,
+        groupName = "Source",
+        optional = true,
+        description = "Split new line files in parallel",
+        helpText =
+            "If `true` and `handleNewLine` is `true`, files are split at fixed offsets and each worker finds the record "
+                + "boundaries of its own shard, instead of every file being scanned before the import starts. Quoted "
+                + "values must be shorter than 4 MB. The default value is `false`.")
+    @Default.Boolean(false)
+    ValueProvider<Boolean> getParallelSplit();
+
+    void setParallelSplit(ValueProvider<Boolean> value);
   }
 
   public static void main(String[] args) {
@@ -258,7 +258,8 @@ public class TextImportTransform extends PTransform<PBegin, PDone> {
                               options.getFieldQualifier(),
                               options.getColumnDelimiter(),
                               options.getEscape(),
-                              options.getHandleNewLine()))
+                              options.getHandleNewLine(),
+                              options.getParallelSplit()))
                       .withSideInputs(filesToTablesMapView))
               .setCoder(Coder.of())
               // PCollection<FileShard>
@@ -273,7 +274,8 @@ public class TextImportTransform extends PTransform<PBegin, PDone> {
                           options.getTrailingDelimiter(),
                           options.getEscape(),
                           options.getNullString(),
-                          options.getHandleNewLine())))
+                          options.getHandleNewLine(),
+                          options.getParallelSplit())))
               // PCollection<KV<String, CSVRecord>>: tableName, row
               .apply(
                   ParDo.of(
@@ -508,6 +508,41 @@ public class Ddl implements Serializable {
     return result;
   }
 
+  /**
+   * Returns the tables grouped by the number of ancestors whose rows must be written before their
+   * own. Rows of a table interleaved with {@code INTERLEAVE IN PARENT} require the parent row,
+   * while rows of a table interleaved with {@code INTERLEAVE IN} do not, so such a table is on
+   * level zero along with the root tables.
+   */
+  public HashMultimap<Integer, String> perLoadLevelView() {
+    HashMultimap<Integer, String> result = HashMultimap.create();
+    for (Table table : allTables()) {
+      int level = 0;
+      Table current = table;
+      while (current != null
+          && current.interleaveInParent() != null
+          && current.interleaveType() != Table.InterleaveType.IN) {
+        level++;
+        current = table(current.interleaveInParent());
+      }
+      result.put(level, table.name().toLowerCase());
+    }
+    return result;
+  }
+
+  /**
+   * Returns whether rows of other tables depend on the rows of {@code table}, that is, whether it
+   * has tables interleaved in it with {@code INTERLEAVE IN PARENT}.
+   */
+  public boolean hasDependentTables(String table) {
+    for (Table child : childTables(table)) {
+      if (child.interleaveType() != Table.InterleaveType.IN) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public String prettyPrint() {
     StringBuilder sb = new StringBuilder();
     try {
@@ -25,6 +25,8 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -33,6 +35,16 @@ import javax.annotation.Nullable;
 public abstract class ForeignKey implements Serializable {
   private static final long serialVersionUID = 779301367L;
 
+  /**
+   * Matches the referenced table of a statement printed by {@link #prettyPrint()}: the possibly
+   * schema qualified name between the referencing columns and the referenced columns.
+   */
+  private static final Pattern REFERENCED_TABLE =
+      Pattern.compile(
+          "\\)\\s+REFERENCES\\s+((?:`[^`]+`|\"[^\"]+\"|\\w+)(?:\\.(?:`[^`]+`|\"[^\"]+\"|\\w+))*)"
+              + "\\s*\\(",
+          Pattern.CASE_INSENSITIVE);
+
   /** Referential actions supported in Foreign Keys. */
   public enum ReferentialAction {
     // Supported actions
@@ -144,6 +156,19 @@ public abstract class ForeignKey implements Serializable {
     }
   }
 
+  /**
+   * Returns the table referenced by a foreign key statement, as printed by {@link #prettyPrint()},
+   * or null if the statement is not of that form.
+   */
+  @Nullable
+  public static String parseReferencedTable(String statement) {
+    Matcher matcher = REFERENCED_TABLE.matcher(statement);
+    if (!matcher.find()) {
+      return null;
+    }
+    return matcher.group(1).replace("`", "").replace("\"", "");
+  }
+
   public String prettyPrint() {
     StringBuilder sb = new StringBuilder();
     try {
@@ -17,6 +17,7 @@ package com.google.cloud.teleport.splunk;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.api.client.http.AbstractHttpContent;
 import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.GZipEncoding;
 import com.google.api.client.http.GenericUrl;
@@ -35,10 +36,15 @@ import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -114,6 +120,9 @@ public abstract class HttpEventPublisher {
 
   abstract Boolean enableGzipHttpCompression();
 
+  @Nullable
+  abstract Integer maxConnections();
+
   /**
    * Executes a POST for the list of {@link SplunkEvent} objects into Splunk's Http Event Collector
    * endpoint.
@@ -190,14 +199,22 @@ public abstract class HttpEventPublisher {
    * Utility method to marshall a list of {@link SplunkEvent}s into an {@link HttpContent} object
    * that can be used to create an {@link HttpRequest}.
    *
+   * <p>When gzip compression is enabled the encoded length is not known up front anyway, so the
+   * events are serialized straight into the compressed request body instead of being buffered in
+   * memory first.
+   *
    * @param events List of {@link SplunkEvent}s
    * @return {@link HttpContent} that can be used to create an {@link HttpRequest}.
    */
   @VisibleForTesting
   protected HttpContent getContent(List<SplunkEvent> events) {
-    String payload = getStringPayload(events);
-    LOG.debug("Payload content: {}", payload);
-    return ByteArrayContent.fromString(CONTENT_TYPE, payload);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Payload content: {}", getStringPayload(events));
+    }
+    if (enableGzipHttpCompression()) {
+      return new StreamingEventContent(events);
+    }
+    return ByteArrayContent.fromString(CONTENT_TYPE, getStringPayload(events));
   }
 
   /** Utility method to get payload string from a list of {@link SplunkEvent}s. */
@@ -208,6 +225,35 @@ public abstract class HttpEventPublisher {
     return sb.toString();
   }
 
+  /**
+   * {@link HttpContent} that writes the JSON of each {@link SplunkEvent} directly to the request
+   * stream. The content is re-serialized from the events if the request is retried.
+   */
+  private static class StreamingEventContent extends AbstractHttpContent {
+
+    private final List<SplunkEvent> events;
+
+    StreamingEventContent(List<SplunkEvent> events) {
+      super(CONTENT_TYPE);
+      this.events = events;
+    }
+
+    @Override
+    public long getLength() {
+      return -1;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      for (SplunkEvent event : events) {
+        GSON.toJson(event, writer);
+      }
+      // The encoding stream is owned and closed by the request, so only flush here.
+      writer.flush();
+    }
+  }
+
   @AutoValue.Builder
   abstract static class Builder {
 
@@ -239,6 +285,10 @@ public abstract class HttpEventPublisher {
 
     abstract Integer maxElapsedMillis();
 
+    abstract Builder setMaxConnections(Integer maxConnections);
+
+    abstract Integer maxConnections();
+
     abstract HttpEventPublisher autoBuild();
 
     /**
@@ -314,6 +364,18 @@ public abstract class HttpEventPublisher {
       return setMaxElapsedMillis(maxElapsedMillis);
     }
 
+    /**
+     * Method to set the maximum number of concurrent connections to HEC. Defaults to {@value
+     * DEFAULT_MAX_CONNECTIONS}.
+     *
+     * @param maxConnections max number of parallel connections.
+     * @return {@link Builder}
+     */
+    public Builder withMaxConnections(Integer maxConnections) {
+      checkNotNull(maxConnections, "withMaxConnections(maxConnections) called with null input.");
+      return setMaxConnections(maxConnections);
+    }
+
     /**
      * Validates and builds a {@link HttpEventPublisher} object.
      *
@@ -341,9 +403,12 @@ public abstract class HttpEventPublisher {
         setMaxElapsedMillis(ExponentialBackOff.DEFAULT_MAX_ELAPSED_TIME_MILLIS);
       }
 
+      if (maxConnections() == null) {
+        setMaxConnections(DEFAULT_MAX_CONNECTIONS);
+      }
+
       CloseableHttpClient httpClient =
-          getHttpClient(
-              DEFAULT_MAX_CONNECTIONS, disableCertificateValidation(), rootCaCertificate());
+          getHttpClient(maxConnections(), disableCertificateValidation(), rootCaCertificate());
 
       setTransport(new ApacheHttpTransport(httpClient));
       setRequestFactory(transport().createRequestFactory());
@@ -410,6 +475,7 @@ public abstract class HttpEventPublisher {
       }
 
       builder.setMaxConnTotal(maxConnections);
+      builder.setMaxConnPerRoute(maxConnections);
       builder.setDefaultRequestConfig(
           RequestConfig.custom().setCookieSpec(CookieSpecs.STANDARD).build());
 
@@ -24,17 +24,29 @@ import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.util.GCSUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Utf8;
 import com.google.common.collect.Lists;
 import com.google.common.net.InetAddresses;
 import com.google.common.net.InternetDomainName;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
@@ -54,14 +66,30 @@ import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
 import org.apache.beam.sdk.values.KV;
 import org.joda.time.Duration;
+import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** A {@link DoFn} to write {@link SplunkEvent}s to Splunk's HEC endpoint. */
+/**
+ * A {@link DoFn} to write {@link SplunkEvent}s to Splunk's HEC endpoint.
+ *
+ * <p>By default each key buffers up to {@code inputBatchCount} events and posts them with a single
+ * blocking request. Setting {@code inputBatchBytes} additionally bounds each batch by its estimated
+ * serialized size, and setting {@code maxInflightRequests} above one lets each writer instance keep
+ * that many requests to HEC in flight at once. Responses to asynchronous requests are processed
+ * before the bundle completes, so events are never acknowledged before Splunk has accepted or
+ * rejected them. In either of these modes the flush deadline is set when a batch starts rather
+ * than pushed back by every new event, so a steady trickle of events cannot hold a batch back
+ * indefinitely.
+ */
 @AutoValue
 public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, SplunkWriteError> {
 
   private static final Integer DEFAULT_BATCH_COUNT = 10;
+  private static final Integer DEFAULT_BATCH_BYTES = 0;
+  private static final Integer DEFAULT_MAX_INFLIGHT_REQUESTS = 1;
+  // Rough size of the JSON keys, quotes and separators around the fields of a serialized event.
+  private static final int EVENT_OVERHEAD_BYTES = 80;
   private static final Boolean DEFAULT_DISABLE_CERTIFICATE_VALIDATION = false;
   private static final Boolean DEFAULT_ENABLE_BATCH_LOGS = true;
   private static final Boolean DEFAULT_ENABLE_GZIP_HTTP_COMPRESSION = true;
@@ -87,6 +115,7 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       Metrics.distribution(SplunkEventWriter.class, "write_to_splunk_batch");
   private static final String BUFFER_STATE_NAME = "buffer";
   private static final String COUNT_STATE_NAME = "count";
+  private static final String BYTES_STATE_NAME = "bytes";
   private static final String TIME_ID_NAME = "expiry";
   private static final Pattern URL_PATTERN = Pattern.compile("^http(s?)://([^:]+)(:[0-9]+)?$");
 
@@ -101,14 +130,22 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   @StateId(COUNT_STATE_NAME)
   private final StateSpec<ValueState<Long>> count = StateSpecs.value();
 
+  @StateId(BYTES_STATE_NAME)
+  private final StateSpec<ValueState<Long>> bytes = StateSpecs.value();
+
   @TimerId(TIME_ID_NAME)
   private final TimerSpec expirySpec = TimerSpecs.timer(TimeDomain.EVENT_TIME);
 
   private Integer batchCount;
+  private Integer batchBytes;
+  private Integer maxInflightRequests;
   private Boolean disableValidation;
   private Boolean enableBatchLogs;
   private Boolean enableGzipHttpCompression;
   private HttpEventPublisher publisher;
+  private transient ListeningExecutorService executor;
+  private transient Semaphore inflightPermits;
+  private transient Queue<PendingWrite> pendingWrites;
 
   private static final Gson GSON =
       new GsonBuilder().setFieldNamingStrategy(f -> f.getName().toLowerCase()).create();
@@ -138,6 +175,12 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   @Nullable
   abstract ValueProvider<Integer> inputBatchCount();
 
+  @Nullable
+  abstract ValueProvider<Integer> inputBatchBytes();
+
+  @Nullable
+  abstract ValueProvider<Integer> maxInflightRequests();
+
   @Setup
   public void setup() {
 
@@ -156,6 +199,29 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       LOG.info("Batch count set to: {}", batchCount);
     }
 
+    // Either user supplied or default batchBytes, where 0 leaves batches unbounded by size.
+    if (batchBytes == null) {
+
+      if (inputBatchBytes() != null) {
+        batchBytes = inputBatchBytes().get();
+      }
+
+      batchBytes = MoreObjects.firstNonNull(batchBytes, DEFAULT_BATCH_BYTES);
+      LOG.info("Batch bytes set to: {}", batchBytes);
+    }
+
+    if (maxInflightRequests == null) {
+
+      if (maxInflightRequests() != null) {
+        maxInflightRequests = maxInflightRequests().get();
+      }
+
+      maxInflightRequests =
+          MoreObjects.firstNonNull(maxInflightRequests, DEFAULT_MAX_INFLIGHT_REQUESTS);
+      checkArgument(maxInflightRequests > 0, "maxInflightRequests must be greater than 0.");
+      LOG.info("Max in-flight requests set to: {}", maxInflightRequests);
+    }
+
     if (enableBatchLogs == null) {
 
       if (enableBatchLogs() != null) {
@@ -195,7 +261,8 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
               .withUrl(url().get())
               .withToken(token().get())
               .withDisableCertificateValidation(disableValidation)
-              .withEnableGzipHttpCompression(enableGzipHttpCompression);
+              .withEnableGzipHttpCompression(enableGzipHttpCompression)
+              .withMaxConnections(maxInflightRequests);
 
       if (rootCaCertificatePath() != null && rootCaCertificatePath().get() != null) {
         builder.withRootCaCertificate(GCSUtils.getGcsFileAsBytes(rootCaCertificatePath().get()));
@@ -212,6 +279,25 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       LOG.error("Error creating HttpEventPublisher: {}", e.getMessage());
       throw new RuntimeException(e);
     }
+
+    if (maxInflightRequests > 1 && executor == null) {
+      executor =
+          MoreExecutors.listeningDecorator(
+              Executors.newFixedThreadPool(
+                  maxInflightRequests,
+                  new ThreadFactoryBuilder()
+                      .setNameFormat("splunk-event-writer-%d")
+                      .setDaemon(true)
+                      .build()));
+      inflightPermits = new Semaphore(maxInflightRequests);
+      pendingWrites = new ArrayDeque<>();
+    }
+  }
+
+  /** Drops requests left over from a bundle that failed before {@link #finishBundle} ran. */
+  @StartBundle
+  public void startBundle() {
+    cancelPendingWrites();
   }
 
   @ProcessElement
@@ -219,44 +305,106 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       @Element KV<Integer, SplunkEvent> input,
       OutputReceiver<SplunkWriteError> receiver,
       BoundedWindow window,
+      @Timestamp Instant timestamp,
       @StateId(BUFFER_STATE_NAME) BagState<SplunkEvent> bufferState,
       @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
+      @StateId(BYTES_STATE_NAME) ValueState<Long> bytesState,
       @TimerId(TIME_ID_NAME) Timer timer)
       throws IOException {
 
     Long count = MoreObjects.<Long>firstNonNull(countState.read(), 0L);
     SplunkEvent event = input.getValue();
     INPUT_COUNTER.inc();
+
+    long eventBytes = 0L;
+    if (batchBytes > 0) {
+      eventBytes = estimateSize(event);
+      long bytes = MoreObjects.<Long>firstNonNull(bytesState.read(), 0L);
+      // Send what is buffered first if this event would take the batch over its byte budget.
+      if (count > 0 && bytes + eventBytes > batchBytes) {
+        if (enableBatchLogs) {
+          LOG.info("Flushing batch of {} events ({} bytes)", count, bytes);
+        }
+        flush(receiver, window, timestamp, bufferState, countState, bytesState);
+        count = 0L;
+      } else {
+        eventBytes += bytes;
+      }
+      bytesState.write(eventBytes);
+    }
+
     bufferState.add(event);
     count += 1;
     countState.write(count);
-    timer.offset(Duration.standardSeconds(DEFAULT_FLUSH_DELAY)).setRelative();
+    if (!isFixedDeadline() || count == 1) {
+      timer.offset(Duration.standardSeconds(DEFAULT_FLUSH_DELAY)).setRelative();
+    }
 
     if (count >= batchCount) {
       if (enableBatchLogs) {
         LOG.info("Flushing batch of {} events", count);
       }
-      flush(receiver, bufferState, countState);
+      flush(receiver, window, timestamp, bufferState, countState, bytesState);
     }
   }
 
   @OnTimer(TIME_ID_NAME)
   public void onExpiry(
       OutputReceiver<SplunkWriteError> receiver,
+      BoundedWindow window,
+      @Timestamp Instant timestamp,
       @StateId(BUFFER_STATE_NAME) BagState<SplunkEvent> bufferState,
-      @StateId(COUNT_STATE_NAME) ValueState<Long> countState)
+      @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
+      @StateId(BYTES_STATE_NAME) ValueState<Long> bytesState)
       throws IOException {
 
     if (MoreObjects.<Long>firstNonNull(countState.read(), 0L) > 0) {
       if (enableBatchLogs) {
         LOG.info("Flushing window with {} events", countState.read());
       }
-      flush(receiver, bufferState, countState);
+      flush(receiver, window, timestamp, bufferState, countState, bytesState);
+    }
+  }
+
+  /**
+   * Waits for the requests sent asynchronously during this bundle and emits their failures, so the
+   * bundle is only committed once every event has been handled by Splunk.
+   */
+  @FinishBundle
+  public void finishBundle(FinishBundleContext context) {
+    if (pendingWrites == null) {
+      return;
+    }
+    try {
+      PendingWrite pending;
+      while ((pending = pendingWrites.poll()) != null) {
+        WriteResult result = Futures.getUnchecked(pending.future);
+        Instant timestamp = pending.timestamp;
+        BoundedWindow window = pending.window;
+        handleResult(result, error -> context.output(error, timestamp, window));
+      }
+    } finally {
+      // If a request failed the bundle is retried, so the remaining requests are not waited for.
+      cancelPendingWrites();
+    }
+  }
+
+  /** Cancels and forgets the outstanding asynchronous requests, if any. */
+  private void cancelPendingWrites() {
+    if (pendingWrites == null) {
+      return;
+    }
+    PendingWrite pending;
+    while ((pending = pendingWrites.poll()) != null) {
+      pending.future.cancel(true);
     }
   }
 
   @Teardown
   public void tearDown() {
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+    }
     if (this.publisher != null) {
       try {
         this.publisher.close();
@@ -269,108 +417,155 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   }
 
   /**
-   * Utility method to flush a batch of events via {@link HttpEventPublisher}.
+   * Utility method to flush a batch of events via {@link HttpEventPublisher}. The request is sent
+   * on the calling thread unless several in-flight requests are allowed, in which case it is handed
+   * to the request pool and its result is processed in {@link #finishBundle}.
    *
    * @param receiver Receiver to write {@link SplunkWriteError}s to
+   * @param window Window to emit the {@link SplunkWriteError}s of an asynchronous request in
+   * @param timestamp Timestamp to emit the {@link SplunkWriteError}s of an asynchronous request at
    */
   private void flush(
       OutputReceiver<SplunkWriteError> receiver,
+      BoundedWindow window,
+      Instant timestamp,
       @StateId(BUFFER_STATE_NAME) BagState<SplunkEvent> bufferState,
-      @StateId(COUNT_STATE_NAME) ValueState<Long> countState)
+      @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
+      @StateId(BYTES_STATE_NAME) ValueState<Long> bytesState)
       throws IOException {
 
     if (!bufferState.isEmpty().read()) {
 
-      HttpResponse response = null;
       List<SplunkEvent> events = Lists.newArrayList(bufferState.read());
-      long startTime = System.nanoTime();
+
+      // States are cleared regardless of write success or failure since we
+      // write failed events to an output PCollection.
+      bufferState.clear();
+      countState.clear();
+      bytesState.clear();
+
+      if (executor == null) {
+        handleResult(publish(events), receiver::output);
+        return;
+      }
+
+      // Blocks once maxInflightRequests requests are outstanding, which keeps the worker from
+      // buffering more batches than HEC is accepting.
+      inflightPermits.acquireUninterruptibly();
+      ListenableFuture<WriteResult> future;
       try {
-        // Important to close this response to avoid connection leak.
-        response = publisher.execute(events);
-        if (!response.isSuccessStatusCode()) {
-          UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-          FAILED_WRITES.inc(countState.read());
-          int statusCode = response.getStatusCode();
-          if (statusCode >= 400 && statusCode < 500) {
-            INVALID_REQUESTS.inc();
-          } else if (statusCode >= 500 && statusCode < 600) {
-            SERVER_ERROR_REQUESTS.inc();
-          }
-
-          logWriteFailures(
-              countState,
-              response.getStatusCode(),
-              response.parseAsString(),
-              response.getStatusMessage());
-          flushWriteFailures(
-              events, response.getStatusMessage(), response.getStatusCode(), receiver);
-
-        } else {
-          SUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-          SUCCESS_WRITES.inc(countState.read());
-          VALID_REQUESTS.inc();
-          SUCCESSFUL_WRITE_BATCH_SIZE.update(countState.read());
-
-          if (enableBatchLogs) {
-            LOG.info("Successfully wrote {} events", countState.read());
-          }
-        }
+        future = executor.submit(() -> publish(events));
+      } catch (RuntimeException e) {
+        inflightPermits.release();
+        throw e;
+      }
+      // The permit is also returned if the request is cancelled before it runs.
+      future.addListener(inflightPermits::release, MoreExecutors.directExecutor());
+      pendingWrites.add(new PendingWrite(future, window, timestamp));
+    }
+  }
 
-      } catch (HttpResponseException e) {
-        UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-        FAILED_WRITES.inc(countState.read());
-        int statusCode = e.getStatusCode();
-        if (statusCode >= 400 && statusCode < 500) {
-          INVALID_REQUESTS.inc();
-        } else if (statusCode >= 500 && statusCode < 600) {
-          SERVER_ERROR_REQUESTS.inc();
+  /**
+   * Posts a batch of events to HEC. This runs on the request pool in asynchronous mode, so it only
+   * captures the outcome; metrics and outputs are handled by {@link #handleResult}.
+   *
+   * @param events List of {@link SplunkEvent}s to post
+   * @return {@link WriteResult} describing the outcome of the request
+   */
+  private WriteResult publish(List<SplunkEvent> events) {
+    HttpResponse response = null;
+    long startTime = System.nanoTime();
+    try {
+      // Important to close this response to avoid connection leak.
+      response = publisher.execute(events);
+      long latencyMs = nanosToMillis(System.nanoTime() - startTime);
+      if (!response.isSuccessStatusCode()) {
+        return WriteResult.failure(
+            events,
+            response.getStatusCode(),
+            response.getStatusMessage(),
+            response.parseAsString(),
+            latencyMs);
+      }
+      return WriteResult.success(events, latencyMs);
+
+    } catch (HttpResponseException e) {
+      return WriteResult.failure(
+          events,
+          e.getStatusCode(),
+          e.getStatusMessage(),
+          e.getContent(),
+          nanosToMillis(System.nanoTime() - startTime));
+
+    } catch (IOException ioe) {
+      return WriteResult.failure(
+          events, null, null, ioe.toString(), nanosToMillis(System.nanoTime() - startTime));
+
+    } finally {
+      // We've observed cases where errors at this point can cause the pipeline to keep retrying
+      // the same events over and over (e.g. from Dataflow Runner's Pub/Sub implementation). Since
+      // the events have either been published or wrapped for error handling, we can safely
+      // ignore this error, though there may or may not be a leak of some type depending on
+      // HttpResponse's implementation. However, any potential leak would still happen if we let
+      // the exception fall through, so this isn't considered a major issue.
+      try {
+        if (response != null) {
+          response.ignore();
         }
+      } catch (IOException e) {
+        LOG.warn(
+            "Error ignoring response from Splunk. Messages should still have published, but there"
+                + " might be a connection leak.",
+            e);
+      }
+    }
+  }
 
-        logWriteFailures(countState, e.getStatusCode(), e.getContent(), e.getStatusMessage());
-        flushWriteFailures(events, e.getStatusMessage(), e.getStatusCode(), receiver);
-
-      } catch (IOException ioe) {
-        UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-        FAILED_WRITES.inc(countState.read());
-        INVALID_REQUESTS.inc();
-
-        logWriteFailures(countState, 0, ioe.toString(), null);
-        flushWriteFailures(events, ioe.toString(), null, receiver);
-
-      } finally {
-        // States are cleared regardless of write success or failure since we
-        // write failed events to an output PCollection.
-        bufferState.clear();
-        countState.clear();
-
-        // We've observed cases where errors at this point can cause the pipeline to keep retrying
-        // the same events over and over (e.g. from Dataflow Runner's Pub/Sub implementation). Since
-        // the events have either been published or wrapped for error handling, we can safely
-        // ignore this error, though there may or may not be a leak of some type depending on
-        // HttpResponse's implementation. However, any potential leak would still happen if we let
-        // the exception fall through, so this isn't considered a major issue.
-        try {
-          if (response != null) {
-            response.ignore();
-          }
-        } catch (IOException e) {
-          LOG.warn(
-              "Error ignoring response from Splunk. Messages should still have published, but there"
-                  + " might be a connection leak.",
-              e);
-        }
+  /**
+   * Utility method to update metrics and emit failed events for the outcome of a request.
+   *
+   * @param result {@link WriteResult} of the request
+   * @param output Consumer to write {@link SplunkWriteError}s to
+   */
+  private void handleResult(WriteResult result, Consumer<SplunkWriteError> output) {
+    int count = result.events.size();
+    if (result.success) {
+      SUCCESSFUL_WRITE_LATENCY_MS.update(result.latencyMs);
+      SUCCESS_WRITES.inc(count);
+      VALID_REQUESTS.inc();
+      SUCCESSFUL_WRITE_BATCH_SIZE.update(count);
+
+      if (enableBatchLogs) {
+        LOG.info("Successfully wrote {} events", count);
       }
+      return;
+    }
+
+    UNSUCCESSFUL_WRITE_LATENCY_MS.update(result.latencyMs);
+    FAILED_WRITES.inc(count);
+    if (result.statusCode == null) {
+      // The request failed before a response was received.
+      INVALID_REQUESTS.inc();
+      logWriteFailures(count, 0, result.content, null);
+      flushWriteFailures(result.events, result.content, null, output);
+      return;
     }
+
+    int statusCode = result.statusCode;
+    if (statusCode >= 400 && statusCode < 500) {
+      INVALID_REQUESTS.inc();
+    } else if (statusCode >= 500 && statusCode < 600) {
+      SERVER_ERROR_REQUESTS.inc();
+    }
+
+    logWriteFailures(count, statusCode, result.content, result.statusMessage);
+    flushWriteFailures(result.events, result.statusMessage, statusCode, output);
   }
 
   /** Utility method to log write failures. */
-  private void logWriteFailures(
-      @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
-      int statusCode,
-      String content,
-      String statusMessage) {
+  private void logWriteFailures(int count, int statusCode, String content, String statusMessage) {
     if (enableBatchLogs) {
-      LOG.error("Failed to write {} events", countState.read());
+      LOG.error("Failed to write {} events", count);
     }
     LOG.error(
         "Error writing to Splunk. StatusCode: {}, content: {}, StatusMessage: {}",
@@ -385,13 +580,13 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
    * @param events List of {@link SplunkEvent}s to un-batch
    * @param statusMessage Status message to be added to {@link SplunkWriteError}
    * @param statusCode Status code to be added to {@link SplunkWriteError}
-   * @param receiver Receiver to write {@link SplunkWriteError}s to
+   * @param output Consumer to write {@link SplunkWriteError}s to
    */
   private static void flushWriteFailures(
       List<SplunkEvent> events,
       String statusMessage,
       Integer statusCode,
-      OutputReceiver<SplunkWriteError> receiver) {
+      Consumer<SplunkWriteError> output) {
 
     checkNotNull(events, "SplunkEvents cannot be null.");
 
@@ -409,7 +604,48 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       String payload = GSON.toJson(event);
       SplunkWriteError error = builder.withPayload(payload).build();
 
-      receiver.output(error);
+      output.accept(error);
+    }
+  }
+
+  /**
+   * Whether the flush deadline is set once per batch instead of on every event. This applies as
+   * soon as batches are bounded by size or sent asynchronously.
+   */
+  private boolean isFixedDeadline() {
+    return batchBytes > 0 || maxInflightRequests > 1;
+  }
+
+  /**
+   * Estimates the serialized size of an event from the UTF-8 length of its fields, without
+   * serializing it.
+   *
+   * @param event {@link SplunkEvent} to estimate
+   * @return estimated size of the event's JSON in bytes
+   */
+  @VisibleForTesting
+  static long estimateSize(SplunkEvent event) {
+    long size = EVENT_OVERHEAD_BYTES;
+    size += lengthOf(event.event());
+    size += lengthOf(event.host());
+    size += lengthOf(event.source());
+    size += lengthOf(event.sourceType());
+    size += lengthOf(event.index());
+    if (event.fields() != null) {
+      size += lengthOf(event.fields().toString());
+    }
+    return size;
+  }
+
+  private static int lengthOf(String value) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Utf8.encodedLength(value);
+    } catch (IllegalArgumentException e) {
+      // Unpaired surrogates are encoded as replacement characters.
+      return value.getBytes(StandardCharsets.UTF_8).length;
     }
   }
 
@@ -438,6 +674,59 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
     return Math.round(((double) ns) / 1e6);
   }
 
+  /** Outcome of a single request to HEC. */
+  private static class WriteResult {
+
+    private final List<SplunkEvent> events;
+    private final boolean success;
+    @Nullable private final Integer statusCode;
+    @Nullable private final String statusMessage;
+    @Nullable private final String content;
+    private final long latencyMs;
+
+    private WriteResult(
+        List<SplunkEvent> events,
+        boolean success,
+        Integer statusCode,
+        String statusMessage,
+        String content,
+        long latencyMs) {
+      this.events = events;
+      this.success = success;
+      this.statusCode = statusCode;
+      this.statusMessage = statusMessage;
+      this.content = content;
+      this.latencyMs = latencyMs;
+    }
+
+    static WriteResult success(List<SplunkEvent> events, long latencyMs) {
+      return new WriteResult(events, true, null, null, null, latencyMs);
+    }
+
+    static WriteResult failure(
+        List<SplunkEvent> events,
+        Integer statusCode,
+        String statusMessage,
+        String content,
+        long latencyMs) {
+      return new WriteResult(events, false, statusCode, statusMessage, content, latencyMs);
+    }
+  }
+
+  /** An asynchronous request together with where its failures are emitted. */
+  private static class PendingWrite {
+
+    private final ListenableFuture<WriteResult> future;
+    private final BoundedWindow window;
+    private final Instant timestamp;
+
+    PendingWrite(ListenableFuture<WriteResult> future, BoundedWindow window, Instant timestamp) {
+      this.future = future;
+      this.window = window;
+      this.timestamp = timestamp;
+    }
+  }
+
   @AutoValue.Builder
   abstract static class Builder {
 
@@ -460,6 +749,10 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
 
     abstract Builder setInputBatchCount(ValueProvider<Integer> inputBatchCount);
 
+    abstract Builder setInputBatchBytes(ValueProvider<Integer> inputBatchBytes);
+
+    abstract Builder setMaxInflightRequests(ValueProvider<Integer> maxInflightRequests);
+
     abstract SplunkEventWriter autoBuild();
 
     /**
@@ -520,6 +813,28 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       return setInputBatchCount(inputBatchCount);
     }
 
+    /**
+     * Method to set the inputBatchBytes, the estimated size in bytes after which a batch is sent.
+     * Batches are only bounded by count when this is unset or 0.
+     *
+     * @param inputBatchBytes for bounding the size of post requests.
+     * @return {@link Builder}
+     */
+    public Builder withInputBatchBytes(ValueProvider<Integer> inputBatchBytes) {
+      return setInputBatchBytes(inputBatchBytes);
+    }
+
+    /**
+     * Method to set the maximum number of requests each writer instance keeps in flight to HEC.
+     * Requests are sent synchronously when this is unset or 1.
+     *
+     * @param maxInflightRequests for sending post requests concurrently.
+     * @return {@link Builder}
+     */
+    public Builder withMaxInflightRequests(ValueProvider<Integer> maxInflightRequests) {
+      return setMaxInflightRequests(maxInflightRequests);
+    }
+
     /**
      * Method to disable certificate validation.
      *
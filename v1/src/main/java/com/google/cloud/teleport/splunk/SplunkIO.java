@@ -66,6 +66,12 @@ public class SplunkIO {
     @Nullable
     abstract ValueProvider<Integer> batchCount();
 
+    @Nullable
+    abstract ValueProvider<Integer> batchBytes();
+
+    @Nullable
+    abstract ValueProvider<Integer> maxInflightRequests();
+
     @Nullable
     abstract ValueProvider<Integer> parallelism();
 
@@ -89,6 +95,8 @@ public class SplunkIO {
           SplunkEventWriter.newBuilder()
               .withUrl(url())
               .withInputBatchCount(batchCount())
+              .withInputBatchBytes(batchBytes())
+              .withMaxInflightRequests(maxInflightRequests())
               .withDisableCertificateValidation(disableCertificateValidation())
               .withToken((token()))
               .withRootCaCertificatePath(rootCaCertificatePath())
@@ -119,6 +127,10 @@ public class SplunkIO {
 
       abstract Builder setBatchCount(ValueProvider<Integer> batchCount);
 
+      abstract Builder setBatchBytes(ValueProvider<Integer> batchBytes);
+
+      abstract Builder setMaxInflightRequests(ValueProvider<Integer> maxInflightRequests);
+
       abstract Builder setParallelism(ValueProvider<Integer> parallelism);
 
       abstract Builder setDisableCertificateValidation(
@@ -201,6 +213,55 @@ public class SplunkIO {
         return setBatchCount(ValueProvider.StaticValueProvider.of(batchCount));
       }
 
+      /**
+       * Method to set the Batch Bytes, the estimated payload size after which a batch is sent.
+       *
+       * @param batchBytes for bounding the size of post requests.
+       * @return {@link Builder}
+       */
+      public Builder withBatchBytes(ValueProvider<Integer> batchBytes) {
+        checkArgument(batchBytes != null, "withBatchBytes(batchBytes) called with null input.");
+        return setBatchBytes(batchBytes);
+      }
+
+      /**
+       * Same as {@link Builder#withBatchBytes(ValueProvider)} but without {@link ValueProvider}.
+       *
+       * @param batchBytes for bounding the size of post requests.
+       * @return {@link Builder}
+       */
+      public Builder withBatchBytes(Integer batchBytes) {
+        checkArgument(batchBytes != null, "withBatchBytes(batchBytes) called with null input.");
+        return setBatchBytes(ValueProvider.StaticValueProvider.of(batchBytes));
+      }
+
+      /**
+       * Method to set the maximum number of concurrent requests each writer keeps in flight.
+       *
+       * @param maxInflightRequests for sending post requests asynchronously.
+       * @return {@link Builder}
+       */
+      public Builder withMaxInflightRequests(ValueProvider<Integer> maxInflightRequests) {
+        checkArgument(
+            maxInflightRequests != null,
+            "withMaxInflightRequests(maxInflightRequests) called with null input.");
+        return setMaxInflightRequests(maxInflightRequests);
+      }
+
+      /**
+       * Same as {@link Builder#withMaxInflightRequests(ValueProvider)} but without {@link
+       * ValueProvider}.
+       *
+       * @param maxInflightRequests for sending post requests asynchronously.
+       * @return {@link Builder}
+       */
+      public Builder withMaxInflightRequests(Integer maxInflightRequests) {
+        checkArgument(
+            maxInflightRequests != null,
+            "withMaxInflightRequests(maxInflightRequests) called with null input.");
+        return setMaxInflightRequests(ValueProvider.StaticValueProvider.of(maxInflightRequests));
+      }
+
       /**
        * Method to set the parallelism.
        *
@@ -20,10 +20,17 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.metadata.TemplateParameter.TemplateEnumOption;
 import com.google.cloud.teleport.templates.BulkCompressor.Options;
+import com.google.cloud.teleport.util.SplittableCompression;
+import com.google.cloud.teleport.util.SplittableCompression.ComposeParts;
+import com.google.cloud.teleport.util.SplittableCompression.FileRange;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
@@ -39,10 +46,15 @@ import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.Validation.Required;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.Flatten;
+import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
 import org.apache.beam.sdk.util.MimeTypes;
 import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
@@ -59,6 +71,10 @@ import org.slf4j.LoggerFactory;
  * compression mode extension. The extensions appended will be one of: <code>.bzip2</code>, <code>
  * .deflate</code>, <code>.gz</code> as determined by the compression type.
  *
+ * <p>When a split size is set, <code>BZIP2</code> and <code>GZIP</code> files larger than it are
+ * split into byte ranges which are compressed in parallel as independent bzip2 streams or gzip
+ * members. The compressed parts are then composed, in order, into a single valid output file.
+ *
  * <p>Any errors which occur during the compression process will be output to the failure file in
  * CSV format of filename, error message. If no failures occur during execution, the error file will
  * still be created but will contain no error records.
@@ -100,11 +116,19 @@ public class BulkCompressor {
   private static final Logger LOG = LoggerFactory.getLogger(BulkCompressor.class);
 
   /** The tag used to identify the main output of the {@link Compressor}. */
-  private static final TupleTag<String> COMPRESSOR_MAIN_OUT = new TupleTag<String>() {};
+  @VisibleForTesting
+  static final TupleTag<String> COMPRESSOR_MAIN_OUT = new TupleTag<String>() {};
 
   /** The tag used to identify the dead-letter output of the {@link Compressor}. */
-  private static final TupleTag<KV<String, String>> DEADLETTER_TAG =
-      new TupleTag<KV<String, String>>() {};
+  @VisibleForTesting
+  static final TupleTag<KV<String, String>> DEADLETTER_TAG = new TupleTag<KV<String, String>>() {};
+
+  /** The tag used to identify the ranges of files the {@link Compressor} splits. */
+  private static final TupleTag<FileRange> RANGE_TAG = new TupleTag<FileRange>() {};
+
+  /** The tag used to identify the compressed parts output by the {@link RangeCompressor}. */
+  private static final TupleTag<KV<String, FileRange>> PART_TAG =
+      new TupleTag<KV<String, FileRange>>() {};
 
   /**
    * The {@link Options} class provides the custom execution options passed by the executor at the
@@ -175,6 +199,17 @@ public class BulkCompressor {
     ValueProvider<String> getOutputFilenameSuffix();
 
     void setOutputFilenameSuffix(ValueProvider<String> value);
+
+    @TemplateParameter.Long(
+        order = 6,
+        optional = true,
+        description = "Split size in bytes",
+        helpText =
+            "Files larger than this size are split into ranges of this size which are compressed in parallel and composed into a single output file. Only supported for BZIP2 and GZIP. Defaults to 0, which compresses every file as a whole.",
+        example = "1073741824")
+    ValueProvider<Long> getSplitSizeBytes();
+
+    void setSplitSizeBytes(ValueProvider<Long> value);
   }
 
   /**
@@ -212,12 +247,12 @@ public class BulkCompressor {
      *   3) Write any errors to the failure output file
      */
     PCollectionTuple compressOut =
-        pipeline
-            .apply("Match File(s)", FileIO.match().filepattern(options.getInputFilePattern()))
-            .apply(
-                "Compress File(s)",
-                ParDo.of(new Compressor(options.getOutputDirectory(), options.getCompression()))
-                    .withOutputTags(COMPRESSOR_MAIN_OUT, TupleTagList.of(DEADLETTER_TAG)));
+        compress(
+            pipeline.apply(
+                "Match File(s)", FileIO.match().filepattern(options.getInputFilePattern())),
+            options.getOutputDirectory(),
+            options.getCompression(),
+            options.getSplitSizeBytes());
 
     compressOut
         .get(DEADLETTER_TAG)
@@ -235,20 +270,82 @@ public class BulkCompressor {
     return pipeline.run();
   }
 
+  /**
+   * Compresses the matched files into the output directory. Files larger than the split size are
+   * split into ranges which are compressed in parallel and composed into the output file.
+   *
+   * @return A {@link PCollectionTuple} of the compressed file paths, tagged {@link
+   *     #COMPRESSOR_MAIN_OUT}, and the failures, tagged {@link #DEADLETTER_TAG}.
+   */
+  @VisibleForTesting
+  static PCollectionTuple compress(
+      PCollection<MatchResult.Metadata> files,
+      ValueProvider<String> outputDirectory,
+      ValueProvider<Compression> compression,
+      ValueProvider<Long> splitSize) {
+    PCollectionTuple compressOut =
+        files.apply(
+            "Compress File(s)",
+            ParDo.of(new Compressor(outputDirectory, compression, splitSize))
+                .withOutputTags(
+                    COMPRESSOR_MAIN_OUT, TupleTagList.of(DEADLETTER_TAG).and(RANGE_TAG)));
+
+    PCollectionTuple rangeOut =
+        compressOut
+            .get(RANGE_TAG)
+            .apply("Reshuffle Range(s)", Reshuffle.viaRandomKey())
+            .apply(
+                "Compress Range(s)",
+                ParDo.of(new RangeCompressor(compression))
+                    .withOutputTags(PART_TAG, TupleTagList.of(DEADLETTER_TAG)));
+
+    PCollectionTuple composeOut =
+        rangeOut
+            .get(PART_TAG)
+            .apply("Group Part(s)", GroupByKey.create())
+            .apply(
+                "Compose Part(s)",
+                ParDo.of(new ComposeParts(DEADLETTER_TAG, MimeTypes.BINARY))
+                    .withOutputTags(COMPRESSOR_MAIN_OUT, TupleTagList.of(DEADLETTER_TAG)));
+
+    return PCollectionTuple.of(
+            COMPRESSOR_MAIN_OUT,
+            PCollectionList.of(compressOut.get(COMPRESSOR_MAIN_OUT))
+                .and(composeOut.get(COMPRESSOR_MAIN_OUT))
+                .apply("Flatten Output(s)", Flatten.pCollections()))
+        .and(
+            DEADLETTER_TAG,
+            PCollectionList.of(compressOut.get(DEADLETTER_TAG))
+                .and(rangeOut.get(DEADLETTER_TAG))
+                .and(composeOut.get(DEADLETTER_TAG))
+                .apply("Flatten Error(s)", Flatten.pCollections()));
+  }
+
   /**
    * The {@link Compressor} accepts {@link MatchResult.Metadata} from the FileSystems API and
    * compresses each file to an output location. Any compression failures which occur during
-   * execution will be output to a separate output for further processing.
+   * execution will be output to a separate output for further processing. Files larger than the
+   * split size are not compressed here but split into {@link FileRange}s for the {@link
+   * RangeCompressor}.
    */
   @SuppressWarnings("serial")
   public static class Compressor extends DoFn<MatchResult.Metadata, String> {
 
     private final ValueProvider<String> destinationLocation;
     private final ValueProvider<Compression> compressionValue;
+    private final ValueProvider<Long> splitSizeValue;
 
     Compressor(ValueProvider<String> destinationLocation, ValueProvider<Compression> compression) {
+      this(destinationLocation, compression, null);
+    }
+
+    Compressor(
+        ValueProvider<String> destinationLocation,
+        ValueProvider<Compression> compression,
+        ValueProvider<Long> splitSize) {
       this.destinationLocation = destinationLocation;
       this.compressionValue = compression;
+      this.splitSizeValue = splitSize;
     }
 
     @ProcessElement
@@ -276,6 +373,18 @@ public class BulkCompressor {
       ResourceId tempFile =
           outputDir.resolve("temp-" + outputFilename, StandardResolveOptions.RESOLVE_FILE);
 
+      // Split large files into ranges which are compressed in parallel.
+      long splitSize =
+          splitSizeValue == null || splitSizeValue.get() == null ? 0 : splitSizeValue.get();
+      long size = context.element().sizeBytes();
+      if (splitSize > 0
+          && size > splitSize
+          && SplittableCompression.CONCATENABLE_COMPRESSIONS.contains(compression)) {
+        SplittableCompression.split(inputFile.toString(), outputFile.toString(), size, splitSize)
+            .forEach(range -> context.output(RANGE_TAG, range));
+        return;
+      }
+
       // Perform the copy of the compressed channel to the destination.
       try (ReadableByteChannel readerChannel = FileSystems.open(inputFile)) {
         try (WritableByteChannel writerChannel =
@@ -296,4 +405,43 @@ public class BulkCompressor {
       }
     }
   }
+
+  /**
+   * The {@link RangeCompressor} compresses a {@link FileRange} into its own part file. Each part is
+   * a complete compressed stream, so the parts can be composed into a single valid file.
+   */
+  @SuppressWarnings("serial")
+  public static class RangeCompressor extends DoFn<FileRange, KV<String, FileRange>> {
+
+    private final ValueProvider<Compression> compressionValue;
+
+    RangeCompressor(ValueProvider<Compression> compression) {
+      this.compressionValue = compression;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      FileRange range = context.element();
+      ResourceId inputFile = FileSystems.matchNewResource(range.getInputFile(), false);
+
+      try (SeekableByteChannel readerChannel = SplittableCompression.openSeekable(inputFile)) {
+        readerChannel.position(range.getStart());
+        InputStream rangeStream =
+            ByteStreams.limit(
+                Channels.newInputStream(readerChannel), range.getEnd() - range.getStart());
+
+        try (WritableByteChannel writerChannel =
+            compressionValue
+                .get()
+                .writeCompressed(FileSystems.create(range.getPartFile(), MimeTypes.BINARY))) {
+          ByteStreams.copy(Channels.newChannel(rangeStream), writerChannel);
+        }
+
+        context.output(KV.of(range.getOutputFile(), range));
+      } catch (IOException e) {
+        LOG.error("Error occurred during compression of {}", range, e);
+        context.output(DEADLETTER_TAG, KV.of(range.getInputFile(), e.getMessage()));
+      }
+    }
+  }
 }
@@ -19,13 +19,19 @@ import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.templates.BulkDecompressor.Options;
+import com.google.cloud.teleport.util.GzipMemberReader;
+import com.google.cloud.teleport.util.SplittableCompression;
+import com.google.cloud.teleport.util.SplittableCompression.ComposeParts;
+import com.google.cloud.teleport.util.SplittableCompression.FileRange;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -46,10 +52,15 @@ import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.Validation.Required;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.Flatten;
+import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
 import org.apache.beam.sdk.util.MimeTypes;
 import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
@@ -93,6 +104,15 @@ import org.slf4j.LoggerFactory;
  * --outputFailureFile=gs://bucket-name/decompressed-dir/failed.csv
  * </pre>
  *
+ * <p>The optional {@code --splitSizeBytes} parameter enables parallel decompression of gzip files
+ * larger than the given size which contain multiple members, such as files written by the Bulk
+ * Compress template with a split size. The file is split into byte ranges, the members starting
+ * within each range are inflated in parallel, and the results are composed into the output file.
+ *
+ * <pre>
+ * --splitSizeBytes=1073741824
+ * </pre>
+ *
  * <p>Example Output File:
  *
  * <pre>
@@ -154,6 +174,13 @@ public class BulkDecompressor {
   @VisibleForTesting
   static final TupleTag<KV<String, String>> DEADLETTER_TAG = new TupleTag<KV<String, String>>() {};
 
+  /** The tag used to identify the ranges of files the {@link Decompress} DoFn splits. */
+  private static final TupleTag<FileRange> RANGE_TAG = new TupleTag<FileRange>() {};
+
+  /** The tag used to identify the decompressed parts output by the {@link RangeDecompress}. */
+  private static final TupleTag<KV<String, FileRange>> PART_TAG =
+      new TupleTag<KV<String, FileRange>>() {};
+
   /**
    * The {@link Options} class provides the custom execution options passed by the executor at the
    * command-line.
@@ -192,6 +219,17 @@ public class BulkDecompressor {
     ValueProvider<String> getOutputFailureFile();
 
     void setOutputFailureFile(ValueProvider<String> value);
+
+    @TemplateParameter.Long(
+        order = 4,
+        optional = true,
+        description = "Split size in bytes",
+        helpText =
+            "GZIP files larger than this size are split into ranges of this size, and the gzip members starting within each range are decompressed in parallel. Only files with multiple members benefit, such as those written by the Bulk Compress template with a split size. Defaults to 0, which decompresses every file as a whole.",
+        example = "1073741824")
+    ValueProvider<Long> getSplitSizeBytes();
+
+    void setSplitSizeBytes(ValueProvider<Long> value);
   }
 
   /**
@@ -232,12 +270,11 @@ public class BulkDecompressor {
 
     // Run the pipeline over the work items.
     PCollectionTuple decompressOut =
-        pipeline
-            .apply("MatchFile(s)", FileIO.match().filepattern(options.getInputFilePattern()))
-            .apply(
-                "DecompressFile(s)",
-                ParDo.of(new Decompress(options.getOutputDirectory()))
-                    .withOutputTags(DECOMPRESS_MAIN_OUT_TAG, TupleTagList.of(DEADLETTER_TAG)));
+        decompress(
+            pipeline.apply(
+                "MatchFile(s)", FileIO.match().filepattern(options.getInputFilePattern())),
+            options.getOutputDirectory(),
+            options.getSplitSizeBytes());
 
     decompressOut
         .get(DEADLETTER_TAG)
@@ -275,6 +312,57 @@ public class BulkDecompressor {
     return pipeline.run();
   }
 
+  /**
+   * Decompresses the matched files into the output directory. Gzip files larger than the split
+   * size are split into ranges which are decompressed in parallel and composed into the output
+   * file.
+   *
+   * @return A {@link PCollectionTuple} of the decompressed file paths, tagged {@link
+   *     #DECOMPRESS_MAIN_OUT_TAG}, and the failures, tagged {@link #DEADLETTER_TAG}.
+   */
+  @VisibleForTesting
+  static PCollectionTuple decompress(
+      PCollection<MatchResult.Metadata> files,
+      ValueProvider<String> outputDirectory,
+      ValueProvider<Long> splitSize) {
+    PCollectionTuple decompressOut =
+        files.apply(
+            "DecompressFile(s)",
+            ParDo.of(new Decompress(outputDirectory, splitSize))
+                .withOutputTags(
+                    DECOMPRESS_MAIN_OUT_TAG, TupleTagList.of(DEADLETTER_TAG).and(RANGE_TAG)));
+
+    PCollectionTuple rangeOut =
+        decompressOut
+            .get(RANGE_TAG)
+            .apply("ReshuffleRange(s)", Reshuffle.viaRandomKey())
+            .apply(
+                "DecompressRange(s)",
+                ParDo.of(new RangeDecompress())
+                    .withOutputTags(PART_TAG, TupleTagList.of(DEADLETTER_TAG)));
+
+    PCollectionTuple composeOut =
+        rangeOut
+            .get(PART_TAG)
+            .apply("GroupPart(s)", GroupByKey.create())
+            .apply(
+                "ComposePart(s)",
+                ParDo.of(new ComposeParts(DEADLETTER_TAG, MimeTypes.TEXT))
+                    .withOutputTags(DECOMPRESS_MAIN_OUT_TAG, TupleTagList.of(DEADLETTER_TAG)));
+
+    return PCollectionTuple.of(
+            DECOMPRESS_MAIN_OUT_TAG,
+            PCollectionList.of(decompressOut.get(DECOMPRESS_MAIN_OUT_TAG))
+                .and(composeOut.get(DECOMPRESS_MAIN_OUT_TAG))
+                .apply("FlattenOutput(s)", Flatten.pCollections()))
+        .and(
+            DEADLETTER_TAG,
+            PCollectionList.of(decompressOut.get(DEADLETTER_TAG))
+                .and(rangeOut.get(DEADLETTER_TAG))
+                .and(composeOut.get(DEADLETTER_TAG))
+                .apply("FlattenError(s)", Flatten.pCollections()));
+  }
+
   /**
    * Performs the decompression of an object on Google Cloud Storage and uploads the decompressed
    * object back to a specified destination location.
@@ -283,9 +371,15 @@ public class BulkDecompressor {
   public static class Decompress extends DoFn<MatchResult.Metadata, String> {
 
     private final ValueProvider<String> destinationLocation;
+    private final ValueProvider<Long> splitSizeValue;
 
     Decompress(ValueProvider<String> destinationLocation) {
+      this(destinationLocation, null);
+    }
+
+    Decompress(ValueProvider<String> destinationLocation, ValueProvider<Long> splitSize) {
       this.destinationLocation = destinationLocation;
+      this.splitSizeValue = splitSize;
     }
 
     @ProcessElement
@@ -298,6 +392,14 @@ public class BulkDecompressor {
             String.format(UNCOMPRESSED_ERROR_MSG, inputFile.toString(), SUPPORTED_COMPRESSIONS);
 
         context.output(DEADLETTER_TAG, KV.of(inputFile.toString(), errorMsg));
+      } else if (isSplittable(context.element())) {
+        // Split large gzip files into ranges whose members are inflated in parallel.
+        SplittableCompression.split(
+                inputFile.toString(),
+                getOutputFile(inputFile).toString(),
+                context.element().sizeBytes(),
+                splitSizeValue.get())
+            .forEach(range -> context.output(RANGE_TAG, range));
       } else {
         try {
           ResourceId outputFile = decompress(inputFile);
@@ -324,8 +426,7 @@ public class BulkDecompressor {
 
       // Resolve the necessary resources to perform the transfer.
       ResourceId outputDir = FileSystems.matchNewResource(destinationLocation.get(), true);
-      ResourceId outputFile =
-          outputDir.resolve(outputFilename, StandardResolveOptions.RESOLVE_FILE);
+      ResourceId outputFile = getOutputFile(inputFile);
       ResourceId tempFile =
           outputDir.resolve(
               Files.getFileExtension(inputFile.toString()) + "-temp-" + outputFilename,
@@ -356,6 +457,23 @@ public class BulkDecompressor {
       return outputFile;
     }
 
+    /** Returns whether the file is a gzip file larger than the split size. */
+    private boolean isSplittable(MatchResult.Metadata metadata) {
+      Long splitSize = splitSizeValue == null ? null : splitSizeValue.get();
+      return splitSize != null
+          && splitSize > 0
+          && metadata.sizeBytes() > splitSize
+          && Compression.detect(metadata.resourceId().toString()) == Compression.GZIP;
+    }
+
+    /** Returns the output file for the input file, without its compressed extension. */
+    private ResourceId getOutputFile(ResourceId inputFile) {
+      return FileSystems.matchNewResource(destinationLocation.get(), true)
+          .resolve(
+              Files.getNameWithoutExtension(inputFile.toString()),
+              StandardResolveOptions.RESOLVE_FILE);
+    }
+
     /**
      * The error messages coming from the compression library are not consistent across compression
      * modes. Here we'll attempt to unify the messages to inform the user more clearly when we've
@@ -381,4 +499,38 @@ public class BulkDecompressor {
       return errorMsg == null ? "" : errorMsg;
     }
   }
+
+  /**
+   * Inflates the gzip members starting within a {@link FileRange} into its own part file. The
+   * parts of a file are composed into the output file once all of its ranges are decompressed.
+   */
+  @SuppressWarnings("serial")
+  public static class RangeDecompress extends DoFn<FileRange, KV<String, FileRange>> {
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      FileRange range = context.element();
+      ResourceId inputFile = FileSystems.matchNewResource(range.getInputFile(), false);
+
+      try (SeekableByteChannel readerChannel = SplittableCompression.openSeekable(inputFile)) {
+        GzipMemberReader.inflateRange(
+            readerChannel,
+            range.getStart(),
+            range.getEnd(),
+            () ->
+                Channels.newOutputStream(FileSystems.create(range.getPartFile(), MimeTypes.TEXT)));
+
+        context.output(KV.of(range.getOutputFile(), range));
+      } catch (IOException e) {
+        LOG.error("Error occurred during decompression of {}", range, e);
+        context.output(
+            DEADLETTER_TAG,
+            KV.of(
+                range.getInputFile(),
+                e.getMessage() == null
+                    ? String.format(MALFORMED_ERROR_MSG, range.getInputFile(), Compression.GZIP)
+                    : e.getMessage()));
+      }
+    }
+  }
 }
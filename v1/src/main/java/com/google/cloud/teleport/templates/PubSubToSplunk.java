@@ -250,6 +250,8 @@ public class PubSubToSplunk {
                             options.getTokenSource()))
                     .withUrl(options.getUrl())
                     .withBatchCount(options.getBatchCount())
+                    .withBatchBytes(options.getBatchBytes())
+                    .withMaxInflightRequests(options.getMaxInflightRequests())
                     .withParallelism(options.getParallelism())
                     .withDisableCertificateValidation(options.getDisableCertificateValidation())
                     .withRootCaCertificatePath(options.getRootCaCertificatePath())
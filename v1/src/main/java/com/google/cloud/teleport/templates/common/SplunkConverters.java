@@ -225,6 +225,26 @@ public class SplunkConverters {
     ValueProvider<Boolean> getEnableGzipHttpCompression();
 
     void setEnableGzipHttpCompression(ValueProvider<Boolean> enableGzipHttpCompression);
+
+    @TemplateParameter.Integer(
+        order = 13,
+        optional = true,
+        description = "Maximum estimated size in bytes of a batch sent to Splunk HEC.",
+        helpText =
+            "The estimated payload size, in bytes, after which a batch is sent to Splunk HEC, whether or not `batchCount` events have been buffered. Batches are only bounded by `batchCount` when not set or `0`.")
+    ValueProvider<Integer> getBatchBytes();
+
+    void setBatchBytes(ValueProvider<Integer> batchBytes);
+
+    @TemplateParameter.Integer(
+        order = 14,
+        optional = true,
+        description = "Maximum number of in-flight requests per writer.",
+        helpText =
+            "The maximum number of requests each writer sends to Splunk HEC concurrently without waiting for earlier responses. Defaults to `1` (synchronous requests).")
+    ValueProvider<Integer> getMaxInflightRequests();
+
+    void setMaxInflightRequests(ValueProvider<Integer> maxInflightRequests);
   }
 
   private static class FailsafeStringToSplunkEvent
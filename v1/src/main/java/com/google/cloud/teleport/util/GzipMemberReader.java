@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * The {@link GzipMemberReader} inflates the members of a multi-member gzip file one at a time, so
+ * that a byte range of the compressed file can be decompressed independently of the rest of it.
+ *
+ * <p>Every member that starts within a range belongs to that range, even when it ends past the
+ * range end. A range that does not start at the beginning of the file locates its first member by
+ * scanning for a gzip header and inflating the member that follows it. Because a member is only
+ * accepted once its CRC32 and length trailer match the inflated data, a header signature that
+ * happens to appear within compressed data is discarded and the scan moves on.
+ */
+public class GzipMemberReader {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  private static final int FRESERVED = 0xe0;
+
+  /** Opens a new, empty output stream, replacing anything written by a previous attempt. */
+  @FunctionalInterface
+  public interface OutputOpener {
+    OutputStream open() throws IOException;
+  }
+
+  private final SeekableByteChannel channel;
+  private final long size;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private final byte[] inflated = new byte[BUFFER_SIZE];
+  private final Inflater inflater = new Inflater(true);
+  private final CRC32 crc = new CRC32();
+
+  /** The file offset of {@code buffer[0]}. The channel is always positioned at the buffer limit. */
+  private long bufferOffset;
+
+  private int pos;
+  private int limit;
+
+  public GzipMemberReader(SeekableByteChannel channel) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+    this.bufferOffset = channel.position();
+  }
+
+  /**
+   * Inflates every member of the file that starts within {@code [start, end)} into a stream
+   * created by {@code opener}. The output stream is always created, and left empty when no member
+   * starts within the range.
+   */
+  public static void inflateRange(
+      SeekableByteChannel channel, long start, long end, OutputOpener opener) throws IOException {
+    GzipMemberReader reader = new GzipMemberReader(channel);
+    try {
+      reader.inflateRange(start, Math.min(end, reader.size), opener);
+    } finally {
+      reader.inflater.end();
+    }
+  }
+
+  private void inflateRange(long start, long end, OutputOpener opener) throws IOException {
+    OutputStream out = opener.open();
+    try {
+      long offset = start;
+      if (start > 0) {
+        // Find the first member starting within the range, discarding false header matches.
+        while (true) {
+          offset = scan(offset, end);
+          if (offset < 0) {
+            return;
+          }
+          try {
+            offset = readMember(offset, out);
+            break;
+          } catch (ZipException | EOFException e) {
+            out.close();
+            out = opener.open();
+            offset++;
+          }
+        }
+      }
+      while (offset < end) {
+        offset = readMember(offset, out);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Inflates the member starting at {@code offset} into {@code out}.
+   *
+   * @return the offset just past the member trailer, where the next member would start.
+   * @throws ZipException if there is no valid member at the offset.
+   * @throws EOFException if the file ends within the member.
+   */
+  public long readMember(long offset, OutputStream out) throws IOException {
+    seek(offset);
+    readHeader();
+    inflater.reset();
+    crc.reset();
+    long length = 0;
+    while (!inflater.finished()) {
+      if (inflater.needsInput()) {
+        if (pos == limit && !fill()) {
+          throw new EOFException("Unexpected end of gzip member starting at " + offset);
+        }
+        inflater.setInput(buffer, pos, limit - pos);
+        pos = limit;
+      }
+      int count;
+      try {
+        count = inflater.inflate(inflated);
+      } catch (DataFormatException e) {
+        throw new ZipException(e.getMessage());
+      }
+      if (count > 0) {
+        crc.update(inflated, 0, count);
+        out.write(inflated, 0, count);
+        length += count;
+      } else if (inflater.needsDictionary()) {
+        throw new ZipException("Unexpected preset dictionary in gzip member at " + offset);
+      }
+    }
+    // Hand the bytes the inflater did not consume back to the buffer.
+    pos -= inflater.getRemaining();
+
+    if (readIntLe() != (int) crc.getValue() || readIntLe() != (int) length) {
+      throw new ZipException("Corrupt gzip trailer for member starting at " + offset);
+    }
+    return position();
+  }
+
+  /** Returns the offset of the first gzip header signature in {@code [from, end)}, or -1. */
+  long scan(long from, long end) throws IOException {
+    for (long offset = from; offset < end; offset++) {
+      seek(offset);
+      if (pos == limit && !fill()) {
+        return -1;
+      }
+      if (buffer[pos] == (byte) 0x1f && isHeader(offset)) {
+        return offset;
+      }
+    }
+    return -1;
+  }
+
+  private boolean isHeader(long offset) throws IOException {
+    seek(offset);
+    try {
+      return readUnsignedByte() == 0x1f
+          && readUnsignedByte() == 0x8b
+          && readUnsignedByte() == 8
+          && (readUnsignedByte() & FRESERVED) == 0;
+    } catch (EOFException e) {
+      return false;
+    }
+  }
+
+  private void readHeader() throws IOException {
+    if (readUnsignedByte() != 0x1f || readUnsignedByte() != 0x8b) {
+      throw new ZipException("Not in GZIP format");
+    }
+    if (readUnsignedByte() != 8) {
+      throw new ZipException("Unsupported compression method");
+    }
+    int flags = readUnsignedByte();
+    if ((flags & FRESERVED) != 0) {
+      throw new ZipException("Reserved gzip flags are set");
+    }
+    // Skip MTIME, XFL and OS.
+    skip(6);
+    if ((flags & FEXTRA) != 0) {
+      skip(readUnsignedByte() | (readUnsignedByte() << 8));
+    }
+    if ((flags & FNAME) != 0) {
+      skipZeroTerminated();
+    }
+    if ((flags & FCOMMENT) != 0) {
+      skipZeroTerminated();
+    }
+    if ((flags & FHCRC) != 0) {
+      skip(2);
+    }
+  }
+
+  private long position() {
+    return bufferOffset + pos;
+  }
+
+  private void seek(long offset) throws IOException {
+    if (offset >= bufferOffset && offset <= bufferOffset + limit) {
+      pos = (int) (offset - bufferOffset);
+    } else {
+      channel.position(offset);
+      bufferOffset = offset;
+      pos = 0;
+      limit = 0;
+    }
+  }
+
+  private boolean fill() throws IOException {
+    bufferOffset += limit;
+    pos = 0;
+    limit = 0;
+    int read;
+    do {
+      read = channel.read(ByteBuffer.wrap(buffer));
+    } while (read == 0);
+    if (read < 0) {
+      return false;
+    }
+    limit = read;
+    return true;
+  }
+
+  private int readUnsignedByte() throws IOException {
+    if (pos == limit && !fill()) {
+      throw new EOFException("Unexpected end of gzip file");
+    }
+    return buffer[pos++] & 0xff;
+  }
+
+  private int readIntLe() throws IOException {
+    return readUnsignedByte()
+        | (readUnsignedByte() << 8)
+        | (readUnsignedByte() << 16)
+        | (readUnsignedByte() << 24);
+  }
+
+  private void skip(int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      readUnsignedByte();
+    }
+  }
+
+  private void skipZeroTerminated() throws IOException {
+    while (readUnsignedByte() != 0) {}
+  }
+}
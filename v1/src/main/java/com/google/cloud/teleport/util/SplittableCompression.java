@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.util;
+
+import com.google.api.services.storage.Storage;
+import com.google.api.services.storage.model.ComposeRequest;
+import com.google.api.services.storage.model.StorageObject;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.beam.sdk.coders.DefaultCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.extensions.gcp.options.GcsOptions;
+import org.apache.beam.sdk.extensions.gcp.util.Transport;
+import org.apache.beam.sdk.extensions.gcp.util.gcsfs.GcsPath;
+import org.apache.beam.sdk.io.Compression;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.MoveOptions.StandardMoveOptions;
+import org.apache.beam.sdk.io.fs.ResolveOptions.StandardResolveOptions;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.options.PipelineOptions;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.TupleTag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SplittableCompression} class provides the building blocks for compressing and
+ * decompressing a single large file in parallel: the file is split into {@link FileRange}s, each
+ * range is processed into its own part file, and the parts are composed into the output file once
+ * all of them have been written.
+ */
+public class SplittableCompression {
+
+  /** The logger to output status messages to. */
+  private static final Logger LOG = LoggerFactory.getLogger(SplittableCompression.class);
+
+  /** The maximum number of source objects in a single Cloud Storage compose request. */
+  private static final int MAX_COMPOSE_SOURCES = 32;
+
+  /** The maximum number of components of a composite Cloud Storage object. */
+  @VisibleForTesting static final int MAX_COMPOSE_COMPONENTS = 1024;
+
+  /**
+   * The {@link Compression}s whose compressed streams can be concatenated into a valid file: gzip
+   * members, bzip2 streams and zstd frames. Deflate and zip output cannot be concatenated.
+   */
+  public static final Set<Compression> CONCATENABLE_COMPRESSIONS =
+      ImmutableSet.of(Compression.GZIP, Compression.BZIP2, Compression.ZSTD);
+
+  private SplittableCompression() {}
+
+  /**
+   * Splits a file of {@code size} bytes into ranges of at most {@code splitSize} bytes. A Cloud
+   * Storage object cannot be composed from more than 1024 parts, so the split size is raised when
+   * needed to keep the number of ranges within that limit.
+   *
+   * @param inputFile The file to split.
+   * @param outputFile The file the processed ranges are composed into.
+   * @param size The size of the input file in bytes.
+   * @param splitSize The maximum size of a range in bytes.
+   * @return The ranges covering the whole input file, in order.
+   */
+  public static List<FileRange> split(
+      String inputFile, String outputFile, long size, long splitSize) {
+    long minSplitSize = (size + MAX_COMPOSE_COMPONENTS - 1) / MAX_COMPOSE_COMPONENTS;
+    if (splitSize < minSplitSize) {
+      LOG.info(
+          "Raising the split size of {} from {} to {} bytes to stay within {} parts",
+          inputFile,
+          splitSize,
+          minSplitSize,
+          MAX_COMPOSE_COMPONENTS);
+      splitSize = minSplitSize;
+    }
+    int count = (int) ((size + splitSize - 1) / splitSize);
+    List<FileRange> ranges = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      long start = index * splitSize;
+      ranges.add(
+          new FileRange(
+              inputFile, outputFile, index, count, start, Math.min(size, start + splitSize)));
+    }
+    return ranges;
+  }
+
+  /** Opens the file for random access, failing if its file system does not support seeking. */
+  public static SeekableByteChannel openSeekable(ResourceId file) throws IOException {
+    ReadableByteChannel channel = FileSystems.open(file);
+    if (!(channel instanceof SeekableByteChannel)) {
+      channel.close();
+      throw new IOException("The file " + file + " does not support reading byte ranges.");
+    }
+    return (SeekableByteChannel) channel;
+  }
+
+  /**
+   * Composes the parts, in order, into the destination and deletes them. Cloud Storage parts are
+   * composed server side, other file systems fall back to copying the parts one after the other.
+   * The destination is first composed into a temporary file and renamed once complete. If
+   * composing fails, the parts and the temporary file are deleted.
+   *
+   * @param parts The part files to compose, in order.
+   * @param destination The file to compose the parts into.
+   * @param mimeType The MIME type of the destination.
+   * @param options The pipeline options used to create the Cloud Storage client.
+   */
+  public static void compose(
+      List<ResourceId> parts, ResourceId destination, String mimeType, PipelineOptions options)
+      throws IOException {
+    ResourceId tempFile =
+        destination
+            .getCurrentDirectory()
+            .resolve("temp-" + destination.getFilename(), StandardResolveOptions.RESOLVE_FILE);
+
+    try {
+      if ("gs".equals(destination.getScheme())) {
+        composeGcs(parts, tempFile, mimeType, options.as(GcsOptions.class));
+      } else {
+        try (WritableByteChannel writerChannel = FileSystems.create(tempFile, mimeType)) {
+          for (ResourceId part : parts) {
+            try (ReadableByteChannel readerChannel = FileSystems.open(part)) {
+              ByteStreams.copy(readerChannel, writerChannel);
+            }
+          }
+        }
+      }
+      FileSystems.rename(ImmutableList.of(tempFile), ImmutableList.of(destination));
+    } catch (IOException | RuntimeException e) {
+      deleteQuietly(ImmutableList.<ResourceId>builder().addAll(parts).add(tempFile).build());
+      throw e;
+    }
+
+    FileSystems.delete(parts, StandardMoveOptions.IGNORE_MISSING_FILES);
+  }
+
+  /** Deletes the files, logging rather than throwing if that fails. */
+  private static void deleteQuietly(List<ResourceId> files) {
+    try {
+      FileSystems.delete(files, StandardMoveOptions.IGNORE_MISSING_FILES);
+    } catch (IOException e) {
+      LOG.warn("Error occurred while deleting {}", files, e);
+    }
+  }
+
+  /**
+   * Composes the parts with the Cloud Storage compose API. The first request composes up to 32
+   * parts into the destination, and each following request appends up to 31 more to it.
+   */
+  private static void composeGcs(
+      List<ResourceId> parts, ResourceId destination, String mimeType, GcsOptions options)
+      throws IOException {
+    Storage storage = Transport.newStorageClient(options).build();
+    GcsPath destinationPath = GcsPath.fromUri(destination.toString());
+
+    if (parts.size() > MAX_COMPOSE_COMPONENTS) {
+      throw new IOException(
+          "Cannot compose "
+              + parts.size()
+              + " parts into "
+              + destination
+              + ", the limit is "
+              + MAX_COMPOSE_COMPONENTS
+              + ".");
+    }
+
+    List<String> sources = new ArrayList<>(parts.size());
+    for (ResourceId part : parts) {
+      GcsPath partPath = GcsPath.fromUri(part.toString());
+      if (!partPath.getBucket().equals(destinationPath.getBucket())) {
+        throw new IOException(
+            "Cannot compose " + part + " into " + destination + " across buckets.");
+      }
+      sources.add(partPath.getObject());
+    }
+
+    int next = 0;
+    do {
+      List<ComposeRequest.SourceObjects> batch = new ArrayList<>();
+      if (next > 0) {
+        batch.add(new ComposeRequest.SourceObjects().setName(destinationPath.getObject()));
+      }
+      while (batch.size() < MAX_COMPOSE_SOURCES && next < sources.size()) {
+        batch.add(new ComposeRequest.SourceObjects().setName(sources.get(next++)));
+      }
+      storage
+          .objects()
+          .compose(
+              destinationPath.getBucket(),
+              destinationPath.getObject(),
+              new ComposeRequest()
+                  .setSourceObjects(batch)
+                  .setDestination(new StorageObject().setContentType(mimeType)))
+          .execute();
+    } while (next < sources.size());
+  }
+
+  /**
+   * A byte range of an input file, which is processed into its own part file before being composed
+   * into the output file with the other ranges of the same file.
+   */
+  @DefaultCoder(SerializableCoder.class)
+  public static class FileRange implements Serializable {
+
+    private final String inputFile;
+    private final String outputFile;
+    private final int index;
+    private final int count;
+    private final long start;
+    private final long end;
+
+    public FileRange(
+        String inputFile, String outputFile, int index, int count, long start, long end) {
+      this.inputFile = inputFile;
+      this.outputFile = outputFile;
+      this.index = index;
+      this.count = count;
+      this.start = start;
+      this.end = end;
+    }
+
+    public String getInputFile() {
+      return inputFile;
+    }
+
+    public String getOutputFile() {
+      return outputFile;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public long getStart() {
+      return start;
+    }
+
+    public long getEnd() {
+      return end;
+    }
+
+    /** Returns the temporary part file this range is processed into, next to the output file. */
+    public ResourceId getPartFile() {
+      ResourceId output = FileSystems.matchNewResource(outputFile, false);
+      return output
+          .getCurrentDirectory()
+          .resolve(
+              String.format("temp-%s-%05d-of-%05d", output.getFilename(), index, count),
+              StandardResolveOptions.RESOLVE_FILE);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s [%d, %d)", inputFile, start, end);
+    }
+  }
+
+  /**
+   * The {@link ComposeParts} composes the part files of each output file once all of them have
+   * been written and outputs the output file path. If any range of the file failed, its failure
+   * was already sent to the dead-letter output, so the remaining parts are deleted and no output
+   * file is written.
+   */
+  @SuppressWarnings("serial")
+  public static class ComposeParts extends DoFn<KV<String, Iterable<FileRange>>, String> {
+
+    private final TupleTag<KV<String, String>> deadLetterTag;
+    private final String mimeType;
+
+    public ComposeParts(TupleTag<KV<String, String>> deadLetterTag, String mimeType) {
+      this.deadLetterTag = deadLetterTag;
+      this.mimeType = mimeType;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      ResourceId outputFile = FileSystems.matchNewResource(context.element().getKey(), false);
+      List<FileRange> ranges = new ArrayList<>();
+      context.element().getValue().forEach(ranges::add);
+      ranges.sort(Comparator.comparingInt(FileRange::getIndex));
+      List<ResourceId> parts =
+          ranges.stream().map(FileRange::getPartFile).collect(Collectors.toList());
+      String inputFile = ranges.get(0).getInputFile();
+
+      try {
+        if (ranges.size() != ranges.get(0).getCount()) {
+          LOG.warn(
+              "Skipping {}, only {} of {} ranges were processed",
+              outputFile,
+              ranges.size(),
+              ranges.get(0).getCount());
+          FileSystems.delete(parts, StandardMoveOptions.IGNORE_MISSING_FILES);
+          return;
+        }
+        compose(parts, outputFile, mimeType, context.getPipelineOptions());
+        context.output(outputFile.toString());
+      } catch (IOException e) {
+        LOG.error("Error occurred while composing {}", outputFile, e);
+        context.output(deadLetterTag, KV.of(inputFile, e.getMessage()));
+      }
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+/** Tests for {@link CsvRecordBoundaries}. */
+public class CsvRecordBoundariesTest {
+
+  @Test
+  public void findsRecordStartsAtEveryOffset() throws IOException {
+    String data =
+        "1,\"a\nb\",c\n2,\"d,\"\"e\"\"\nf\",g\n3,h,\"i\n\n\"\n4,j,k\n5,\"\"\"\n\"\"\",l\n";
+    CsvRecordBoundaries boundaries = new CsvRecordBoundaries('"', ',', null);
+    Set<Long> recordStarts = getRecordStarts(data);
+
+    try (SeekableByteChannel channel = writeFile(data)) {
+      long previous = 0;
+      for (long offset = 0; offset <= data.length(); offset++) {
+        long boundary = boundaries.find(channel, offset);
+        assertTrue(
+            "Boundary " + boundary + " is not a record start", recordStarts.contains(boundary));
+        assertTrue("Boundary " + boundary + " precedes " + previous, boundary >= previous);
+        assertTrue(boundary >= offset);
+        previous = boundary;
+      }
+    }
+  }
+
+  @Test
+  public void findsRecordStartsWithEscapedNewLines() throws IOException {
+    String data = "1,a\\\nb,\"x\"\n2,\"c\\\"\n\",\"y\"\n3,d\n";
+    CsvRecordBoundaries boundaries = new CsvRecordBoundaries('"', ',', '\\');
+
+    try (SeekableByteChannel channel = writeFile(data)) {
+      assertEquals(data.indexOf('2'), boundaries.find(channel, 1));
+      assertEquals(data.indexOf('3'), boundaries.find(channel, data.indexOf('2') + 1));
+      assertEquals(data.length(), boundaries.find(channel, data.indexOf('3') + 1));
+    }
+  }
+
+  @Test
+  public void limitsTheQuotedValueLength() throws IOException {
+    // Without quotes in the data, a quoted value could span the entire file.
+    String data = "1,aaaa\n2,bbbb\n3,cccc\n4,dddd\n";
+
+    try (SeekableByteChannel channel = writeFile(data)) {
+      assertEquals(data.length(), new CsvRecordBoundaries('"', ',', null).find(channel, 1));
+      assertEquals(
+          data.indexOf('3'), new CsvRecordBoundaries('"', ',', null, 8).find(channel, 1));
+    }
+  }
+
+  @Test
+  public void failsOnInvalidData() throws IOException {
+    String data = "x,,\"a\"b\n";
+    CsvRecordBoundaries boundaries = new CsvRecordBoundaries('"', ',', null);
+
+    try (SeekableByteChannel channel = writeFile(data)) {
+      assertThrows(RuntimeException.class, () -> boundaries.find(channel, 1));
+    }
+  }
+
+  @Test
+  public void supportsOnlyAsciiCharacters() {
+    assertTrue(CsvRecordBoundaries.isSupported('"', ',', null));
+    assertTrue(CsvRecordBoundaries.isSupported('"', '\t', '\\'));
+    assertFalse(CsvRecordBoundaries.isSupported('"', '\u00a7', null));
+  }
+
+  private static SeekableByteChannel writeFile(String data) throws IOException {
+    Path file = Files.createTempFile("records", ".csv");
+    file.toFile().deleteOnExit();
+    Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+    return Files.newByteChannel(file);
+  }
+
+  /** Returns the record starts of a file with quotes and without escapes, and the end of file. */
+  private static Set<Long> getRecordStarts(String data) {
+    Set<Long> recordStarts = new HashSet<>();
+    recordStarts.add(0L);
+    recordStarts.add((long) data.length());
+    boolean quoted = false;
+    for (int i = 0; i < data.length(); i++) {
+      if (data.charAt(i) == '"') {
+        quoted = !quoted;
+      } else if (data.charAt(i) == '\n' && !quoted) {
+        recordStarts.add(i + 1L);
+      }
+    }
+    return recordStarts;
+  }
+}
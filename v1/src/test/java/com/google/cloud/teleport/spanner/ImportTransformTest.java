@@ -24,9 +24,12 @@ import com.google.cloud.teleport.spanner.ImportTransform.ReadExportManifestFile;
 import com.google.cloud.teleport.spanner.ImportTransform.ReadManifestFiles;
 import com.google.cloud.teleport.spanner.ImportTransform.ReadTableManifestFile;
 import com.google.cloud.teleport.spanner.ImportTransform.ValidateInputFiles;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.TableManifest;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -373,4 +376,179 @@ public class ImportTransformTest {
             });
     pipeline.run();
   }
+
+  @Test
+  public void loadStages() {
+    Ddl.Builder builder =
+        Ddl.builder()
+            .createTable("Countries")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .createTable("Users")
+            .column("id")
+            .int64()
+            .endColumn()
+            .column("country")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .foreignKeys(
+                ImmutableList.of(
+                    "ALTER TABLE `Users` ADD CONSTRAINT `fk_country` FOREIGN KEY (`country`)"
+                        + " REFERENCES `Countries` (`id`)"))
+            .endTable()
+            .createTable("Account")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Users")
+            .indexes(ImmutableList.of("CREATE INDEX `AccountIndex` ON `Account`(`id`)"))
+            .endTable()
+            .createTable("Logs")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .foreignKeys(
+                ImmutableList.of(
+                    "ALTER TABLE `Logs` ADD CONSTRAINT `fk_account` FOREIGN KEY (`id`)"
+                        + " REFERENCES `Account` (`id`)"))
+            .indexes(ImmutableList.of("CREATE INDEX `LogsIndex` ON `Logs`(`id`)"))
+            .endTable();
+    builder.addReferencedTable("Users", "Countries");
+    builder.addReferencedTable("Logs", "Account");
+    Ddl ddl = builder.build();
+
+    assertEquals(ImmutableSet.of("users"), ImportTransform.loadStageTables(ddl, 0, true));
+    assertEquals(
+        ImmutableSet.of("countries", "logs"), ImportTransform.loadStageTables(ddl, 0, false));
+    assertEquals(ImmutableSet.of(), ImportTransform.loadStageTables(ddl, 1, true));
+    assertEquals(ImmutableSet.of("account"), ImportTransform.loadStageTables(ddl, 1, false));
+
+    assertEquals(
+        ImmutableList.of("CREATE INDEX `LogsIndex` ON `Logs`(`id`)"),
+        ImportTransform.loadStageIndexes(ddl, 0, false));
+    assertEquals(
+        ImmutableList.of("CREATE INDEX `AccountIndex` ON `Account`(`id`)"),
+        ImportTransform.loadStageIndexes(ddl, 1, false));
+    assertEquals(ImmutableList.of(), ImportTransform.loadStageIndexes(ddl, 0, true));
+
+    // The foreign key of Logs waits for the table it references on the next level.
+    assertEquals(
+        ImmutableList.of(
+            "ALTER TABLE `Users` ADD CONSTRAINT `fk_country` FOREIGN KEY (`country`)"
+                + " REFERENCES `Countries` (`id`)"),
+        ImportTransform.loadLevelForeignKeys(ddl, 0));
+    assertEquals(
+        ImmutableList.of(
+            "ALTER TABLE `Logs` ADD CONSTRAINT `fk_account` FOREIGN KEY (`id`)"
+                + " REFERENCES `Account` (`id`)"),
+        ImportTransform.loadLevelForeignKeys(ddl, 1));
+  }
+
+  @Test
+  public void loadLevelForeignKeysFollowMultiLevelChain() {
+    Ddl.Builder builder =
+        Ddl.builder()
+            .createTable("Singers")
+            .column("SingerId")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("SingerId")
+            .end()
+            .foreignKeys(
+                ImmutableList.of(
+                    "ALTER TABLE `Singers` ADD CONSTRAINT `fk_song` FOREIGN KEY (`SingerId`)"
+                        + " REFERENCES `Songs` (`SingerId`)"))
+            .endTable()
+            .createTable("Albums")
+            .column("SingerId")
+            .int64()
+            .endColumn()
+            .column("AlbumId")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("SingerId")
+            .asc("AlbumId")
+            .end()
+            .interleaveInParent("Singers")
+            .foreignKeys(
+                ImmutableList.of(
+                    "ALTER TABLE `Albums` ADD CONSTRAINT `fk_label` FOREIGN KEY (`AlbumId`)"
+                        + " REFERENCES `Labels` (`LabelId`)"))
+            .endTable()
+            .createTable("Songs")
+            .column("SingerId")
+            .int64()
+            .endColumn()
+            .column("AlbumId")
+            .int64()
+            .endColumn()
+            .column("SongId")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("SingerId")
+            .asc("AlbumId")
+            .asc("SongId")
+            .end()
+            .interleaveInParent("Albums")
+            .foreignKeys(
+                ImmutableList.of(
+                    "ALTER TABLE `Songs` ADD CONSTRAINT `fk_album` FOREIGN KEY (`AlbumId`)"
+                        + " REFERENCES `Albums` (`AlbumId`)"))
+            .endTable()
+            .createTable("Labels")
+            .column("LabelId")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("LabelId")
+            .end()
+            .foreignKeys(
+                ImmutableList.of(
+                    "ALTER TABLE `Labels` ADD CONSTRAINT `fk_unknown` FOREIGN KEY (`LabelId`)"
+                        + " REFERENCES `Unknown` (`id`)"))
+            .endTable();
+    builder.addReferencedTable("Singers", "Songs");
+    builder.addReferencedTable("Albums", "Labels");
+    builder.addReferencedTable("Songs", "Albums");
+    Ddl ddl = builder.build();
+
+    // Albums is on level 1 and references Labels on level 0.
+    assertEquals(
+        ImmutableList.of(
+            "ALTER TABLE `Albums` ADD CONSTRAINT `fk_label` FOREIGN KEY (`AlbumId`)"
+                + " REFERENCES `Labels` (`LabelId`)"),
+        ImportTransform.loadLevelForeignKeys(ddl, 1));
+    // Singers on level 0 references Songs on level 2, and Songs references Albums on level 1.
+    assertEquals(
+        ImmutableSet.of(
+            "ALTER TABLE `Singers` ADD CONSTRAINT `fk_song` FOREIGN KEY (`SingerId`)"
+                + " REFERENCES `Songs` (`SingerId`)",
+            "ALTER TABLE `Songs` ADD CONSTRAINT `fk_album` FOREIGN KEY (`AlbumId`)"
+                + " REFERENCES `Albums` (`AlbumId`)"),
+        ImmutableSet.copyOf(ImportTransform.loadLevelForeignKeys(ddl, 2)));
+    assertEquals(ImmutableList.of(), ImportTransform.loadLevelForeignKeys(ddl, 0));
+    // The table referenced by Labels is not known, so its foreign key waits for every level.
+    assertEquals(
+        ImmutableList.of(
+            "ALTER TABLE `Labels` ADD CONSTRAINT `fk_unknown` FOREIGN KEY (`LabelId`)"
+                + " REFERENCES `Unknown` (`id`)"),
+        ImportTransform.loadLevelForeignKeys(ddl, 7));
+  }
 }
@@ -354,6 +354,81 @@ public final class ReadFileShardFnTest implements Serializable {
     pipeline.run();
   }
 
+  @Test
+  public void readParallelSplitShards() throws Exception {
+    Path inputFile = Files.createTempFile(testTableName, ".csv");
+
+    Charset charset = Charset.forName("UTF-8");
+    String data = "1,\"a\nb\",c\n2,\"d,\"\"e\"\"\nf\",g\n3,h,\"i\n\n\"\n4,j,k";
+    try (BufferedWriter writer = Files.newBufferedWriter(inputFile, charset)) {
+      writer.write(data, 0, data.length());
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    PCollection<FileShard> fileShard =
+        pipeline
+            .apply("Create file name collection", Create.of(inputFile.toString()))
+            .apply(FileIO.matchAll().withEmptyMatchTreatment(EmptyMatchTreatment.DISALLOW))
+            // PCollection<Match.Metadata>
+            .apply(FileIO.readMatches())
+            // PCollection<FileIO.ReadableFile>
+            .apply(
+                "Create file shard collection",
+                ParDo.of(
+                    new DoFn<FileIO.ReadableFile, FileShard>() {
+
+                      @ProcessElement
+                      public void processElement(ProcessContext c) {
+                        // Split at fixed offsets which mostly fall within quoted values.
+                        long size = c.element().getMetadata().sizeBytes();
+                        for (OffsetRange range : new OffsetRange(0L, size).split(5L, 0L)) {
+                          c.output(
+                              FileShard.create(testTableName, c.element(), range, Long.MAX_VALUE));
+                        }
+                      }
+                    }))
+            .setCoder(FileShard.Coder.of());
+
+    PCollection<KV<String, CSVRecord>> records =
+        fileShard.apply(
+            ParDo.of(
+                new ReadFileShardFn(
+                    columnDelimiter,
+                    fieldQualifier,
+                    trailingDelimiter,
+                    escapeChar,
+                    nullString,
+                    handleNewLine,
+                    StaticValueProvider.of(true))));
+    // We convert the CSVRecord to a string containing the values as PAssert cannot compare equality
+    // for CSVRecord directly.
+    PCollection<KV<String, String>> csvValues =
+        records.apply(
+            "get values",
+            ParDo.of(
+                new DoFn<KV<String, CSVRecord>, KV<String, String>>() {
+
+                  @ProcessElement
+                  public void processElement(ProcessContext c) {
+                    c.output(
+                        KV.of(c.element().getKey(), csvRecordToValues(c.element().getValue())));
+                  }
+                }));
+    List<CSVRecord> csvRecords =
+        CSVParser.parse(
+                data, CSVFormat.newFormat(columnDelimiter.get()).withQuote(fieldQualifier.get()))
+            .getRecords();
+
+    List<KV<String, String>> expectedRecords =
+        IntStream.range(0, 4)
+            .mapToObj(i -> KV.of(testTableName, csvRecordToValues(csvRecords.get(i))))
+            .collect(Collectors.toList());
+
+    PAssert.that(csvValues).containsInAnyOrder(expectedRecords);
+
+    pipeline.run();
+  }
+
   public String csvRecordToValues(CSVRecord csvRecord) {
     List<String> vals = new ArrayList<String>();
     for (int i = 0; i < csvRecord.size(); i++) {
@@ -525,6 +525,59 @@ public class DdlTest {
     assertNotNull(ddl.hashCode());
   }
 
+  @Test
+  public void loadLevels() {
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("Users")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .createTable("Account")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Users")
+            .endTable()
+            .createTable("Logs")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Users")
+            .interleaveType(Table.InterleaveType.IN)
+            .endTable()
+            .createTable("Transfers")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Logs")
+            .interleaveType(Table.InterleaveType.IN_PARENT)
+            .endTable()
+            .build();
+
+    HashMultimap<Integer, String> perLoadLevelView = ddl.perLoadLevelView();
+    assertEquals(ImmutableSet.of("users", "logs"), perLoadLevelView.get(0));
+    assertEquals(ImmutableSet.of("account", "transfers"), perLoadLevelView.get(1));
+    assertEquals(4, perLoadLevelView.size());
+    assertTrue(ddl.hasDependentTables("Users"));
+    assertTrue(ddl.hasDependentTables("Logs"));
+    assertFalse(ddl.hasDependentTables("Account"));
+    assertFalse(ddl.hasDependentTables("Transfers"));
+  }
+
   @Test
   public void pgInterleaves() {
     Ddl ddl =
@@ -18,6 +18,7 @@ package com.google.cloud.teleport.spanner.ddl;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 
+import com.google.cloud.spanner.Dialect;
 import com.google.cloud.teleport.spanner.ddl.ForeignKey.ReferentialAction;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -56,4 +57,21 @@ public final class ForeignKeyTest {
     assertThat(exception.getMessage())
         .matches("ON DELETE referential action not supported: RESTRICT");
   }
+
+  @Test
+  public void testParseReferencedTable() {
+    for (Dialect dialect : new Dialect[] {Dialect.GOOGLE_STANDARD_SQL, Dialect.POSTGRESQL}) {
+      ForeignKey.Builder builder =
+          ForeignKey.builder(dialect)
+              .name("fk_references")
+              .table("sch1.Referencing")
+              .referencedTable("sch2.Referenced");
+      builder.columnsBuilder().add("referenced_id");
+      builder.referencedColumnsBuilder().add("id");
+
+      assertThat(ForeignKey.parseReferencedTable(builder.build().prettyPrint()))
+          .isEqualTo("sch2.Referenced");
+    }
+    assertThat(ForeignKey.parseReferencedTable("CREATE INDEX `Idx` ON `T`(`id`)")).isNull();
+  }
 }
@@ -130,6 +130,18 @@ public class SplunkEventWriterTest {
   /**
    * Test building {@link SplunkEventWriter} with default batchcount and certificate validation .
    */
+  /** Test that events are sized by their UTF-8 length rather than their character count. */
+  @Test
+  public void estimateSizeCountsUtf8Bytes() {
+    long asciiSize =
+        SplunkEventWriter.estimateSize(SplunkEvent.newBuilder().withEvent("ab").build());
+    long multiByteSize =
+        SplunkEventWriter.estimateSize(SplunkEvent.newBuilder().withEvent("\u00e9\u20ac").build());
+
+    // é is two bytes and € is three bytes in UTF-8.
+    assertThat(multiByteSize - asciiSize).isEqualTo(3);
+  }
+
   @Test
   public void eventWriterDefaultBatchCountAndValidation() {
 
@@ -337,6 +349,126 @@ public class SplunkEventWriterTest {
     mockServer.verify(HttpRequest.request(EXPECTED_PATH), VerificationTimes.once());
   }
 
+  /** Test that batches bounded by bytes are posted asynchronously. */
+  @Test
+  @Category(NeedsRunner.class)
+  public void successfulSplunkWriteByteBoundedAsyncTest() {
+
+    // Create server expectation for success.
+    mockServerListening(200);
+
+    int testPort = mockServer.getPort();
+
+    List<KV<Integer, SplunkEvent>> testEvents =
+        ImmutableList.of(
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-1")
+                    .withHost("test-host-1")
+                    .withIndex("test-index-1")
+                    .withSource("test-source-1")
+                    .withSourceType("test-source-type-1")
+                    .withTime(12345L)
+                    .build()),
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-2")
+                    .withHost("test-host-2")
+                    .withIndex("test-index-2")
+                    .withSource("test-source-2")
+                    .withSourceType("test-source-type-2")
+                    .withTime(12345L)
+                    .build()));
+
+    PCollection<SplunkWriteError> actual =
+        pipeline
+            .apply(
+                "Create Input data",
+                Create.of(testEvents)
+                    .withCoder(KvCoder.of(BigEndianIntegerCoder.of(), SplunkEventCoder.of())))
+            .apply(
+                "SplunkEventWriter",
+                ParDo.of(
+                    SplunkEventWriter.newBuilder()
+                        .withUrl(Joiner.on(':').join("http://localhost", testPort))
+                        .withInputBatchCount(StaticValueProvider.of(testEvents.size()))
+                        .withInputBatchBytes(
+                            StaticValueProvider.of(200)) // Only one event fits in a batch.
+                        .withMaxInflightRequests(StaticValueProvider.of(2))
+                        .withToken("test-token")
+                        .build()))
+            .setCoder(SplunkWriteErrorCoder.of());
+
+    // All successful responses.
+    PAssert.that(actual).empty();
+
+    pipeline.run();
+
+    // Server received one POST request per event.
+    mockServer.verify(
+        HttpRequest.request(EXPECTED_PATH), VerificationTimes.exactly(testEvents.size()));
+  }
+
+  /** Test failed asynchronous POST request. */
+  @Test
+  @Category(NeedsRunner.class)
+  public void failedSplunkWriteAsyncTest() {
+
+    // Create server expectation for FAILURE.
+    mockServerListening(404);
+
+    int testPort = mockServer.getPort();
+
+    List<KV<Integer, SplunkEvent>> testEvents =
+        ImmutableList.of(
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-1")
+                    .withHost("test-host-1")
+                    .withIndex("test-index-1")
+                    .withSource("test-source-1")
+                    .withSourceType("test-source-type-1")
+                    .withTime(12345L)
+                    .build()));
+
+    PCollection<SplunkWriteError> actual =
+        pipeline
+            .apply(
+                "Create Input data",
+                Create.of(testEvents)
+                    .withCoder(KvCoder.of(BigEndianIntegerCoder.of(), SplunkEventCoder.of())))
+            .apply(
+                "SplunkEventWriter",
+                ParDo.of(
+                    SplunkEventWriter.newBuilder()
+                        .withUrl(Joiner.on(':').join("http://localhost", testPort))
+                        .withInputBatchCount(StaticValueProvider.of(testEvents.size()))
+                        .withMaxInflightRequests(StaticValueProvider.of(4))
+                        .withToken("test-token")
+                        .build()))
+            .setCoder(SplunkWriteErrorCoder.of());
+
+    // Failures of asynchronous requests are still emitted as SplunkWriteErrors.
+    PAssert.that(actual)
+        .containsInAnyOrder(
+            SplunkWriteError.newBuilder()
+                .withStatusCode(404)
+                .withStatusMessage("Not Found")
+                .withPayload(
+                    "{\"time\":12345,\"host\":\"test-host-1\","
+                        + "\"source\":\"test-source-1\",\"sourcetype\":\"test-source-type-1\","
+                        + "\"index\":\"test-index-1\",\"event\":\"test-event-1\"}")
+                .build());
+
+    pipeline.run();
+
+    // Server received exactly one POST request.
+    mockServer.verify(HttpRequest.request(EXPECTED_PATH), VerificationTimes.once());
+  }
+
   private void mockServerListening(int statusCode) {
     mockServer
         .when(HttpRequest.request(EXPECTED_PATH))
@@ -15,12 +15,22 @@
  */
 package com.google.cloud.teleport.templates;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
 import com.google.cloud.teleport.templates.BulkCompressor.Compressor;
 import com.google.cloud.teleport.util.TestUtils;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharStreams;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.apache.beam.sdk.io.Compression;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.beam.sdk.io.TextIO;
@@ -33,6 +43,7 @@ import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -97,4 +108,46 @@ public class BulkCompressorTest {
     PAssert.that(lines).containsInAnyOrder(FILE_CONTENT);
     pipeline.run();
   }
+
+  /**
+   * Tests the {@link BulkCompressor} compresses a file larger than the split size in parallel
+   * ranges and composes the compressed parts into a single valid output file.
+   */
+  @Test
+  public void testCompressFileInRanges() throws Exception {
+    // Setup test
+    final Path splitOutputPath = tempFolder.newFolder("split-compressed").toPath();
+    final ValueProvider<String> outputDirectoryProvider =
+        pipeline.newProvider(splitOutputPath.toString());
+    final Metadata metadata = FileSystems.matchSingleFileSpec(textFile.toString());
+    final String expectedOutputFilePath =
+        splitOutputPath
+            .resolve(FILE_BASE_NAME + Compression.GZIP.getSuggestedSuffix())
+            .normalize()
+            .toString();
+
+    // Execute the compressor with ranges of 8 bytes
+    PCollectionTuple compressOut =
+        BulkCompressor.compress(
+            pipeline.apply("Create File Input", Create.of(metadata)),
+            outputDirectoryProvider,
+            StaticValueProvider.of(Compression.GZIP),
+            StaticValueProvider.of(8L));
+
+    // Test the result
+    PAssert.that(compressOut.get(BulkCompressor.COMPRESSOR_MAIN_OUT))
+        .containsInAnyOrder(expectedOutputFilePath);
+    PAssert.that(compressOut.get(BulkCompressor.DEADLETTER_TAG)).empty();
+    pipeline.run().waitUntilFinish();
+
+    try (Reader reader =
+        new InputStreamReader(
+            new GZIPInputStream(new FileInputStream(expectedOutputFilePath)),
+            StandardCharsets.UTF_8)) {
+      assertThat(
+          CharStreams.toString(reader),
+          is(equalTo(String.join(System.lineSeparator(), FILE_CONTENT))));
+    }
+    assertThat(splitOutputPath.toFile().list().length, is(equalTo(1)));
+  }
 }
@@ -26,10 +26,15 @@ import static org.junit.Assert.assertThat;
 import com.google.cloud.teleport.templates.BulkDecompressor.Decompress;
 import com.google.cloud.teleport.util.TestUtils;
 import com.google.common.io.Files;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.io.Compression;
 import org.apache.beam.sdk.io.FileSystems;
@@ -37,6 +42,7 @@ import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
 import org.apache.beam.sdk.io.fs.ResourceId;
 import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
@@ -165,6 +171,53 @@ public class BulkDecompressorTest {
     validatorPipeline.run();
   }
 
+  /**
+   * Tests the {@link BulkDecompressor} decompresses the members of a multi-member gzip file in
+   * parallel ranges and composes them into the output file in order.
+   */
+  @Test
+  public void testDecompressMultiMemberFileInRanges() throws Exception {
+    // Arrange
+    //
+    final Path splitOutputPath = tempFolder.newFolder("split-output").toPath();
+    final Path multiMemberPath =
+        tempFolder.getRoot().toPath().resolve(FILE_BASE_NAME + "-members.txt.gz");
+    try (OutputStream out = new FileOutputStream(multiMemberPath.toFile())) {
+      for (String line : FILE_CONTENT) {
+        GZIPOutputStream member = new GZIPOutputStream(out);
+        member.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        member.finish();
+      }
+    }
+
+    final Metadata multiMemberMetadata =
+        FileSystems.matchSingleFileSpec(multiMemberPath.toString());
+
+    final String expectedOutputFilePath =
+        splitOutputPath.resolve(FILE_BASE_NAME + "-members.txt").normalize().toString();
+
+    // Act
+    //
+    PCollectionTuple decompressOut =
+        BulkDecompressor.decompress(
+            pipeline.apply("CreateWorkItems", Create.of(multiMemberMetadata)),
+            pipeline.newProvider(splitOutputPath.toString()),
+            StaticValueProvider.of(8L));
+
+    // Assert
+    //
+    PAssert.that(decompressOut.get(DECOMPRESS_MAIN_OUT_TAG))
+        .containsInAnyOrder(expectedOutputFilePath);
+    PAssert.that(decompressOut.get(DEADLETTER_TAG)).empty();
+
+    pipeline.run().waitUntilFinish();
+
+    assertThat(
+        java.nio.file.Files.readAllLines(Paths.get(expectedOutputFilePath)),
+        is(equalTo(FILE_CONTENT)));
+    assertThat(splitOutputPath.toFile().list().length, is(equalTo(1)));
+  }
+
   /** Tests the {@link BulkDecompressor.Decompress} when a matched file is uncompressed. */
   @Test
   public void testDecompressUncompressedFile() throws Exception {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test for {@link GzipMemberReader}. */
+@RunWith(JUnit4.class)
+public final class GzipMemberReaderTest {
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  /**
+   * Tests that inflating every range of a multi-member file and concatenating the results yields
+   * the original data, for range sizes smaller and larger than the members, even when the data
+   * contains gzip header signatures.
+   */
+  @Test
+  public void testInflateRanges() throws IOException {
+    Random random = new Random(7);
+    ByteArrayOutputStream original = new ByteArrayOutputStream();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    for (int member = 0; member < 5; member++) {
+      byte[] data = new byte[20_000 + random.nextInt(20_000)];
+      random.nextBytes(data);
+      for (int i = 0; i + 4 < data.length; i += 1_000) {
+        data[i] = 0x1f;
+        data[i + 1] = (byte) 0x8b;
+        data[i + 2] = 8;
+        data[i + 3] = 0;
+      }
+      original.write(data);
+      GZIPOutputStream out = new GZIPOutputStream(compressed);
+      out.write(data);
+      out.finish();
+    }
+    Path file = tempFolder.newFile("members.gz").toPath();
+    Files.write(file, compressed.toByteArray());
+
+    for (long rangeSize : new long[] {100, 7_777, 30_000, compressed.size()}) {
+      ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+      for (long start = 0; start < compressed.size(); start += rangeSize) {
+        ByteArrayOutputStream[] part = new ByteArrayOutputStream[1];
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+          GzipMemberReader.inflateRange(
+              channel, start, start + rangeSize, () -> part[0] = new ByteArrayOutputStream());
+        }
+        inflated.write(part[0].toByteArray());
+      }
+      assertThat(inflated.toByteArray(), is(equalTo(original.toByteArray())));
+    }
+  }
+
+  /** Tests that a file which is not gzip compressed fails in the range that starts the file. */
+  @Test(expected = ZipException.class)
+  public void testInflateUncompressedFile() throws IOException {
+    Path file = tempFolder.newFile("uncompressed.gz").toPath();
+    Files.write(file, "not compressed".getBytes());
+
+    try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+      GzipMemberReader.inflateRange(channel, 0, 4, ByteArrayOutputStream::new);
+    }
+  }
+}
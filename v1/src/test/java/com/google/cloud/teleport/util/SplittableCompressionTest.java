@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.teleport.util.SplittableCompression.FileRange;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test for {@link SplittableCompression}. */
+@RunWith(JUnit4.class)
+public final class SplittableCompressionTest {
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  /** Tests that the ranges cover the file and are at most the split size. */
+  @Test
+  public void testSplit() {
+    List<FileRange> ranges = SplittableCompression.split("in", "out", 25, 10);
+
+    assertThat(ranges.size(), is(equalTo(3)));
+    assertThat(ranges.get(0).getStart(), is(equalTo(0L)));
+    assertThat(ranges.get(1).getStart(), is(equalTo(10L)));
+    assertThat(ranges.get(2).getStart(), is(equalTo(20L)));
+    assertThat(ranges.get(2).getEnd(), is(equalTo(25L)));
+    assertThat(ranges.get(2).getCount(), is(equalTo(3)));
+  }
+
+  /** Tests that a small split size is raised so the file is not split into too many parts. */
+  @Test
+  public void testSplitStaysWithinComposeLimit() {
+    long size = 10L * SplittableCompression.MAX_COMPOSE_COMPONENTS + 1;
+
+    List<FileRange> ranges = SplittableCompression.split("in", "out", size, 1);
+
+    assertThat(ranges.size() <= SplittableCompression.MAX_COMPOSE_COMPONENTS, is(true));
+    assertThat(ranges.get(ranges.size() - 1).getEnd(), is(equalTo(size)));
+  }
+
+  /** Tests that the parts and the temporary file are deleted when composing fails. */
+  @Test
+  public void testComposeDeletesPartsOnFailure() throws IOException {
+    File part = tempFolder.newFile("part-0");
+    Files.write(part.toPath(), "data".getBytes(StandardCharsets.UTF_8));
+    File missingPart = new File(tempFolder.getRoot(), "part-1");
+    ResourceId destination =
+        FileSystems.matchNewResource(new File(tempFolder.getRoot(), "out").getPath(), false);
+
+    try {
+      SplittableCompression.compose(
+          ImmutableList.of(
+              FileSystems.matchNewResource(part.getPath(), false),
+              FileSystems.matchNewResource(missingPart.getPath(), false)),
+          destination,
+          "application/octet-stream",
+          PipelineOptionsFactory.create());
+      fail("Composing a missing part should fail.");
+    } catch (IOException expected) {
+      // Expected, the second part does not exist.
+    }
+
+    assertThat(part.exists(), is(false));
+    assertThat(new File(tempFolder.getRoot(), "temp-out").exists(), is(false));
+    assertThat(new File(tempFolder.getRoot(), "out").exists(), is(false));
+  }
+}
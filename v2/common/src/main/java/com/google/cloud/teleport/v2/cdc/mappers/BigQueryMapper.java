@@ -103,6 +103,11 @@ public class BigQueryMapper<InputT, OutputT>
     return this.projectId;
   }
 
+  /* Returns the BigQuery client, which is available once setUp() has been called. */
+  protected BigQuery getBigQuery() {
+    return this.bigquery;
+  }
+
   public BigQueryMapper<InputT, OutputT> withDefaultSchema(
       Map<String, StandardSQLTypeName> defaultSchema) {
     this.defaultSchema = defaultSchema;
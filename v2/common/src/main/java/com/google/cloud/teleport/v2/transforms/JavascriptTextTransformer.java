@@ -33,7 +33,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.script.Invocable;
@@ -121,6 +124,11 @@ public abstract class JavascriptTextTransformer {
   /**
    * Grabs code from a FileSystem, loads it into the Nashorn Javascript Engine, and executes
    * Javascript Functions.
+   *
+   * <p>A Nashorn engine can only run one invocation at a time. Instead of sharing a single engine
+   * between all the threads of a worker, {@link #invoke(String)} borrows an engine from a bounded
+   * pool, so up to {@link #poolSize()} invocations run in parallel. All the engines of a pool are
+   * compiled from the same scripts, which are read once per reload.
    */
   @AutoValue
   public abstract static class JavascriptRuntime {
@@ -138,15 +146,28 @@ public abstract class JavascriptTextTransformer {
     @Nullable
     public abstract Integer reloadIntervalMinutes();
 
+    /**
+     * Maximum number of engines, and thus of parallel invocations, per worker. Defaults to the
+     * number of available processors.
+     */
+    @Nullable
+    public abstract Integer poolSize();
+
     private static final Distribution JAVASCRIPT_RELOAD_LATENCY_MS =
         Metrics.distribution(JavascriptTextTransformer.class, "javascript_reload_latency_ms");
 
-    private static LoadingCache<JavascriptRuntime, Invocable> cache =
+    private static final Distribution JAVASCRIPT_INVOCATION_LATENCY_US =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_invocation_latency_us");
+
+    private static final Distribution JAVASCRIPT_POOL_WAIT_US =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_pool_wait_us");
+
+    private static LoadingCache<JavascriptRuntime, InvocablePool> cache =
         Caffeine.newBuilder()
             .expireAfter(
-                new Expiry<JavascriptRuntime, Invocable>() {
+                new Expiry<JavascriptRuntime, InvocablePool>() {
                   public long expireAfterCreate(
-                      JavascriptRuntime runtime, Invocable invocable, long currentTime) {
+                      JavascriptRuntime runtime, InvocablePool pool, long currentTime) {
                     // Do not expire if reload is disabled
                     if (runtime.reloadIntervalMinutes() == null
                         || runtime.reloadIntervalMinutes() <= 0) {
@@ -157,7 +178,7 @@ public abstract class JavascriptTextTransformer {
 
                   public long expireAfterUpdate(
                       JavascriptRuntime runtime,
-                      Invocable invocable,
+                      InvocablePool pool,
                       long currentTime,
                       long currentDuration) {
                     return currentDuration;
@@ -165,13 +186,13 @@ public abstract class JavascriptTextTransformer {
 
                   public long expireAfterRead(
                       JavascriptRuntime runtime,
-                      Invocable invocable,
+                      InvocablePool pool,
                       long currentTime,
                       long currentDuration) {
                     return currentDuration;
                   }
                 })
-            .build(runtime -> buildInvocable(runtime));
+            .build(runtime -> buildInvocablePool(runtime));
 
     private Instant lastRefreshCheck = Instant.now();
 
@@ -184,6 +205,8 @@ public abstract class JavascriptTextTransformer {
 
       public abstract Builder setReloadIntervalMinutes(@Nullable Integer value);
 
+      public abstract Builder setPoolSize(@Nullable Integer value);
+
       public abstract JavascriptRuntime build();
     }
 
@@ -197,7 +220,9 @@ public abstract class JavascriptTextTransformer {
     }
 
     /**
-     * Gets a cached Javascript Invocable, if fileSystemPath() not set, returns null.
+     * Gets a cached Javascript Invocable, if fileSystemPath() not set, returns null. The returned
+     * Invocable is one of the pooled engines used by {@link #invoke(String)}, so it must not be
+     * invoked concurrently with it.
      *
      * @return a Javascript Invocable or null
      */
@@ -209,7 +234,7 @@ public abstract class JavascriptTextTransformer {
         return null;
       }
 
-      return cache.get(this);
+      return cache.get(this).firstInvocable;
     }
 
     /**
@@ -227,11 +252,16 @@ public abstract class JavascriptTextTransformer {
       return (Invocable) engine;
     }
 
-    private static Invocable buildInvocable(JavascriptRuntime runtime)
+    private static InvocablePool buildInvocablePool(JavascriptRuntime runtime)
         throws IOException, ScriptException {
       // List of all scripts read from the filesystem
       Collection<String> scripts = getScripts(runtime.fileSystemPath());
-      return newInvocable(scripts);
+      int poolSize =
+          runtime.poolSize() != null && runtime.poolSize() > 0
+              ? runtime.poolSize()
+              : Runtime.getRuntime().availableProcessors();
+      // The first engine is compiled eagerly so that script errors surface when loading.
+      return new InvocablePool(scripts, newInvocable(scripts), poolSize);
     }
 
     private static ScriptEngine getJavaScriptEngine() {
@@ -265,14 +295,25 @@ public abstract class JavascriptTextTransformer {
      */
     @Nullable
     public String invoke(String data) throws ScriptException, IOException, NoSuchMethodException {
-      Invocable invocable = getInvocable();
-      if (invocable == null) {
+      if (Strings.isNullOrEmpty(fileSystemPath())) {
         throw new RuntimeException("No UDF was loaded");
       }
-
+      // Engines are returned to the pool they were borrowed from, which may have been replaced by
+      // a reload in the meantime.
+      InvocablePool pool = cache.get(this);
+
+      long waitStartNanos = System.nanoTime();
+      Invocable invocable = pool.borrow();
+      long invocationStartNanos = System.nanoTime();
+      JAVASCRIPT_POOL_WAIT_US.update(
+          TimeUnit.NANOSECONDS.toMicros(invocationStartNanos - waitStartNanos));
       Object result;
-      synchronized (invocable) {
+      try {
         result = invocable.invokeFunction(functionName(), data);
+      } finally {
+        pool.release(invocable);
+        JAVASCRIPT_INVOCATION_LATENCY_US.update(
+            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - invocationStartNanos));
       }
       if (result == null || ScriptObjectMirror.isUndefined(result)) {
         return null;
@@ -312,6 +353,52 @@ public abstract class JavascriptTextTransformer {
               })
           .collect(Collectors.toList());
     }
+
+    /**
+     * A bounded pool of engines compiled from the same scripts. Engines are created lazily, up to
+     * the pool size, when no idle engine is available. Once the pool is full, callers wait for an
+     * engine to be released.
+     */
+    private static final class InvocablePool {
+      private final Collection<String> scripts;
+      private final Invocable firstInvocable;
+      private final int poolSize;
+      private final BlockingQueue<Invocable> idleInvocables = new LinkedBlockingQueue<>();
+      private final AtomicInteger createdInvocables = new AtomicInteger(1);
+
+      private InvocablePool(Collection<String> scripts, Invocable firstInvocable, int poolSize) {
+        this.scripts = scripts;
+        this.firstInvocable = firstInvocable;
+        this.poolSize = poolSize;
+        idleInvocables.add(firstInvocable);
+      }
+
+      private Invocable borrow() throws ScriptException {
+        Invocable invocable = idleInvocables.poll();
+        if (invocable != null) {
+          return invocable;
+        }
+        if (createdInvocables.incrementAndGet() <= poolSize) {
+          try {
+            return newInvocable(scripts);
+          } catch (ScriptException | RuntimeException e) {
+            createdInvocables.decrementAndGet();
+            throw e;
+          }
+        }
+        createdInvocables.decrementAndGet();
+        try {
+          return idleInvocables.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while waiting for a JavaScript engine", e);
+        }
+      }
+
+      private void release(Invocable invocable) {
+        idleInvocables.add(invocable);
+      }
+    }
   }
 
   /** Transforms Text Strings via a Javascript UDF. */
@@ -21,24 +21,35 @@ import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.io.CharStreams;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -47,6 +58,7 @@ import org.apache.beam.sdk.io.fs.MatchResult;
 import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
 import org.apache.beam.sdk.io.fs.MatchResult.Status;
 import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.PipelineOptions;
@@ -58,6 +70,8 @@ import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.joda.time.Instant;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,6 +127,20 @@ public abstract class PythonTextTransformer implements Serializable {
     Integer getRuntimeRetries();
 
     void setRuntimeRetries(Integer runtimeRetries);
+
+    @TemplateParameter.Boolean(
+        order = 5,
+        optional = true,
+        description = "Use a long-lived Python UDF worker",
+        helpText =
+            "When true, each worker thread keeps one Python process running and sends it batches of"
+                + " records over pipes, instead of starting a new process per bundle. The function"
+                + " named by `pythonTextTransformFunctionName` is called with each record. Defaults"
+                + " to false.")
+    @Default.Boolean(false)
+    Boolean getPythonTextTransformUseWorker();
+
+    void setPythonTextTransformUseWorker(Boolean pythonTextTransformUseWorker);
   }
 
   /** Grabs code from a FileSystem, loads into ProcessBuilder. */
@@ -140,6 +168,21 @@ public abstract class PythonTextTransformer implements Serializable {
     private final ReentrantLock pythonInstallLock = new ReentrantLock();
     private static String missingPythonErrorMessage = "Cannot run program \"python";
 
+    /** Harness run by the long-lived worker, see {@link #invokeBatch(List, long)}. */
+    private static final String WORKER_SCRIPT_RESOURCE = "python_udf_worker.py";
+
+    private static final Distribution PYTHON_WORKER_BATCH_LATENCY_MS =
+        Metrics.distribution(PythonTextTransformer.class, "python_worker_batch_latency_ms");
+
+    private static final Counter PYTHON_WORKER_RESTARTS =
+        Metrics.counter(PythonTextTransformer.class, "python_worker_restarts");
+
+    private File workerScript;
+    private Process workerProcess;
+    private DataOutputStream workerInput;
+    private DataInputStream workerOutput;
+    private ExecutorService workerExecutor;
+
     /** Builder for {@link PythonTextTransformer}. */
     @AutoValue.Builder
     public abstract static class Builder {
@@ -317,6 +360,122 @@ public abstract class PythonTextTransformer implements Serializable {
       return results;
     }
 
+    /**
+     * Invokes the UDF on a batch of records through a long-lived Python worker, which is started on
+     * first use and kept warm across batches and bundles. Records and results use the same JSON
+     * format as {@link #invoke(File, Integer)}. They are exchanged as length-prefixed frames over
+     * the stdin and stdout of the worker. Sending one batch at a time and waiting for its results
+     * bounds the data buffered in the pipes.
+     *
+     * <p>If the worker crashes or does not answer within the timeout, it is restarted and the batch
+     * is sent again, up to {@link #runtimeRetries()} attempts.
+     *
+     * @param records records wrapped as {@code {"id": ..., "event": ...}} JSON objects
+     * @param timeoutMillis time to wait for the results of the batch
+     * @return the results of the UDF, as {@code {"id", "status", "event", "error_message"}} JSON
+     *     objects
+     * @throws IOException if the batch failed on every attempt
+     */
+    public synchronized List<String> invokeBatch(List<String> records, long timeoutMillis)
+        throws IOException, InterruptedException {
+      byte[] request = ("[" + String.join(",", records) + "]").getBytes(StandardCharsets.UTF_8);
+      int attempts = runtimeRetries() != null && runtimeRetries() > 0 ? runtimeRetries() : 1;
+      IOException lastException = null;
+      for (int attempt = 1; attempt <= attempts; attempt++) {
+        long startTime = System.currentTimeMillis();
+        try {
+          startWorker();
+          Future<byte[]> response = workerExecutor.submit(() -> exchange(request));
+          byte[] results = response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+          PYTHON_WORKER_BATCH_LATENCY_MS.update(System.currentTimeMillis() - startTime);
+          JSONArray resultArray = new JSONArray(new String(results, StandardCharsets.UTF_8));
+          List<String> resultList = new ArrayList<>(resultArray.length());
+          for (int i = 0; i < resultArray.length(); i++) {
+            resultList.add(resultArray.getJSONObject(i).toString());
+          }
+          return resultList;
+        } catch (TimeoutException e) {
+          lastException =
+              new IOException(
+                  String.format("Python UDF worker timed out after %d ms", timeoutMillis), e);
+        } catch (ExecutionException e) {
+          lastException = new IOException("Python UDF worker failed", e.getCause());
+        } catch (IOException e) {
+          lastException = e;
+        }
+        LOG.warn(
+            "Python UDF worker failed on attempt {} of {}, restarting it.",
+            attempt,
+            attempts,
+            lastException);
+        stopWorker();
+        PYTHON_WORKER_RESTARTS.inc();
+      }
+      throw lastException;
+    }
+
+    private byte[] exchange(byte[] request) throws IOException {
+      workerInput.writeInt(request.length);
+      workerInput.write(request);
+      workerInput.flush();
+      byte[] response = new byte[workerOutput.readInt()];
+      workerOutput.readFully(response);
+      return response;
+    }
+
+    private synchronized void startWorker() throws IOException {
+      if (workerProcess != null && workerProcess.isAlive()) {
+        return;
+      }
+      stopWorker();
+      File udfFile = new File(functionName());
+      getProcessBuilder();
+      if (workerScript == null) {
+        // copied once and reused when the worker is restarted
+        workerScript = copyWorkerScript();
+      }
+      LOG.info("Starting Python UDF worker for {}", udfFile.getAbsolutePath());
+      workerProcess =
+          new ProcessBuilder()
+              .command(
+                  runtimeVersion() != null ? runtimeVersion() : DEFAULT_PYTHON_VERSION,
+                  workerScript.getAbsolutePath(),
+                  udfFile.getAbsolutePath(),
+                  functionName())
+              .redirectError(ProcessBuilder.Redirect.INHERIT)
+              .start();
+      workerInput = new DataOutputStream(workerProcess.getOutputStream());
+      workerOutput = new DataInputStream(workerProcess.getInputStream());
+      workerExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    private static File copyWorkerScript() throws IOException {
+      File workerScript = File.createTempFile("python_udf_worker", ".py");
+      workerScript.deleteOnExit();
+      try (InputStream script =
+          PythonRuntime.class.getClassLoader().getResourceAsStream(WORKER_SCRIPT_RESOURCE)) {
+        if (script == null) {
+          throw new IOException("Missing Python UDF worker script " + WORKER_SCRIPT_RESOURCE);
+        }
+        Files.copy(script, workerScript.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      return workerScript;
+    }
+
+    /** Stops the long-lived Python worker, if it is running. */
+    public synchronized void stopWorker() {
+      if (workerExecutor != null) {
+        workerExecutor.shutdownNow();
+        workerExecutor = null;
+      }
+      if (workerProcess != null) {
+        workerProcess.destroyForcibly();
+        workerProcess = null;
+      }
+      workerInput = null;
+      workerOutput = null;
+    }
+
     /**
      * Loads into memory scripts from a File System from a given path. Supports any file system that
      * {@link FileSystems} supports.
@@ -367,6 +526,18 @@ public abstract class PythonTextTransformer implements Serializable {
 
     public abstract @Nullable Integer runtimeRetries();
 
+    /**
+     * Whether to run the UDF in a long-lived Python worker, see {@link PythonRuntime#invokeBatch}.
+     * Defaults to false, which starts a new Python process per bundle.
+     */
+    public abstract @Nullable Boolean useWorker();
+
+    /** Maximum number of records sent to the worker in one batch. */
+    public abstract @Nullable Integer workerBatchSize();
+
+    /** Time to wait for the results of one batch before restarting the worker. */
+    public abstract @Nullable Long workerBatchTimeoutMillis();
+
     public abstract TupleTag<FailsafeElement<T, String>> successTag();
 
     public abstract TupleTag<FailsafeElement<T, String>> failureTag();
@@ -396,6 +567,13 @@ public abstract class PythonTextTransformer implements Serializable {
 
       public abstract Builder<T> setRuntimeRetries(@Nullable Integer runtimeRetries);
 
+      public abstract Builder<T> setUseWorker(@Nullable Boolean useWorker);
+
+      public abstract Builder<T> setWorkerBatchSize(@Nullable Integer workerBatchSize);
+
+      public abstract Builder<T> setWorkerBatchTimeoutMillis(
+          @Nullable Long workerBatchTimeoutMillis);
+
       public abstract Builder<T> setSuccessTag(TupleTag<FailsafeElement<T, String>> successTag);
 
       public abstract Builder<T> setFailureTag(TupleTag<FailsafeElement<T, String>> failureTag);
@@ -413,6 +591,12 @@ public abstract class PythonTextTransformer implements Serializable {
 
     @Override
     public PCollectionTuple expand(PCollection<FailsafeElement<T, String>> elements) {
+      if (Boolean.TRUE.equals(useWorker())) {
+        return elements.apply(
+            "ProcessUdf",
+            ParDo.of(new PythonWorkerUdfFn())
+                .withOutputTags(successTag(), TupleTagList.of(failureTag())));
+      }
       return elements.apply(
           "ProcessUdf",
           ParDo.of(
@@ -534,6 +718,149 @@ public abstract class PythonTextTransformer implements Serializable {
                   })
               .withOutputTags(successTag(), TupleTagList.of(failureTag())));
     }
+
+    /**
+     * Applies the UDF through a long-lived Python worker per DoFn instance. Records are sent to the
+     * worker in batches of up to {@link #workerBatchSize()} as they arrive, and the results are
+     * emitted when the bundle finishes. Records the UDF failed on, and the records of batches that
+     * failed on every attempt, are emitted to the {@link #failureTag()}.
+     */
+    private class PythonWorkerUdfFn
+        extends DoFn<FailsafeElement<T, String>, FailsafeElement<T, String>> {
+      private static final int DEFAULT_BATCH_SIZE = 500;
+      private static final long DEFAULT_BATCH_TIMEOUT_MILLIS = 60_000L;
+
+      private transient PythonRuntime pythonRuntime;
+      private transient List<String> batch;
+      private transient List<String> results;
+      private transient HashMap<String, FailsafeElement<T, String>> elements;
+      private transient HashMap<String, Instant> timestamps;
+      private transient HashMap<String, BoundedWindow> windows;
+
+      @Setup
+      public void setup() throws IOException, NoSuchMethodException, InterruptedException {
+        String runtimeVersion = getPythonVersion();
+        pythonRuntime =
+            PythonRuntime.newBuilder()
+                .setFunctionName(functionName())
+                .setRuntimeVersion(runtimeVersion)
+                .setFileSystemPath(fileSystemPath())
+                .setRuntimeRetries(runtimeRetries())
+                .build();
+        try {
+          // Python is only installed when the worker cannot be started with it
+          pythonRuntime.startWorker();
+        } catch (IOException e) {
+          if (e.getMessage() == null
+              || !e.getMessage().startsWith(PythonRuntime.missingPythonErrorMessage)) {
+            throw e;
+          }
+          LOG.info("Build Python Env for version {}", runtimeVersion);
+          pythonRuntime.buildPythonExecutable(runtimeVersion);
+        }
+      }
+
+      @StartBundle
+      public void startBundle() {
+        batch = new ArrayList<>();
+        results = new ArrayList<>();
+        elements = new HashMap<>();
+        timestamps = new HashMap<>();
+        windows = new HashMap<>();
+      }
+
+      @ProcessElement
+      public void processElement(
+          @Element FailsafeElement<T, String> element,
+          @Timestamp Instant timestamp,
+          BoundedWindow window)
+          throws InterruptedException {
+        String eventId = UUID.randomUUID().toString();
+        elements.put(eventId, element);
+        timestamps.put(eventId, timestamp);
+        windows.put(eventId, window);
+        try {
+          JSONObject json = new JSONObject();
+          json.put("id", eventId);
+          json.put("event", new JSONObject(element.getPayload()));
+          batch.add(json.toString());
+        } catch (RuntimeException e) {
+          results.add(failedResult(eventId, e).toString());
+        }
+        if (batch.size() >= (workerBatchSize() != null ? workerBatchSize() : DEFAULT_BATCH_SIZE)) {
+          invokeBatch();
+        }
+      }
+
+      @FinishBundle
+      public void finishBundle(FinishBundleContext context) throws InterruptedException {
+        invokeBatch();
+        for (String result : results) {
+          JSONObject json = new JSONObject(result);
+          String eventId = json.getString("id");
+          FailsafeElement<T, String> originalEvent = elements.get(eventId);
+          Instant timestamp = timestamps.get(eventId);
+          BoundedWindow window = windows.get(eventId);
+          if ("SUCCESS".equals(json.getString("status"))) {
+            context.output(
+                FailsafeElement.of(
+                    originalEvent.getOriginalPayload(), json.get("event").toString()),
+                timestamp,
+                window);
+            successCounter.inc();
+          } else {
+            context.output(
+                failureTag(),
+                FailsafeElement.of(originalEvent)
+                    .setErrorMessage(json.optString("error_message"))
+                    .setStacktrace(json.optString("stacktrace", json.optString("error_message"))),
+                timestamp,
+                window);
+            failedCounter.inc();
+          }
+        }
+        results.clear();
+        elements.clear();
+        timestamps.clear();
+        windows.clear();
+      }
+
+      @Teardown
+      public void teardown() {
+        if (pythonRuntime != null) {
+          pythonRuntime.stopWorker();
+        }
+      }
+
+      private void invokeBatch() throws InterruptedException {
+        if (batch.isEmpty()) {
+          return;
+        }
+        try {
+          results.addAll(
+              pythonRuntime.invokeBatch(
+                  batch,
+                  workerBatchTimeoutMillis() != null
+                      ? workerBatchTimeoutMillis()
+                      : DEFAULT_BATCH_TIMEOUT_MILLIS));
+        } catch (IOException e) {
+          LOG.warn("Python UDF batch of {} records failed", batch.size(), e);
+          for (String record : batch) {
+            results.add(failedResult(new JSONObject(record).getString("id"), e).toString());
+          }
+        }
+        batch.clear();
+      }
+
+      private JSONObject failedResult(String eventId, Exception e) {
+        JSONObject json = new JSONObject();
+        json.put("id", eventId);
+        json.put("status", "FAILED");
+        json.put("error_message", e.getMessage());
+        json.put("stacktrace", Throwables.getStackTraceAsString(e));
+        return json;
+      }
+    }
   }
 
   /**
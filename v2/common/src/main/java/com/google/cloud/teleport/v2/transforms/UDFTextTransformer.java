@@ -90,6 +90,7 @@ public class UDFTextTransformer {
     public String pythonTransformPath;
     public String pythonTransformFnName;
     public Integer pythonTransformRetries;
+    public Boolean pythonTransformUseWorker;
 
     private FailsafeElementCoder<InputT, String> coder;
 
@@ -106,12 +107,37 @@ public class UDFTextTransformer {
         String pythonTransformFnName,
         Integer pythonTransformRetries,
         FailsafeElementCoder<InputT, String> coder) {
+      this(
+          javascriptTransformPath,
+          javascriptTransformFnName,
+          javascriptTransformReloadInterval,
+          pythonTransformPath,
+          pythonTransformFnName,
+          pythonTransformRetries,
+          false,
+          coder);
+    }
+
+    /**
+     * Entrypoint for the UDFTextTransformer which additionally selects whether the python
+     * transformer runs in a long-lived worker process.
+     */
+    public InputUDFToTableRow(
+        String javascriptTransformPath,
+        String javascriptTransformFnName,
+        Integer javascriptTransformReloadInterval,
+        String pythonTransformPath,
+        String pythonTransformFnName,
+        Integer pythonTransformRetries,
+        Boolean pythonTransformUseWorker,
+        FailsafeElementCoder<InputT, String> coder) {
       this.javascriptTransformPath = javascriptTransformPath;
       this.javascriptTransformFnName = javascriptTransformFnName;
       this.javascriptTransformReloadInterval = javascriptTransformReloadInterval;
       this.pythonTransformPath = pythonTransformPath;
       this.pythonTransformFnName = pythonTransformFnName;
       this.pythonTransformRetries = pythonTransformRetries;
+      this.pythonTransformUseWorker = pythonTransformUseWorker;
       this.coder = coder;
     }
 
@@ -128,6 +154,7 @@ public class UDFTextTransformer {
                     .setFunctionName(this.pythonTransformFnName)
                     .setRuntimeVersion("python3")
                     .setRuntimeRetries(this.pythonTransformRetries)
+                    .setUseWorker(this.pythonTransformUseWorker)
                     .setSuccessTag(udfTempOut)
                     .setFailureTag(udfDeadletterOut)
                     .build());
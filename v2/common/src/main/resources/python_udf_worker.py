@@ -0,0 +1,101 @@
+###############################################################################
+# Copyright (C) 2026 Google LLC
+#
+# Licensed under the Apache License, Version 2.0 (the "License"); you may not
+# use this file except in compliance with the License. You may obtain a copy of
+# the License at
+#
+# http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+# WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+# License for the specific language governing permissions and limitations under
+# the License.
+###############################################################################
+
+###############################################################################
+# Long-lived worker for the Python UDFs of PythonTextTransformer.
+#
+# Usage: python3 python_udf_worker.py <udf file> <function name>
+#
+# Loads the UDF file once, then reads batches from stdin until it is closed.
+# Every batch is a 4 byte big-endian length followed by a UTF-8 JSON array of
+# {"id": ..., "event": ...} records. The function is applied to each event and
+# the results are written to stdout as a batch in the same framing, as a JSON
+# array of {"id", "status", "event", "error_message"} records. A function that
+# returns a list emits one record per row, and one that returns None discards
+# the event. Anything printed by the UDF is redirected to stderr.
+###############################################################################
+import importlib.machinery
+import importlib.util
+import json
+import struct
+import sys
+import traceback
+
+
+def _load_function(module_path, function_name):
+  loader = importlib.machinery.SourceFileLoader('udf', module_path)
+  spec = importlib.util.spec_from_loader('udf', loader)
+  module = importlib.util.module_from_spec(spec)
+  loader.exec_module(module)
+  return getattr(module, function_name)
+
+
+def _read_exactly(stream, size):
+  data = b''
+  while len(data) < size:
+    chunk = stream.read(size - len(data))
+    if not chunk:
+      return None
+    data += chunk
+  return data
+
+
+def _result(status, event_id, event, error_message):
+  return json.dumps({'status': status,
+                     'id': event_id,
+                     'event': event,
+                     'error_message': error_message})
+
+
+def _apply(function, record):
+  event_id = record['id']
+  event = record['event']
+  try:
+    transformed_event = function(event)
+    if transformed_event is None:
+      return []
+    if isinstance(transformed_event, list):
+      return [_result('SUCCESS', event_id, row, None) for row in transformed_event]
+    return [_result('SUCCESS', event_id, transformed_event, None)]
+  except Exception:
+    return [_result('FAILED', event_id, event, traceback.format_exc())]
+
+
+def main():
+  module_path, function_name = sys.argv[1], sys.argv[2]
+  frames_in = sys.stdin.buffer
+  frames_out = sys.stdout.buffer
+  sys.stdout = sys.stderr
+  function = _load_function(module_path, function_name)
+
+  while True:
+    header = _read_exactly(frames_in, 4)
+    if header is None:
+      return
+    payload = _read_exactly(frames_in, struct.unpack('>I', header)[0])
+    if payload is None:
+      return
+    results = []
+    for record in json.loads(payload.decode('utf-8')):
+      results.extend(_apply(function, record))
+    response = ('[' + ','.join(results) + ']').encode('utf-8')
+    frames_out.write(struct.pack('>I', len(response)))
+    frames_out.write(response)
+    frames_out.flush()
+
+
+if __name__ == '__main__':
+  main()
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.JavascriptRuntime;
+import com.google.common.io.Resources;
+import java.util.concurrent.TimeUnit;
+import javax.script.Invocable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of {@link JavascriptRuntime#invoke(String)} under contention.
+ *
+ * <p>Each invocation runs the UDF once, so the throughput score is in invocations per second
+ * across all the benchmark threads. {@link #sharedSynchronizedInvocable} measures the previous
+ * behavior, where all the threads synchronized on a single engine. Running {@link #main} repeats
+ * the benchmarks with 1, 2, 4, 8 and 16 threads. The pooled runtime should scale close to linearly
+ * up to the number of available processors, while the shared engine stays flat.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -pl v2/common -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.google.cloud.teleport.v2.transforms.JavascriptTextTransformerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavascriptTextTransformerBenchmark {
+  private static final String TRANSFORM_FILE_PATH =
+      Resources.getResource("JavascriptTextTransformerTest/transform.js").getPath();
+  private static final String INPUT = "{\"answerToLife\": 42, \"name\": \"benchmark\"}";
+
+  private JavascriptRuntime pooledRuntime;
+  private Invocable sharedInvocable;
+
+  @Setup
+  public void setup() throws Exception {
+    pooledRuntime =
+        JavascriptRuntime.newBuilder()
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .setFunctionName("transform")
+            .setReloadIntervalMinutes(0)
+            .build();
+    // A separate runtime, so that the shared engine is not part of the pool of pooledRuntime.
+    sharedInvocable =
+        JavascriptRuntime.newBuilder()
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .setFunctionName("transform")
+            .setReloadIntervalMinutes(0)
+            .setPoolSize(1)
+            .build()
+            .getInvocable();
+  }
+
+  /** Previous {@link JavascriptRuntime#invoke(String)} behavior: one engine for all threads. */
+  @Benchmark
+  public Object sharedSynchronizedInvocable() throws Exception {
+    synchronized (sharedInvocable) {
+      return sharedInvocable.invokeFunction("transform", INPUT);
+    }
+  }
+
+  @Benchmark
+  public String pooledRuntime() throws Exception {
+    return pooledRuntime.invoke(INPUT);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[] {1, 2, 4, 8, 16}) {
+      Options options =
+          new OptionsBuilder()
+              .include(JavascriptTextTransformerBenchmark.class.getSimpleName())
+              .threads(threads)
+              .build();
+      new Runner(options).run();
+    }
+  }
+}
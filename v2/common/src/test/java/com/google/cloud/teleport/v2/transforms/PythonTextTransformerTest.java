@@ -15,8 +15,11 @@
  */
 package com.google.cloud.teleport.v2.transforms;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
@@ -27,9 +30,16 @@ import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Resources;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.apache.beam.sdk.coders.CoderRegistry;
@@ -42,12 +52,17 @@ import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +74,8 @@ public class PythonTextTransformerTest {
 
   @Rule public final transient TestPipeline pipeline = TestPipeline.create();
 
+  @Rule public final transient TemporaryFolder tempFolder = new TemporaryFolder();
+
   private static final Logger LOG = LoggerFactory.getLogger(PythonTextTransformer.class);
   // Define the TupleTag's here otherwise the anonymous class will force the test method to
   // be serialized.
@@ -75,6 +92,37 @@ public class PythonTextTransformerTest {
   private static final String TRANSFORM_FILE_PATH =
       Resources.getResource(RESOURCES_DIR + "transform.py").getPath();
 
+  // The UDF file is written to the working directory under the name of the function
+  private static final String FAKE_WORKER_FUNCTION_NAME = "fake_worker_transform";
+
+  private static final long FAKE_WORKER_TIMEOUT_MILLIS = 30_000L;
+
+  private String fakeInterpreter;
+
+  /**
+   * Writes an interpreter script that runs {@link FakePythonWorker} in place of Python, so the
+   * worker mode can be tested without Python installed.
+   */
+  @Before
+  public void setUp() throws IOException {
+    File interpreter = tempFolder.newFile("fake_python");
+    Files.write(
+        interpreter.toPath(),
+        String.format(
+                "#!/bin/sh%nexec '%s' -cp '%s' '%s' \"$@\"%n",
+                Paths.get(System.getProperty("java.home"), "bin", "java"),
+                System.getProperty("java.class.path"),
+                FakePythonWorker.class.getName())
+            .getBytes(UTF_8));
+    Assert.assertTrue(interpreter.setExecutable(true));
+    fakeInterpreter = interpreter.getAbsolutePath();
+  }
+
+  @After
+  public void tearDown() {
+    new File(FAKE_WORKER_FUNCTION_NAME).delete();
+  }
+
   /**
    * Test {@link PythonRuntime#invoke} returns transformed data when a good python transform
    * function given. Requires installed python3 on local worker.
@@ -101,6 +149,173 @@ public class PythonTextTransformerTest {
     Assert.assertEquals(expectedJson, data);
   }
 
+  /**
+   * Test {@link PythonRuntime#invokeBatch} returns transformed data for consecutive batches sent to
+   * the same worker. Requires installed python3 on local worker.
+   */
+  @Ignore
+  @Test
+  public void testInvokeBatchGood() throws Exception {
+    PythonRuntime pythonRuntime =
+        PythonRuntime.newBuilder()
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .setFunctionName("transform")
+            .setRuntimeVersion(PYTHON_VERSION)
+            .setRuntimeRetries(1)
+            .build();
+    try {
+      for (int i = 0; i < 2; i++) {
+        List<String> data =
+            pythonRuntime.invokeBatch(
+                Arrays.asList("{\"id\": \"" + i + "\", \"event\": {\"answerToLife\": 42}}"),
+                10_000L);
+        Assert.assertEquals(1, data.size());
+        JSONObject result = new JSONObject(data.get(0));
+        Assert.assertEquals(String.valueOf(i), result.getString("id"));
+        Assert.assertEquals("SUCCESS", result.getString("status"));
+        Assert.assertEquals("new_value", result.getJSONObject("event").getString("new_key"));
+      }
+    } finally {
+      pythonRuntime.stopWorker();
+    }
+  }
+
+  /** Tests that consecutive batches are sent to the same worker process. */
+  @Test
+  public void testInvokeBatchKeepsWorkerAcrossBatches() throws Exception {
+    PythonRuntime pythonRuntime = fakeWorkerRuntime(1);
+    try {
+      JSONObject first = invokeFakeWorker(pythonRuntime, "{\"answerToLife\": 42}");
+      JSONObject second = invokeFakeWorker(pythonRuntime, "{\"answerToLife\": 43}");
+
+      Assert.assertEquals("SUCCESS", first.getString("status"));
+      Assert.assertEquals(42, first.getJSONObject("event").getInt("answerToLife"));
+      Assert.assertTrue(first.getJSONObject("event").getBoolean("transformed"));
+      Assert.assertEquals(43, second.getJSONObject("event").getInt("answerToLife"));
+      Assert.assertEquals(workerPid(first), workerPid(second));
+    } finally {
+      pythonRuntime.stopWorker();
+    }
+  }
+
+  /** Tests that a worker that crashes on a batch is restarted and the batch sent again. */
+  @Test
+  public void testInvokeBatchRestartsCrashedWorker() throws Exception {
+    PythonRuntime pythonRuntime = fakeWorkerRuntime(2);
+    try {
+      JSONObject first = invokeFakeWorker(pythonRuntime, "{}");
+      JSONObject retried =
+          invokeFakeWorker(pythonRuntime, fakeWorkerAction("crashOnce", "crash_marker"));
+      JSONObject next = invokeFakeWorker(pythonRuntime, "{}");
+
+      Assert.assertEquals("SUCCESS", retried.getString("status"));
+      Assert.assertNotEquals(workerPid(first), workerPid(retried));
+      Assert.assertEquals(workerPid(retried), workerPid(next));
+    } finally {
+      pythonRuntime.stopWorker();
+    }
+  }
+
+  /** Tests that a worker that does not answer in time is restarted and the batch sent again. */
+  @Test
+  public void testInvokeBatchRestartsTimedOutWorker() throws Exception {
+    PythonRuntime pythonRuntime = fakeWorkerRuntime(2);
+    try {
+      List<String> results =
+          pythonRuntime.invokeBatch(
+              Collections.singletonList(
+                  fakeWorkerRecord("0", fakeWorkerAction("hangOnce", "hang_marker"))),
+              5_000L);
+
+      Assert.assertEquals(1, results.size());
+      Assert.assertEquals("SUCCESS", new JSONObject(results.get(0)).getString("status"));
+    } finally {
+      pythonRuntime.stopWorker();
+    }
+  }
+
+  /** Tests that a batch that crashes the worker on every attempt fails, and the worker recovers. */
+  @Test
+  public void testInvokeBatchFailsAfterRetries() throws Exception {
+    PythonRuntime pythonRuntime = fakeWorkerRuntime(2);
+    try {
+      IOException e =
+          Assert.assertThrows(
+              IOException.class,
+              () -> invokeFakeWorker(pythonRuntime, "{\"action\": \"crash\"}"));
+      Assert.assertEquals("Python UDF worker failed", e.getMessage());
+
+      Assert.assertEquals("SUCCESS", invokeFakeWorker(pythonRuntime, "{}").getString("status"));
+    } finally {
+      pythonRuntime.stopWorker();
+    }
+  }
+
+  /**
+   * Tests that {@link FailsafePythonUdf} in worker mode outputs transformed records to the success
+   * tag, and records that are not JSON or that the UDF failed on to the failure tag.
+   */
+  @Test
+  @Category(NeedsRunner.class)
+  public void testFailsafePythonUdfWorkerRoutesFailures() {
+    final PubsubMessage message = new PubsubMessage(new byte[0], Collections.emptyMap());
+    FailsafeElementCoder<PubsubMessage, String> coder =
+        FailsafeElementCoder.of(PubsubMessageWithAttributesCoder.of(), StringUtf8Coder.of());
+    pipeline.getCoderRegistry().registerCoderForType(coder.getEncodedTypeDescriptor(), coder);
+
+    PCollectionTuple output =
+        pipeline
+            .apply(
+                "CreateInput",
+                Create.of(
+                        FailsafeElement.of(message, "{\"ticker\": \"GOOGL\"}"),
+                        FailsafeElement.of(message, "{\"action\": \"fail\"}"),
+                        FailsafeElement.of(message, "not json"))
+                    .withCoder(coder))
+            .apply(
+                "InvokeUdf",
+                FailsafePythonUdf.<PubsubMessage>newBuilder()
+                    .setFileSystemPath(TRANSFORM_FILE_PATH)
+                    .setFunctionName(FAKE_WORKER_FUNCTION_NAME)
+                    .setRuntimeVersion(fakeInterpreter)
+                    .setRuntimeRetries(2)
+                    .setUseWorker(true)
+                    .setSuccessTag(SUCCESS_TAG)
+                    .setFailureTag(FAILURE_TAG)
+                    .build());
+    output.get(SUCCESS_TAG).setCoder(coder);
+    output.get(FAILURE_TAG).setCoder(coder);
+
+    PAssert.that(output.get(SUCCESS_TAG))
+        .satisfies(
+            collection -> {
+              int successes = 0;
+              for (FailsafeElement<PubsubMessage, String> result : collection) {
+                JSONObject payload = new JSONObject(result.getPayload());
+                assertThat(payload.getString("ticker"), is(equalTo("GOOGL")));
+                assertThat(payload.getBoolean("transformed"), is(true));
+                assertThat(result.getErrorMessage(), is(nullValue()));
+                successes++;
+              }
+              assertThat(successes, is(equalTo(1)));
+              return null;
+            });
+    PAssert.that(output.get(FAILURE_TAG))
+        .satisfies(
+            collection -> {
+              int failures = 0;
+              for (FailsafeElement<PubsubMessage, String> result : collection) {
+                assertThat(result.getPayload(), is(not(equalTo("{\"ticker\": \"GOOGL\"}"))));
+                assertThat(result.getErrorMessage(), is(notNullValue()));
+                failures++;
+              }
+              assertThat(failures, is(equalTo(2)));
+              return null;
+            });
+
+    pipeline.run();
+  }
+
   /** Tests the {@link FailsafePythonUdf} when the input is valid. */
   @Ignore
   @Test
@@ -161,4 +376,91 @@ public class PythonTextTransformerTest {
     // Execute the test
     pipeline.run();
   }
+
+  private PythonRuntime fakeWorkerRuntime(int runtimeRetries) {
+    return PythonRuntime.newBuilder()
+        .setFileSystemPath(TRANSFORM_FILE_PATH)
+        .setFunctionName(FAKE_WORKER_FUNCTION_NAME)
+        .setRuntimeVersion(fakeInterpreter)
+        .setRuntimeRetries(runtimeRetries)
+        .build();
+  }
+
+  private static JSONObject invokeFakeWorker(PythonRuntime pythonRuntime, String event)
+      throws Exception {
+    List<String> results =
+        pythonRuntime.invokeBatch(
+            Collections.singletonList(fakeWorkerRecord("0", event)), FAKE_WORKER_TIMEOUT_MILLIS);
+    Assert.assertEquals(1, results.size());
+    return new JSONObject(results.get(0));
+  }
+
+  private static String fakeWorkerRecord(String id, String event) {
+    return new JSONObject().put("id", id).put("event", new JSONObject(event)).toString();
+  }
+
+  private String fakeWorkerAction(String action, String marker) {
+    return new JSONObject()
+        .put("action", action)
+        .put("marker", new File(tempFolder.getRoot(), marker).getAbsolutePath())
+        .toString();
+  }
+
+  private static long workerPid(JSONObject result) {
+    return result.getJSONObject("event").getLong("pid");
+  }
+
+  /**
+   * Stands in for Python running {@code python_udf_worker.py}. It reads and writes batches with the
+   * same framing, and adds {@code "transformed": true} and its process id to each event. The {@code
+   * "action"} of an event makes the UDF fail, or the worker crash or hang. The {@code Once} actions
+   * only apply until the file named by the {@code "marker"} of the event exists.
+   */
+  public static class FakePythonWorker {
+    public static void main(String[] args) throws Exception {
+      DataInputStream input = new DataInputStream(System.in);
+      DataOutputStream output = new DataOutputStream(System.out);
+      while (true) {
+        byte[] request;
+        try {
+          request = new byte[input.readInt()];
+        } catch (EOFException e) {
+          return;
+        }
+        input.readFully(request);
+        JSONArray records = new JSONArray(new String(request, UTF_8));
+        JSONArray results = new JSONArray();
+        for (int i = 0; i < records.length(); i++) {
+          JSONObject record = records.getJSONObject(i);
+          JSONObject event = record.getJSONObject("event");
+          String action = event.optString("action");
+          if (action.endsWith("Once") && !new File(event.getString("marker")).createNewFile()) {
+            action = "";
+          }
+          JSONObject result = new JSONObject().put("id", record.get("id")).put("event", event);
+          switch (action) {
+            case "crash":
+            case "crashOnce":
+              System.exit(1);
+              break;
+            case "hang":
+            case "hangOnce":
+              Thread.sleep(Long.MAX_VALUE);
+              break;
+            case "fail":
+              result.put("status", "FAILED").put("error_message", "UDF failed");
+              break;
+            default:
+              event.put("transformed", true).put("pid", ProcessHandle.current().pid());
+              result.put("status", "SUCCESS");
+          }
+          results.put(result);
+        }
+        byte[] response = results.toString().getBytes(UTF_8);
+        output.writeInt(response.length);
+        output.write(response);
+        output.flush();
+      }
+    }
+  }
 }
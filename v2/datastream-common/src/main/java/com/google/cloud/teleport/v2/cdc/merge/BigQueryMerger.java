@@ -22,13 +22,27 @@ import com.google.cloud.bigquery.Job;
 import com.google.cloud.bigquery.JobId;
 import com.google.cloud.bigquery.QueryJobConfiguration;
 import com.google.cloud.bigquery.TableResult;
+import com.google.common.annotations.VisibleForTesting;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import org.apache.beam.sdk.coders.InstantCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarLongCoder;
 import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.MapState;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.TimeDomain;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.state.TimerSpec;
+import org.apache.beam.sdk.state.TimerSpecs;
+import org.apache.beam.sdk.state.ValueState;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.MapElements;
@@ -45,6 +59,7 @@ import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.TypeDescriptor;
 import org.apache.beam.sdk.values.TypeDescriptors;
 import org.joda.time.Duration;
+import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,20 +82,37 @@ public class BigQueryMerger extends PTransform<PCollection<MergeInfo>, PCollecti
 
   @Override
   public PCollection<Void> expand(PCollection<MergeInfo> input) {
-    return input
-        .apply(
+    PCollection<KV<String, MergeInfo>> tableMerges =
+        input.apply(
             MapElements.into(
                     TypeDescriptors.kvs(
                         TypeDescriptors.strings(), TypeDescriptor.of(MergeInfo.class)))
-                .via(mergeInfo -> KV.of(mergeInfo.getReplicaTableReference(), mergeInfo)))
-        .apply(
-            new TriggerPerKeyOnFixedIntervals<String, MergeInfo>(
-                mergeConfiguration.mergeWindowDuration()))
-        .apply(
+                .via(mergeInfo -> KV.of(mergeInfo.getReplicaTableReference(), mergeInfo)));
+
+    PCollection<KV<String, MergeInfo>> scheduledMerges;
+    if (mergeConfiguration.adaptiveScheduling()) {
+      scheduledMerges =
+          tableMerges.apply(ParDo.of(new AdaptiveMergeScheduler(mergeConfiguration)));
+    } else {
+      scheduledMerges =
+          tableMerges.apply(
+              new TriggerPerKeyOnFixedIntervals<String, MergeInfo>(
+                  mergeConfiguration.mergeWindowDuration()));
+    }
+
+    PCollection<KV<Integer, MergeInfo>> keyedMerges =
+        scheduledMerges.apply(
             MapElements.into(
                     TypeDescriptors.kvs(
                         TypeDescriptors.integers(), TypeDescriptor.of(MergeInfo.class)))
-                .via(kv -> KV.of(createJobKey(kv.getKey()), kv.getValue())))
+                .via(kv -> KV.of(createJobKey(kv.getKey()), kv.getValue())));
+
+    if (mergeConfiguration.incrementalMergeField() != null) {
+      return keyedMerges
+          .apply(ParDo.of(new IncrementalMergeIssuingFn(bigQueryClient, mergeConfiguration)))
+          .apply(MapElements.into(TypeDescriptors.voids()).via(whatever -> null));
+    }
+    return keyedMerges
         .apply(Reshuffle.of())
         .apply(Values.create())
         .apply(ParDo.of(new BigQueryStatementIssuingFn(bigQueryClient, mergeConfiguration)))
@@ -167,6 +199,164 @@ public class BigQueryMerger extends PTransform<PCollection<MergeInfo>, PCollecti
     }
   }
 
+  /**
+   * Class {@link AdaptiveMergeScheduler}.
+   *
+   * <p>Counts the rows staged for each replica table since its last merge and schedules the next
+   * merge once {@link MergeConfiguration#mergeRowThreshold()} rows are pending, or once the oldest
+   * pending row has waited {@link MergeConfiguration#mergeWindowDuration()}. Tables without new
+   * rows are not merged, and merges of a table are at least {@link
+   * MergeConfiguration#minMergeInterval()} apart.
+   */
+  public static class AdaptiveMergeScheduler
+      extends DoFn<KV<String, MergeInfo>, KV<String, MergeInfo>> {
+
+    private final Counter mergesScheduled =
+        Metrics.counter(BigQueryMerger.class, "mergesScheduled");
+    private final Distribution rowsPerMerge =
+        Metrics.distribution(BigQueryMerger.class, "rowsPerMerge");
+
+    private final MergeConfiguration mergeConfiguration;
+
+    @StateId("mergeInfo")
+    private final StateSpec<ValueState<MergeInfo>> mergeInfoSpec =
+        StateSpecs.value(SerializableCoder.of(MergeInfo.class));
+
+    @StateId("pendingRows")
+    private final StateSpec<ValueState<Long>> pendingRowsSpec = StateSpecs.value(VarLongCoder.of());
+
+    @StateId("nextMerge")
+    private final StateSpec<ValueState<Instant>> nextMergeSpec =
+        StateSpecs.value(InstantCoder.of());
+
+    @StateId("lastMerge")
+    private final StateSpec<ValueState<Instant>> lastMergeSpec =
+        StateSpecs.value(InstantCoder.of());
+
+    @TimerId("merge")
+    private final TimerSpec mergeTimerSpec = TimerSpecs.timer(TimeDomain.PROCESSING_TIME);
+
+    public AdaptiveMergeScheduler(MergeConfiguration mergeConfiguration) {
+      this.mergeConfiguration = mergeConfiguration;
+    }
+
+    @ProcessElement
+    public void process(
+        @Element KV<String, MergeInfo> element,
+        @StateId("mergeInfo") ValueState<MergeInfo> mergeInfo,
+        @StateId("pendingRows") ValueState<Long> pendingRows,
+        @StateId("nextMerge") ValueState<Instant> nextMerge,
+        @StateId("lastMerge") ValueState<Instant> lastMerge,
+        @TimerId("merge") Timer mergeTimer) {
+      Instant now = mergeTimer.getCurrentRelativeTime();
+      Long previousRows = pendingRows.read();
+      long rows = previousRows == null ? 1 : previousRows + 1;
+      mergeInfo.write(element.getValue());
+      pendingRows.write(rows);
+
+      Instant mergeAt = null;
+      if (rows >= mergeConfiguration.mergeRowThreshold()) {
+        // Leave the rows that crossed the threshold some time to land in the staging table.
+        mergeAt = now.plus(mergeConfiguration.minMergeInterval());
+      } else if (previousRows == null) {
+        mergeAt = now.plus(mergeConfiguration.mergeWindowDuration());
+      }
+      if (mergeAt == null) {
+        return;
+      }
+
+      Instant lastMergeTime = lastMerge.read();
+      if (lastMergeTime != null) {
+        Instant earliestMerge = lastMergeTime.plus(mergeConfiguration.minMergeInterval());
+        if (mergeAt.isBefore(earliestMerge)) {
+          mergeAt = earliestMerge;
+        }
+      }
+      Instant scheduledMerge = nextMerge.read();
+      if (scheduledMerge == null || mergeAt.isBefore(scheduledMerge)) {
+        nextMerge.write(mergeAt);
+        mergeTimer.set(mergeAt);
+      }
+    }
+
+    @OnTimer("merge")
+    public void onMerge(
+        OnTimerContext c,
+        @StateId("mergeInfo") ValueState<MergeInfo> mergeInfo,
+        @StateId("pendingRows") ValueState<Long> pendingRows,
+        @StateId("nextMerge") ValueState<Instant> nextMerge,
+        @StateId("lastMerge") ValueState<Instant> lastMerge) {
+      nextMerge.clear();
+      Long rows = pendingRows.read();
+      MergeInfo latestMergeInfo = mergeInfo.read();
+      if (rows == null || latestMergeInfo == null) {
+        return;
+      }
+
+      c.output(KV.of(latestMergeInfo.getReplicaTableReference(), latestMergeInfo));
+      mergesScheduled.inc();
+      rowsPerMerge.update(rows);
+
+      lastMerge.write(c.fireTimestamp());
+      pendingRows.clear();
+    }
+  }
+
+  /**
+   * Class {@link IncrementalMergeIssuingFn}.
+   *
+   * <p>Issues merges restricted to the rows staged since the last successful merge of each replica
+   * table. The watermark of a table is the time its last successful merge started, and it only
+   * advances once BigQuery reports that merge done, so the rows of a failed merge are read again by
+   * the next one. Staged rows are compared to the watermark, less {@link
+   * MergeConfiguration#incrementalMergeLookback()}, through {@link
+   * MergeConfiguration#incrementalMergeField()}, which must hold the time each row was written to
+   * the staging table.
+   */
+  public static class IncrementalMergeIssuingFn extends DoFn<KV<Integer, MergeInfo>, Void> {
+
+    private final BigQueryStatementIssuingFn issuingFn;
+
+    @StateId("mergedThrough")
+    private final StateSpec<MapState<String, Instant>> mergedThroughSpec =
+        StateSpecs.map(StringUtf8Coder.of(), InstantCoder.of());
+
+    public IncrementalMergeIssuingFn(
+        BigQuery bigQueryClient, MergeConfiguration mergeConfiguration) {
+      this(new BigQueryStatementIssuingFn(bigQueryClient, mergeConfiguration));
+    }
+
+    @VisibleForTesting
+    IncrementalMergeIssuingFn(BigQueryStatementIssuingFn issuingFn) {
+      this.issuingFn = issuingFn;
+    }
+
+    @Setup
+    public void setUp() {
+      issuingFn.setUp();
+    }
+
+    @ProcessElement
+    public void process(
+        @Element KV<Integer, MergeInfo> element,
+        @StateId("mergedThrough") MapState<String, Instant> mergedThrough)
+        throws InterruptedException {
+      MergeInfo mergeInfo = element.getValue();
+      String replicaTable = mergeInfo.getReplicaTableReference();
+      Instant previousMergeStart = mergedThrough.get(replicaTable).read();
+      // Rows staged after this point may not be visible to the merge, so they stay above the
+      // watermark even if they are committed while the merge runs.
+      Instant mergeStart = Instant.now();
+      boolean merged =
+          issuingFn.issueMerge(
+              mergeInfo.withStagedSinceMillis(
+                  previousMergeStart == null ? null : previousMergeStart.getMillis()));
+      if (merged) {
+        mergedThrough.put(replicaTable, mergeStart);
+      }
+    }
+  }
+
   /** Class {@link BigQueryStatementIssuingFn}. */
   public static class BigQueryStatementIssuingFn extends DoFn<MergeInfo, Void> {
 
@@ -202,16 +392,21 @@ public class BigQueryMerger extends PTransform<PCollection<MergeInfo>, PCollecti
 
     @ProcessElement
     public void process(ProcessContext c) throws InterruptedException {
-      MergeInfo mergeInfo = c.element();
+      issueMerge(c.element());
+    }
+
+    /* Issues the merge and returns whether it succeeded. BigQuery errors are logged, not thrown. */
+    boolean issueMerge(MergeInfo mergeInfo) throws InterruptedException {
       String statement = mergeInfo.buildMergeStatement(mergeConfiguration);
       try {
         TableResult queryResult = issueQueryToBQ(mergeInfo, statement);
         mergesIssued.inc();
         LOG.info("Merge job executed: {}", statement);
+        return true;
       } catch (BigQueryException e) {
         LOG.warn(
             "Merge Job Failed With BigQuery Exception: {} Statement: {}", e.toString(), statement);
-        return;
+        return false;
       } catch (Exception e) {
         LOG.warn(
             "Merge Job Failed With Unexpected exception: {} Statement: {}",
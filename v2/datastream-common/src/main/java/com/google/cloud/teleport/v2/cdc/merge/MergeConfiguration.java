@@ -60,6 +60,8 @@ public abstract class MergeConfiguration implements Serializable {
   public static final int DEFAULT_PARTITION_RETENTION_DAYS = 1;
   public static final Duration DEFAULT_MERGE_WINDOW_DURATION = Duration.standardMinutes(30);
   public static final int DEFAULT_MERGE_CONCURRENCY = 30;
+  public static final Duration DEFAULT_MIN_MERGE_INTERVAL = Duration.standardMinutes(1);
+  public static final Duration DEFAULT_INCREMENTAL_MERGE_LOOKBACK = Duration.standardHours(1);
 
   // BigQuery-specific properties
   public static final String BIGQUERY_QUOTE_CHARACTER = "`";
@@ -79,6 +81,35 @@ public abstract class MergeConfiguration implements Serializable {
 
   public abstract int mergeConcurrency();
 
+  /**
+   * Whether merges are scheduled per table from the volume and age of staged rows instead of on
+   * fixed intervals. When enabled, {@link #mergeWindowDuration()} is the longest a staged row waits
+   * before it is merged.
+   */
+  public abstract Boolean adaptiveScheduling();
+
+  /** Number of staged rows that triggers a merge of a table under adaptive scheduling. */
+  public abstract long mergeRowThreshold();
+
+  /** Shortest time between two merges of a table under adaptive scheduling. */
+  public abstract Duration minMergeInterval();
+
+  /**
+   * A TIMESTAMP column of the staging tables holding the time each row was staged, used to restrict
+   * merges to rows staged since the last successful merge of a table, or null to scan the whole
+   * retention period. Staging tables are partitioned by ingestion day, so the restriction lowers
+   * the rows a merge processes but not the bytes it scans.
+   */
+  @Nullable
+  public abstract String incrementalMergeField();
+
+  /**
+   * How far before the start of the last successful merge the incremental scan starts. This must
+   * cover the delay between {@link #incrementalMergeField()} being set and BigQuery committing the
+   * row, and the clock skew between workers and BigQuery.
+   */
+  public abstract Duration incrementalMergeLookback();
+
   public static MergeConfiguration bigQueryConfiguration() {
     return MergeConfiguration.builder().setQuoteCharacter(BIGQUERY_QUOTE_CHARACTER).build();
   }
@@ -101,6 +132,27 @@ public abstract class MergeConfiguration implements Serializable {
     return this.toBuilder().setMergeConcurrency(mergeConcurrency).build();
   }
 
+  /**
+   * Schedules merges per table once {@code mergeRowThreshold} rows are staged or the oldest staged
+   * row reaches the merge window duration, with at least {@code minMergeInterval} between merges.
+   */
+  public MergeConfiguration withAdaptiveScheduling(
+      long mergeRowThreshold, Duration minMergeInterval) {
+    checkArgument(mergeRowThreshold > 0, "mergeRowThreshold must be greater than 0");
+    return this.toBuilder()
+        .setAdaptiveScheduling(true)
+        .setMergeRowThreshold(mergeRowThreshold)
+        .setMinMergeInterval(minMergeInterval)
+        .build();
+  }
+
+  public MergeConfiguration withIncrementalMerge(String field, Duration lookback) {
+    return this.toBuilder()
+        .setIncrementalMergeField(field)
+        .setIncrementalMergeLookback(lookback)
+        .build();
+  }
+
   public abstract Builder toBuilder();
 
   static Builder builder() {
@@ -110,7 +162,11 @@ public abstract class MergeConfiguration implements Serializable {
         .setPartitionRetention(DEFAULT_PARTITION_RETENTION_DAYS)
         .setSupportPartitionedTables(true)
         .setMergeWindowDuration(DEFAULT_MERGE_WINDOW_DURATION)
-        .setMergeConcurrency(DEFAULT_MERGE_CONCURRENCY);
+        .setMergeConcurrency(DEFAULT_MERGE_CONCURRENCY)
+        .setAdaptiveScheduling(false)
+        .setMergeRowThreshold(Long.MAX_VALUE)
+        .setMinMergeInterval(DEFAULT_MIN_MERGE_INTERVAL)
+        .setIncrementalMergeLookback(DEFAULT_INCREMENTAL_MERGE_LOOKBACK);
   }
 
   @AutoValue.Builder
@@ -129,6 +185,16 @@ public abstract class MergeConfiguration implements Serializable {
 
     abstract Builder setMergeConcurrency(int mergeConcurrency);
 
+    abstract Builder setAdaptiveScheduling(Boolean adaptiveScheduling);
+
+    abstract Builder setMergeRowThreshold(long mergeRowThreshold);
+
+    abstract Builder setMinMergeInterval(Duration minMergeInterval);
+
+    abstract Builder setIncrementalMergeField(String incrementalMergeField);
+
+    abstract Builder setIncrementalMergeLookback(Duration incrementalMergeLookback);
+
     abstract MergeConfiguration build();
   }
 }
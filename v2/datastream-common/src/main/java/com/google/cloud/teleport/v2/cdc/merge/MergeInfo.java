@@ -27,6 +27,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.beam.sdk.schemas.AutoValueSchema;
 import org.apache.beam.sdk.schemas.annotations.DefaultSchema;
 import org.apache.beam.sdk.schemas.annotations.SchemaCreate;
@@ -54,6 +55,13 @@ public abstract class MergeInfo implements Serializable {
 
   public abstract String getJobId();
 
+  /**
+   * Epoch millis at which the last successful merge into the replica table started, used to skip
+   * staged rows that were already merged. Null when the whole staging table has to be considered.
+   */
+  @Nullable
+  public abstract Long getStagedSinceMillis();
+
   public static MergeInfo create(
       String projectId,
       List<String> allPkFields,
@@ -73,7 +81,6 @@ public abstract class MergeInfo implements Serializable {
         jobId);
   }
 
-  @SchemaCreate
   public static MergeInfo create(
       String projectId,
       List<String> allPkFields,
@@ -83,6 +90,29 @@ public abstract class MergeInfo implements Serializable {
       TableId replicaTable,
       List<String> customColumns,
       String jobId) {
+    return create(
+        projectId,
+        allPkFields,
+        orderByFields,
+        deleteField,
+        stagingTable,
+        replicaTable,
+        customColumns,
+        jobId,
+        null);
+  }
+
+  @SchemaCreate
+  public static MergeInfo create(
+      String projectId,
+      List<String> allPkFields,
+      List<String> orderByFields,
+      String deleteField,
+      TableId stagingTable,
+      TableId replicaTable,
+      List<String> customColumns,
+      String jobId,
+      @Nullable Long stagedSinceMillis) {
     return new AutoValue_MergeInfo(
         projectId,
         allPkFields,
@@ -91,7 +121,22 @@ public abstract class MergeInfo implements Serializable {
         stagingTable,
         replicaTable,
         customColumns,
-        jobId);
+        jobId,
+        stagedSinceMillis);
+  }
+
+  /** Returns a copy of this merge restricted to rows staged since the given epoch millis. */
+  public MergeInfo withStagedSinceMillis(@Nullable Long stagedSinceMillis) {
+    return create(
+        getProjectId(),
+        getAllPkFields(),
+        getOrderByFields(),
+        getDeleteField(),
+        getStagingTable(),
+        getReplicaTable(),
+        getCustomColumns(),
+        getJobId(),
+        stagedSinceMillis);
   }
 
   /** Returns the formatted String reference to the BigQuery replica table. */
@@ -117,7 +162,8 @@ public abstract class MergeInfo implements Serializable {
         this.getAllPkFields(),
         this.getOrderByFields(),
         this.getDeleteField(),
-        this.getColumns());
+        this.getColumns(),
+        this.getStagedSinceMillis());
   }
 
   @Override
@@ -42,6 +42,24 @@ public class MergeStatementBuilder implements Serializable {
       List<String> orderByFields,
       String deletedFieldName,
       List<String> allFields) {
+    return buildMergeStatement(
+        replicaTable,
+        stagingTable,
+        primaryKeyFields,
+        orderByFields,
+        deletedFieldName,
+        allFields,
+        null);
+  }
+
+  public String buildMergeStatement(
+      String replicaTable,
+      String stagingTable,
+      List<String> primaryKeyFields,
+      List<String> orderByFields,
+      String deletedFieldName,
+      List<String> allFields,
+      Long stagedSinceMillis) {
     // Key/Value Map used to replace values in template
     Map<String, String> mergeQueryValues = new HashMap<>();
 
@@ -58,7 +76,7 @@ public class MergeStatementBuilder implements Serializable {
             primaryKeyFields,
             orderByFields,
             deletedFieldName,
-            configuration.partitionRetention()));
+            stagedSinceMillis));
 
     mergeQueryValues.put(
         "joinCondition",
@@ -115,14 +133,19 @@ public class MergeStatementBuilder implements Serializable {
       List<String> primaryKeyFields,
       List<String> orderByFields,
       String deletedFieldName,
-      Integer daysOfRetention) {
+      Long stagedSinceMillis) {
     String commaSeparatedFields = joinStringFields(",", allFields, "`");
 
     return String.format(
         LATEST_FROM_STAGING_TEMPLATE,
         commaSeparatedFields,
         buildPartitionedByPKAndSorted(
-            stagingTable, allFields, primaryKeyFields, orderByFields, deletedFieldName));
+            stagingTable,
+            allFields,
+            primaryKeyFields,
+            orderByFields,
+            deletedFieldName,
+            stagedSinceMillis));
   }
 
   private static String joinStringFields(String delimiter, List<String> fields, String quoteChar) {
@@ -147,7 +170,8 @@ public class MergeStatementBuilder implements Serializable {
       List<String> allFields,
       List<String> primaryKeyFields,
       List<String> orderByFields,
-      String deletedFieldName) {
+      String deletedFieldName,
+      Long stagedSinceMillis) {
     String commaSeparatedFields = joinStringFields(",", allFields, configuration.quoteCharacter());
     String commaSeparatedPKFields =
         joinStringFields(", ", primaryKeyFields, configuration.quoteCharacter());
@@ -158,7 +182,7 @@ public class MergeStatementBuilder implements Serializable {
         buildOrderByFieldsSql(orderByFields),
         buildDeletedFieldSql(deletedFieldName),
         stagingTable,
-        buildRetentionWhereClause(deletedFieldName));
+        buildStagingWhereClause(deletedFieldName, stagedSinceMillis));
   }
 
   private String buildOrderByFieldsSql(List<String> orderByFields) {
@@ -211,6 +235,28 @@ public class MergeStatementBuilder implements Serializable {
     }
   }
 
+  public static final String INCREMENTAL_WHERE_TEMPLATE = "%s%s%s >= TIMESTAMP_MILLIS(%d)";
+
+  // Incremental merges only read rows staged after the last successful merge, less the lookback, on
+  // top of the retention filter. Partitions are still pruned by the retention filter alone.
+  String buildStagingWhereClause(String deletedFieldName, Long stagedSinceMillis) {
+    String retentionWhereClause = buildRetentionWhereClause(deletedFieldName);
+    if (configuration.incrementalMergeField() == null || stagedSinceMillis == null) {
+      return retentionWhereClause;
+    }
+    String incrementalClause =
+        String.format(
+            INCREMENTAL_WHERE_TEMPLATE,
+            configuration.quoteCharacter(),
+            configuration.incrementalMergeField(),
+            configuration.quoteCharacter(),
+            stagedSinceMillis - configuration.incrementalMergeLookback().getMillis());
+    if (retentionWhereClause.isEmpty()) {
+      return "WHERE " + incrementalClause;
+    }
+    return retentionWhereClause + " AND " + incrementalClause;
+  }
+
   static String buildJoinConditions(
       List<String> primaryKeyFields, final String leftTableName, final String rightTableName) {
     List<String> equalityConditions =
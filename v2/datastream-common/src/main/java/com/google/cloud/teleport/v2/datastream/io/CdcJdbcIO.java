@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.auto.value.AutoValue;
+import com.google.cloud.teleport.v2.datastream.values.PreparedDml;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Connection;
@@ -30,9 +31,11 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
@@ -60,6 +63,7 @@ import org.apache.beam.sdk.values.POutput;
 import org.apache.beam.sdk.values.PValue;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.joda.time.Duration;
 import org.joda.time.Instant;
@@ -79,6 +83,9 @@ import org.slf4j.LoggerFactory;
  *
  * <p>JDBC sink supports writing records into a database. It writes a {@link PCollection} to the
  * database by converting each T into a string via a user-provided {@link StatementFormatter}.
+ * Records for which a {@link PreparedStatementFormatter} provides a {@link PreparedDml} are
+ * instead written through cached {@link PreparedStatement}s, folding consecutive rows of the same
+ * shape into multi-row statements.
  *
  * <p>Like the source, to configure the sink, you have to provide a {@link DataSourceConfiguration}.
  *
@@ -104,6 +111,7 @@ public class CdcJdbcIO {
   private static final Logger LOG = LoggerFactory.getLogger(CdcJdbcIO.class);
 
   private static final long DEFAULT_BATCH_SIZE = 1000L;
+  private static final Duration DEFAULT_BATCH_RETRY_INITIAL_BACKOFF = Duration.standardSeconds(5);
 
   /**
    * Write data to a JDBC datasource.
@@ -161,6 +169,7 @@ public class CdcJdbcIO {
   public static <T> WriteVoid<T> writeVoid() {
     return new AutoValue_CdcJdbcIO_WriteVoid.Builder<T>()
         .setBatchSize(DEFAULT_BATCH_SIZE)
+        .setBatchRetryInitialBackoff(DEFAULT_BATCH_RETRY_INITIAL_BACKOFF)
         .setRetryStrategy(new DefaultRetryStrategy())
         .setDlqJsonFormatter(new DefaultDlqJsonFormatter<>())
         .build();
@@ -402,6 +411,16 @@ public class CdcJdbcIO {
     String formatStatement(T element);
   }
 
+  /**
+   * An interface used by the JdbcIO Write to obtain the parameterized form of a record. Records for
+   * which it returns {@code null} are written through the {@link StatementFormatter}.
+   */
+  @FunctionalInterface
+  public interface PreparedStatementFormatter<T> extends Serializable {
+    @Nullable
+    PreparedDml formatPreparedStatement(T element);
+  }
+
   /**
    * An interface used to control if we retry the statements when a {@link SQLException} occurs. If
    * {@link RetryStrategy#apply(SQLException)} returns true, {@link Write} tries to replay the
@@ -478,6 +497,11 @@ public class CdcJdbcIO {
       return new Write(inner.withStatementFormatter(formatter));
     }
 
+    /** See {@link WriteVoid#withPreparedStatementFormatter(PreparedStatementFormatter)}. */
+    public Write<T> withPreparedStatementFormatter(PreparedStatementFormatter<T> formatter) {
+      return new Write(inner.withPreparedStatementFormatter(formatter));
+    }
+
     /** See {@link WriteVoid#withBatchSize(long)}. */
     public Write<T> withBatchSize(long batchSize) {
       return new Write(inner.withBatchSize(batchSize));
@@ -488,6 +512,12 @@ public class CdcJdbcIO {
       return new Write(inner.withRetryStrategy(retryStrategy));
     }
 
+    /** See {@link WriteVoid#withBatchRetryInitialBackoff(Duration)}. */
+    @VisibleForTesting
+    Write<T> withBatchRetryInitialBackoff(Duration initialBackoff) {
+      return new Write(inner.withBatchRetryInitialBackoff(initialBackoff));
+    }
+
     /** See {@link WriteVoid#withDlqJsonFormatter(DlqJsonFormatter)}. */
     public Write<T> withDlqJsonFormatter(DlqJsonFormatter<T> dlqJsonFormatter) {
       return new Write(inner.withDlqJsonFormatter(dlqJsonFormatter));
@@ -542,9 +572,14 @@ public class CdcJdbcIO {
 
     abstract long getBatchSize();
 
+    abstract Duration getBatchRetryInitialBackoff();
+
     @Nullable
     abstract StatementFormatter<T> getStatementFormatter();
 
+    @Nullable
+    abstract PreparedStatementFormatter<T> getPreparedStatementFormatter();
+
     @Nullable
     abstract RetryStrategy getRetryStrategy();
 
@@ -560,8 +595,12 @@ public class CdcJdbcIO {
 
       abstract Builder<T> setBatchSize(long batchSize);
 
+      abstract Builder<T> setBatchRetryInitialBackoff(Duration initialBackoff);
+
       abstract Builder<T> setStatementFormatter(StatementFormatter<T> formatter);
 
+      abstract Builder<T> setPreparedStatementFormatter(PreparedStatementFormatter<T> formatter);
+
       abstract Builder<T> setRetryStrategy(RetryStrategy deadlockPredicate);
 
       abstract Builder<T> setDlqJsonFormatter(DlqJsonFormatter<T> dlqJsonFormatter);
@@ -582,6 +621,16 @@ public class CdcJdbcIO {
       return toBuilder().setStatementFormatter(formatter).build();
     }
 
+    /**
+     * Writes records through parameterized statements where {@code formatter} provides a {@link
+     * PreparedDml}. Consecutive records sharing a statement shape are sent as a single multi-row
+     * statement when the shape allows it, and a failed batch is bisected to isolate the records
+     * that cannot be written.
+     */
+    public WriteVoid<T> withPreparedStatementFormatter(PreparedStatementFormatter<T> formatter) {
+      return toBuilder().setPreparedStatementFormatter(formatter).build();
+    }
+
     /**
      * Provide a maximum size in number of SQL statement for the batch. Default is 1000.
      *
@@ -592,6 +641,16 @@ public class CdcJdbcIO {
       return toBuilder().setBatchSize(batchSize).build();
     }
 
+    /**
+     * Initial backoff between the retries of a failed batch. Default is 5 seconds.
+     *
+     * @param initialBackoff backoff before the first retry, doubled for every following retry
+     */
+    @VisibleForTesting
+    WriteVoid<T> withBatchRetryInitialBackoff(Duration initialBackoff) {
+      return toBuilder().setBatchRetryInitialBackoff(initialBackoff).build();
+    }
+
     /**
      * When a SQL exception occurs, {@link Write} uses this {@link RetryStrategy} to determine if it
      * will retry the statements. If {@link RetryStrategy#apply(SQLException)} returns {@code true},
@@ -645,14 +704,14 @@ public class CdcJdbcIO {
       private final WriteVoid<T> spec;
 
       private static final int MAX_RETRIES = 5;
-      private static final FluentBackoff BUNDLE_WRITE_BACKOFF =
-          FluentBackoff.DEFAULT
-              .withMaxRetries(MAX_RETRIES)
-              .withInitialBackoff(Duration.standardSeconds(5));
+      // The lowest bind parameter limit among the supported databases (PostgreSQL).
+      private static final int MAX_PARAMETERS_PER_STATEMENT = 32767;
+      private static final int MAX_CACHED_STATEMENTS = 64;
 
       private DataSource dataSource;
       private Connection connection;
       private Statement statement;
+      private Map<String, PreparedStatement> preparedStatements;
       private final List<BufferedRecord<T>> records = new ArrayList<>();
 
       public WriteFn(WriteVoid<T> spec) {
@@ -669,6 +728,17 @@ public class CdcJdbcIO {
         connection = dataSource.getConnection();
         connection.setAutoCommit(false);
         statement = connection.createStatement();
+        preparedStatements =
+            new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= MAX_CACHED_STATEMENTS) {
+                  return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+              }
+            };
       }
 
       @ProcessElement
@@ -711,6 +781,10 @@ public class CdcJdbcIO {
           }
         }
         try {
+          if (preparedStatements != null) {
+            preparedStatements.values().forEach(WriteFn::closeQuietly);
+            preparedStatements.clear();
+          }
           if (statement != null) {
             statement.close();
           }
@@ -728,64 +802,150 @@ public class CdcJdbcIO {
         }
 
         Sleeper sleeper = Sleeper.DEFAULT;
-        BackOff backoff = BUNDLE_WRITE_BACKOFF.backoff();
-        boolean singleStatementMode = false;
+        BackOff backoff =
+            FluentBackoff.DEFAULT
+                .withMaxRetries(MAX_RETRIES)
+                .withInitialBackoff(spec.getBatchRetryInitialBackoff())
+                .backoff();
         List<BufferedRecord<T>> failedRecords = new ArrayList<>();
         while (true) {
           try {
-            if (singleStatementMode) {
-              statement = connection.createStatement();
-              Iterator<BufferedRecord<T>> iterator = records.iterator();
-              while (iterator.hasNext()) {
-                BufferedRecord<T> bufferedRecord = iterator.next();
-                String formattedStatement =
-                    spec.getStatementFormatter().formatStatement(bufferedRecord.record);
-                try {
-                  statement.executeUpdate(formattedStatement);
-                  connection.commit();
-                  iterator.remove();
-                } catch (SQLException exception) {
-                  LOG.error(
-                      "SQLException Occurred: {} while executing statement: {}. Adding to failed records.",
-                      exception.toString(),
-                      formattedStatement);
-                  connection.rollback();
-                  failedRecords.add(bufferedRecord);
-                }
-              }
-            } else {
-              statement = connection.createStatement();
-              for (BufferedRecord<T> bufferedRecord : records) {
-                String formattedStatement =
-                    spec.getStatementFormatter().formatStatement(bufferedRecord.record);
-                statement.addBatch(formattedStatement);
-              }
-              statement.executeBatch();
-              connection.commit();
-              records.clear();
-            }
+            writeRecords(records);
+            connection.commit();
             break;
           } catch (SQLException exception) {
-            if (singleStatementMode) {
-              LOG.error(
-                  "Errors occurred during single-statement mode. "
-                      + "Records in this batch that failed have been sent to DLQ.",
-                  exception);
-              break; // Exit retry loop
-            }
-
             connection.rollback();
             if (!BackOffUtils.next(sleeper, backoff)) {
               LOG.warn(
-                  "Batch write failed: {}. Retrying in single-statement mode.",
+                  "Batch write failed: {}. Bisecting the batch to isolate failed records.",
                   exception.getMessage());
-              singleStatementMode = true;
+              failedRecords = isolateFailedRecords(records);
+              break;
             }
             LOG.warn("SQLException Occurred, retrying: {}", exception.toString());
           }
         }
+        records.clear();
         return failedRecords;
       }
+
+      /**
+       * Writes {@code batch} in its own transaction, splitting it in halves on failure until the
+       * records that cannot be written are isolated. Records keep their relative order, so a
+       * failing record only costs O(log n) extra round trips instead of one per record.
+       */
+      private List<BufferedRecord<T>> isolateFailedRecords(List<BufferedRecord<T>> batch)
+          throws SQLException {
+        try {
+          writeRecords(batch);
+          connection.commit();
+          return new ArrayList<>();
+        } catch (SQLException exception) {
+          connection.rollback();
+          if (batch.size() == 1) {
+            LOG.error(
+                "SQLException Occurred: {} while writing record. Adding to failed records.",
+                exception.toString());
+            return new ArrayList<>(batch);
+          }
+          int middle = batch.size() / 2;
+          List<BufferedRecord<T>> failedRecords = isolateFailedRecords(batch.subList(0, middle));
+          failedRecords.addAll(isolateFailedRecords(batch.subList(middle, batch.size())));
+          return failedRecords;
+        }
+      }
+
+      /**
+       * Sends {@code batch} in order without committing. Consecutive records sharing a prepared
+       * statement shape are sent together; a run is cut when the shape changes or a row key
+       * repeats, so changes to the same row are never folded into one statement.
+       */
+      private void writeRecords(List<BufferedRecord<T>> batch) throws SQLException {
+        List<String> literalStatements = new ArrayList<>();
+        List<PreparedDml> run = new ArrayList<>();
+        Set<String> runKeys = new HashSet<>();
+        for (BufferedRecord<T> bufferedRecord : batch) {
+          PreparedDml preparedDml =
+              spec.getPreparedStatementFormatter() == null
+                  ? null
+                  : spec.getPreparedStatementFormatter()
+                      .formatPreparedStatement(bufferedRecord.record);
+          if (preparedDml == null) {
+            executePreparedRun(run);
+            runKeys.clear();
+            literalStatements.add(
+                spec.getStatementFormatter().formatStatement(bufferedRecord.record));
+            continue;
+          }
+          executeLiteralStatements(literalStatements);
+          if (!run.isEmpty()
+              && (!run.get(0).getStatementShape().equals(preparedDml.getStatementShape())
+                  || runKeys.contains(preparedDml.getRowKey())
+                  || (preparedDml.isMultiRow()
+                      && (run.size() + 1) * preparedDml.getParameterValues().size()
+                          > MAX_PARAMETERS_PER_STATEMENT))) {
+            executePreparedRun(run);
+            runKeys.clear();
+          }
+          run.add(preparedDml);
+          runKeys.add(preparedDml.getRowKey());
+        }
+        executePreparedRun(run);
+        executeLiteralStatements(literalStatements);
+      }
+
+      private void executeLiteralStatements(List<String> literalStatements) throws SQLException {
+        if (literalStatements.isEmpty()) {
+          return;
+        }
+        statement.clearBatch();
+        for (String literalStatement : literalStatements) {
+          statement.addBatch(literalStatement);
+        }
+        statement.executeBatch();
+        literalStatements.clear();
+      }
+
+      private void executePreparedRun(List<PreparedDml> run) throws SQLException {
+        if (run.isEmpty()) {
+          return;
+        }
+        PreparedDml first = run.get(0);
+        if (first.isMultiRow()) {
+          PreparedStatement preparedStatement = prepare(first.getSql(run.size()));
+          int index = 1;
+          for (PreparedDml preparedDml : run) {
+            index = preparedDml.setParameters(preparedStatement, index);
+          }
+          preparedStatement.executeUpdate();
+        } else {
+          PreparedStatement preparedStatement = prepare(first.getSql(1));
+          preparedStatement.clearBatch();
+          for (PreparedDml preparedDml : run) {
+            preparedDml.setParameters(preparedStatement, 1);
+            preparedStatement.addBatch();
+          }
+          preparedStatement.executeBatch();
+        }
+        run.clear();
+      }
+
+      private PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement preparedStatement = preparedStatements.get(sql);
+        if (preparedStatement == null) {
+          preparedStatement = connection.prepareStatement(sql);
+          preparedStatements.put(sql, preparedStatement);
+        }
+        return preparedStatement;
+      }
+
+      private static void closeQuietly(Statement statement) {
+        try {
+          statement.close();
+        } catch (SQLException e) {
+          LOG.warn("Failed to close statement: {}", e.getMessage());
+        }
+      }
     }
   }
 
@@ -16,14 +16,21 @@
 package com.google.cloud.teleport.v2.datastream.mappers;
 
 import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.bigquery.PrimaryKey;
 import com.google.cloud.bigquery.StandardSQLTypeName;
+import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.TableConstraints;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.teleport.v2.cdc.mappers.BigQueryMapper;
 import com.google.cloud.teleport.v2.datastream.utils.DataStreamClient;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
+import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.beam.sdk.extensions.gcp.options.GcpOptions;
 import org.apache.beam.sdk.values.KV;
 import org.slf4j.Logger;
@@ -34,9 +41,11 @@ public class DataStreamMapper extends BigQueryMapper<TableRow, KV<TableId, Table
 
   private static final Logger LOG = LoggerFactory.getLogger(DataStreamMapper.class);
   private static final int MAX_RETRIES = 5;
+  private static final Set<TableId> CONSTRAINED_TABLES = ConcurrentHashMap.newKeySet();
   private String datasetNameTemplate;
   private String tableNameTemplate;
   private DataStreamClient datastream;
+  private boolean primaryKeyConstraint = false;
 
   public DataStreamMapper(
       GcpOptions options, String projectId, String datasetNameTemplate, String tableNameTemplate) {
@@ -99,15 +108,58 @@ public class DataStreamMapper extends BigQueryMapper<TableRow, KV<TableId, Table
     return datastreamSchema;
   }
 
+  /**
+   * Declares the Datastream primary keys as a {@code PRIMARY KEY NOT ENFORCED} constraint on tables
+   * that do not have one yet. BigQuery requires the constraint to apply CDC upserts and deletes
+   * written through the Storage Write API.
+   */
+  public DataStreamMapper withPrimaryKeyConstraint(boolean primaryKeyConstraint) {
+    this.primaryKeyConstraint = primaryKeyConstraint;
+    return this;
+  }
+
   @Override
   public KV<TableId, TableRow> getOutputObject(TableRow input) {
     TableId tableId = getTableId(input);
     TableRow tableRow = getTableRow(input);
     TableRow cleanedTableRow = getCleanedTableRow(tableId, tableRow);
+    if (primaryKeyConstraint) {
+      applyPrimaryKeyConstraint(tableId, tableRow);
+    }
 
     return KV.of(tableId, cleanedTableRow);
   }
 
+  @VisibleForTesting
+  void applyPrimaryKeyConstraint(TableId tableId, TableRow row) {
+    if (CONSTRAINED_TABLES.contains(tableId)) {
+      return;
+    }
+    synchronized (CONSTRAINED_TABLES) {
+      if (CONSTRAINED_TABLES.contains(tableId)) {
+        return;
+      }
+      Table table = getBigQuery().getTable(tableId);
+      TableConstraints constraints = table.getTableConstraints();
+      if (constraints == null || constraints.getPrimaryKey() == null) {
+        List<String> primaryKeys = DatastreamRow.of(row).getPrimaryKeys();
+        if (primaryKeys.isEmpty()) {
+          LOG.warn("No primary keys found for {}, CDC writes will be rejected.", tableId);
+        } else {
+          LOG.info("Adding primary key {} to table {}", primaryKeys, tableId);
+          table.toBuilder()
+              .setTableConstraints(
+                  TableConstraints.newBuilder()
+                      .setPrimaryKey(PrimaryKey.newBuilder().setColumns(primaryKeys).build())
+                      .build())
+              .build()
+              .update();
+        }
+      }
+      CONSTRAINED_TABLES.add(tableId);
+    }
+  }
+
   private Map<String, StandardSQLTypeName> getObjectSchema(
       String streamName, String schemaName, String tableName, int retriesRemaining)
       throws IOException {
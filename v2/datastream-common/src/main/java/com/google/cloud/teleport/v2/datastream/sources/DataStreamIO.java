@@ -18,11 +18,13 @@ package com.google.cloud.teleport.v2.datastream.sources;
 import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.MoreObjects.firstNonNull;
 
 import com.google.api.client.util.DateTime;
+import com.google.api.services.bigquery.model.TableRow;
 import com.google.api.services.storage.model.Objects;
 import com.google.api.services.storage.model.StorageObject;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.datastream.transforms.FormatDatastreamJsonToJson;
 import com.google.cloud.teleport.v2.datastream.transforms.FormatDatastreamRecordToJson;
+import com.google.cloud.teleport.v2.datastream.transforms.FormatDatastreamRecordToTableRow;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.base.Strings;
 import java.io.FileNotFoundException;
@@ -44,6 +46,8 @@ import org.apache.beam.sdk.io.FileIO.ReadableFile;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
+import org.apache.beam.sdk.io.fs.MetadataCoderV2;
+import org.apache.beam.sdk.io.gcp.bigquery.TableRowJsonCoder;
 import org.apache.beam.sdk.io.gcp.pubsub.PubsubIO;
 import org.apache.beam.sdk.io.gcp.pubsub.PubsubMessage;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
@@ -58,6 +62,7 @@ import org.apache.beam.sdk.transforms.Values;
 import org.apache.beam.sdk.transforms.Watch;
 import org.apache.beam.sdk.transforms.Watch.Growth;
 import org.apache.beam.sdk.transforms.Watch.Growth.PollFn;
+import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PBegin;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.TimestampedValue;
@@ -97,6 +102,11 @@ import org.slf4j.LoggerFactory;
  *       final output of this transform.
  *   <li>`gs://BUCKET/root/prefix/HR_SALARIES/` - This directory represents an "object"
  * </ul>
+ *
+ * <p>With {@link #withIncrementalFileDiscovery()}, the per-minute directories and their files are
+ * discovered by {@link IncrementalFileDiscoveryFn} instead, which only lists the newest date
+ * directories of each object and keeps a high-watermark per watched directory rather than the set
+ * of every path seen so far.
  */
 public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement<String, String>>> {
 
@@ -114,6 +124,7 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
   private Map<String, String> renameColumns = new HashMap<>();
   private Boolean hashRowId = false;
   private Duration directoryWatchDuration = Duration.standardMinutes(10);
+  private Boolean incrementalFileDiscovery = false;
   PCollection<String> directories = null;
   private String datastreamSourceType;
 
@@ -175,6 +186,16 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
     return this;
   }
 
+  /**
+   * Discover files in the Polling Pipeline by listing only the newest per-minute directories of
+   * each table and tracking a high-watermark per directory, instead of matching every directory
+   * continuously. This keeps the listing cost and the state size bounded on long running streams.
+   */
+  public DataStreamIO withIncrementalFileDiscovery() {
+    this.incrementalFileDiscovery = true;
+    return this;
+  }
+
   /**
    * Set {@code applyReshuffle} to {@code false} to skip the reshuffle step for Datastream records.
    *
@@ -230,12 +251,7 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
               .setCoder(coder);
     } else {
       SerializableFunction<GenericRecord, FailsafeElement<String, String>> parseFn =
-          FormatDatastreamRecordToJson.create()
-              .withStreamName(this.streamName)
-              .withRenameColumnValues(this.renameColumns)
-              .withHashRowId(this.hashRowId)
-              .withLowercaseSourceColumns(this.lowercaseSourceColumns)
-              .withDatastreamSourceType(this.datastreamSourceType);
+          createAvroFormatter();
       datastreamRecords =
           datastreamFiles
               .apply("ReshuffleFiles", Reshuffle.<ReadableFile>viaRandomKey())
@@ -243,7 +259,7 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
                   "ParseAvroRows",
                   ParDo.of(
                       new ReadFileRangesFn<FailsafeElement<String, String>>(
-                          new CreateParseSourceFn(parseFn, coder),
+                          new CreateParseSourceFn<>(parseFn, coder),
                           new ReadFileRangesFn.ReadFileRangesFnExceptionHandler())))
               .setCoder(coder);
     }
@@ -252,24 +268,74 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
         : datastreamRecords;
   }
 
-  private static class CreateParseSourceFn
-      implements SerializableFunction<String, FileBasedSource<FailsafeElement<String, String>>> {
-    private final SerializableFunction<GenericRecord, FailsafeElement<String, String>> parseFn;
-    private final Coder<FailsafeElement<String, String>> coder;
+  /**
+   * Reads the Avro records of the stream straight into {@link TableRow}s with {@link
+   * FormatDatastreamRecordToTableRow}. The rows match what {@link #expandDataStreamJsonStrings}
+   * produces once the JSON strings are parsed, but skip the serialization and the parse. Only Avro
+   * files are supported.
+   */
+  public PTransform<PBegin, PCollection<TableRow>> readTableRows() {
+    if (!this.fileType.equals(AVRO_SUFFIX)) {
+      throw new IllegalArgumentException(
+          "Reading TableRows requires the avro input file format - found " + this.fileType);
+    }
+    return new DataStreamTableRowIO();
+  }
+
+  public PCollection<TableRow> expandDataStreamTableRows(
+      PCollection<ReadableFile> datastreamFiles) {
+    Coder<TableRow> coder = TableRowJsonCoder.of();
+    PCollection<TableRow> datastreamRows =
+        datastreamFiles
+            .apply("ReshuffleFiles", Reshuffle.<ReadableFile>viaRandomKey())
+            .apply(
+                "ParseAvroRows",
+                ParDo.of(
+                    new ReadFileRangesFn<TableRow>(
+                        new CreateParseSourceFn<>(
+                            FormatDatastreamRecordToTableRow.of(createAvroFormatter()), coder),
+                        new ReadFileRangesFn.ReadFileRangesFnExceptionHandler())))
+            .setCoder(coder);
+    return applyReshuffle
+        ? datastreamRows.apply("Reshuffle", Reshuffle.viaRandomKey())
+        : datastreamRows;
+  }
+
+  private FormatDatastreamRecordToJson createAvroFormatter() {
+    return FormatDatastreamRecordToJson.create()
+        .withStreamName(this.streamName)
+        .withRenameColumnValues(this.renameColumns)
+        .withHashRowId(this.hashRowId)
+        .withLowercaseSourceColumns(this.lowercaseSourceColumns)
+        .withDatastreamSourceType(this.datastreamSourceType);
+  }
+
+  private static class CreateParseSourceFn<T>
+      implements SerializableFunction<String, FileBasedSource<T>> {
+    private final SerializableFunction<GenericRecord, T> parseFn;
+    private final Coder<T> coder;
 
-    CreateParseSourceFn(
-        SerializableFunction<GenericRecord, FailsafeElement<String, String>> parseFn,
-        Coder<FailsafeElement<String, String>> coder) {
+    CreateParseSourceFn(SerializableFunction<GenericRecord, T> parseFn, Coder<T> coder) {
       this.parseFn = parseFn;
       this.coder = coder;
     }
 
     @Override
-    public FileBasedSource<FailsafeElement<String, String>> apply(String input) {
+    public FileBasedSource<T> apply(String input) {
       return AvroSource.from(input).withParseFn(parseFn, coder);
     }
   }
 
+  class DataStreamTableRowIO extends PTransform<PBegin, PCollection<TableRow>> {
+
+    @Override
+    public PCollection<TableRow> expand(PBegin input) {
+      PCollection<ReadableFile> datastreamFiles =
+          input.apply("Read Datastream Files", new DataStreamFileIO());
+      return expandDataStreamTableRows(datastreamFiles);
+    }
+  }
+
   class DataStreamFileIO extends PTransform<PBegin, PCollection<ReadableFile>> {
 
     @Override
@@ -297,6 +363,9 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
     }
 
     public PCollection<ReadableFile> expandPollingPipeline(PBegin input) {
+      if (incrementalFileDiscovery) {
+        return expandIncrementalPollingPipeline(input);
+      }
       directories =
           input
               .apply("StartPipeline", Create.of(inputFilePattern))
@@ -323,6 +392,31 @@ public class DataStreamIO extends PTransform<PBegin, PCollection<FailsafeElement
                       Growth.afterTimeSinceNewOutput(directoryWatchDuration)))
           .apply("ReadFiles", FileIO.readMatches());
     }
+
+    public PCollection<ReadableFile> expandIncrementalPollingPipeline(PBegin input) {
+      directories =
+          input
+              .apply("StartPipeline", Create.of(inputFilePattern))
+              .apply(
+                  "FindTableDirectory",
+                  Watch.growthOf(new DirectoryMatchPollFn(1, 1, null, "/"))
+                      .withPollInterval(Duration.standardSeconds(120)))
+              .apply(Values.create());
+
+      return directories
+          .apply(
+              "KeyByTableDirectory",
+              MapElements.into(
+                      TypeDescriptors.kvs(TypeDescriptors.strings(), TypeDescriptors.strings()))
+                  .via(path -> KV.of(path, path)))
+          .apply(
+              "DiscoverDatastreamFiles",
+              ParDo.of(
+                  new IncrementalFileDiscoveryFn(
+                      rfcStartDateTime, Duration.standardSeconds(5), directoryWatchDuration)))
+          .setCoder(MetadataCoderV2.of())
+          .apply("ReadFiles", FileIO.readMatches());
+    }
   }
 
   static class ExtractGcsFile extends DoFn<PubsubMessage, Metadata> {
@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.sources;
+
+import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.MoreObjects.firstNonNull;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.storage.model.Objects;
+import com.google.api.services.storage.model.StorageObject;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.extensions.gcp.util.GcsUtil;
+import org.apache.beam.sdk.extensions.gcp.util.GcsUtil.GcsUtilFactory;
+import org.apache.beam.sdk.extensions.gcp.util.gcsfs.GcsPath;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.TimeDomain;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.state.TimerSpec;
+import org.apache.beam.sdk.state.TimerSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.collect.Lists;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the per-minute directories of a Datastream table and outputs the files that appeared since
+ * the previous poll.
+ *
+ * <p>Datastream writes the files of a table under {@code TABLE/yyyy/MM/dd/HH/mm/}. Instead of
+ * listing the whole table tree, each poll walks down the date levels and only follows directories
+ * at or after the oldest directory that is still being watched, so a poll lists a handful of
+ * prefixes plus the directories that can still receive files.
+ *
+ * <p>The state kept per table is a {@link DiscoveryWatermark}: the newest directory that stopped
+ * being watched, plus for every watched directory the update time of its newest file and the names
+ * of the files close to it. A directory stops being watched once it had no new file for the
+ * directory watch duration, which matches {@code Growth.afterTimeSinceNewOutput} in the listing
+ * based discovery.
+ */
+class IncrementalFileDiscoveryFn extends DoFn<KV<String, String>, Metadata> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IncrementalFileDiscoveryFn.class);
+
+  /** Number of date levels below a table directory: yyyy/MM/dd/HH/mm. */
+  static final int DIRECTORY_DEPTH = 5;
+
+  /** Files updated this close to a directory's newest file are tracked by name. */
+  static final Duration CLOCK_SKEW = Duration.standardSeconds(10);
+
+  private static final DateTimeFormatter DIRECTORY_FORMAT =
+      DateTimeFormat.forPattern("yyyy/MM/dd/HH/mm/").withZoneUTC();
+
+  private final Counter filesDiscovered =
+      Metrics.counter(IncrementalFileDiscoveryFn.class, "filesDiscovered");
+  private final Counter directoriesExpired =
+      Metrics.counter(IncrementalFileDiscoveryFn.class, "directoriesExpired");
+
+  private final long startMillis;
+  private final String startDirectory;
+  private final Duration pollInterval;
+  private final Duration directoryWatchDuration;
+  private transient GcsUtil util;
+
+  @StateId("tablePath")
+  private final StateSpec<ValueState<String>> tablePathSpec =
+      StateSpecs.value(StringUtf8Coder.of());
+
+  @StateId("watermark")
+  private final StateSpec<ValueState<DiscoveryWatermark>> watermarkSpec =
+      StateSpecs.value(SerializableCoder.of(DiscoveryWatermark.class));
+
+  @TimerId("poll")
+  private final TimerSpec pollSpec = TimerSpecs.timer(TimeDomain.PROCESSING_TIME);
+
+  IncrementalFileDiscoveryFn(
+      String rfcStartDateTime, Duration pollInterval, Duration directoryWatchDuration) {
+    DateTime startDateTime =
+        DateTime.parseRfc3339(firstNonNull(rfcStartDateTime, "1970-01-01T00:00:00.00Z"));
+    this.startMillis = startDateTime.getValue();
+    this.startDirectory = DIRECTORY_FORMAT.print(startMillis);
+    this.pollInterval = pollInterval;
+    this.directoryWatchDuration = directoryWatchDuration;
+  }
+
+  @VisibleForTesting
+  void setGcsUtil(GcsUtil util) {
+    this.util = util;
+  }
+
+  private GcsUtil getUtil() {
+    if (util == null) {
+      util = new GcsUtilFactory().create(PipelineOptionsFactory.create());
+    }
+    return util;
+  }
+
+  @ProcessElement
+  public void process(
+      @Element KV<String, String> table,
+      @StateId("tablePath") ValueState<String> tablePath,
+      @TimerId("poll") Timer pollTimer) {
+    if (tablePath.read() == null) {
+      LOG.info("Starting incremental file discovery for {}", table.getKey());
+      tablePath.write(table.getKey());
+      pollTimer.offset(Duration.ZERO).setRelative();
+    }
+  }
+
+  @OnTimer("poll")
+  public void onPoll(
+      OnTimerContext c,
+      @StateId("tablePath") ValueState<String> tablePath,
+      @StateId("watermark") ValueState<DiscoveryWatermark> watermarkState,
+      @TimerId("poll") Timer pollTimer)
+      throws IOException {
+    DiscoveryWatermark watermark = firstNonNull(watermarkState.read(), new DiscoveryWatermark());
+    for (Metadata file : poll(tablePath.read(), watermark, Instant.now())) {
+      c.output(file);
+    }
+    watermarkState.write(watermark);
+    pollTimer.offset(pollInterval).setRelative();
+  }
+
+  /**
+   * Lists the watched and new directories of the table, advances the watermark and returns the
+   * files that were not returned by an earlier poll.
+   */
+  @VisibleForTesting
+  List<Metadata> poll(String tablePath, DiscoveryWatermark watermark, Instant now)
+      throws IOException {
+    GcsPath table = GcsPath.fromUri(tablePath.endsWith("/") ? tablePath : tablePath + "/");
+    String bucket = table.getBucket();
+    String tablePrefix = table.getObject();
+
+    String lowerBound = startDirectory;
+    if (watermark.expiredDirectory != null
+        && watermark.expiredDirectory.compareTo(lowerBound) > 0) {
+      lowerBound = watermark.expiredDirectory;
+    }
+    if (!watermark.directories.isEmpty()) {
+      String oldestWatched = watermark.directories.firstKey();
+      lowerBound = oldestWatched.compareTo(lowerBound) < 0 ? oldestWatched : lowerBound;
+    }
+
+    List<Metadata> newFiles = new ArrayList<>();
+    for (String directory : findDirectories(bucket, tablePrefix, lowerBound)) {
+      DirectoryWatermark directoryWatermark = watermark.directories.get(directory);
+      if (directoryWatermark == null) {
+        if (watermark.expiredDirectory != null
+            && directory.compareTo(watermark.expiredDirectory) <= 0) {
+          continue;
+        }
+        directoryWatermark = new DirectoryWatermark();
+        watermark.directories.put(directory, directoryWatermark);
+      }
+      List<StorageObject> files = listFiles(bucket, tablePrefix + directory);
+      for (StorageObject file : directoryWatermark.advance(files, startMillis, now)) {
+        newFiles.add(toMetadata(file));
+      }
+    }
+
+    Iterator<Map.Entry<String, DirectoryWatermark>> it =
+        watermark.directories.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, DirectoryWatermark> entry = it.next();
+      if (entry.getValue().lastActivityMillis + directoryWatchDuration.getMillis()
+          < now.getMillis()) {
+        if (watermark.expiredDirectory == null
+            || entry.getKey().compareTo(watermark.expiredDirectory) > 0) {
+          watermark.expiredDirectory = entry.getKey();
+        }
+        directoriesExpired.inc();
+        it.remove();
+      }
+    }
+
+    filesDiscovered.inc(newFiles.size());
+    return newFiles;
+  }
+
+  /** Walks the date levels of the table, skipping directories before {@code lowerBound}. */
+  private List<String> findDirectories(String bucket, String tablePrefix, String lowerBound)
+      throws IOException {
+    List<String> directories = Lists.newArrayList("");
+    for (int level = 0; level < DIRECTORY_DEPTH; level++) {
+      List<String> children = new ArrayList<>();
+      for (String directory : directories) {
+        for (String prefix : listPrefixes(bucket, tablePrefix + directory)) {
+          String child = prefix.substring(tablePrefix.length());
+          String bound = lowerBound.substring(0, Math.min(child.length(), lowerBound.length()));
+          if (child.compareTo(bound) >= 0) {
+            children.add(child);
+          }
+        }
+      }
+      directories = children;
+    }
+    return directories;
+  }
+
+  private List<String> listPrefixes(String bucket, String prefix) throws IOException {
+    List<String> prefixes = new ArrayList<>();
+    String pageToken = null;
+    do {
+      Objects objects = getUtil().listObjects(bucket, prefix, pageToken, "/");
+      pageToken = objects.getNextPageToken();
+      if (objects.getPrefixes() != null) {
+        prefixes.addAll(objects.getPrefixes());
+      }
+    } while (pageToken != null);
+    return prefixes;
+  }
+
+  private List<StorageObject> listFiles(String bucket, String prefix) throws IOException {
+    List<StorageObject> files = new ArrayList<>();
+    String pageToken = null;
+    do {
+      Objects objects = getUtil().listObjects(bucket, prefix, pageToken, "/");
+      pageToken = objects.getNextPageToken();
+      for (StorageObject object : firstNonNull(objects.getItems(), Lists.newArrayList())) {
+        if (!object.getName().endsWith("/")) {
+          files.add(object);
+        }
+      }
+    } while (pageToken != null);
+    return files;
+  }
+
+  private static Metadata toMetadata(StorageObject object) {
+    return Metadata.builder()
+        .setResourceId(
+            FileSystems.matchNewResource(
+                "gs://" + object.getBucket() + "/" + object.getName(), false))
+        .setSizeBytes(object.getSize() == null ? 0L : object.getSize().longValue())
+        .setLastModifiedMillis(object.getUpdated().getValue())
+        .setIsReadSeekEfficient(true)
+        .build();
+  }
+
+  /** Discovery state of one table. */
+  static class DiscoveryWatermark implements Serializable {
+    /** Newest directory that is no longer watched. Older unwatched directories are skipped. */
+    String expiredDirectory;
+
+    /** Watched directories, relative to the table, by name. */
+    TreeMap<String, DirectoryWatermark> directories = new TreeMap<>();
+  }
+
+  /** High-watermark of the files seen in one directory. */
+  static class DirectoryWatermark implements Serializable {
+    long maxUpdatedMillis = Long.MIN_VALUE;
+    long lastActivityMillis;
+
+    /** Update times of the files within {@link #CLOCK_SKEW} of {@link #maxUpdatedMillis}. */
+    Map<String, Long> recentFiles = new HashMap<>();
+
+    /**
+     * Returns the files that are newer than the watermark and moves the watermark past them. The
+     * files are compared against the watermark from before this call, as listings are ordered by
+     * name rather than by update time.
+     */
+    List<StorageObject> advance(List<StorageObject> files, long startMillis, Instant now) {
+      long floorMillis =
+          maxUpdatedMillis == Long.MIN_VALUE
+              ? Long.MIN_VALUE
+              : maxUpdatedMillis - CLOCK_SKEW.getMillis();
+      List<StorageObject> newFiles = new ArrayList<>();
+      for (StorageObject file : files) {
+        long updatedMillis = file.getUpdated().getValue();
+        if (updatedMillis < startMillis
+            || updatedMillis < floorMillis
+            || recentFiles.containsKey(file.getName())) {
+          continue;
+        }
+        newFiles.add(file);
+      }
+
+      boolean firstListing = maxUpdatedMillis == Long.MIN_VALUE;
+      for (StorageObject file : newFiles) {
+        long updatedMillis = file.getUpdated().getValue();
+        maxUpdatedMillis = Math.max(maxUpdatedMillis, updatedMillis);
+        recentFiles.put(file.getName(), updatedMillis);
+      }
+      long recentFloor = maxUpdatedMillis - CLOCK_SKEW.getMillis();
+      recentFiles.values().removeIf(updatedMillis -> updatedMillis < recentFloor);
+
+      if (!newFiles.isEmpty()) {
+        // Historic directories found on the first listing expire based on their own files.
+        lastActivityMillis =
+            firstListing ? Math.max(maxUpdatedMillis, lastActivityMillis) : now.getMillis();
+      } else if (firstListing && lastActivityMillis == 0) {
+        lastActivityMillis = now.getMillis();
+      }
+      return newFiles;
+    }
+  }
+}
@@ -64,6 +64,9 @@ public class FormatDatastreamRecordToJson
 
   static final String LOGICAL_TYPE = "logicalType";
 
+  /** Shared by all records, as an {@link ObjectMapper} is thread-safe once configured. */
+  static final ObjectMapper MAPPER = new ObjectMapper();
+
   static final Logger LOG = LoggerFactory.getLogger(FormatDatastreamRecordToJson.class);
   static final DateTimeFormatter DEFAULT_DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
   static final DateTimeFormatter DEFAULT_TIMESTAMP_WITH_TZ_FORMATTER =
@@ -120,8 +123,16 @@ public class FormatDatastreamRecordToJson
 
   @Override
   public FailsafeElement<String, String> apply(GenericRecord record) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode outputObject = mapper.createObjectNode();
+    String json = toObjectNode(record).toString();
+    return FailsafeElement.of(json, json);
+  }
+
+  /**
+   * Returns the full Datastream record as a JSON tree, before it is serialized. {@link
+   * FormatDatastreamRecordToTableRow} converts this tree straight into a {@code TableRow}.
+   */
+  ObjectNode toObjectNode(GenericRecord record) {
+    ObjectNode outputObject = MAPPER.createObjectNode();
     UnifiedTypesFormatter.payloadToJson(getPayload(record), outputObject);
     if (this.lowercaseSourceColumns) {
       outputObject = getLowerCaseObject(outputObject);
@@ -138,10 +149,11 @@ public class FormatDatastreamRecordToJson
     outputObject.put("_metadata_source_type", sourceType);
 
     // Source Specific Metadata
+    JsonNode sourceMetadataJson = getSourceMetadataJson(record);
     outputObject.put("_metadata_deleted", getMetadataIsDeleted(record));
     outputObject.put("_metadata_table", getMetadataTable(record));
     outputObject.put("_metadata_change_type", getMetadataChangeType(record));
-    outputObject.put("_metadata_primary_keys", getPrimaryKeys(record));
+    outputObject.put("_metadata_primary_keys", getPrimaryKeys(record, sourceMetadataJson));
     outputObject.put("_metadata_uuid", getUUID());
 
     if (sourceType.equals("mysql")) {
@@ -175,8 +187,8 @@ public class FormatDatastreamRecordToJson
     FormatDatastreamRecord.applyRenameColumns(outputObject, this.renameColumns);
 
     // All Raw Metadata
-    outputObject.put("_metadata_source", getSourceMetadataJson(record));
-    return FailsafeElement.of(outputObject.toString(), outputObject.toString());
+    outputObject.put("_metadata_source", sourceMetadataJson);
+    return outputObject;
   }
 
   private GenericRecord getPayload(GenericRecord record) {
@@ -184,8 +196,7 @@ public class FormatDatastreamRecordToJson
   }
 
   private ObjectNode getLowerCaseObject(ObjectNode outputObject) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode loweredOutputObject = mapper.createObjectNode();
+    ObjectNode loweredOutputObject = MAPPER.createObjectNode();
 
     for (Iterator<String> fieldNames = outputObject.fieldNames(); fieldNames.hasNext(); ) {
       String fieldName = fieldNames.next();
@@ -196,10 +207,9 @@ public class FormatDatastreamRecordToJson
   }
 
   private JsonNode getSourceMetadataJson(GenericRecord record) {
-    ObjectMapper mapper = new ObjectMapper();
     JsonNode dataInput;
     try {
-      dataInput = mapper.readTree(record.get("source_metadata").toString());
+      dataInput = MAPPER.readTree(record.get("source_metadata").toString());
     } catch (IOException e) {
       LOG.error("Issue parsing JSON record. Unable to continue.", e);
       throw new RuntimeException(e);
@@ -278,15 +288,14 @@ public class FormatDatastreamRecordToJson
     return null;
   }
 
-  private JsonNode getPrimaryKeys(GenericRecord record) {
+  private JsonNode getPrimaryKeys(GenericRecord record, JsonNode sourceMetadataJson) {
     GenericRecord sourceMetadata = (GenericRecord) record.get("source_metadata");
     if (sourceMetadata.getSchema().getField("primary_keys") == null
         || sourceMetadata.get("primary_keys") == null) {
       return null;
     }
 
-    JsonNode dataInput = getSourceMetadataJson(record);
-    return dataInput.get("primary_keys");
+    return sourceMetadataJson.get("primary_keys");
   }
 
   private String getUUID() {
@@ -678,10 +687,9 @@ public class FormatDatastreamRecordToJson
           jsonObject.put(fieldName, convertedIntervalNano);
           break;
         default:
-          ObjectMapper mapper = new ObjectMapper();
           JsonNode dataInput;
           try {
-            dataInput = mapper.readTree(element.toString());
+            dataInput = MAPPER.readTree(element.toString());
             jsonObject.put(fieldName, dataInput);
           } catch (IOException e) {
             LOG.error("Issue parsing JSON record. Unable to continue.", e);
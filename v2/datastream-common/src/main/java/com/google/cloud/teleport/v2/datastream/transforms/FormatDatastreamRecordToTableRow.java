@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.transforms;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.api.services.bigquery.model.TableRow;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+
+/**
+ * Formats an Avro record coming from Datastream straight into a {@link TableRow}.
+ *
+ * <p>The record is built by {@link FormatDatastreamRecordToJson}, so it carries the same column
+ * renames and metadata, but the JSON tree is converted into the {@link TableRow} directly instead
+ * of being serialized to a string and parsed again with {@code
+ * BigQueryConverters.convertJsonToTableRow}. The values match what that parse produces: integers
+ * become the smallest of {@link Integer}, {@link Long} or {@link java.math.BigInteger} that holds
+ * them, decimals become {@link Double}, binary values become base64 strings and nested objects and
+ * arrays become maps and lists.
+ */
+public class FormatDatastreamRecordToTableRow
+    implements SerializableFunction<GenericRecord, TableRow> {
+
+  private final FormatDatastreamRecordToJson formatter;
+
+  private FormatDatastreamRecordToTableRow(FormatDatastreamRecordToJson formatter) {
+    this.formatter = formatter;
+  }
+
+  /** Creates a function that formats records with the settings of {@code formatter}. */
+  public static FormatDatastreamRecordToTableRow of(FormatDatastreamRecordToJson formatter) {
+    return new FormatDatastreamRecordToTableRow(formatter);
+  }
+
+  @Override
+  public TableRow apply(GenericRecord record) {
+    return toTableRow(formatter.toObjectNode(record));
+  }
+
+  /** Converts a JSON object into a {@link TableRow} without going through its text form. */
+  public static TableRow toTableRow(ObjectNode object) {
+    TableRow row = new TableRow();
+    for (Iterator<Map.Entry<String, JsonNode>> it = object.fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> field = it.next();
+      row.set(field.getKey(), toValue(field.getValue()));
+    }
+    return row;
+  }
+
+  private static Object toValue(JsonNode node) {
+    switch (node.getNodeType()) {
+      case NULL:
+      case MISSING:
+        return null;
+      case BOOLEAN:
+        return node.booleanValue();
+      case STRING:
+        return node.textValue();
+      case BINARY:
+        // Serialized with Jackson's default base64 variant, as in the text form.
+        return node.asText();
+      case NUMBER:
+        if (node.isIntegralNumber()) {
+          if (node.canConvertToInt()) {
+            return node.intValue();
+          }
+          return node.canConvertToLong() ? (Object) node.longValue() : node.bigIntegerValue();
+        }
+        double value = node.doubleValue();
+        // Non-finite values are written as quoted strings such as "NaN".
+        return Double.isNaN(value) || Double.isInfinite(value) ? Double.toString(value) : value;
+      case OBJECT:
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+          Map.Entry<String, JsonNode> field = it.next();
+          map.put(field.getKey(), toValue(field.getValue()));
+        }
+        return map;
+      case ARRAY:
+        List<Object> list = new ArrayList<>(node.size());
+        for (JsonNode element : node) {
+          list.add(toValue(element));
+        }
+        return list;
+      default:
+        return node.toString();
+    }
+  }
+}
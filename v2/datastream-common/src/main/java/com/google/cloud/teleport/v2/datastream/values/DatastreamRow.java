@@ -19,11 +19,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.api.services.bigquery.model.TableRow;
 import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringSubstitutor;
@@ -41,6 +44,10 @@ public class DatastreamRow {
   public static final String DEFAULT_ORACLE_PRIMARY_KEY = "_metadata_row_id";
   public static final String ORACLE_TRANSACTION_ID_KEY = "_metadata_tx_id";
 
+  /* Source types for which getChangeSequenceNumber() can order changes. */
+  public static final Set<String> CHANGE_SEQUENCE_SOURCE_TYPES =
+      ImmutableSet.of("mysql", "postgresql", "oracle");
+
   private static final Logger LOG = LoggerFactory.getLogger(DatastreamRow.class);
   private TableRow tableRow;
   private JsonNode jsonRow;
@@ -204,6 +211,116 @@ public class DatastreamRow {
     }
   }
 
+  /* Returns true when the row represents a deleted record in the source. */
+  public boolean isDeleted() {
+    return Boolean.parseBoolean(getNullableText("_metadata_deleted"));
+  }
+
+  /**
+   * Returns the change sequence number for the row in the BigQuery CDC format: up to four
+   * hexadecimal sections separated by {@code /}. The sections follow the same source positions as
+   * {@link #getSortFields()}, so changes applied through the Storage Write API resolve in the same
+   * order a MERGE would apply them. Missing positions, as in backfill rows, are treated as zero.
+   *
+   * @throws IllegalArgumentException if the source type is not one of {@link
+   *     #CHANGE_SEQUENCE_SOURCE_TYPES}
+   */
+  public String getChangeSequenceNumber() {
+    List<Long> sections = new ArrayList<>();
+    String sourceType = getNullableText("_metadata_source_type");
+    if ("mysql".equals(sourceType)) {
+      sections.add(getLongValue("_metadata_timestamp"));
+      sections.add(getMysqlLogFileIndex(getNullableText("_metadata_log_file")));
+      sections.add(getLongValue("_metadata_log_position"));
+    } else if ("postgresql".equals(sourceType)) {
+      sections.add(getLongValue("_metadata_timestamp"));
+      sections.add(getPostgresLsnValue(getNullableText("_metadata_lsn")));
+    } else if ("oracle".equals(sourceType)) {
+      // BigQuery allows four sections, so the redo block address (rs_id) is spread over the last
+      // two: its log sequence and block number, then its byte offset ahead of the SSN.
+      long[] rsId = getOracleRsIdValues(getNullableText("_metadata_rs_id"));
+      sections.add(getLongValue("_metadata_timestamp"));
+      sections.add(getLongValue("_metadata_scn"));
+      sections.add((rsId[0] << 32) | rsId[1]);
+      sections.add((rsId[2] << 48) | (getLongValue("_metadata_ssn") & 0xFFFFFFFFFFFFL));
+    } else {
+      throw new IllegalArgumentException(
+          "Change sequence numbers are not supported for source type " + sourceType);
+    }
+    return sections.stream()
+        .map(section -> Long.toHexString(section).toUpperCase())
+        .collect(Collectors.joining("/"));
+  }
+
+  private String getNullableText(String field) {
+    Object value = getFieldValue(field);
+    if (value == null) {
+      return null;
+    } else if (value instanceof JsonNode) {
+      JsonNode node = (JsonNode) value;
+      return node.isNull() ? null : node.asText();
+    }
+    return value.toString();
+  }
+
+  private long getLongValue(String field) {
+    String value = getNullableText(field);
+    if (StringUtils.isBlank(value)) {
+      return 0L;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return new BigDecimal(value.trim()).longValue();
+    }
+  }
+
+  /* Returns the numeric suffix of a binlog file name, eg. 123 for mysql-bin.000123. */
+  static long getMysqlLogFileIndex(String logFile) {
+    if (logFile == null) {
+      return 0L;
+    }
+    int start = logFile.length();
+    while (start > 0 && Character.isDigit(logFile.charAt(start - 1))) {
+      start--;
+    }
+    return start == logFile.length() ? 0L : Long.parseLong(logFile.substring(start));
+  }
+
+  /* Returns the 64 bit value of a Postgres LSN in its textual form, eg. 16/B374D848. */
+  static long getPostgresLsnValue(String lsn) {
+    if (lsn == null) {
+      return 0L;
+    }
+    List<String> parts = Arrays.asList(lsn.trim().split("/"));
+    if (parts.size() != 2) {
+      LOG.warn("Unexpected Postgres LSN format, using 0 as sequence: {}", lsn);
+      return 0L;
+    }
+    return (Long.parseUnsignedLong(parts.get(0), 16) << 32)
+        | Long.parseUnsignedLong(parts.get(1), 16);
+  }
+
+  /**
+   * Returns the Oracle redo block address, eg. {@code 0x000a4e.0000b7e2.0010}, as its three
+   * values: the log sequence number, the block number and the byte offset.
+   */
+  static long[] getOracleRsIdValues(String rsId) {
+    if (StringUtils.isBlank(rsId)) {
+      return new long[] {0L, 0L, 0L};
+    }
+    String[] parts = StringUtils.removeStartIgnoreCase(rsId.trim(), "0x").split("\\.");
+    if (parts.length != 3) {
+      LOG.warn("Unexpected Oracle rs_id format, using 0 as sequence: {}", rsId);
+      return new long[] {0L, 0L, 0L};
+    }
+    return new long[] {
+      Long.parseLong(parts[0].trim(), 16),
+      Long.parseLong(parts[1].trim(), 16) & 0xFFFFFFFFL,
+      Long.parseLong(parts[2].trim(), 16) & 0xFFFFL
+    };
+  }
+
   @Override
   public String toString() {
     if (this.jsonRow != null) {
@@ -18,6 +18,7 @@ package com.google.cloud.teleport.v2.datastream.values;
 import com.google.auto.value.AutoValue;
 import java.io.Serializable;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.beam.sdk.schemas.AutoValueSchema;
 import org.apache.beam.sdk.schemas.annotations.DefaultSchema;
 import org.apache.beam.sdk.schemas.annotations.SchemaCreate;
@@ -45,7 +46,10 @@ public abstract class DmlInfo implements Serializable {
 
   public abstract String getOriginalPayload();
 
-  @SchemaCreate
+  /** The parameterized form of {@link #getDmlSql()}, if one was generated. */
+  @Nullable
+  public abstract PreparedDml getPreparedDml();
+
   public static DmlInfo of(
       String failsafeValue,
       String dmlSql,
@@ -56,6 +60,31 @@ public abstract class DmlInfo implements Serializable {
       List<String> primaryKeyValues,
       List<String> orderByValues,
       String originalPayload) {
+    return of(
+        failsafeValue,
+        dmlSql,
+        schemaName,
+        tableName,
+        allPkFields,
+        orderByFields,
+        primaryKeyValues,
+        orderByValues,
+        originalPayload,
+        null);
+  }
+
+  @SchemaCreate
+  public static DmlInfo of(
+      String failsafeValue,
+      String dmlSql,
+      String schemaName,
+      String tableName,
+      List<String> allPkFields,
+      List<String> orderByFields,
+      List<String> primaryKeyValues,
+      List<String> orderByValues,
+      String originalPayload,
+      @Nullable PreparedDml preparedDml) {
     return new AutoValue_DmlInfo(
         failsafeValue,
         dmlSql,
@@ -65,7 +94,8 @@ public abstract class DmlInfo implements Serializable {
         orderByFields,
         primaryKeyValues,
         orderByValues,
-        originalPayload);
+        originalPayload,
+        preparedDml);
   }
 
   public String getStateWindowKey() {
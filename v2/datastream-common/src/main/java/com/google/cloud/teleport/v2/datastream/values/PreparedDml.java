@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.values;
+
+import com.google.auto.value.AutoValue;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import org.apache.beam.sdk.schemas.AutoValueSchema;
+import org.apache.beam.sdk.schemas.annotations.DefaultSchema;
+import org.apache.beam.sdk.schemas.annotations.SchemaCreate;
+
+/**
+ * The parameterized form of a single DML change.
+ *
+ * <p>The statement is split into a prefix, a per-row section with {@code ?} placeholders and a
+ * suffix, so that consecutive changes sharing the same {@link #getStatementShape()} can be written
+ * through a single {@link PreparedStatement}. When {@link #isMultiRow()} is true, several rows can
+ * be folded into one statement by repeating the row section, e.g. {@code INSERT ... VALUES
+ * (?,?),(?,?) ON CONFLICT ...}.
+ *
+ * <p>Parameter values are kept as the SQL literals the DML generator would have inlined ({@code
+ * NULL}, {@code 'text'}, {@code 12}, {@code true}) and are converted to JDBC parameters in {@link
+ * #setParameters(PreparedStatement, int)}.
+ */
+@DefaultSchema(AutoValueSchema.class)
+@AutoValue
+public abstract class PreparedDml implements Serializable {
+
+  public abstract String getSqlPrefix();
+
+  public abstract String getRowSql();
+
+  public abstract String getSqlSuffix();
+
+  public abstract boolean isMultiRow();
+
+  /** Identifies the target row; two changes with the same key never share a statement. */
+  public abstract String getRowKey();
+
+  public abstract List<String> getParameterValues();
+
+  /** The {@link Types} constant used to bind textual parameters. */
+  public abstract int getTextSqlType();
+
+  @SchemaCreate
+  public static PreparedDml of(
+      String sqlPrefix,
+      String rowSql,
+      String sqlSuffix,
+      boolean multiRow,
+      String rowKey,
+      List<String> parameterValues,
+      int textSqlType) {
+    return new AutoValue_PreparedDml(
+        sqlPrefix, rowSql, sqlSuffix, multiRow, rowKey, parameterValues, textSqlType);
+  }
+
+  public String getStatementShape() {
+    return getSqlPrefix() + getRowSql() + getSqlSuffix();
+  }
+
+  /** Returns the SQL for a statement writing {@code rowCount} rows of this shape. */
+  public String getSql(int rowCount) {
+    if (rowCount < 1 || (rowCount > 1 && !isMultiRow())) {
+      throw new IllegalArgumentException(
+          String.format("Statement %s cannot hold %d rows", getStatementShape(), rowCount));
+    }
+    StringBuilder sql = new StringBuilder(getSqlPrefix()).append(getRowSql());
+    for (int i = 1; i < rowCount; i++) {
+      sql.append(',').append(getRowSql());
+    }
+    return sql.append(getSqlSuffix()).toString();
+  }
+
+  /**
+   * Binds this change's parameters to {@code statement} starting at {@code firstIndex}.
+   *
+   * @return the index of the next unbound parameter.
+   */
+  public int setParameters(PreparedStatement statement, int firstIndex) throws SQLException {
+    int index = firstIndex;
+    for (String value : getParameterValues()) {
+      if (value.equalsIgnoreCase("NULL")) {
+        statement.setNull(index, Types.NULL);
+      } else if (value.length() > 1 && value.startsWith("'") && value.endsWith("'")) {
+        String text = value.substring(1, value.length() - 1).replace("''", "'");
+        statement.setObject(index, text, getTextSqlType());
+      } else if (value.equals("true") || value.equals("false")) {
+        statement.setBoolean(index, Boolean.parseBoolean(value));
+      } else {
+        // Numeric literals are left for the database to coerce, as it would for inlined SQL.
+        statement.setObject(index, value, getTextSqlType());
+      }
+      index++;
+    }
+    return index;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.cdc.merge;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.teleport.v2.cdc.merge.BigQueryMerger.AdaptiveMergeScheduler;
+import com.google.cloud.teleport.v2.cdc.merge.BigQueryMerger.BigQueryStatementIssuingFn;
+import com.google.cloud.teleport.v2.cdc.merge.BigQueryMerger.IncrementalMergeIssuingFn;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.testing.TestStream;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.joda.time.Duration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for the scheduling and issuing of merges in {@link BigQueryMerger}. */
+@RunWith(JUnit4.class)
+public final class BigQueryMergerTest {
+
+  private static final String REPLICA_TABLE = "projectId.dataset.table";
+
+  /* Merges seen by FakeIssuingFn, shared with the copies the runner deserializes. */
+  private static final List<MergeInfo> ISSUED_MERGES =
+      Collections.synchronizedList(new ArrayList<>());
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+
+  @Before
+  public void setUp() {
+    ISSUED_MERGES.clear();
+  }
+
+  @Test
+  public void adaptiveMergeScheduler_mergesOnWindowOrThreshold() {
+    MergeConfiguration cfg =
+        MergeConfiguration.bigQueryConfiguration()
+            .withMergeWindowDuration(Duration.standardMinutes(10))
+            .withAdaptiveScheduling(3, Duration.standardMinutes(1));
+    TestStream<KV<String, MergeInfo>> merges =
+        TestStream.create(
+                KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(MergeInfo.class)))
+            .addElements(KV.of(REPLICA_TABLE, mergeInfo("window-1")))
+            .advanceProcessingTime(Duration.standardMinutes(5))
+            .advanceProcessingTime(Duration.standardMinutes(6))
+            .addElements(KV.of(REPLICA_TABLE, mergeInfo("threshold-1")))
+            .addElements(KV.of(REPLICA_TABLE, mergeInfo("threshold-2")))
+            .addElements(KV.of(REPLICA_TABLE, mergeInfo("threshold-3")))
+            .advanceProcessingTime(Duration.standardMinutes(2))
+            // No rows are staged for the table any more, so it is not merged again.
+            .advanceProcessingTime(Duration.standardMinutes(30))
+            .advanceWatermarkToInfinity();
+
+    PCollection<String> scheduledJobIds =
+        pipeline
+            .apply(merges)
+            .apply(ParDo.of(new AdaptiveMergeScheduler(cfg)))
+            .apply(
+                MapElements.into(TypeDescriptors.strings())
+                    .via(merge -> merge.getValue().getJobId()));
+
+    PAssert.that(scheduledJobIds).containsInAnyOrder("window-1", "threshold-3");
+    pipeline.run();
+  }
+
+  @Test
+  public void incrementalMergeIssuingFn_advancesWatermarkOnlyAfterSuccessfulMerge() {
+    TestStream<KV<Integer, MergeInfo>> merges =
+        TestStream.create(KvCoder.of(VarIntCoder.of(), SerializableCoder.of(MergeInfo.class)))
+            .addElements(KV.of(0, mergeInfo("merge-1")))
+            .addElements(KV.of(0, mergeInfo("failing-merge-2")))
+            .addElements(KV.of(0, mergeInfo("merge-3")))
+            .addElements(KV.of(0, mergeInfo("merge-4")))
+            .advanceWatermarkToInfinity();
+
+    pipeline.apply(merges).apply(ParDo.of(new IncrementalMergeIssuingFn(new FakeIssuingFn())));
+    pipeline.run();
+
+    assertThat(ISSUED_MERGES).hasSize(4);
+    Long firstWatermark = ISSUED_MERGES.get(1).getStagedSinceMillis();
+    // The first merge of a table reads the whole retention period.
+    assertThat(ISSUED_MERGES.get(0).getStagedSinceMillis()).isNull();
+    assertThat(firstWatermark).isNotNull();
+    // The failed merge did not move the watermark, so its rows are read again.
+    assertThat(ISSUED_MERGES.get(2).getStagedSinceMillis()).isEqualTo(firstWatermark);
+    assertThat(ISSUED_MERGES.get(3).getStagedSinceMillis()).isGreaterThan(firstWatermark);
+  }
+
+  private static MergeInfo mergeInfo(String jobId) {
+    return MergeInfo.create(
+        "projectId",
+        ImmutableList.of("id"),
+        ImmutableList.of("timestamp"),
+        "metadata_deleteField",
+        TableId.of("projectId", "dataset", "staging_table"),
+        TableId.of("projectId", "dataset", "table"),
+        ImmutableList.of("id", "timestamp"),
+        jobId);
+  }
+
+  /** Records merges instead of issuing them, and fails those whose job id says so. */
+  private static class FakeIssuingFn extends BigQueryStatementIssuingFn {
+
+    FakeIssuingFn() {
+      super(null, MergeConfiguration.bigQueryConfiguration());
+    }
+
+    @Override
+    public void setUp() {}
+
+    @Override
+    boolean issueMerge(MergeInfo mergeInfo) throws InterruptedException {
+      ISSUED_MERGES.add(mergeInfo);
+      // Keeps the start times of consecutive merges apart.
+      Thread.sleep(5);
+      return !mergeInfo.getJobId().startsWith("failing");
+    }
+  }
+}
@@ -30,6 +30,7 @@ import com.google.cloud.bigquery.TableId;
 import com.google.cloud.teleport.v2.utils.BigQueryTableCache;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
+import org.joda.time.Duration;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -155,6 +156,40 @@ public final class MergeInfoTest {
     assertThat(mergeInfo.buildMergeStatement(cfg)).isEqualTo(MERGE_SQL);
   }
 
+  @Test
+  public void buildMergeStatement_incrementalWithoutStagedSince_scansRetentionPeriod() {
+    MergeConfiguration cfg =
+        MergeConfiguration.bigQueryConfiguration()
+            .withIncrementalMerge("_metadata_staged_timestamp", Duration.standardMinutes(30));
+    MergeInfo mergeInfo = buildCustomColumnsMergeInfo();
+
+    assertThat(mergeInfo.buildMergeStatement(cfg)).isEqualTo(MERGE_SQL);
+  }
+
+  @Test
+  public void buildMergeStatement_incrementalWithStagedSince_addsLowerBound() {
+    MergeConfiguration cfg =
+        MergeConfiguration.bigQueryConfiguration()
+            .withIncrementalMerge("_metadata_staged_timestamp", Duration.standardMinutes(30));
+    MergeInfo mergeInfo = buildCustomColumnsMergeInfo().withStagedSinceMillis(1_800_000L * 10);
+
+    assertThat(mergeInfo.getStagedSinceMillis()).isEqualTo(18_000_000L);
+    assertThat(mergeInfo.buildMergeStatement(cfg))
+        .isEqualTo(
+            MERGE_SQL.replace(
+                " AND metadata_deleteField))) WHERE row_num=1)",
+                " AND metadata_deleteField)) AND `_metadata_staged_timestamp` >="
+                    + " TIMESTAMP_MILLIS(16200000)) WHERE row_num=1)"));
+  }
+
+  @Test
+  public void buildMergeStatement_stagedSinceWithoutIncrementalField_scansRetentionPeriod() {
+    MergeConfiguration cfg = MergeConfiguration.bigQueryConfiguration();
+    MergeInfo mergeInfo = buildCustomColumnsMergeInfo().withStagedSinceMillis(18_000_000L);
+
+    assertThat(mergeInfo.buildMergeStatement(cfg)).isEqualTo(MERGE_SQL);
+  }
+
   @Test
   public void getMergeFields_expectedResult() {
     MergeInfo mergeInfo = buildSampleMergeInfo();
@@ -187,6 +222,18 @@ public final class MergeInfoTest {
     assertThat(exception).hasMessageThat().contains("Could not get the schema for BigQuery table");
   }
 
+  private MergeInfo buildCustomColumnsMergeInfo() {
+    return MergeInfo.create(
+        "projectId",
+        ImmutableList.of("id"),
+        ImmutableList.of("timestamp", "other"),
+        "metadata_deleteField",
+        TableId.of("projectId", "dataset", "staging_table"),
+        TableId.of("projectId", "dataset", "table"),
+        ImmutableList.of("id, cola", "colb", "timestamp", "other"),
+        "job-id-dataset-table");
+  }
+
   private MergeInfo buildSampleMergeInfo() {
     List<String> allPkFields = ImmutableList.of("id");
     List<String> orderByFields = ImmutableList.of("timestamp", "other");
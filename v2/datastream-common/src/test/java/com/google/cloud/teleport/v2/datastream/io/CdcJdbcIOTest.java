@@ -20,18 +20,36 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.teleport.v2.datastream.values.PreparedDml;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.joda.time.Duration;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -47,6 +65,9 @@ public final class CdcJdbcIOTest {
   private static final String PASSWORD = "testpass";
   private static final Integer LOGIN_TIMEOUT = 30;
 
+  // Static so that the serialized write transform can reach the mock without capturing it.
+  private static DataSource mockDataSource;
+
   @Rule public final transient TestPipeline pipeline = TestPipeline.create();
 
   @Test
@@ -242,4 +263,86 @@ public final class CdcJdbcIOTest {
     assertTrue("Should retry on 40001", strategy.apply(deadlockException));
     assertTrue("Should not retry on other states", !strategy.apply(otherException));
   }
+
+  @Test
+  public void testWrite_preparedStatementsBisectFailedBatch() throws Exception {
+    // Every multi-row statement holding the "bad" row fails with a non-retryable error.
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    when(connection.prepareStatement(anyString()))
+        .thenAnswer(
+            invocation -> {
+              List<Object> boundValues = new ArrayList<>();
+              PreparedStatement statement = mock(PreparedStatement.class);
+              doAnswer(setObject -> boundValues.add(setObject.getArgument(1)))
+                  .when(statement)
+                  .setObject(anyInt(), any(), anyInt());
+              when(statement.executeUpdate())
+                  .thenAnswer(
+                      executeUpdate -> {
+                        try {
+                          if (boundValues.contains("bad")) {
+                            throw new SQLException("duplicate key value", "23505");
+                          }
+                          return boundValues.size();
+                        } finally {
+                          boundValues.clear();
+                        }
+                      });
+              return statement;
+            });
+    mockDataSource = mock(DataSource.class);
+    when(mockDataSource.getConnection()).thenReturn(connection);
+
+    PCollection<String> input =
+        pipeline.apply(Create.of(Arrays.asList("a", "b", "bad", "c", "d", "e")));
+    CdcJdbcIO.WriteResult result =
+        input.apply(
+            CdcJdbcIO.<String>write()
+                .withDataSourceProviderFn(ignored -> mockDataSource)
+                .withStatementFormatter(record -> "INSERT INTO t VALUES ('" + record + "')")
+                .withPreparedStatementFormatter(
+                    record ->
+                        PreparedDml.of(
+                            "INSERT INTO t (v) VALUES ",
+                            "(?)",
+                            "",
+                            true,
+                            record,
+                            Arrays.asList("'" + record + "'"),
+                            Types.VARCHAR))
+                .withDlqJsonFormatter(record -> record)
+                .withBatchRetryInitialBackoff(Duration.millis(1)));
+
+    PAssert.that(result.getFailedInserts()).containsInAnyOrder("bad");
+    pipeline.run();
+  }
+
+  @Test
+  public void testWrite_retriesFailedBatch() throws Exception {
+    // A transient error that the default retry strategy does not recognize as a deadlock.
+    Statement statement = mock(Statement.class);
+    when(statement.executeBatch())
+        .thenThrow(new SQLException("Communications link failure", "08S01"))
+        .thenThrow(new SQLException("Communications link failure", "08S01"))
+        .thenReturn(new int[] {1});
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+    mockDataSource = mock(DataSource.class);
+    when(mockDataSource.getConnection()).thenReturn(connection);
+
+    PCollection<String> input = pipeline.apply(Create.of("a"));
+    CdcJdbcIO.WriteResult result =
+        input.apply(
+            CdcJdbcIO.<String>write()
+                .withDataSourceProviderFn(ignored -> mockDataSource)
+                .withStatementFormatter(record -> "INSERT INTO t VALUES ('" + record + "')")
+                .withDlqJsonFormatter(record -> record)
+                .withBatchRetryInitialBackoff(Duration.millis(1)));
+
+    PAssert.that(result.getFailedInserts()).empty();
+    pipeline.run();
+    verify(statement, times(3)).executeBatch();
+    verify(connection, times(2)).rollback();
+  }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.mappers;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.PrimaryKey;
+import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.TableConstraints;
+import com.google.cloud.bigquery.TableId;
+import java.util.Arrays;
+import org.apache.beam.sdk.extensions.gcp.auth.NoopCredentialFactory;
+import org.apache.beam.sdk.extensions.gcp.options.GcpOptions;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+/** Unit tests for {@link DataStreamMapper}. */
+@RunWith(JUnit4.class)
+public class DataStreamMapperTest {
+
+  private BigQuery bigQuery;
+  private DataStreamMapper mapper;
+
+  @Before
+  public void setUp() {
+    GcpOptions options = PipelineOptionsFactory.create().as(GcpOptions.class);
+    options.setGcpCredential(NoopCredentialFactory.fromOptions(options).getCredential());
+    bigQuery = mock(BigQuery.class);
+    mapper =
+        new DataStreamMapper(options, "project", "{_metadata_dataset}", "{_metadata_table}") {
+          @Override
+          protected BigQuery getBigQuery() {
+            return bigQuery;
+          }
+        }.withPrimaryKeyConstraint(true);
+  }
+
+  @Test
+  public void testApplyPrimaryKeyConstraintAddsMissingPrimaryKey() {
+    TableId tableId = TableId.of("project", "dataset", "missing_pk");
+    Table table = mock(Table.class);
+    Table.Builder builder = mock(Table.Builder.class, RETURNS_SELF);
+    Table updatedTable = mock(Table.class);
+    when(bigQuery.getTable(tableId)).thenReturn(table);
+    when(table.toBuilder()).thenReturn(builder);
+    when(builder.build()).thenReturn(updatedTable);
+
+    mapper.applyPrimaryKeyConstraint(tableId, rowWithPrimaryKeys("id", "name"));
+
+    ArgumentCaptor<TableConstraints> constraints = ArgumentCaptor.forClass(TableConstraints.class);
+    verify(builder).setTableConstraints(constraints.capture());
+    assertThat(constraints.getValue().getPrimaryKey().getColumns())
+        .containsExactly("id", "name")
+        .inOrder();
+    verify(updatedTable).update();
+  }
+
+  @Test
+  public void testApplyPrimaryKeyConstraintKeepsExistingPrimaryKey() {
+    TableId tableId = TableId.of("project", "dataset", "existing_pk");
+    Table table = mock(Table.class);
+    when(bigQuery.getTable(tableId)).thenReturn(table);
+    when(table.getTableConstraints())
+        .thenReturn(
+            TableConstraints.newBuilder()
+                .setPrimaryKey(PrimaryKey.newBuilder().setColumns(Arrays.asList("id")).build())
+                .build());
+
+    mapper.applyPrimaryKeyConstraint(tableId, rowWithPrimaryKeys("id", "name"));
+
+    verify(table, never()).toBuilder();
+  }
+
+  @Test
+  public void testApplyPrimaryKeyConstraintSkipsTablesWithoutSourcePrimaryKeys() {
+    TableId tableId = TableId.of("project", "dataset", "no_source_pk");
+    Table table = mock(Table.class);
+    when(bigQuery.getTable(tableId)).thenReturn(table);
+
+    mapper.applyPrimaryKeyConstraint(tableId, rowWithPrimaryKeys());
+
+    verify(table, never()).toBuilder();
+  }
+
+  @Test
+  public void testApplyPrimaryKeyConstraintChecksEachTableOnce() {
+    TableId tableId = TableId.of("project", "dataset", "checked_once");
+    Table table = mock(Table.class);
+    Table.Builder builder = mock(Table.Builder.class, RETURNS_SELF);
+    when(bigQuery.getTable(tableId)).thenReturn(table);
+    when(table.toBuilder()).thenReturn(builder);
+    when(builder.build()).thenReturn(mock(Table.class));
+
+    mapper.applyPrimaryKeyConstraint(tableId, rowWithPrimaryKeys("id"));
+    mapper.applyPrimaryKeyConstraint(tableId, rowWithPrimaryKeys("id"));
+
+    verify(bigQuery, times(1)).getTable(tableId);
+    verify(builder, times(1)).setTableConstraints(any());
+  }
+
+  private static TableRow rowWithPrimaryKeys(String... primaryKeys) {
+    TableRow row = new TableRow();
+    row.set("_metadata_primary_keys", Arrays.asList(primaryKeys));
+    return row;
+  }
+}
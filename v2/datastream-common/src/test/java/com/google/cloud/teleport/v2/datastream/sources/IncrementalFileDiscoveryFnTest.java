@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.sources;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.storage.model.Objects;
+import com.google.api.services.storage.model.StorageObject;
+import com.google.cloud.teleport.v2.datastream.sources.IncrementalFileDiscoveryFn.DiscoveryWatermark;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.beam.sdk.extensions.gcp.util.GcsUtil;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link IncrementalFileDiscoveryFn}. */
+@RunWith(JUnit4.class)
+public class IncrementalFileDiscoveryFnTest {
+
+  private static final String BUCKET = "ds-bucket";
+  private static final String TABLE_PATH = "gs://ds-bucket/root/HR_JOBS/";
+  private static final String TABLE_PREFIX = "root/HR_JOBS/";
+  private static final Duration WATCH_DURATION = Duration.standardMinutes(10);
+
+  private GcsUtil util;
+
+  @Before
+  public void setUp() throws IOException {
+    FileSystems.setDefaultPipelineOptions(PipelineOptionsFactory.create());
+    util = mock(GcsUtil.class);
+    stubPrefixes(TABLE_PREFIX, "2024/");
+    stubPrefixes(TABLE_PREFIX + "2024/", "2024/04/", "2024/05/");
+    stubPrefixes(TABLE_PREFIX + "2024/04/", "2024/04/30/");
+    stubPrefixes(TABLE_PREFIX + "2024/04/30/", "2024/04/30/23/");
+    stubPrefixes(TABLE_PREFIX + "2024/04/30/23/", "2024/04/30/23/59/");
+    stubPrefixes(TABLE_PREFIX + "2024/05/", "2024/05/01/");
+    stubPrefixes(TABLE_PREFIX + "2024/05/01/", "2024/05/01/10/");
+    stubPrefixes(TABLE_PREFIX + "2024/05/01/10/", "2024/05/01/10/02/");
+    stubFiles("2024/04/30/23/59/");
+    stubFiles("2024/05/01/10/02/");
+  }
+
+  @Test
+  public void testPollOutputsEachFileOnce() throws IOException {
+    IncrementalFileDiscoveryFn fn = getDiscoveryFn(null);
+    DiscoveryWatermark watermark = new DiscoveryWatermark();
+    StorageObject first = file("2024/05/01/10/02/first.avro", "2024-05-01T10:02:10Z");
+    StorageObject second = file("2024/05/01/10/02/second.avro", "2024-05-01T10:02:05Z");
+    stubFiles("2024/05/01/10/02/", first, second);
+
+    assertThat(names(fn.poll(TABLE_PATH, watermark, at("2024-05-01T10:02:30Z"))))
+        .containsExactly("first.avro", "second.avro");
+    assertThat(names(fn.poll(TABLE_PATH, watermark, at("2024-05-01T10:02:35Z")))).isEmpty();
+
+    StorageObject third = file("2024/05/01/10/02/third.avro", "2024-05-01T10:02:40Z");
+    stubFiles("2024/05/01/10/02/", first, second, third);
+
+    assertThat(names(fn.poll(TABLE_PATH, watermark, at("2024-05-01T10:02:45Z"))))
+        .containsExactly("third.avro");
+    assertThat(watermark.directories.keySet())
+        .containsExactly("2024/04/30/23/59/", "2024/05/01/10/02/");
+  }
+
+  @Test
+  public void testExpiredDirectoriesAreNotListedAgain() throws IOException {
+    IncrementalFileDiscoveryFn fn = getDiscoveryFn(null);
+    DiscoveryWatermark watermark = new DiscoveryWatermark();
+    stubFiles("2024/04/30/23/59/", file("2024/04/30/23/59/old.avro", "2024-04-30T23:59:10Z"));
+    stubFiles("2024/05/01/10/02/", file("2024/05/01/10/02/new.avro", "2024-05-01T10:02:10Z"));
+
+    assertThat(names(fn.poll(TABLE_PATH, watermark, at("2024-05-01T10:02:30Z"))))
+        .containsExactly("old.avro", "new.avro");
+    assertThat(watermark.expiredDirectory).isEqualTo("2024/04/30/23/59/");
+    assertThat(watermark.directories.keySet()).containsExactly("2024/05/01/10/02/");
+
+    assertThat(names(fn.poll(TABLE_PATH, watermark, at("2024-05-01T10:03:00Z")))).isEmpty();
+
+    // The files of the expired directory are not listed again.
+    verify(util, times(1))
+        .listObjects(eq(BUCKET), eq(TABLE_PREFIX + "2024/04/30/23/59/"), any(), eq("/"));
+  }
+
+  @Test
+  public void testDirectoriesAndFilesBeforeStartAreSkipped() throws IOException {
+    IncrementalFileDiscoveryFn fn = getDiscoveryFn("2024-05-01T10:02:08Z");
+    DiscoveryWatermark watermark = new DiscoveryWatermark();
+    stubFiles(
+        "2024/05/01/10/02/",
+        file("2024/05/01/10/02/before.avro", "2024-05-01T10:02:05Z"),
+        file("2024/05/01/10/02/after.avro", "2024-05-01T10:02:10Z"));
+
+    assertThat(names(fn.poll(TABLE_PATH, watermark, at("2024-05-01T10:02:30Z"))))
+        .containsExactly("after.avro");
+    verify(util, never()).listObjects(eq(BUCKET), eq(TABLE_PREFIX + "2024/04/"), any(), eq("/"));
+  }
+
+  private IncrementalFileDiscoveryFn getDiscoveryFn(String rfcStartDateTime) {
+    IncrementalFileDiscoveryFn fn =
+        new IncrementalFileDiscoveryFn(
+            rfcStartDateTime, Duration.standardSeconds(5), WATCH_DURATION);
+    fn.setGcsUtil(util);
+    return fn;
+  }
+
+  private void stubPrefixes(String prefix, String... children) throws IOException {
+    when(util.listObjects(eq(BUCKET), eq(prefix), any(), eq("/")))
+        .thenReturn(
+            new Objects()
+                .setPrefixes(
+                    Arrays.stream(children)
+                        .map(child -> TABLE_PREFIX + child)
+                        .collect(Collectors.toList())));
+  }
+
+  private void stubFiles(String directory, StorageObject... files) throws IOException {
+    when(util.listObjects(eq(BUCKET), eq(TABLE_PREFIX + directory), any(), eq("/")))
+        .thenReturn(new Objects().setItems(Arrays.asList(files)));
+  }
+
+  private static StorageObject file(String name, String updated) {
+    return new StorageObject()
+        .setBucket(BUCKET)
+        .setName(TABLE_PREFIX + name)
+        .setSize(BigInteger.TEN)
+        .setUpdated(DateTime.parseRfc3339(updated));
+  }
+
+  private static Instant at(String timestamp) {
+    return Instant.parse(timestamp);
+  }
+
+  private static List<String> names(List<Metadata> files) {
+    return files.stream().map(file -> file.resourceId().getFilename()).collect(Collectors.toList());
+  }
+}
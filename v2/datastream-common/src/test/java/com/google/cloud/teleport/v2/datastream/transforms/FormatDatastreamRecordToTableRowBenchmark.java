@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.transforms;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of formatting Datastream Avro records into {@link TableRow}s.
+ *
+ * <p>Each invocation converts one record, so the throughput score is in records per second. The
+ * {@code jsonString} benchmark only measures {@link FormatDatastreamRecordToJson}. The {@code
+ * jsonToTableRow} benchmark is the default path of DataStreamToBigQuery: the JSON string is parsed
+ * again by {@link BigQueryConverters#convertJsonToTableRow}. The {@code directTableRow} benchmark
+ * uses {@link FormatDatastreamRecordToTableRow}, which skips the string, as DataStreamToBigQuery
+ * does with {@code useDirectTableRowConversion}. Running {@link #main} also enables the GC
+ * profiler.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -pl v2/datastream-common -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.google.cloud.teleport.v2.datastream.transforms.FormatDatastreamRecordToTableRowBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatDatastreamRecordToTableRowBenchmark {
+
+  @Param({"avro_file_ut.avro", "mysql_people_test.avro", "mysql_numbers_test.avro"})
+  public String avroFile;
+
+  private FormatDatastreamRecordToJson jsonFormatter;
+  private FormatDatastreamRecordToTableRow tableRowFormatter;
+  private GenericRecord[] records;
+  private int next;
+
+  @Setup
+  public void setup() throws Exception {
+    jsonFormatter = FormatDatastreamRecordToJson.create();
+    tableRowFormatter = FormatDatastreamRecordToTableRow.of(jsonFormatter);
+    File file =
+        new File(
+            getClass()
+                .getClassLoader()
+                .getResource("FormatDatastreamRecordToJsonTest/" + avroFile)
+                .toURI());
+    List<GenericRecord> read = new ArrayList<>();
+    try (DataFileReader<GenericRecord> reader =
+        new DataFileReader<>(file, new GenericDatumReader<>())) {
+      while (reader.hasNext()) {
+        read.add(reader.next());
+      }
+    }
+    records = read.toArray(new GenericRecord[0]);
+  }
+
+  private GenericRecord nextRecord() {
+    next = (next + 1) % records.length;
+    return records[next];
+  }
+
+  @Benchmark
+  public String jsonString() {
+    return jsonFormatter.apply(nextRecord()).getPayload();
+  }
+
+  /** Default DataStreamToBigQuery behavior: format to a JSON string, then parse it. */
+  @Benchmark
+  public TableRow jsonToTableRow() {
+    return BigQueryConverters.convertJsonToTableRow(
+        jsonFormatter.apply(nextRecord()).getPayload());
+  }
+
+  /** DataStreamToBigQuery behavior with {@code useDirectTableRowConversion}. */
+  @Benchmark
+  public TableRow directTableRow() {
+    return tableRowFormatter.apply(nextRecord());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder()
+            .include(FormatDatastreamRecordToTableRowBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
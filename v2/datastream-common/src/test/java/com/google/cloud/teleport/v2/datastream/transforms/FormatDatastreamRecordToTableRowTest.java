@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link FormatDatastreamRecordToTableRow}. */
+@RunWith(JUnit4.class)
+public class FormatDatastreamRecordToTableRowTest {
+
+  private static final String[] AVRO_FILES = {
+    "avro_file_ut.avro", "mysql_people_test.avro", "mysql_numbers_test.avro", "bytearray.avro"
+  };
+
+  @Test
+  public void testTableRowMatchesParsedJson() throws IOException, URISyntaxException {
+    FormatDatastreamRecordToJson formatter = FormatDatastreamRecordToJson.create();
+    for (String avroFile : AVRO_FILES) {
+      for (GenericRecord record : readRecords(avroFile)) {
+        ObjectNode json = formatter.toObjectNode(record);
+
+        TableRow expected = BigQueryConverters.convertJsonToTableRow(json.toString());
+        assertThat(FormatDatastreamRecordToTableRow.toTableRow(json)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testApplyKeepsRenamedColumnsAndMetadata() throws IOException, URISyntaxException {
+    GenericRecord record = readRecords("mysql_people_test.avro").get(0);
+    TableRow row =
+        FormatDatastreamRecordToTableRow.of(
+                FormatDatastreamRecordToJson.create()
+                    .withStreamName("my-stream")
+                    .withRenameColumnValues(ImmutableMap.of("_metadata_table", "source_table")))
+            .apply(record);
+
+    assertThat(row.get("_metadata_stream")).isEqualTo("my-stream");
+    assertThat(row.get("source_table")).isEqualTo(row.get("_metadata_table"));
+    assertThat(row.get("_metadata_primary_keys")).isInstanceOf(List.class);
+    assertThat(row.get("_metadata_source")).isInstanceOf(Map.class);
+  }
+
+  private List<GenericRecord> readRecords(String avroFile) throws IOException, URISyntaxException {
+    File file =
+        new File(
+            getClass()
+                .getClassLoader()
+                .getResource("FormatDatastreamRecordToJsonTest/" + avroFile)
+                .toURI());
+    List<GenericRecord> records = new ArrayList<>();
+    try (DataFileReader<GenericRecord> reader =
+        new DataFileReader<>(file, new GenericDatumReader<>())) {
+      while (reader.hasNext()) {
+        records.add(reader.next());
+      }
+    }
+    return records;
+  }
+}
@@ -16,6 +16,9 @@
 package com.google.cloud.teleport.v2.datastream.values;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import com.google.api.services.bigquery.model.TableRow;
 import java.io.IOException;
@@ -64,4 +67,133 @@ public class DatastreamRowTest {
     assertEquals(pks.get(0), "id");
     assertEquals(pks.get(1), "name");
   }
+
+  @Test
+  public void testGetChangeSequenceNumberMysql() {
+    TableRow r1 = new TableRow();
+    r1.set("_metadata_source_type", "mysql");
+    r1.set("_metadata_timestamp", 1700000000L);
+    r1.set("_metadata_log_file", "mysql-bin.000123");
+    r1.set("_metadata_log_position", 4567);
+    DatastreamRow row = DatastreamRow.of(r1);
+
+    assertEquals("6553F100/7B/11D7", row.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetChangeSequenceNumberPostgres() {
+    TableRow r1 = new TableRow();
+    r1.set("_metadata_source_type", "postgresql");
+    r1.set("_metadata_timestamp", 1700000000L);
+    r1.set("_metadata_lsn", "16/B374D848");
+    DatastreamRow row = DatastreamRow.of(r1);
+
+    assertEquals("6553F100/16B374D848", row.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetChangeSequenceNumberOracle() {
+    TableRow r1 = new TableRow();
+    r1.set("_metadata_source_type", "oracle");
+    r1.set("_metadata_timestamp", 1700000000L);
+    r1.set("_metadata_scn", 1234567L);
+    r1.set("_metadata_rs_id", " 0x000a4e.0000b7e2.0010 ");
+    r1.set("_metadata_ssn", 3);
+    DatastreamRow row = DatastreamRow.of(r1);
+
+    assertEquals("6553F100/12D687/A4E0000B7E2/10000000000003", row.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetChangeSequenceNumberOracleOrdersLikeSortFields() {
+    TableRow earlier = new TableRow();
+    earlier.set("_metadata_source_type", "oracle");
+    earlier.set("_metadata_timestamp", 1700000000L);
+    earlier.set("_metadata_scn", 1234567L);
+    earlier.set("_metadata_rs_id", "0x000a4e.0000b7e2.0010");
+    earlier.set("_metadata_ssn", 7);
+    TableRow sameBlockLaterOffset = earlier.clone();
+    sameBlockLaterOffset.set("_metadata_rs_id", "0x000a4e.0000b7e2.0011");
+    sameBlockLaterOffset.set("_metadata_ssn", 0);
+    TableRow laterTimestamp = earlier.clone();
+    laterTimestamp.set("_metadata_timestamp", 1700000001L);
+    laterTimestamp.set("_metadata_scn", 1234566L);
+
+    String earlierSequence = DatastreamRow.of(earlier).getChangeSequenceNumber();
+    assertTrue(
+        compareSequenceNumbers(
+                earlierSequence, DatastreamRow.of(sameBlockLaterOffset).getChangeSequenceNumber())
+            < 0);
+    assertTrue(
+        compareSequenceNumbers(
+                earlierSequence, DatastreamRow.of(laterTimestamp).getChangeSequenceNumber())
+            < 0);
+  }
+
+  @Test
+  public void testGetChangeSequenceNumberUnsupportedSource() {
+    TableRow r1 = new TableRow();
+    r1.set("_metadata_source_type", "sqlserver");
+    r1.set("_metadata_timestamp", 1700000000L);
+    r1.set("_metadata_lsn", "0000002d:00000c28:0005");
+
+    assertThrows(
+        IllegalArgumentException.class, () -> DatastreamRow.of(r1).getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetChangeSequenceNumberBackfill() {
+    TableRow r1 = new TableRow();
+    r1.set("_metadata_source_type", "mysql");
+    r1.set("_metadata_timestamp", 1700000000L);
+    r1.set("_metadata_log_file", null);
+    DatastreamRow row = DatastreamRow.of(r1);
+
+    assertEquals("6553F100/0/0", row.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetChangeSequenceNumberOrdersLikeSortFields() {
+    TableRow earlier = new TableRow();
+    earlier.set("_metadata_source_type", "mysql");
+    earlier.set("_metadata_timestamp", 1700000000L);
+    earlier.set("_metadata_log_file", "mysql-bin.000009");
+    earlier.set("_metadata_log_position", 99999);
+    TableRow later = earlier.clone();
+    later.set("_metadata_log_file", "mysql-bin.000010");
+    later.set("_metadata_log_position", 4);
+
+    assertTrue(
+        compareSequenceNumbers(
+                DatastreamRow.of(earlier).getChangeSequenceNumber(),
+                DatastreamRow.of(later).getChangeSequenceNumber())
+            < 0);
+  }
+
+  @Test
+  public void testIsDeleted() {
+    TableRow r1 = new TableRow();
+    r1.set("_metadata_deleted", true);
+    TableRow r2 = new TableRow();
+    r2.set("_metadata_deleted", "false");
+
+    assertTrue(DatastreamRow.of(r1).isDeleted());
+    assertFalse(DatastreamRow.of(r2).isDeleted());
+    assertFalse(DatastreamRow.of(new TableRow()).isDeleted());
+  }
+
+  private static int compareSequenceNumbers(String left, String right) {
+    String[] leftSections = left.split("/");
+    String[] rightSections = right.split("/");
+    for (int i = 0; i < Math.min(leftSections.length, rightSections.length); i++) {
+      int result =
+          Long.compareUnsigned(
+              Long.parseUnsignedLong(leftSections[i], 16),
+              Long.parseUnsignedLong(rightSections[i], 16));
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(leftSections.length, rightSections.length);
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.values;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test cases for the {@link PreparedDml} class. */
+@RunWith(JUnit4.class)
+public final class PreparedDmlTest {
+
+  private static PreparedDml upsert(String... values) {
+    return PreparedDml.of(
+        "INSERT INTO \"s\".\"t\" (\"id\",\"name\") VALUES ",
+        "(?,?)",
+        " ON CONFLICT (\"id\") DO UPDATE SET \"name\"=EXCLUDED.\"name\"",
+        true,
+        values[0],
+        Arrays.asList(values),
+        Types.OTHER);
+  }
+
+  @Test
+  public void testGetSql_repeatsRowSqlForMultiRowStatements() {
+    PreparedDml dml = upsert("1", "'a'");
+
+    assertThat(dml.getSql(1))
+        .isEqualTo(
+            "INSERT INTO \"s\".\"t\" (\"id\",\"name\") VALUES (?,?)"
+                + " ON CONFLICT (\"id\") DO UPDATE SET \"name\"=EXCLUDED.\"name\"");
+    assertThat(dml.getSql(3))
+        .isEqualTo(
+            "INSERT INTO \"s\".\"t\" (\"id\",\"name\") VALUES (?,?),(?,?),(?,?)"
+                + " ON CONFLICT (\"id\") DO UPDATE SET \"name\"=EXCLUDED.\"name\"");
+    assertThat(dml.getStatementShape()).isEqualTo(dml.getSql(1));
+  }
+
+  @Test
+  public void testGetSql_rejectsMultipleRowsForSingleRowShape() {
+    PreparedDml delete =
+        PreparedDml.of(
+            "DELETE FROM `d`.`t` WHERE ",
+            "`id`=?",
+            "",
+            false,
+            "1",
+            Arrays.asList("1"),
+            Types.VARCHAR);
+
+    assertThat(delete.getSql(1)).isEqualTo("DELETE FROM `d`.`t` WHERE `id`=?");
+    assertThrows(IllegalArgumentException.class, () -> delete.getSql(2));
+  }
+
+  @Test
+  public void testSetParameters_convertsSqlLiterals() throws Exception {
+    PreparedStatement statement = mock(PreparedStatement.class);
+    PreparedDml dml = upsert("12", "'it''s'", "NULL", "true", "-1.5e3");
+
+    int nextIndex = dml.setParameters(statement, 3);
+
+    assertThat(nextIndex).isEqualTo(8);
+    verify(statement).setObject(3, "12", Types.OTHER);
+    verify(statement).setObject(4, "it's", Types.OTHER);
+    verify(statement).setNull(5, Types.NULL);
+    verify(statement).setBoolean(6, true);
+    verify(statement).setObject(7, "-1.5e3", Types.OTHER);
+  }
+}
@@ -18,6 +18,7 @@ package com.google.cloud.teleport.v2.templates;
 import static com.google.cloud.teleport.v2.transforms.StatefulRowCleaner.RowCleanerDeadLetterQueueSanitizer;
 
 import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.bigquery.StandardSQLTypeName;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
@@ -33,6 +34,7 @@ import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.datastream.mappers.DataStreamMapper;
 import com.google.cloud.teleport.v2.datastream.mappers.MergeInfoMapper;
 import com.google.cloud.teleport.v2.datastream.sources.DataStreamIO;
+import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
 import com.google.cloud.teleport.v2.options.BigQueryStorageApiStreamingOptions;
 import com.google.cloud.teleport.v2.templates.DataStreamToBigQuery.Options;
 import com.google.cloud.teleport.v2.transforms.DLQWriteTransform;
@@ -42,8 +44,12 @@ import com.google.cloud.teleport.v2.transforms.UDFTextTransformer.InputUDFOption
 import com.google.cloud.teleport.v2.transforms.UDFTextTransformer.InputUDFToTableRow;
 import com.google.cloud.teleport.v2.utils.BigQueryIOUtils;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineOptions;
@@ -55,6 +61,7 @@ import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.Write.CreateDisposition;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.Write.WriteDisposition;
 import org.apache.beam.sdk.io.gcp.bigquery.InsertRetryPolicy;
+import org.apache.beam.sdk.io.gcp.bigquery.RowMutationInformation;
 import org.apache.beam.sdk.io.gcp.bigquery.TableDestination;
 import org.apache.beam.sdk.io.gcp.bigquery.WriteResult;
 import org.apache.beam.sdk.options.Default;
@@ -125,6 +132,9 @@ public class DataStreamToBigQuery {
   private static final Logger LOG = LoggerFactory.getLogger(DataStreamToBigQuery.class);
   private static final String AVRO_SUFFIX = "avro";
   private static final String JSON_SUFFIX = "json";
+  private static final String CHANGE_APPLY_MODE_MERGE = "merge";
+  private static final String CHANGE_APPLY_MODE_UPSERT = "upsert";
+  private static final String STAGED_TIMESTAMP_FIELD = "_metadata_staged_timestamp";
 
   /** The tag for the main output of the json transformation. */
   public static final TupleTag<TableRow> TRANSFORM_OUT = new TupleTag<TableRow>() {};
@@ -383,6 +393,69 @@ public class DataStreamToBigQuery {
     String getDatastreamSourceType();
 
     void setDatastreamSourceType(String value);
+
+    @TemplateParameter.Enum(
+        order = 22,
+        optional = true,
+        enumOptions = {
+          @TemplateEnumOption(CHANGE_APPLY_MODE_MERGE),
+          @TemplateEnumOption(CHANGE_APPLY_MODE_UPSERT)
+        },
+        description = "How changes are applied to the replica tables.",
+        helpText =
+            "How changes are applied to the replica tables. With `merge`, changes are written to staging tables and periodically merged into the replica tables with BigQuery MERGE queries. With `upsert`, changes are written directly to the replica tables as BigQuery CDC upserts and deletes through the Storage Write API, and no staging tables or MERGE queries are used. `upsert` requires `useStorageWriteApi` and `useStorageWriteApiAtLeastOnce` to be `true`, and `datastreamSourceType` to be one of `mysql`, `postgresql` or `oracle`. Defaults to `merge`.")
+    @Default.String(CHANGE_APPLY_MODE_MERGE)
+    String getChangeApplyMode();
+
+    void setChangeApplyMode(String value);
+
+    @TemplateParameter.Long(
+        order = 23,
+        optional = true,
+        parentName = "applyMerge",
+        parentTriggerValues = {"true"},
+        description = "Staged rows that trigger a merge.",
+        helpText =
+            "When greater than `0`, each replica table is merged as soon as this many rows have been staged for it, instead of on fixed intervals. Tables without new rows are not merged, and `mergeFrequencyMinutes` becomes the longest a staged row waits to be merged. Defaults to `0`.")
+    @Default.Long(0)
+    Long getMergeRowThreshold();
+
+    void setMergeRowThreshold(Long value);
+
+    @TemplateParameter.Integer(
+        order = 24,
+        optional = true,
+        parentName = "applyMerge",
+        parentTriggerValues = {"true"},
+        description = "Lookback for incremental merges in minutes.",
+        helpText =
+            "When greater than `0` and `mergeRowThreshold` is set, staged rows record the time they were written to the staging table in `_metadata_staged_timestamp`, and merges only read rows staged at most this many minutes before the start of the last successful merge of the table. The value must cover the delay between a row being written and BigQuery committing it, and the clock skew between workers and BigQuery. Staging tables are partitioned by ingestion day, so this reduces the rows each merge processes but not the bytes it scans. Defaults to `0`, which reads the whole partition retention period.")
+    @Default.Integer(0)
+    Integer getIncrementalMergeLookbackMinutes();
+
+    void setIncrementalMergeLookbackMinutes(Integer value);
+
+    @TemplateParameter.Boolean(
+        order = 25,
+        optional = true,
+        description = "Discover files incrementally.",
+        helpText =
+            "When reading files by polling `inputFilePattern`, only list the newest per-minute directories of each table and track the files seen with a high-watermark per directory, instead of matching every directory continuously. This reduces the Cloud Storage listing cost and the pipeline state for long running streams. Has no effect when `gcsPubSubSubscription` is set. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getUseIncrementalFileDiscovery();
+
+    void setUseIncrementalFileDiscovery(Boolean value);
+
+    @TemplateParameter.Boolean(
+        order = 26,
+        optional = true,
+        description = "Convert Avro records directly to TableRows.",
+        helpText =
+            "Convert Datastream Avro records directly to BigQuery rows, instead of formatting each record as a JSON string and parsing it again. This reduces the CPU and memory used per record. Records read back from the dead letter queue are still converted from JSON. Requires `inputFileFormat` to be `avro` and no JavaScript or Python UDF. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getUseDirectTableRowConversion();
+
+    void setUseDirectTableRowConversion(Boolean value);
   }
 
   /**
@@ -404,7 +477,8 @@ public class DataStreamToBigQuery {
     run(options);
   }
 
-  private static void validateOptions(Options options) {
+  @VisibleForTesting
+  static void validateOptions(Options options) {
     String outputDataset = options.getOutputDatasetTemplate();
     String outputStagingDs = options.getOutputStagingDatasetTemplate();
 
@@ -422,6 +496,44 @@ public class DataStreamToBigQuery {
           "Input file format must be one of: avro, json or left empty - found " + inputFileFormat);
     }
 
+    if (options.getUseDirectTableRowConversion()) {
+      if (!inputFileFormat.equals(AVRO_SUFFIX)) {
+        throw new IllegalArgumentException(
+            "useDirectTableRowConversion requires the avro input file format - found "
+                + inputFileFormat);
+      }
+      // The UDFs take and return JSON strings, so records have to go through the JSON form.
+      if (!Strings.isNullOrEmpty(options.getJavascriptTextTransformGcsPath())
+          || !Strings.isNullOrEmpty(options.getPythonTextTransformGcsPath())) {
+        throw new IllegalArgumentException(
+            "useDirectTableRowConversion can not be used with a JavaScript or Python UDF.");
+      }
+    }
+
+    String changeApplyMode = options.getChangeApplyMode();
+    if (!(changeApplyMode.equals(CHANGE_APPLY_MODE_MERGE)
+        || changeApplyMode.equals(CHANGE_APPLY_MODE_UPSERT))) {
+      throw new IllegalArgumentException(
+          "Change apply mode must be one of: merge, upsert - found " + changeApplyMode);
+    }
+    if (changeApplyMode.equals(CHANGE_APPLY_MODE_UPSERT)
+        && !(options.getUseStorageWriteApi() && options.getUseStorageWriteApiAtLeastOnce())) {
+      throw new IllegalArgumentException(
+          "The upsert change apply mode requires useStorageWriteApi and"
+              + " useStorageWriteApiAtLeastOnce to be enabled.");
+    }
+    // Rows are ordered by a sequence number built from source specific positions, so the source
+    // type must be known up front rather than detected per record.
+    if (changeApplyMode.equals(CHANGE_APPLY_MODE_UPSERT)
+        && !DatastreamRow.CHANGE_SEQUENCE_SOURCE_TYPES.contains(
+            options.getDatastreamSourceType())) {
+      throw new IllegalArgumentException(
+          "The upsert change apply mode requires datastreamSourceType to be one of: "
+              + String.join(", ", DatastreamRow.CHANGE_SEQUENCE_SOURCE_TYPES)
+              + " - found "
+              + options.getDatastreamSourceType());
+    }
+
     BigQueryIOUtils.validateBQStorageApiOptionsStreaming(options);
   }
 
@@ -440,6 +552,7 @@ public class DataStreamToBigQuery {
      *   3) BigQuery Output of TableRow Data
      *     a) Map New Columns & Write to Staging Tables
      *     b) Map New Columns & Merge Staging to Target Table
+     *     or, in upsert mode, Map New Columns & Upsert into Target Table
      *   4) Write Failures to GCS Dead Letter Queue
      */
 
@@ -458,6 +571,7 @@ public class DataStreamToBigQuery {
             options.getPythonTextTransformGcsPath(),
             options.getPythonTextTransformFunctionName(),
             options.getRuntimeRetries(),
+            options.getPythonTextTransformUseWorker(),
             FAILSAFE_ELEMENT_CODER);
 
     StatefulRowCleaner statefulCleaner = StatefulRowCleaner.of();
@@ -468,17 +582,28 @@ public class DataStreamToBigQuery {
      *   b) Reconsume Dead Letter Queue data from GCS into JSON String FailsafeElements
      *     (dlqJsonRecords)
      *   c) Flatten DataStream and DLQ Streams (jsonRecords)
+     *   With useDirectTableRowConversion, DataStream data is read into TableRows instead
+     *   (datastreamTableRows), and only the DLQ data goes through the JSON Strings.
      */
-    PCollection<FailsafeElement<String, String>> datastreamJsonRecords =
-        pipeline.apply(
-            new DataStreamIO(
-                    options.getStreamName(),
-                    options.getInputFilePattern(),
-                    options.getInputFileFormat(),
-                    options.getGcsPubSubSubscription(),
-                    options.getRfcStartDateTime())
-                .withFileReadConcurrency(options.getFileReadConcurrency())
-                .withDatastreamSourceType(options.getDatastreamSourceType()));
+    DataStreamIO datastreamIO =
+        new DataStreamIO(
+                options.getStreamName(),
+                options.getInputFilePattern(),
+                options.getInputFileFormat(),
+                options.getGcsPubSubSubscription(),
+                options.getRfcStartDateTime())
+            .withFileReadConcurrency(options.getFileReadConcurrency())
+            .withDatastreamSourceType(options.getDatastreamSourceType());
+    if (options.getUseIncrementalFileDiscovery()) {
+      datastreamIO = datastreamIO.withIncrementalFileDiscovery();
+    }
+    PCollection<TableRow> datastreamTableRows = null;
+    PCollection<FailsafeElement<String, String>> datastreamJsonRecords = null;
+    if (options.getUseDirectTableRowConversion()) {
+      datastreamTableRows = pipeline.apply("DataStreamIO", datastreamIO.readTableRows());
+    } else {
+      datastreamJsonRecords = pipeline.apply(datastreamIO);
+    }
 
     // Elements sent to the Dead Letter Queue are to be reconsumed.
     // A DLQManager is to be created using PipelineOptions, and it is in charge
@@ -499,23 +624,34 @@ public class DataStreamToBigQuery {
                     }))
             .setCoder(FAILSAFE_ELEMENT_CODER);
 
-    PCollection<FailsafeElement<String, String>> jsonRecords =
-        PCollectionList.of(datastreamJsonRecords)
-            .and(dlqJsonRecords)
-            .apply("Merge Datastream & DLQ", Flatten.pCollections());
+    PCollection<FailsafeElement<String, String>> jsonRecords = dlqJsonRecords;
+    if (datastreamJsonRecords != null) {
+      jsonRecords =
+          PCollectionList.of(datastreamJsonRecords)
+              .and(dlqJsonRecords)
+              .apply("Merge Datastream & DLQ", Flatten.pCollections());
+    }
 
     /*
      * Stage 2: Write JSON Strings to TableRow PCollectionTuple
      *   a) Optionally apply a Javascript or Python UDF
      *   b) Convert JSON String FailsafeElements to TableRow's (tableRowRecords)
+     *   c) Flatten the converted rows with the DataStream TableRows, if read directly
      */
     PCollectionTuple tableRowRecords =
         jsonRecords.apply("UDF to TableRow/udf", failsafeTableRowTransformer);
 
+    PCollection<TableRow> transformedRows =
+        tableRowRecords.get(failsafeTableRowTransformer.transformOut);
+    if (datastreamTableRows != null) {
+      transformedRows =
+          PCollectionList.of(datastreamTableRows)
+              .and(transformedRows)
+              .apply("Merge Datastream & DLQ Rows", Flatten.pCollections());
+    }
+
     PCollectionTuple cleanedRows =
-        tableRowRecords
-            .get(failsafeTableRowTransformer.transformOut)
-            .apply("UDF to TableRow/Oracle Cleaner", statefulCleaner);
+        transformedRows.apply("UDF to TableRow/Oracle Cleaner", statefulCleaner);
 
     PCollection<TableRow> shuffledTableRows =
         cleanedRows
@@ -528,31 +664,96 @@ public class DataStreamToBigQuery {
      * Stage 3: BigQuery Output of TableRow Data
      *   a) Map New Columns & Write to Staging Tables (writeResult)
      *   b) Map New Columns & Merge Staging to Target Table (null)
+     *   In upsert mode, changes skip the staging tables and are applied to the target tables by
+     *   the Storage Write API, ordered by a change sequence number from the Datastream metadata.
      *
      *   failsafe: writeResult.getFailedInsertsWithErr()
      */
     // TODO(beam 2.23): InsertRetryPolicy should be CDC compliant
     Set<String> fieldsToIgnore = getFieldsToIgnore(options.getIgnoreFields());
-
-    PCollection<KV<TableId, TableRow>> mappedStagingRecords =
-        shuffledTableRows.apply(
-            "Map to Staging Tables",
-            new DataStreamMapper(
-                    options.as(GcpOptions.class),
-                    options.getOutputProjectId(),
-                    options.getOutputStagingDatasetTemplate(),
-                    options.getOutputStagingTableNameTemplate())
-                .withDataStreamRootUrl(options.getDataStreamRootUrl())
-                .withDefaultSchema(BigQueryDefaultSchemas.DATASTREAM_METADATA_SCHEMA)
-                .withDayPartitioning(true)
-                .withIgnoreFields(fieldsToIgnore));
+    boolean upsertChanges = options.getChangeApplyMode().equals(CHANGE_APPLY_MODE_UPSERT);
+    boolean incrementalMerge =
+        options.getApplyMerge()
+            && !upsertChanges
+            && options.getMergeRowThreshold() > 0
+            && options.getIncrementalMergeLookbackMinutes() > 0;
+
+    PCollection<KV<TableId, TableRow>> mappedRecords;
+    if (upsertChanges) {
+      mappedRecords =
+          shuffledTableRows.apply(
+              "Map To Replica Tables",
+              new DataStreamMapper(
+                      options.as(GcpOptions.class),
+                      options.getOutputProjectId(),
+                      options.getOutputDatasetTemplate(),
+                      options.getOutputTableNameTemplate())
+                  .withDataStreamRootUrl(options.getDataStreamRootUrl())
+                  .withPrimaryKeyConstraint(true)
+                  .withDefaultSchema(BigQueryDefaultSchemas.DATASTREAM_METADATA_SCHEMA)
+                  .withIgnoreFields(fieldsToIgnore));
+    } else {
+      PCollection<TableRow> stagingTableRows = shuffledTableRows;
+      Map<String, StandardSQLTypeName> stagingSchema =
+          BigQueryDefaultSchemas.DATASTREAM_METADATA_SCHEMA;
+      if (incrementalMerge) {
+        // Stamped here rather than at read time so that rows retried from the dead letter queue or
+        // staged from a backlog are still newer than the merge that preceded their write.
+        stagingTableRows =
+            shuffledTableRows.apply(
+                "Stamp Staged Time",
+                MapElements.via(
+                    new SimpleFunction<TableRow, TableRow>() {
+                      @Override
+                      public TableRow apply(TableRow row) {
+                        return withStagedTimestamp(row);
+                      }
+                    }));
+        stagingSchema = new HashMap<>(stagingSchema);
+        stagingSchema.put(STAGED_TIMESTAMP_FIELD, StandardSQLTypeName.TIMESTAMP);
+      }
+      mappedRecords =
+          stagingTableRows.apply(
+              "Map to Staging Tables",
+              new DataStreamMapper(
+                      options.as(GcpOptions.class),
+                      options.getOutputProjectId(),
+                      options.getOutputStagingDatasetTemplate(),
+                      options.getOutputStagingTableNameTemplate())
+                  .withDataStreamRootUrl(options.getDataStreamRootUrl())
+                  .withDefaultSchema(stagingSchema)
+                  .withDayPartitioning(true)
+                  .withIgnoreFields(fieldsToIgnore));
+    }
 
     WriteResult writeResult;
     if (options.getUseStorageWriteApi()) {
+      BigQueryIO.Write<KV<String, TableRow>> storageApiWrite =
+          BigQueryIO.<KV<String, TableRow>>write()
+              .to(
+                  (SerializableFunction<
+                          ValueInSingleWindow<KV<String, TableRow>>, TableDestination>)
+                      value -> {
+                        String tableSpec = value.getValue().getKey();
+                        return new TableDestination(tableSpec, "Table for " + tableSpec);
+                      })
+              .withFormatFunction(
+                  element -> removeTableRowFields(element.getValue(), fieldsToIgnore))
+              .withFormatRecordOnFailureFunction(element -> element.getValue())
+              .withoutValidation()
+              .ignoreInsertIds()
+              .ignoreUnknownValues()
+              .withCreateDisposition(CreateDisposition.CREATE_NEVER)
+              .withWriteDisposition(WriteDisposition.WRITE_APPEND);
+      if (upsertChanges) {
+        storageApiWrite =
+            storageApiWrite.withRowMutationInformationFn(
+                element -> getRowMutationInformation(element.getValue()));
+      }
       // SerializableCoder(com.google.cloud.bigquery.TableId) is not a deterministic key coder.
       // So we have to convert tableid to a string.
       writeResult =
-          mappedStagingRecords
+          mappedRecords
               .apply(
                   "TableId to String",
                   MapElements.via(
@@ -570,27 +771,10 @@ public class DataStreamToBigQuery {
                               input.getValue());
                         }
                       }))
-              .apply(
-                  "Write Successful Records",
-                  BigQueryIO.<KV<String, TableRow>>write()
-                      .to(
-                          (SerializableFunction<
-                                  ValueInSingleWindow<KV<String, TableRow>>, TableDestination>)
-                              value -> {
-                                String tableSpec = value.getValue().getKey();
-                                return new TableDestination(tableSpec, "Table for " + tableSpec);
-                              })
-                      .withFormatFunction(
-                          element -> removeTableRowFields(element.getValue(), fieldsToIgnore))
-                      .withFormatRecordOnFailureFunction(element -> element.getValue())
-                      .withoutValidation()
-                      .ignoreInsertIds()
-                      .ignoreUnknownValues()
-                      .withCreateDisposition(CreateDisposition.CREATE_NEVER)
-                      .withWriteDisposition(WriteDisposition.WRITE_APPEND));
+              .apply("Write Successful Records", storageApiWrite);
     } else {
       writeResult =
-          mappedStagingRecords.apply(
+          mappedRecords.apply(
               "Write Successful Records",
               BigQueryIO.<KV<TableId, TableRow>>write()
                   .to(new BigQueryDynamicConverters().bigQueryDynamicDestination())
@@ -606,7 +790,24 @@ public class DataStreamToBigQuery {
                   .withFailedInsertRetryPolicy(InsertRetryPolicy.retryTransientErrors()));
     }
 
-    if (options.getApplyMerge()) {
+    if (options.getApplyMerge() && !upsertChanges) {
+      MergeConfiguration mergeConfiguration =
+          MergeConfiguration.bigQueryConfiguration()
+              .withProjectId(bigqueryProjectId)
+              .withMergeWindowDuration(Duration.standardMinutes(options.getMergeFrequencyMinutes()))
+              .withMergeConcurrency(options.getMergeConcurrency())
+              .withPartitionRetention(options.getPartitionRetentionDays());
+      if (options.getMergeRowThreshold() > 0) {
+        mergeConfiguration =
+            mergeConfiguration.withAdaptiveScheduling(
+                options.getMergeRowThreshold(), MergeConfiguration.DEFAULT_MIN_MERGE_INTERVAL);
+        if (incrementalMerge) {
+          mergeConfiguration =
+              mergeConfiguration.withIncrementalMerge(
+                  STAGED_TIMESTAMP_FIELD,
+                  Duration.standardMinutes(options.getIncrementalMergeLookbackMinutes()));
+        }
+      }
       shuffledTableRows
           .apply(
               "Map To Replica Tables",
@@ -628,13 +829,7 @@ public class DataStreamToBigQuery {
                   options.getOutputTableNameTemplate()))
           .apply(
               "BigQuery Merge/Merge into Replica Tables",
-              BigQueryMerger.of(
-                  MergeConfiguration.bigQueryConfiguration()
-                      .withProjectId(bigqueryProjectId)
-                      .withMergeWindowDuration(
-                          Duration.standardMinutes(options.getMergeFrequencyMinutes()))
-                      .withMergeConcurrency(options.getMergeConcurrency())
-                      .withPartitionRetention(options.getPartitionRetentionDays())));
+              BigQueryMerger.of(mergeConfiguration));
     }
 
     /*
@@ -679,6 +874,13 @@ public class DataStreamToBigQuery {
     return new HashSet<>(Splitter.on(Pattern.compile("\\s*,\\s*")).splitToList(fields));
   }
 
+  /* Returns a copy of the row with the epoch seconds at which it is staged. */
+  static TableRow withStagedTimestamp(TableRow tableRow) {
+    TableRow stagedRow = tableRow.clone();
+    stagedRow.set(STAGED_TIMESTAMP_FIELD, System.currentTimeMillis() / 1000L);
+    return stagedRow;
+  }
+
   private static TableRow removeTableRowFields(TableRow tableRow, Set<String> ignoreFields) {
     LOG.debug("BigQuery Writes: {}", tableRow);
     TableRow cleanTableRow = tableRow.clone();
@@ -693,6 +895,19 @@ public class DataStreamToBigQuery {
     return cleanTableRow;
   }
 
+  /**
+   * Returns the CDC mutation for a Datastream row: deleted rows become deletes and all other
+   * changes become upserts, ordered by the row's change sequence number.
+   */
+  static RowMutationInformation getRowMutationInformation(TableRow tableRow) {
+    DatastreamRow row = DatastreamRow.of(tableRow);
+    return RowMutationInformation.of(
+        row.isDeleted()
+            ? RowMutationInformation.MutationType.DELETE
+            : RowMutationInformation.MutationType.UPSERT,
+        row.getChangeSequenceNumber());
+  }
+
   private static String getBigQueryProjectId(Options options) {
     return options.getOutputProjectId() == null
         ? options.as(GcpOptions.class).getProject()
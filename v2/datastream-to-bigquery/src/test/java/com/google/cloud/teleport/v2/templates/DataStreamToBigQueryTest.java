@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.teleport.v2.templates.DataStreamToBigQuery.Options;
+import org.apache.beam.sdk.io.gcp.bigquery.RowMutationInformation;
+import org.apache.beam.sdk.io.gcp.bigquery.RowMutationInformation.MutationType;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link DataStreamToBigQuery}. */
+@RunWith(JUnit4.class)
+public class DataStreamToBigQueryTest {
+
+  @Test
+  public void testGetRowMutationInformationMysql() {
+    TableRow row = mysqlRow(1700000000L, "mysql-bin.000123", 4567L, false);
+
+    RowMutationInformation mutation = DataStreamToBigQuery.getRowMutationInformation(row);
+
+    assertEquals(MutationType.UPSERT, mutation.getMutationType());
+    assertEquals("6553F100/7B/11D7", mutation.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetRowMutationInformationPostgres() {
+    TableRow row = new TableRow();
+    row.set("_metadata_source_type", "postgresql");
+    row.set("_metadata_timestamp", 1700000000L);
+    row.set("_metadata_lsn", "16/B374D848");
+    row.set("_metadata_deleted", true);
+
+    RowMutationInformation mutation = DataStreamToBigQuery.getRowMutationInformation(row);
+
+    assertEquals(MutationType.DELETE, mutation.getMutationType());
+    assertEquals("6553F100/16B374D848", mutation.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetRowMutationInformationOracle() {
+    TableRow row = new TableRow();
+    row.set("_metadata_source_type", "oracle");
+    row.set("_metadata_timestamp", 1700000000L);
+    row.set("_metadata_scn", 1234567L);
+    row.set("_metadata_rs_id", "0x000a4e.0000b7e2.0010");
+    row.set("_metadata_ssn", 3L);
+    row.set("_metadata_deleted", false);
+
+    RowMutationInformation mutation = DataStreamToBigQuery.getRowMutationInformation(row);
+
+    assertEquals(MutationType.UPSERT, mutation.getMutationType());
+    assertEquals("6553F100/12D687/A4E0000B7E2/10000000000003", mutation.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testGetRowMutationInformationUnsupportedSource() {
+    TableRow row = new TableRow();
+    row.set("_metadata_source_type", "sqlserver");
+    row.set("_metadata_timestamp", 1700000000L);
+
+    assertThrows(
+        IllegalArgumentException.class, () -> DataStreamToBigQuery.getRowMutationInformation(row));
+  }
+
+  @Test
+  public void testGetRowMutationInformationOrdersDeleteAndReinsert() {
+    TableRow insert = mysqlRow(1700000000L, "mysql-bin.000009", 100L, false);
+    TableRow delete = mysqlRow(1700000000L, "mysql-bin.000009", 200L, true);
+    TableRow reinsert = mysqlRow(1700000000L, "mysql-bin.000010", 4L, false);
+
+    RowMutationInformation insertMutation = DataStreamToBigQuery.getRowMutationInformation(insert);
+    RowMutationInformation deleteMutation = DataStreamToBigQuery.getRowMutationInformation(delete);
+    RowMutationInformation reinsertMutation =
+        DataStreamToBigQuery.getRowMutationInformation(reinsert);
+
+    assertEquals(MutationType.UPSERT, insertMutation.getMutationType());
+    assertEquals(MutationType.DELETE, deleteMutation.getMutationType());
+    assertEquals(MutationType.UPSERT, reinsertMutation.getMutationType());
+    assertTrue(
+        compareSequenceNumbers(
+                insertMutation.getChangeSequenceNumber(), deleteMutation.getChangeSequenceNumber())
+            < 0);
+    assertTrue(
+        compareSequenceNumbers(
+                deleteMutation.getChangeSequenceNumber(),
+                reinsertMutation.getChangeSequenceNumber())
+            < 0);
+  }
+
+  @Test
+  public void testGetRowMutationInformationDeleteKeepsSequenceOfItsPosition() {
+    TableRow upsert = mysqlRow(1700000000L, "mysql-bin.000009", 100L, false);
+    TableRow delete = mysqlRow(1700000000L, "mysql-bin.000009", 100L, true);
+
+    RowMutationInformation upsertMutation = DataStreamToBigQuery.getRowMutationInformation(upsert);
+    RowMutationInformation deleteMutation = DataStreamToBigQuery.getRowMutationInformation(delete);
+
+    assertNotEquals(upsertMutation.getMutationType(), deleteMutation.getMutationType());
+    assertEquals(
+        upsertMutation.getChangeSequenceNumber(), deleteMutation.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testValidateOptionsMergeMode() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+
+    DataStreamToBigQuery.validateOptions(options);
+  }
+
+  @Test
+  public void testValidateOptionsUpsertMode() {
+    Options options = upsertOptions();
+    options.setDatastreamSourceType("mysql");
+
+    DataStreamToBigQuery.validateOptions(options);
+  }
+
+  @Test
+  public void testValidateOptionsRejectsUnknownChangeApplyMode() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+    options.setChangeApplyMode("replace");
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> DataStreamToBigQuery.validateOptions(options));
+    assertTrue(e.getMessage().contains("merge, upsert"));
+  }
+
+  @Test
+  public void testValidateOptionsUpsertModeRequiresAtLeastOnceStorageWriteApi() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+    options.setChangeApplyMode("upsert");
+    options.setDatastreamSourceType("mysql");
+    options.setUseStorageWriteApi(true);
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> DataStreamToBigQuery.validateOptions(options));
+    assertTrue(e.getMessage().contains("useStorageWriteApiAtLeastOnce"));
+  }
+
+  @Test
+  public void testValidateOptionsUpsertModeRequiresSourceType() {
+    Options options = upsertOptions();
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> DataStreamToBigQuery.validateOptions(options));
+    assertTrue(e.getMessage().contains("datastreamSourceType"));
+  }
+
+  @Test
+  public void testValidateOptionsUpsertModeRejectsUnsupportedSourceType() {
+    Options options = upsertOptions();
+    options.setDatastreamSourceType("sqlserver");
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> DataStreamToBigQuery.validateOptions(options));
+    assertTrue(e.getMessage().contains("found sqlserver"));
+  }
+
+  @Test
+  public void testValidateOptionsDirectTableRowConversion() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+    options.setUseDirectTableRowConversion(true);
+
+    DataStreamToBigQuery.validateOptions(options);
+  }
+
+  @Test
+  public void testValidateOptionsDirectTableRowConversionRequiresAvro() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+    options.setUseDirectTableRowConversion(true);
+    options.setInputFileFormat("json");
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> DataStreamToBigQuery.validateOptions(options));
+    assertTrue(e.getMessage().contains("found json"));
+  }
+
+  @Test
+  public void testValidateOptionsDirectTableRowConversionRejectsUdf() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+    options.setUseDirectTableRowConversion(true);
+    options.setJavascriptTextTransformGcsPath("gs://bucket/udf.js");
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> DataStreamToBigQuery.validateOptions(options));
+    assertTrue(e.getMessage().contains("UDF"));
+  }
+
+  @Test
+  public void testWithStagedTimestampStampsACopy() {
+    TableRow row = mysqlRow(1700000000L, "mysql-bin.000009", 100L, false);
+    long before = System.currentTimeMillis() / 1000L;
+
+    TableRow stagedRow = DataStreamToBigQuery.withStagedTimestamp(row);
+
+    assertTrue((Long) stagedRow.get("_metadata_staged_timestamp") >= before);
+    assertEquals(row.get("_metadata_log_position"), stagedRow.get("_metadata_log_position"));
+    assertFalse(row.containsKey("_metadata_staged_timestamp"));
+  }
+
+  private static Options upsertOptions() {
+    Options options = PipelineOptionsFactory.create().as(Options.class);
+    options.setChangeApplyMode("upsert");
+    options.setUseStorageWriteApi(true);
+    options.setUseStorageWriteApiAtLeastOnce(true);
+    return options;
+  }
+
+  private static TableRow mysqlRow(
+      long timestamp, String logFile, long logPosition, boolean deleted) {
+    TableRow row = new TableRow();
+    row.set("_metadata_source_type", "mysql");
+    row.set("_metadata_timestamp", timestamp);
+    row.set("_metadata_log_file", logFile);
+    row.set("_metadata_log_position", logPosition);
+    row.set("_metadata_deleted", deleted);
+    return row;
+  }
+
+  private static int compareSequenceNumbers(String left, String right) {
+    String[] leftSections = left.split("/");
+    String[] rightSections = right.split("/");
+    for (int i = 0; i < Math.min(leftSections.length, rightSections.length); i++) {
+      int result =
+          Long.compareUnsigned(
+              Long.parseUnsignedLong(leftSections[i], 16),
+              Long.parseUnsignedLong(rightSections[i], 16));
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(leftSections.length, rightSections.length);
+  }
+}
@@ -414,6 +414,17 @@ public class DataStreamToSQL {
     String getRunMode();
 
     void setRunMode(String value);
+
+    @TemplateParameter.Boolean(
+        order = 26,
+        optional = true,
+        description = "Write with batched prepared statements.",
+        helpText =
+            "Whether to write changes through prepared statements, folding consecutive upserts into the same table into multi-row statements and isolating failed rows by bisecting the batch. Changes that need SQL expressions, such as PostgreSQL arrays or byte arrays, are still written as literal SQL. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getUsePreparedStatements();
+
+    void setUsePreparedStatements(Boolean value);
   }
 
   /**
@@ -575,6 +586,29 @@ public class DataStreamToSQL {
     }
   }
 
+  /**
+   * The {@link DmlInfoDlqJsonFormatter} class formats a DML record that {@link CdcJdbcIO} failed to
+   * write into a JSON string for the DLQ.
+   */
+  public static class DmlInfoDlqJsonFormatter
+      implements CdcJdbcIO.DlqJsonFormatter<KV<String, DmlInfo>> {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String apply(KV<String, DmlInfo> record) {
+      try {
+        ObjectNode jsonWrapper = MAPPER.createObjectNode();
+        JsonNode messageNode = MAPPER.readTree(record.getValue().getOriginalPayload());
+        jsonWrapper.set("message", messageNode);
+        jsonWrapper.put("error_message", "Failed to write DML in CdcJdbcIO");
+        jsonWrapper.put("timestamp", Instant.now().toString());
+        return MAPPER.writeValueAsString(jsonWrapper);
+      } catch (Exception e) {
+        throw new RuntimeException("Failed to format DML DLQ record", e);
+      }
+    }
+  }
+
   /**
    * The {@link ExecuteDmlFn} class executes DML statements on a SQL database.
    *
@@ -760,7 +794,8 @@ public class DataStreamToSQL {
                 .withColumnCasing(options.getColumnCasing())
                 .withOrderByIncludesIsDeleted(options.getOrderByIncludesIsDeleted())
                 .withNumThreads(options.getNumThreads())
-                .withSchemaCacheRefreshMinutes(options.getSchemaCacheRefreshMinutes()));
+                .withSchemaCacheRefreshMinutes(options.getSchemaCacheRefreshMinutes())
+                .withPreparedStatements(options.getUsePreparedStatements()));
 
     PCollection<KV<String, DmlInfo>> dmlStatements =
         dmlResults
@@ -787,32 +822,48 @@ public class DataStreamToSQL {
     /*
      * Stage 4: Write Inserts to CloudSQL
      */
-    PCollectionTuple sqlWriteResults =
-        dmlStatements.apply(
-            "Write to SQL",
-            ParDo.of(new ExecuteDmlFn(dataSourceConfiguration))
-                .withOutputTags(
-                    ExecuteDmlFn.SUCCESS_TAG, TupleTagList.of(ExecuteDmlFn.FAILURE_TAG)));
-
-    // Errors from the SQL sink are retryable
-    PCollection<FailsafeElement<KV<String, DmlInfo>, KV<String, DmlInfo>>> sqlWriteFailures =
-        sqlWriteResults
-            .get(ExecuteDmlFn.FAILURE_TAG)
-            .setCoder(
-                FailsafeElementCoder.of(
-                    KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(DmlInfo.class)),
-                    KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(DmlInfo.class))));
-
-    sqlWriteFailures
-        .apply("Format Retryable Errors", ParDo.of(new FailsafeDmlInfoDlqJsonFormatter()))
-        .setCoder(StringUtf8Coder.of())
-        .apply(
-            "Write Retryable Errors to DLQ",
-            DLQWriteTransform.WriteDLQ.newBuilder()
-                .withDlqDirectory(dlqManager.getRetryDlqDirectoryWithDateTime())
-                .withTmpDirectory(dlqManager.getRetryDlqDirectory() + "tmp/")
-                .setIncludePaneInfo(true)
-                .build());
+    PCollection<String> retryableErrors;
+    if (options.getUsePreparedStatements()) {
+      retryableErrors =
+          dmlStatements
+              .apply(
+                  "Write to SQL",
+                  CdcJdbcIO.<KV<String, DmlInfo>>write()
+                      .withDataSourceConfiguration(dataSourceConfiguration)
+                      .withStatementFormatter(record -> record.getValue().getDmlSql())
+                      .withPreparedStatementFormatter(record -> record.getValue().getPreparedDml())
+                      .withDlqJsonFormatter(new DmlInfoDlqJsonFormatter()))
+              .getFailedInserts();
+    } else {
+      PCollectionTuple sqlWriteResults =
+          dmlStatements.apply(
+              "Write to SQL",
+              ParDo.of(new ExecuteDmlFn(dataSourceConfiguration))
+                  .withOutputTags(
+                      ExecuteDmlFn.SUCCESS_TAG, TupleTagList.of(ExecuteDmlFn.FAILURE_TAG)));
+
+      // Errors from the SQL sink are retryable
+      PCollection<FailsafeElement<KV<String, DmlInfo>, KV<String, DmlInfo>>> sqlWriteFailures =
+          sqlWriteResults
+              .get(ExecuteDmlFn.FAILURE_TAG)
+              .setCoder(
+                  FailsafeElementCoder.of(
+                      KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(DmlInfo.class)),
+                      KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(DmlInfo.class))));
+
+      retryableErrors =
+          sqlWriteFailures
+              .apply("Format Retryable Errors", ParDo.of(new FailsafeDmlInfoDlqJsonFormatter()))
+              .setCoder(StringUtf8Coder.of());
+    }
+
+    retryableErrors.apply(
+        "Write Retryable Errors to DLQ",
+        DLQWriteTransform.WriteDLQ.newBuilder()
+            .withDlqDirectory(dlqManager.getRetryDlqDirectoryWithDateTime())
+            .withTmpDirectory(dlqManager.getRetryDlqDirectory() + "tmp/")
+            .setIncludePaneInfo(true)
+            .build());
 
     // Execute the pipeline and return the result.
     return pipeline.run();
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
 import com.google.cloud.teleport.v2.datastream.values.DmlInfo;
+import com.google.cloud.teleport.v2.datastream.values.PreparedDml;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableList;
@@ -28,6 +29,7 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -35,6 +37,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.values.KV;
@@ -54,6 +57,12 @@ public abstract class DatastreamToDML
   public static final TupleTag<FailsafeElement<String, String>> ERROR_TAG =
       new TupleTag<FailsafeElement<String, String>>() {};
 
+  /** Marks where the per-row placeholders go in a prepared DML template. */
+  protected static final String ROW_SQL_PLACEHOLDER = "{row_sql}";
+
+  private static final Pattern NUMERIC_LITERAL =
+      Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?");
+
   private static String rowIdColumnName = "rowid";
   private static List<String> defaultPrimaryKeys;
   private static MappedObjectCache<List<String>, Map<String, String>> tableCache;
@@ -67,6 +76,7 @@ public abstract class DatastreamToDML
   protected Map<String, String> tableMappings = new HashMap<>();
   protected Boolean orderByIncludesIsDeleted = false;
   protected Integer schemaCacheRefreshMinutes = 1440;
+  protected Boolean usePreparedStatements = false;
 
   public abstract String getDefaultQuoteCharacter();
 
@@ -76,6 +86,39 @@ public abstract class DatastreamToDML
 
   public abstract String getInsertDmlStatement();
 
+  /**
+   * Returns the parameterized delete template, with {@value #ROW_SQL_PLACEHOLDER} standing for the
+   * primary key filter, or {@code null} if the dialect does not support prepared DML.
+   */
+  public String getPreparedDeleteDmlStatement() {
+    return null;
+  }
+
+  /**
+   * Returns the parameterized upsert template, with {@value #ROW_SQL_PLACEHOLDER} standing for the
+   * row values so that several rows can share one statement, or {@code null} if the dialect does
+   * not support prepared DML.
+   */
+  public String getPreparedUpsertDmlStatement() {
+    return null;
+  }
+
+  /**
+   * Returns the parameterized insert template, with {@value #ROW_SQL_PLACEHOLDER} standing for the
+   * row values, or {@code null} if the dialect does not support prepared DML.
+   */
+  public String getPreparedInsertDmlStatement() {
+    return null;
+  }
+
+  /** Returns the SQL referring to the incoming value of a column in a multi-row upsert. */
+  public abstract String getUpsertIncomingValueSql(String quotedColumnName);
+
+  /** Returns the {@link Types} constant used to bind textual values in prepared DML. */
+  public int getPreparedTextSqlType() {
+    return Types.VARCHAR;
+  }
+
   public abstract String getTargetCatalogName(DatastreamRow row);
 
   public abstract String getTargetSchemaName(DatastreamRow row);
@@ -164,6 +207,13 @@ public abstract class DatastreamToDML
     return this;
   }
 
+  public DatastreamToDML withPreparedStatements(Boolean usePreparedStatements) {
+    if (usePreparedStatements != null) {
+      this.usePreparedStatements = usePreparedStatements;
+    }
+    return this;
+  }
+
   @ProcessElement
   public void processElement(ProcessContext context) {
     FailsafeElement<String, String> element = context.element();
@@ -308,6 +358,11 @@ public abstract class DatastreamToDML
 
     StringSubstitutor stringSubstitutor = new StringSubstitutor(sqlTemplateValues, "{", "}");
     String dmlSql = stringSubstitutor.setDisableSubstitutionInValues(true).replace(dmlSqlTemplate);
+    PreparedDml preparedDml =
+        usePreparedStatements
+            ? convertJsonToPreparedDml(
+                rowObj, catalogName, schemaName, tableName, primaryKeys, tableSchema)
+            : null;
     return DmlInfo.of(
         failsafeValue,
         dmlSql,
@@ -317,7 +372,83 @@ public abstract class DatastreamToDML
         orderByFields,
         primaryKeyValues,
         orderByValues,
-        failsafeValue);
+        failsafeValue,
+        preparedDml);
+  }
+
+  /**
+   * Builds the parameterized form of the change in {@code rowObj}. Statements share a shape per
+   * table, operation and column set, so a writer can prepare them once and fold consecutive upserts
+   * into multi-row statements.
+   *
+   * @return the prepared DML, or {@code null} if the dialect has no prepared templates or a value
+   *     needs a SQL expression (e.g. {@code decode(...)}, {@code ARRAY[...]}) instead of a
+   *     literal.
+   */
+  public PreparedDml convertJsonToPreparedDml(
+      JsonNode rowObj,
+      String catalogName,
+      String schemaName,
+      String tableName,
+      List<String> primaryKeys,
+      Map<String, String> tableSchema) {
+    boolean isDelete = rowObj.get("_metadata_deleted").asBoolean();
+    List<String> parameterValues = new ArrayList<>();
+    List<String> keyValues = new ArrayList<>();
+    String template;
+    String rowSql;
+    if (isDelete) {
+      template = getPreparedDeleteDmlStatement();
+      rowSql = getPrimaryKeyPlaceholderSql(rowObj, primaryKeys, tableSchema, parameterValues);
+      keyValues.addAll(parameterValues);
+    } else {
+      template =
+          primaryKeys.isEmpty() ? getPreparedInsertDmlStatement() : getPreparedUpsertDmlStatement();
+      rowSql =
+          "("
+              + getColumnsPlaceholderSql(
+                  rowObj, primaryKeys, tableSchema, parameterValues, keyValues)
+              + ")";
+    }
+    if (template == null
+        || parameterValues.isEmpty()
+        || !parameterValues.stream().allMatch(DatastreamToDML::isBindableLiteral)) {
+      return null;
+    }
+
+    Map<String, String> sqlTemplateValues = new HashMap<>();
+    sqlTemplateValues.put("quoted_catalog_name", quote(catalogName));
+    sqlTemplateValues.put("quoted_schema_name", quote(schemaName));
+    sqlTemplateValues.put("quoted_table_name", quote(tableName));
+    sqlTemplateValues.put("quoted_column_names", getColumnsListSql(rowObj, tableSchema));
+    sqlTemplateValues.put("primary_key_names_sql", getPrimaryKeyNamesSql(primaryKeys));
+    if (!isDelete && !primaryKeys.isEmpty()) {
+      sqlTemplateValues.put(
+          "column_incoming_kv_sql", getColumnsIncomingUpdateSql(rowObj, tableSchema));
+    }
+    StringSubstitutor stringSubstitutor =
+        new StringSubstitutor(sqlTemplateValues, "{", "}").setDisableSubstitutionInValues(true);
+    int rowSqlIndex = template.indexOf(ROW_SQL_PLACEHOLDER);
+    return PreparedDml.of(
+        stringSubstitutor.replace(template.substring(0, rowSqlIndex)),
+        rowSql,
+        stringSubstitutor.replace(template.substring(rowSqlIndex + ROW_SQL_PLACEHOLDER.length())),
+        !isDelete,
+        // Plain inserts cannot conflict, so any number of them may share a statement.
+        primaryKeys.isEmpty() && !isDelete ? "" : String.join("-", keyValues),
+        parameterValues,
+        getPreparedTextSqlType());
+  }
+
+  /** Returns whether a value produced by {@link #getValueSql} can be bound as a parameter. */
+  static boolean isBindableLiteral(String valueSql) {
+    if (valueSql.length() > 1 && valueSql.startsWith("'") && valueSql.endsWith("'")) {
+      return !valueSql.substring(1, valueSql.length() - 1).replace("''", "").contains("'");
+    }
+    return valueSql.equalsIgnoreCase("NULL")
+        || valueSql.equals("true")
+        || valueSql.equals("false")
+        || NUMERIC_LITERAL.matcher(valueSql).matches();
   }
 
   public String getDmlTemplate(JsonNode rowObj, List<String> primaryKeys) {
@@ -350,17 +481,19 @@ public abstract class DatastreamToDML
         "primary_key_kv_sql", getPrimaryKeyToValueFilterSql(rowObj, primaryKeys, tableSchema));
     sqlTemplateValues.put("quoted_column_names", getColumnsListSql(rowObj, tableSchema));
     sqlTemplateValues.put("column_value_sql", getColumnsValuesSql(rowObj, tableSchema));
-    String casedAndQuotedPkNames =
-        primaryKeys.stream()
-            .map(pk -> applyCasingLogic(pk, this.columnCasing))
-            .map(this::quote)
-            .collect(java.util.stream.Collectors.joining(","));
-    sqlTemplateValues.put("primary_key_names_sql", casedAndQuotedPkNames);
+    sqlTemplateValues.put("primary_key_names_sql", getPrimaryKeyNamesSql(primaryKeys));
     sqlTemplateValues.put("column_kv_sql", getColumnsUpdateSql(rowObj, tableSchema));
 
     return sqlTemplateValues;
   }
 
+  private String getPrimaryKeyNamesSql(List<String> primaryKeys) {
+    return primaryKeys.stream()
+        .map(pk -> applyCasingLogic(pk, this.columnCasing))
+        .map(this::quote)
+        .collect(java.util.stream.Collectors.joining(","));
+  }
+
   public String getValueSql(JsonNode rowObj, String columnName, Map<String, String> tableSchema) {
     String columnValue;
     JsonNode columnObj = rowObj.get(columnName);
@@ -505,6 +638,64 @@ public abstract class DatastreamToDML
     return pkToValueSql;
   }
 
+  private String getColumnsPlaceholderSql(
+      JsonNode rowObj,
+      List<String> primaryKeys,
+      Map<String, String> tableSchema,
+      List<String> parameterValues,
+      List<String> keyValues) {
+    List<String> placeholders = new ArrayList<>();
+    for (Iterator<String> fieldNames = rowObj.fieldNames(); fieldNames.hasNext(); ) {
+      String columnName = fieldNames.next();
+      String casedColumnName = applyCasingLogic(columnName, this.columnCasing);
+
+      if (!tableSchema.containsKey(casedColumnName)) {
+        continue;
+      }
+
+      String columnValue = getValueSql(rowObj, columnName, tableSchema);
+      placeholders.add("?");
+      parameterValues.add(columnValue);
+      if (primaryKeys.contains(casedColumnName)) {
+        keyValues.add(columnValue);
+      }
+    }
+    return String.join(",", placeholders);
+  }
+
+  private String getColumnsIncomingUpdateSql(JsonNode rowObj, Map<String, String> tableSchema) {
+    List<String> assignments = new ArrayList<>();
+    for (Iterator<String> fieldNames = rowObj.fieldNames(); fieldNames.hasNext(); ) {
+      String casedColumnName = applyCasingLogic(fieldNames.next(), this.columnCasing);
+
+      if (!tableSchema.containsKey(casedColumnName)) {
+        continue;
+      }
+
+      String quotedColumnName = quote(casedColumnName);
+      assignments.add(quotedColumnName + "=" + getUpsertIncomingValueSql(quotedColumnName));
+    }
+    return String.join(",", assignments);
+  }
+
+  private String getPrimaryKeyPlaceholderSql(
+      JsonNode rowObj,
+      List<String> primaryKeys,
+      Map<String, String> tableSchema,
+      List<String> parameterValues) {
+    DatastreamRow row = DatastreamRow.of(rowObj);
+    List<String> filters = new ArrayList<>();
+    for (String sourcePkName : row.getPrimaryKeys()) {
+      String destinationPkName = applyCasingLogic(sourcePkName, this.columnCasing);
+
+      if (primaryKeys.contains(destinationPkName)) {
+        filters.add(quote(destinationPkName) + "=?");
+        parameterValues.add(getValueSql(rowObj, sourcePkName, tableSchema));
+      }
+    }
+    return String.join(" AND ", filters);
+  }
+
   private static Connection getConnection(
       DataSource dataSource, int retriesRemaining, int maxRetries) {
     Connection connection = null;
@@ -56,6 +56,31 @@ public class DatastreamToMySQLDML extends DatastreamToDML {
         + "({quoted_column_names}) VALUES ({column_value_sql});";
   }
 
+  @Override
+  public String getPreparedDeleteDmlStatement() {
+    return "DELETE FROM {quoted_catalog_name}.{quoted_table_name} WHERE " + ROW_SQL_PLACEHOLDER;
+  }
+
+  @Override
+  public String getPreparedUpsertDmlStatement() {
+    return "INSERT INTO {quoted_catalog_name}.{quoted_table_name} "
+        + "({quoted_column_names}) VALUES "
+        + ROW_SQL_PLACEHOLDER
+        + " ON DUPLICATE KEY UPDATE {column_incoming_kv_sql}";
+  }
+
+  @Override
+  public String getPreparedInsertDmlStatement() {
+    return "INSERT INTO {quoted_catalog_name}.{quoted_table_name} "
+        + "({quoted_column_names}) VALUES "
+        + ROW_SQL_PLACEHOLDER;
+  }
+
+  @Override
+  public String getUpsertIncomingValueSql(String quotedColumnName) {
+    return "VALUES(" + quotedColumnName + ")";
+  }
+
   @Override
   public String getTargetCatalogName(DatastreamRow row) {
     String fullSourceTableName = getFullSourceTableName(row);
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.DataSourceConfiguration;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -63,6 +64,37 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
         + "({quoted_column_names}) VALUES ({column_value_sql});";
   }
 
+  @Override
+  public String getPreparedDeleteDmlStatement() {
+    return "DELETE FROM {quoted_schema_name}.{quoted_table_name} WHERE " + ROW_SQL_PLACEHOLDER;
+  }
+
+  @Override
+  public String getPreparedUpsertDmlStatement() {
+    return "INSERT INTO {quoted_schema_name}.{quoted_table_name} "
+        + "({quoted_column_names}) VALUES "
+        + ROW_SQL_PLACEHOLDER
+        + " ON CONFLICT ({primary_key_names_sql}) DO UPDATE SET {column_incoming_kv_sql}";
+  }
+
+  @Override
+  public String getPreparedInsertDmlStatement() {
+    return "INSERT INTO {quoted_schema_name}.{quoted_table_name} "
+        + "({quoted_column_names}) VALUES "
+        + ROW_SQL_PLACEHOLDER;
+  }
+
+  @Override
+  public String getUpsertIncomingValueSql(String quotedColumnName) {
+    return "EXCLUDED." + quotedColumnName;
+  }
+
+  @Override
+  public int getPreparedTextSqlType() {
+    // Bind text as untyped so Postgres infers the column type, as it does for inlined literals.
+    return Types.OTHER;
+  }
+
   @Override
   public String getTargetCatalogName(DatastreamRow row) {
     return "";
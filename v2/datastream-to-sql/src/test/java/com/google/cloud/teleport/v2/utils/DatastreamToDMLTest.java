@@ -32,12 +32,14 @@ import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.DataSourceConfiguration;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
 import com.google.cloud.teleport.v2.datastream.values.DmlInfo;
+import com.google.cloud.teleport.v2.datastream.values.PreparedDml;
 import com.google.cloud.teleport.v2.templates.DataStreamToSQL;
 import com.google.cloud.teleport.v2.templates.DataStreamToSQL.Options;
 import com.google.cloud.teleport.v2.transforms.CreateDml;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.truth.Truth;
 import java.io.IOException;
+import java.sql.Types;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -1281,4 +1283,104 @@ public class DatastreamToDMLTest {
     String actualJsonb = dml.getValueSql(rowObj, "jsonb_column", tableSchema);
     assertEquals(expectedJsonb, actualJsonb);
   }
+
+  /**
+   * Tests that {@link DatastreamToDML#convertJsonToPreparedDml} splits a Postgres upsert into a
+   * multi-row capable shape and binds the inlined literals as parameters.
+   */
+  @Test
+  public void testConvertJsonToPreparedDml_postgresUpsert() {
+    JsonNode rowObj =
+        getRowObj(
+            "{\"id\":1,\"name\":\"O'Brien\",\"_metadata_deleted\":false,"
+                + "\"_metadata_primary_keys\":[\"id\"]}");
+    Map<String, String> tableSchema = new HashMap<>();
+    tableSchema.put("id", "int4");
+    tableSchema.put("name", "text");
+
+    PreparedDml dml =
+        DatastreamToPostgresDML.of(null)
+            .convertJsonToPreparedDml(
+                rowObj, "", "public", "users", Arrays.asList("id"), tableSchema);
+
+    assertThat(dml.getSql(2))
+        .isEqualTo(
+            "INSERT INTO \"public\".\"users\" (\"id\",\"name\") VALUES (?,?),(?,?)"
+                + " ON CONFLICT (\"id\") DO UPDATE SET"
+                + " \"id\"=EXCLUDED.\"id\",\"name\"=EXCLUDED.\"name\"");
+    assertThat(dml.getParameterValues()).containsExactly("1", "'O''Brien'").inOrder();
+    assertThat(dml.getRowKey()).isEqualTo("1");
+    assertThat(dml.getTextSqlType()).isEqualTo(Types.OTHER);
+  }
+
+  /**
+   * Tests that MySQL upserts refer to the incoming row through {@code VALUES()} and deletes are
+   * single-row statements filtered on the primary key.
+   */
+  @Test
+  public void testConvertJsonToPreparedDml_mysqlUpsertAndDelete() {
+    Map<String, String> tableSchema = new HashMap<>();
+    tableSchema.put("id", "INT");
+    tableSchema.put("name", "VARCHAR");
+    DatastreamToDML mysqlDml = DatastreamToMySQLDML.of(null);
+
+    PreparedDml upsert =
+        mysqlDml.convertJsonToPreparedDml(
+            getRowObj(
+                "{\"id\":1,\"name\":\"a\",\"_metadata_deleted\":false,"
+                    + "\"_metadata_primary_keys\":[\"id\"]}"),
+            "db",
+            "",
+            "users",
+            Arrays.asList("id"),
+            tableSchema);
+    PreparedDml delete =
+        mysqlDml.convertJsonToPreparedDml(
+            getRowObj(
+                "{\"id\":1,\"name\":\"a\",\"_metadata_deleted\":true,"
+                    + "\"_metadata_primary_keys\":[\"id\"]}"),
+            "db",
+            "",
+            "users",
+            Arrays.asList("id"),
+            tableSchema);
+
+    assertThat(upsert.getStatementShape())
+        .isEqualTo(
+            "INSERT INTO `db`.`users` (`id`,`name`) VALUES (?,?)"
+                + " ON DUPLICATE KEY UPDATE `id`=VALUES(`id`),`name`=VALUES(`name`)");
+    assertThat(delete.getStatementShape()).isEqualTo("DELETE FROM `db`.`users` WHERE `id`=?");
+    assertThat(delete.isMultiRow()).isFalse();
+    assertThat(delete.getParameterValues()).containsExactly("1");
+    assertThat(delete.getTextSqlType()).isEqualTo(Types.VARCHAR);
+  }
+
+  /** Tests that changes whose values need SQL expressions are left to the literal SQL path. */
+  @Test
+  public void testConvertJsonToPreparedDml_returnsNullForSqlExpressions() {
+    JsonNode rowObj =
+        getRowObj(
+            "{\"id\":1,\"payload\":\"AAE=\",\"_metadata_deleted\":false,"
+                + "\"_metadata_primary_keys\":[\"id\"]}");
+    Map<String, String> tableSchema = new HashMap<>();
+    tableSchema.put("id", "int4");
+    tableSchema.put("payload", "bytea");
+
+    assertNull(
+        DatastreamToPostgresDML.of(null)
+            .convertJsonToPreparedDml(
+                rowObj, "", "public", "blobs", Arrays.asList("id"), tableSchema));
+  }
+
+  @Test
+  public void testIsBindableLiteral() {
+    assertThat(DatastreamToDML.isBindableLiteral("NULL")).isTrue();
+    assertThat(DatastreamToDML.isBindableLiteral("'it''s'")).isTrue();
+    assertThat(DatastreamToDML.isBindableLiteral("-12.5E3")).isTrue();
+    assertThat(DatastreamToDML.isBindableLiteral("false")).isTrue();
+    assertThat(DatastreamToDML.isBindableLiteral("'a'::ltree")).isFalse();
+    assertThat(DatastreamToDML.isBindableLiteral("'a','b'")).isFalse();
+    assertThat(DatastreamToDML.isBindableLiteral("ARRAY[1,2]")).isFalse();
+    assertThat(DatastreamToDML.isBindableLiteral("")).isFalse();
+  }
 }
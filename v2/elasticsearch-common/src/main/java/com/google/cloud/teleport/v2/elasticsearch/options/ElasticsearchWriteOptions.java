@@ -325,4 +325,20 @@ public interface ElasticsearchWriteOptions extends PipelineOptions {
   Integer getSocketTimeout();
 
   void setSocketTimeout(Integer socketTimeout);
+
+  @TemplateParameter.Integer(
+      order = 28,
+      optional = true,
+      description = "Maximum bulk requests in flight per worker thread.",
+      helpText =
+          "The maximum number of bulk requests that each worker thread keeps in flight. When"
+              + " greater than `1`, bulk requests are sent asynchronously, and the number of"
+              + " requests in flight and the batch size are reduced when Elasticsearch rejects"
+              + " requests with `429` or `es_rejected_execution_exception`. Only the rejected"
+              + " documents are retried. Writes to the same document `_id` are never in flight at"
+              + " the same time, so they are applied in order. Defaults to `1`.")
+  @Default.Integer(1)
+  Integer getMaxInFlightBulkRequests();
+
+  void setMaxInFlightBulkRequests(Integer maxInFlightBulkRequests);
 }
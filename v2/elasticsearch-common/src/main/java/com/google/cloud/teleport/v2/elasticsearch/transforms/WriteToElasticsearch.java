@@ -234,6 +234,11 @@ public abstract class WriteToElasticsearch extends PTransform<PCollection<String
           elasticsearchWriter.withBulkInsertMethod(options().getBulkInsertMethod());
     }
 
+    if (options().getMaxInFlightBulkRequests() != null) {
+      elasticsearchWriter =
+          elasticsearchWriter.withMaxInFlightBulkRequests(options().getMaxInFlightBulkRequests());
+    }
+
     if (Optional.ofNullable(options().getMaxRetryAttempts()).isPresent()) {
       elasticsearchWriter =
           elasticsearchWriter.withRetryConfiguration(
@@ -40,11 +40,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.net.ssl.SSLContext;
@@ -88,6 +96,8 @@ import org.apache.http.ssl.SSLContexts;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.joda.time.Duration;
@@ -183,6 +193,7 @@ public class ElasticsearchIO {
         .setUsePartialUpdate(false) // default is document upsert
         .setBulkInsertMethod(
             BulkInsertMethodOptions.CREATE) // default to create (error on duplicate _id)
+        .setMaxInFlightBulkRequests(1) // default is one synchronous bulk request at a time
         .build();
   }
 
@@ -197,14 +208,29 @@ public class ElasticsearchIO {
 
   static void checkForErrors(HttpEntity responseEntity, int backendVersion, boolean partialUpdate)
       throws IOException {
-    JsonNode searchResult = parseResponse(responseEntity);
+    checkForErrors(
+        parseResponse(responseEntity), backendVersion, partialUpdate, Collections.emptySet());
+  }
+
+  /**
+   * Same as {@link #checkForErrors(HttpEntity, int, boolean)}, but ignores the errors of the items
+   * at the given positions of the bulk request, such as items that are retried.
+   */
+  static void checkForErrors(
+      JsonNode searchResult, int backendVersion, boolean partialUpdate, Set<Integer> ignoredItems)
+      throws IOException {
     boolean errors = searchResult.path("errors").asBoolean();
     if (errors) {
       StringBuilder errorMessages =
           new StringBuilder("Error writing to Elasticsearch, some elements could not be inserted:");
       JsonNode items = searchResult.path("items");
+      int failedItems = 0;
       // some items present in bulk might have errors, concatenate error messages
-      for (JsonNode item : items) {
+      for (int i = 0; i < items.size(); i++) {
+        if (ignoredItems.contains(i)) {
+          continue;
+        }
+        JsonNode item = items.get(i);
 
         String errorRootName = "";
         // when use partial update, the response items includes all the update.
@@ -224,6 +250,7 @@ public class ElasticsearchIO {
         JsonNode errorRoot = item.path(errorRootName);
         JsonNode error = errorRoot.get("error");
         if (error != null) {
+          failedItems++;
           String type = error.path("type").asText();
           String reason = error.path("reason").asText();
           String docId = errorRoot.path("_id").asText();
@@ -236,8 +263,40 @@ public class ElasticsearchIO {
           }
         }
       }
-      throw new IOException(errorMessages.toString());
+      if (failedItems > 0 || ignoredItems.isEmpty()) {
+        throw new IOException(errorMessages.toString());
+      }
+    }
+  }
+
+  /**
+   * Returns true if the cluster rejected any item of a bulk request because it is overloaded,
+   * either with 429 TOO_MANY_REQUESTS or with an {@code es_rejected_execution_exception}.
+   */
+  static boolean isBulkRejected(HttpEntity responseEntity) throws IOException {
+    return !getRejectedItems(parseResponse(responseEntity)).isEmpty();
+  }
+
+  /**
+   * Returns the positions of the items of a bulk request that the cluster rejected because it is
+   * overloaded. Those items can be sent again, unlike the items that failed for other reasons.
+   */
+  static Set<Integer> getRejectedItems(JsonNode searchResult) {
+    Set<Integer> rejectedItems = new LinkedHashSet<>();
+    if (!searchResult.path("errors").asBoolean()) {
+      return rejectedItems;
+    }
+    JsonNode items = searchResult.path("items");
+    for (int i = 0; i < items.size(); i++) {
+      JsonNode status = items.get(i).findValue("status");
+      JsonNode error = items.get(i).findValue("error");
+      if ((status != null && status.asInt() == 429)
+          || (error != null
+              && "es_rejected_execution_exception".equals(error.path("type").asText()))) {
+        rejectedItems.add(i);
+      }
     }
+    return rejectedItems;
   }
 
   /** A POJO describing a connection configuration to Elasticsearch. */
@@ -1174,6 +1233,8 @@ public class ElasticsearchIO {
 
     abstract @Nullable BooleanFieldValueExtractFn getIsDeleteFn();
 
+    abstract int getMaxInFlightBulkRequests();
+
     abstract Builder builder();
 
     @AutoValue.Builder
@@ -1198,6 +1259,8 @@ public class ElasticsearchIO {
 
       abstract Builder setIsDeleteFn(BooleanFieldValueExtractFn isDeleteFn);
 
+      abstract Builder setMaxInFlightBulkRequests(int maxInFlightBulkRequests);
+
       abstract Write build();
     }
 
@@ -1350,6 +1413,35 @@ public class ElasticsearchIO {
       return builder().setIsDeleteFn(isDeleteFn).build();
     }
 
+    /**
+     * Provide the maximum number of bulk requests each {@link DoFn} instance keeps in flight.
+     * Default is 1, which sends each bulk request synchronously and waits for its response before
+     * building the next one.
+     *
+     * <p>With a value greater than 1, bulk requests are sent with {@link
+     * RestClient#performRequestAsync} so that building and sending batches is not limited by the
+     * round trip latency to the cluster. When the cluster rejects a bulk request with 429
+     * TOO_MANY_REQUESTS or {@code es_rejected_execution_exception}, the number of requests in
+     * flight and the batch size are halved, and then grown back gradually on successful requests.
+     * The rejected documents of a request are retried according to {@link
+     * #withRetryConfiguration}, without the documents that were written. All pending requests are
+     * completed before a bundle finishes.
+     *
+     * <p>A document whose id is set with {@link #withIdFn} is never written by two requests in
+     * flight at once, so the writes to the same document, including partial updates and deletes
+     * set with {@link #withIsDeleteFn}, are applied in the order they were processed.
+     *
+     * @param maxInFlightBulkRequests maximum number of concurrent bulk requests per DoFn instance
+     * @return the {@link Write} with the number of bulk requests in flight set
+     */
+    public Write withMaxInFlightBulkRequests(int maxInFlightBulkRequests) {
+      checkArgument(
+          maxInFlightBulkRequests > 0,
+          "maxInFlightBulkRequests must be > 0, but was %s",
+          maxInFlightBulkRequests);
+      return builder().setMaxInFlightBulkRequests(maxInFlightBulkRequests).build();
+    }
+
     @Override
     public PDone expand(PCollection<String> input) {
       ConnectionConfiguration connectionConfiguration = getConnectionConfiguration();
@@ -1384,8 +1476,20 @@ public class ElasticsearchIO {
       private final Write spec;
       private transient RestClient restClient;
       private ArrayList<String> batch;
+      // index and id of each document of the batch, null for documents without an id
+      private ArrayList<String> batchDocumentKeys;
       private long currentBatchSizeBytes;
 
+      // Batch limits and number of bulk requests in flight, adapted to rejections in async mode
+      private transient long maxBatchSize;
+      private transient long maxBatchSizeBytes;
+      private transient int maxInFlightBulkRequests;
+      private transient List<PendingBulkRequest> pendingBulkRequests;
+      // Runs the backoff of retried bulk requests so it does not block the bundle thread
+      private transient ExecutorService retryExecutor;
+
+      @VisibleForTesting transient Sleeper sleeper;
+
       // Encapsulates the elements which form the metadata for an Elasticsearch bulk operation
       private static class DocumentMetadata implements Serializable {
         final String index;
@@ -1401,6 +1505,39 @@ public class ElasticsearchIO {
         }
       }
 
+      // A bulk request sent with RestClient#performRequestAsync and awaiting its response
+      private static class PendingBulkRequest {
+        final String endPoint;
+        final List<String> actions;
+        final List<String> documentKeys;
+        final BackOff backoff;
+        CompletableFuture<HttpEntity> response;
+        int attempt;
+        long backoffMillis;
+
+        PendingBulkRequest(
+            String endPoint, List<String> actions, List<String> documentKeys, BackOff backoff) {
+          this.endPoint = endPoint;
+          this.actions = actions;
+          this.documentKeys = documentKeys;
+          this.backoff = backoff;
+        }
+
+        // Returns a request for the actions at the given positions, sharing the retry backoff
+        PendingBulkRequest retry(Set<Integer> positions) {
+          List<String> retryActions = new ArrayList<>();
+          List<String> retryDocumentKeys = new ArrayList<>();
+          for (int position : positions) {
+            retryActions.add(actions.get(position));
+            retryDocumentKeys.add(documentKeys.get(position));
+          }
+          PendingBulkRequest retry =
+              new PendingBulkRequest(endPoint, retryActions, retryDocumentKeys, backoff);
+          retry.attempt = attempt;
+          return retry;
+        }
+      }
+
       @VisibleForTesting
       WriteFn(Write spec) {
         this.spec = spec;
@@ -1428,11 +1565,25 @@ public class ElasticsearchIO {
         module.addSerializer(
             DocumentMetadata.class, new DocumentMetadataSerializer((backendVersion >= 7)));
         OBJECT_MAPPER.registerModule(module);
+
+        maxBatchSize = spec.getMaxBatchSize();
+        maxBatchSizeBytes = spec.getMaxBatchSizeBytes();
+        maxInFlightBulkRequests = spec.getMaxInFlightBulkRequests();
+        pendingBulkRequests = new ArrayList<>();
+        retryExecutor =
+            Executors.newCachedThreadPool(
+                runnable -> {
+                  Thread thread = new Thread(runnable, "elasticsearch-bulk-retry");
+                  thread.setDaemon(true);
+                  return thread;
+                });
+        sleeper = Sleeper.DEFAULT;
       }
 
       @StartBundle
       public void startBundle(StartBundleContext context) {
         batch = new ArrayList<>();
+        batchDocumentKeys = new ArrayList<>();
         currentBatchSizeBytes = 0;
       }
 
@@ -1475,19 +1626,16 @@ public class ElasticsearchIO {
        * performed, automatically lower-casing the value as required by Elasticsearch.
        *
        * @param parsedDocument the json from which the index, type and id may be extracted
-       * @return the document address as JSON or the default
-       * @throws IOException if the document cannot be parsed as JSON
+       * @return the document address
        */
-      private String getDocumentMetadata(JsonNode parsedDocument) throws IOException {
-        DocumentMetadata metadata =
-            new DocumentMetadata(
-                spec.getIndexFn() != null
-                    ? lowerCaseOrNull(spec.getIndexFn().apply(parsedDocument))
-                    : null,
-                spec.getTypeFn() != null ? spec.getTypeFn().apply(parsedDocument) : null,
-                spec.getIdFn() != null ? spec.getIdFn().apply(parsedDocument) : null,
-                spec.getUsePartialUpdate() ? DEFAULT_RETRY_ON_CONFLICT : null);
-        return OBJECT_MAPPER.writeValueAsString(metadata);
+      private DocumentMetadata getDocumentMetadata(JsonNode parsedDocument) {
+        return new DocumentMetadata(
+            spec.getIndexFn() != null
+                ? lowerCaseOrNull(spec.getIndexFn().apply(parsedDocument))
+                : null,
+            spec.getTypeFn() != null ? spec.getTypeFn().apply(parsedDocument) : null,
+            spec.getIdFn() != null ? spec.getIdFn().apply(parsedDocument) : null,
+            spec.getUsePartialUpdate() ? DEFAULT_RETRY_ON_CONFLICT : null);
       }
 
       private static String lowerCaseOrNull(String input) {
@@ -1498,18 +1646,23 @@ public class ElasticsearchIO {
       public void processElement(ProcessContext context) throws Exception {
         String document = context.element(); // use configuration and auto-generated document IDs
         String documentMetadata = "{}";
+        String documentKey = null;
         boolean isDelete = false;
         if (spec.getIndexFn() != null || spec.getTypeFn() != null || spec.getIdFn() != null) {
           // parse once and reused for efficiency
           JsonNode parsedDocument = OBJECT_MAPPER.readTree(document);
-          documentMetadata = getDocumentMetadata(parsedDocument);
+          DocumentMetadata metadata = getDocumentMetadata(parsedDocument);
+          documentMetadata = OBJECT_MAPPER.writeValueAsString(metadata);
+          if (metadata.id != null) {
+            documentKey = metadata.index + "/" + metadata.id;
+          }
           if (spec.getIsDeleteFn() != null) {
             isDelete = spec.getIsDeleteFn().apply(parsedDocument);
           }
         }
         long docSizeBytes = document.getBytes(StandardCharsets.UTF_8).length;
         long newBatchSizeBytes = currentBatchSizeBytes + docSizeBytes;
-        if (newBatchSizeBytes > spec.getMaxBatchSizeBytes()) {
+        if (newBatchSizeBytes > maxBatchSizeBytes) {
           flushBatch();
         }
 
@@ -1534,10 +1687,10 @@ public class ElasticsearchIO {
           }
         }
 
+        batchDocumentKeys.add(documentKey);
         currentBatchSizeBytes += docSizeBytes;
 
-        if (batch.size() >= spec.getMaxBatchSize()
-            || currentBatchSizeBytes >= spec.getMaxBatchSizeBytes()) {
+        if (batch.size() >= maxBatchSize || currentBatchSizeBytes >= maxBatchSizeBytes) {
           flushBatch();
         }
       }
@@ -1546,6 +1699,9 @@ public class ElasticsearchIO {
       public void finishBundle(FinishBundleContext context)
           throws IOException, InterruptedException {
         flushBatch();
+        while (!pendingBulkRequests.isEmpty()) {
+          completeBulkRequests();
+        }
       }
 
       private boolean isRetryableClientException(Throwable t) {
@@ -1558,15 +1714,22 @@ public class ElasticsearchIO {
             || t.getCause() instanceof ConnectException;
       }
 
+      private boolean isRetryableAsyncClientException(Throwable t) {
+        // RestClient#performRequestAsync passes the exception to the listener without wrapping it.
+        return t instanceof ConnectTimeoutException
+            || t instanceof SocketTimeoutException
+            || t instanceof ConnectionClosedException
+            || t instanceof ConnectException;
+      }
+
       private void flushBatch() throws IOException, InterruptedException {
         if (batch.isEmpty()) {
           return;
         }
-        StringBuilder bulkRequest = new StringBuilder();
-        for (String json : batch) {
-          bulkRequest.append(json);
-        }
-        batch.clear();
+        List<String> actions = batch;
+        List<String> documentKeys = batchDocumentKeys;
+        batch = new ArrayList<>();
+        batchDocumentKeys = new ArrayList<>();
         currentBatchSizeBytes = 0;
         Response response = null;
         HttpEntity responseEntity = null;
@@ -1583,8 +1746,17 @@ public class ElasticsearchIO {
         } else {
           endPoint = String.format("/%s/_bulk", spec.getConnectionConfiguration().getIndex());
         }
-        HttpEntity requestBody =
-            new NStringEntity(bulkRequest.toString(), ContentType.APPLICATION_JSON);
+        if (spec.getMaxInFlightBulkRequests() > 1) {
+          // a document is never in two requests in flight, so that its writes are applied in order
+          while (pendingBulkRequests.size() >= maxInFlightBulkRequests
+              || isAnyDocumentInFlight(documentKeys)) {
+            completeBulkRequests();
+          }
+          sendBulkRequestAsync(
+              new PendingBulkRequest(endPoint, actions, documentKeys, retryBackoff.backoff()));
+          return;
+        }
+        HttpEntity requestBody = toRequestBody(actions);
         try {
           Request request = new Request("POST", endPoint);
           request.addParameters(Collections.emptyMap());
@@ -1610,13 +1782,221 @@ public class ElasticsearchIO {
         checkForErrors(responseEntity, backendVersion, spec.getUsePartialUpdate());
       }
 
+      private static HttpEntity toRequestBody(List<String> actions) {
+        StringBuilder bulkRequest = new StringBuilder();
+        for (String json : actions) {
+          bulkRequest.append(json);
+        }
+        return new NStringEntity(bulkRequest.toString(), ContentType.APPLICATION_JSON);
+      }
+
+      /** Returns true if a pending bulk request writes any of the given documents. */
+      private boolean isAnyDocumentInFlight(List<String> documentKeys) {
+        Set<String> keys = new HashSet<>(documentKeys);
+        keys.remove(null);
+        if (keys.isEmpty()) {
+          return false;
+        }
+        for (PendingBulkRequest pending : pendingBulkRequests) {
+          for (String documentKey : pending.documentKeys) {
+            if (keys.contains(documentKey)) {
+              return true;
+            }
+          }
+        }
+        return false;
+      }
+
+      private void sendBulkRequestAsync(PendingBulkRequest pending) {
+        pending.response = new CompletableFuture<>();
+        pendingBulkRequests.add(pending);
+        performBulkRequestAsync(pending);
+      }
+
+      /**
+       * Sends a retry of a bulk request once its backoff has elapsed. The backoff runs on the retry
+       * executor so that the bundle thread keeps completing the other requests meanwhile. The retry
+       * is pending from now on, so it counts towards the requests in flight.
+       */
+      private void scheduleRetry(PendingBulkRequest retry) {
+        CompletableFuture<HttpEntity> response = new CompletableFuture<>();
+        retry.response = response;
+        pendingBulkRequests.add(retry);
+        retryExecutor.execute(
+            () -> {
+              try {
+                sleeper.sleep(retry.backoffMillis);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.completeExceptionally(e);
+                return;
+              }
+              performBulkRequestAsync(retry);
+            });
+      }
+
+      private void performBulkRequestAsync(PendingBulkRequest pending) {
+        CompletableFuture<HttpEntity> response = pending.response;
+        Request request = new Request("POST", pending.endPoint);
+        request.addParameters(Collections.emptyMap());
+        request.setEntity(toRequestBody(pending.actions));
+        restClient.performRequestAsync(
+            request,
+            new ResponseListener() {
+              @Override
+              public void onSuccess(Response result) {
+                try {
+                  response.complete(new BufferedHttpEntity(result.getEntity()));
+                } catch (IOException e) {
+                  response.completeExceptionally(e);
+                }
+              }
+
+              @Override
+              public void onFailure(Exception exception) {
+                response.completeExceptionally(exception);
+              }
+            });
+      }
+
+      /**
+       * Waits for at least one pending bulk request to complete, then checks the responses of all
+       * completed requests. Responses are only handled on the bundle thread, so the batch limits
+       * are never adapted concurrently.
+       */
+      private void completeBulkRequests() throws IOException, InterruptedException {
+        try {
+          CompletableFuture.anyOf(
+                  pendingBulkRequests.stream()
+                      .map(pending -> pending.response)
+                      .toArray(CompletableFuture[]::new))
+              .get();
+        } catch (ExecutionException e) {
+          // handled with the response of the failed request below
+        }
+        List<PendingBulkRequest> retries = new ArrayList<>();
+        Iterator<PendingBulkRequest> iterator = pendingBulkRequests.iterator();
+        while (iterator.hasNext()) {
+          PendingBulkRequest pending = iterator.next();
+          if (pending.response.isDone()) {
+            iterator.remove();
+            PendingBulkRequest retry = handleBulkResponse(pending);
+            if (retry != null) {
+              retries.add(retry);
+            }
+          }
+        }
+        // a retried request takes the place of the request it retries
+        for (PendingBulkRequest retry : retries) {
+          scheduleRetry(retry);
+        }
+      }
+
+      /**
+       * Checks the response of a completed bulk request. Only the items that the cluster rejected
+       * because it is overloaded are retried, since the items that were written would fail with a
+       * version conflict if they were created again. Items that failed for other reasons fail the
+       * bundle.
+       *
+       * @return the request retrying the rejected items after its backoff, or null if the request
+       *     succeeded
+       */
+      private @Nullable PendingBulkRequest handleBulkResponse(PendingBulkRequest pending)
+          throws IOException {
+        PendingBulkRequest retry;
+        try {
+          HttpEntity responseEntity = pending.response.join();
+          JsonNode searchResult = parseResponse(responseEntity);
+          Set<Integer> rejectedItems = getRejectedItems(searchResult);
+          if (rejectedItems.isEmpty()
+              && (spec.getRetryConfiguration() == null
+                  || !spec.getRetryConfiguration().getRetryPredicate().test(responseEntity))) {
+            checkForErrors(
+                searchResult, backendVersion, spec.getUsePartialUpdate(), Collections.emptySet());
+            growBulkLimits();
+            return null;
+          }
+          reduceBulkLimits();
+          if (spec.getRetryConfiguration() == null) {
+            checkForErrors(
+                searchResult, backendVersion, spec.getUsePartialUpdate(), Collections.emptySet());
+          }
+          checkForErrors(searchResult, backendVersion, spec.getUsePartialUpdate(), rejectedItems);
+          // the retry predicate may match a response without rejected items, retry it all then
+          retry = rejectedItems.isEmpty() ? pending : pending.retry(rejectedItems);
+          LOG.warn("ES Cluster is responding with HTP 429 - TOO_MANY_REQUESTS.");
+        } catch (CompletionException e) {
+          Throwable cause = e.getCause();
+          boolean rejected =
+              cause instanceof ResponseException
+                  && ((ResponseException) cause).getResponse().getStatusLine().getStatusCode()
+                      == 429;
+          if (spec.getRetryConfiguration() == null
+              || !(rejected || isRetryableAsyncClientException(cause))) {
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+          }
+          if (rejected) {
+            reduceBulkLimits();
+            LOG.warn("ES Cluster is responding with HTP 429 - TOO_MANY_REQUESTS.");
+          } else {
+            LOG.error("Caught ES timeout, retrying", cause);
+          }
+          retry = pending;
+        }
+
+        retry.backoffMillis = pending.backoff.nextBackOffMillis();
+        if (retry.backoffMillis == BackOff.STOP) {
+          throw new IOException(String.format(RETRY_FAILED_LOG, pending.attempt));
+        }
+        LOG.warn(String.format(RETRY_ATTEMPT_LOG, ++retry.attempt));
+        return retry;
+      }
+
+      /** Halves the batch limits and the requests in flight after the cluster rejected a bulk. */
+      private void reduceBulkLimits() {
+        maxInFlightBulkRequests = Math.max(1, maxInFlightBulkRequests / 2);
+        maxBatchSize = Math.max(1, maxBatchSize / 2);
+        maxBatchSizeBytes = Math.max(1, maxBatchSizeBytes / 2);
+        LOG.warn(
+            "Bulk request rejected, reducing to {} requests in flight and batches of {} documents",
+            maxInFlightBulkRequests,
+            maxBatchSize);
+      }
+
+      /** Grows the batch limits back towards the configured limits after a successful bulk. */
+      private void growBulkLimits() {
+        maxInFlightBulkRequests =
+            Math.min(spec.getMaxInFlightBulkRequests(), maxInFlightBulkRequests + 1);
+        maxBatchSize =
+            Math.min(
+                spec.getMaxBatchSize(), maxBatchSize + Math.max(1, spec.getMaxBatchSize() / 10));
+        maxBatchSizeBytes =
+            Math.min(
+                spec.getMaxBatchSizeBytes(),
+                maxBatchSizeBytes + Math.max(1, spec.getMaxBatchSizeBytes() / 10));
+      }
+
+      @VisibleForTesting
+      long getMaxBatchSize() {
+        return maxBatchSize;
+      }
+
+      @VisibleForTesting
+      int getMaxInFlightBulkRequests() {
+        return maxInFlightBulkRequests;
+      }
+
+      @VisibleForTesting
+      int getPendingBulkRequestCount() {
+        return pendingBulkRequests.size();
+      }
+
       /** retry request based on retry configuration policy. */
       private HttpEntity handleRetry(
           String method, String endpoint, Map<String, String> params, HttpEntity requestBody)
           throws IOException, InterruptedException {
         Response response;
         HttpEntity responseEntity = null;
-        Sleeper sleeper = Sleeper.DEFAULT;
         BackOff backoff = retryBackoff.backoff();
         int attempt = 0;
         // while retry policy exists
@@ -1647,6 +2027,9 @@ public class ElasticsearchIO {
 
       @Teardown
       public void closeClient() throws IOException {
+        if (retryExecutor != null) {
+          retryExecutor.shutdownNow();
+        }
         if (restClient != null) {
           restClient.close();
         }
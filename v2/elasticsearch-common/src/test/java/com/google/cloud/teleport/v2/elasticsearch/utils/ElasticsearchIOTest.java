@@ -0,0 +1,420 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.elasticsearch.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.teleport.v2.elasticsearch.utils.ElasticsearchIO.ConnectionConfiguration;
+import com.google.cloud.teleport.v2.elasticsearch.utils.ElasticsearchIO.RetryConfiguration;
+import com.google.cloud.teleport.v2.elasticsearch.utils.ElasticsearchIO.Write;
+import com.google.cloud.teleport.v2.elasticsearch.utils.ElasticsearchIO.Write.WriteFn;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.entity.NStringEntity;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+import org.elasticsearch.client.RestClient;
+import org.joda.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/** Tests for {@link ElasticsearchIO}. */
+public class ElasticsearchIOTest {
+
+  private static final String BULK_SUCCEEDED =
+      "{\"errors\": false, \"items\": [{\"index\": {\"_id\": \"1\", \"status\": 201}}]}";
+  private static final String BULK_REJECTED =
+      "{\"errors\": true, \"items\": [{\"index\": {\"_id\": \"1\", \"status\": 429}}]}";
+
+  /** Rule for exception testing. */
+  @Rule public ExpectedException expectedException = ExpectedException.none();
+
+  private RestClient restClient;
+  private ConnectionConfiguration connectionConfiguration;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws IOException {
+    restClient = mock(RestClient.class);
+    Response versionResponse = mock(Response.class);
+    when(versionResponse.getEntity()).thenReturn(entity("{\"version\": {\"number\": \"8.11.0\"}}"));
+    when(restClient.performRequest(any(Request.class))).thenReturn(versionResponse);
+
+    connectionConfiguration = mock(ConnectionConfiguration.class);
+    when(connectionConfiguration.createClient()).thenReturn(restClient);
+    when(connectionConfiguration.getIndex()).thenReturn("index");
+
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testBulkWithoutErrorsIsNotRejected() throws IOException {
+    String response =
+        "{\"errors\": false, \"items\": [{\"create\": {\"_id\": \"1\", \"status\": 201}}]}";
+
+    assertFalse(ElasticsearchIO.isBulkRejected(entity(response)));
+  }
+
+  @Test
+  public void testBulkWithTooManyRequestsIsRejected() throws IOException {
+    String response =
+        "{\"errors\": true, \"items\": ["
+            + "{\"create\": {\"_id\": \"1\", \"status\": 201}},"
+            + "{\"create\": {\"_id\": \"2\", \"status\": 429}}]}";
+
+    assertTrue(ElasticsearchIO.isBulkRejected(entity(response)));
+  }
+
+  @Test
+  public void testBulkWithRejectedExecutionIsRejected() throws IOException {
+    String response =
+        "{\"errors\": true, \"items\": [{\"index\": {\"_id\": \"1\", \"status\": 503, "
+            + "\"error\": {\"type\": \"es_rejected_execution_exception\", \"reason\": \"full\"}}}]}";
+
+    assertTrue(ElasticsearchIO.isBulkRejected(entity(response)));
+  }
+
+  @Test
+  public void testBulkWithOtherErrorsIsNotRejected() throws IOException {
+    String response =
+        "{\"errors\": true, \"items\": [{\"create\": {\"_id\": \"1\", \"status\": 409, "
+            + "\"error\": {\"type\": \"version_conflict_engine_exception\"}}}]}";
+
+    assertFalse(ElasticsearchIO.isBulkRejected(entity(response)));
+  }
+
+  @Test
+  public void testWithMaxInFlightBulkRequests() {
+    assertEquals(1, ElasticsearchIO.write().getMaxInFlightBulkRequests());
+    assertEquals(
+        8, ElasticsearchIO.write().withMaxInFlightBulkRequests(8).getMaxInFlightBulkRequests());
+  }
+
+  @Test
+  public void testWithMaxInFlightBulkRequestsMustBePositive() {
+    expectedException.expect(IllegalArgumentException.class);
+    ElasticsearchIO.write().withMaxInFlightBulkRequests(0);
+  }
+
+  @Test
+  public void testAsyncWriteCapsBulkRequestsInFlight() throws Exception {
+    List<ResponseListener> listeners = captureBulkRequests();
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withMaxBatchSize(1)
+                .withMaxInFlightBulkRequests(2));
+
+    processDocuments(writeFn, 2);
+    assertEquals(2, listeners.size());
+    assertEquals(2, writeFn.getPendingBulkRequestCount());
+
+    // the third bulk request has to wait for one of the two in flight to complete
+    Future<?> third =
+        executor.submit(
+            () -> {
+              processDocuments(writeFn, 1);
+              return null;
+            });
+    assertThrows(TimeoutException.class, () -> third.get(500, TimeUnit.MILLISECONDS));
+    assertEquals(2, listeners.size());
+
+    respond(listeners.get(0), BULK_SUCCEEDED);
+    third.get(10, TimeUnit.SECONDS);
+    assertEquals(3, listeners.size());
+    assertEquals(2, writeFn.getPendingBulkRequestCount());
+  }
+
+  @Test
+  public void testAsyncWriteFinishBundleWaitsForBulkRequestsInFlight() throws Exception {
+    List<ResponseListener> listeners = captureBulkRequests();
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withMaxBatchSize(1)
+                .withMaxInFlightBulkRequests(3));
+
+    processDocuments(writeFn, 2);
+    Future<?> finishBundle =
+        executor.submit(
+            () -> {
+              writeFn.finishBundle(null);
+              return null;
+            });
+    assertThrows(TimeoutException.class, () -> finishBundle.get(500, TimeUnit.MILLISECONDS));
+
+    respond(listeners.get(0), BULK_SUCCEEDED);
+    assertThrows(TimeoutException.class, () -> finishBundle.get(500, TimeUnit.MILLISECONDS));
+
+    respond(listeners.get(1), BULK_SUCCEEDED);
+    finishBundle.get(10, TimeUnit.SECONDS);
+    assertEquals(2, listeners.size());
+    assertEquals(0, writeFn.getPendingBulkRequestCount());
+  }
+
+  @Test
+  public void testAsyncWriteShrinksBatchesOnRejectionAndGrowsBack() throws Exception {
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withMaxBatchSize(10)
+                .withMaxInFlightBulkRequests(4)
+                .withRetryConfiguration(RetryConfiguration.create(3, Duration.standardMinutes(1))));
+    writeFn.sleeper = millis -> {};
+    Deque<String> responses = new ArrayDeque<>(Arrays.asList(BULK_REJECTED));
+    List<Long> maxBatchSizesAtSend = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              maxBatchSizesAtSend.add(writeFn.getMaxBatchSize());
+              respond(
+                  invocation.getArgument(1),
+                  responses.isEmpty() ? BULK_SUCCEEDED : responses.remove());
+              return null;
+            })
+        .when(restClient)
+        .performRequestAsync(any(Request.class), any(ResponseListener.class));
+
+    // the rejected bulk is retried with halved limits and its success grows them again
+    processDocuments(writeFn, 10);
+    writeFn.finishBundle(null);
+    assertEquals(Arrays.asList(10L, 5L), maxBatchSizesAtSend);
+    assertEquals(6, writeFn.getMaxBatchSize());
+    assertEquals(3, writeFn.getMaxInFlightBulkRequests());
+
+    // each successful bulk grows the limits until they are back to the configured ones
+    for (int i = 0; i < 5; i++) {
+      writeFn.startBundle(null);
+      processDocuments(writeFn, 1);
+      writeFn.finishBundle(null);
+    }
+    assertEquals(10, writeFn.getMaxBatchSize());
+    assertEquals(4, writeFn.getMaxInFlightBulkRequests());
+  }
+
+  @Test
+  public void testAsyncWriteRetriesOnlyRejectedItems() throws Exception {
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withMaxBatchSize(3)
+                .withMaxInFlightBulkRequests(2)
+                .withRetryConfiguration(RetryConfiguration.create(3, Duration.standardMinutes(1))));
+    writeFn.sleeper = millis -> {};
+    Deque<String> responses =
+        new ArrayDeque<>(
+            Arrays.asList(
+                "{\"errors\": true, \"items\": ["
+                    + "{\"index\": {\"_id\": \"0\", \"status\": 201}},"
+                    + "{\"index\": {\"_id\": \"1\", \"status\": 429, \"error\":"
+                    + " {\"type\": \"es_rejected_execution_exception\"}}},"
+                    + "{\"index\": {\"_id\": \"2\", \"status\": 201}}]}"));
+    List<String> requestBodies = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              Request request = invocation.getArgument(0);
+              requestBodies.add(EntityUtils.toString(request.getEntity()));
+              respond(
+                  invocation.getArgument(1),
+                  responses.isEmpty() ? BULK_SUCCEEDED : responses.remove());
+              return null;
+            })
+        .when(restClient)
+        .performRequestAsync(any(Request.class), any(ResponseListener.class));
+
+    processDocuments(writeFn, 3);
+    writeFn.finishBundle(null);
+
+    // the documents that were written are not sent again
+    assertEquals(2, requestBodies.size());
+    assertTrue(requestBodies.get(0).contains("{\"id\": 0}"));
+    assertTrue(requestBodies.get(0).contains("{\"id\": 2}"));
+    assertFalse(requestBodies.get(1).contains("{\"id\": 0}"));
+    assertTrue(requestBodies.get(1).contains("{\"id\": 1}"));
+    assertFalse(requestBodies.get(1).contains("{\"id\": 2}"));
+  }
+
+  @Test
+  public void testAsyncWriteFailsOnItemsThatAreNotRejected() throws Exception {
+    List<ResponseListener> listeners = captureBulkRequests();
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withMaxBatchSize(2)
+                .withMaxInFlightBulkRequests(2)
+                .withRetryConfiguration(RetryConfiguration.create(3, Duration.standardMinutes(1))));
+    writeFn.sleeper = millis -> {};
+
+    processDocuments(writeFn, 2);
+    respond(
+        listeners.get(0),
+        "{\"errors\": true, \"items\": ["
+            + "{\"index\": {\"_id\": \"0\", \"status\": 429}},"
+            + "{\"index\": {\"_id\": \"1\", \"status\": 400, \"error\":"
+            + " {\"type\": \"mapper_parsing_exception\", \"reason\": \"failed to parse\"}}}]}");
+
+    IOException e = assertThrows(IOException.class, () -> writeFn.finishBundle(null));
+    assertTrue(e.getMessage().contains("mapper_parsing_exception"));
+    assertEquals(1, listeners.size());
+  }
+
+  @Test
+  public void testAsyncWriteKeepsWritesToTheSameDocumentInOrder() throws Exception {
+    List<ResponseListener> listeners = captureBulkRequests();
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withIdFn(document -> document.path("id").asText())
+                .withMaxBatchSize(1)
+                .withMaxInFlightBulkRequests(3));
+
+    processDocuments(writeFn, 1);
+    assertEquals(1, listeners.size());
+
+    // a second write to the same document waits for the first one, although there is capacity
+    Future<?> second =
+        executor.submit(
+            () -> {
+              processDocuments(writeFn, 1);
+              return null;
+            });
+    assertThrows(TimeoutException.class, () -> second.get(500, TimeUnit.MILLISECONDS));
+    assertEquals(1, listeners.size());
+
+    respond(listeners.get(0), BULK_SUCCEEDED);
+    second.get(10, TimeUnit.SECONDS);
+    assertEquals(2, listeners.size());
+  }
+
+  @Test
+  public void testAsyncWriteBacksOffWithoutBlockingOtherRequests() throws Exception {
+    List<ResponseListener> listeners = captureBulkRequests();
+    WriteFn writeFn =
+        startWriteFn(
+            ElasticsearchIO.write()
+                .withConnectionConfiguration(connectionConfiguration)
+                .withMaxBatchSize(1)
+                .withMaxInFlightBulkRequests(2)
+                .withRetryConfiguration(RetryConfiguration.create(3, Duration.standardMinutes(1))));
+    CountDownLatch backoff = new CountDownLatch(1);
+    writeFn.sleeper = millis -> backoff.await();
+
+    processDocuments(writeFn, 2);
+    respond(listeners.get(0), BULK_REJECTED);
+    Future<?> third =
+        executor.submit(
+            () -> {
+              processDocuments(writeFn, 1);
+              return null;
+            });
+    assertThrows(TimeoutException.class, () -> third.get(500, TimeUnit.MILLISECONDS));
+
+    // the second request completes during the backoff of the first and makes room for the third
+    respond(listeners.get(1), BULK_SUCCEEDED);
+    third.get(10, TimeUnit.SECONDS);
+    assertEquals(3, listeners.size());
+    assertEquals(2, writeFn.getPendingBulkRequestCount());
+
+    backoff.countDown();
+    respond(listeners.get(2), BULK_SUCCEEDED);
+    awaitBulkRequests(listeners, 4);
+    respond(listeners.get(3), BULK_SUCCEEDED);
+    writeFn.finishBundle(null);
+    assertEquals(0, writeFn.getPendingBulkRequestCount());
+  }
+
+  private WriteFn startWriteFn(Write spec) throws IOException {
+    WriteFn writeFn = new WriteFn(spec);
+    writeFn.setup();
+    writeFn.startBundle(null);
+    return writeFn;
+  }
+
+  private List<ResponseListener> captureBulkRequests() {
+    List<ResponseListener> listeners = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              listeners.add(invocation.getArgument(1));
+              return null;
+            })
+        .when(restClient)
+        .performRequestAsync(any(Request.class), any(ResponseListener.class));
+    return listeners;
+  }
+
+  private static void awaitBulkRequests(List<ResponseListener> listeners, int count)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (listeners.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, listeners.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void processDocuments(WriteFn writeFn, int count) throws Exception {
+    for (int i = 0; i < count; i++) {
+      DoFn<String, Void>.ProcessContext context = mock(DoFn.ProcessContext.class);
+      when(context.element()).thenReturn("{\"id\": " + i + "}");
+      writeFn.processElement(context);
+    }
+  }
+
+  private static void respond(ResponseListener listener, String json) {
+    Response response = mock(Response.class);
+    when(response.getEntity()).thenReturn(entity(json));
+    listener.onSuccess(response);
+  }
+
+  private static NStringEntity entity(String json) {
+    return new NStringEntity(json, ContentType.APPLICATION_JSON);
+  }
+}
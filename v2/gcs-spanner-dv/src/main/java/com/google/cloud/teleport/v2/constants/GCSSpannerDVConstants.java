@@ -28,5 +28,8 @@ public class GCSSpannerDVConstants {
   public static final TupleTag<ComparisonRecord> MISSING_IN_SOURCE_TAG =
       new TupleTag<ComparisonRecord>() {};
 
+  public static final TupleTag<String> SOURCE_RANGE_DIGEST_TAG = new TupleTag<String>() {};
+  public static final TupleTag<String> SPANNER_RANGE_DIGEST_TAG = new TupleTag<String>() {};
+
   public static final String TABLE_NAME_COLUMN = "__tableName__";
 }
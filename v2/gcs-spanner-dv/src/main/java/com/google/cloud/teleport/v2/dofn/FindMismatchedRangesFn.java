@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.dofn;
+
+import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SOURCE_RANGE_DIGEST_TAG;
+import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SPANNER_RANGE_DIGEST_TAG;
+
+import java.util.Objects;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.join.CoGbkResult;
+import org.apache.beam.sdk.values.KV;
+
+/**
+ * A {@link DoFn} that compares the source and Spanner digests of a primary key range and outputs
+ * the ranges whose digests differ, including ranges that only exist on one side.
+ */
+public class FindMismatchedRangesFn extends DoFn<KV<String, CoGbkResult>, KV<String, Boolean>> {
+
+  private final Counter matchedRanges =
+      Metrics.counter(FindMismatchedRangesFn.class, "matched_ranges");
+  private final Counter mismatchedRanges =
+      Metrics.counter(FindMismatchedRangesFn.class, "mismatched_ranges");
+
+  @ProcessElement
+  public void processElement(ProcessContext c) {
+    CoGbkResult result = c.element().getValue();
+    String sourceDigest = result.getOnly(SOURCE_RANGE_DIGEST_TAG, null);
+    String spannerDigest = result.getOnly(SPANNER_RANGE_DIGEST_TAG, null);
+
+    if (sourceDigest != null && Objects.equals(sourceDigest, spannerDigest)) {
+      matchedRanges.inc();
+    } else {
+      mismatchedRanges.inc();
+      c.output(KV.of(c.element().getKey(), true));
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.dofn;
+
+import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.MATCHED_TAG;
+
+import com.google.cloud.teleport.v2.dto.ComparisonRecord;
+import java.util.Map;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+
+/**
+ * A {@link DoFn} that routes {@link ComparisonRecord}s based on whether their primary key range
+ * matched at the digest level.
+ *
+ * <p>Records in mismatched ranges are keyed by their hash and emitted on the main output for the
+ * row-level comparison. Records in matched ranges skip the row-level shuffle entirely: source
+ * records are emitted directly as matched, and Spanner records are dropped since a matched range
+ * contributes its source records only, as in the row-level comparison. The encoded size of every
+ * record that skips the shuffle is added to the {@code row_comparison_shuffle_bytes_avoided}
+ * counter.
+ */
+public class SplitByRangeDigestFn
+    extends DoFn<KV<String, ComparisonRecord>, KV<String, ComparisonRecord>> {
+
+  private final Counter shuffleBytesAvoided =
+      Metrics.counter(SplitByRangeDigestFn.class, "row_comparison_shuffle_bytes_avoided");
+  private final Counter recordsSkipped =
+      Metrics.counter(SplitByRangeDigestFn.class, "row_comparison_records_avoided");
+
+  private final PCollectionView<Map<String, Boolean>> mismatchedRangesView;
+  private final Coder<ComparisonRecord> recordCoder;
+  private final boolean isSource;
+
+  public SplitByRangeDigestFn(
+      PCollectionView<Map<String, Boolean>> mismatchedRangesView,
+      Coder<ComparisonRecord> recordCoder,
+      boolean isSource) {
+    this.mismatchedRangesView = mismatchedRangesView;
+    this.recordCoder = recordCoder;
+    this.isSource = isSource;
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) throws CoderException {
+    Map<String, Boolean> mismatchedRanges = c.sideInput(mismatchedRangesView);
+    ComparisonRecord record = c.element().getValue();
+
+    if (mismatchedRanges.containsKey(c.element().getKey())) {
+      c.output(KV.of(record.getHash(), record));
+      return;
+    }
+    recordsSkipped.inc();
+    shuffleBytesAvoided.inc(
+        record.getHash().length() + CoderUtils.encodeToByteArray(recordCoder, record).length);
+    if (isSource) {
+      c.output(MATCHED_TAG, record);
+    }
+  }
+}
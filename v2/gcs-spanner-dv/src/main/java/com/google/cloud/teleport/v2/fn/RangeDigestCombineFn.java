@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.fn;
+
+import com.google.cloud.teleport.v2.dto.ComparisonRecord;
+import com.google.cloud.teleport.v2.dto.RangeDigestAccumulator;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.beam.sdk.transforms.Combine;
+
+/**
+ * A {@link Combine.CombineFn} that reduces the {@link ComparisonRecord}s of a primary key range to
+ * a single digest string.
+ *
+ * <p>The digest is the record count and the 128-bit sum of the record hashes. Addition is
+ * commutative and associative, so the digest does not depend on the order in which records are
+ * read or on how Beam splits the combine across workers, and can be lifted before the shuffle.
+ * Unlike XOR, a sum does not cancel out pairs of duplicate records.
+ */
+public class RangeDigestCombineFn
+    extends Combine.CombineFn<ComparisonRecord, RangeDigestAccumulator, String> {
+
+  @Override
+  public RangeDigestAccumulator createAccumulator() {
+    return new RangeDigestAccumulator();
+  }
+
+  @Override
+  public RangeDigestAccumulator addInput(
+      RangeDigestAccumulator accumulator, ComparisonRecord input) {
+    // The record hash is re-hashed into a fixed 128-bit value so that the digest does not depend
+    // on the textual format of the record hash.
+    HashCode hashCode = Hashing.murmur3_128().hashString(input.getHash(), StandardCharsets.UTF_8);
+    ByteBuffer bytes = ByteBuffer.wrap(hashCode.asBytes());
+    add(accumulator, 1, bytes.getLong(), bytes.getLong());
+    return accumulator;
+  }
+
+  @Override
+  public RangeDigestAccumulator mergeAccumulators(Iterable<RangeDigestAccumulator> accumulators) {
+    RangeDigestAccumulator merged = new RangeDigestAccumulator();
+    for (RangeDigestAccumulator acc : accumulators) {
+      add(merged, acc.count, acc.hashSumHigh, acc.hashSumLow);
+    }
+    return merged;
+  }
+
+  @Override
+  public String extractOutput(RangeDigestAccumulator accumulator) {
+    return String.format(
+        "%d:%016x%016x", accumulator.count, accumulator.hashSumHigh, accumulator.hashSumLow);
+  }
+
+  private static void add(RangeDigestAccumulator accumulator, long count, long high, long low) {
+    long newLow = accumulator.hashSumLow + low;
+    // Carry into the high word when the unsigned low word overflows.
+    long carry = Long.compareUnsigned(newLow, accumulator.hashSumLow) < 0 ? 1 : 0;
+    accumulator.hashSumLow = newLow;
+    accumulator.hashSumHigh += high + carry;
+    accumulator.count += count;
+  }
+}
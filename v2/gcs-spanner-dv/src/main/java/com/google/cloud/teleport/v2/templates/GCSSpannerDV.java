@@ -212,6 +212,22 @@ public class GCSSpannerDV {
     String getRunId();
 
     void setRunId(String value);
+
+    @TemplateParameter.Integer(
+        order = 13,
+        optional = true,
+        description = "Number of primary key ranges per table for range digest validation",
+        helpText =
+            "The number of primary key ranges each table is split into before comparing rows. "
+                + "When set, the source and Spanner records of each range are first reduced to a "
+                + "digest, and only the records of ranges whose digests differ are compared row "
+                + "by row. This reduces the shuffle for mostly matching datasets. When 0, every "
+                + "record is compared row by row. Defaults to 0.",
+        example = "1024")
+    @Default.Integer(0)
+    Integer getValidationRangeCount();
+
+    void setValidationRangeCount(Integer value);
   }
 
   public static void main(String[] args) {
@@ -258,7 +274,9 @@ public class GCSSpannerDV {
         PCollectionTuple.of(SOURCE_TAG, sourceRecords).and(SPANNER_TAG, spannerRecords);
 
     // Match records to determine equivalence
-    PCollectionTuple matchResults = inputs.apply("MatchRecords", new MatchRecordsTransform());
+    PCollectionTuple matchResults =
+        inputs.apply(
+            "MatchRecords", new MatchRecordsTransform(options.getValidationRangeCount()));
 
     // Report results of the validation
     Instant startTimestamp = Instant.now();
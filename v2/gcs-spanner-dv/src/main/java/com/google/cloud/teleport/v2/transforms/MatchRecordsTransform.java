@@ -18,43 +18,169 @@ package com.google.cloud.teleport.v2.transforms;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.MATCHED_TAG;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.MISSING_IN_SOURCE_TAG;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.MISSING_IN_SPANNER_TAG;
+import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SOURCE_RANGE_DIGEST_TAG;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SOURCE_TAG;
+import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SPANNER_RANGE_DIGEST_TAG;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SPANNER_TAG;
 
+import com.google.cloud.teleport.v2.dofn.FindMismatchedRangesFn;
 import com.google.cloud.teleport.v2.dofn.FunnelComparedRecordsFn;
+import com.google.cloud.teleport.v2.dofn.SplitByRangeDigestFn;
+import com.google.cloud.teleport.v2.dto.Column;
 import com.google.cloud.teleport.v2.dto.ComparisonRecord;
+import com.google.cloud.teleport.v2.fn.RangeDigestCombineFn;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.beam.sdk.coders.BooleanCoder;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.transforms.Combine;
+import org.apache.beam.sdk.transforms.Flatten;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.View;
 import org.apache.beam.sdk.transforms.WithKeys;
 import org.apache.beam.sdk.transforms.join.CoGbkResult;
 import org.apache.beam.sdk.transforms.join.CoGroupByKey;
 import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.apache.beam.sdk.values.TypeDescriptors;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * Matches source and Spanner {@link ComparisonRecord}s by their hash.
+ *
+ * <p>By default every record of both sides is shuffled with a {@link CoGroupByKey} on its hash.
+ * When a range count is set, the transform validates hierarchically instead:
+ *
+ * <ol>
+ *   <li>Each record is assigned to one of {@code rangeCount} primary key ranges per table, by
+ *       hashing its primary key.
+ *   <li>Both sides are combined into a digest per range with {@link RangeDigestCombineFn}. The
+ *       combine is lifted before the shuffle, so only one digest per range and worker is shuffled.
+ *   <li>The range digests are compared and only the records of ranges whose digests differ are
+ *       compared at row level. Source records of matched ranges are reported as matched directly.
+ * </ol>
+ *
+ * <p>For mostly matching datasets this reduces the row-level shuffle to the records of the few
+ * mismatched ranges. The bytes that were not shuffled are reported by the {@code
+ * row_comparison_shuffle_bytes_avoided} counter.
+ */
 public class MatchRecordsTransform
     extends PTransform<@NotNull PCollectionTuple, @NotNull PCollectionTuple> {
 
+  private static final TupleTag<KV<String, ComparisonRecord>> ROW_COMPARISON_TAG =
+      new TupleTag<KV<String, ComparisonRecord>>() {};
+
+  private final int rangeCount;
+
+  /** Creates a transform that compares every record at row level. */
+  public MatchRecordsTransform() {
+    this(0);
+  }
+
+  /**
+   * Creates a transform that compares range digests first.
+   *
+   * @param rangeCount number of primary key ranges per table. A value of 0 or less disables range
+   *     digests and compares every record at row level.
+   */
+  public MatchRecordsTransform(int rangeCount) {
+    this.rangeCount = rangeCount;
+  }
+
   @Override
   public @NotNull PCollectionTuple expand(PCollectionTuple input) {
     PCollection<ComparisonRecord> sourceRecords = input.get(SOURCE_TAG);
     PCollection<ComparisonRecord> spannerRecords = input.get(SPANNER_TAG);
 
-    PCollection<KV<String, ComparisonRecord>> sourceRecordsKv =
+    if (rangeCount <= 0) {
+      return matchRows(
+          sourceRecords
+              .apply("MapSourceToKv", WithKeys.of(ComparisonRecord::getHash))
+              .setCoder(KvCoder.of(StringUtf8Coder.of(), sourceRecords.getCoder())),
+          spannerRecords
+              .apply("MapSpannerToKv", WithKeys.of(ComparisonRecord::getHash))
+              .setCoder(KvCoder.of(StringUtf8Coder.of(), spannerRecords.getCoder())));
+    }
+
+    final int ranges = rangeCount;
+    PCollection<KV<String, ComparisonRecord>> sourceRecordsByRange =
         sourceRecords
-            .apply("MapSourceToKv", WithKeys.of(ComparisonRecord::getHash))
+            .apply(
+                "MapSourceToRange",
+                WithKeys.of((ComparisonRecord r) -> rangeKey(r, ranges))
+                    .withKeyType(TypeDescriptors.strings()))
             .setCoder(KvCoder.of(StringUtf8Coder.of(), sourceRecords.getCoder()));
-
-    PCollection<KV<String, ComparisonRecord>> spannerRecordsKv =
+    PCollection<KV<String, ComparisonRecord>> spannerRecordsByRange =
         spannerRecords
-            .apply("MapSpannerToKv", WithKeys.of(ComparisonRecord::getHash))
+            .apply(
+                "MapSpannerToRange",
+                WithKeys.of((ComparisonRecord r) -> rangeKey(r, ranges))
+                    .withKeyType(TypeDescriptors.strings()))
             .setCoder(KvCoder.of(StringUtf8Coder.of(), spannerRecords.getCoder()));
 
+    PCollection<KV<String, String>> sourceDigests =
+        sourceRecordsByRange.apply(
+            "ComputeSourceRangeDigests", Combine.perKey(new RangeDigestCombineFn()));
+    PCollection<KV<String, String>> spannerDigests =
+        spannerRecordsByRange.apply(
+            "ComputeSpannerRangeDigests", Combine.perKey(new RangeDigestCombineFn()));
+
+    PCollectionView<Map<String, Boolean>> mismatchedRanges =
+        KeyedPCollectionTuple.of(SOURCE_RANGE_DIGEST_TAG, sourceDigests)
+            .and(SPANNER_RANGE_DIGEST_TAG, spannerDigests)
+            .apply("CoGroupRangeDigests", CoGroupByKey.create())
+            .apply("FindMismatchedRanges", ParDo.of(new FindMismatchedRangesFn()))
+            .setCoder(KvCoder.of(StringUtf8Coder.of(), BooleanCoder.of()))
+            .apply("MismatchedRangesView", View.asMap());
+
+    PCollectionTuple sourceSplit =
+        sourceRecordsByRange.apply(
+            "SplitSourceByRangeDigest",
+            ParDo.of(
+                    new SplitByRangeDigestFn(mismatchedRanges, sourceRecords.getCoder(), true))
+                .withSideInputs(mismatchedRanges)
+                .withOutputTags(ROW_COMPARISON_TAG, TupleTagList.of(MATCHED_TAG)));
+    PCollectionTuple spannerSplit =
+        spannerRecordsByRange.apply(
+            "SplitSpannerByRangeDigest",
+            ParDo.of(
+                    new SplitByRangeDigestFn(mismatchedRanges, spannerRecords.getCoder(), false))
+                .withSideInputs(mismatchedRanges)
+                .withOutputTags(ROW_COMPARISON_TAG, TupleTagList.of(MATCHED_TAG)));
+
+    PCollectionTuple rowResults =
+        matchRows(
+            sourceSplit
+                .get(ROW_COMPARISON_TAG)
+                .setCoder(KvCoder.of(StringUtf8Coder.of(), sourceRecords.getCoder())),
+            spannerSplit
+                .get(ROW_COMPARISON_TAG)
+                .setCoder(KvCoder.of(StringUtf8Coder.of(), spannerRecords.getCoder())));
+
+    PCollection<ComparisonRecord> matched =
+        PCollectionList.of(rowResults.get(MATCHED_TAG))
+            .and(sourceSplit.get(MATCHED_TAG).setCoder(sourceRecords.getCoder()))
+            .apply("FlattenMatched", Flatten.pCollections());
+
+    return PCollectionTuple.of(MATCHED_TAG, matched)
+        .and(MISSING_IN_SPANNER_TAG, rowResults.get(MISSING_IN_SPANNER_TAG))
+        .and(MISSING_IN_SOURCE_TAG, rowResults.get(MISSING_IN_SOURCE_TAG));
+  }
+
+  private static PCollectionTuple matchRows(
+      PCollection<KV<String, ComparisonRecord>> sourceRecordsKv,
+      PCollection<KV<String, ComparisonRecord>> spannerRecordsKv) {
     PCollection<KV<String, CoGbkResult>> coGbkResult =
         KeyedPCollectionTuple.of(SOURCE_TAG, sourceRecordsKv)
             .and(SPANNER_TAG, spannerRecordsKv)
@@ -66,4 +192,20 @@ public class MatchRecordsTransform
             .withOutputTags(
                 MATCHED_TAG, TupleTagList.of(MISSING_IN_SPANNER_TAG).and(MISSING_IN_SOURCE_TAG)));
   }
+
+  /**
+   * Returns the range key of a record: its table name and a bucket derived from its primary key.
+   * Both sides format primary key values the same way, so a row lands in the same range on both
+   * sides.
+   */
+  @VisibleForTesting
+  static String rangeKey(ComparisonRecord record, int rangeCount) {
+    Hasher hasher = Hashing.murmur3_32_fixed().newHasher();
+    for (Column column : record.getPrimaryKeyColumns()) {
+      hasher.putString(column.getColName(), StandardCharsets.UTF_8);
+      hasher.putString(column.getColValue(), StandardCharsets.UTF_8);
+    }
+    int bucket = Math.floorMod(hasher.hash().asInt(), rangeCount);
+    return record.getTableName() + "#" + bucket;
+  }
 }
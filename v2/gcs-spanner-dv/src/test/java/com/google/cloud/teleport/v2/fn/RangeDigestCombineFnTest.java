@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.fn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import com.google.cloud.teleport.v2.dto.ComparisonRecord;
+import com.google.cloud.teleport.v2.dto.RangeDigestAccumulator;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RangeDigestCombineFnTest {
+
+  private final RangeDigestCombineFn fn = new RangeDigestCombineFn();
+
+  @Test
+  public void testCreateAccumulator() {
+    RangeDigestAccumulator acc = fn.createAccumulator();
+    assertEquals(0L, acc.count);
+    assertEquals(0L, acc.hashSumHigh);
+    assertEquals(0L, acc.hashSumLow);
+  }
+
+  @Test
+  public void testDigestIsOrderIndependent() {
+    assertEquals(
+        digest(record("hash1"), record("hash2"), record("hash3")),
+        digest(record("hash3"), record("hash1"), record("hash2")));
+  }
+
+  @Test
+  public void testMergeAccumulatorsMatchesSequentialAdd() {
+    RangeDigestAccumulator acc1 = fn.createAccumulator();
+    fn.addInput(acc1, record("hash1"));
+    RangeDigestAccumulator acc2 = fn.createAccumulator();
+    fn.addInput(acc2, record("hash2"));
+    fn.addInput(acc2, record("hash3"));
+
+    RangeDigestAccumulator merged = fn.mergeAccumulators(Arrays.asList(acc1, acc2));
+
+    assertEquals(3L, merged.count);
+    assertEquals(
+        digest(record("hash1"), record("hash2"), record("hash3")), fn.extractOutput(merged));
+  }
+
+  @Test
+  public void testDigestDetectsDifferences() {
+    String expected = digest(record("hash1"), record("hash2"));
+    assertNotEquals(expected, digest(record("hash1"), record("hashX")));
+    assertNotEquals(expected, digest(record("hash1")));
+  }
+
+  @Test
+  public void testDuplicatesDoNotCancelOut() {
+    assertNotEquals(digest(), digest(record("hash1"), record("hash1")));
+    assertNotEquals(
+        digest(record("hash1"), record("hash1"), record("hash2")), digest(record("hash2")));
+  }
+
+  private String digest(ComparisonRecord... records) {
+    RangeDigestAccumulator acc = fn.createAccumulator();
+    for (ComparisonRecord record : records) {
+      fn.addInput(acc, record);
+    }
+    return fn.extractOutput(acc);
+  }
+
+  private static ComparisonRecord record(String hash) {
+    return ComparisonRecord.builder()
+        .setTableName("Table1")
+        .setHash(hash)
+        .setPrimaryKeyColumns(Collections.emptyList())
+        .build();
+  }
+}
@@ -20,10 +20,21 @@ import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.MISSI
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.MISSING_IN_SPANNER_TAG;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SOURCE_TAG;
 import static com.google.cloud.teleport.v2.constants.GCSSpannerDVConstants.SPANNER_TAG;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import com.google.cloud.teleport.v2.dofn.SplitByRangeDigestFn;
+import com.google.cloud.teleport.v2.dto.Column;
 import com.google.cloud.teleport.v2.dto.ComparisonRecord;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.metrics.MetricNameFilter;
+import org.apache.beam.sdk.metrics.MetricQueryResults;
+import org.apache.beam.sdk.metrics.MetricResult;
+import org.apache.beam.sdk.metrics.MetricsFilter;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
@@ -148,4 +159,86 @@ public class MatchRecordsTransformTest implements Serializable {
 
     pipeline.run();
   }
+
+  @Test
+  public void testMixedScenariosWithRangeDigests() {
+    ComparisonRecord matched = record("Table1", "1", "matched");
+    ComparisonRecord missingInSpanner = record("Table1", "2", "missingInSpanner");
+    ComparisonRecord missingInSource = record("Table1", "3", "missingInSource");
+    ComparisonRecord sourceMismatch = record("Table2", "1", "sourceValue");
+    ComparisonRecord spannerMismatch = record("Table2", "1", "spannerValue");
+
+    PCollection<ComparisonRecord> source =
+        pipeline.apply("CreateSource", Create.of(matched, missingInSpanner, sourceMismatch));
+    PCollection<ComparisonRecord> spanner =
+        pipeline.apply("CreateSpanner", Create.of(matched, missingInSource, spannerMismatch));
+
+    PCollectionTuple input = PCollectionTuple.of(SOURCE_TAG, source).and(SPANNER_TAG, spanner);
+
+    PCollectionTuple output = input.apply(new MatchRecordsTransform(4));
+
+    PAssert.that(output.get(MATCHED_TAG)).containsInAnyOrder(matched);
+    PAssert.that(output.get(MISSING_IN_SPANNER_TAG))
+        .containsInAnyOrder(missingInSpanner, sourceMismatch);
+    PAssert.that(output.get(MISSING_IN_SOURCE_TAG))
+        .containsInAnyOrder(missingInSource, spannerMismatch);
+
+    pipeline.run();
+  }
+
+  @Test
+  public void testMatchedRangesSkipRowComparison() {
+    List<ComparisonRecord> records = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      records.add(record("Table1", String.valueOf(i), "hash" + i));
+    }
+
+    PCollection<ComparisonRecord> source = pipeline.apply("CreateSource", Create.of(records));
+    PCollection<ComparisonRecord> spanner = pipeline.apply("CreateSpanner", Create.of(records));
+
+    PCollectionTuple input = PCollectionTuple.of(SOURCE_TAG, source).and(SPANNER_TAG, spanner);
+
+    PCollectionTuple output = input.apply(new MatchRecordsTransform(4));
+
+    PAssert.that(output.get(MATCHED_TAG)).containsInAnyOrder(records);
+    PAssert.that(output.get(MISSING_IN_SPANNER_TAG)).empty();
+    PAssert.that(output.get(MISSING_IN_SOURCE_TAG)).empty();
+
+    PipelineResult result = pipeline.run();
+    result.waitUntilFinish();
+    MetricQueryResults metrics =
+        result
+            .metrics()
+            .queryMetrics(
+                MetricsFilter.builder()
+                    .addNameFilter(
+                        MetricNameFilter.named(
+                            SplitByRangeDigestFn.class, "row_comparison_records_avoided"))
+                    .build());
+    long avoided = 0;
+    for (MetricResult<Long> counter : metrics.getCounters()) {
+      avoided += counter.getAttempted();
+    }
+    assertEquals(40L, avoided);
+  }
+
+  @Test
+  public void testRangeKeyIsStablePerPrimaryKey() {
+    ComparisonRecord sourceRecord = record("Table1", "42", "sourceValue");
+    ComparisonRecord spannerRecord = record("Table1", "42", "spannerValue");
+
+    assertEquals(
+        MatchRecordsTransform.rangeKey(sourceRecord, 16),
+        MatchRecordsTransform.rangeKey(spannerRecord, 16));
+    assertTrue(MatchRecordsTransform.rangeKey(sourceRecord, 16).startsWith("Table1#"));
+  }
+
+  private static ComparisonRecord record(String tableName, String id, String hash) {
+    return ComparisonRecord.builder()
+        .setTableName(tableName)
+        .setHash(hash)
+        .setPrimaryKeyColumns(
+            Collections.singletonList(Column.builder().setColName("id").setColValue(id).build()))
+        .build();
+  }
 }
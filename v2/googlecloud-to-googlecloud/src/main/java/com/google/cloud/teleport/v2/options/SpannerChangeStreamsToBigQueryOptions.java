@@ -247,4 +247,18 @@ public interface SpannerChangeStreamsToBigQueryOptions
   Boolean getDisableDlqRetries();
 
   void setDisableDlqRetries(Boolean value);
+
+  @TemplateParameter.Integer(
+      order = 20,
+      optional = true,
+      description = "Spanner snapshot read batch size",
+      helpText =
+          "The maximum number of rows that are fetched with a single Spanner snapshot read when"
+              + " the full row of an UPDATE mod is looked up. Lookups are grouped by table and"
+              + " commit timestamp within a bundle. The default value is `1`, which reads each"
+              + " row separately.")
+  @Default.Integer(1)
+  Integer getSnapshotReadBatchSize();
+
+  void setSnapshotReadBatchSize(Integer value);
 }
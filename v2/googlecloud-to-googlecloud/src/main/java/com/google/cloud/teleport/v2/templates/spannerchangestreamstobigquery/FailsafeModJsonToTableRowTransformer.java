@@ -50,6 +50,9 @@ import io.grpc.MethodDescriptor;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,14 +62,20 @@ import org.apache.beam.sdk.io.gcp.spanner.SpannerAccessor;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.ModType;
 import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.ValueCaptureType;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
+import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
 import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Throwables;
+import org.joda.time.Instant;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -115,7 +124,8 @@ public final class FailsafeModJsonToTableRowTransformer {
                           failsafeModJsonToTableRowOptions
                               .getSpannerConfig()
                               .getRpcPriority()
-                              .get()))
+                              .get(),
+                          failsafeModJsonToTableRowOptions.getSnapshotReadBatchSize()))
                   .withOutputTags(transformOut, TupleTagList.of(transformDeadLetterOut)));
       out.get(transformDeadLetterOut).setCoder(failsafeModJsonToTableRowOptions.getCoder());
       return out;
@@ -124,6 +134,11 @@ public final class FailsafeModJsonToTableRowTransformer {
     /**
      * The {@link FailsafeModJsonToTableRowFn} converts a {@link Mod} JSON string wrapped in {@link
      * FailsafeElement} to a {@link TableRow}.
+     *
+     * <p>When the snapshot read batch size is greater than 1, the full-row lookups of UPDATE mods
+     * are buffered for the bundle and grouped by table and commit timestamp. Each group is fetched
+     * with one multi-key snapshot read at that commit timestamp, and the returned rows are fanned
+     * back out to the waiting mods when the bundle finishes.
      */
     public static class FailsafeModJsonToTableRowFn
         extends DoFn<FailsafeElement<String, String>, TableRow> {
@@ -140,6 +155,17 @@ public final class FailsafeModJsonToTableRowTransformer {
       private Boolean useStorageWriteApi;
       private RpcPriority rpcPriority;
       private Dialect dialect;
+      private final int snapshotReadBatchSize;
+      private transient Map<
+              KV<TrackedSpannerTable, com.google.cloud.Timestamp>, List<PendingTableRow>>
+          pendingSnapshotReads;
+
+      private final Distribution snapshotReadBatchSizeDistribution =
+          Metrics.distribution(FailsafeModJsonToTableRowFn.class, "snapshotReadBatchSize");
+      private final Counter snapshotReadRpcs =
+          Metrics.counter(FailsafeModJsonToTableRowFn.class, "snapshotReadRpcs");
+      private final Counter snapshotReadRpcsSaved =
+          Metrics.counter(FailsafeModJsonToTableRowFn.class, "snapshotReadRpcsSaved");
 
       public FailsafeModJsonToTableRowFn(
           SpannerConfig spannerConfig,
@@ -149,6 +175,26 @@ public final class FailsafeModJsonToTableRowTransformer {
           TupleTag<FailsafeElement<String, String>> transformDeadLetterOut,
           Boolean useStorageWriteApi,
           RpcPriority rpcPriority) {
+        this(
+            spannerConfig,
+            spannerChangeStream,
+            ignoreFields,
+            transformOut,
+            transformDeadLetterOut,
+            useStorageWriteApi,
+            rpcPriority,
+            1);
+      }
+
+      public FailsafeModJsonToTableRowFn(
+          SpannerConfig spannerConfig,
+          String spannerChangeStream,
+          ImmutableSet<String> ignoreFields,
+          TupleTag<TableRow> transformOut,
+          TupleTag<FailsafeElement<String, String>> transformDeadLetterOut,
+          Boolean useStorageWriteApi,
+          RpcPriority rpcPriority,
+          int snapshotReadBatchSize) {
         this.spannerConfig = spannerConfig;
         this.spannerChangeStream = spannerChangeStream;
         this.transformOut = transformOut;
@@ -156,6 +202,7 @@ public final class FailsafeModJsonToTableRowTransformer {
         this.ignoreFields = ignoreFields;
         this.useStorageWriteApi = useStorageWriteApi;
         this.rpcPriority = rpcPriority;
+        this.snapshotReadBatchSize = snapshotReadBatchSize;
         this.dialect = getDialect(spannerConfig);
       }
 
@@ -204,36 +251,95 @@ public final class FailsafeModJsonToTableRowTransformer {
         spannerAccessor.close();
       }
 
+      @StartBundle
+      public void startBundle() {
+        pendingSnapshotReads = new LinkedHashMap<>();
+      }
+
       @ProcessElement
-      public void processElement(ProcessContext context) {
+      public void processElement(ProcessContext context, BoundedWindow window) {
         FailsafeElement<String, String> failsafeModJsonString = context.element();
 
         try {
-          TableRow tableRow = modJsonStringToTableRow(failsafeModJsonString.getPayload());
-          for (String ignoreField : ignoreFields) {
-            if (tableRow.containsKey(ignoreField)) {
-              tableRow.remove(ignoreField);
-            }
+          PendingTableRow pendingTableRow =
+              modJsonStringToPendingTableRow(failsafeModJsonString.getPayload());
+          if (pendingTableRow.needsSnapshotRead() && snapshotReadBatchSize > 1) {
+            pendingTableRow.setOrigin(failsafeModJsonString, context.timestamp(), window);
+            pendingSnapshotReads
+                .computeIfAbsent(
+                    KV.of(pendingTableRow.spannerTable, pendingTableRow.commitTimestamp),
+                    k -> new ArrayList<>())
+                .add(pendingTableRow);
+            return;
+          }
+          if (pendingTableRow.needsSnapshotRead()) {
+            readSpannerRowWithRetry(pendingTableRow);
           }
-          context.output(tableRow);
+          context.output(removeIgnoreFields(pendingTableRow.tableRow));
         } catch (Exception e) {
-          if (!seenException) {
-            LOG.error(
-                String.format(
-                    "Caught exception when processing element and storing into dead letter queue,"
-                        + " message: %s, cause: %s",
-                    Optional.ofNullable(e.getMessage()), e.getCause()));
-            seenException = true;
+          context.output(transformDeadLetterOut, toDeadLetterElement(failsafeModJsonString, e));
+        }
+      }
+
+      @FinishBundle
+      public void finishBundle(FinishBundleContext context) {
+        for (Map.Entry<KV<TrackedSpannerTable, com.google.cloud.Timestamp>, List<PendingTableRow>>
+            entry : pendingSnapshotReads.entrySet()) {
+          List<PendingTableRow> group = entry.getValue();
+          for (int start = 0; start < group.size(); start += snapshotReadBatchSize) {
+            List<PendingTableRow> batch =
+                group.subList(start, Math.min(start + snapshotReadBatchSize, group.size()));
+            try {
+              readSpannerRowsWithRetry(entry.getKey().getKey(), entry.getKey().getValue(), batch);
+            } catch (Exception e) {
+              for (PendingTableRow pendingTableRow : batch) {
+                pendingTableRow.failure = e;
+              }
+            }
+            for (PendingTableRow pendingTableRow : batch) {
+              if (pendingTableRow.failure == null) {
+                context.output(
+                    removeIgnoreFields(pendingTableRow.tableRow),
+                    pendingTableRow.elementTimestamp,
+                    pendingTableRow.window);
+              } else {
+                context.output(
+                    transformDeadLetterOut,
+                    toDeadLetterElement(pendingTableRow.element, pendingTableRow.failure),
+                    pendingTableRow.elementTimestamp,
+                    pendingTableRow.window);
+              }
+            }
           }
-          context.output(
-              transformDeadLetterOut,
-              FailsafeElement.of(failsafeModJsonString)
-                  .setErrorMessage(e.getMessage())
-                  .setStacktrace(Throwables.getStackTraceAsString(e)));
         }
+        pendingSnapshotReads.clear();
       }
 
-      private TableRow modJsonStringToTableRow(String modJsonString) {
+      private TableRow removeIgnoreFields(TableRow tableRow) {
+        for (String ignoreField : ignoreFields) {
+          if (tableRow.containsKey(ignoreField)) {
+            tableRow.remove(ignoreField);
+          }
+        }
+        return tableRow;
+      }
+
+      private FailsafeElement<String, String> toDeadLetterElement(
+          FailsafeElement<String, String> failsafeModJsonString, Exception e) {
+        if (!seenException) {
+          LOG.error(
+              String.format(
+                  "Caught exception when processing element and storing into dead letter queue,"
+                      + " message: %s, cause: %s",
+                  Optional.ofNullable(e.getMessage()), e.getCause()));
+          seenException = true;
+        }
+        return FailsafeElement.of(failsafeModJsonString)
+            .setErrorMessage(e.getMessage())
+            .setStacktrace(Throwables.getStackTraceAsString(e));
+      }
+
+      private PendingTableRow modJsonStringToPendingTableRow(String modJsonString) {
         String deadLetterMessage =
             "check dead letter queue for unprocessed records that failed to be processed";
         ObjectNode modObjectNode = null;
@@ -316,14 +422,14 @@ public final class FailsafeModJsonToTableRowTransformer {
         // For "DELETE" mod, we only set the key columns. For all non-key columns, we already
         // populated "null".
         if (mod.getModType() == ModType.INSERT || mod.getModType() == ModType.DELETE) {
-          return tableRow;
+          return new PendingTableRow(tableRow);
         }
 
         // For "NEW_ROW" and "NEW_ROW_AND_OLD_VALUES" value capture types, we can get all columns
         // from mod.
         if (mod.getValueCaptureType() == ValueCaptureType.NEW_ROW
             || mod.getValueCaptureType() == ValueCaptureType.NEW_ROW_AND_OLD_VALUES) {
-          return tableRow;
+          return new PendingTableRow(tableRow);
         }
 
         // For "UPDATE" mod, the Mod only contains the changed columns, unchanged tracked columns
@@ -352,22 +458,96 @@ public final class FailsafeModJsonToTableRowTransformer {
           }
         }
 
+        // The stored schema is updated in place when new columns are detected, so the buffered
+        // snapshot read keeps a copy of the columns tracked when this mod was processed.
+        return new PendingTableRow(
+            tableRow,
+            new TrackedSpannerTable(
+                spannerTable.getTableName(),
+                spannerTable.getPkColumns(),
+                spannerTable.getNonPkColumns()),
+            keyBuilder.build(),
+            SpannerChangeStreamsUtils.normalizedKeyFromJson(
+                spannerTable.getPkColumns(), keysJsonObject),
+            spannerCommitTimestamp);
+      }
+
+      private void readSpannerRowWithRetry(PendingTableRow pendingTableRow) {
+        TrackedSpannerTable spannerTable = pendingTableRow.spannerTable;
         List<TrackedSpannerColumn> spannerNonPkColumns = spannerTable.getNonPkColumns();
         List<String> spannerNonPkColumnNames =
             spannerNonPkColumns.stream()
                 .map(spannerNonPkColumn -> spannerNonPkColumn.getName())
                 .collect(Collectors.toList());
 
+        retrySnapshotRead(
+            () ->
+                readSpannerRow(
+                    spannerTable.getTableName(),
+                    pendingTableRow.key,
+                    spannerNonPkColumns,
+                    spannerNonPkColumnNames,
+                    pendingTableRow.commitTimestamp,
+                    pendingTableRow.tableRow));
+      }
+
+      private void readSpannerRowsWithRetry(
+          TrackedSpannerTable spannerTable,
+          com.google.cloud.Timestamp spannerCommitTimestamp,
+          List<PendingTableRow> batch) {
+        // Several mods in the same bundle can touch the same row, e.g. when a mod is retried from
+        // the dead letter queue, so the key set only contains each key once.
+        Map<List<String>, List<PendingTableRow>> pendingTableRowsByKey = new HashMap<>();
+        KeySet.Builder keySetBuilder = KeySet.newBuilder();
+        for (PendingTableRow pendingTableRow : batch) {
+          List<PendingTableRow> pendingTableRows =
+              pendingTableRowsByKey.computeIfAbsent(
+                  pendingTableRow.normalizedKey, k -> new ArrayList<>());
+          if (pendingTableRows.isEmpty()) {
+            keySetBuilder.addKey(pendingTableRow.key);
+          }
+          pendingTableRows.add(pendingTableRow);
+        }
+
+        List<TrackedSpannerColumn> spannerPkColumns = spannerTable.getPkColumns();
+        List<TrackedSpannerColumn> spannerNonPkColumns = spannerTable.getNonPkColumns();
+        // The key columns are read as well so that the returned rows can be matched to the mods.
+        List<String> spannerColumnNames =
+            spannerTable.getAllColumns().stream()
+                .map(spannerColumn -> spannerColumn.getName())
+                .collect(Collectors.toList());
+        KeySet keySet = keySetBuilder.build();
+
+        retrySnapshotRead(
+            () ->
+                readSpannerRows(
+                    spannerTable.getTableName(),
+                    keySet,
+                    spannerPkColumns,
+                    spannerNonPkColumns,
+                    spannerColumnNames,
+                    spannerCommitTimestamp,
+                    pendingTableRowsByKey));
+
+        snapshotReadRpcs.inc();
+        snapshotReadRpcsSaved.inc(batch.size() - 1);
+        snapshotReadBatchSizeDistribution.update(batch.size());
+        for (List<PendingTableRow> pendingTableRows : pendingTableRowsByKey.values()) {
+          for (PendingTableRow pendingTableRow : pendingTableRows) {
+            if (!pendingTableRow.snapshotRowRead) {
+              pendingTableRow.failure =
+                  new IllegalArgumentException(
+                      "Received zero row from the result set of Spanner snapshot row");
+            }
+          }
+        }
+      }
+
+      private void retrySnapshotRead(Runnable snapshotRead) {
         int retryCount = 0;
         while (true) {
           try {
-            readSpannerRow(
-                spannerTable.getTableName(),
-                keyBuilder.build(),
-                spannerNonPkColumns,
-                spannerNonPkColumnNames,
-                spannerCommitTimestamp,
-                tableRow);
+            snapshotRead.run();
             break;
           } catch (Exception e) {
             // Retry for maximum 3 times in case of transient error.
@@ -392,8 +572,6 @@ public final class FailsafeModJsonToTableRowTransformer {
             }
           }
         }
-
-        return tableRow;
       }
 
       // Do a Spanner read to retrieve full row. Schema can change while the pipeline is running.
@@ -427,6 +605,96 @@ public final class FailsafeModJsonToTableRowTransformer {
               }
             });
       }
+
+      // Do a single Spanner read to retrieve the full rows of all the keys in the key set, and set
+      // each returned row into the table rows of the mods that are waiting for it.
+      private void readSpannerRows(
+          String spannerTableName,
+          KeySet keySet,
+          List<TrackedSpannerColumn> spannerPkColumns,
+          List<TrackedSpannerColumn> spannerNonPkColumns,
+          List<String> spannerColumnNames,
+          com.google.cloud.Timestamp spannerCommitTimestamp,
+          Map<List<String>, List<PendingTableRow>> pendingTableRowsByKey) {
+        Options.ReadQueryUpdateTransactionOption options = Options.priority(rpcPriority);
+        // Create a context that uses the custom call configuration.
+        Context context =
+            Context.current()
+                .withValue(SpannerOptions.CALL_CONTEXT_CONFIGURATOR_KEY, callContextConfigurator);
+        // Do the snapshot read in the custom context.
+        context.run(
+            () -> {
+              try (ResultSet resultSet =
+                  spannerAccessor
+                      .getDatabaseClient()
+                      .singleUseReadOnlyTransaction(
+                          TimestampBound.ofReadTimestamp(spannerCommitTimestamp))
+                      .read(spannerTableName, keySet, spannerColumnNames, options)) {
+                while (resultSet.next()) {
+                  List<PendingTableRow> pendingTableRows =
+                      pendingTableRowsByKey.get(
+                          SpannerChangeStreamsUtils.normalizedKeyFromResultSet(
+                              spannerPkColumns, resultSet));
+                  if (pendingTableRows == null) {
+                    continue;
+                  }
+                  for (PendingTableRow pendingTableRow : pendingTableRows) {
+                    SpannerToBigQueryUtils.spannerSnapshotCurrentRowToBigQueryTableRow(
+                        resultSet, spannerNonPkColumns, pendingTableRow.tableRow);
+                    pendingTableRow.snapshotRowRead = true;
+                  }
+                }
+              }
+            });
+      }
+
+      /**
+       * A {@link TableRow} converted from a {@link Mod}, together with the information needed to
+       * complete it with a snapshot read when the mod does not contain the full row.
+       */
+      private static class PendingTableRow {
+        private final TableRow tableRow;
+        private final TrackedSpannerTable spannerTable;
+        private final com.google.cloud.spanner.Key key;
+        private final List<String> normalizedKey;
+        private final com.google.cloud.Timestamp commitTimestamp;
+
+        private FailsafeElement<String, String> element;
+        private Instant elementTimestamp;
+        private BoundedWindow window;
+        private boolean snapshotRowRead;
+        private Exception failure;
+
+        PendingTableRow(TableRow tableRow) {
+          this(tableRow, null, null, null, null);
+        }
+
+        PendingTableRow(
+            TableRow tableRow,
+            TrackedSpannerTable spannerTable,
+            com.google.cloud.spanner.Key key,
+            List<String> normalizedKey,
+            com.google.cloud.Timestamp commitTimestamp) {
+          this.tableRow = tableRow;
+          this.spannerTable = spannerTable;
+          this.key = key;
+          this.normalizedKey = normalizedKey;
+          this.commitTimestamp = commitTimestamp;
+        }
+
+        boolean needsSnapshotRead() {
+          return spannerTable != null;
+        }
+
+        void setOrigin(
+            FailsafeElement<String, String> element,
+            Instant elementTimestamp,
+            BoundedWindow window) {
+          this.element = element;
+          this.elementTimestamp = elementTimestamp;
+          this.window = window;
+        }
+      }
     }
   }
 
@@ -446,9 +714,12 @@ public final class FailsafeModJsonToTableRowTransformer {
 
     public abstract Boolean getUseStorageWriteApi();
 
+    public abstract Integer getSnapshotReadBatchSize();
+
     static Builder builder() {
       return new AutoValue_FailsafeModJsonToTableRowTransformer_FailsafeModJsonToTableRowOptions
-          .Builder();
+              .Builder()
+          .setSnapshotReadBatchSize(1);
     }
 
     @AutoValue.Builder
@@ -463,6 +734,8 @@ public final class FailsafeModJsonToTableRowTransformer {
 
       abstract Builder setUseStorageWriteApi(Boolean useStorageWriteApi);
 
+      abstract Builder setSnapshotReadBatchSize(Integer snapshotReadBatchSize);
+
       abstract FailsafeModJsonToTableRowOptions build();
     }
   }
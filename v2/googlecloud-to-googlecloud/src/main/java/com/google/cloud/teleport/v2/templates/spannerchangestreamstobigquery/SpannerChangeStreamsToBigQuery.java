@@ -207,6 +207,9 @@ public final class SpannerChangeStreamsToBigQuery {
     if (options.getDlqRetryMinutes() <= 0) {
       throw new IllegalArgumentException("dlqRetryMinutes must be positive.");
     }
+    if (options.getSnapshotReadBatchSize() <= 0) {
+      throw new IllegalArgumentException("snapshotReadBatchSize must be positive.");
+    }
     if (options
         .getBigQueryChangelogTableNameTemplate()
         .equals(BigQueryUtils.BQ_CHANGELOG_FIELD_NAME_TABLE_NAME)) {
@@ -369,6 +372,7 @@ public final class SpannerChangeStreamsToBigQuery {
                 .setIgnoreFields(ignoreFields)
                 .setCoder(FAILSAFE_ELEMENT_CODER)
                 .setUseStorageWriteApi(options.getUseStorageWriteApi())
+                .setSnapshotReadBatchSize(options.getSnapshotReadBatchSize())
                 .build();
     FailsafeModJsonToTableRowTransformer.FailsafeModJsonToTableRow failsafeModJsonToTableRow =
         new FailsafeModJsonToTableRowTransformer.FailsafeModJsonToTableRow(
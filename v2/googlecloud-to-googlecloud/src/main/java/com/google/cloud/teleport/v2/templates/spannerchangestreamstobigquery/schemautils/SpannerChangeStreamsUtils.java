@@ -16,6 +16,8 @@
 package com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery.schemautils;
 
 import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
 import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Dialect;
@@ -519,6 +521,101 @@ public class SpannerChangeStreamsUtils {
     }
   }
 
+  /**
+   * Returns the primary key of a mod as a list of normalized strings, so it can be matched against
+   * the key of a row returned by a multi-key snapshot read (see {@link
+   * #normalizedKeyFromResultSet}). The primary key columns must be ordered by their primary key
+   * ordinal position.
+   */
+  public static List<String> normalizedKeyFromJson(
+      List<TrackedSpannerColumn> pkColumns, JSONObject keysJsonObject) {
+    List<String> normalizedKey = new ArrayList<>(pkColumns.size());
+    for (TrackedSpannerColumn column : pkColumns) {
+      String name = column.getName();
+      if (keysJsonObject.isNull(name)) {
+        normalizedKey.add(null);
+        continue;
+      }
+      Type.Code code = column.getType().getCode();
+      switch (code) {
+        case BOOL:
+          normalizedKey.add(String.valueOf(keysJsonObject.getBoolean(name)));
+          break;
+        case FLOAT64:
+          normalizedKey.add(String.valueOf(keysJsonObject.getDouble(name)));
+          break;
+        case INT64:
+          normalizedKey.add(String.valueOf(keysJsonObject.getLong(name)));
+          break;
+        case NUMERIC:
+          normalizedKey.add(
+              keysJsonObject.getBigDecimal(name).stripTrailingZeros().toPlainString());
+          break;
+        case BYTES:
+          normalizedKey.add(ByteArray.fromBase64(keysJsonObject.getString(name)).toBase64());
+          break;
+        case DATE:
+          normalizedKey.add(Date.parseDate(keysJsonObject.getString(name)).toString());
+          break;
+        case STRING:
+          normalizedKey.add(keysJsonObject.getString(name));
+          break;
+        case TIMESTAMP:
+          normalizedKey.add(Timestamp.parseTimestamp(keysJsonObject.getString(name)).toString());
+          break;
+        default:
+          throw new IllegalArgumentException(String.format("Unsupported Spanner type: %s", code));
+      }
+    }
+    return normalizedKey;
+  }
+
+  /**
+   * Returns the primary key of the current row of the {@link ResultSet} in the same normalized
+   * form as {@link #normalizedKeyFromJson}.
+   */
+  public static List<String> normalizedKeyFromResultSet(
+      List<TrackedSpannerColumn> pkColumns, ResultSet resultSet) {
+    List<String> normalizedKey = new ArrayList<>(pkColumns.size());
+    for (TrackedSpannerColumn column : pkColumns) {
+      String name = column.getName();
+      if (resultSet.isNull(name)) {
+        normalizedKey.add(null);
+        continue;
+      }
+      Type.Code code = column.getType().getCode();
+      switch (code) {
+        case BOOL:
+          normalizedKey.add(String.valueOf(resultSet.getBoolean(name)));
+          break;
+        case FLOAT64:
+          normalizedKey.add(String.valueOf(resultSet.getDouble(name)));
+          break;
+        case INT64:
+          normalizedKey.add(String.valueOf(resultSet.getLong(name)));
+          break;
+        case NUMERIC:
+          normalizedKey.add(resultSet.getBigDecimal(name).stripTrailingZeros().toPlainString());
+          break;
+        case BYTES:
+          normalizedKey.add(resultSet.getBytes(name).toBase64());
+          break;
+        case DATE:
+          normalizedKey.add(resultSet.getDate(name).toString());
+          break;
+        case STRING:
+          normalizedKey.add(resultSet.getString(name));
+          break;
+        case TIMESTAMP:
+          normalizedKey.add(resultSet.getTimestamp(name).toString());
+          break;
+        default:
+          throw new IllegalArgumentException(String.format("Unsupported Spanner type: %s", code));
+      }
+    }
+    return normalizedKey;
+  }
+
   private boolean isPostgres() {
     return this.dialect == Dialect.POSTGRESQL;
   }
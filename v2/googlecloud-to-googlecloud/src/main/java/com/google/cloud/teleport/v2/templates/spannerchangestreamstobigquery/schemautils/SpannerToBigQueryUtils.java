@@ -150,11 +150,7 @@ public class SpannerToBigQueryUtils {
   public static void spannerSnapshotRowToBigQueryTableRow(
       ResultSet resultSet, List<TrackedSpannerColumn> spannerNonPkColumns, TableRow tableRow) {
     if (resultSet.next()) {
-      for (TrackedSpannerColumn spannerNonPkColumn : spannerNonPkColumns) {
-        tableRow.set(
-            spannerNonPkColumn.getName(),
-            getColumnValueFromResultSet(spannerNonPkColumn, resultSet));
-      }
+      spannerSnapshotCurrentRowToBigQueryTableRow(resultSet, spannerNonPkColumns, tableRow);
     } else {
       throw new IllegalArgumentException(
           "Received zero row from the result set of Spanner snapshot row");
@@ -166,6 +162,18 @@ public class SpannerToBigQueryUtils {
     }
   }
 
+  /**
+   * Sets the non-key columns of the current row of the {@link ResultSet} into the {@link
+   * TableRow}, used when a single snapshot read returns the rows of several mods.
+   */
+  public static void spannerSnapshotCurrentRowToBigQueryTableRow(
+      ResultSet resultSet, List<TrackedSpannerColumn> spannerNonPkColumns, TableRow tableRow) {
+    for (TrackedSpannerColumn spannerNonPkColumn : spannerNonPkColumns) {
+      tableRow.set(
+          spannerNonPkColumn.getName(), getColumnValueFromResultSet(spannerNonPkColumn, resultSet));
+    }
+  }
+
   private static Object getColumnValueFromResultSet(
       TrackedSpannerColumn spannerColumn, ResultSet resultSet) {
     String columnName = spannerColumn.getName();
@@ -259,6 +259,96 @@ public final class FailsafeModJsonToTableRowTransformerTest implements Serializa
         getRowType(false));
   }
 
+  // Test the case where a TableRow can be constructed from a UPDATE Mod when the snapshot reads
+  // are batched.
+  @Test
+  public void testFailsafeModJsonToTableRowUpdateBatchedSnapshotRead() throws Exception {
+    validateBigQueryRow(
+        spannerDatabaseName,
+        updateCommitTimestamp,
+        ModType.UPDATE,
+        ValueCaptureType.OLD_AND_NEW_VALUES,
+        getKeysJson(),
+        getNewValuesJson(updateCommitTimestamp),
+        false,
+        getRowType(false),
+        10);
+  }
+
+  // Test the case where UPDATE Mods of several keys are snapshot read in one batch: each Mod gets
+  // the row of its own key, Mods of the same key all get that row, and a Mod whose row is missing
+  // goes to transformDeadLetterOut.
+  @Test
+  public void testFailsafeModJsonToTableRowUpdateBatchedSnapshotReadOfSeveralKeys()
+      throws Exception {
+    Timestamp commitTimestamp = insertRowsForBatchedSnapshotRead(spannerDatabaseName);
+    Mod firstMod = getBatchedUpdateMod(101L, "00000001", commitTimestamp);
+    Mod secondMod = getBatchedUpdateMod(102L, "00000002", commitTimestamp);
+    Mod duplicateKeyMod = getBatchedUpdateMod(101L, "00000003", commitTimestamp);
+    Mod missingRowMod = getBatchedUpdateMod(103L, "00000004", commitTimestamp);
+    TestStream<String> testSream =
+        TestStream.create(SerializableCoder.of(String.class))
+            .addElements(
+                firstMod.toJson(),
+                secondMod.toJson(),
+                duplicateKeyMod.toJson(),
+                missingRowMod.toJson())
+            .advanceWatermarkTo(Instant.now())
+            .advanceWatermarkToInfinity();
+    Pipeline p = Pipeline.create();
+    PCollection<FailsafeElement<String, String>> input =
+        p.apply(testSream)
+            .apply(
+                ParDo.of(
+                    new DoFn<String, FailsafeElement<String, String>>() {
+                      @ProcessElement
+                      public void process(
+                          @Element String input,
+                          OutputReceiver<FailsafeElement<String, String>> receiver) {
+                        receiver.output(FailsafeElement.of(input, input));
+                      }
+                    }))
+            .setCoder(SpannerChangeStreamsToBigQuery.FAILSAFE_ELEMENT_CODER);
+    failsafeModJsonToTableRow = getFailsafeModJsonToTableRow(spannerDatabaseName, false, 10);
+    PCollectionTuple out = input.apply("Mod JSON To TableRow", failsafeModJsonToTableRow);
+    PAssert.that(
+            out.get(failsafeModJsonToTableRow.transformOut)
+                .apply(
+                    ParDo.of(
+                        new DoFn<TableRow, String>() {
+                          @ProcessElement
+                          public void process(
+                              @Element TableRow input, OutputReceiver<String> receiver) {
+                            receiver.output(
+                                String.format(
+                                    "%s=%s", input.get(INT64_PK_COL), input.get(STRING_COL)));
+                          }
+                        })))
+        .containsInAnyOrder(ImmutableList.of("101=first", "102=second", "101=first"));
+    PAssert.that(
+            out.get(failsafeModJsonToTableRow.transformDeadLetterOut)
+                .apply(
+                    ParDo.of(
+                        new DoFn<FailsafeElement<String, String>, String>() {
+                          @ProcessElement
+                          public void process(
+                              @Element FailsafeElement<String, String> input,
+                              OutputReceiver<String> receiver) {
+                            receiver.output(
+                                String.format(
+                                    "originalPayload=%s, errorMessage=%s",
+                                    input.getOriginalPayload(), input.getErrorMessage()));
+                          }
+                        })))
+        .containsInAnyOrder(
+            ImmutableList.of(
+                String.format(
+                    "originalPayload=%s, errorMessage=Received zero row from the result set of"
+                        + " Spanner snapshot row",
+                    missingRowMod.toJson())));
+    p.run().waitUntilFinish();
+  }
+
   // Test the case where a TableRow can be constructed from a UPDATE Mod
   // with value capture type as NEW_ROW_AND_OLD_VALUES.
   @Test
@@ -477,6 +567,29 @@ public final class FailsafeModJsonToTableRowTransformerTest implements Serializa
       Boolean useStorageWriteApi,
       List<ModColumnType> rowTypes)
       throws Exception {
+    validateBigQueryRow(
+        spannerDatabaseName,
+        commitTimestamp,
+        modType,
+        valueCaptureType,
+        keysJson,
+        newValuesJson,
+        useStorageWriteApi,
+        rowTypes,
+        1);
+  }
+
+  private void validateBigQueryRow(
+      String spannerDatabaseName,
+      Timestamp commitTimestamp,
+      ModType modType,
+      ValueCaptureType valueCaptureType,
+      String keysJson,
+      String newValuesJson,
+      Boolean useStorageWriteApi,
+      List<ModColumnType> rowTypes,
+      int snapshotReadBatchSize)
+      throws Exception {
     Mod mod =
         new Mod(
             keysJson,
@@ -596,7 +709,8 @@ public final class FailsafeModJsonToTableRowTransformerTest implements Serializa
                     }))
             .setCoder(SpannerChangeStreamsToBigQuery.FAILSAFE_ELEMENT_CODER);
     failsafeModJsonToTableRow =
-        getFailsafeModJsonToTableRow(spannerDatabaseName, useStorageWriteApi);
+        getFailsafeModJsonToTableRow(
+            spannerDatabaseName, useStorageWriteApi, snapshotReadBatchSize);
     PCollectionTuple out = input.apply("Mod JSON To TableRow", failsafeModJsonToTableRow);
     PAssert.that(
             out.get(failsafeModJsonToTableRow.transformOut)
@@ -616,6 +730,11 @@ public final class FailsafeModJsonToTableRowTransformerTest implements Serializa
 
   private static FailsafeModJsonToTableRow getFailsafeModJsonToTableRow(
       String spannerDatabaseName, Boolean useStorageWriteApi) {
+    return getFailsafeModJsonToTableRow(spannerDatabaseName, useStorageWriteApi, 1);
+  }
+
+  private static FailsafeModJsonToTableRow getFailsafeModJsonToTableRow(
+      String spannerDatabaseName, Boolean useStorageWriteApi, int snapshotReadBatchSize) {
     FailsafeModJsonToTableRowOptions failsafeModJsonToTableRowOptions =
         FailsafeModJsonToTableRowTransformer.FailsafeModJsonToTableRowOptions.builder()
             .setSpannerConfig(SPANNER_SERVER.getSpannerConfig(spannerDatabaseName))
@@ -623,6 +742,7 @@ public final class FailsafeModJsonToTableRowTransformerTest implements Serializa
             .setCoder(SpannerChangeStreamsToBigQuery.FAILSAFE_ELEMENT_CODER)
             .setIgnoreFields(ImmutableSet.of())
             .setUseStorageWriteApi(useStorageWriteApi)
+            .setSnapshotReadBatchSize(snapshotReadBatchSize)
             .build();
     return new FailsafeModJsonToTableRowTransformer.FailsafeModJsonToTableRow(
         failsafeModJsonToTableRowOptions);
@@ -725,13 +845,70 @@ public final class FailsafeModJsonToTableRowTransformerTest implements Serializa
     throw new RuntimeException("Cannot get commit timestamp from TimestampCol column");
   }
 
+  // Inserts the rows read by testFailsafeModJsonToTableRowUpdateBatchedSnapshotReadOfSeveralKeys in
+  // one transaction, so that their Mods share a commit timestamp and are read in the same batch.
+  private static Timestamp insertRowsForBatchedSnapshotRead(String spannerDatabaseName) {
+    List<Mutation> mutations = new ArrayList<>();
+    mutations.add(getBatchedSnapshotReadRow(101L, "first"));
+    mutations.add(getBatchedSnapshotReadRow(102L, "second"));
+    return SPANNER_SERVER.getDbClient(spannerDatabaseName).write(mutations);
+  }
+
+  private static Mutation getBatchedSnapshotReadRow(long int64PkVal, String stringVal) {
+    return Mutation.newInsertBuilder(TEST_SPANNER_TABLE)
+        .set(BOOLEAN_PK_COL)
+        .to(BOOLEAN_VAL)
+        .set(BYTES_PK_COL)
+        .to(BYTES_VAL)
+        .set(DATE_PK_COL)
+        .to(DATE_VAL)
+        .set(FLOAT64_PK_COL)
+        .to(FLOAT64_VAL)
+        .set(INT64_PK_COL)
+        .to(int64PkVal)
+        .set(NUMERIC_PK_COL)
+        .to(NUMERIC_VAL)
+        .set(STRING_PK_COL)
+        .to(STRING_VAL)
+        .set(TIMESTAMP_PK_COL)
+        .to(TIMESTAMP_VAL)
+        .set(STRING_COL)
+        .to(stringVal)
+        .set(TIMESTAMP_COL)
+        .to(Value.COMMIT_TIMESTAMP)
+        .build();
+  }
+
+  private Mod getBatchedUpdateMod(
+      long int64PkVal, String recordSequence, Timestamp commitTimestamp) {
+    ObjectNode newValuesJsonNode = new ObjectNode(JsonNodeFactory.instance);
+    newValuesJsonNode.put(TIMESTAMP_COL, commitTimestamp.toString());
+    return new Mod(
+        getKeysJson(int64PkVal),
+        newValuesJsonNode.toString(),
+        commitTimestamp,
+        "1",
+        true,
+        recordSequence,
+        TEST_SPANNER_TABLE,
+        getRowType(false),
+        ModType.UPDATE,
+        ValueCaptureType.OLD_AND_NEW_VALUES,
+        4L,
+        1L);
+  }
+
   private String getKeysJson() {
+    return getKeysJson(INT64_RAW_VAL);
+  }
+
+  private String getKeysJson(long int64PkVal) {
     ObjectNode jsonNode = new ObjectNode(JsonNodeFactory.instance);
     jsonNode.put(BOOLEAN_PK_COL, BOOLEAN_RAW_VAL);
     jsonNode.put(BYTES_PK_COL, BYTES_RAW_VAL.toBase64());
     jsonNode.put(DATE_PK_COL, DATE_RAW_VAL.toString());
     jsonNode.put(FLOAT64_PK_COL, FLOAT64_RAW_VAL);
-    jsonNode.put(INT64_PK_COL, INT64_RAW_VAL);
+    jsonNode.put(INT64_PK_COL, int64PkVal);
     jsonNode.put(NUMERIC_PK_COL, NUMERIC_RAW_VAL);
     jsonNode.put(STRING_PK_COL, STRING_RAW_VAL);
     jsonNode.put(TIMESTAMP_PK_COL, TIMESTAMP_RAW_VAL.toString());
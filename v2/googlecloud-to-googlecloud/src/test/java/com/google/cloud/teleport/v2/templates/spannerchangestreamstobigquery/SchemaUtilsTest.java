@@ -601,6 +601,56 @@ public class SchemaUtilsTest {
         .isEqualTo("[true,NDU2,2022-03-11,2.5,10,10,abc,2022-03-07T01:50:53.972000000Z]");
   }
 
+  @Test
+  public void testNormalizedKeyFromJsonMatchesResultSet() {
+    List<TrackedSpannerColumn> pkColumns = new ArrayList<>();
+    List<Type.StructField> structFields = new ArrayList<>();
+    for (TrackedSpannerColumn spannerColumn : spannerColumnsOfAllTypes) {
+      if (spannerColumn.getPkOrdinalPosition() != -1) {
+        pkColumns.add(spannerColumn);
+        structFields.add(Type.StructField.of(spannerColumn.getName(), spannerColumn.getType()));
+      }
+    }
+    JSONObject keysJsonObject = new JSONObject();
+    keysJsonObject.put(BOOLEAN_COL, BOOLEAN_VAL.getBool());
+    keysJsonObject.put(BYTES_COL, BYTES_VAL.getBytes().toBase64());
+    keysJsonObject.put(DATE_COL, DATE_VAL.getDate().toString());
+    keysJsonObject.put(FLOAT64_COL, FLOAT64_VAL.getFloat64());
+    keysJsonObject.put(INT64_COL, INT64_VAL.getInt64());
+    // The key of the mod can use a different scale than the value returned by Spanner.
+    keysJsonObject.put(NUMERIC_COL, NUMERIC_VAL.getNumeric().setScale(3));
+    keysJsonObject.put(STRING_COL, STRING_VAL.getString());
+    keysJsonObject.put(TIMESTAMP_COL, TIMESTAMP_VAL.toString());
+    // spotless:off
+    ResultSet resultSet =
+        ResultSets.forRows(
+            Type.struct(structFields),
+            Collections.singletonList(
+                Struct.newBuilder()
+                    .set(BOOLEAN_COL)
+                    .to(BOOLEAN_VAL)
+                    .set(BYTES_COL)
+                    .to(BYTES_VAL)
+                    .set(DATE_COL)
+                    .to(DATE_VAL)
+                    .set(FLOAT64_COL)
+                    .to(FLOAT64_VAL)
+                    .set(INT64_COL)
+                    .to(INT64_VAL)
+                    .set(NUMERIC_COL)
+                    .to(NUMERIC_VAL)
+                    .set(STRING_COL)
+                    .to(STRING_VAL)
+                    .set(TIMESTAMP_COL)
+                    .to(TIMESTAMP_VAL)
+                    .build()));
+    // spotless:on
+    assertThat(resultSet.next()).isTrue();
+
+    assertThat(SpannerChangeStreamsUtils.normalizedKeyFromResultSet(pkColumns, resultSet))
+        .isEqualTo(SpannerChangeStreamsUtils.normalizedKeyFromJson(pkColumns, keysJsonObject));
+  }
+
   @Test
   public void testTableRowColumnsToBigQueryIOFields() {
     TableRow tableRow = new TableRow();
@@ -25,16 +25,23 @@ import com.google.cloud.teleport.v2.neo4j.telemetry.ReportedSourceType;
 import com.google.cloud.teleport.v2.neo4j.utils.DataCastingUtils;
 import com.google.cloud.teleport.v2.neo4j.utils.SerializableSupplier;
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import org.apache.beam.sdk.transforms.Flatten;
 import org.apache.beam.sdk.transforms.GroupIntoBatches;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Partition;
 import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.transforms.Wait;
 import org.apache.beam.sdk.transforms.WithKeys;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.Row;
+import org.apache.beam.sdk.values.TypeDescriptors;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.neo4j.driver.TransactionConfig;
 import org.neo4j.importer.v1.Configuration;
@@ -42,6 +49,7 @@ import org.neo4j.importer.v1.ImportSpecification;
 import org.neo4j.importer.v1.sources.Source;
 import org.neo4j.importer.v1.targets.CustomQueryTarget;
 import org.neo4j.importer.v1.targets.EntityTarget;
+import org.neo4j.importer.v1.targets.RelationshipTarget;
 import org.neo4j.importer.v1.targets.Target;
 import org.neo4j.importer.v1.targets.TargetType;
 import org.slf4j.Logger;
@@ -69,6 +77,10 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
   private static final String LEGACY_QUERY_PARALLELISM_SETTING = "custom_query_parallelism";
   private static final Integer DEFAULT_QUERY_PARALLELISM_FACTOR = 1;
 
+  private static final String RELATIONSHIP_PARTITIONING_SETTING =
+      "relationship_target_partitioning";
+  private static final Boolean DEFAULT_RELATIONSHIP_PARTITIONING = false;
+
   private static final Logger LOG = LoggerFactory.getLogger(Neo4jRowWriterTransform.class);
   private final ImportSpecification importSpecification;
   private final Target target;
@@ -121,17 +133,74 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
             getRowCastingFunction(),
             connectionSupplier);
 
+    int parallelism = parallelismFactor(targetType, config);
+    int batchSize = batchSize(targetType, config);
+    if (targetType == TargetType.RELATIONSHIP
+        && parallelism > 1
+        && relationshipPartitioning(config)) {
+      return writePartitionedRelationships(input, neo4jUnwindFn, parallelism, batchSize);
+    }
+
     return input
-        .apply(
-            "Create KV pairs",
-            WithKeys.of(ThreadLocalRandomInt.of(parallelismFactor(targetType, config))))
-        .apply("Group into batches", GroupIntoBatches.ofSize(batchSize(targetType, config)))
+        .apply("Create KV pairs", WithKeys.of(ThreadLocalRandomInt.of(parallelism)))
+        .apply("Group into batches", GroupIntoBatches.ofSize(batchSize))
         .apply(
             targetSequence.getSequenceNumber(target) + ": Neo4j write " + target.getName(),
             ParDo.of(neo4jUnwindFn))
         .setRowSchema(input.getSchema());
   }
 
+  /**
+   * Writes relationships in rounds, so that concurrently written batches never lock the same start
+   * or end node. See {@link RelationshipPartitioner}.
+   */
+  private PCollection<Row> writePartitionedRelationships(
+      PCollection<Row> input,
+      Neo4jBlockingUnwindFn neo4jUnwindFn,
+      int parallelism,
+      int batchSize) {
+    var partitioner =
+        RelationshipPartitioner.of(importSpecification, (RelationshipTarget) target, parallelism);
+    LOG.info(
+        "Writing relationships of {} in {} rounds partitioned by start and end node keys",
+        target.getName(),
+        parallelism);
+
+    PCollectionList<Row> rounds =
+        input.apply(
+            "Partition into rounds",
+            Partition.of(parallelism, (Row row, int count) -> partitioner.round(row)));
+
+    List<PCollection<Row>> results = new ArrayList<>(parallelism);
+    PCollection<Row> previousRound = null;
+    for (int round = 0; round < parallelism; round++) {
+      PCollection<Row> rows = rounds.get(round);
+      if (previousRound != null) {
+        rows =
+            rows.apply("Wait on round " + (round - 1), Wait.<Row>on(previousRound))
+                .setRowSchema(input.getSchema());
+      }
+      previousRound =
+          rows.apply(
+                  "Create KV pairs for round " + round,
+                  WithKeys.of((Row row) -> partitioner.cell(row))
+                      .withKeyType(TypeDescriptors.integers()))
+              .apply("Group into batches for round " + round, GroupIntoBatches.ofSize(batchSize))
+              .apply(
+                  targetSequence.getSequenceNumber(target)
+                      + ": Neo4j write "
+                      + target.getName()
+                      + " round "
+                      + round,
+                  ParDo.of(neo4jUnwindFn))
+              .setRowSchema(input.getSchema());
+      results.add(previousRound);
+    }
+    return PCollectionList.of(results)
+        .apply("Flatten rounds", Flatten.pCollections())
+        .setRowSchema(input.getSchema());
+  }
+
   private ReportedSourceType determineReportedSourceType() {
     Source source =
         importSpecification.getSources().stream()
@@ -230,6 +299,12 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
     };
   }
 
+  private static boolean relationshipPartitioning(Configuration config) {
+    return config
+        .get(Boolean.class, RELATIONSHIP_PARTITIONING_SETTING)
+        .orElse(DEFAULT_RELATIONSHIP_PARTITIONING);
+  }
+
   private Neo4jCapabilities getNeo4jCapabilities() {
     try (Neo4jConnection neo4jConnection = connectionSupplier.get()) {
       return neo4jConnection.capabilities();
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.transforms;
+
+import static com.google.cloud.teleport.v2.neo4j.utils.ModelUtils.getKeyProperties;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.beam.sdk.values.Row;
+import org.neo4j.importer.v1.ImportSpecification;
+import org.neo4j.importer.v1.targets.KeyMapping;
+import org.neo4j.importer.v1.targets.NodeReference;
+import org.neo4j.importer.v1.targets.NodeTarget;
+import org.neo4j.importer.v1.targets.PropertyMapping;
+import org.neo4j.importer.v1.targets.RelationshipTarget;
+
+/**
+ * Assigns relationship rows to write rounds and cells so that cells written concurrently within a
+ * round never touch the same start or end node.
+ *
+ * <p>This follows the "mix and batch" approach: start and end node keys are hashed into {@code
+ * partitionCount} partitions, and every relationship falls into the cell of its start and end
+ * partition. Rounds are written one after the other, and each cell is written by a single key of
+ * {@link org.apache.beam.sdk.transforms.GroupIntoBatches}, so its batches run sequentially.
+ *
+ * <ul>
+ *   <li>When start and end nodes have no label in common, round {@code r} holds the cells {@code
+ *       (s, (s + r) mod n)}, which pairwise share neither a start nor an end partition.
+ *   <li>When they share a label, a node may be locked both as a start and as an end node. Round
+ *       {@code r} then holds the unordered cells {@code {s, e}} with {@code s + e = r mod n}: every
+ *       partition belongs to exactly one cell of the round.
+ * </ul>
+ */
+record RelationshipPartitioner(
+    List<String> startKeyFields,
+    List<String> endKeyFields,
+    boolean sharedKeySpace,
+    int partitionCount)
+    implements Serializable {
+
+  static RelationshipPartitioner of(
+      ImportSpecification importSpecification, RelationshipTarget target, int partitionCount) {
+    NodeTarget startNode =
+        resolveNode(importSpecification, target.getStartNodeReference().getName());
+    NodeTarget endNode = resolveNode(importSpecification, target.getEndNodeReference().getName());
+    Set<String> sharedLabels = new HashSet<>(startNode.getLabels());
+    sharedLabels.retainAll(endNode.getLabels());
+    return new RelationshipPartitioner(
+        keySourceFields(startNode, target.getStartNodeReference()),
+        keySourceFields(endNode, target.getEndNodeReference()),
+        !sharedLabels.isEmpty(),
+        partitionCount);
+  }
+
+  /** Returns the write round of the given relationship row, in {@code [0, partitionCount)}. */
+  int round(Row row) {
+    int start = partition(row, startKeyFields);
+    int end = partition(row, endKeyFields);
+    if (sharedKeySpace) {
+      return Math.floorMod(start + end, partitionCount);
+    }
+    return Math.floorMod(end - start, partitionCount);
+  }
+
+  /** Returns the cell of the given relationship row, unique among the cells of its round. */
+  int cell(Row row) {
+    int start = partition(row, startKeyFields);
+    if (sharedKeySpace) {
+      return Math.min(start, partition(row, endKeyFields));
+    }
+    return start;
+  }
+
+  int partition(Row row, List<String> keyFields) {
+    List<Object> keys = new ArrayList<>(keyFields.size());
+    for (String field : keyFields) {
+      Object value = row.getValue(field);
+      keys.add(value instanceof byte[] bytes ? Arrays.hashCode(bytes) : value);
+    }
+    return Math.floorMod(Objects.hashCode(keys), partitionCount);
+  }
+
+  private static List<String> keySourceFields(NodeTarget node, NodeReference reference) {
+    var keyMappings = reference.getKeyMappings();
+    if (!keyMappings.isEmpty()) {
+      return keyMappings.stream().map(KeyMapping::getSourceField).toList();
+    }
+    Map<String, String> fieldsByProperty =
+        node.getProperties().stream()
+            .collect(
+                Collectors.toMap(
+                    PropertyMapping::getTargetProperty,
+                    PropertyMapping::getSourceField,
+                    (first, second) -> first));
+    List<String> keyFields = new ArrayList<>();
+    for (String keyProperty : getKeyProperties(node)) {
+      String field = fieldsByProperty.get(keyProperty);
+      if (field == null) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Key property %s of node target %s is not mapped to any source field",
+                keyProperty, node.getName()));
+      }
+      keyFields.add(field);
+    }
+    return keyFields;
+  }
+
+  private static NodeTarget resolveNode(ImportSpecification importSpecification, String name) {
+    return importSpecification.getTargets().getNodes().stream()
+        .filter(node -> name.equals(node.getName()))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    String.format("Could not resolve node target reference %s", name)));
+  }
+}
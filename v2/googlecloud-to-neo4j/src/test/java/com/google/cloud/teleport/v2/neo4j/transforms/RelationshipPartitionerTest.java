@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.values.Row;
+import org.junit.Test;
+import org.neo4j.importer.v1.ImportSpecification;
+import org.neo4j.importer.v1.targets.NodeKeyConstraint;
+import org.neo4j.importer.v1.targets.NodeMatchMode;
+import org.neo4j.importer.v1.targets.NodeReference;
+import org.neo4j.importer.v1.targets.NodeSchema;
+import org.neo4j.importer.v1.targets.NodeTarget;
+import org.neo4j.importer.v1.targets.PropertyMapping;
+import org.neo4j.importer.v1.targets.RelationshipTarget;
+import org.neo4j.importer.v1.targets.Targets;
+import org.neo4j.importer.v1.targets.WriteMode;
+
+public class RelationshipPartitionerTest {
+
+  private static final Schema SCHEMA =
+      Schema.builder().addStringField("start_id").addInt64Field("end_id").build();
+
+  @Test
+  public void concurrent_cells_of_a_round_share_no_start_or_end_partition() {
+    var partitioner =
+        new RelationshipPartitioner(List.of("start_id"), List.of("end_id"), false, 4);
+
+    assertCellsAreDisjoint(partitioner, false);
+  }
+
+  @Test
+  public void concurrent_cells_of_a_round_share_no_partition_with_shared_key_space() {
+    var partitioner = new RelationshipPartitioner(List.of("start_id"), List.of("end_id"), true, 5);
+
+    assertCellsAreDisjoint(partitioner, true);
+  }
+
+  @Test
+  public void assigns_same_round_and_cell_to_same_node_keys() {
+    var partitioner =
+        new RelationshipPartitioner(List.of("start_id"), List.of("end_id"), false, 8);
+    Row row = row("node-42", 7L);
+
+    assertThat(partitioner.round(row)).isEqualTo(partitioner.round(row("node-42", 7L)));
+    assertThat(partitioner.cell(row)).isEqualTo(partitioner.cell(row("node-42", 7L)));
+    assertThat(partitioner.round(row)).isIn(Set.of(0, 1, 2, 3, 4, 5, 6, 7));
+  }
+
+  @Test
+  public void resolves_key_source_fields_from_node_property_mappings() {
+    var importSpecification =
+        importSpecification(
+            nodeTarget("start-node-target", "StartNode", "start_id"),
+            nodeTarget("end-node-target", "EndNode", "end_id"));
+
+    var partitioner =
+        RelationshipPartitioner.of(
+            importSpecification, importSpecification.getTargets().getRelationships().get(0), 4);
+
+    assertThat(partitioner.startKeyFields()).containsExactly("start_id");
+    assertThat(partitioner.endKeyFields()).containsExactly("end_id");
+    assertThat(partitioner.sharedKeySpace()).isFalse();
+  }
+
+  @Test
+  public void fails_when_key_property_has_no_source_field() {
+    var importSpecification =
+        importSpecification(
+            nodeTarget("start-node-target", "StartNode", "start_id"),
+            new NodeTarget(
+                true,
+                "end-node-target",
+                "a-source",
+                null,
+                WriteMode.MERGE,
+                List.of(),
+                List.of("EndNode"),
+                List.of(new PropertyMapping("end_name", "name", null)),
+                nodeSchema("EndNode")));
+
+    var exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                RelationshipPartitioner.of(
+                    importSpecification,
+                    importSpecification.getTargets().getRelationships().get(0),
+                    4));
+
+    assertThat(exception)
+        .hasMessageThat()
+        .isEqualTo(
+            "Key property id of node target end-node-target is not mapped to any source field");
+  }
+
+  private static void assertCellsAreDisjoint(
+      RelationshipPartitioner partitioner, boolean sharedKeySpace) {
+    // round -> partition -> cell that locks nodes of that partition
+    Map<Integer, Map<String, Integer>> lockedPartitions = new HashMap<>();
+    for (int i = 0; i < 500; i++) {
+      Row row = row("node-" + (i % 37), (long) (i % 23));
+      int round = partitioner.round(row);
+      int cell = partitioner.cell(row);
+      int start = partitioner.partition(row, partitioner.startKeyFields());
+      int end = partitioner.partition(row, partitioner.endKeyFields());
+      var locks = lockedPartitions.computeIfAbsent(round, r -> new HashMap<>());
+      Set<String> partitions = new HashSet<>();
+      if (sharedKeySpace) {
+        partitions.add("node:" + start);
+        partitions.add("node:" + end);
+      } else {
+        partitions.add("start:" + start);
+        partitions.add("end:" + end);
+      }
+      for (String partition : partitions) {
+        Integer previousCell = locks.putIfAbsent(partition, cell);
+        assertThat(previousCell == null ? cell : previousCell).isEqualTo(cell);
+      }
+    }
+  }
+
+  private static Row row(String startId, long endId) {
+    return Row.withSchema(SCHEMA).addValues(startId, endId).build();
+  }
+
+  private static ImportSpecification importSpecification(NodeTarget startNode, NodeTarget endNode) {
+    var relationship =
+        new RelationshipTarget(
+            true,
+            "links",
+            "a-source",
+            null,
+            "LINKS_TO",
+            WriteMode.CREATE,
+            NodeMatchMode.MATCH,
+            List.of(),
+            new NodeReference(startNode.getName()),
+            new NodeReference(endNode.getName()),
+            List.of(),
+            null);
+    return new ImportSpecification(
+        "1.0",
+        null,
+        null,
+        new Targets(List.of(startNode, endNode), List.of(relationship), null),
+        null);
+  }
+
+  private static NodeTarget nodeTarget(String name, String label, String keyField) {
+    return new NodeTarget(
+        true,
+        name,
+        "a-source",
+        null,
+        WriteMode.MERGE,
+        List.of(),
+        List.of(label),
+        List.of(new PropertyMapping(keyField, "id", null)),
+        nodeSchema(label));
+  }
+
+  private static NodeSchema nodeSchema(String label) {
+    return new NodeSchema(
+        null,
+        List.of(new NodeKeyConstraint(label + "-key", label, List.of("id"), null)),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null);
+  }
+}
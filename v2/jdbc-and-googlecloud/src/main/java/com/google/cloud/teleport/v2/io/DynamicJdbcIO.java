@@ -22,14 +22,23 @@ import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.base.Throwables;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.display.DisplayData;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
 import org.apache.beam.sdk.values.PCollection;
+import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,7 +51,10 @@ public class DynamicJdbcIO {
   private static final Logger LOG = LoggerFactory.getLogger(DynamicJdbcIO.class);
 
   public static <T> DynamicWrite<T> write() {
-    return new AutoValue_DynamicJdbcIO_DynamicWrite.Builder<T>().build();
+    return new AutoValue_DynamicJdbcIO_DynamicWrite.Builder<T>()
+        .setBatchSize(1L)
+        .setMaxBatchBufferingDuration(0L)
+        .build();
   }
 
   /** Implementation of {@link #write()}. */
@@ -58,6 +70,10 @@ public class DynamicJdbcIO {
     @Nullable
     abstract JdbcIO.PreparedStatementSetter<T> getPreparedStatementSetter();
 
+    abstract long getBatchSize();
+
+    abstract long getMaxBatchBufferingDuration();
+
     abstract Builder<T> toBuilder();
 
     @AutoValue.Builder
@@ -69,6 +85,10 @@ public class DynamicJdbcIO {
       abstract Builder<T> setPreparedStatementSetter(
           JdbcIO.PreparedStatementSetter<T> preparedStatementSetter);
 
+      abstract Builder<T> setBatchSize(long batchSize);
+
+      abstract Builder<T> setMaxBatchBufferingDuration(long maxBatchBufferingDuration);
+
       abstract DynamicWrite<T> build();
     }
 
@@ -94,12 +114,41 @@ public class DynamicJdbcIO {
       return toBuilder().setPreparedStatementSetter(preparedStatementSetter).build();
     }
 
+    /**
+     * Provide a maximum number of elements written in one JDBC batch and transaction. Default is 1,
+     * which executes and commits every element on its own.
+     *
+     * <p>If a batch fails, it is split in halves and retried until the failing elements are
+     * isolated, so only those are emitted as failures.
+     */
+    public DynamicWrite<T> withBatchSize(long batchSize) {
+      checkArgument(batchSize > 0, "batchSize must be > 0, but was %s", batchSize);
+      return toBuilder().setBatchSize(batchSize).build();
+    }
+
+    /**
+     * Provide a maximum time in milliseconds an element is buffered before its batch is written,
+     * checked as elements arrive. Buffered elements are always written at the end of a bundle.
+     * Default is 0, which bounds batches by size and bundle only.
+     */
+    public DynamicWrite<T> withMaxBatchBufferingDuration(long maxBatchBufferingDuration) {
+      checkArgument(
+          maxBatchBufferingDuration >= 0,
+          "maxBatchBufferingDuration must be >= 0, but was %s",
+          maxBatchBufferingDuration);
+      return toBuilder().setMaxBatchBufferingDuration(maxBatchBufferingDuration).build();
+    }
+
     @Override
     public PCollection<FailsafeElement<T, T>> expand(PCollection<T> input) {
       return input.apply(
           ParDo.of(
               new DynamicWriteFn<>(
-                  getDataSourceConfiguration(), getStatement(), getPreparedStatementSetter())));
+                  getDataSourceConfiguration(),
+                  getStatement(),
+                  getPreparedStatementSetter(),
+                  getBatchSize(),
+                  getMaxBatchBufferingDuration())));
     }
 
     @Override
@@ -109,27 +158,67 @@ public class DynamicJdbcIO {
       builder.add(
           DisplayData.item(
               "preparedStatementSetter", getPreparedStatementSetter().getClass().getName()));
+      builder.add(DisplayData.item("batchSize", getBatchSize()));
+    }
+  }
+
+  /** An element buffered for a batch, along with the metadata needed to emit it as a failure. */
+  private static class BufferedElement<T> {
+    final T element;
+    final Instant timestamp;
+    final BoundedWindow window;
+    Exception error;
+
+    BufferedElement(T element, Instant timestamp, BoundedWindow window) {
+      this.element = element;
+      this.timestamp = timestamp;
+      this.window = window;
+    }
+
+    FailsafeElement<T, T> toFailsafeElement() {
+      return FailsafeElement.of(element, element)
+          .setErrorMessage(error.getMessage())
+          .setStacktrace(Throwables.getStackTraceAsString(error));
     }
   }
 
   /** A {@link DoFn} executing the SQL query to write to the database. */
   private static class DynamicWriteFn<T> extends DoFn<T, FailsafeElement<T, T>> {
 
+    private final Counter writtenElements =
+        Metrics.counter(DynamicWriteFn.class, "jdbc_write_elements");
+    private final Counter failedElements =
+        Metrics.counter(DynamicWriteFn.class, "jdbc_write_failed_elements");
+    private final Counter commits = Metrics.counter(DynamicWriteFn.class, "jdbc_write_commits");
+    private final Distribution batchSizes =
+        Metrics.distribution(DynamicWriteFn.class, "jdbc_write_batch_size");
+    private final Distribution batchLatencyMs =
+        Metrics.distribution(DynamicWriteFn.class, "jdbc_write_batch_latency_ms");
+
     private final JdbcIO.DataSourceConfiguration dataSourceConfiguration;
     private final String statement;
     private final JdbcIO.PreparedStatementSetter<T> preparedStatementSetter;
+    private final long batchSize;
+    private final long maxBatchBufferingDuration;
 
     private DataSource dataSource;
     private Connection connection;
     private PreparedStatement preparedStatement;
+    private final List<BufferedElement<T>> buffer = new ArrayList<>();
+    private final List<BufferedElement<T>> failures = new ArrayList<>();
+    private long firstBufferedAtMillis;
 
     private DynamicWriteFn(
         JdbcIO.DataSourceConfiguration dataSourceConfiguration,
         String statement,
-        JdbcIO.PreparedStatementSetter<T> preparedStatementSetter) {
+        JdbcIO.PreparedStatementSetter<T> preparedStatementSetter,
+        long batchSize,
+        long maxBatchBufferingDuration) {
       this.dataSourceConfiguration = dataSourceConfiguration;
       this.statement = statement;
       this.preparedStatementSetter = preparedStatementSetter;
+      this.batchSize = batchSize;
+      this.maxBatchBufferingDuration = maxBatchBufferingDuration;
     }
 
     @Setup
@@ -140,19 +229,91 @@ public class DynamicJdbcIO {
       preparedStatement = connection.prepareStatement(statement);
     }
 
+    @StartBundle
+    public void startBundle() {
+      buffer.clear();
+      failures.clear();
+    }
+
     @ProcessElement
-    public void processElement(ProcessContext context) throws Exception {
+    public void processElement(ProcessContext context, BoundedWindow window) throws Exception {
+      if (buffer.isEmpty()) {
+        firstBufferedAtMillis = System.currentTimeMillis();
+      }
+      buffer.add(new BufferedElement<>(context.element(), context.timestamp(), window));
+      if (buffer.size() >= batchSize
+          || (maxBatchBufferingDuration > 0
+              && System.currentTimeMillis() - firstBufferedAtMillis
+                  >= maxBatchBufferingDuration)) {
+        // Failures are emitted in finishBundle, where each can keep the timestamp and window of
+        // its own element rather than those of the element that filled the batch.
+        failures.addAll(flush());
+      }
+    }
+
+    @FinishBundle
+    public void finishBundle(FinishBundleContext context) throws Exception {
+      failures.addAll(flush());
+      for (BufferedElement<T> failure : failures) {
+        context.output(failure.toFailsafeElement(), failure.timestamp, failure.window);
+      }
+      failures.clear();
+    }
+
+    /** Writes and clears the buffer, returning the elements that could not be written. */
+    private List<BufferedElement<T>> flush() throws SQLException {
+      if (buffer.isEmpty()) {
+        return Collections.emptyList();
+      }
+      List<BufferedElement<T>> failures = writeBatch(buffer);
+      buffer.clear();
+      return failures;
+    }
+
+    /**
+     * Writes {@code batch} in a single transaction. On failure the transaction is rolled back and
+     * each half of the batch is written on its own, recursively, until the failing elements are
+     * isolated.
+     */
+    private List<BufferedElement<T>> writeBatch(List<BufferedElement<T>> batch)
+        throws SQLException {
+      long startMillis = System.currentTimeMillis();
       try {
-        preparedStatement.clearParameters();
-        preparedStatementSetter.setParameters(context.element(), preparedStatement);
-        preparedStatement.execute();
+        if (batch.size() == 1) {
+          preparedStatement.clearParameters();
+          preparedStatementSetter.setParameters(batch.get(0).element, preparedStatement);
+          preparedStatement.execute();
+        } else {
+          preparedStatement.clearBatch();
+          for (BufferedElement<T> bufferedElement : batch) {
+            preparedStatement.clearParameters();
+            preparedStatementSetter.setParameters(bufferedElement.element, preparedStatement);
+            preparedStatement.addBatch();
+          }
+          preparedStatement.executeBatch();
+        }
         connection.commit();
+        commits.inc();
+        writtenElements.inc(batch.size());
+        batchSizes.update(batch.size());
+        batchLatencyMs.update(System.currentTimeMillis() - startMillis);
+        return Collections.emptyList();
       } catch (Exception e) {
-        LOG.error("Error while executing statement: {}", e.getMessage());
-        context.output(
-            FailsafeElement.of(context.element(), context.element())
-                .setErrorMessage(e.getMessage())
-                .setStacktrace(Throwables.getStackTraceAsString(e)));
+        connection.rollback();
+        if (batch.size() == 1) {
+          LOG.error("Error while executing statement: {}", e.getMessage());
+          failedElements.inc();
+          batch.get(0).error = e;
+          return Collections.singletonList(batch.get(0));
+        }
+        LOG.warn(
+            "Batch of {} elements failed, splitting to isolate failures: {}",
+            batch.size(),
+            e.getMessage());
+        int middle = batch.size() / 2;
+        List<BufferedElement<T>> failures = new ArrayList<>(writeBatch(batch.subList(0, middle)));
+        failures.addAll(writeBatch(batch.subList(middle, batch.size())));
+        return failures;
       }
     }
 
@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.options;
 
 import com.google.cloud.teleport.metadata.TemplateParameter;
+import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.Validation;
 
 /**
@@ -147,4 +148,30 @@ public interface PubsubToJdbcOptions extends CommonTemplateOptions {
   String getKMSEncryptionKey();
 
   void setKMSEncryptionKey(String keyName);
+
+  @TemplateParameter.Long(
+      order = 11,
+      optional = true,
+      description = "Batch size",
+      helpText =
+          "The maximum number of messages written to the database in one batch and transaction. "
+              + "When a batch fails, it is split to isolate the failing messages, which are sent "
+              + "to the deadletter topic. Defaults to `1`, which commits every message on its own.")
+  @Default.Long(1)
+  Long getBatchSize();
+
+  void setBatchSize(Long batchSize);
+
+  @TemplateParameter.Long(
+      order = 12,
+      optional = true,
+      description = "Maximum batch buffering duration in milliseconds",
+      helpText =
+          "The maximum time in milliseconds a message is buffered before its batch is written. "
+              + "Batches are always written at the end of a bundle. Defaults to `0`, which bounds "
+              + "batches by size only.")
+  @Default.Long(0)
+  Long getMaxBatchBufferingDuration();
+
+  void setMaxBatchBufferingDuration(Long maxBatchBufferingDuration);
 }
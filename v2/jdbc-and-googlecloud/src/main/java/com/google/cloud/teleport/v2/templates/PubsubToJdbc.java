@@ -141,7 +141,9 @@ public class PubsubToJdbc {
                     .withDataSourceConfiguration(dataSourceConfiguration)
                     .withStatement(options.getStatement())
                     .withPreparedStatementSetter(
-                        new JsonStringToQueryMapper(getKeyOrder(options.getStatement()))))
+                        new JsonStringToQueryMapper(getKeyOrder(options.getStatement())))
+                    .withBatchSize(options.getBatchSize())
+                    .withMaxBatchBufferingDuration(options.getMaxBatchBufferingDuration()))
             .setCoder(FAILSAFE_ELEMENT_CODER);
 
     errors.apply(
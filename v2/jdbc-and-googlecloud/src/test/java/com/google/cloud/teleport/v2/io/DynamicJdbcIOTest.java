@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.io;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.windowing.FixedWindows;
+import org.apache.beam.sdk.transforms.windowing.IntervalWindow;
+import org.apache.beam.sdk.transforms.windowing.Window;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TimestampedValue;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link DynamicJdbcIO}. */
+@RunWith(JUnit4.class)
+public final class DynamicJdbcIOTest {
+
+  private static final String URL = "jdbc:derby:memory:dynamicjdbcio";
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+
+  @Before
+  public void setUp() throws Exception {
+    System.setProperty("derby.stream.error.field", "System.out"); // log to console, not a log file
+    try (Connection conn = DriverManager.getConnection(URL + ";create=true");
+        Statement statement = conn.createStatement()) {
+      statement.execute("CREATE TABLE items (id INT PRIMARY KEY)");
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    try (Connection conn = DriverManager.getConnection(URL);
+        Statement statement = conn.createStatement()) {
+      statement.execute("DROP TABLE items");
+    }
+  }
+
+  @Test
+  public void testBatchedWriteIsolatesFailedElements() throws Exception {
+    PCollection<FailsafeElement<String, String>> errors =
+        pipeline
+            .apply(Create.of("1", "2", "not-a-number", "3", "4", "2", "5"))
+            .apply(
+                DynamicJdbcIO.<String>write()
+                    .withDataSourceConfiguration(
+                        JdbcIO.DataSourceConfiguration.create(
+                            "org.apache.derby.jdbc.EmbeddedDriver", URL))
+                    .withStatement("INSERT INTO items (id) VALUES (?)")
+                    .withPreparedStatementSetter(
+                        (element, statement) -> statement.setInt(1, Integer.parseInt(element)))
+                    .withBatchSize(100))
+            .setCoder(FailsafeElementCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of()));
+
+    PAssert.that(
+            errors.apply(
+                MapElements.into(TypeDescriptors.strings())
+                    .via(FailsafeElement::getOriginalPayload)))
+        .containsInAnyOrder("not-a-number", "2");
+    pipeline.run();
+
+    try (Connection conn = DriverManager.getConnection(URL);
+        Statement statement = conn.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM items")) {
+      resultSet.next();
+      assertThat(resultSet.getInt(1)).isEqualTo(5);
+    }
+  }
+
+  @Test
+  public void testFailuresKeepTheirOwnWindowWhenFlushedMidBundle() {
+    Instant start = new Instant(0);
+    PCollection<FailsafeElement<String, String>> errors =
+        pipeline
+            .apply(
+                Create.timestamped(
+                    TimestampedValue.of("not-a-number", start),
+                    TimestampedValue.of("1", start.plus(Duration.standardMinutes(1))),
+                    TimestampedValue.of("2", start.plus(Duration.standardMinutes(2))),
+                    TimestampedValue.of(
+                        "also-not-a-number", start.plus(Duration.standardMinutes(3)))))
+            .apply(Window.into(FixedWindows.of(Duration.standardMinutes(1))))
+            .apply(
+                DynamicJdbcIO.<String>write()
+                    .withDataSourceConfiguration(
+                        JdbcIO.DataSourceConfiguration.create(
+                            "org.apache.derby.jdbc.EmbeddedDriver", URL))
+                    .withStatement("INSERT INTO items (id) VALUES (?)")
+                    .withPreparedStatementSetter(
+                        (element, statement) -> statement.setInt(1, Integer.parseInt(element)))
+                    .withBatchSize(2))
+            .setCoder(FailsafeElementCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of()));
+
+    PCollection<String> payloads =
+        errors.apply(
+            MapElements.into(TypeDescriptors.strings()).via(FailsafeElement::getOriginalPayload));
+    PAssert.that(payloads)
+        .inWindow(new IntervalWindow(start, Duration.standardMinutes(1)))
+        .containsInAnyOrder("not-a-number");
+    PAssert.that(payloads)
+        .inWindow(
+            new IntervalWindow(
+                start.plus(Duration.standardMinutes(3)), Duration.standardMinutes(1)))
+        .containsInAnyOrder("also-not-a-number");
+    pipeline.run();
+  }
+}
@@ -19,20 +19,38 @@ import java.io.IOException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
+/**
+ * Deserializes Avro binary encoded messages without a schema registry header.
+ *
+ * <p>The {@link DatumReader} and the {@link BinaryDecoder} are created once and reused for every
+ * message, so instances are not thread-safe. When record reuse is enabled, each call returns the
+ * same {@link GenericRecord} instance filled with the new message; callers must then be done with
+ * a record before deserializing the next message.
+ */
 public class BinaryAvroDeserializer implements Deserializer<GenericRecord> {
   private Schema schema;
+  private boolean reuseRecords;
+
+  private DatumReader<GenericRecord> reader;
+  private BinaryDecoder decoder;
+  private GenericRecord reusedRecord;
 
   public BinaryAvroDeserializer() {}
 
   public BinaryAvroDeserializer(Schema schema) {
+    this(schema, false);
+  }
+
+  public BinaryAvroDeserializer(Schema schema, boolean reuseRecords) {
     this.schema = schema;
+    this.reuseRecords = reuseRecords;
   }
 
   @Override
@@ -43,9 +61,15 @@ public class BinaryAvroDeserializer implements Deserializer<GenericRecord> {
   @Override
   public GenericRecord deserialize(String topic, byte[] bytes) {
     try {
-      Decoder decoder = DecoderFactory.get().binaryDecoder(bytes, null);
-      DatumReader<GenericRecord> reader = new GenericDatumReader<GenericRecord>(this.schema);
-      return reader.read(null, decoder);
+      if (reader == null) {
+        reader = new GenericDatumReader<>(this.schema);
+      }
+      decoder = DecoderFactory.get().binaryDecoder(bytes, decoder);
+      GenericRecord record = reader.read(reuseRecords ? reusedRecord : null, decoder);
+      if (reuseRecords) {
+        reusedRecord = record;
+      }
+      return record;
     } catch (IOException e) {
       throw new SerializationException("Error deserialing avro message", e.getCause());
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Deserializes Avro messages in the Confluent wire format: a zero magic byte, a 4-byte schema ID
+ * and the Avro binary encoded record.
+ *
+ * <p>Unlike {@code KafkaAvroDeserializer}, which resolves the writer and reader schemas and
+ * creates a new {@link DatumReader} and decoder for every message, this deserializer keeps one
+ * {@link DatumReader} per writer schema ID and reuses a single {@link BinaryDecoder}. Writer
+ * schemas are looked up in the {@link SchemaRegistryClient} once per schema ID. If no reader
+ * schema is given, records are read with their writer schema.
+ *
+ * <p>Instances are not thread-safe. When record reuse is enabled, each call returns a reused
+ * {@link GenericRecord} instance per schema ID; callers must then be done with a record before
+ * deserializing the next message.
+ */
+public class ConfluentAvroDeserializer implements Deserializer<GenericRecord> {
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int HEADER_SIZE = 5;
+
+  private final SchemaRegistryClient schemaRegistryClient;
+  private final Schema readerSchema;
+  private final boolean reuseRecords;
+
+  private final Map<Integer, DatumReader<GenericRecord>> readersBySchemaId = new HashMap<>();
+  private final Map<Integer, GenericRecord> reusedRecordsBySchemaId = new HashMap<>();
+  private BinaryDecoder decoder;
+
+  public ConfluentAvroDeserializer(SchemaRegistryClient schemaRegistryClient) {
+    this(schemaRegistryClient, null, false);
+  }
+
+  public ConfluentAvroDeserializer(
+      SchemaRegistryClient schemaRegistryClient, Schema readerSchema, boolean reuseRecords) {
+    this.schemaRegistryClient = schemaRegistryClient;
+    this.readerSchema = readerSchema;
+    this.reuseRecords = reuseRecords;
+  }
+
+  @Override
+  public GenericRecord deserialize(String topic, Headers headers, byte[] bytes) {
+    return deserialize(topic, bytes);
+  }
+
+  @Override
+  public GenericRecord deserialize(String topic, byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC_BYTE) {
+      throw new SerializationException("Unknown magic byte!");
+    }
+    int schemaId =
+        ((bytes[1] & 0xFF) << 24)
+            | ((bytes[2] & 0xFF) << 16)
+            | ((bytes[3] & 0xFF) << 8)
+            | (bytes[4] & 0xFF);
+    try {
+      DatumReader<GenericRecord> reader = readersBySchemaId.get(schemaId);
+      if (reader == null) {
+        reader = createReader(schemaId);
+        readersBySchemaId.put(schemaId, reader);
+      }
+      int length = bytes.length - HEADER_SIZE;
+      decoder = DecoderFactory.get().binaryDecoder(bytes, HEADER_SIZE, length, decoder);
+      if (!reuseRecords) {
+        return reader.read(null, decoder);
+      }
+      GenericRecord record = reader.read(reusedRecordsBySchemaId.get(schemaId), decoder);
+      reusedRecordsBySchemaId.put(schemaId, record);
+      return record;
+    } catch (IOException | RestClientException | RuntimeException e) {
+      throw new SerializationException("Error deserializing Avro message for id " + schemaId, e);
+    }
+  }
+
+  private DatumReader<GenericRecord> createReader(int schemaId)
+      throws IOException, RestClientException {
+    ParsedSchema parsedSchema = schemaRegistryClient.getSchemaById(schemaId);
+    Schema writerSchema = (Schema) parsedSchema.rawSchema();
+    return new GenericDatumReader<>(
+        writerSchema, readerSchema != null ? readerSchema : writerSchema);
+  }
+
+  @Override
+  public void close() {}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the Avro deserialization paths used by the Kafka templates.
+ *
+ * <p>Each invocation deserializes one record, so the throughput score is in records per second.
+ * Running {@link #main} also enables the GC profiler, whose {@code gc.alloc.rate.norm} metric is
+ * the number of bytes allocated per record. The {@code perRecord*} and {@code kafkaAvro*}
+ * benchmarks measure the previous behavior, which created a new reader and decoder per record.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -pl v2/kafka-common -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.google.cloud.teleport.v2.kafka.transforms.AvroDeserializerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AvroDeserializerBenchmark {
+  private static final String TOPIC = "topic";
+  private static final int SCHEMA_ID = 1;
+  private static final int MESSAGE_COUNT = 1024;
+
+  private static final Schema SCHEMA =
+      SchemaBuilder.record("Event")
+          .fields()
+          .requiredLong("id")
+          .requiredString("name")
+          .optionalString("description")
+          .requiredInt("count")
+          .requiredDouble("score")
+          .requiredBoolean("active")
+          .requiredLong("timestamp")
+          .name("tags")
+          .type()
+          .array()
+          .items()
+          .stringType()
+          .noDefault()
+          .endRecord();
+
+  private byte[][] binaryMessages;
+  private byte[][] wireFormatMessages;
+  private int next;
+
+  private BinaryAvroDeserializer binaryDeserializer;
+  private BinaryAvroDeserializer binaryReusingDeserializer;
+  private KafkaAvroDeserializer kafkaAvroDeserializer;
+  private ConfluentAvroDeserializer confluentDeserializer;
+  private ConfluentAvroDeserializer confluentReusingDeserializer;
+
+  @Setup
+  public void setup() throws Exception {
+    Random random = new Random(42);
+    binaryMessages = new byte[MESSAGE_COUNT][];
+    wireFormatMessages = new byte[MESSAGE_COUNT][];
+    for (int i = 0; i < MESSAGE_COUNT; i++) {
+      GenericRecord record = new GenericData.Record(SCHEMA);
+      record.put("id", random.nextLong());
+      record.put("name", "event-" + i);
+      record.put("description", i % 2 == 0 ? null : "description of event " + i);
+      record.put("count", random.nextInt(1000));
+      record.put("score", random.nextDouble());
+      record.put("active", random.nextBoolean());
+      record.put("timestamp", System.currentTimeMillis());
+      record.put("tags", List.of("tag-a", "tag-b", "tag-" + i));
+      binaryMessages[i] = encode(record);
+      wireFormatMessages[i] =
+          ByteBuffer.allocate(5 + binaryMessages[i].length)
+              .put((byte) 0)
+              .putInt(SCHEMA_ID)
+              .put(binaryMessages[i])
+              .array();
+    }
+
+    SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+    schemaRegistryClient.register(TOPIC, SCHEMA, 1, SCHEMA_ID);
+
+    binaryDeserializer = new BinaryAvroDeserializer(SCHEMA);
+    binaryReusingDeserializer = new BinaryAvroDeserializer(SCHEMA, true);
+    kafkaAvroDeserializer = new KafkaAvroDeserializer(schemaRegistryClient);
+    confluentDeserializer = new ConfluentAvroDeserializer(schemaRegistryClient);
+    confluentReusingDeserializer = new ConfluentAvroDeserializer(schemaRegistryClient, null, true);
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % MESSAGE_COUNT;
+    return next;
+  }
+
+  /** Previous {@link BinaryAvroDeserializer} behavior: a new reader and decoder per record. */
+  @Benchmark
+  public GenericRecord perRecordReaderBinary() throws IOException {
+    Decoder decoder = DecoderFactory.get().binaryDecoder(binaryMessages[nextIndex()], null);
+    DatumReader<GenericRecord> reader = new GenericDatumReader<>(SCHEMA);
+    return reader.read(null, decoder);
+  }
+
+  @Benchmark
+  public GenericRecord reusedReaderBinary() {
+    return binaryDeserializer.deserialize(TOPIC, binaryMessages[nextIndex()]);
+  }
+
+  @Benchmark
+  public GenericRecord reusedRecordBinary() {
+    return binaryReusingDeserializer.deserialize(TOPIC, binaryMessages[nextIndex()]);
+  }
+
+  /** Previous Confluent wire format path through {@link KafkaAvroDeserializer}. */
+  @Benchmark
+  public Object kafkaAvroDeserializerWireFormat() {
+    return kafkaAvroDeserializer.deserialize(TOPIC, wireFormatMessages[nextIndex()]);
+  }
+
+  @Benchmark
+  public GenericRecord reusedReaderWireFormat() {
+    return confluentDeserializer.deserialize(TOPIC, wireFormatMessages[nextIndex()]);
+  }
+
+  @Benchmark
+  public GenericRecord reusedRecordWireFormat() {
+    return confluentReusingDeserializer.deserialize(TOPIC, wireFormatMessages[nextIndex()]);
+  }
+
+  private static byte[] encode(GenericRecord record) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(SCHEMA).write(record, encoder);
+    encoder.flush();
+    return out.toByteArray();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder()
+            .include(AvroDeserializerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
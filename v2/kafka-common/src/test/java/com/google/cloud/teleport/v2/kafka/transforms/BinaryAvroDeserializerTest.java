@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Test class for {@link BinaryAvroDeserializer}. */
+public class BinaryAvroDeserializerTest {
+  private static final Schema SCHEMA =
+      SchemaBuilder.record("User").fields().requiredString("name").requiredLong("id").endRecord();
+
+  /** Tests that consecutive messages are read correctly with the reused decoder. */
+  @Test
+  public void testDeserializeConsecutiveMessages() throws IOException {
+    BinaryAvroDeserializer deserializer = new BinaryAvroDeserializer(SCHEMA);
+
+    GenericRecord first = deserializer.deserialize("topic", encode(user("alice", 1L)));
+    GenericRecord second = deserializer.deserialize("topic", encode(user("bob", 2L)));
+
+    Assert.assertEquals(user("alice", 1L).toString(), first.toString());
+    Assert.assertEquals(user("bob", 2L).toString(), second.toString());
+    Assert.assertNotSame(first, second);
+  }
+
+  /** Tests that the record instance is reused when enabled. */
+  @Test
+  public void testDeserializeReusesRecord() throws IOException {
+    BinaryAvroDeserializer deserializer = new BinaryAvroDeserializer(SCHEMA, true);
+
+    GenericRecord first = deserializer.deserialize("topic", encode(user("alice", 1L)));
+    GenericRecord second = deserializer.deserialize("topic", encode(user("bob", 2L)));
+
+    Assert.assertSame(first, second);
+    Assert.assertEquals(user("bob", 2L).toString(), second.toString());
+  }
+
+  private static GenericRecord user(String name, long id) {
+    GenericRecord record = new GenericData.Record(SCHEMA);
+    record.put("name", name);
+    record.put("id", id);
+    return record;
+  }
+
+  private static byte[] encode(GenericRecord record) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(SCHEMA).write(record, encoder);
+    encoder.flush();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test class for {@link ConfluentAvroDeserializer}. */
+public class ConfluentAvroDeserializerTest {
+  private static final String TOPIC = "topic";
+
+  private static final Schema SCHEMA_V1 =
+      SchemaBuilder.record("User").fields().requiredString("name").requiredLong("id").endRecord();
+  private static final Schema SCHEMA_V2 =
+      SchemaBuilder.record("User")
+          .fields()
+          .requiredString("name")
+          .requiredLong("id")
+          .optionalString("email")
+          .endRecord();
+
+  private SchemaRegistryClient schemaRegistryClient;
+
+  @Before
+  public void setUp() throws Exception {
+    schemaRegistryClient = new MockSchemaRegistryClient();
+    schemaRegistryClient.register(TOPIC, SCHEMA_V1, 1, 1);
+    schemaRegistryClient.register(TOPIC, SCHEMA_V2, 2, 2);
+  }
+
+  /** Tests that records match the ones read by the Confluent deserializer. */
+  @Test
+  public void testDeserializeMatchesKafkaAvroDeserializer() throws IOException {
+    byte[] bytes = wireFormat(1, user(SCHEMA_V1, "alice", 1L));
+
+    GenericRecord expected =
+        (GenericRecord) new KafkaAvroDeserializer(schemaRegistryClient).deserialize(TOPIC, bytes);
+    GenericRecord actual =
+        new ConfluentAvroDeserializer(schemaRegistryClient).deserialize(TOPIC, bytes);
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  /** Tests that each message is read with the writer schema of its schema ID. */
+  @Test
+  public void testDeserializeUsesWriterSchemaPerId() throws IOException {
+    GenericRecord v2User = user(SCHEMA_V2, "bob", 2L);
+    v2User.put("email", "bob@example.com");
+    ConfluentAvroDeserializer deserializer = new ConfluentAvroDeserializer(schemaRegistryClient);
+
+    GenericRecord first = deserializer.deserialize(TOPIC, wireFormat(1, user(SCHEMA_V1, "a", 1L)));
+    GenericRecord second = deserializer.deserialize(TOPIC, wireFormat(2, v2User));
+    GenericRecord third = deserializer.deserialize(TOPIC, wireFormat(1, user(SCHEMA_V1, "c", 3L)));
+
+    Assert.assertEquals(SCHEMA_V1, first.getSchema());
+    Assert.assertEquals(v2User, second);
+    Assert.assertEquals("c", third.get("name").toString());
+    Assert.assertEquals(3L, third.get("id"));
+  }
+
+  /** Tests that records are resolved to the reader schema when one is given. */
+  @Test
+  public void testDeserializeWithReaderSchema() throws IOException {
+    ConfluentAvroDeserializer deserializer =
+        new ConfluentAvroDeserializer(schemaRegistryClient, SCHEMA_V2, false);
+
+    GenericRecord record =
+        deserializer.deserialize(TOPIC, wireFormat(1, user(SCHEMA_V1, "alice", 1L)));
+
+    Assert.assertEquals(SCHEMA_V2, record.getSchema());
+    Assert.assertNull(record.get("email"));
+  }
+
+  /** Tests that record instances are only reused when enabled. */
+  @Test
+  public void testRecordReuse() throws IOException {
+    byte[] bytes = wireFormat(1, user(SCHEMA_V1, "alice", 1L));
+    ConfluentAvroDeserializer reusing =
+        new ConfluentAvroDeserializer(schemaRegistryClient, null, true);
+    ConfluentAvroDeserializer notReusing = new ConfluentAvroDeserializer(schemaRegistryClient);
+
+    Assert.assertSame(reusing.deserialize(TOPIC, bytes), reusing.deserialize(TOPIC, bytes));
+    Assert.assertNotSame(
+        notReusing.deserialize(TOPIC, bytes), notReusing.deserialize(TOPIC, bytes));
+  }
+
+  /** Tests that messages without the Confluent header are rejected. */
+  @Test(expected = SerializationException.class)
+  public void testDeserializeUnknownMagicByte() {
+    new ConfluentAvroDeserializer(schemaRegistryClient).deserialize(TOPIC, new byte[] {1, 0, 0});
+  }
+
+  /** Tests that null messages are deserialized to null. */
+  @Test
+  public void testDeserializeNull() {
+    ConfluentAvroDeserializer deserializer = new ConfluentAvroDeserializer(schemaRegistryClient);
+    Assert.assertNull(deserializer.deserialize(TOPIC, null));
+  }
+
+  private static GenericRecord user(Schema schema, String name, long id) {
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("name", name);
+    record.put("id", id);
+    return record;
+  }
+
+  private static byte[] wireFormat(int schemaId, GenericRecord record) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(0);
+    out.write(ByteBuffer.allocate(4).putInt(schemaId).array());
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(record.getSchema()).write(record, encoder);
+    encoder.flush();
+    return out.toByteArray();
+  }
+}
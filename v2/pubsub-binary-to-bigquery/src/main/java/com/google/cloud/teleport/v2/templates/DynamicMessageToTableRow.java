@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.BaseEncoding;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Duration;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Durations;
+import com.google.protobuf.util.Timestamps;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+
+/**
+ * Converts a {@link DynamicMessage} into a {@link TableRow} by walking its fields, instead of
+ * printing it with {@code JsonFormat} and parsing the JSON back.
+ *
+ * <p>The rows hold the same names and values as the JSON path: field names follow {@code
+ * JsonFormat}, 64-bit integers are strings, enums are their names, bytes are base64 strings, and
+ * {@code google.protobuf.Timestamp}, {@code Duration} and wrapper types are unwrapped. Map fields
+ * and the other well-known types, whose JSON form is not a plain record, are not handled; {@link
+ * #isSupported} tells whether a message type can be converted.
+ */
+final class DynamicMessageToTableRow implements SerializableFunction<DynamicMessage, TableRow> {
+
+  private static final String TIMESTAMP = "google.protobuf.Timestamp";
+  private static final String DURATION = "google.protobuf.Duration";
+  private static final String NULL_VALUE = "google.protobuf.NullValue";
+  private static final ImmutableSet<String> WRAPPERS =
+      ImmutableSet.of(
+          "google.protobuf.DoubleValue",
+          "google.protobuf.FloatValue",
+          "google.protobuf.Int64Value",
+          "google.protobuf.UInt64Value",
+          "google.protobuf.Int32Value",
+          "google.protobuf.UInt32Value",
+          "google.protobuf.BoolValue",
+          "google.protobuf.StringValue",
+          "google.protobuf.BytesValue");
+
+  private final boolean preserveProtoFieldNames;
+
+  DynamicMessageToTableRow(boolean preserveProtoFieldNames) {
+    this.preserveProtoFieldNames = preserveProtoFieldNames;
+  }
+
+  /** Returns whether every field reachable from {@code descriptor} can be converted. */
+  static boolean isSupported(Descriptor descriptor) {
+    return isSupported(descriptor, new HashSet<>());
+  }
+
+  private static boolean isSupported(Descriptor descriptor, Set<String> visited) {
+    if (!visited.add(descriptor.getFullName())) {
+      return true;
+    }
+    for (FieldDescriptor field : descriptor.getFields()) {
+      if (field.isMapField()) {
+        return false;
+      }
+      if (field.getJavaType() != FieldDescriptor.JavaType.MESSAGE) {
+        continue;
+      }
+      String typeName = field.getMessageType().getFullName();
+      if (typeName.equals(TIMESTAMP) || typeName.equals(DURATION) || WRAPPERS.contains(typeName)) {
+        continue;
+      }
+      if (typeName.startsWith("google.protobuf.")
+          || !isSupported(field.getMessageType(), visited)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public TableRow apply(DynamicMessage message) {
+    TableRow row = new TableRow();
+    for (Map.Entry<FieldDescriptor, Object> field : message.getAllFields().entrySet()) {
+      row.set(getName(field.getKey()), toValue(field.getKey(), field.getValue()));
+    }
+    return row;
+  }
+
+  private String getName(FieldDescriptor field) {
+    return preserveProtoFieldNames ? field.getName() : field.getJsonName();
+  }
+
+  private Object toValue(FieldDescriptor field, Object value) {
+    if (field.isRepeated()) {
+      List<?> values = (List<?>) value;
+      List<Object> converted = new ArrayList<>(values.size());
+      for (Object element : values) {
+        converted.add(toSingleValue(field, element));
+      }
+      return converted;
+    }
+    return toSingleValue(field, value);
+  }
+
+  private Object toSingleValue(FieldDescriptor field, Object value) {
+    switch (field.getType()) {
+      case INT32:
+      case SINT32:
+      case SFIXED32:
+      case BOOL:
+      case STRING:
+        return value;
+      case UINT32:
+      case FIXED32:
+        long unsigned = Integer.toUnsignedLong((Integer) value);
+        return unsigned <= Integer.MAX_VALUE ? (Object) (int) unsigned : unsigned;
+      case DOUBLE:
+        return toJsonDouble((Double) value);
+      case INT64:
+      case SINT64:
+      case SFIXED64:
+        return String.valueOf(value);
+      case UINT64:
+      case FIXED64:
+        return Long.toUnsignedString((Long) value);
+      case FLOAT:
+        // JsonFormat prints the shortest float representation, which parses back as that double.
+        return toJsonDouble(Double.parseDouble(Float.toString((Float) value)));
+      case BYTES:
+        return BaseEncoding.base64().encode(((ByteString) value).toByteArray());
+      case ENUM:
+        EnumValueDescriptor enumValue = (EnumValueDescriptor) value;
+        if (enumValue.getType().getFullName().equals(NULL_VALUE)) {
+          return null;
+        }
+        return enumValue.getIndex() == -1 ? (Object) enumValue.getNumber() : enumValue.getName();
+      case MESSAGE:
+      case GROUP:
+        return toMessageValue((Message) value);
+      default:
+        throw new IllegalArgumentException("Unsupported field type: " + field.getType());
+    }
+  }
+
+  private Object toMessageValue(Message message) {
+    String typeName = message.getDescriptorForType().getFullName();
+    // The message types come from the schema file, so well-known types are read field by field.
+    if (typeName.equals(TIMESTAMP)) {
+      return Timestamps.toString(
+          Timestamp.newBuilder()
+              .setSeconds(getField(message, "seconds"))
+              .setNanos(getField(message, "nanos"))
+              .build());
+    } else if (typeName.equals(DURATION)) {
+      return Durations.toString(
+          Duration.newBuilder()
+              .setSeconds(getField(message, "seconds"))
+              .setNanos(getField(message, "nanos"))
+              .build());
+    } else if (WRAPPERS.contains(typeName)) {
+      FieldDescriptor valueField = message.getDescriptorForType().findFieldByName("value");
+      return toSingleValue(valueField, message.getField(valueField));
+    }
+    Map<String, Object> record = new LinkedHashMap<>();
+    for (Map.Entry<FieldDescriptor, Object> field : message.getAllFields().entrySet()) {
+      record.put(getName(field.getKey()), toValue(field.getKey(), field.getValue()));
+    }
+    return record;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T getField(Message message, String name) {
+    return (T) message.getField(message.getDescriptorForType().findFieldByName(name));
+  }
+
+  /** Returns non-finite doubles as the strings {@code JsonFormat} prints for them. */
+  private static Object toJsonDouble(double value) {
+    return Double.isNaN(value) || Double.isInfinite(value) ? Double.toString(value) : value;
+  }
+}
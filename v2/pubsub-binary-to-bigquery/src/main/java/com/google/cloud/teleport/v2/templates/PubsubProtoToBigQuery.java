@@ -249,14 +249,22 @@ public final class PubsubProtoToBigQuery {
     Pipeline pipeline = Pipeline.create(options);
 
     Descriptor descriptor = getDescriptor(options);
-    PCollection<String> maybeForUdf =
-        pipeline
-            .apply("Read From Pubsub", readPubsubMessages(options, descriptor))
-            .apply("Dynamic Message to TableRow", new ConvertDynamicProtoMessageToJson(options));
-
-    WriteResult writeResult =
-        runUdf(maybeForUdf, options)
-            .apply("Write to BigQuery", writeToBigQuery(options, descriptor));
+    PCollection<DynamicMessage> messages =
+        pipeline.apply("Read From Pubsub", readPubsubMessages(options, descriptor));
+
+    WriteResult writeResult;
+    if (useDirectWrite(options, descriptor)) {
+      // Without a UDF, messages are converted field by field rather than through JSON.
+      writeResult =
+          messages.apply("Write to BigQuery", writeMessagesToBigQuery(options, descriptor));
+    } else {
+      PCollection<String> maybeForUdf =
+          messages.apply(
+              "Dynamic Message to TableRow", new ConvertDynamicProtoMessageToJson(options));
+      writeResult =
+          runUdf(maybeForUdf, options)
+              .apply("Write to BigQuery", writeToBigQuery(options, descriptor));
+    }
     BigQueryIOUtils.writeResultToBigQueryInsertErrors(writeResult, options)
         .apply(
             "Create Error Payload",
@@ -301,10 +309,41 @@ public final class PubsubProtoToBigQuery {
   @VisibleForTesting
   static Write<String> writeToBigQuery(
       PubSubProtoToBigQueryOptions options, Descriptor descriptor) {
-    Write<String> write =
+    return withSchema(
         BigQueryConverters.<String>createWriteTransform(options)
-            .withFormatFunction(BigQueryConverters::convertJsonToTableRow);
+            .withFormatFunction(BigQueryConverters::convertJsonToTableRow),
+        options,
+        descriptor);
+  }
+
+  /**
+   * Returns whether messages can skip the JSON conversion, which is the case when no UDF is
+   * configured and {@link DynamicMessageToTableRow} supports every field of the message.
+   */
+  @VisibleForTesting
+  static boolean useDirectWrite(PubSubProtoToBigQueryOptions options, Descriptor descriptor) {
+    return Strings.isNullOrEmpty(options.getJavascriptTextTransformGcsPath())
+        && Strings.isNullOrEmpty(options.getPythonExternalTextTransformGcsPath())
+        && DynamicMessageToTableRow.isSupported(descriptor);
+  }
+
+  /**
+   * Writes messages to BigQuery like {@link #writeToBigQuery}, but formats each {@link
+   * DynamicMessage} into a row directly instead of printing and parsing it as JSON.
+   */
+  @VisibleForTesting
+  static Write<DynamicMessage> writeMessagesToBigQuery(
+      PubSubProtoToBigQueryOptions options, Descriptor descriptor) {
+    return withSchema(
+        BigQueryConverters.<DynamicMessage>createWriteTransform(options)
+            .withFormatFunction(
+                new DynamicMessageToTableRow(options.getPreserveProtoFieldNames())),
+        options,
+        descriptor);
+  }
 
+  private static <T> Write<T> withSchema(
+      Write<T> write, PubSubProtoToBigQueryOptions options, Descriptor descriptor) {
     String schemaPath = options.getBigQueryTableSchemaPath();
     if (Strings.isNullOrEmpty(schemaPath)) {
       return write.withSchema(
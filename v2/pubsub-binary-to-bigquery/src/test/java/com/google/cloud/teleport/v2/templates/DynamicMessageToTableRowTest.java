@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumDescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumValueDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Label;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Type;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Int64Value;
+import com.google.protobuf.Message;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.TimestampProto;
+import com.google.protobuf.WrappersProto;
+import com.google.protobuf.util.JsonFormat;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link DynamicMessageToTableRow}. */
+@RunWith(JUnit4.class)
+public final class DynamicMessageToTableRowTest {
+
+  @Test
+  public void testMatchesJsonConversion() throws Exception {
+    Descriptor descriptor = eventDescriptor();
+    Descriptor child = descriptor.findNestedTypeByName("Child");
+    DynamicMessage message =
+        DynamicMessage.newBuilder(descriptor)
+            .setField(descriptor.findFieldByName("small_int"), -7)
+            .setField(descriptor.findFieldByName("big_int"), 1L << 40)
+            .setField(descriptor.findFieldByName("unsigned_int"), -1)
+            .setField(descriptor.findFieldByName("unsigned_long"), -1L)
+            .setField(descriptor.findFieldByName("float_value"), 1.1f)
+            .setField(descriptor.findFieldByName("double_value"), Double.NaN)
+            .setField(descriptor.findFieldByName("flag"), true)
+            .setField(descriptor.findFieldByName("name"), "event")
+            .setField(
+                descriptor.findFieldByName("payload"),
+                ByteString.copyFrom(new byte[] {(byte) 0xde, (byte) 0xad}))
+            .setField(
+                descriptor.findFieldByName("state"),
+                descriptor.findEnumTypeByName("State").findValueByName("ACTIVE"))
+            .addRepeatedField(descriptor.findFieldByName("tags"), "a")
+            .addRepeatedField(descriptor.findFieldByName("tags"), "b")
+            .setField(
+                descriptor.findFieldByName("child"),
+                DynamicMessage.newBuilder(child)
+                    .setField(child.findFieldByName("child_id"), 3)
+                    .build())
+            .setField(
+                descriptor.findFieldByName("created_at"),
+                toDynamic(
+                    Timestamp.newBuilder().setSeconds(1700000000).setNanos(5000).build(),
+                    descriptor.findFieldByName("created_at").getMessageType()))
+            .setField(
+                descriptor.findFieldByName("count"),
+                toDynamic(
+                    Int64Value.of(42), descriptor.findFieldByName("count").getMessageType()))
+            .build();
+
+    for (boolean preserveProtoFieldNames : new boolean[] {true, false}) {
+      JsonFormat.Printer printer = JsonFormat.printer();
+      String json =
+          preserveProtoFieldNames
+              ? printer.preservingProtoFieldNames().print(message)
+              : printer.print(message);
+      TableRow expected = BigQueryConverters.convertJsonToTableRow(json);
+
+      assertThat(new DynamicMessageToTableRow(preserveProtoFieldNames).apply(message))
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testIsSupported() throws Exception {
+    assertThat(DynamicMessageToTableRow.isSupported(eventDescriptor())).isTrue();
+    assertThat(DynamicMessageToTableRow.isSupported(Struct.getDescriptor())).isFalse();
+  }
+
+  private static DynamicMessage toDynamic(Message message, Descriptor descriptor)
+      throws Exception {
+    return DynamicMessage.parseFrom(descriptor, message.toByteString());
+  }
+
+  /** Builds the descriptor the way it is read from a schema file, not from generated classes. */
+  private static Descriptor eventDescriptor() throws Exception {
+    FileDescriptor timestampFile =
+        FileDescriptor.buildFrom(TimestampProto.getDescriptor().toProto(), new FileDescriptor[0]);
+    FileDescriptor wrappersFile =
+        FileDescriptor.buildFrom(WrappersProto.getDescriptor().toProto(), new FileDescriptor[0]);
+    DescriptorProto event =
+        DescriptorProto.newBuilder()
+            .setName("Event")
+            .addField(field("small_int", 1, Type.TYPE_INT32))
+            .addField(field("big_int", 2, Type.TYPE_INT64))
+            .addField(field("unsigned_int", 3, Type.TYPE_UINT32))
+            .addField(field("unsigned_long", 4, Type.TYPE_UINT64))
+            .addField(field("float_value", 5, Type.TYPE_FLOAT))
+            .addField(field("double_value", 6, Type.TYPE_DOUBLE))
+            .addField(field("flag", 7, Type.TYPE_BOOL))
+            .addField(field("name", 8, Type.TYPE_STRING))
+            .addField(field("payload", 9, Type.TYPE_BYTES))
+            .addField(field("state", 10, Type.TYPE_ENUM).setTypeName(".test.Event.State"))
+            .addField(field("tags", 11, Type.TYPE_STRING).setLabel(Label.LABEL_REPEATED))
+            .addField(field("child", 12, Type.TYPE_MESSAGE).setTypeName(".test.Event.Child"))
+            .addField(
+                field("created_at", 13, Type.TYPE_MESSAGE)
+                    .setTypeName(".google.protobuf.Timestamp"))
+            .addField(
+                field("count", 14, Type.TYPE_MESSAGE).setTypeName(".google.protobuf.Int64Value"))
+            .addNestedType(
+                DescriptorProto.newBuilder()
+                    .setName("Child")
+                    .addField(field("child_id", 1, Type.TYPE_INT32)))
+            .addEnumType(
+                EnumDescriptorProto.newBuilder()
+                    .setName("State")
+                    .addValue(
+                        EnumValueDescriptorProto.newBuilder()
+                            .setName("UNKNOWN")
+                            .setNumber(0))
+                    .addValue(
+                        EnumValueDescriptorProto.newBuilder()
+                            .setName("ACTIVE")
+                            .setNumber(1)))
+            .build();
+    FileDescriptorProto file =
+        FileDescriptorProto.newBuilder()
+            .setName("test/event.proto")
+            .setPackage("test")
+            .setSyntax("proto3")
+            .addDependency(timestampFile.getName())
+            .addDependency(wrappersFile.getName())
+            .addMessageType(event)
+            .build();
+    return FileDescriptor.buildFrom(file, new FileDescriptor[] {timestampFile, wrappersFile})
+        .findMessageTypeByName("Event");
+  }
+
+  private static FieldDescriptorProto.Builder field(String name, int number, Type type) {
+    return FieldDescriptorProto.newBuilder()
+        .setName(name)
+        .setNumber(number)
+        .setType(type)
+        .setLabel(Label.LABEL_OPTIONAL);
+  }
+}
@@ -306,6 +306,7 @@ public class PubSubCdcToBigQuery {
             options.getPythonTextTransformGcsPath(),
             options.getPythonTextTransformFunctionName(),
             options.getRuntimeRetries(),
+            options.getPythonTextTransformUseWorker(),
             FAILSAFE_ELEMENT_CODER);
 
     BigQueryTableConfigManager bqConfigManager =
@@ -26,6 +26,7 @@ import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.metadata.TemplateParameter.TemplateEnumOption;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
+import com.google.cloud.teleport.v2.templates.io.RedisClusterIO;
 import com.google.cloud.teleport.v2.templates.io.RedisHashIO;
 import com.google.cloud.teleport.v2.templates.transforms.MessageTransformation;
 import com.google.cloud.teleport.v2.transforms.FailsafeElementTransforms.ConvertFailsafeElementToPubsubMessage;
@@ -49,10 +50,12 @@ import org.apache.beam.sdk.options.Validation;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PDone;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TypeDescriptors;
 import org.apache.commons.lang3.ArrayUtils;
@@ -265,6 +268,17 @@ public class PubSubToRedis {
     String getOutputDeadletterTopic();
 
     void setOutputDeadletterTopic(String outputDeadletterTopic);
+
+    @TemplateParameter.Boolean(
+        order = 10,
+        optional = true,
+        description = "Redis Cluster enabled",
+        helpText =
+            "Whether the Redis host is a node of a Redis Cluster. When enabled, each key is written to the master node that owns its hash slot, with one pipeline per master. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getRedisClusterEnabled();
+
+    void setRedisClusterEnabled(Boolean redisClusterEnabled);
   }
 
   /** Allowed list of sink types. */
@@ -344,11 +358,18 @@ public class PubSubToRedis {
                       TypeDescriptors.kvs(TypeDescriptors.strings(), TypeDescriptors.strings()))
                   .via(record -> KV.of(MessageTransformation.key, record)));
 
-      kvStringCollection.apply(
-          "Write to " + STRING_SINK.name(),
-          RedisIO.write()
-              .withMethod(RedisIO.Write.Method.SET)
-              .withConnectionConfiguration(redisConnectionConfiguration));
+      if (options.getRedisClusterEnabled()) {
+        kvStringCollection.apply(
+            "Write to " + STRING_SINK.name(),
+            RedisClusterIO.writeStrings()
+                .withConnectionConfiguration(redisConnectionConfiguration));
+      } else {
+        kvStringCollection.apply(
+            "Write to " + STRING_SINK.name(),
+            RedisIO.write()
+                .withMethod(RedisIO.Write.Method.SET)
+                .withConnectionConfiguration(redisConnectionConfiguration));
+      }
     }
     if (options.getRedisSinkType().equals(HASH_SINK)) {
       PCollection<KV<String, KV<String, String>>> pCollectionHash =
@@ -356,10 +377,7 @@ public class PubSubToRedis {
               "Map to Redis Hash", ParDo.of(new MessageTransformation.MessageToRedisHash()));
 
       pCollectionHash.apply(
-          "Write to " + HASH_SINK.name(),
-          RedisHashIO.write()
-              .withConnectionConfiguration(redisConnectionConfiguration)
-              .withTtl(options.getTtl()));
+          "Write to " + HASH_SINK.name(), writeHashes(redisConnectionConfiguration, options));
     }
     if (options.getRedisSinkType().equals(LOGGING_SINK)) {
       PCollection<KV<String, KV<String, String>>> pCollectionHash =
@@ -367,24 +385,40 @@ public class PubSubToRedis {
               "Map to Redis Logs", ParDo.of(new MessageTransformation.MessageToRedisLogs()));
 
       pCollectionHash.apply(
-          "Write to " + LOGGING_SINK.name(),
-          RedisHashIO.write()
-              .withConnectionConfiguration(redisConnectionConfiguration)
-              .withTtl(options.getTtl()));
+          "Write to " + LOGGING_SINK.name(), writeHashes(redisConnectionConfiguration, options));
     }
     if (options.getRedisSinkType().equals(STREAMS_SINK)) {
       PCollection<KV<String, Map<String, String>>> pCollectionStreams =
           maybeTransformed.apply(
               "Map to Redis Streams", ParDo.of(new MessageTransformation.MessageToRedisStreams()));
 
-      pCollectionStreams.apply(
-          "Write to " + STREAMS_SINK.name(),
-          RedisIO.writeStreams().withConnectionConfiguration(redisConnectionConfiguration));
+      if (options.getRedisClusterEnabled()) {
+        pCollectionStreams.apply(
+            "Write to " + STREAMS_SINK.name(),
+            RedisClusterIO.writeStreams()
+                .withConnectionConfiguration(redisConnectionConfiguration));
+      } else {
+        pCollectionStreams.apply(
+            "Write to " + STREAMS_SINK.name(),
+            RedisIO.writeStreams().withConnectionConfiguration(redisConnectionConfiguration));
+      }
     }
     // Execute the pipeline and return the result.
     return pipeline.run();
   }
 
+  /** Returns the hash writer for the configured deployment, a single node or a cluster. */
+  private static PTransform<PCollection<KV<String, KV<String, String>>>, PDone> writeHashes(
+      RedisConnectionConfiguration redisConnectionConfiguration, PubSubToRedisOptions options) {
+    if (options.getRedisClusterEnabled()) {
+      return RedisClusterIO.writeHashes(options.getTtl())
+          .withConnectionConfiguration(redisConnectionConfiguration);
+    }
+    return RedisHashIO.write()
+        .withConnectionConfiguration(redisConnectionConfiguration)
+        .withTtl(options.getTtl());
+  }
+
   /**
    * Applies the JavaScript UDF to messages if configured, and writes UDF failures to the
    * dead-letter topic.
@@ -0,0 +1,550 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.io;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.beam.sdk.io.redis.RedisConnectionConfiguration;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PDone;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.joda.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.exceptions.JedisAskDataException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+/**
+ * Writes to a Redis Cluster through one pipeline per master node.
+ *
+ * <p>Each key is routed to the master that owns its hash slot, so every node receives only the
+ * commands it can execute and the write throughput grows with the number of masters. A node's
+ * pipeline is synced once it holds {@code batchSize} elements, once its oldest element is older
+ * than {@code maxBatchDelay}, and at the end of every bundle. Commands answered with a {@code
+ * MOVED} redirect are routed again after the slot map is refreshed, and commands answered with an
+ * {@code ASK} redirect are sent to the importing node once. When a node cannot be reached, its
+ * connection is dropped, the slot map is refreshed from the other known nodes and the elements
+ * queued for it are routed again.
+ *
+ * <p>The connection configuration points at any node of the cluster, which is used to discover the
+ * others.
+ */
+public abstract class RedisClusterIO {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RedisClusterIO.class);
+
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+  private static final Duration DEFAULT_MAX_BATCH_DELAY = Duration.standardSeconds(1);
+  private static final long NO_EXPIRATION = -1L;
+
+  /** Writes each {@code KV<key, value>} with {@code SET}. */
+  public static Write<KV<String, String>> writeStrings() {
+    return write(new SetCommand());
+  }
+
+  /**
+   * Writes each {@code KV<key, KV<field, value>>} with {@code HSET}, the same way as {@link
+   * RedisHashIO}, and expires the hash after {@code expireTime} seconds when set.
+   */
+  public static Write<KV<String, KV<String, String>>> writeHashes(@Nullable Long expireTime) {
+    return write(new HashCommand(expireTime));
+  }
+
+  /** Appends each {@code KV<stream, fields>} to its stream with {@code XADD}. */
+  public static Write<KV<String, Map<String, String>>> writeStreams() {
+    return write(new StreamCommand());
+  }
+
+  private static <T> Write<T> write(Command<T> command) {
+    return new AutoValue_RedisClusterIO_Write.Builder<T>()
+        .setConnectionConfiguration(RedisConnectionConfiguration.create())
+        .setCommand(command)
+        .setBatchSize(DEFAULT_BATCH_SIZE)
+        .setMaxBatchDelay(DEFAULT_MAX_BATCH_DELAY)
+        .build();
+  }
+
+  /** The Redis commands that write one element. */
+  interface Command<T> extends Serializable {
+
+    /** Returns the key the element is written to, which decides its hash slot. */
+    String key(T element);
+
+    /** Returns the commands for the element, each queueing itself on a pipeline. */
+    List<Function<Pipeline, Response<?>>> commands(T element);
+  }
+
+  @AutoValue
+  public abstract static class Write<T>
+      extends PTransform<@NonNull PCollection<T>, @NonNull PDone> {
+    public Write() {}
+
+    @Nullable
+    abstract RedisConnectionConfiguration connectionConfiguration();
+
+    abstract Command<T> command();
+
+    abstract int batchSize();
+
+    abstract Duration maxBatchDelay();
+
+    abstract RedisClusterIO.Write.Builder<T> builder();
+
+    public RedisClusterIO.Write<T> withConnectionConfiguration(
+        RedisConnectionConfiguration connectionConfiguration) {
+      Preconditions.checkArgument(connectionConfiguration != null, "connection cannot be null");
+      return this.builder().setConnectionConfiguration(connectionConfiguration).build();
+    }
+
+    /** Number of elements after which the pipeline of a node is synced. */
+    public RedisClusterIO.Write<T> withBatchSize(int batchSize) {
+      Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+      return this.builder().setBatchSize(batchSize).build();
+    }
+
+    /** Longest time an element waits in the pipeline of a node before it is synced. */
+    public RedisClusterIO.Write<T> withMaxBatchDelay(Duration maxBatchDelay) {
+      Preconditions.checkArgument(maxBatchDelay != null, "maxBatchDelay cannot be null");
+      return this.builder().setMaxBatchDelay(maxBatchDelay).build();
+    }
+
+    @NonNull
+    public PDone expand(PCollection<T> input) {
+      Preconditions.checkArgument(
+          connectionConfiguration() != null, "withConnectionConfiguration() is required");
+      input.apply(ParDo.of(new WriteFn<>(this)));
+      return PDone.in(input.getPipeline());
+    }
+
+    @AutoValue.Builder
+    abstract static class Builder<T> {
+      Builder() {}
+
+      abstract Write.Builder<T> setConnectionConfiguration(
+          RedisConnectionConfiguration connectionConfiguration);
+
+      abstract Write.Builder<T> setCommand(Command<T> command);
+
+      abstract Write.Builder<T> setBatchSize(int batchSize);
+
+      abstract Write.Builder<T> setMaxBatchDelay(Duration maxBatchDelay);
+
+      abstract Write<T> build();
+    }
+  }
+
+  static class WriteFn<T> extends DoFn<T, Void> {
+    private static final int SLOT_COUNT = 16384;
+    private static final int MAX_REDIRECTS = 5;
+    private final Write<T> spec;
+    private transient Map<HostAndPort, Jedis> connections;
+    private transient Map<HostAndPort, Pipeline> pipelines;
+    private transient Map<HostAndPort, NodeBatch<T>> batches;
+    private transient HostAndPort[] slotOwners;
+
+    WriteFn(Write<T> spec) {
+      this.spec = spec;
+    }
+
+    @Setup
+    public void setup() {
+      this.connections = new HashMap<>();
+      this.pipelines = new HashMap<>();
+      this.batches = new LinkedHashMap<>();
+      refreshSlots();
+    }
+
+    @StartBundle
+    public void startBundle() {
+      this.batches.clear();
+    }
+
+    @ProcessElement
+    public void processElement(@Element T element) {
+      route(Objects.requireNonNull(element), 0);
+      flushExpired();
+    }
+
+    @FinishBundle
+    public void finishBundle() {
+      while (!batches.isEmpty()) {
+        Iterator<NodeBatch<T>> it = batches.values().iterator();
+        NodeBatch<T> batch = it.next();
+        it.remove();
+        flush(batch);
+      }
+    }
+
+    @Teardown
+    public void teardown() {
+      if (this.connections != null) {
+        this.connections.values().forEach(Jedis::close);
+        this.connections.clear();
+        this.pipelines.clear();
+      }
+    }
+
+    /** Points every slot at {@code node}, as a slot map gone stale after a reshard would. */
+    @VisibleForTesting
+    void setSlotOwner(HostAndPort node) {
+      Arrays.fill(slotOwners, node);
+    }
+
+    private void route(T element, int redirects) {
+      String key = spec.command().key(element);
+      HostAndPort node = slotOwners[JedisClusterCRC16.getSlot(key)];
+      NodeBatch<T> batch = batches.get(node);
+      try {
+        if (batch == null) {
+          batch = new NodeBatch<>(node, pipeline(node));
+          batches.put(node, batch);
+        }
+        batch.add(element, queue(batch.pipeline, element, false), redirects);
+      } catch (JedisConnectionException e) {
+        List<NodeBatch.Entry<T>> entries = new ArrayList<>();
+        NodeBatch<T> queued = batches.remove(node);
+        if (queued != null) {
+          entries.addAll(queued.entries);
+        }
+        entries.add(new NodeBatch.Entry<>(element, Collections.emptyList(), redirects));
+        reroute(node, entries, e);
+        return;
+      }
+      if (batch.size() >= spec.batchSize()) {
+        batches.remove(node);
+        flush(batch);
+      }
+    }
+
+    private void flushExpired() {
+      long maxAgeNanos = spec.maxBatchDelay().getMillis() * 1_000_000L;
+      List<NodeBatch<T>> expired = new ArrayList<>();
+      Iterator<NodeBatch<T>> it = batches.values().iterator();
+      while (it.hasNext()) {
+        NodeBatch<T> batch = it.next();
+        if (System.nanoTime() - batch.startNanos >= maxAgeNanos) {
+          expired.add(batch);
+          it.remove();
+        }
+      }
+      expired.forEach(this::flush);
+    }
+
+    /** Syncs the pipeline of a node and routes the elements that were redirected elsewhere. */
+    private void flush(NodeBatch<T> batch) {
+      try {
+        batch.pipeline.sync();
+      } catch (JedisConnectionException e) {
+        reroute(batch.node, batch.entries, e);
+        return;
+      }
+      List<NodeBatch.Entry<T>> moved = new ArrayList<>();
+      for (NodeBatch.Entry<T> entry : batch.entries) {
+        HostAndPort askNode = null;
+        try {
+          for (Response<?> response : entry.responses) {
+            response.get();
+          }
+        } catch (JedisMovedDataException e) {
+          moved.add(entry);
+        } catch (JedisAskDataException e) {
+          askNode = e.getTargetNode();
+        } catch (JedisDataException e) {
+          LOG.error("Failed to write key {} to Redis: {}", spec.command().key(entry.element), e);
+        }
+        if (askNode != null) {
+          ask(askNode, entry);
+        }
+      }
+      if (!moved.isEmpty()) {
+        refreshSlots();
+        for (NodeBatch.Entry<T> entry : moved) {
+          route(entry.element, checkRedirects(entry));
+        }
+      }
+    }
+
+    /**
+     * Sends an element to the node importing its slot, preceded by {@code ASKING} so the node
+     * accepts the command before the migration completes. The slot map is left unchanged.
+     */
+    private void ask(HostAndPort node, NodeBatch.Entry<T> entry) {
+      int redirects = checkRedirects(entry);
+      NodeBatch<T> pending = batches.remove(node);
+      if (pending != null) {
+        flush(pending);
+      }
+      NodeBatch<T> batch;
+      try {
+        batch = new NodeBatch<>(node, pipeline(node));
+        batch.add(entry.element, queue(batch.pipeline, entry.element, true), redirects);
+      } catch (JedisConnectionException e) {
+        reroute(node, Collections.singletonList(entry), e);
+        return;
+      }
+      flush(batch);
+    }
+
+    /**
+     * Drops the connection to a node that could not be reached, refreshes the slot map and routes
+     * the elements that were queued for the node again. Their commands may or may not have been
+     * executed before the connection was lost.
+     */
+    private void reroute(
+        HostAndPort node, List<NodeBatch.Entry<T>> entries, JedisConnectionException e) {
+      LOG.warn(
+          "Lost the connection to Redis node {}, routing {} elements again",
+          node,
+          entries.size(),
+          e);
+      dropConnection(node);
+      refreshSlots();
+      for (NodeBatch.Entry<T> entry : entries) {
+        route(entry.element, checkRedirects(entry));
+      }
+    }
+
+    /**
+     * Queues the commands for an element. {@code ASKING} only applies to the command right after
+     * it, so it is repeated before each command when {@code asking} is set.
+     */
+    private List<Response<?>> queue(Pipeline pipeline, T element, boolean asking) {
+      List<Response<?>> responses = new ArrayList<>();
+      for (Function<Pipeline, Response<?>> command : spec.command().commands(element)) {
+        if (asking) {
+          pipeline.sendCommand(Protocol.Command.ASKING);
+        }
+        responses.add(command.apply(pipeline));
+      }
+      return responses;
+    }
+
+    private int checkRedirects(NodeBatch.Entry<T> entry) {
+      if (entry.redirects >= MAX_REDIRECTS) {
+        throw new IllegalStateException(
+            "Key " + spec.command().key(entry.element) + " was routed again too many times.");
+      }
+      return entry.redirects + 1;
+    }
+
+    /**
+     * Reads which master owns each hash slot from the cluster. The configured node is asked first,
+     * followed by the other nodes of the current slot map until one of them answers.
+     */
+    private void refreshSlots() {
+      RedisConnectionConfiguration config = spec.connectionConfiguration();
+      Set<HostAndPort> nodes = new LinkedHashSet<>();
+      nodes.add(new HostAndPort(config.host().get(), config.port().get()));
+      if (slotOwners != null) {
+        nodes.addAll(Arrays.asList(slotOwners));
+      }
+      JedisConnectionException failure = null;
+      for (HostAndPort node : nodes) {
+        List<Object> slots;
+        try {
+          slots = connection(node).clusterSlots();
+        } catch (JedisConnectionException e) {
+          LOG.warn("Could not read the Redis Cluster slots from {}", node, e);
+          dropConnection(node);
+          failure = e;
+          continue;
+        }
+        this.slotOwners = parseSlots(node, slots);
+        LOG.info("Refreshed Redis Cluster slots from {}", node);
+        return;
+      }
+      throw failure;
+    }
+
+    /** Maps each hash slot to its master, from the {@code CLUSTER SLOTS} reply of {@code node}. */
+    private static HostAndPort[] parseSlots(HostAndPort node, List<Object> slots) {
+      HostAndPort[] owners = new HostAndPort[SLOT_COUNT];
+      for (Object range : slots) {
+        List<?> slotRange = (List<?>) range;
+        int start = ((Long) slotRange.get(0)).intValue();
+        int end = ((Long) slotRange.get(1)).intValue();
+        List<?> master = (List<?>) slotRange.get(2);
+        String host = new String((byte[]) master.get(0), StandardCharsets.UTF_8);
+        int port = ((Long) master.get(1)).intValue();
+        // Nodes that do not know their own address report an empty host.
+        HostAndPort owner = new HostAndPort(host.isEmpty() ? node.getHost() : host, port);
+        Arrays.fill(owners, start, end + 1, owner);
+      }
+      for (int slot = 0; slot < SLOT_COUNT; slot++) {
+        if (owners[slot] == null) {
+          throw new IllegalStateException("Redis Cluster slot " + slot + " is not served.");
+        }
+      }
+      return owners;
+    }
+
+    /** Closes and forgets the connection to a node, so the next command to it reconnects. */
+    private void dropConnection(HostAndPort node) {
+      pipelines.remove(node);
+      Jedis jedis = connections.remove(node);
+      if (jedis != null) {
+        try {
+          jedis.close();
+        } catch (JedisConnectionException e) {
+          LOG.debug("Error closing the connection to Redis node {}", node, e);
+        }
+      }
+    }
+
+    private Pipeline pipeline(HostAndPort node) {
+      return pipelines.computeIfAbsent(node, n -> connection(n).pipelined());
+    }
+
+    private Jedis connection(HostAndPort node) {
+      return connections.computeIfAbsent(
+          node,
+          n -> {
+            RedisConnectionConfiguration config = spec.connectionConfiguration();
+            Jedis jedis =
+                new Jedis(n.getHost(), n.getPort(), config.timeout().get(), config.ssl().get());
+            if (config.auth() != null && !config.auth().get().isEmpty()) {
+              try {
+                jedis.auth(config.auth().get());
+              } catch (RuntimeException e) {
+                jedis.close();
+                throw e;
+              }
+            }
+            return jedis;
+          });
+    }
+  }
+
+  /** Elements queued on the pipeline of one node, with the responses of their commands. */
+  private static class NodeBatch<T> {
+    private final HostAndPort node;
+    private final Pipeline pipeline;
+    private final List<Entry<T>> entries = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+
+    NodeBatch(HostAndPort node, Pipeline pipeline) {
+      this.node = node;
+      this.pipeline = pipeline;
+    }
+
+    void add(T element, List<Response<?>> responses, int redirects) {
+      entries.add(new Entry<>(element, responses, redirects));
+    }
+
+    int size() {
+      return entries.size();
+    }
+
+    private static class Entry<T> {
+      private final T element;
+      private final List<Response<?>> responses;
+      private final int redirects;
+
+      Entry(T element, List<Response<?>> responses, int redirects) {
+        this.element = element;
+        this.responses = responses;
+        this.redirects = redirects;
+      }
+    }
+  }
+
+  private static class SetCommand implements Command<KV<String, String>> {
+    @Override
+    public String key(KV<String, String> element) {
+      return element.getKey();
+    }
+
+    @Override
+    public List<Function<Pipeline, Response<?>>> commands(KV<String, String> element) {
+      return Collections.singletonList(
+          pipeline -> pipeline.set(element.getKey(), element.getValue()));
+    }
+  }
+
+  private static class HashCommand implements Command<KV<String, KV<String, String>>> {
+    private final @Nullable Long expireTime;
+
+    HashCommand(@Nullable Long expireTime) {
+      this.expireTime = expireTime;
+    }
+
+    @Override
+    public String key(KV<String, KV<String, String>> element) {
+      return element.getKey();
+    }
+
+    @Override
+    public List<Function<Pipeline, Response<?>>> commands(KV<String, KV<String, String>> element) {
+      Map<String, String> hashFieldValues = new HashMap<>();
+      String hashKey = element.getKey();
+      KV<String, String> hashValue = element.getValue();
+
+      hashFieldValues.putIfAbsent(
+          "redisInsertTimeAsLong", String.valueOf(System.currentTimeMillis()));
+      hashFieldValues.put(hashValue.getKey(), hashValue.getValue());
+
+      List<Function<Pipeline, Response<?>>> commands = new ArrayList<>(2);
+      commands.add(pipeline -> pipeline.hset(hashKey, hashFieldValues));
+      if (expireTime != null && !Objects.equals(expireTime, NO_EXPIRATION)) {
+        long seconds = expireTime;
+        commands.add(pipeline -> pipeline.expire(hashKey, seconds));
+      }
+      return commands;
+    }
+  }
+
+  private static class StreamCommand implements Command<KV<String, Map<String, String>>> {
+    @Override
+    public String key(KV<String, Map<String, String>> element) {
+      return element.getKey();
+    }
+
+    @Override
+    public List<Function<Pipeline, Response<?>>> commands(KV<String, Map<String, String>> element) {
+      return Collections.singletonList(
+          pipeline -> pipeline.xadd(element.getKey(), StreamEntryID.NEW_ENTRY, element.getValue()));
+    }
+  }
+}
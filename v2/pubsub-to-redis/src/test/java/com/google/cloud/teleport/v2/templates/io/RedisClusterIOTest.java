@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.io;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.PortBinding;
+import com.github.dockerjava.api.model.Ports;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.MapCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.io.redis.RedisConnectionConfiguration;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.values.KV;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+/**
+ * Test cases for the {@link RedisClusterIO} class, against a local Redis Cluster of three masters.
+ */
+@RunWith(JUnit4.class)
+public class RedisClusterIOTest {
+
+  private static final String REDIS_HOST = "127.0.0.1";
+  private static final int NODE_COUNT = 3;
+
+  private static int[] redisPorts;
+
+  private static GenericContainer<?> cluster;
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    assumeTrue(DockerClientFactory.instance().isDockerAvailable());
+
+    // All nodes run in one container and announce 127.0.0.1, so the ports are bound to the same
+    // numbers on the host for the announced addresses to be reachable from the test. The cluster
+    // bus ports are only used inside the container.
+    redisPorts = freePorts(NODE_COUNT);
+    StringBuilder script = new StringBuilder();
+    StringBuilder nodes = new StringBuilder();
+    for (int i = 0; i < NODE_COUNT; i++) {
+      int port = redisPorts[i];
+      script.append(
+          String.format(
+              "redis-server --port %d --cluster-port %d --cluster-enabled yes"
+                  + " --cluster-config-file nodes-%d.conf --cluster-announce-ip %s --save ''"
+                  + " --appendonly no --daemonize yes; ",
+              port, 16380 + i, port, REDIS_HOST));
+      nodes.append(' ').append(REDIS_HOST).append(':').append(port);
+    }
+    script
+        .append("sleep 1; redis-cli --cluster create")
+        .append(nodes)
+        .append(" --cluster-replicas 0 --cluster-yes; tail -f /dev/null");
+
+    cluster =
+        new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withCommand("sh", "-c", script.toString())
+            .withCreateContainerCmdModifier(
+                cmd ->
+                    cmd.getHostConfig()
+                        .withPortBindings(
+                            IntStream.of(redisPorts)
+                                .mapToObj(
+                                    port ->
+                                        new PortBinding(
+                                            Ports.Binding.bindPort(port), new ExposedPort(port)))
+                                .collect(Collectors.toList())))
+            .waitingFor(Wait.forLogMessage(".*All 16384 slots covered.*", 1));
+    cluster.start();
+
+    for (int port : redisPorts) {
+      try (Jedis jedis = new Jedis(REDIS_HOST, port)) {
+        while (!jedis.clusterInfo().contains("cluster_state:ok")) {
+          Thread.sleep(100);
+        }
+      }
+    }
+  }
+
+  @AfterClass
+  public static void afterClass() {
+    if (cluster != null) {
+      cluster.stop();
+    }
+  }
+
+  @Before
+  public void setUp() {
+    for (int port : redisPorts) {
+      try (Jedis jedis = new Jedis(REDIS_HOST, port)) {
+        jedis.flushAll();
+      }
+    }
+  }
+
+  @Test
+  public void testWriteStringsToAllMasters() {
+    List<KV<String, String>> records =
+        IntStream.range(0, 300)
+            .mapToObj(i -> KV.of("string:" + i, "value" + i))
+            .collect(Collectors.toList());
+
+    pipeline
+        .apply(Create.of(records))
+        .apply(RedisClusterIO.writeStrings().withConnectionConfiguration(connection()));
+    pipeline.run();
+
+    for (KV<String, String> record : records) {
+      try (Jedis owner = ownerOf(record.getKey())) {
+        assertThat(owner.get(record.getKey())).isEqualTo(record.getValue());
+      }
+    }
+    for (int port : redisPorts) {
+      try (Jedis jedis = new Jedis(REDIS_HOST, port)) {
+        assertThat(jedis.dbSize()).isGreaterThan(0L);
+      }
+    }
+  }
+
+  @Test
+  public void testWriteHashesWithTtl() {
+    List<KV<String, KV<String, String>>> records =
+        IntStream.range(0, 50)
+            .mapToObj(i -> KV.of("hash:" + i, KV.of("field", "value" + i)))
+            .collect(Collectors.toList());
+
+    pipeline
+        .apply(Create.of(records))
+        .apply(RedisClusterIO.writeHashes(600L).withConnectionConfiguration(connection()));
+    pipeline.run();
+
+    for (KV<String, KV<String, String>> record : records) {
+      try (Jedis owner = ownerOf(record.getKey())) {
+        assertThat(owner.hget(record.getKey(), "field")).isEqualTo(record.getValue().getValue());
+        assertThat(owner.hexists(record.getKey(), "redisInsertTimeAsLong")).isTrue();
+        assertThat(owner.ttl(record.getKey())).isGreaterThan(0L);
+      }
+    }
+  }
+
+  @Test
+  public void testWriteStreams() {
+    Map<String, String> entry = ImmutableMap.of("sensor-id", "1234", "temperature", "19.8");
+    List<KV<String, Map<String, String>>> records =
+        IntStream.range(0, 100)
+            .mapToObj(i -> KV.of("stream:" + (i % 10), entry))
+            .collect(Collectors.toList());
+
+    pipeline
+        .apply(
+            Create.of(records)
+                .withCoder(
+                    KvCoder.of(
+                        StringUtf8Coder.of(),
+                        MapCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of()))))
+        .apply(RedisClusterIO.writeStreams().withConnectionConfiguration(connection()));
+    pipeline.run();
+
+    for (int i = 0; i < 10; i++) {
+      try (Jedis owner = ownerOf("stream:" + i)) {
+        assertThat(owner.xlen("stream:" + i)).isEqualTo(10L);
+      }
+    }
+  }
+
+  @Test
+  public void testFollowsMovedRedirects() {
+    RedisClusterIO.WriteFn<KV<String, String>> fn =
+        new RedisClusterIO.WriteFn<>(
+            RedisClusterIO.writeStrings()
+                .withConnectionConfiguration(connection())
+                .withBatchSize(7));
+    fn.setup();
+    // Route everything to one master, so keys owned by the others come back with MOVED.
+    fn.setSlotOwner(new HostAndPort(REDIS_HOST, redisPorts[0]));
+    fn.startBundle();
+    for (int i = 0; i < 100; i++) {
+      fn.processElement(KV.of("moved:" + i, "value" + i));
+    }
+    fn.finishBundle();
+    fn.teardown();
+
+    for (int i = 0; i < 100; i++) {
+      try (Jedis owner = ownerOf("moved:" + i)) {
+        assertThat(owner.get("moved:" + i)).isEqualTo("value" + i);
+      }
+    }
+  }
+
+  @Test
+  public void testReroutesAwayFromUnreachableNode() throws IOException {
+    RedisClusterIO.WriteFn<KV<String, String>> fn =
+        new RedisClusterIO.WriteFn<>(
+            RedisClusterIO.writeStrings()
+                .withConnectionConfiguration(connection())
+                .withBatchSize(7));
+    fn.setup();
+    // Route everything to a port nobody listens on, as if its master had gone away.
+    fn.setSlotOwner(new HostAndPort(REDIS_HOST, freePorts(1)[0]));
+    fn.startBundle();
+    for (int i = 0; i < 100; i++) {
+      fn.processElement(KV.of("unreachable:" + i, "value" + i));
+    }
+    fn.finishBundle();
+    fn.teardown();
+
+    for (int i = 0; i < 100; i++) {
+      try (Jedis owner = ownerOf("unreachable:" + i)) {
+        assertThat(owner.get("unreachable:" + i)).isEqualTo("value" + i);
+      }
+    }
+  }
+
+  @Test
+  public void testFollowsAskRedirects() {
+    String key = "ask:key";
+    int slot = JedisClusterCRC16.getSlot(key);
+    try (Jedis source = ownerOf(key);
+        Jedis target = anotherMaster(source)) {
+      // Put the slot in the middle of a migration from source to target. A key missing from the
+      // source is then answered with ASK.
+      target.clusterSetSlotImporting(slot, source.clusterMyId());
+      source.clusterSetSlotMigrating(slot, target.clusterMyId());
+      try {
+        RedisClusterIO.WriteFn<KV<String, KV<String, String>>> fn =
+            new RedisClusterIO.WriteFn<>(
+                RedisClusterIO.writeHashes(600L).withConnectionConfiguration(connection()));
+        fn.setup();
+        fn.startBundle();
+        fn.processElement(KV.of(key, KV.of("field", "value")));
+        fn.finishBundle();
+        fn.teardown();
+
+        assertThat(source.exists(key)).isFalse();
+        target.asking();
+        assertThat(target.hget(key, "field")).isEqualTo("value");
+        target.asking();
+        assertThat(target.ttl(key)).isGreaterThan(0L);
+      } finally {
+        target.clusterSetSlotStable(slot);
+        source.clusterSetSlotStable(slot);
+      }
+    }
+  }
+
+  private static RedisConnectionConfiguration connection() {
+    return RedisConnectionConfiguration.create(REDIS_HOST, redisPorts[0]);
+  }
+
+  /** Returns ports that are free on the host, by letting the system pick them. */
+  private static int[] freePorts(int count) throws IOException {
+    ServerSocket[] sockets = new ServerSocket[count];
+    int[] ports = new int[count];
+    try {
+      for (int i = 0; i < count; i++) {
+        sockets[i] = new ServerSocket(0);
+        ports[i] = sockets[i].getLocalPort();
+      }
+    } finally {
+      for (ServerSocket socket : sockets) {
+        if (socket != null) {
+          socket.close();
+        }
+      }
+    }
+    return ports;
+  }
+
+  /** Returns a connection to the master that owns the slot of {@code key}. */
+  private static Jedis ownerOf(String key) {
+    int slot = JedisClusterCRC16.getSlot(key);
+    for (int port : redisPorts) {
+      Jedis jedis = new Jedis(REDIS_HOST, port);
+      if (ownsSlot(jedis, slot)) {
+        return jedis;
+      }
+      jedis.close();
+    }
+    throw new IllegalStateException("No master owns slot " + slot);
+  }
+
+  private static Jedis anotherMaster(Jedis master) {
+    String id = master.clusterMyId();
+    for (int port : redisPorts) {
+      Jedis jedis = new Jedis(REDIS_HOST, port);
+      if (!jedis.clusterMyId().equals(id)) {
+        return jedis;
+      }
+      jedis.close();
+    }
+    throw new IllegalStateException("The cluster has a single master");
+  }
+
+  private static boolean ownsSlot(Jedis jedis, int slot) {
+    String id = jedis.clusterMyId();
+    for (Object range : jedis.clusterSlots()) {
+      List<?> slotRange = (List<?>) range;
+      long start = (Long) slotRange.get(0);
+      long end = (Long) slotRange.get(1);
+      List<?> master = (List<?>) slotRange.get(2);
+      String masterId = new String((byte[]) master.get(2), StandardCharsets.UTF_8);
+      if (start <= slot && slot <= end) {
+        return masterId.equals(id);
+      }
+    }
+    return false;
+  }
+}
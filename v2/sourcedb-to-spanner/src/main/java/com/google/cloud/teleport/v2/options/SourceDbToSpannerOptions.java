@@ -440,4 +440,34 @@ public interface SourceDbToSpannerOptions extends CommonTemplateOptions {
   String getGcsOutputDirectory();
 
   void setGcsOutputDirectory(String value);
+
+  @TemplateParameter.Boolean(
+      order = 35,
+      optional = true,
+      description = "Create split points on Spanner before writing",
+      helpText =
+          "When true, the boundaries of the partitions discovered on the source tables are added as"
+              + " split points to the corresponding Spanner tables before the migration starts"
+              + " writing, to avoid hotspotting a new database. Only used for JDBC sources."
+              + " Defaults to false.")
+  @Default.Boolean(false)
+  Boolean getCreateSpannerSplitPoints();
+
+  void setCreateSpannerSplitPoints(Boolean value);
+
+  @TemplateParameter.Boolean(
+      order = 36,
+      optional = true,
+      description = "Read all the shards in a single graph",
+      helpText =
+          "When true, a sharded JDBC migration reads the tables of all the logical shards through a"
+              + " single reader per table level instead of one reader per logical shard, keeping"
+              + " the size of the pipeline graph independent of the number of shards. Requires all"
+              + " the shards to use the same namespace and every Spanner table to have a shard id"
+              + " column, otherwise each logical shard is read in its own graph. Defaults to"
+              + " false.")
+  @Default.Boolean(false)
+  Boolean getReadShardsInSingleGraph();
+
+  void setReadShardsInSingleGraph(Boolean value);
 }
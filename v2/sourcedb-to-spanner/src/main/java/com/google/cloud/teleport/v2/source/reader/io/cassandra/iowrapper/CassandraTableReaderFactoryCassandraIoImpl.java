@@ -56,6 +56,9 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
   @VisibleForTesting
   protected static final String DEFAULT_CONSISTENCY = ConsistencyLevel.QUORUM.name();
 
+  /* Default estimated size of a split, as read from the size estimates of the table. */
+  @VisibleForTesting protected static final Long DEFAULT_TARGET_BYTES_PER_SPLIT = 256L << 20;
+
   /**
    * Returns a Table Reader for given Cassandra Source using the upstream {@link CassandraIO.Read}.
    *
@@ -121,6 +124,7 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
                 profile.getString(TypedDriverOption.REQUEST_CONSISTENCY.getRawOption()))
             .withConnectTimeout(getConnectionTimeout(profile))
             .withReadTimeout(getReadTimeout(profile))
+            .withTargetBytesPerSplit(DEFAULT_TARGET_BYTES_PER_SPLIT)
             .withEntity(SourceRow.class)
             .withCoder(SerializableCoder.of(SourceRow.class))
             .withMapperFactoryFn(
@@ -39,16 +39,20 @@ import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableReference
 import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.DataSourceConfiguration;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.ReadWithPartitions;
 import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.values.PBegin;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.commons.dbcp2.BasicDataSource;
@@ -100,6 +104,150 @@ public final class JdbcIoWrapper implements IoWrapper {
     return new JdbcIoWrapper(tableReaders, sourceSchema);
   }
 
+  /**
+   * Construct a JdbcIOWrapper that reads the tables of many databases, like the logical shards of a
+   * sharded migration, in a single read transform.
+   *
+   * <p>Schema discovery runs per database as in {@link #of(JdbcIOWrapperConfig)}. With {@link
+   * JdbcIOWrapperConfig#readWithUniformPartitionsFeatureEnabled()}, the tables of all the databases
+   * are split and read by one {@link ReadWithUniformPartitions}. Each table carries the {@link
+   * JdbcIOWrapperConfig#shardID()} of its database as {@link TableIdentifier#dataSourceId()}. This
+   * keeps the size of the graph constant in the number of databases. Otherwise, the per table
+   * readers of every database are combined.
+   *
+   * <p>The uniform partitions reader takes the dialect, wait signal and additional operations on
+   * ranges of the first configuration, and sums the parallelization limits of all the databases.
+   * The returned {@link #discoverTableSchema()} is the schema of the first database with tables to
+   * migrate.
+   *
+   * @param configs configurations for reading from each database. The shard ids must be unique.
+   * @return JdbcIOWrapper
+   * @throws IllegalArgumentException if a shard id is repeated.
+   * @throws SuitableIndexNotFoundException if a suitable index is not found to act as the partition
+   *     column.
+   */
+  public static JdbcIoWrapper ofShards(ImmutableList<JdbcIOWrapperConfig> configs)
+      throws SuitableIndexNotFoundException {
+    Preconditions.checkArgument(!configs.isEmpty(), "At least one configuration is required.");
+    Map<String, Long> shardIdCounts =
+        configs.stream()
+            .map(config -> Preconditions.checkNotNull(config.shardID(), "shardID is required."))
+            .collect(Collectors.groupingBy(shardId -> shardId, Collectors.counting()));
+    List<String> duplicateShardIds =
+        shardIdCounts.entrySet().stream()
+            .filter(entry -> entry.getValue() > 1)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    Preconditions.checkArgument(
+        duplicateShardIds.isEmpty(),
+        "The shard ids of the configurations must be unique, found duplicates: %s",
+        duplicateShardIds);
+    if (!configs.get(0).readWithUniformPartitionsFeatureEnabled()) {
+      // The table references carry the UUID of the discovered table schema, so the readers of
+      // different shards never share a key.
+      ImmutableMap.Builder<
+              ImmutableList<SourceTableReference>, PTransform<PBegin, PCollection<SourceRow>>>
+          tableReaders = ImmutableMap.builder();
+      SourceSchema sourceSchema = null;
+      for (JdbcIOWrapperConfig config : configs) {
+        JdbcIoWrapper shardIoWrapper = of(config);
+        tableReaders.putAll(shardIoWrapper.getTableReaders());
+        if (sourceSchema == null) {
+          sourceSchema = shardIoWrapper.discoverTableSchema();
+        }
+      }
+      return new JdbcIoWrapper(tableReaders.buildOrThrow(), sourceSchema);
+    }
+
+    ImmutableList.Builder<TableSplitSpecification> splitSpecsBuilder = ImmutableList.builder();
+    ImmutableMap.Builder<TableIdentifier, TableReadSpecification<SourceRow>> readSpecsBuilder =
+        ImmutableMap.builder();
+    ImmutableMap.Builder<String, SerializableFunction<Void, javax.sql.DataSource>>
+        dataSourceProviderFnsBuilder = ImmutableMap.builder();
+    // The completions of the reader are accumulated by table name across databases.
+    Map<String, SourceTableReference> tableReferences = new LinkedHashMap<>();
+    JdbcIOWrapperConfig firstConfig = null;
+    SerializableFunction<Void, javax.sql.DataSource> firstDataSourceProviderFn = null;
+    SourceSchema firstSourceSchema = null;
+    Integer dbParallelizationForSplitProcess = 0;
+    Integer dbParallelizationForReads = 0;
+
+    for (JdbcIOWrapperConfig config : configs) {
+      String dataSourceId = config.shardID();
+      DataSourceConfiguration dataSourceConfiguration = getDataSourceConfiguration(config);
+      javax.sql.DataSource dataSource = dataSourceConfiguration.buildDatasource();
+      setDataSourceLoginTimeout((BasicDataSource) dataSource, config);
+      SchemaDiscovery schemaDiscovery =
+          new SchemaDiscoveryImpl(config.dialectAdapter(), config.schemaDiscoveryBackOff());
+      ImmutableList<TableConfig> tableConfigs =
+          autoInferTableConfigs(config, schemaDiscovery, DataSource.ofJdbc(dataSource));
+      if (tableConfigs.isEmpty()) {
+        continue;
+      }
+      SourceSchema sourceSchema =
+          getSourceSchema(config, schemaDiscovery, DataSource.ofJdbc(dataSource), tableConfigs);
+      SerializableFunction<Void, javax.sql.DataSource> dataSourceProviderFn =
+          JdbcIO.PoolableDataSourceProvider.of(dataSourceConfiguration);
+      dataSourceProviderFnsBuilder.put(dataSourceId, dataSourceProviderFn);
+      if (firstConfig == null) {
+        firstConfig = config;
+        firstDataSourceProviderFn = dataSourceProviderFn;
+        firstSourceSchema = sourceSchema;
+      }
+      dbParallelizationForSplitProcess =
+          sumOrNull(dbParallelizationForSplitProcess, config.dbParallelizationForSplitProcess());
+      dbParallelizationForReads =
+          sumOrNull(dbParallelizationForReads, config.dbParallelizationForReads());
+      ImmutableList.Builder<SourceTableReference> shardTableReferences = ImmutableList.builder();
+      addTableSpecifications(
+          config,
+          dataSourceId,
+          tableConfigs,
+          sourceSchema,
+          splitSpecsBuilder,
+          readSpecsBuilder,
+          shardTableReferences);
+      shardTableReferences
+          .build()
+          .forEach(ref -> tableReferences.putIfAbsent(ref.sourceTableName(), ref));
+    }
+
+    if (firstConfig == null) {
+      logger.info("none of the sources contain matching tables: {}", configs.get(0).tables());
+      return new JdbcIoWrapper(
+          ImmutableMap.of(),
+          SourceSchema.builder()
+              .setSchemaReference(configs.get(0).sourceSchemaReference())
+              .build());
+    }
+
+    ReadWithUniformPartitions<SourceRow> readWithUniformPartitions =
+        ReadWithUniformPartitions.<SourceRow>builder()
+            .setTableSplitSpecifications(splitSpecsBuilder.build())
+            .setTableReadSpecifications(readSpecsBuilder.build())
+            .setDataSourceProviderFn(firstDataSourceProviderFn)
+            .setDataSourceProviderFns(dataSourceProviderFnsBuilder.buildOrThrow())
+            .setDbAdapter(firstConfig.dialectAdapter())
+            .setWaitOn(firstConfig.waitOn())
+            .setDbParallelizationForSplitProcess(dbParallelizationForSplitProcess)
+            .setDbParallelizationForReads(dbParallelizationForReads)
+            .setAdditionalOperationsOnRanges(firstConfig.additionalOperationsOnRanges())
+            .build();
+
+    LOG.info(
+        "Configured Multi-Shard ReadWithUniformPartitions {} for shards {}",
+        readWithUniformPartitions,
+        configs.stream().map(JdbcIOWrapperConfig::shardID).collect(Collectors.toList()));
+
+    return new JdbcIoWrapper(
+        ImmutableMap.of(ImmutableList.copyOf(tableReferences.values()), readWithUniformPartitions),
+        firstSourceSchema);
+  }
+
+  private static Integer sumOrNull(Integer accumulator, Integer value) {
+    return (accumulator == null || value == null) ? null : accumulator + value;
+  }
+
   /**
    * Set's the login timeout for the DataSource used for schema and index discoveries. This helps in
    * early error reporting to the customer in case of unreachable or unavailable source database.
@@ -185,11 +333,7 @@ public final class JdbcIoWrapper implements IoWrapper {
           SourceSchema sourceSchema) {
     if (config.readWithUniformPartitionsFeatureEnabled() && !tableConfigs.isEmpty()) {
       return getMultiTableReadWithUniformPartitionIO(
-          config,
-          dataSourceConfiguration,
-          sourceSchema.schemaReference(),
-          tableConfigs,
-          sourceSchema);
+          config, dataSourceConfiguration, tableConfigs, sourceSchema);
     }
     return tableConfigs.stream()
         .map(
@@ -485,7 +629,6 @@ public final class JdbcIoWrapper implements IoWrapper {
    * @param config Configuration.
    * @param dataSourceConfiguration dataSourceConfiguration (which is derived earlier from the
    *     reader configuration)
-   * @param sourceSchemaReference reference for the source schema.
    * @param tableConfigs list of discovered table configurations.
    * @param sourceSchema schema of the source.
    * @return a map with a single entry where the key is a list of all table references and the value
@@ -496,7 +639,6 @@ public final class JdbcIoWrapper implements IoWrapper {
       getMultiTableReadWithUniformPartitionIO(
           JdbcIOWrapperConfig config,
           DataSourceConfiguration dataSourceConfiguration,
-          SourceSchemaReference sourceSchemaReference,
           ImmutableList<TableConfig> tableConfigs,
           SourceSchema sourceSchema) {
 
@@ -504,13 +646,63 @@ public final class JdbcIoWrapper implements IoWrapper {
     ImmutableMap.Builder<TableIdentifier, TableReadSpecification<SourceRow>> readSpecsBuilder =
         ImmutableMap.builder();
     ImmutableList.Builder<SourceTableReference> tableReferencesBuilder = ImmutableList.builder();
+    addTableSpecifications(
+        config,
+        null,
+        tableConfigs,
+        sourceSchema,
+        splitSpecsBuilder,
+        readSpecsBuilder,
+        tableReferencesBuilder);
+
+    ReadWithUniformPartitions<SourceRow> readWithUniformPartitions =
+        ReadWithUniformPartitions.<SourceRow>builder()
+            .setTableSplitSpecifications(splitSpecsBuilder.build())
+            .setTableReadSpecifications(readSpecsBuilder.build())
+            .setDataSourceProviderFn(JdbcIO.PoolableDataSourceProvider.of(dataSourceConfiguration))
+            .setDbAdapter(config.dialectAdapter())
+            .setWaitOn(config.waitOn())
+            .setDbParallelizationForSplitProcess(config.dbParallelizationForSplitProcess())
+            .setDbParallelizationForReads(config.dbParallelizationForReads())
+            .setAdditionalOperationsOnRanges(config.additionalOperationsOnRanges())
+            .build();
 
+    LOG.info(
+        "Configured Multi-Table ReadWithUniformPartitions {} for tables {} with config {}",
+        readWithUniformPartitions,
+        tableConfigs.stream().map(TableConfig::tableName).collect(Collectors.toList()),
+        config);
+
+    return ImmutableMap.of(tableReferencesBuilder.build(), readWithUniformPartitions);
+  }
+
+  /**
+   * Adds the split and read specifications of the tables of a database for {@link
+   * ReadWithUniformPartitions}.
+   *
+   * @param config configuration of the database.
+   * @param dataSourceId data source id of the database. Null for the default data source.
+   * @param tableConfigs discovered table configurations of the database.
+   * @param sourceSchema schema of the database.
+   * @param splitSpecsBuilder builder to add the split specifications to.
+   * @param readSpecsBuilder builder to add the read specifications to.
+   * @param tableReferencesBuilder builder to add the table references to.
+   */
+  private static void addTableSpecifications(
+      JdbcIOWrapperConfig config,
+      @Nullable String dataSourceId,
+      ImmutableList<TableConfig> tableConfigs,
+      SourceSchema sourceSchema,
+      ImmutableList.Builder<TableSplitSpecification> splitSpecsBuilder,
+      ImmutableMap.Builder<TableIdentifier, TableReadSpecification<SourceRow>> readSpecsBuilder,
+      ImmutableList.Builder<SourceTableReference> tableReferencesBuilder) {
     for (TableConfig tableConfig : tableConfigs) {
       SourceTableSchema sourceTableSchema = findSourceTableSchema(sourceSchema, tableConfig);
       int fetchSize = getFetchSize(config, tableConfig, sourceTableSchema);
       TableIdentifier tableIdentifier =
           TableIdentifier.builder()
               .setTableName(delimitIdentifier(tableConfig.tableName()))
+              .setDataSourceId(dataSourceId)
               .build();
 
       TableSplitSpecification.Builder tableSplitSpecificationBuilder =
@@ -535,7 +727,7 @@ public final class JdbcIoWrapper implements IoWrapper {
               .setRowMapper(
                   new JdbcSourceRowMapper(
                       config.valueMappingsProvider(),
-                      sourceSchemaReference,
+                      sourceSchema.schemaReference(),
                       sourceTableSchema,
                       config.shardID()));
       if (config.maxFetchSize() != null) {
@@ -546,31 +738,11 @@ public final class JdbcIoWrapper implements IoWrapper {
 
       tableReferencesBuilder.add(
           SourceTableReference.builder()
-              .setSourceSchemaReference(sourceSchemaReference)
+              .setSourceSchemaReference(sourceSchema.schemaReference())
               .setSourceTableName(delimitIdentifier(sourceTableSchema.tableName()))
               .setSourceTableSchemaUUID(sourceTableSchema.tableSchemaUUID())
               .build());
     }
-
-    ReadWithUniformPartitions<SourceRow> readWithUniformPartitions =
-        ReadWithUniformPartitions.<SourceRow>builder()
-            .setTableSplitSpecifications(splitSpecsBuilder.build())
-            .setTableReadSpecifications(readSpecsBuilder.build())
-            .setDataSourceProviderFn(JdbcIO.PoolableDataSourceProvider.of(dataSourceConfiguration))
-            .setDbAdapter(config.dialectAdapter())
-            .setWaitOn(config.waitOn())
-            .setDbParallelizationForSplitProcess(config.dbParallelizationForSplitProcess())
-            .setDbParallelizationForReads(config.dbParallelizationForReads())
-            .setAdditionalOperationsOnRanges(config.additionalOperationsOnRanges())
-            .build();
-
-    LOG.info(
-        "Configured Multi-Table ReadWithUniformPartitions {} for tables {} with config {}",
-        readWithUniformPartitions,
-        tableConfigs.stream().map(TableConfig::tableName).collect(Collectors.toList()),
-        config);
-
-    return ImmutableMap.of(tableReferencesBuilder.build(), readWithUniformPartitions);
   }
 
   /**
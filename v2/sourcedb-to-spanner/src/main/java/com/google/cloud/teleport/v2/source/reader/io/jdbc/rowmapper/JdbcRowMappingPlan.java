@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.rowmapper;
+
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import org.apache.avro.Schema;
+
+/**
+ * Per-table plan for mapping a JDBC {@link ResultSet} row to the Avro payload of a {@link
+ * com.google.cloud.teleport.v2.source.reader.io.row.SourceRow SourceRow}.
+ *
+ * <p>Everything that depends only on the {@link SourceTableSchema} (the payload field, the
+ * unwrapped value schema and the {@link JdbcValueMapper} of every column) is resolved once when the
+ * plan is compiled. The JDBC column indexes depend on the query and are resolved once per {@link
+ * ResultSet} via {@link #resolveColumnIndexes(ResultSet)}, which leaves the per-row loop with array
+ * accesses only.
+ */
+final class JdbcRowMappingPlan {
+
+  private final String[] columnNames;
+
+  private final Schema.Field[] payloadFields;
+
+  private final Schema[] valueSchemas;
+
+  private final JdbcValueMapper<?>[] valueMappers;
+
+  private JdbcRowMappingPlan(
+      String[] columnNames,
+      Schema.Field[] payloadFields,
+      Schema[] valueSchemas,
+      JdbcValueMapper<?>[] valueMappers) {
+    this.columnNames = columnNames;
+    this.payloadFields = payloadFields;
+    this.valueSchemas = valueSchemas;
+    this.valueMappers = valueMappers;
+  }
+
+  /**
+   * Compile the mapping plan for a table.
+   *
+   * @param mappingsProvider Mapping Provider based on the type of database.
+   * @param sourceTableSchema Schema of source table.
+   * @return compiled plan.
+   */
+  static JdbcRowMappingPlan compile(
+      JdbcValueMappingsProvider mappingsProvider, SourceTableSchema sourceTableSchema) {
+    var columns = sourceTableSchema.sourceColumnNameToSourceColumnType();
+    var mappings = mappingsProvider.getMappings();
+    Schema payloadSchema = sourceTableSchema.getAvroPayload();
+    int columnCount = columns.size();
+    String[] columnNames = new String[columnCount];
+    Schema.Field[] payloadFields = new Schema.Field[columnCount];
+    Schema[] valueSchemas = new Schema[columnCount];
+    JdbcValueMapper<?>[] valueMappers = new JdbcValueMapper<?>[columnCount];
+    int i = 0;
+    for (Map.Entry<String, SourceColumnType> entry : columns.entrySet()) {
+      Schema.Field field = payloadSchema.getField(entry.getKey());
+      Schema schema = field.schema();
+      // The Unified avro mapping produces a union of the mapped type with null type
+      // except for "Unsupported" case.
+      if (schema.isUnion()) {
+        schema = schema.getTypes().get(1);
+      }
+      columnNames[i] = entry.getKey();
+      payloadFields[i] = field;
+      valueSchemas[i] = schema;
+      valueMappers[i] =
+          mappings.getOrDefault(
+              entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED);
+      i++;
+    }
+    return new JdbcRowMappingPlan(columnNames, payloadFields, valueSchemas, valueMappers);
+  }
+
+  /**
+   * Resolve the JDBC column index of every column of the plan in the given {@link ResultSet}.
+   *
+   * @param resultSet resultSet of a read query.
+   * @return 1-based column indexes, in the order of the plan. Unsupported columns are left at 0.
+   * @throws SQLException if a column is not part of the result set.
+   */
+  int[] resolveColumnIndexes(ResultSet resultSet) throws SQLException {
+    int[] columnIndexes = new int[columnNames.length];
+    for (int i = 0; i < columnNames.length; i++) {
+      // Unsupported columns are never read from the result set.
+      if (valueMappers[i] != JdbcValueMapper.UNSUPPORTED) {
+        columnIndexes[i] = resultSet.findColumn(columnNames[i]);
+      }
+    }
+    return columnIndexes;
+  }
+
+  Schema.Field payloadField(int i) {
+    return payloadFields[i];
+  }
+
+  /**
+   * Map the i-th column of the plan from the current row of the {@link ResultSet}.
+   *
+   * @param resultSet resultSet positioned on the row to map.
+   * @param i position of the column in the plan.
+   * @param columnIndex JDBC column index of the column, as resolved by {@link
+   *     #resolveColumnIndexes(ResultSet)}.
+   * @return Mapped value.
+   * @throws SQLException - Exception while extracting value from {@link ResultSet}.
+   */
+  Object mapValue(ResultSet resultSet, int i, int columnIndex) throws SQLException {
+    return valueMappers[i].mapValue(resultSet, columnIndex, valueSchemas[i]);
+  }
+}
@@ -24,7 +24,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
-import org.apache.avro.Schema;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -45,6 +44,13 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
 
   @Nullable private final String shardId;
 
+  /** Compiled lazily on the worker, once per mapper. */
+  @Nullable private transient JdbcRowMappingPlan mappingPlan;
+
+  @Nullable private transient ResultSet indexedResultSet;
+
+  @Nullable private transient int[] columnIndexes;
+
   private static final Logger logger = LoggerFactory.getLogger(JdbcSourceRowMapper.class);
 
   private final Counter mapperErrors =
@@ -85,36 +91,40 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
     var builder =
         SourceRow.builder(
             sourceSchemaReference, sourceTableSchema, shardId, getCurrentTimeMicros());
-    this.sourceTableSchema
-        .sourceColumnNameToSourceColumnType()
-        .entrySet()
-        .forEach(
-            entry -> {
-              try {
-                Schema schema =
-                    this.sourceTableSchema.getAvroPayload().getField(entry.getKey()).schema();
-                // The Unified avro mapping produces a union of the mapped type with null type
-                // except for "Unsupported" case.
-                if (schema.isUnion()) {
-                  schema = schema.getTypes().get(1);
-                }
-                builder.setField(
-                    entry.getKey(),
-                    this.mappingsProvider
-                        .getMappings()
-                        .getOrDefault(
-                            entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED)
-                        .mapValue(resultSet, entry.getKey(), schema));
-              } catch (SQLException e) {
-                mapperErrors.inc();
-                logger.error(
-                    "Exception while mapping jdbc ResultSet to avro. Check for potential schema changes or unexpected inaccuracy in schema discovery logs. SourceSchemaReference: {},  SourceTableSchema: {}. Exception: {}",
-                    sourceSchemaReference,
-                    sourceTableSchema,
-                    e);
-                throw new ValueMappingException(e);
-              }
-            });
+    try {
+      JdbcRowMappingPlan plan = mappingPlan();
+      int[] indexes = columnIndexes(plan, resultSet);
+      for (int i = 0; i < indexes.length; i++) {
+        builder.setField(plan.payloadField(i), plan.mapValue(resultSet, i, indexes[i]));
+      }
+    } catch (SQLException e) {
+      mapperErrors.inc();
+      logger.error(
+          "Exception while mapping jdbc ResultSet to avro. Check for potential schema changes or unexpected inaccuracy in schema discovery logs. SourceSchemaReference: {},  SourceTableSchema: {}. Exception: {}",
+          sourceSchemaReference,
+          sourceTableSchema,
+          e);
+      throw new ValueMappingException(e);
+    }
     return builder.build();
   }
+
+  private JdbcRowMappingPlan mappingPlan() {
+    if (mappingPlan == null) {
+      mappingPlan = JdbcRowMappingPlan.compile(mappingsProvider, sourceTableSchema);
+    }
+    return mappingPlan;
+  }
+
+  /**
+   * Column indexes depend on the projection of the read query, so they are resolved on the first
+   * row of every {@link ResultSet} and reused for its remaining rows.
+   */
+  private int[] columnIndexes(JdbcRowMappingPlan plan, ResultSet resultSet) throws SQLException {
+    if (resultSet != indexedResultSet) {
+      columnIndexes = plan.resolveColumnIndexes(resultSet);
+      indexedResultSet = resultSet;
+    }
+    return columnIndexes;
+  }
 }
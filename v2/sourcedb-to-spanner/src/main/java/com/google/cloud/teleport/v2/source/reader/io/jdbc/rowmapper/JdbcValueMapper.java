@@ -55,7 +55,21 @@ public class JdbcValueMapper<T extends Object> implements Serializable {
    *     indicates change in source schema during migration.
    */
   public Object mapValue(ResultSet rs, String fieldName, Schema fieldSchema) throws SQLException {
-    var extractedValue = valueExtractor.extract(rs, fieldName);
+    return mapValue(rs, rs.findColumn(fieldName), fieldSchema);
+  }
+
+  /**
+   * Map a given column of {@link ResultSet} to an object as per the {@link Schema Avro Schema}.
+   *
+   * @param rs resultSet.
+   * @param columnIndex 1-based index of the column to map.
+   * @param fieldSchema {@link Schema Avro Schema} of the field.
+   * @return Mapped value.
+   * @throws SQLException - Exception while extracting value from {@link ResultSet}. Typically,
+   *     indicates change in source schema during migration.
+   */
+  public Object mapValue(ResultSet rs, int columnIndex, Schema fieldSchema) throws SQLException {
+    var extractedValue = valueExtractor.extract(rs, columnIndex);
     if (extractedValue == null || rs.wasNull()) {
       return null;
     }
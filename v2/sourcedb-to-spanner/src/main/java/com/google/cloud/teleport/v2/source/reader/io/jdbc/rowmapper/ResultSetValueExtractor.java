@@ -28,14 +28,17 @@ import javax.annotation.Nullable;
 public interface ResultSetValueExtractor<T extends Object> extends Serializable {
 
   /**
-   * Extract the requested field from the result set.
+   * Extract the requested column from the result set.
+   *
+   * <p>Columns are addressed by their 1-based index so that the per-row path does not pay for a
+   * name lookup in the driver. See {@link JdbcRowMappingPlan}.
    *
    * @param rs resultSet.
-   * @param fieldName name of the field to extract.
+   * @param columnIndex 1-based index of the column to extract.
    * @return extracted value.
    * @throws SQLException Any exception thrown by ResultSet API. Typically indicated a change in
    *     schema during migration.
    */
   @Nullable
-  T extract(ResultSet rs, String fieldName) throws SQLException;
+  T extract(ResultSet rs, int columnIndex) throws SQLException;
 }
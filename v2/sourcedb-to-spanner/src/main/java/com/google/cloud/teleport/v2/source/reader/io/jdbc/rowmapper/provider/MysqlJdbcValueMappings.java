@@ -80,9 +80,9 @@ public class MysqlJdbcValueMappings implements JdbcValueMappingsProvider {
   /* Extract UTC Values for date and time related types */
   private static final Calendar utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
   private static final ResultSetValueExtractor<java.sql.Date> utcDateExtractor =
-      (rs, fieldName) -> rs.getDate(fieldName, utcCalendar);
+      (rs, columnIndex) -> rs.getDate(columnIndex, utcCalendar);
   private static final ResultSetValueExtractor<java.sql.Timestamp> utcTimeStampExtractor =
-      (rs, fieldName) -> rs.getTimestamp(fieldName, utcCalendar);
+      (rs, columnIndex) -> rs.getTimestamp(columnIndex, utcCalendar);
 
   /* Map Date and Time related types to Avro */
   /**
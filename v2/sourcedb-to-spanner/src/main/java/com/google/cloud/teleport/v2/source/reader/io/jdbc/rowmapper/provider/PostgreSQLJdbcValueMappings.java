@@ -62,8 +62,8 @@ public class PostgreSQLJdbcValueMappings implements JdbcValueMappingsProvider {
   private static final ResultSetValueMapper<?> valuePassThrough = (value, schema) -> value;
 
   private static final ResultSetValueExtractor<ByteBuffer> bytesExtractor =
-      (rs, fieldName) -> {
-        byte[] bytes = rs.getBytes(fieldName);
+      (rs, columnIndex) -> {
+        byte[] bytes = rs.getBytes(columnIndex);
         if (bytes == null) {
           return null;
         }
@@ -71,14 +71,14 @@ public class PostgreSQLJdbcValueMappings implements JdbcValueMappingsProvider {
       };
 
   private static final ResultSetValueExtractor<java.sql.Date> dateExtractor =
-      (rs, fieldName) -> rs.getDate(fieldName, UTC_CALENDAR);
+      (rs, columnIndex) -> rs.getDate(columnIndex, UTC_CALENDAR);
 
   private static final ResultSetValueExtractor<java.sql.Timestamp> timestampExtractor =
-      (rs, fieldName) -> rs.getTimestamp(fieldName, UTC_CALENDAR);
+      (rs, columnIndex) -> rs.getTimestamp(columnIndex, UTC_CALENDAR);
 
   private static final ResultSetValueExtractor<OffsetDateTime> timestamptzExtractor =
-      (rs, fieldName) -> {
-        String timestampTz = rs.getString(fieldName);
+      (rs, columnIndex) -> {
+        String timestampTz = rs.getString(columnIndex);
         if (timestampTz == null) {
           return null;
         }
@@ -17,20 +17,31 @@ package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range
 
 import com.google.auto.value.AutoValue;
 import java.io.Serializable;
+import java.util.Comparator;
+import javax.annotation.Nullable;
 
 /**
  * Encapsulates a table's identifier within a Boundary. This enables handling multiple tables within
- * a single stage. This also provides an extension point for future cross-database support by
- * allowing for the inclusion of a database identifier (an identifier that would point to a
- * serializable datasource).
+ * a single stage. The optional {@link #dataSourceId()} identifies the database the table belongs
+ * to, which allows the tables of many databases (like the logical shards of a sharded migration) to
+ * be handled within a single stage.
  */
 @AutoValue
 public abstract class TableIdentifier implements Serializable, Comparable<TableIdentifier> {
 
+  private static final Comparator<TableIdentifier> COMPARATOR =
+      Comparator.comparing(TableIdentifier::tableName)
+          .thenComparing(
+              TableIdentifier::dataSourceId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
   public abstract String tableName();
 
-  // Future extension:
-  // public abstract String databaseIdentifier();
+  /**
+   * Identifier of the data source to read the table from. Null if all the tables are read from the
+   * default data source.
+   */
+  @Nullable
+  public abstract String dataSourceId();
 
   public static Builder builder() {
     return new AutoValue_TableIdentifier.Builder();
@@ -38,13 +49,15 @@ public abstract class TableIdentifier implements Serializable, Comparable<TableI
 
   @Override
   public int compareTo(TableIdentifier other) {
-    return this.tableName().compareTo(other.tableName());
+    return COMPARATOR.compare(this, other);
   }
 
   @AutoValue.Builder
   public abstract static class Builder {
     public abstract Builder setTableName(String value);
 
+    public abstract Builder setDataSourceId(@Nullable String value);
+
     public abstract TableIdentifier build();
   }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import static org.apache.beam.sdk.util.Preconditions.checkStateNotNull;
+
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
+import com.google.common.collect.ImmutableMap;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+
+/**
+ * Resolves the {@link DataSource} to query for a {@link TableIdentifier}.
+ *
+ * <p>Tables without a {@link TableIdentifier#dataSourceId()} are read from the default data source.
+ * Tables with a data source id are read from the provider registered for that id. Providers like
+ * {@link org.apache.beam.sdk.io.jdbc.JdbcIO.PoolableDataSourceProvider} cache a pooled data source
+ * per configuration on each worker, so every id is backed by a single connection pool per worker,
+ * no matter how many DoFn instances resolve it.
+ *
+ * <p>The data sources of the ids are created lazily, as a worker usually processes the ranges of a
+ * subset of the ids only.
+ */
+final class DataSourceResolver implements Serializable {
+
+  private final SerializableFunction<Void, DataSource> defaultDataSourceProviderFn;
+
+  private final ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns;
+
+  private transient @Nullable DataSource defaultDataSource;
+
+  private transient @Nullable Map<String, DataSource> dataSources;
+
+  DataSourceResolver(
+      SerializableFunction<Void, DataSource> defaultDataSourceProviderFn,
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns) {
+    this.defaultDataSourceProviderFn = defaultDataSourceProviderFn;
+    this.dataSourceProviderFns = dataSourceProviderFns;
+  }
+
+  /**
+   * Initializes the default data source. Must be called from the {@code @Setup} of the DoFn.
+   *
+   * @return the default data source.
+   */
+  DataSource setup() {
+    this.defaultDataSource = defaultDataSourceProviderFn.apply(null);
+    this.dataSources = new ConcurrentHashMap<>();
+    return this.defaultDataSource;
+  }
+
+  /**
+   * Resolves the data source of a table.
+   *
+   * @param tableIdentifier identifier of the table.
+   * @return the data source to query the table.
+   * @throws IllegalStateException if no provider is registered for the data source id of the
+   *     table.
+   */
+  DataSource resolve(TableIdentifier tableIdentifier) {
+    String dataSourceId = tableIdentifier.dataSourceId();
+    if (dataSourceId == null) {
+      return checkStateNotNull(defaultDataSource, "DataSourceResolver is not set up.");
+    }
+    SerializableFunction<Void, DataSource> providerFn = dataSourceProviderFns.get(dataSourceId);
+    if (providerFn == null) {
+      throw new IllegalStateException(
+          "No data source registered for dataSourceId " + dataSourceId + " of " + tableIdentifier);
+    }
+    return checkStateNotNull(dataSources, "DataSourceResolver is not set up.")
+        .computeIfAbsent(dataSourceId, id -> providerFn.apply(null));
+  }
+}
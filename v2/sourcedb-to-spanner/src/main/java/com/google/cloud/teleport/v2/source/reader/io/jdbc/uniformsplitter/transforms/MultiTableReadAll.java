@@ -85,6 +85,10 @@ public abstract class MultiTableReadAll<ParameterT, OutputT>
   @Pure
   protected abstract @Nullable SerializableFunction<Void, DataSource> getDataSourceProviderFn();
 
+  @Pure
+  protected abstract ImmutableMap<String, SerializableFunction<Void, DataSource>>
+      getDataSourceProviderFns();
+
   @Pure
   protected abstract @Nullable ValueProvider<QueryProvider> getQueryProvider();
 
@@ -116,6 +120,7 @@ public abstract class MultiTableReadAll<ParameterT, OutputT>
    */
   public static Builder builder() {
     return new AutoValue_MultiTableReadAll.Builder()
+        .setDataSourceProviderFns(ImmutableMap.of())
         .setDisableAutoCommit(DEFAULT_DISABLE_AUTO_COMMIT);
   }
 
@@ -124,6 +129,9 @@ public abstract class MultiTableReadAll<ParameterT, OutputT>
     abstract Builder<ParameterT, OutputT> setDataSourceProviderFn(
         SerializableFunction<Void, DataSource> dataSourceProviderFn);
 
+    abstract Builder<ParameterT, OutputT> setDataSourceProviderFns(
+        ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns);
+
     abstract Builder<ParameterT, OutputT> setQueryProvider(ValueProvider<QueryProvider> query);
 
     abstract Builder<ParameterT, OutputT> setParameterSetter(
@@ -171,6 +179,19 @@ public abstract class MultiTableReadAll<ParameterT, OutputT>
     return toBuilder().setDataSourceProviderFn(dataSourceProviderFn).build();
   }
 
+  /**
+   * Configures the providers of the data sources of tables with a {@link
+   * TableIdentifier#dataSourceId()}. Tables without a data source id are read from the data source
+   * configured by {@link #withDataSourceProviderFn(SerializableFunction)}.
+   *
+   * @param dataSourceProviderFns the data source provider functions by data source id.
+   * @return a new transform instance.
+   */
+  public MultiTableReadAll<ParameterT, OutputT> withDataSourceProviderFns(
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns) {
+    return toBuilder().setDataSourceProviderFns(dataSourceProviderFns).build();
+  }
+
   /**
    * Sets a static query to be used for all input elements.
    *
@@ -323,6 +344,7 @@ public abstract class MultiTableReadAll<ParameterT, OutputT>
                 ParDo.of(
                     new MultiTableReadFn<>(
                         checkStateNotNull(getDataSourceProviderFn()),
+                        getDataSourceProviderFns(),
                         checkStateNotNull(getQueryProvider()),
                         checkStateNotNull(getParameterSetter()),
                         getTableReadSpecifications(),
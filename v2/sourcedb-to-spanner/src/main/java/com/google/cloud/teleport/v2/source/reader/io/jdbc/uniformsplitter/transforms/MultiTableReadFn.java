@@ -28,6 +28,8 @@ import com.google.re2j.Pattern;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
@@ -57,11 +59,14 @@ import org.slf4j.LoggerFactory;
  * </ul>
  *
  * <p>By using a single {@code DoFn} for all tables, we maintain a constant-size Dataflow graph
- * regardless of the number of tables in the migration.
+ * regardless of the number of tables in the migration. Tables with a {@link
+ * TableIdentifier#dataSourceId()} are read from the data source registered for that id, which keeps
+ * the graph constant in the number of databases (like logical shards) as well. A connection is
+ * held per data source for the duration of a bundle.
  */
 public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, OutputT> {
 
-  private final SerializableFunction<Void, DataSource> dataSourceProviderFn;
+  private final DataSourceResolver dataSourceResolver;
   private final ValueProvider<QueryProvider> query;
   private final PreparedStatementSetter<ParameterT> parameterSetter;
   private final ImmutableMap<TableIdentifier, TableReadSpecification<OutputT>>
@@ -74,6 +79,9 @@ public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, Outp
   // Connections are instance-local and handled per-bundle for thread safety.
   private @Nullable Connection connection;
 
+  /** Connections to the data sources of tables with a data source id, by data source id. */
+  private transient Map<String, Connection> dataSourceConnections = new HashMap<>();
+
   /** Keep track of the tables for which lineage has already been reported to avoid duplicates. */
   private transient Set<KV<String, String>> reportedLineages = ConcurrentHashMap.newKeySet();
 
@@ -86,7 +94,25 @@ public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, Outp
       ImmutableMap<TableIdentifier, TableReadSpecification<OutputT>> tableReadSpecifications,
       SerializableFunction<ParameterT, TableIdentifier> tableIdentifierFn,
       boolean disableAutoCommit) {
-    this.dataSourceProviderFn = dataSourceProviderFn;
+    this(
+        dataSourceProviderFn,
+        ImmutableMap.of(),
+        query,
+        parameterSetter,
+        tableReadSpecifications,
+        tableIdentifierFn,
+        disableAutoCommit);
+  }
+
+  public MultiTableReadFn(
+      SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns,
+      ValueProvider<QueryProvider> query,
+      PreparedStatementSetter<ParameterT> parameterSetter,
+      ImmutableMap<TableIdentifier, TableReadSpecification<OutputT>> tableReadSpecifications,
+      SerializableFunction<ParameterT, TableIdentifier> tableIdentifierFn,
+      boolean disableAutoCommit) {
+    this.dataSourceResolver = new DataSourceResolver(dataSourceProviderFn, dataSourceProviderFns);
     this.query = query;
     this.parameterSetter = parameterSetter;
     this.tableReadSpecifications = tableReadSpecifications;
@@ -97,7 +123,8 @@ public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, Outp
   @Setup
   public void setup() throws Exception {
     this.reportedLineages = ConcurrentHashMap.newKeySet();
-    dataSource = dataSourceProviderFn.apply(null);
+    this.dataSourceConnections = new HashMap<>();
+    dataSource = dataSourceResolver.setup();
   }
 
   /**
@@ -140,6 +167,36 @@ public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, Outp
     return connection;
   }
 
+  /**
+   * Returns the connection to read a table. Tables without a data source id use the connection of
+   * the default data source as per {@link #getConnection(Object)}. Otherwise, a connection to the
+   * data source of the table is opened lazily and held until the end of the bundle.
+   *
+   * @param element the input element used to generate the query for lineage reporting.
+   * @param tableIdentifier identifier of the table to read.
+   * @return the active database connection.
+   * @throws Exception if connection fails.
+   */
+  @VisibleForTesting
+  protected Connection getConnection(ParameterT element, TableIdentifier tableIdentifier)
+      throws Exception {
+    String dataSourceId = tableIdentifier.dataSourceId();
+    if (dataSourceId == null) {
+      return getConnection(element);
+    }
+    Connection connection = dataSourceConnections.get(dataSourceId);
+    if (connection == null) {
+      DataSource validSource = dataSourceResolver.resolve(tableIdentifier);
+      connection = validSource.getConnection();
+      dataSourceConnections.put(dataSourceId, connection);
+      if (disableAutoCommit) {
+        connection.setAutoCommit(false);
+      }
+      reportLineage(element, connection, validSource, query, reportedLineages);
+    }
+    return connection;
+  }
+
   /**
    * Reports data lineage to the Apache Beam {@link Lineage} metrics system.
    *
@@ -248,7 +305,7 @@ public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, Outp
     if (spec == null) {
       throw new RuntimeException("TableReadSpecification not found for table: " + tableIdentifier);
     }
-    Connection connection = getConnection(element);
+    Connection connection = getConnection(element, tableIdentifier);
     try (PreparedStatement statement =
         connection.prepareStatement(
             query.get().getQuery(element),
@@ -276,11 +333,18 @@ public class MultiTableReadFn<ParameterT, OutputT> extends DoFn<ParameterT, Outp
   }
 
   private void cleanUpConnection() throws Exception {
-    if (connection != null) {
-      try {
-        connection.close();
-      } finally {
-        connection = null;
+    try {
+      for (Connection dataSourceConnection : dataSourceConnections.values()) {
+        dataSourceConnection.close();
+      }
+    } finally {
+      dataSourceConnections.clear();
+      if (connection != null) {
+        try {
+          connection.close();
+        } finally {
+          connection = null;
+        }
       }
     }
   }
@@ -27,6 +27,7 @@ import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -46,7 +47,7 @@ import org.slf4j.LoggerFactory;
 final class RangeBoundaryDoFn extends DoFn<ColumnForBoundaryQuery, Range> implements Serializable {
 
   private static final Logger logger = LoggerFactory.getLogger(RangeBoundaryDoFn.class);
-  private final SerializableFunction<Void, DataSource> dataSourceProviderFn;
+  private final DataSourceResolver dataSourceResolver;
 
   private final UniformSplitterDBAdapter dbAdapter;
 
@@ -60,17 +61,28 @@ final class RangeBoundaryDoFn extends DoFn<ColumnForBoundaryQuery, Range> implem
 
   @Nullable private BoundaryTypeMapper boundaryTypeMapper;
 
-  @JsonIgnore private transient @Nullable DataSource dataSource;
+  RangeBoundaryDoFn(
+      SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      UniformSplitterDBAdapter dbAdapter,
+      ImmutableList<TableSplitSpecification> tableSplitSpecifications,
+      BoundaryTypeMapper boundaryTypeMapper) {
+    this(
+        dataSourceProviderFn,
+        ImmutableMap.of(),
+        dbAdapter,
+        tableSplitSpecifications,
+        boundaryTypeMapper);
+  }
 
   RangeBoundaryDoFn(
       SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns,
       UniformSplitterDBAdapter dbAdapter,
       ImmutableList<TableSplitSpecification> tableSplitSpecifications,
       BoundaryTypeMapper boundaryTypeMapper) {
-    this.dataSourceProviderFn = dataSourceProviderFn;
+    this.dataSourceResolver = new DataSourceResolver(dataSourceProviderFn, dataSourceProviderFns);
     this.dbAdapter = dbAdapter;
     this.tableSplitSpecifications = tableSplitSpecifications;
-    this.dataSource = null;
     this.boundaryTypeMapper = boundaryTypeMapper;
     this.columnForBoundaryQueryPreparedStatementSetter =
         new ColumnForBoundaryQueryPreparedStatementSetter(tableSplitSpecifications);
@@ -78,17 +90,13 @@ final class RangeBoundaryDoFn extends DoFn<ColumnForBoundaryQuery, Range> implem
 
   @Setup
   public void setup() throws Exception {
-    dataSource = dataSourceProviderFn.apply(null);
+    dataSourceResolver.setup();
     this.tableSplitSpecificationMap =
         this.tableSplitSpecifications.stream()
             .collect(
                 Collectors.toMap(TableSplitSpecification::tableIdentifier, Function.identity()));
   }
 
-  private Connection acquireConnection() throws SQLException {
-    return checkStateNotNull(this.dataSource).getConnection();
-  }
-
   /**
    * DoFn to find boundary (min, max) for a column (optionally for a given parent range).
    *
@@ -111,7 +119,8 @@ final class RangeBoundaryDoFn extends DoFn<ColumnForBoundaryQuery, Range> implem
                 .collect(ImmutableList.toImmutableList()),
             input.columnName());
 
-    try (Connection conn = acquireConnection()) {
+    DataSource dataSource = dataSourceResolver.resolve(input.tableIdentifier());
+    try (Connection conn = dataSource.getConnection()) {
       PreparedStatement stmt =
           conn.prepareStatement(
               boundaryQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
@@ -22,6 +22,7 @@ import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
@@ -43,6 +44,9 @@ public abstract class RangeBoundaryTransform
   /** Provider for {@link DataSource}. */
   abstract SerializableFunction<Void, DataSource> dataSourceProviderFn();
 
+  /** Providers for {@link DataSource} by the data source id of the tables. Defaults to empty. */
+  abstract ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns();
+
   /**
    * Implementations of {@link UniformSplitterDBAdapter} to get queries as per the dialect of the
    * database.
@@ -62,6 +66,7 @@ public abstract class RangeBoundaryTransform
         ParDo.of(
             new RangeBoundaryDoFn(
                 dataSourceProviderFn(),
+                dataSourceProviderFns(),
                 dbAdapter(),
                 tableSplitSpecifications(),
                 boundaryTypeMapper()));
@@ -72,7 +77,8 @@ public abstract class RangeBoundaryTransform
   }
 
   public static Builder builder() {
-    return new AutoValue_RangeBoundaryTransform.Builder();
+    return new AutoValue_RangeBoundaryTransform.Builder()
+        .setDataSourceProviderFns(ImmutableMap.of());
   }
 
   @AutoValue.Builder
@@ -80,6 +86,9 @@ public abstract class RangeBoundaryTransform
 
     public abstract Builder setDataSourceProviderFn(SerializableFunction<Void, DataSource> value);
 
+    public abstract Builder setDataSourceProviderFns(
+        ImmutableMap<String, SerializableFunction<Void, DataSource>> value);
+
     public abstract Builder setDbAdapter(UniformSplitterDBAdapter value);
 
     public abstract Builder setTableSplitSpecifications(
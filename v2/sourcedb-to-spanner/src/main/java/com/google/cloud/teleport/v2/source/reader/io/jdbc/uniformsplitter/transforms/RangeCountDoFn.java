@@ -15,9 +15,6 @@
  */
 package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
 
-import static org.apache.beam.sdk.util.Preconditions.checkStateNotNull;
-
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.RangePreparedStatementSetter;
@@ -32,7 +29,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
-import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.SerializableFunction;
@@ -53,7 +49,7 @@ final class RangeCountDoFn extends DoFn<Range, Range> implements Serializable {
   private static final long TIMEOUT_GRACE_MILLIS = 1500;
 
   private static final Logger logger = LoggerFactory.getLogger(RangeCountDoFn.class);
-  private final SerializableFunction<Void, DataSource> dataSourceProviderFn;
+  private final DataSourceResolver dataSourceResolver;
   private final long timeoutMillis;
 
   private final UniformSplitterDBAdapter dbAdapter;
@@ -62,14 +58,26 @@ final class RangeCountDoFn extends DoFn<Range, Range> implements Serializable {
 
   private final RangePreparedStatementSetter rangePreparedStatementSetter;
 
-  @JsonIgnore private transient @Nullable DataSource dataSource;
+  RangeCountDoFn(
+      SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      long timeoutMillis,
+      UniformSplitterDBAdapter dbAdapter,
+      ImmutableList<TableSplitSpecification> tableSplitSpecifications) {
+    this(
+        dataSourceProviderFn,
+        ImmutableMap.of(),
+        timeoutMillis,
+        dbAdapter,
+        tableSplitSpecifications);
+  }
 
   RangeCountDoFn(
       SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns,
       long timeoutMillis,
       UniformSplitterDBAdapter dbAdapter,
       ImmutableList<TableSplitSpecification> tableSplitSpecifications) {
-    this.dataSourceProviderFn = dataSourceProviderFn;
+    this.dataSourceResolver = new DataSourceResolver(dataSourceProviderFn, dataSourceProviderFns);
     this.timeoutMillis = timeoutMillis;
     this.dbAdapter = dbAdapter;
     ImmutableMap.Builder<TableIdentifier, String> countQueriesBuilder = ImmutableMap.builder();
@@ -85,16 +93,11 @@ final class RangeCountDoFn extends DoFn<Range, Range> implements Serializable {
     }
     this.countQueries = countQueriesBuilder.build();
     this.rangePreparedStatementSetter = new RangePreparedStatementSetter(tableSplitSpecifications);
-    this.dataSource = null;
   }
 
   @Setup
   public void setup() throws Exception {
-    dataSource = dataSourceProviderFn.apply(null);
-  }
-
-  private Connection acquireConnection() throws SQLException {
-    return checkStateNotNull(this.dataSource).getConnection();
+    dataSourceResolver.setup();
   }
 
   /**
@@ -119,7 +122,8 @@ final class RangeCountDoFn extends DoFn<Range, Range> implements Serializable {
       throw new RuntimeException("Invalid Range");
     }
     String countQuery = countQueries.get(input.tableIdentifier());
-    try (Connection conn = acquireConnection()) {
+    DataSource dataSource = dataSourceResolver.resolve(input.tableIdentifier());
+    try (Connection conn = dataSource.getConnection()) {
       PreparedStatement stmt =
           conn.prepareStatement(
               countQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
@@ -21,6 +21,7 @@ import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
@@ -38,6 +39,9 @@ public abstract class RangeCountTransform extends PTransform<PCollection<Range>,
   /** Provider for {@link DataSource}. */
   abstract SerializableFunction<Void, DataSource> dataSourceProviderFn();
 
+  /** Providers for {@link DataSource} by the data source id of the tables. Defaults to empty. */
+  abstract ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns();
+
   /**
    * Implementations of {@link UniformSplitterDBAdapter} to get queries as per the dialect of the
    * database.
@@ -59,7 +63,11 @@ public abstract class RangeCountTransform extends PTransform<PCollection<Range>,
     SingleOutput<Range, Range> parDo =
         ParDo.of(
             new RangeCountDoFn(
-                dataSourceProviderFn(), timeoutMillis(), dbAdapter(), tableSplitSpecifications()));
+                dataSourceProviderFn(),
+                dataSourceProviderFns(),
+                timeoutMillis(),
+                dbAdapter(),
+                tableSplitSpecifications()));
 
     if (boundaryTypeMapper() != null) {
       parDo = parDo.withSideInputs(boundaryTypeMapper().getCollationMapperView());
@@ -68,7 +76,7 @@ public abstract class RangeCountTransform extends PTransform<PCollection<Range>,
   }
 
   public static Builder builder() {
-    return new AutoValue_RangeCountTransform.Builder();
+    return new AutoValue_RangeCountTransform.Builder().setDataSourceProviderFns(ImmutableMap.of());
   }
 
   @AutoValue.Builder
@@ -76,6 +84,9 @@ public abstract class RangeCountTransform extends PTransform<PCollection<Range>,
 
     public abstract Builder setDataSourceProviderFn(SerializableFunction<Void, DataSource> value);
 
+    public abstract Builder setDataSourceProviderFns(
+        ImmutableMap<String, SerializableFunction<Void, DataSource>> value);
+
     public abstract Builder setDbAdapter(UniformSplitterDBAdapter value);
 
     public abstract Builder setTimeoutMillis(long value);
@@ -94,6 +94,14 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
   /** Provider for {@link DataSource}. Required parameter. */
   abstract SerializableFunction<Void, DataSource> dataSourceProviderFn();
 
+  /**
+   * Providers for {@link DataSource} by {@link TableIdentifier#dataSourceId()}. This allows reading
+   * the tables of many databases, like the logical shards of a sharded migration, within the same
+   * constant-size graph. Tables without a data source id, as well as the collation discovery, use
+   * {@link #dataSourceProviderFn()}. Defaults to empty.
+   */
+  abstract ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns();
+
   /**
    * Implementations of {@link UniformSplitterDBAdapter} to get queries as per the dialect of the
    * database. Required parameter.
@@ -208,6 +216,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
       RangeCountTransform rangeCountTransform =
           RangeCountTransform.builder()
               .setDataSourceProviderFn(dataSourceProviderFn())
+              .setDataSourceProviderFns(dataSourceProviderFns())
               .setDbAdapter(dbAdapter())
               .setTableSplitSpecifications(tableSplitSpecifications())
               .setBoundaryTypeMapper(typeMapper)
@@ -217,6 +226,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
       RangeBoundaryTransform rangeBoundaryTransform =
           RangeBoundaryTransform.builder()
               .setDataSourceProviderFn(dataSourceProviderFn())
+              .setDataSourceProviderFns(dataSourceProviderFns())
               .setBoundaryTypeMapper(typeMapper)
               .setDbAdapter(dbAdapter())
               .setTableSplitSpecifications(tableSplitSpecifications())
@@ -326,7 +336,8 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
                 tableReadSpecifications(),
                 dbAdapter(),
                 rangePrepareator,
-                dataSourceProviderFn()));
+                dataSourceProviderFn(),
+                dataSourceProviderFns()));
   }
 
   @VisibleForTesting
@@ -359,6 +370,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
    * @param dbAdapter the database adapter for generating queries.
    * @param rangePrepareator the parameter setter for the read query.
    * @param dataSourceProviderFn the provider for the data source.
+   * @param dataSourceProviderFns the providers for the data sources by data source id.
    * @return a configured MultiTableReadAll transform.
    */
   @VisibleForTesting
@@ -368,7 +380,8 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
       ImmutableMap<TableIdentifier, TableReadSpecification<T>> tableReadSpecifications,
       UniformSplitterDBAdapter dbAdapter,
       PreparedStatementSetter<Range> rangePrepareator,
-      SerializableFunction<Void, DataSource> dataSourceProviderFn) {
+      SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns) {
     QueryProviderImpl queryProvider =
         QueryProviderImpl.builder()
             .setTableSplitSpecifications(tableSplitSpecifications, dbAdapter)
@@ -379,6 +392,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
             .setQueryProvider(StaticValueProvider.of(queryProvider))
             .setParameterSetter(rangePrepareator)
             .setDataSourceProviderFn(dataSourceProviderFn)
+            .setDataSourceProviderFns(dataSourceProviderFns)
             .setTableReadSpecifications(tableReadSpecifications)
             .setTableIdentifierFn(new RangeToTableIdentifierFn())
             .setDisableAutoCommit(true)
@@ -388,6 +402,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
 
   public static <T> Builder<T> builder() {
     return new AutoValue_ReadWithUniformPartitions.Builder<T>()
+        .setDataSourceProviderFns(ImmutableMap.of())
         .setCountQueryTimeoutMillis(SPLITTER_DEFAULT_COUNT_QUERY_TIMEOUT_MILLIS)
         .setDbParallelizationForSplitProcess(null)
         .setDbParallelizationForReads(null)
@@ -436,6 +451,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
         RangeBoundaryTransform.builder()
             .setBoundaryTypeMapper(typeMapper)
             .setDataSourceProviderFn(dataSourceProviderFn())
+            .setDataSourceProviderFns(dataSourceProviderFns())
             .setDbAdapter(dbAdapter())
             .setTableSplitSpecifications(tableSplitSpecifications())
             .build();
@@ -561,6 +577,11 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
     public abstract Builder<T> setDataSourceProviderFn(
         SerializableFunction<Void, DataSource> value);
 
+    public abstract Builder<T> setDataSourceProviderFns(
+        ImmutableMap<String, SerializableFunction<Void, DataSource>> value);
+
+    abstract ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns();
+
     public abstract Builder<T> setDbAdapter(UniformSplitterDBAdapter value);
 
     public abstract Builder<T> setCountQueryTimeoutMillis(long value);
@@ -635,6 +656,15 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
       Preconditions.checkState(
           tableSplitSpecifications().size() == tableReadSpecifications().size(),
           "Size of tableSplitSpecifications and tableReadSpecifications must match");
+      tableSplitSpecifications().stream()
+          .map(spec -> spec.tableIdentifier().dataSourceId())
+          .filter(Objects::nonNull)
+          .forEach(
+              dataSourceId ->
+                  Preconditions.checkState(
+                      dataSourceProviderFns().containsKey(dataSourceId),
+                      "No dataSourceProviderFn configured for dataSourceId %s",
+                      dataSourceId));
     }
   }
 }
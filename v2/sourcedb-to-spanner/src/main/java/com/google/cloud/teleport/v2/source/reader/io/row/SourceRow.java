@@ -211,5 +211,17 @@ public abstract class SourceRow implements Serializable {
       this.payloadBuilder.set(fieldName, value);
       return this;
     }
+
+    /**
+     * Set a payload field by its {@link Schema.Field}, avoiding the lookup by name.
+     *
+     * @param field field of the payload schema of the table.
+     * @param value value of the field.
+     * @return builder.
+     */
+    public Builder setField(Schema.Field field, Object value) {
+      this.payloadBuilder.set(field, value);
+      return this;
+    }
   }
 }
@@ -23,7 +23,9 @@ import com.google.cloud.teleport.v2.source.reader.io.cassandra.iowrapper.Cassand
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.JdbcIoWrapper;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.config.JdbcIOWrapperConfig;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.config.SQLDialect;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.constants.Constants;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.IdentityMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SchemaFileOverridesBasedMapper;
@@ -31,11 +33,15 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.SchemaStringOverri
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SessionBasedMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
 import com.google.cloud.teleport.v2.spanner.migrations.spanner.SpannerSchema;
+import com.google.cloud.teleport.v2.writer.CreateSpannerSplitPoints;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineWorkerPoolOptions;
@@ -45,8 +51,10 @@ import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerServiceFactoryImpl;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.Wait;
 import org.apache.beam.sdk.transforms.Wait.OnSignal;
+import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.checkerframework.checker.initialization.qual.Initialized;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -113,6 +121,19 @@ public class PipelineController {
         "running migration for {} shards: {}",
         shards.stream().count(),
         shards.stream().map(Shard::getHost).collect(Collectors.toList()));
+    if (Boolean.TRUE.equals(options.getReadShardsInSingleGraph())
+        && canReadShardsInSingleGraph(
+            options, shards, ddl, schemaMapper, levelToSpannerTableList)) {
+      setupLogicalDbMigration(
+          options,
+          pipeline,
+          spannerConfig,
+          tableSelector,
+          levelToSpannerTableList,
+          createMultiShardConfigContainer(
+              options, shards, sqlDialect, getNamespace(options, shards.get(0))));
+      return pipeline.run();
+    }
     for (Shard shard : shards) {
       for (Map.Entry<String, String> entry : shard.getDbNameToLogicalShardIdMap().entrySet()) {
         // Read data from source
@@ -172,7 +193,9 @@ public class PipelineController {
       }
       OnSignal<@UnknownKeyFor @Nullable @Initialized Object> waitOnSignal =
           previousLevelPCollection != null ? Wait.on(previousLevelPCollection) : null;
-      IoWrapper ioWrapper = configContainer.getIOWrapper(sourceTables, waitOnSignal);
+      IoWrapper ioWrapper =
+          getIOWrapper(
+              options, spannerConfig, tableSelector, configContainer, sourceTables, waitOnSignal);
       if (ioWrapper.getTableReaders().isEmpty()) {
         LOG.info("not creating reader as tables are not found at source: {}", sourceTables);
         // If tables of 1 level are ignored in middle, then the subsequent level will not wait to
@@ -216,6 +239,45 @@ public class PipelineController {
         new IncrementTableCounter(tableCompletionMap, "", levelToSpannerTableList));
   }
 
+  /**
+   * Create the {@link IoWrapper} for a level of tables. For JDBC sources, the partitions discovered
+   * by the reader are optionally added as split points on Spanner before the read starts.
+   */
+  private static IoWrapper getIOWrapper(
+      SourceDbToSpannerOptions options,
+      SpannerConfig spannerConfig,
+      TableSelector tableSelector,
+      DbConfigContainer configContainer,
+      List<String> sourceTables,
+      OnSignal<?> waitOnSignal) {
+    if (Boolean.TRUE.equals(options.getCreateSpannerSplitPoints())
+        && configContainer instanceof MultiShardJdbcDbConfigContainer) {
+      MultiShardJdbcDbConfigContainer multiShardConfigContainer =
+          (MultiShardJdbcDbConfigContainer) configContainer;
+      return multiShardConfigContainer.getIOWrapper(
+          sourceTables,
+          waitOnSignal,
+          new CreateSpannerSplitPoints(
+              spannerConfig,
+              tableSelector.getDdl(),
+              tableSelector.getSchemaMapper(),
+              multiShardConfigContainer.getNamespace()));
+    }
+    if (Boolean.TRUE.equals(options.getCreateSpannerSplitPoints())
+        && configContainer instanceof JdbcDbConfigContainer) {
+      JdbcDbConfigContainer jdbcConfigContainer = (JdbcDbConfigContainer) configContainer;
+      return jdbcConfigContainer.getIOWrapper(
+          sourceTables,
+          waitOnSignal,
+          new CreateSpannerSplitPoints(
+              spannerConfig,
+              tableSelector.getDdl(),
+              tableSelector.getSchemaMapper(),
+              jdbcConfigContainer.getNamespace()));
+    }
+    return configContainer.getIOWrapper(sourceTables, waitOnSignal);
+  }
+
   /**
    * For the spanner tables that contain the shard id column, returns the source table to
    * shardColumn.
@@ -238,6 +300,82 @@ public class PipelineController {
     return srcTableToShardIdMap;
   }
 
+  /**
+   * Returns true if the logical shards of all the shards can be read in a single graph, see {@link
+   * SourceDbToSpannerOptions#getReadShardsInSingleGraph()}.
+   *
+   * <p>All the shards must use the same namespace. Every Spanner table must also have a shard id
+   * column, since the Spanner writer reports failed mutations without their source row and the
+   * shard id column is then the only place the DLQ can take the logical shard of a row from.
+   *
+   * @return false if each logical shard has to be read in its own graph.
+   */
+  @VisibleForTesting
+  static boolean canReadShardsInSingleGraph(
+      SourceDbToSpannerOptions options,
+      List<Shard> shards,
+      Ddl ddl,
+      ISchemaMapper schemaMapper,
+      Map<Integer, List<String>> levelToSpannerTableList) {
+    Set<String> namespaces =
+        shards.stream().map(shard -> getNamespace(options, shard)).collect(Collectors.toSet());
+    if (namespaces.size() != 1) {
+      LOG.warn(
+          "shards use different namespaces {}, reading each logical shard in its own graph.",
+          namespaces);
+      return false;
+    }
+    String namespace = namespaces.iterator().next();
+    List<String> tablesWithoutShardIdColumn =
+        levelToSpannerTableList.values().stream()
+            .flatMap(List::stream)
+            .filter(spannerTable -> !hasShardIdColumn(ddl, schemaMapper, namespace, spannerTable))
+            .collect(Collectors.toList());
+    if (!tablesWithoutShardIdColumn.isEmpty()) {
+      LOG.warn(
+          "spanner tables {} have no shard id column, reading each logical shard in its own"
+              + " graph.",
+          tablesWithoutShardIdColumn);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the namespace of a shard, or the namespace configured in the options if the shard has
+   * none.
+   */
+  private static String getNamespace(SourceDbToSpannerOptions options, Shard shard) {
+    return Optional.ofNullable(shard.getNamespace()).orElse(options.getNamespace());
+  }
+
+  private static boolean hasShardIdColumn(
+      Ddl ddl, ISchemaMapper schemaMapper, String namespace, String spannerTable) {
+    String shardIdColumn = schemaMapper.getShardIdColumnName(namespace, spannerTable);
+    if (StringUtils.isEmpty(shardIdColumn)) {
+      // The DLQ falls back to the default column, which a custom transformation may populate.
+      shardIdColumn = Constants.DEFAULT_SHARD_ID_COLUMN;
+    }
+    return ddl.table(spannerTable) != null && ddl.table(spannerTable).column(shardIdColumn) != null;
+  }
+
+  @VisibleForTesting
+  static MultiShardJdbcDbConfigContainer createMultiShardConfigContainer(
+      SourceDbToSpannerOptions options,
+      List<Shard> shards,
+      SQLDialect sqlDialect,
+      String namespace) {
+    List<ShardedJdbcDbConfigContainer> shardConfigContainers = new ArrayList<>();
+    for (Shard shard : shards) {
+      for (Map.Entry<String, String> entry : shard.getDbNameToLogicalShardIdMap().entrySet()) {
+        shardConfigContainers.add(
+            new ShardedJdbcDbConfigContainer(
+                shard, sqlDialect, namespace, entry.getValue(), entry.getKey(), options));
+      }
+    }
+    return new MultiShardJdbcDbConfigContainer(shardConfigContainers, namespace);
+  }
+
   private static String generateSuffix(String shardId, String tableName) {
     String suffix = "";
     if (!StringUtils.isEmpty(shardId)) {
@@ -309,6 +447,16 @@ public class PipelineController {
       return JdbcIoWrapper.of(getJDBCIOWrapperConfig(sourceTables, waitOnSignal));
     }
 
+    default IoWrapper getIOWrapper(
+        List<String> sourceTables,
+        Wait.OnSignal<?> waitOnSignal,
+        PTransform<PCollection<KV<Integer, ImmutableList<Range>>>, ?> operationsOnRanges) {
+      return JdbcIoWrapper.of(
+          getJDBCIOWrapperConfig(sourceTables, waitOnSignal).toBuilder()
+              .setAdditionalOperationsOnRanges(operationsOnRanges)
+              .build());
+    }
+
     @Override
     default Map<String, String> getSrcTableToShardIdColumnMap(
         ISchemaMapper schemaMapper, List<String> spannerTables) {
@@ -386,6 +534,65 @@ public class PipelineController {
     }
   }
 
+  /**
+   * Container for all the logical shards of a sharded migration that share a namespace. The tables
+   * of all the shards are read by a single reader per level, see {@link JdbcIoWrapper#ofShards}.
+   */
+  static class MultiShardJdbcDbConfigContainer implements DbConfigContainer {
+
+    private List<ShardedJdbcDbConfigContainer> shardConfigContainers;
+
+    private String namespace;
+
+    public MultiShardJdbcDbConfigContainer(
+        List<ShardedJdbcDbConfigContainer> shardConfigContainers, String namespace) {
+      this.shardConfigContainers = shardConfigContainers;
+      this.namespace = namespace;
+    }
+
+    public String getNamespace() {
+      return namespace;
+    }
+
+    /**
+     * There is no common shard id. The DLQ takes the shard id of a failed row from the row itself,
+     * or from the shard id column of a failed mutation, see {@link #canReadShardsInSingleGraph}.
+     */
+    @Override
+    public String getShardId() {
+      return null;
+    }
+
+    @Override
+    public Map<String, String> getSrcTableToShardIdColumnMap(
+        ISchemaMapper schemaMapper, List<String> spannerTables) {
+      return PipelineController.getSrcTableToShardIdColumnMap(
+          schemaMapper, namespace, spannerTables);
+    }
+
+    @Override
+    public IoWrapper getIOWrapper(List<String> sourceTables, Wait.OnSignal<?> waitOnSignal) {
+      return JdbcIoWrapper.ofShards(
+          shardConfigContainers.stream()
+              .map(container -> container.getJDBCIOWrapperConfig(sourceTables, waitOnSignal))
+              .collect(ImmutableList.toImmutableList()));
+    }
+
+    public IoWrapper getIOWrapper(
+        List<String> sourceTables,
+        Wait.OnSignal<?> waitOnSignal,
+        PTransform<PCollection<KV<Integer, ImmutableList<Range>>>, ?> operationsOnRanges) {
+      return JdbcIoWrapper.ofShards(
+          shardConfigContainers.stream()
+              .map(
+                  container ->
+                      container.getJDBCIOWrapperConfig(sourceTables, waitOnSignal).toBuilder()
+                          .setAdditionalOperationsOnRanges(operationsOnRanges)
+                          .build())
+              .collect(ImmutableList.toImmutableList()));
+    }
+  }
+
   static class SingleInstanceJdbcDbConfigContainer implements JdbcDbConfigContainer {
     private SourceDbToSpannerOptions options;
 
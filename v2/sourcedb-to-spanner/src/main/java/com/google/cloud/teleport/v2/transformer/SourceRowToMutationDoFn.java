@@ -28,6 +28,7 @@ import com.google.cloud.teleport.v2.spanner.migrations.utils.CustomTransformatio
 import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.templates.RowContext;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
 import org.apache.avro.generic.GenericRecord;
@@ -49,9 +50,16 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
 
   private transient ISpannerMigrationTransformer sourceDbToSpannerTransformer;
 
+  /**
+   * Convertors by shard id. Each convertor caches the conversion plans of the tables it converts,
+   * so they are reused across elements and bundles.
+   */
+  private transient Map<String, GenericRecordTypeConvertor> genericRecordTypeConvertors;
+
   public void setSourceDbToSpannerTransformer(
       ISpannerMigrationTransformer sourceDbToSpannerTransformer) {
     this.sourceDbToSpannerTransformer = sourceDbToSpannerTransformer;
+    this.genericRecordTypeConvertors = null;
   }
 
   private final Counter transformerErrors =
@@ -98,8 +106,7 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
       GenericRecord record = sourceRow.getPayload();
       String srcTableName = sourceRow.tableName();
       GenericRecordTypeConvertor genericRecordTypeConvertor =
-          new GenericRecordTypeConvertor(
-              iSchemaMapper(), "", sourceRow.shardId(), sourceDbToSpannerTransformer);
+          getGenericRecordTypeConvertor(sourceRow.shardId());
       Map<String, Value> values =
           genericRecordTypeConvertor.transformChangeEvent(record, srcTableName);
       if (values == null) {
@@ -125,6 +132,16 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
     }
   }
 
+  private GenericRecordTypeConvertor getGenericRecordTypeConvertor(@Nullable String shardId) {
+    if (genericRecordTypeConvertors == null) {
+      genericRecordTypeConvertors = new HashMap<>();
+    }
+    return genericRecordTypeConvertors.computeIfAbsent(
+        shardId,
+        id ->
+            new GenericRecordTypeConvertor(iSchemaMapper(), "", id, sourceDbToSpannerTransformer));
+  }
+
   private Mutation mutationFromMap(
       String spannerTableName, Map<String, Value> values, boolean insertOnly) {
     Mutation.WriteBuilder builder =
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.writer;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.cloud.spanner.Spanner;
+import com.google.cloud.spanner.SpannerOptions;
+import com.google.cloud.spanner.admin.database.v1.DatabaseAdminClient;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.cloud.teleport.v2.spanner.ddl.Column;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.ddl.IndexColumn;
+import com.google.cloud.teleport.v2.spanner.ddl.Table;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Value;
+import com.google.spanner.admin.database.v1.AddSplitPointsRequest;
+import com.google.spanner.admin.database.v1.DatabaseName;
+import com.google.spanner.admin.database.v1.SplitPoints;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pre-creates split points on Spanner from the ranges discovered by the uniform splitter.
+ *
+ * <p>A fresh Spanner database that receives a bulk migration hotspots on a handful of splits until
+ * load based splitting catches up. This transform is meant to be injected as the {@code
+ * additionalOperationsOnRanges} of the uniform splitter, which waits for it before reading from the
+ * source. The start of every source range is mapped through the {@link ISchemaMapper} to a Spanner
+ * primary key prefix and added as a split point.
+ *
+ * <p>Split points are only a hint. Tables whose partition columns do not map to a prefix of the
+ * Spanner primary key (for example when the migration shard id leads the key), or whose key types
+ * are not supported, are skipped, and failures to add split points are logged without failing the
+ * migration.
+ */
+public class CreateSpannerSplitPoints
+    extends PTransform<PCollection<KV<Integer, ImmutableList<Range>>>, PCollection<Void>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CreateSpannerSplitPoints.class);
+
+  /** Maximum number of split points added by a single request. */
+  @VisibleForTesting static final int MAX_SPLIT_POINTS_PER_REQUEST = 100;
+
+  private final SpannerConfig spannerConfig;
+  private final Ddl ddl;
+  private final ISchemaMapper schemaMapper;
+  private final String namespace;
+
+  public CreateSpannerSplitPoints(
+      SpannerConfig spannerConfig, Ddl ddl, ISchemaMapper schemaMapper, String namespace) {
+    this.spannerConfig = spannerConfig;
+    this.ddl = ddl;
+    this.schemaMapper = schemaMapper;
+    this.namespace = namespace;
+  }
+
+  @Override
+  public PCollection<Void> expand(PCollection<KV<Integer, ImmutableList<Range>>> input) {
+    return input.apply(
+        "CreateSplitPoints",
+        ParDo.of(new CreateSplitPointsFn(spannerConfig, ddl, schemaMapper, namespace)));
+  }
+
+  /**
+   * Map ranges to split point keys per Spanner table.
+   *
+   * @return keys in the format of {@link SplitPoints.Key#getKeyParts()}, by Spanner table name.
+   */
+  @VisibleForTesting
+  static Map<String, Set<ListValue>> splitPointKeys(
+      List<Range> ranges, Ddl ddl, ISchemaMapper schemaMapper, String namespace) {
+    Map<String, Set<ListValue>> keys = new LinkedHashMap<>();
+    Map<String, List<Column>> keyColumnsBySourceColumn = new LinkedHashMap<>();
+    for (Range range : ranges) {
+      // The first range starts at the lowest key of the table.
+      if (range.isFirst() || range.start() == null) {
+        continue;
+      }
+      String srcTable = range.tableIdentifier().tableName();
+      String spannerTable;
+      List<Column> keyColumns;
+      try {
+        spannerTable = schemaMapper.getSpannerTableName(namespace, srcTable);
+        keyColumns =
+            keyColumnsBySourceColumn.computeIfAbsent(
+                srcTable + "." + range.colName(),
+                ignored -> spannerKeyColumns(srcTable, ddl, schemaMapper, namespace));
+      } catch (RuntimeException e) {
+        LOG.debug("Not creating split points for source table {}", srcTable, e);
+        continue;
+      }
+      ListValue.Builder keyParts = ListValue.newBuilder();
+      Range current = range;
+      while (current != null && keyParts.getValuesCount() < keyColumns.size()) {
+        Column column = keyColumns.get(keyParts.getValuesCount());
+        if (!column.name().equals(spannerColumn(srcTable, current, schemaMapper, namespace))) {
+          break;
+        }
+        Value keyPart = toKeyPart(current.start(), column);
+        if (keyPart == null) {
+          break;
+        }
+        keyParts.addValues(keyPart);
+        // A first child range starts at the lowest value of its parent's prefix.
+        current = current.hasChildRange() ? current.childRange() : null;
+        if (current != null && (current.isFirst() || current.start() == null)) {
+          break;
+        }
+      }
+      if (keyParts.getValuesCount() > 0) {
+        keys.computeIfAbsent(spannerTable, t -> new LinkedHashSet<>()).add(keyParts.build());
+      }
+    }
+    return keys;
+  }
+
+  private static List<Column> spannerKeyColumns(
+      String srcTable, Ddl ddl, ISchemaMapper schemaMapper, String namespace) {
+    Table table = ddl.table(schemaMapper.getSpannerTableName(namespace, srcTable));
+    if (table == null || table.primaryKeys() == null) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<Column> columns = ImmutableList.builder();
+    for (IndexColumn pk : table.primaryKeys()) {
+      columns.add(table.column(pk.name()));
+    }
+    return columns.build();
+  }
+
+  @Nullable
+  private static String spannerColumn(
+      String srcTable, Range range, ISchemaMapper schemaMapper, String namespace) {
+    try {
+      return schemaMapper.getSpannerColumnName(namespace, srcTable, range.colName());
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Encode a source boundary as a key part of the given Spanner key column. Returns null for types
+   * that are not supported as split points.
+   */
+  @VisibleForTesting
+  @Nullable
+  static Value toKeyPart(Object value, Column column) {
+    switch (column.type().getCode()) {
+      case INT64:
+      case PG_INT8:
+        Long longValue = toLong(value);
+        return longValue == null
+            ? null
+            : Value.newBuilder().setStringValue(longValue.toString()).build();
+      case NUMERIC:
+      case PG_NUMERIC:
+        if (value instanceof BigDecimal) {
+          return Value.newBuilder().setStringValue(((BigDecimal) value).toPlainString()).build();
+        }
+        if (value instanceof BigInteger || value instanceof Long || value instanceof Integer) {
+          return Value.newBuilder().setStringValue(value.toString()).build();
+        }
+        return null;
+      case STRING:
+      case PG_VARCHAR:
+      case PG_TEXT:
+        return value instanceof String
+            ? Value.newBuilder().setStringValue((String) value).build()
+            : null;
+      default:
+        return null;
+    }
+  }
+
+  @Nullable
+  private static Long toLong(Object value) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+      return ((Number) value).longValue();
+    }
+    try {
+      if (value instanceof BigInteger) {
+        return ((BigInteger) value).longValueExact();
+      }
+      if (value instanceof BigDecimal) {
+        return ((BigDecimal) value).longValueExact();
+      }
+    } catch (ArithmeticException e) {
+      return null;
+    }
+    return null;
+  }
+
+  /** Adds the split points of every batch of ranges. */
+  static class CreateSplitPointsFn extends DoFn<KV<Integer, ImmutableList<Range>>, Void> {
+
+    private final SpannerConfig spannerConfig;
+    private final Ddl ddl;
+    private final ISchemaMapper schemaMapper;
+    private final String namespace;
+
+    private final Counter splitPointsAdded =
+        Metrics.counter(CreateSpannerSplitPoints.class, "spanner_split_points_added");
+
+    private final Counter splitPointFailures =
+        Metrics.counter(CreateSpannerSplitPoints.class, "spanner_split_point_failures");
+
+    private transient Spanner spanner;
+    private transient DatabaseAdminClient databaseAdminClient;
+
+    CreateSplitPointsFn(
+        SpannerConfig spannerConfig, Ddl ddl, ISchemaMapper schemaMapper, String namespace) {
+      this.spannerConfig = spannerConfig;
+      this.ddl = ddl;
+      this.schemaMapper = schemaMapper;
+      this.namespace = namespace;
+    }
+
+    @Setup
+    public void setup() {
+      SpannerOptions.Builder options =
+          SpannerOptions.newBuilder().setProjectId(spannerConfig.getProjectId().get());
+      if (isSet(spannerConfig.getEmulatorHost())) {
+        options.setEmulatorHost(spannerConfig.getEmulatorHost().get());
+      } else if (isSet(spannerConfig.getHost())) {
+        options.setHost(spannerConfig.getHost().get());
+      }
+      spanner = options.build().getService();
+      databaseAdminClient = spanner.createDatabaseAdminClient();
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      Map<String, Set<ListValue>> keys =
+          splitPointKeys(c.element().getValue(), ddl, schemaMapper, namespace);
+      DatabaseName database =
+          DatabaseName.of(
+              spannerConfig.getProjectId().get(),
+              spannerConfig.getInstanceId().get(),
+              spannerConfig.getDatabaseId().get());
+      for (List<SplitPoints> request : batchRequests(keys)) {
+        int count = request.stream().mapToInt(SplitPoints::getKeysCount).sum();
+        try {
+          databaseAdminClient.addSplitPoints(
+              AddSplitPointsRequest.newBuilder()
+                  .setDatabase(database.toString())
+                  .addAllSplitPoints(request)
+                  .build());
+          splitPointsAdded.inc(count);
+        } catch (ApiException e) {
+          splitPointFailures.inc(count);
+          LOG.warn("Failed to add {} split points to {}", count, database, e);
+        }
+      }
+    }
+
+    @Teardown
+    public void teardown() {
+      if (databaseAdminClient != null) {
+        databaseAdminClient.close();
+      }
+      if (spanner != null) {
+        spanner.close();
+      }
+    }
+
+    private static boolean isSet(@Nullable ValueProvider<String> value) {
+      return value != null && value.get() != null && !value.get().isEmpty();
+    }
+  }
+
+  /** Group split point keys into requests of at most {@link #MAX_SPLIT_POINTS_PER_REQUEST}. */
+  @VisibleForTesting
+  static List<List<SplitPoints>> batchRequests(Map<String, Set<ListValue>> keys) {
+    List<List<SplitPoints>> requests = new ArrayList<>();
+    List<SplitPoints> request = new ArrayList<>();
+    int requestSize = 0;
+    for (Map.Entry<String, Set<ListValue>> entry : keys.entrySet()) {
+      SplitPoints.Builder splitPoints = SplitPoints.newBuilder().setTable(entry.getKey());
+      for (ListValue key : entry.getValue()) {
+        splitPoints.addKeys(SplitPoints.Key.newBuilder().setKeyParts(key));
+        requestSize++;
+        if (requestSize == MAX_SPLIT_POINTS_PER_REQUEST) {
+          request.add(splitPoints.build());
+          requests.add(request);
+          request = new ArrayList<>();
+          requestSize = 0;
+          splitPoints = SplitPoints.newBuilder().setTable(entry.getKey());
+        }
+      }
+      if (splitPoints.getKeysCount() > 0) {
+        request.add(splitPoints.build());
+      }
+    }
+    if (!request.isEmpty()) {
+      requests.add(request);
+    }
+    return requests;
+  }
+}
@@ -22,18 +22,24 @@ import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Pr
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Host;
 import com.datastax.driver.core.PlainTextAuthProvider;
 import com.datastax.driver.core.QueryOptions;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SSLOptions;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.SocketOptions;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
 import com.datastax.driver.core.policies.TokenAwarePolicy;
 import com.google.auto.value.AutoValue;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -185,6 +191,8 @@ public class CassandraIO {
 
     abstract @Nullable ValueProvider<Integer> minNumberOfSplits();
 
+    abstract @Nullable ValueProvider<Long> targetBytesPerSplit();
+
     abstract @Nullable ValueProvider<Integer> connectTimeout();
 
     abstract @Nullable ValueProvider<Integer> readTimeout();
@@ -335,6 +343,30 @@ public class CassandraIO {
       return builder().setMinNumberOfSplits(minNumberOfSplits).build();
     }
 
+    /**
+     * Split the table into splits of about the given amount of bytes, according to the estimated
+     * size of each token range in {@code system.size_estimates}. This keeps tables with skewed
+     * token ranges from being read in a few very large splits. The number of splits is at least
+     * {@link #withMinNumberOfSplits(Integer) minNumberOfSplits} if set. If no size estimates are
+     * available, the table is split by the number of splits instead.
+     */
+    public Read<T> withTargetBytesPerSplit(Long targetBytesPerSplit) {
+      checkArgument(targetBytesPerSplit != null, "targetBytesPerSplit can not be null");
+      checkArgument(targetBytesPerSplit > 0, "targetBytesPerSplit must be greater than 0");
+      return withTargetBytesPerSplit(ValueProvider.StaticValueProvider.of(targetBytesPerSplit));
+    }
+
+    /**
+     * Split the table into splits of about the given amount of bytes, according to the estimated
+     * size of each token range in {@code system.size_estimates}. This keeps tables with skewed
+     * token ranges from being read in a few very large splits. The number of splits is at least
+     * {@link #withMinNumberOfSplits(Integer) minNumberOfSplits} if set. If no size estimates are
+     * available, the table is split by the number of splits instead.
+     */
+    public Read<T> withTargetBytesPerSplit(ValueProvider<Long> targetBytesPerSplit) {
+      return builder().setTargetBytesPerSplit(targetBytesPerSplit).build();
+    }
+
     /**
      * Specify the Cassandra client connect timeout in ms. See
      * https://docs.datastax.com/en/drivers/java/3.8/com/datastax/driver/core/SocketOptions.html#setConnectTimeoutMillis-int-
@@ -427,13 +459,12 @@ public class CassandraIO {
       @ProcessElement
       public void process(
           @Element CassandraIO.Read<T> read, OutputReceiver<Read<T>> outputReceiver) {
-        Set<RingRange> ringRanges = getRingRanges(read);
-        for (RingRange rr : ringRanges) {
-          outputReceiver.output(read.withRingRanges(ImmutableSet.of(rr)));
+        for (Set<RingRange> ringRanges : getRingRanges(read)) {
+          outputReceiver.output(read.withRingRanges(ringRanges));
         }
       }
 
-      private static <T> Set<RingRange> getRingRanges(Read<T> read) {
+      private static <T> List<Set<RingRange>> getRingRanges(Read<T> read) {
         try (Cluster cluster =
             getCluster(
                 read.hosts(),
@@ -460,9 +491,32 @@ public class CassandraIO {
             SplitGenerator splitGenerator =
                 new SplitGenerator(cluster.getMetadata().getPartitioner());
 
+            if (read.targetBytesPerSplit() != null && read.targetBytesPerSplit().get() != null) {
+              Map<RingRange, Long> estimates =
+                  getSizeEstimates(cluster, read.keyspace().get(), read.table().get());
+              List<List<RingRange>> splits =
+                  splitGenerator.generateSplitsBySize(
+                      read.targetBytesPerSplit().get(),
+                      read.minNumberOfSplits() != null && read.minNumberOfSplits().get() != null
+                          ? read.minNumberOfSplits().get()
+                          : 1,
+                      tokens,
+                      estimates);
+              if (!splits.isEmpty()) {
+                // Each split is read as a whole, so that small token ranges are grouped together.
+                return splits.stream().map(ImmutableSet::copyOf).collect(Collectors.toList());
+              }
+              LOG.warn(
+                  "No size estimates found for {}.{}, splitting into {} splits instead",
+                  read.keyspace().get(),
+                  read.table().get(),
+                  splitCount);
+            }
+
             return splitGenerator.generateSplits(splitCount, tokens).stream()
                 .flatMap(List::stream)
-                .collect(Collectors.toSet());
+                .map(rr -> (Set<RingRange>) ImmutableSet.of(rr))
+                .collect(Collectors.toList());
 
           } else {
             LOG.warn(
@@ -473,10 +527,56 @@ public class CassandraIO {
                 RingRange.of(
                     SplitGenerator.getRangeMin(partitioner),
                     SplitGenerator.getRangeMax(partitioner));
-            return Collections.singleton(totalRingRange);
+            return Collections.singletonList(ImmutableSet.of(totalRingRange));
           }
         }
       }
+
+      /**
+       * Reads the estimated size of the token ranges of a table. Every host only holds the
+       * estimates of its own primary token ranges, so all hosts are queried. Hosts that cannot be
+       * queried are skipped, and the size of their token ranges is extrapolated from the others.
+       */
+      private static Map<RingRange, Long> getSizeEstimates(
+          Cluster cluster, String keyspace, String table) {
+        Map<RingRange, Long> estimates = new HashMap<>();
+        try (Session session = cluster.connect()) {
+          for (Host host : cluster.getMetadata().getAllHosts()) {
+            SimpleStatement statement =
+                new SimpleStatement(
+                    "SELECT range_start, range_end, mean_partition_size, partitions_count"
+                        + " FROM system.size_estimates WHERE keyspace_name = ? AND table_name = ?",
+                    undelimitIdentifier(keyspace),
+                    undelimitIdentifier(table));
+            statement.setHost(host);
+            try {
+              for (Row row : session.execute(statement)) {
+                estimates.put(
+                    RingRange.of(
+                        new BigInteger(row.getString("range_start")),
+                        new BigInteger(row.getString("range_end"))),
+                    row.getLong("mean_partition_size") * row.getLong("partitions_count"));
+              }
+            } catch (DriverException e) {
+              LOG.warn("Unable to read the size estimates from host {}", host, e);
+            }
+          }
+        }
+        LOG.info("Read {} size estimates for {}.{}", estimates.size(), keyspace, table);
+        return estimates;
+      }
+    }
+
+    /**
+     * Returns the name of a CQL identifier as stored in the system tables: delimited identifiers
+     * as they are, and other identifiers in lower case.
+     */
+    @VisibleForTesting
+    static String undelimitIdentifier(String identifier) {
+      if (identifier.length() >= 2 && identifier.startsWith("\"") && identifier.endsWith("\"")) {
+        return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+      }
+      return identifier.toLowerCase();
     }
 
     @AutoValue.Builder
@@ -507,6 +607,8 @@ public class CassandraIO {
 
       abstract Builder<T> setMinNumberOfSplits(ValueProvider<Integer> minNumberOfSplits);
 
+      abstract Builder<T> setTargetBytesPerSplit(ValueProvider<Long> targetBytesPerSplit);
+
       abstract Builder<T> setConnectTimeout(ValueProvider<Integer> timeout);
 
       abstract Builder<T> setReadTimeout(ValueProvider<Integer> timeout);
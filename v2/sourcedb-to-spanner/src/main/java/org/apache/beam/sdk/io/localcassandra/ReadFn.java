@@ -24,13 +24,15 @@ import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Token;
 import com.google.common.annotations.VisibleForTesting;
 import java.math.BigInteger;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.beam.sdk.io.cassandra.Mapper;
 import org.apache.beam.sdk.io.localcassandra.CassandraIO.Read;
+import org.apache.beam.sdk.io.range.OffsetRange;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.splittabledofn.RestrictionTracker;
 import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Joiner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,8 +45,34 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ReadFn.class);
 
+  /**
+   * Number of sub ranges the token ranges of a read split by size are divided into. The
+   * restriction of a read is the range of its sub range indices, so that the runner can hand the
+   * sub ranges that have not been read yet to other workers.
+   */
+  @VisibleForTesting static final int SUB_RANGES_PER_READ = 32;
+
+  @GetInitialRestriction
+  public OffsetRange getInitialRestriction(@Element Read<T> read) {
+    if (read.ringRanges() == null) {
+      return new OffsetRange(0, 1);
+    }
+    int ringRangeCount = read.ringRanges().get().size();
+    return new OffsetRange(
+        0, (long) ringRangeCount * getSubRangesPerRingRange(read, ringRangeCount));
+  }
+
+  @GetRestrictionCoder
+  public OffsetRange.Coder getRestrictionCoder() {
+    return OffsetRange.Coder.of();
+  }
+
   @ProcessElement
-  public void processElement(@Element Read<T> read, OutputReceiver<T> receiver) throws Exception {
+  public void processElement(
+      @Element Read<T> read,
+      RestrictionTracker<OffsetRange, Long> tracker,
+      OutputReceiver<T> receiver)
+      throws Exception {
     try {
       Session session = ConnectionManager.getSession(read);
       Mapper<T> mapper = read.mapperFactoryFn().apply(session);
@@ -58,10 +86,27 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
 
       String query = generateRangeQuery(read, partitionKey, read.ringRanges() != null);
       PreparedStatement preparedStatement = session.prepare(query);
-      Set<RingRange> ringRanges =
-          read.ringRanges() == null ? Collections.emptySet() : read.ringRanges().get();
 
-      for (RingRange rr : ringRanges) {
+      if (read.ringRanges() == null) {
+        if (tracker.tryClaim(0L)) {
+          ResultSet rs = session.execute(preparedStatement.bind());
+          outputResults(rs, receiver, mapper);
+        }
+        return;
+      }
+
+      List<RingRange> ringRanges = getSortedRingRanges(read);
+      int subRangesPerRingRange = getSubRangesPerRingRange(read, ringRanges.size());
+      SplitGenerator splitGenerator =
+          new SplitGenerator(session.getCluster().getMetadata().getPartitioner());
+      for (long i = tracker.currentRestriction().getFrom(); tracker.tryClaim(i); i++) {
+        // A claimed sub range is always read in full, so splits only happen between queries.
+        RingRange rr =
+            getSubRange(
+                splitGenerator,
+                ringRanges.get((int) (i / subRangesPerRingRange)),
+                subRangesPerRingRange,
+                (int) (i % subRangesPerRingRange));
         Token startToken = session.getCluster().getMetadata().newToken(rr.getStart().toString());
         Token endToken = session.getCluster().getMetadata().newToken(rr.getEnd().toString());
         if (rr.isWrapping()) {
@@ -86,17 +131,43 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
           outputResults(rs, receiver, mapper);
         }
       }
-
-      if (read.ringRanges() == null) {
-        ResultSet rs = session.execute(preparedStatement.bind());
-        outputResults(rs, receiver, mapper);
-      }
     } catch (Exception ex) {
       LOG.error("error", ex);
       throw ex;
     }
   }
 
+  /**
+   * Returns the number of sub ranges each token range of a read is divided into. Token ranges are
+   * only divided when the read is split by size with {@code withTargetBytesPerSplit}, otherwise
+   * each of them is read with a single query. Reads with many token ranges already have enough of
+   * them to rebalance.
+   */
+  @VisibleForTesting
+  static int getSubRangesPerRingRange(Read<?> read, int ringRangeCount) {
+    if (read.targetBytesPerSplit() == null || read.targetBytesPerSplit().get() == null) {
+      return 1;
+    }
+    return Math.max(1, SUB_RANGES_PER_READ / Math.max(1, ringRangeCount));
+  }
+
+  /** Returns the token ranges of a read in a stable order, to index them across workers. */
+  @VisibleForTesting
+  static List<RingRange> getSortedRingRanges(Read<?> read) {
+    return read.ringRanges().get().stream()
+        .sorted(Comparator.comparing(RingRange::getStart).thenComparing(RingRange::getEnd))
+        .collect(Collectors.toList());
+  }
+
+  @VisibleForTesting
+  static RingRange getSubRange(
+      SplitGenerator splitGenerator, RingRange ringRange, int subRangeCount, int index) {
+    if (subRangeCount == 1) {
+      return ringRange;
+    }
+    return splitGenerator.splitTokenRange(ringRange, subRangeCount).get(index);
+  }
+
   /**
    * Delimit the Identifiers as per <a
    * href=https://github.com/ronsavage/SQL/blob/master/sql-99.bnf>sql-99</a>. This is needed to
@@ -19,7 +19,9 @@ package org.apache.beam.sdk.io.localcassandra;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,9 +79,110 @@ final class SplitGenerator {
    * @return big0 list containing at least {@code totalSplitCount} splits.
    */
   List<List<RingRange>> generateSplits(long totalSplitCount, List<BigInteger> ringTokens) {
-    int tokenRangeCount = ringTokens.size();
+    List<RingRange> splits = new ArrayList<>();
+    for (RingRange tokenRange : getTokenRanges(ringTokens)) {
+      BigInteger rs = tokenRange.span(rangeSize);
+
+      // the below, in essence, does this:
+      // splitCount = ceiling((rangeSize / RANGE_SIZE) * totalSplitCount)
+      BigInteger[] splitCountAndRemainder =
+          rs.multiply(BigInteger.valueOf(totalSplitCount)).divideAndRemainder(rangeSize);
+
+      int splitCount =
+          splitCountAndRemainder[0].intValue()
+              + (splitCountAndRemainder[1].equals(BigInteger.ZERO) ? 0 : 1);
+
+      splits.addAll(splitTokenRange(tokenRange, splitCount));
+    }
+    checkSplits(splits);
+    return coalesceSplits(getTargetSplitSize(totalSplitCount), splits);
+  }
+
+  /**
+   * Given a properly ordered list of tokens and the estimated sizes of token ranges, compute splits
+   * of about {@code targetBytesPerSplit} bytes each. Token ranges larger than the target are
+   * divided evenly, and adjacent token ranges smaller than the target are grouped into one split.
+   * Parts of the ring without an estimate are assumed to hold as many bytes per token as the
+   * estimated ones do on average.
+   *
+   * @param targetBytesPerSplit requested amount of bytes per split.
+   * @param minSplitCount minimal amount of splits, which lowers the bytes per split for small
+   *     tables.
+   * @param ringTokens list of all start tokens in a cluster. They have to be in ring order.
+   * @param estimates the estimated bytes of token ranges, as read from {@code
+   *     system.size_estimates}. The token ranges must not overlap.
+   * @return a list of splits, or an empty list if {@code estimates} holds no data.
+   */
+  List<List<RingRange>> generateSplitsBySize(
+      long targetBytesPerSplit,
+      long minSplitCount,
+      List<BigInteger> ringTokens,
+      Map<RingRange, Long> estimates) {
+    List<EstimatedSegment> segments = new ArrayList<>();
+    BigInteger estimatedTokens = BigInteger.ZERO;
+    double estimatedBytes = 0;
+    for (Map.Entry<RingRange, Long> estimate : estimates.entrySet()) {
+      BigInteger span = estimate.getKey().span(rangeSize);
+      if (estimate.getValue() <= 0 || span.equals(BigInteger.ZERO)) {
+        continue;
+      }
+      double bytesPerToken = estimate.getValue() / span.doubleValue();
+      for (BigInteger[] segment : toSegments(estimate.getKey())) {
+        segments.add(new EstimatedSegment(segment[0], segment[1], bytesPerToken));
+      }
+      estimatedTokens = estimatedTokens.add(span);
+      estimatedBytes += estimate.getValue();
+    }
+    if (segments.isEmpty()) {
+      return new ArrayList<>();
+    }
+    segments.sort(Comparator.comparing(segment -> segment.start));
+    double meanBytesPerToken = estimatedBytes / estimatedTokens.doubleValue();
+    double totalBytes = meanBytesPerToken * rangeSize.doubleValue();
+    double targetBytes = Math.max(1, Math.min(targetBytesPerSplit, totalBytes / minSplitCount));
 
     List<RingRange> splits = new ArrayList<>();
+    List<Double> splitBytes = new ArrayList<>();
+    for (RingRange tokenRange : getTokenRanges(ringTokens)) {
+      double bytes = estimateBytes(tokenRange, segments, meanBytesPerToken);
+      int splitCount =
+          (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(bytes / targetBytes)));
+      LOG.debug("Token range {} holds about {} bytes", tokenRange, (long) bytes);
+      for (RingRange split : splitTokenRange(tokenRange, splitCount)) {
+        splits.add(split);
+        splitBytes.add(bytes / splitCount);
+      }
+    }
+    checkSplits(splits);
+
+    List<List<RingRange>> coalescedSplits = new ArrayList<>();
+    List<RingRange> tokenRangesForCurrentSplit = new ArrayList<>();
+    double bytesForCurrentSplit = 0;
+    for (int i = 0; i < splits.size(); i++) {
+      if (bytesForCurrentSplit + splitBytes.get(i) > targetBytes
+          && !tokenRangesForCurrentSplit.isEmpty()) {
+        coalescedSplits.add(tokenRangesForCurrentSplit);
+        tokenRangesForCurrentSplit = new ArrayList<>();
+        bytesForCurrentSplit = 0;
+      }
+      bytesForCurrentSplit += splitBytes.get(i);
+      tokenRangesForCurrentSplit.add(splits.get(i));
+    }
+    if (!tokenRangesForCurrentSplit.isEmpty()) {
+      coalescedSplits.add(tokenRangesForCurrentSplit);
+    }
+    LOG.info(
+        "Generated {} splits of about {} bytes for {} estimated bytes",
+        coalescedSplits.size(),
+        (long) targetBytes,
+        (long) totalBytes);
+    return coalescedSplits;
+  }
+
+  /** Returns the token ranges between consecutive tokens of the ring. */
+  private List<RingRange> getTokenRanges(List<BigInteger> ringTokens) {
+    int tokenRangeCount = ringTokens.size();
+    List<RingRange> tokenRanges = new ArrayList<>();
     for (int i = 0; i < tokenRangeCount; i++) {
       BigInteger start = ringTokens.get(i);
       BigInteger stop = ringTokens.get((i + 1) % tokenRangeCount);
@@ -92,46 +195,42 @@ final class SplitGenerator {
         throw new RuntimeException(
             String.format("Tokens (%s,%s): two nodes have the same token", start, stop));
       }
+      tokenRanges.add(RingRange.of(start, stop));
+    }
+    return tokenRanges;
+  }
 
-      BigInteger rs = stop.subtract(start);
-      if (rs.compareTo(BigInteger.ZERO) <= 0) {
-        // wrap around case
-        rs = rs.add(rangeSize);
-      }
-
-      // the below, in essence, does this:
-      // splitCount = ceiling((rangeSize / RANGE_SIZE) * totalSplitCount)
-      BigInteger[] splitCountAndRemainder =
-          rs.multiply(BigInteger.valueOf(totalSplitCount)).divideAndRemainder(rangeSize);
-
-      int splitCount =
-          splitCountAndRemainder[0].intValue()
-              + (splitCountAndRemainder[1].equals(BigInteger.ZERO) ? 0 : 1);
-
-      LOG.debug("Dividing token range [{},{}) into {} splits", start, stop, splitCount);
+  /** Divides a token range into {@code splitCount} splits of the same amount of tokens. */
+  List<RingRange> splitTokenRange(RingRange tokenRange, int splitCount) {
+    BigInteger start = tokenRange.getStart();
+    BigInteger rs = tokenRange.span(rangeSize);
+    LOG.debug(
+        "Dividing token range [{},{}) into {} splits", start, tokenRange.getEnd(), splitCount);
 
-      // Make big0 list of all the endpoints for the splits, including both start and stop
-      List<BigInteger> endpointTokens = new ArrayList<>();
-      for (int j = 0; j <= splitCount; j++) {
-        BigInteger offset =
-            rs.multiply(BigInteger.valueOf(j)).divide(BigInteger.valueOf(splitCount));
-        BigInteger token = start.add(offset);
-        if (token.compareTo(rangeMax) > 0) {
-          token = token.subtract(rangeSize);
-        }
-        // Long.MIN_VALUE is not a valid token and has to be silently incremented.
-        // See https://issues.apache.org/jira/browse/CASSANDRA-14684
-        endpointTokens.add(
-            token.equals(BigInteger.valueOf(Long.MIN_VALUE)) ? token.add(BigInteger.ONE) : token);
+    // Make a list of all the endpoints for the splits, including both start and stop
+    List<BigInteger> endpointTokens = new ArrayList<>();
+    for (int j = 0; j <= splitCount; j++) {
+      BigInteger offset = rs.multiply(BigInteger.valueOf(j)).divide(BigInteger.valueOf(splitCount));
+      BigInteger token = start.add(offset);
+      if (token.compareTo(rangeMax) > 0) {
+        token = token.subtract(rangeSize);
       }
+      // Long.MIN_VALUE is not a valid token and has to be silently incremented.
+      // See https://issues.apache.org/jira/browse/CASSANDRA-14684
+      endpointTokens.add(
+          token.equals(BigInteger.valueOf(Long.MIN_VALUE)) ? token.add(BigInteger.ONE) : token);
+    }
 
-      // Append the splits between the endpoints
-      for (int j = 0; j < splitCount; j++) {
-        splits.add(RingRange.of(endpointTokens.get(j), endpointTokens.get(j + 1)));
-        LOG.debug("Split #{}: [{},{})", j + 1, endpointTokens.get(j), endpointTokens.get(j + 1));
-      }
+    // Append the splits between the endpoints
+    List<RingRange> splits = new ArrayList<>();
+    for (int j = 0; j < splitCount; j++) {
+      splits.add(RingRange.of(endpointTokens.get(j), endpointTokens.get(j + 1)));
+      LOG.debug("Split #{}: [{},{})", j + 1, endpointTokens.get(j), endpointTokens.get(j + 1));
     }
+    return splits;
+  }
 
+  private void checkSplits(List<RingRange> splits) {
     BigInteger total = BigInteger.ZERO;
     for (RingRange split : splits) {
       BigInteger size = split.span(rangeSize);
@@ -141,7 +240,55 @@ final class SplitGenerator {
       throw new RuntimeException(
           "Some tokens are missing from the splits. " + "This should not happen.");
     }
-    return coalesceSplits(getTargetSplitSize(totalSplitCount), splits);
+  }
+
+  /** Returns the estimated bytes of a token range. */
+  private double estimateBytes(
+      RingRange tokenRange, List<EstimatedSegment> segments, double meanBytesPerToken) {
+    double bytes = 0;
+    for (BigInteger[] range : toSegments(tokenRange)) {
+      BigInteger unestimatedTokens = range[1].subtract(range[0]);
+      // Find the first segment that ends after the range starts.
+      int low = 0;
+      int high = segments.size();
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (segments.get(mid).end.compareTo(range[0]) <= 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      for (int i = low; i < segments.size(); i++) {
+        EstimatedSegment segment = segments.get(i);
+        if (segment.start.compareTo(range[1]) >= 0) {
+          break;
+        }
+        BigInteger overlap = segment.end.min(range[1]).subtract(segment.start.max(range[0]));
+        if (overlap.signum() > 0) {
+          bytes += overlap.doubleValue() * segment.bytesPerToken;
+          unestimatedTokens = unestimatedTokens.subtract(overlap);
+        }
+      }
+      if (unestimatedTokens.signum() > 0) {
+        bytes += unestimatedTokens.doubleValue() * meanBytesPerToken;
+      }
+    }
+    return bytes;
+  }
+
+  /** Returns the tokens of a token range as ranges [start, end), split in two if it wraps. */
+  private List<BigInteger[]> toSegments(RingRange tokenRange) {
+    List<BigInteger[]> segments = new ArrayList<>();
+    if (tokenRange.isWrapping()) {
+      segments.add(new BigInteger[] {tokenRange.getStart(), rangeMax.add(BigInteger.ONE)});
+      if (tokenRange.getEnd().compareTo(rangeMin) > 0) {
+        segments.add(new BigInteger[] {rangeMin, tokenRange.getEnd()});
+      }
+    } else {
+      segments.add(new BigInteger[] {tokenRange.getStart(), tokenRange.getEnd()});
+    }
+    return segments;
   }
 
   private boolean isInRange(BigInteger token) {
@@ -178,4 +325,17 @@ final class SplitGenerator {
   private BigInteger getTargetSplitSize(long splitCount) {
     return rangeMax.subtract(rangeMin).divide(BigInteger.valueOf(splitCount));
   }
+
+  /** A range [start, end) of tokens and the estimated bytes per token within it. */
+  private static final class EstimatedSegment {
+    private final BigInteger start;
+    private final BigInteger end;
+    private final double bytesPerToken;
+
+    private EstimatedSegment(BigInteger start, BigInteger end, double bytesPerToken) {
+      this.start = start;
+      this.end = end;
+      this.bytesPerToken = bytesPerToken;
+    }
+  }
 }
@@ -703,6 +703,98 @@ public class JdbcIoWrapperTest {
                     .build()));
   }
 
+  @Test
+  public void testOfShardsReadsAllShardsWithOneReader() throws RetriableSchemaDiscoveryException {
+    mockSingleTableDiscovery();
+
+    JdbcIoWrapper jdbcIoWrapper =
+        JdbcIoWrapper.ofShards(
+            ImmutableList.of(
+                shardConfig("shard1", "testDB", true), shardConfig("shard2", "testDB", true)));
+    ImmutableMap<ImmutableList<SourceTableReference>, PTransform<PBegin, PCollection<SourceRow>>>
+        tableReaders = jdbcIoWrapper.getTableReaders();
+
+    assertThat(tableReaders).hasSize(1);
+    ImmutableList<SourceTableReference> key = tableReaders.keySet().iterator().next();
+    assertThat(key.stream().map(SourceTableReference::sourceTableName).collect(Collectors.toList()))
+        .containsExactly("\"testTable\"");
+    assertThat(tableReaders.values().iterator().next())
+        .isInstanceOf(ReadWithUniformPartitions.class);
+    assertThat(jdbcIoWrapper.discoverTableSchema().tableSchemas()).hasSize(1);
+  }
+
+  @Test
+  public void testOfShardsWithDuplicateShardIds() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                JdbcIoWrapper.ofShards(
+                    ImmutableList.of(
+                        shardConfig("shard1", "testDB1", true),
+                        shardConfig("shard2", "testDB2", true),
+                        shardConfig("shard1", "testDB3", true))));
+
+    assertThat(exception).hasMessageThat().contains("found duplicates: [shard1]");
+  }
+
+  @Test
+  public void testOfShardsWithoutUniformPartitions() throws RetriableSchemaDiscoveryException {
+    mockSingleTableDiscovery();
+
+    JdbcIoWrapper jdbcIoWrapper =
+        JdbcIoWrapper.ofShards(
+            ImmutableList.of(
+                shardConfig("shard1", "testDB", false), shardConfig("shard2", "testDB", false)));
+
+    assertThat(jdbcIoWrapper.getTableReaders()).hasSize(2);
+  }
+
+  private void mockSingleTableDiscovery() throws RetriableSchemaDiscoveryException {
+    String testCol = "ID";
+    when(mockDialectAdapter.discoverTables(any(), (SourceSchemaReference) any()))
+        .thenReturn(ImmutableList.of("testTable"));
+    when(mockDialectAdapter.discoverTableIndexes(any(), (SourceSchemaReference) any(), any()))
+        .thenReturn(
+            ImmutableMap.of(
+                "testTable",
+                ImmutableList.of(
+                    SourceColumnIndexInfo.builder()
+                        .setIndexType(IndexType.NUMERIC)
+                        .setIndexName("PRIMARY")
+                        .setIsPrimary(true)
+                        .setCardinality(42L)
+                        .setColumnName(testCol)
+                        .setIsUnique(true)
+                        .setOrdinalPosition(1)
+                        .build())));
+    when(mockDialectAdapter.discoverTableSchema(any(), (SourceSchemaReference) any(), any()))
+        .thenReturn(
+            ImmutableMap.of(
+                "testTable",
+                ImmutableMap.of(testCol, new SourceColumnType("INTEGER", new Long[] {}, null))));
+  }
+
+  private JdbcIOWrapperConfig shardConfig(
+      String shardId, String dbName, boolean readWithUniformPartitions) {
+    return JdbcIOWrapperConfig.builderWithMySqlDefaults()
+        .setSourceDbURL("jdbc:derby://myhost/memory:TestingDB;create=true")
+        .setSourceSchemaReference(
+            SourceSchemaReference.ofJdbc(JdbcSchemaReference.builder().setDbName(dbName).build()))
+        .setShardID(shardId)
+        .setReadWithUniformPartitionsFeatureEnabled(readWithUniformPartitions)
+        .setDbAuth(
+            LocalCredentialsProvider.builder()
+                .setUserName("testUser")
+                .setPassword("testPassword")
+                .build())
+        .setJdbcDriverJars("")
+        .setJdbcDriverClassName("org.apache.derby.jdbc.EmbeddedDriver")
+        .setDialectAdapter(mockDialectAdapter)
+        .setTables(ImmutableList.of("testTable"))
+        .build();
+  }
+
   @Test
   public void testIdentifierEscaping() {
     assertThat(JdbcIoWrapper.delimitIdentifier("key")).isEqualTo("\"key\"");
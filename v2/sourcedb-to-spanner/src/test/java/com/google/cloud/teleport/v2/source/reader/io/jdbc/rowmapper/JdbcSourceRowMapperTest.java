@@ -21,7 +21,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -221,25 +223,68 @@ public class JdbcSourceRowMapperTest {
   public void testTimeStringMapping() throws SQLException {
     var mapping = new MysqlJdbcValueMappings().getMappings().get("TIME");
     ResultSet mockResultSet = Mockito.mock(ResultSet.class);
-    when(mockResultSet.getBytes(anyString()))
+    when(mockResultSet.getBytes(anyInt()))
         .thenReturn("-838:59:58.999999".getBytes(java.nio.charset.StandardCharsets.UTF_8));
     assertThat(mapping.mapValue(mockResultSet, "testField", null)).isEqualTo(-3020398999999L);
 
-    when(mockResultSet.getBytes(anyString()))
+    when(mockResultSet.getBytes(anyInt()))
         .thenReturn("838:59:58.999999".getBytes(java.nio.charset.StandardCharsets.UTF_8));
     assertThat(mapping.mapValue(mockResultSet, "testField", null)).isEqualTo(3020398999999L);
 
-    when(mockResultSet.getBytes(anyString()))
+    when(mockResultSet.getBytes(anyInt()))
         .thenReturn("00:00:00".getBytes(java.nio.charset.StandardCharsets.UTF_8));
     assertThat(mapping.mapValue(mockResultSet, "testField", null)).isEqualTo(0L);
 
-    when(mockResultSet.getBytes(anyString()))
+    when(mockResultSet.getBytes(anyInt()))
         .thenReturn("invalid_data".getBytes(java.nio.charset.StandardCharsets.UTF_8));
     Assert.assertThrows(
         java.lang.IllegalArgumentException.class,
         () -> mapping.mapValue(mockResultSet, "testField", null));
   }
 
+  @Test
+  public void testColumnIndexesResolvedOncePerResultSet() throws SQLException {
+    var sourceTableSchema =
+        SourceTableSchema.builder(MapperType.MYSQL)
+            .setTableName("test_table")
+            .addSourceColumnNameToSourceColumnType(
+                "id", new SourceColumnType("BIGINT", new Long[] {}, null))
+            .addSourceColumnNameToSourceColumnType(
+                "name", new SourceColumnType("TEXT", new Long[] {}, null))
+            .build();
+    JdbcSourceRowMapper mapper =
+        new JdbcSourceRowMapper(
+            new MysqlJdbcValueMappings(),
+            SchemaTestUtils.generateSchemaReference("public", "mydb"),
+            sourceTableSchema,
+            null);
+
+    // Projection in the reverse order of the table schema.
+    ResultSet firstResultSet = Mockito.mock(ResultSet.class);
+    when(firstResultSet.findColumn("id")).thenReturn(2);
+    when(firstResultSet.findColumn("name")).thenReturn(1);
+    when(firstResultSet.getLong(2)).thenReturn(1L, 2L);
+    when(firstResultSet.getString(1)).thenReturn("a", "b");
+
+    assertThat(mapper.mapRow(firstResultSet).getPayload().get("id")).isEqualTo(1L);
+    SourceRow secondRow = mapper.mapRow(firstResultSet);
+    assertThat(secondRow.getPayload().get("id")).isEqualTo(2L);
+    assertThat(secondRow.getPayload().get("name")).isEqualTo("b");
+    verify(firstResultSet, times(1)).findColumn("id");
+    verify(firstResultSet, times(1)).findColumn("name");
+
+    // A new result set may project the columns differently.
+    ResultSet secondResultSet = Mockito.mock(ResultSet.class);
+    when(secondResultSet.findColumn("id")).thenReturn(1);
+    when(secondResultSet.findColumn("name")).thenReturn(2);
+    when(secondResultSet.getLong(1)).thenReturn(3L);
+    when(secondResultSet.getString(2)).thenReturn("c");
+
+    SourceRow thirdRow = mapper.mapRow(secondResultSet);
+    assertThat(thirdRow.getPayload().get("id")).isEqualTo(3L);
+    assertThat(thirdRow.getPayload().get("name")).isEqualTo("c");
+  }
+
   @Test
   public void testUnsupportedMapping() {
     String testTable = "test_table";
@@ -54,4 +54,26 @@ public class TableIdentifierTest {
     assertThat(identifierA).isLessThan(identifierB);
     assertThat(identifierB).isGreaterThan(identifierA);
   }
+
+  @Test
+  public void testTableIdentifierWithDataSourceId() {
+    TableIdentifier identifier = TableIdentifier.builder().setTableName("tableA").build();
+    TableIdentifier identifierShard1 =
+        TableIdentifier.builder().setTableName("tableA").setDataSourceId("shard1").build();
+    TableIdentifier identifierShard2 =
+        TableIdentifier.builder().setTableName("tableA").setDataSourceId("shard2").build();
+    TableIdentifier identifierBShard1 =
+        TableIdentifier.builder().setTableName("tableB").setDataSourceId("shard1").build();
+
+    assertThat(identifier.dataSourceId()).isNull();
+    assertThat(identifierShard1.dataSourceId()).isEqualTo("shard1");
+    assertThat(identifierShard1).isNotEqualTo(identifierShard2);
+    assertThat(identifierShard1)
+        .isEqualTo(
+            TableIdentifier.builder().setTableName("tableA").setDataSourceId("shard1").build());
+
+    assertThat(identifier).isLessThan(identifierShard1);
+    assertThat(identifierShard1).isLessThan(identifierShard2);
+    assertThat(identifierShard2).isLessThan(identifierBShard1);
+  }
 }
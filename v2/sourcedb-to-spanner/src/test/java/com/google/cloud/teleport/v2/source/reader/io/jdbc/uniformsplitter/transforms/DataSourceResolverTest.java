@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
+import com.google.common.collect.ImmutableMap;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/** Test class for {@link DataSourceResolver}. */
+@RunWith(MockitoJUnitRunner.class)
+public class DataSourceResolverTest {
+  SerializableFunction<Void, DataSource> mockDefaultProviderFn =
+      Mockito.mock(SerializableFunction.class, withSettings().serializable());
+  SerializableFunction<Void, DataSource> mockShard1ProviderFn =
+      Mockito.mock(SerializableFunction.class, withSettings().serializable());
+  DataSource mockDefaultDataSource = Mockito.mock(DataSource.class);
+  DataSource mockShard1DataSource = Mockito.mock(DataSource.class);
+
+  @Test
+  public void testResolveDefaultDataSource() {
+    when(mockDefaultProviderFn.apply(null)).thenReturn(mockDefaultDataSource);
+    DataSourceResolver resolver = new DataSourceResolver(mockDefaultProviderFn, ImmutableMap.of());
+
+    assertThat(resolver.setup()).isEqualTo(mockDefaultDataSource);
+    assertThat(resolver.resolve(TableIdentifier.builder().setTableName("t1").build()))
+        .isEqualTo(mockDefaultDataSource);
+  }
+
+  @Test
+  public void testResolveDataSourceById() {
+    when(mockDefaultProviderFn.apply(null)).thenReturn(mockDefaultDataSource);
+    when(mockShard1ProviderFn.apply(null)).thenReturn(mockShard1DataSource);
+    DataSourceResolver resolver =
+        new DataSourceResolver(
+            mockDefaultProviderFn, ImmutableMap.of("shard1", mockShard1ProviderFn));
+    TableIdentifier shard1Table =
+        TableIdentifier.builder().setTableName("t1").setDataSourceId("shard1").build();
+
+    resolver.setup();
+
+    assertThat(resolver.resolve(shard1Table)).isEqualTo(mockShard1DataSource);
+    assertThat(resolver.resolve(shard1Table)).isEqualTo(mockShard1DataSource);
+    // The data source of an id is looked up once per set up.
+    verify(mockShard1ProviderFn, times(1)).apply(null);
+  }
+
+  @Test
+  public void testResolveUnknownDataSourceIdThrows() {
+    when(mockDefaultProviderFn.apply(null)).thenReturn(mockDefaultDataSource);
+    DataSourceResolver resolver =
+        new DataSourceResolver(
+            mockDefaultProviderFn, ImmutableMap.of("shard1", mockShard1ProviderFn));
+    resolver.setup();
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            resolver.resolve(
+                TableIdentifier.builder().setTableName("t1").setDataSourceId("shard2").build()));
+  }
+}
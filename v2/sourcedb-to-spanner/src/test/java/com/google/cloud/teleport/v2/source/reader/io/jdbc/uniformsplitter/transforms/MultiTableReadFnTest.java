@@ -424,6 +424,60 @@ public class MultiTableReadFnTest {
     verify(mockConnection, times(1)).close();
   }
 
+  @Test
+  public void testGetConnection_perDataSourceId() throws Exception {
+    DataSource mockDefaultDataSource = mock(DataSource.class);
+    DataSource mockShard1DataSource = mock(DataSource.class);
+    DataSource mockShard2DataSource = mock(DataSource.class);
+    Connection mockDefaultConnection = mock(Connection.class);
+    Connection mockShard1Connection = mock(Connection.class);
+    Connection mockShard2Connection = mock(Connection.class);
+    when(mockDefaultDataSource.getConnection()).thenReturn(mockDefaultConnection);
+    when(mockShard1DataSource.getConnection()).thenReturn(mockShard1Connection);
+    when(mockShard2DataSource.getConnection()).thenReturn(mockShard2Connection);
+    TableIdentifier defaultTable = TableIdentifier.builder().setTableName("test").build();
+    TableIdentifier shard1Table =
+        TableIdentifier.builder().setTableName("test").setDataSourceId("shard1").build();
+    TableIdentifier shard2Table =
+        TableIdentifier.builder().setTableName("test").setDataSourceId("shard2").build();
+
+    MultiTableReadFn<String, String> readFn =
+        new MultiTableReadFn<>(
+            v -> mockDefaultDataSource,
+            ImmutableMap.<String, SerializableFunction<Void, DataSource>>of(
+                "shard1", v -> mockShard1DataSource, "shard2", v -> mockShard2DataSource),
+            StaticValueProvider.of(el -> "INVALID QUERY"),
+            mock(JdbcIO.PreparedStatementSetter.class),
+            ImmutableMap.of(),
+            el -> defaultTable,
+            true);
+    readFn.setup();
+
+    assertThat(readFn.getConnection("el1", shard1Table)).isEqualTo(mockShard1Connection);
+    assertThat(readFn.getConnection("el2", shard1Table)).isEqualTo(mockShard1Connection);
+    assertThat(readFn.getConnection("el3", shard2Table)).isEqualTo(mockShard2Connection);
+    assertThat(readFn.getConnection("el4", defaultTable)).isEqualTo(mockDefaultConnection);
+    // One connection per data source and bundle.
+    verify(mockShard1DataSource, times(1)).getConnection();
+    verify(mockShard2DataSource, times(1)).getConnection();
+    verify(mockDefaultDataSource, times(1)).getConnection();
+    verify(mockShard1Connection).setAutoCommit(false);
+    verify(mockShard2Connection).setAutoCommit(false);
+
+    readFn.finishBundle();
+    verify(mockDefaultConnection, times(1)).close();
+    verify(mockShard1Connection, times(1)).close();
+    verify(mockShard2Connection, times(1)).close();
+
+    // The next bundle opens new connections, and tear down only closes those.
+    assertThat(readFn.getConnection("el5", shard1Table)).isEqualTo(mockShard1Connection);
+    verify(mockShard1DataSource, times(2)).getConnection();
+    readFn.tearDown();
+    verify(mockShard1Connection, times(2)).close();
+    verify(mockShard2Connection, times(1)).close();
+    verify(mockDefaultConnection, times(1)).close();
+  }
+
   @Test
   public void testTearDown_twice() throws Exception {
     DataSource mockDataSource = mock(DataSource.class);
@@ -17,6 +17,7 @@ package com.google.cloud.teleport.v2.templates;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +35,7 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.SchemaFileOverride
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SchemaStringOverridesBasedMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SessionBasedMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
+import com.google.cloud.teleport.v2.templates.PipelineController.MultiShardJdbcDbConfigContainer;
 import com.google.cloud.teleport.v2.templates.PipelineController.ShardedJdbcDbConfigContainer;
 import com.google.cloud.teleport.v2.templates.PipelineController.SingleInstanceJdbcDbConfigContainer;
 import com.google.common.io.Resources;
@@ -42,10 +44,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
@@ -470,6 +474,125 @@ public class PipelineControllerTest {
     assertEquals("testNameSpace", dbConfigContainer.getNamespace());
   }
 
+  @Test
+  public void canReadShardsInSingleGraph() {
+    SourceDbToSpannerOptions options = PipelineOptionsFactory.as(SourceDbToSpannerOptions.class);
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("parent")
+            .column("migration_shard_id")
+            .string()
+            .size(20)
+            .endColumn()
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("migration_shard_id")
+            .asc("id")
+            .end()
+            .endTable()
+            .createTable("child")
+            .column("migration_shard_id")
+            .string()
+            .size(20)
+            .endColumn()
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("migration_shard_id")
+            .asc("id")
+            .end()
+            .endTable()
+            .build();
+    Map<Integer, List<String>> levelToSpannerTableList =
+        Map.of(0, List.of("parent"), 1, List.of("child"));
+
+    assertTrue(
+        PipelineController.canReadShardsInSingleGraph(
+            options,
+            List.of(shard("shard1", null), shard("shard2", null)),
+            ddl,
+            new IdentityMapper(ddl),
+            levelToSpannerTableList));
+    assertFalse(
+        PipelineController.canReadShardsInSingleGraph(
+            options,
+            List.of(shard("shard1", "namespace1"), shard("shard2", "namespace2")),
+            ddl,
+            new IdentityMapper(ddl),
+            levelToSpannerTableList));
+  }
+
+  @Test
+  public void canReadShardsInSingleGraphRequiresShardIdColumns() {
+    SourceDbToSpannerOptions options = PipelineOptionsFactory.as(SourceDbToSpannerOptions.class);
+    String shardedSessionFilePath =
+        Paths.get(Resources.getResource("session-file-sharded.json").getPath()).toString();
+    ISchemaMapper schemaMapper = new SessionBasedMapper(shardedSessionFilePath, shardedDdl);
+    List<Shard> shards = List.of(shard("shard1", null), shard("shard2", null));
+
+    assertTrue(
+        PipelineController.canReadShardsInSingleGraph(
+            options, shards, shardedDdl, schemaMapper, Map.of(0, List.of("new_people"))));
+    // The failed mutations of new_cart could not be attributed to their logical shard.
+    assertFalse(
+        PipelineController.canReadShardsInSingleGraph(
+            options,
+            shards,
+            shardedDdl,
+            schemaMapper,
+            Map.of(0, List.of("new_people"), 1, List.of("new_cart"))));
+  }
+
+  @Test
+  public void multiShardDbConfigContainerTest() {
+    SourceDbToSpannerOptions sourceDbToSpannerOptions =
+        PipelineOptionsFactory.as(SourceDbToSpannerOptions.class);
+    sourceDbToSpannerOptions.setSourceDbDialect(SQLDialect.MYSQL.name());
+    sourceDbToSpannerOptions.setSourceConfigURL("jdbc:mysql://localhost:3306/testDB");
+    sourceDbToSpannerOptions.setJdbcDriverClassName("org.apache.derby.jdbc.EmbeddedDriver");
+    sourceDbToSpannerOptions.setMaxConnections(150);
+    sourceDbToSpannerOptions.setUsername("user");
+    sourceDbToSpannerOptions.setPassword("password");
+    sourceDbToSpannerOptions.setTables("table1,table2");
+    Shard shard1 = shard("shard1", null);
+    shard1.getDbNameToLogicalShardIdMap().put("db1", "logical1");
+    shard1.getDbNameToLogicalShardIdMap().put("db2", "logical2");
+    Shard shard2 = shard("shard2", null);
+    shard2.getDbNameToLogicalShardIdMap().put("db3", "logical3");
+    List<List<String>> readShardIds = new ArrayList<>();
+    mockedStaticJdbcIoWrapper
+        .when(() -> JdbcIoWrapper.ofShards(any()))
+        .thenAnswer(
+            invocation -> {
+              List<JdbcIOWrapperConfig> configs = invocation.getArgument(0);
+              readShardIds.add(
+                  configs.stream().map(JdbcIOWrapperConfig::shardID).collect(Collectors.toList()));
+              return mockJdbcIoWrapper;
+            });
+
+    MultiShardJdbcDbConfigContainer dbConfigContainer =
+        PipelineController.createMultiShardConfigContainer(
+            sourceDbToSpannerOptions, List.of(shard1, shard2), SQLDialect.MYSQL, null);
+    PCollection<Integer> dummyPCollection = pipeline.apply(Create.of(1));
+    pipeline.run();
+
+    assertThat(
+            dbConfigContainer.getIOWrapper(List.of("table1", "table2"), Wait.on(dummyPCollection)))
+        .isEqualTo(mockJdbcIoWrapper);
+    assertThat(readShardIds).hasSize(1);
+    assertThat(readShardIds.get(0)).containsExactly("logical1", "logical2", "logical3");
+    // Rows and failed mutations carry their own logical shard id.
+    assertThat(dbConfigContainer.getShardId()).isNull();
+  }
+
+  private static Shard shard(String logicalShardId, String namespace) {
+    return new Shard(
+        logicalShardId, "localhost", "3306", "user", "password", null, namespace, null, null);
+  }
+
   @After
   public void cleanup() {
     if (mockedStaticJdbcIoWrapper != null) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.writer;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.BoundarySplitterFactory;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.IdentityMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Value;
+import com.google.spanner.admin.database.v1.SplitPoints;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link CreateSpannerSplitPoints}. */
+@RunWith(JUnit4.class)
+public class CreateSpannerSplitPointsTest {
+
+  private static final Ddl DDL =
+      Ddl.builder()
+          .createTable("orders")
+          .column("customer_id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .column("order_id")
+          .string()
+          .max()
+          .notNull()
+          .endColumn()
+          .primaryKey()
+          .asc("customer_id")
+          .asc("order_id")
+          .end()
+          .endTable()
+          .createTable("events")
+          .column("migration_shard_id")
+          .string()
+          .max()
+          .endColumn()
+          .column("event_id")
+          .int64()
+          .endColumn()
+          .primaryKey()
+          .asc("migration_shard_id")
+          .asc("event_id")
+          .end()
+          .endTable()
+          .createTable("payments")
+          .column("created_at")
+          .timestamp()
+          .endColumn()
+          .column("amount")
+          .numeric()
+          .endColumn()
+          .primaryKey()
+          .asc("created_at")
+          .end()
+          .endTable()
+          .build();
+
+  @Test
+  public void testSplitPointKeys() {
+    List<Range> ranges =
+        ImmutableList.of(
+            range("orders", "customer_id", Long.class, 0L, 100L).toBuilder()
+                .setIsFirst(true)
+                .build(),
+            range("orders", "customer_id", Long.class, 100L, 200L),
+            range("orders", "customer_id", Long.class, 200L, 201L)
+                .withChildRange(range("orders", "order_id", String.class, "a", "m"), null),
+            range("orders", "customer_id", Long.class, 300L, 301L)
+                .withChildRange(range("orders", "order_id", String.class, "m", "z"), null),
+            range("orders", "customer_id", Long.class, 300L, 301L)
+                .withChildRange(
+                    range("orders", "order_id", String.class, "m", "z").toBuilder()
+                        .setIsFirst(true)
+                        .build(),
+                    null));
+
+    Map<String, Set<ListValue>> keys =
+        CreateSpannerSplitPoints.splitPointKeys(ranges, DDL, new IdentityMapper(DDL), "");
+
+    assertThat(keys.keySet()).containsExactly("orders");
+    assertThat(keys.get("orders"))
+        .containsExactly(key("100"), key("200", "a"), key("300", "m"), key("300"))
+        .inOrder();
+  }
+
+  @Test
+  public void testSplitPointKeysSkipsColumnsNotLeadingThePrimaryKey() {
+    List<Range> ranges =
+        ImmutableList.of(
+            range("events", "event_id", Long.class, 10L, 20L),
+            range("orders", "order_id", String.class, "a", "b"));
+
+    assertThat(CreateSpannerSplitPoints.splitPointKeys(ranges, DDL, new IdentityMapper(DDL), ""))
+        .isEmpty();
+  }
+
+  @Test
+  public void testSplitPointKeysSkipsUnknownTables() {
+    List<Range> ranges = ImmutableList.of(range("unknown", "id", Long.class, 10L, 20L));
+
+    assertThat(CreateSpannerSplitPoints.splitPointKeys(ranges, DDL, new IdentityMapper(DDL), ""))
+        .isEmpty();
+  }
+
+  @Test
+  public void testToKeyPart() {
+    assertThat(CreateSpannerSplitPoints.toKeyPart(42, DDL.table("orders").column("customer_id")))
+        .isEqualTo(Value.newBuilder().setStringValue("42").build());
+    assertThat(
+            CreateSpannerSplitPoints.toKeyPart(
+                new BigDecimal("1E+3"), DDL.table("payments").column("amount")))
+        .isEqualTo(Value.newBuilder().setStringValue("1000").build());
+    assertThat(
+            CreateSpannerSplitPoints.toKeyPart(
+                new BigDecimal("1.5"), DDL.table("orders").column("customer_id")))
+        .isNull();
+    assertThat(
+            CreateSpannerSplitPoints.toKeyPart(
+                "2020-01-01", DDL.table("payments").column("created_at")))
+        .isNull();
+  }
+
+  @Test
+  public void testBatchRequests() {
+    Map<String, Set<ListValue>> keys = new LinkedHashMap<>();
+    Set<ListValue> orderKeys = new LinkedHashSet<>();
+    for (int i = 0; i < CreateSpannerSplitPoints.MAX_SPLIT_POINTS_PER_REQUEST + 10; i++) {
+      orderKeys.add(key(Integer.toString(i)));
+    }
+    keys.put("orders", orderKeys);
+    keys.put("events", new LinkedHashSet<>(ImmutableList.of(key("shard", "1"))));
+
+    List<List<SplitPoints>> requests = CreateSpannerSplitPoints.batchRequests(keys);
+
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(0)).hasSize(1);
+    assertThat(requests.get(0).get(0).getTable()).isEqualTo("orders");
+    assertThat(requests.get(0).get(0).getKeysCount())
+        .isEqualTo(CreateSpannerSplitPoints.MAX_SPLIT_POINTS_PER_REQUEST);
+    assertThat(requests.get(1)).hasSize(2);
+    assertThat(requests.get(1).get(0).getKeysCount()).isEqualTo(10);
+    assertThat(requests.get(1).get(1).getTable()).isEqualTo("events");
+  }
+
+  private static <T extends Serializable> Range range(
+      String table, String column, Class<T> columnClass, T start, T end) {
+    return Range.builder()
+        .setTableIdentifier(TableIdentifier.builder().setTableName(table).build())
+        .setBoundarySplitter(BoundarySplitterFactory.create(columnClass))
+        .setColName(column)
+        .setColClass(columnClass)
+        .setStart(start)
+        .setEnd(end)
+        .build();
+  }
+
+  private static ListValue key(String... parts) {
+    ListValue.Builder key = ListValue.newBuilder();
+    for (String part : parts) {
+      key.addValues(Value.newBuilder().setStringValue(part));
+    }
+    return key.build();
+  }
+}
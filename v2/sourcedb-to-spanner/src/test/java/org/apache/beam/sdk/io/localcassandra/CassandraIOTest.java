@@ -698,6 +698,34 @@ public class CassandraIOTest implements Serializable {
         .isEqualTo("\"ke\"\"y\"");
   }
 
+  @Test
+  public void testIdentifierUndelimiting() {
+    assertThat(CassandraIO.undelimitIdentifier("Scientist")).isEqualTo("scientist");
+    assertThat(CassandraIO.undelimitIdentifier("\"Scien\"\"tist\"")).isEqualTo("Scien\"tist");
+  }
+
+  @Test
+  public void testReadSubRanges() {
+    // Token ranges are only divided when the read is split by size.
+    CassandraIO.Read<Scientist> read = CassandraIO.<Scientist>read();
+    assertEquals(1, ReadFn.getSubRangesPerRingRange(read, 1));
+    CassandraIO.Read<Scientist> sizedRead = read.withTargetBytesPerSplit(1024L);
+    assertEquals(ReadFn.SUB_RANGES_PER_READ, ReadFn.getSubRangesPerRingRange(sizedRead, 1));
+    assertEquals(1, ReadFn.getSubRangesPerRingRange(sizedRead, ReadFn.SUB_RANGES_PER_READ + 1));
+
+    // The sub ranges of a wrapping token range cover it without gaps.
+    SplitGenerator splitGenerator =
+        new SplitGenerator("org.apache.cassandra.dht.Murmur3Partitioner");
+    RingRange ringRange = RingRange.of(BigInteger.valueOf(100), BigInteger.valueOf(-100));
+    BigInteger start = ringRange.getStart();
+    for (int i = 0; i < 4; i++) {
+      RingRange subRange = ReadFn.getSubRange(splitGenerator, ringRange, 4, i);
+      assertEquals(start, subRange.getStart());
+      start = subRange.getEnd();
+    }
+    assertEquals(ringRange.getEnd(), start);
+  }
+
   /** Simple Cassandra entity used in read tests. */
   @Table(name = CASSANDRA_TABLE, keyspace = CASSANDRA_KEYSPACE)
   static class Scientist implements Serializable {
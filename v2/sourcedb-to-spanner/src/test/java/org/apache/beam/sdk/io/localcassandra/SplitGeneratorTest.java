@@ -18,10 +18,13 @@
 package org.apache.beam.sdk.io.localcassandra;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.Test;
@@ -142,4 +145,54 @@ public final class SplitGeneratorTest {
     // Will throw an exception when concluding that the repair segments don't add up.
     // This is because the tokens were supplied out of order.
   }
+
+  @Test
+  public void testGenerateSplitsBySizeDividesLargeRanges() {
+    BigInteger half = BigInteger.ONE.shiftLeft(126);
+    List<BigInteger> tokens = Arrays.asList(BigInteger.ZERO, half);
+    Map<RingRange, Long> estimates = new HashMap<>();
+    estimates.put(RingRange.of(BigInteger.ZERO, half), 1000L);
+    estimates.put(RingRange.of(half, BigInteger.ZERO), 100L);
+
+    SplitGenerator generator = new SplitGenerator("foo.bar.RandomPartitioner");
+    List<List<RingRange>> splits = generator.generateSplitsBySize(100, 1, tokens, estimates);
+
+    assertEquals(11, splits.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(1, splits.get(i).size());
+      assertTrue(splits.get(i).get(0).getEnd().compareTo(half) <= 0);
+    }
+    assertEquals("[(" + half + ",0]]", splits.get(10).toString());
+  }
+
+  @Test
+  public void testGenerateSplitsBySizeGroupsSmallRanges() {
+    BigInteger quarter = BigInteger.ONE.shiftLeft(125);
+    List<BigInteger> tokens =
+        Stream.of(0, 1, 2, 3)
+            .map(i -> quarter.multiply(BigInteger.valueOf(i)))
+            .collect(Collectors.toList());
+    Map<RingRange, Long> estimates = new HashMap<>();
+    for (int i = 0; i < tokens.size(); i++) {
+      estimates.put(RingRange.of(tokens.get(i), tokens.get((i + 1) % tokens.size())), 10L);
+    }
+
+    SplitGenerator generator = new SplitGenerator("foo.bar.RandomPartitioner");
+    List<List<RingRange>> splits = generator.generateSplitsBySize(25, 1, tokens, estimates);
+    assertEquals(2, splits.size());
+    assertEquals(2, splits.get(0).size());
+    assertEquals(2, splits.get(1).size());
+
+    // The minimal number of splits takes precedence over the size of the splits.
+    splits = generator.generateSplitsBySize(25, 4, tokens, estimates);
+    assertEquals(4, splits.size());
+  }
+
+  @Test
+  public void testGenerateSplitsBySizeWithoutEstimates() {
+    List<BigInteger> tokens = Arrays.asList(BigInteger.ZERO, BigInteger.ONE.shiftLeft(126));
+
+    SplitGenerator generator = new SplitGenerator("foo.bar.RandomPartitioner");
+    assertTrue(generator.generateSplitsBySize(100, 1, tokens, new HashMap<>()).isEmpty());
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.spanner.migrations.avro;
+
+import com.google.cloud.teleport.v2.spanner.ddl.annotations.cassandra.CassandraAnnotations;
+import com.google.cloud.teleport.v2.spanner.migrations.avro.AvroToValueMapper.AvroToValueFunction;
+import com.google.cloud.teleport.v2.spanner.type.Type;
+import com.google.common.collect.ImmutableList;
+import javax.annotation.Nullable;
+
+/**
+ * Conversion plan of a source table, as used by {@link GenericRecordTypeConvertor}.
+ *
+ * <p>The plan captures everything the {@link
+ * com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper ISchemaMapper} knows about
+ * the table, in Spanner column order, so that converting a record does not go back to the schema
+ * mapper for every column. Lookup failures are captured per column and rethrown when the column is
+ * converted, which keeps the error behaviour of converting column by column.
+ */
+final class GenericRecordConversionPlan {
+
+  /** How a Spanner column gets its value. */
+  enum ColumnKind {
+    /** The column holds the migration shard id. */
+    SHARD_ID,
+    /** Generated column, read-only in Spanner. */
+    GENERATED,
+    /** Synthetic primary key, populated with a UUID. */
+    SYNTHETIC_PRIMARY_KEY,
+    /** The column does not exist at source. */
+    NOT_AT_SOURCE,
+    /** The column is converted from a source column of the record. */
+    SOURCE,
+    /** Resolving the column failed, see {@link ColumnPlan#error()}. */
+    ERROR
+  }
+
+  /** Conversion plan of a single Spanner column. */
+  static final class ColumnPlan {
+    private final String spannerColName;
+    private final ColumnKind kind;
+    @Nullable private final String srcColName;
+    @Nullable private final Type spannerType;
+    @Nullable private final CassandraAnnotations cassandraAnnotations;
+    @Nullable private final AvroToValueFunction convertor;
+    @Nullable private final RuntimeException error;
+
+    private ColumnPlan(
+        String spannerColName,
+        ColumnKind kind,
+        @Nullable String srcColName,
+        @Nullable Type spannerType,
+        @Nullable CassandraAnnotations cassandraAnnotations,
+        @Nullable AvroToValueFunction convertor,
+        @Nullable RuntimeException error) {
+      this.spannerColName = spannerColName;
+      this.kind = kind;
+      this.srcColName = srcColName;
+      this.spannerType = spannerType;
+      this.cassandraAnnotations = cassandraAnnotations;
+      this.convertor = convertor;
+      this.error = error;
+    }
+
+    static ColumnPlan of(String spannerColName, ColumnKind kind) {
+      return new ColumnPlan(spannerColName, kind, null, null, null, null, null);
+    }
+
+    static ColumnPlan error(String spannerColName, RuntimeException error) {
+      return new ColumnPlan(spannerColName, ColumnKind.ERROR, null, null, null, null, error);
+    }
+
+    /**
+     * Plan of a column converted from the source column {@code srcColName}. {@code error} is set
+     * when the type, annotations or value convertor of the column could not be resolved; it is only
+     * raised for records that carry the source column.
+     */
+    static ColumnPlan source(
+        String spannerColName,
+        String srcColName,
+        @Nullable Type spannerType,
+        @Nullable CassandraAnnotations cassandraAnnotations,
+        @Nullable AvroToValueFunction convertor,
+        @Nullable RuntimeException error) {
+      return new ColumnPlan(
+          spannerColName,
+          ColumnKind.SOURCE,
+          srcColName,
+          spannerType,
+          cassandraAnnotations,
+          convertor,
+          error);
+    }
+
+    String spannerColName() {
+      return spannerColName;
+    }
+
+    ColumnKind kind() {
+      return kind;
+    }
+
+    @Nullable
+    String srcColName() {
+      return srcColName;
+    }
+
+    @Nullable
+    Type spannerType() {
+      return spannerType;
+    }
+
+    @Nullable
+    CassandraAnnotations cassandraAnnotations() {
+      return cassandraAnnotations;
+    }
+
+    @Nullable
+    AvroToValueFunction convertor() {
+      return convertor;
+    }
+
+    @Nullable
+    RuntimeException error() {
+      return error;
+    }
+  }
+
+  private final String spannerTableName;
+
+  private final ImmutableList<ColumnPlan> columns;
+
+  GenericRecordConversionPlan(String spannerTableName, ImmutableList<ColumnPlan> columns) {
+    this.spannerTableName = spannerTableName;
+    this.columns = columns;
+  }
+
+  String spannerTableName() {
+    return spannerTableName;
+  }
+
+  ImmutableList<ColumnPlan> columns() {
+    return columns;
+  }
+}
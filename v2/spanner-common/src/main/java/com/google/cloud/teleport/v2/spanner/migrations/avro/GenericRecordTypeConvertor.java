@@ -20,11 +20,15 @@ import com.google.cloud.spanner.Value;
 import com.google.cloud.teleport.v2.spanner.ddl.annotations.cassandra.CassandraAnnotations;
 import com.google.cloud.teleport.v2.spanner.ddl.annotations.cassandra.CassandraType.Kind;
 import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
+import com.google.cloud.teleport.v2.spanner.migrations.avro.AvroToValueMapper.AvroToValueFunction;
+import com.google.cloud.teleport.v2.spanner.migrations.avro.GenericRecordConversionPlan.ColumnKind;
+import com.google.cloud.teleport.v2.spanner.migrations.avro.GenericRecordConversionPlan.ColumnPlan;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
 import com.google.cloud.teleport.v2.spanner.type.Type;
 import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationRequest;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResponse;
+import com.google.common.collect.ImmutableList;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
@@ -42,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.apache.arrow.util.VisibleForTesting;
@@ -75,6 +80,9 @@ public class GenericRecordTypeConvertor {
 
   private final ISpannerMigrationTransformer customTransformer;
 
+  private final Map<String, GenericRecordConversionPlan> conversionPlans =
+      new ConcurrentHashMap<>();
+
   static final String LOGICAL_TYPE = "logicalType";
 
   static final Schema CUSTOM_TRANSFORMATION_AVRO_SCHEMA =
@@ -142,72 +150,47 @@ public class GenericRecordTypeConvertor {
           record);
       return null;
     }
-    String spannerTableName = schemaMapper.getSpannerTableName(namespace, srcTableName);
-    List<String> spannerColNames = schemaMapper.getSpannerColumns(namespace, spannerTableName);
-    // This is null/blank for identity/override/non-sharded cases.
-    String shardIdCol = schemaMapper.getShardIdColumnName(namespace, spannerTableName);
-    for (String spannerColName : spannerColNames) {
+    GenericRecordConversionPlan plan = getConversionPlan(srcTableName);
+    for (ColumnPlan column : plan.columns()) {
+      String spannerColName = column.spannerColName();
       try {
         // Skip if the column was already populated by custom transformation.
         if (result.containsKey(spannerColName)) {
           continue;
         }
-        // If current column is migration shard id, populate value.
-        if (spannerColName.equals(shardIdCol)) {
-          result = populateShardId(result, shardIdCol);
-          continue;
+        switch (column.kind()) {
+          case ERROR:
+            throw column.error();
+          case SHARD_ID:
+            // If current column is migration shard id, populate value.
+            result = populateShardId(result, spannerColName);
+            continue;
+          case GENERATED:
+            // If the column is generated, we skip it as it's read-only in Spanner.
+          case NOT_AT_SOURCE:
+            // See compileColumnPlan for columns that do not exist in the source data.
+            continue;
+          case SYNTHETIC_PRIMARY_KEY:
+            // For session based mapper, populate synthetic primary key with UUID.
+            result.put(spannerColName, Value.string(getUUID()));
+            continue;
+          default:
+            break;
         }
-
-        // If the column is generated, we skip it as it's read-only in Spanner.
-        if (schemaMapper.isGeneratedColumn(namespace, spannerTableName, spannerColName)) {
-          continue;
-        }
-
-        // For session based mapper, populate synthetic primary key with UUID. For identity mapper,
-        // the schemaMapper returns null.
-        if (spannerColName.equals(
-            schemaMapper.getSyntheticPrimaryKeyColName(namespace, spannerTableName))) {
-          result.put(spannerColName, Value.string(getUUID()));
+        String srcColName = column.srcColName();
+        Schema.Field srcField = record.getSchema().getField(srcColName);
+        if (srcField == null) {
           continue;
         }
-
-        // If a Spanner column does not exist in the source data, there are several possible
-        // explanations:
-        // 1. The column might be an auto-value column in Spanner, such as generated column,
-        // default, auto-gen keys.
-        // 2. Column was supposed to be populated by custom transform, but user error missed this
-        // column during custom transform.
-        // 3. The column might have been accidentally left over in the Spanner column without the
-        // right handling.
-        // In all of these cases, we omit this column from the Spanner mutation and user errors will
-        // fail on Spanner. The writer's Dead Letter Queue (DLQ) is responsible for catching any
-        // misconfigurations  where a required column is missing.
-        if (!(schemaMapper.colExistsAtSource(namespace, spannerTableName, spannerColName)
-            && record.hasField(
-                schemaMapper.getSourceColumnName(namespace, spannerTableName, spannerColName)))) {
-          continue;
+        if (column.error() != null) {
+          throw column.error();
         }
-
-        String srcColName =
-            schemaMapper.getSourceColumnName(namespace, spannerTableName, spannerColName);
-        Type spannerColumnType =
-            schemaMapper.getSpannerColumnType(namespace, spannerTableName, spannerColName);
-
-        final CassandraAnnotations cassandraAnnotations =
-            schemaMapper.getSpannerColumnCassandraAnnotations(
-                namespace, spannerTableName, spannerColName);
         LOG.debug(
             "Transformer processing srcCol: {} spannerColumnType:{}",
             srcColName,
-            spannerColumnType);
-
-        Value value =
-            getSpannerValue(
-                record.get(srcColName),
-                record.getSchema().getField(srcColName).schema(),
-                srcColName,
-                spannerColumnType,
-                cassandraAnnotations);
+            column.spannerType());
+
+        Value value = getSpannerValue(record.get(srcField.pos()), srcField.schema(), column);
         result.put(spannerColName, value);
       } catch (NullPointerException e) {
         throw e;
@@ -222,6 +205,84 @@ public class GenericRecordTypeConvertor {
     return result;
   }
 
+  /**
+   * Returns the conversion plan of a source table, compiling it on first use. Plans only depend on
+   * the {@link ISchemaMapper} and the namespace, so they are shared by all the records converted by
+   * this instance.
+   */
+  @VisibleForTesting
+  GenericRecordConversionPlan getConversionPlan(String srcTableName) {
+    GenericRecordConversionPlan plan = conversionPlans.get(srcTableName);
+    if (plan == null) {
+      plan = compileConversionPlan(srcTableName);
+      conversionPlans.put(srcTableName, plan);
+    }
+    return plan;
+  }
+
+  private GenericRecordConversionPlan compileConversionPlan(String srcTableName) {
+    String spannerTableName = schemaMapper.getSpannerTableName(namespace, srcTableName);
+    List<String> spannerColNames = schemaMapper.getSpannerColumns(namespace, spannerTableName);
+    // This is null/blank for identity/override/non-sharded cases.
+    String shardIdCol = schemaMapper.getShardIdColumnName(namespace, spannerTableName);
+    ImmutableList.Builder<ColumnPlan> columns = ImmutableList.builder();
+    for (String spannerColName : spannerColNames) {
+      try {
+        columns.add(compileColumnPlan(spannerTableName, spannerColName, shardIdCol));
+      } catch (RuntimeException e) {
+        columns.add(ColumnPlan.error(spannerColName, e));
+      }
+    }
+    return new GenericRecordConversionPlan(spannerTableName, columns.build());
+  }
+
+  private ColumnPlan compileColumnPlan(
+      String spannerTableName, String spannerColName, String shardIdCol) {
+    if (spannerColName.equals(shardIdCol)) {
+      return ColumnPlan.of(spannerColName, ColumnKind.SHARD_ID);
+    }
+    if (schemaMapper.isGeneratedColumn(namespace, spannerTableName, spannerColName)) {
+      return ColumnPlan.of(spannerColName, ColumnKind.GENERATED);
+    }
+    // For identity mapper, the schemaMapper returns null.
+    if (spannerColName.equals(
+        schemaMapper.getSyntheticPrimaryKeyColName(namespace, spannerTableName))) {
+      return ColumnPlan.of(spannerColName, ColumnKind.SYNTHETIC_PRIMARY_KEY);
+    }
+    // If a Spanner column does not exist in the source data, there are several possible
+    // explanations:
+    // 1. The column might be an auto-value column in Spanner, such as generated column,
+    // default, auto-gen keys.
+    // 2. Column was supposed to be populated by custom transform, but user error missed this
+    // column during custom transform.
+    // 3. The column might have been accidentally left over in the Spanner column without the
+    // right handling.
+    // In all of these cases, we omit this column from the Spanner mutation and user errors will
+    // fail on Spanner. The writer's Dead Letter Queue (DLQ) is responsible for catching any
+    // misconfigurations  where a required column is missing.
+    // The same applies to source columns missing from a given record.
+    if (!schemaMapper.colExistsAtSource(namespace, spannerTableName, spannerColName)) {
+      return ColumnPlan.of(spannerColName, ColumnKind.NOT_AT_SOURCE);
+    }
+    String srcColName =
+        schemaMapper.getSourceColumnName(namespace, spannerTableName, spannerColName);
+    Type spannerColumnType = null;
+    CassandraAnnotations cassandraAnnotations = null;
+    try {
+      spannerColumnType =
+          schemaMapper.getSpannerColumnType(namespace, spannerTableName, spannerColName);
+      cassandraAnnotations =
+          schemaMapper.getSpannerColumnCassandraAnnotations(
+              namespace, spannerTableName, spannerColName);
+      AvroToValueFunction convertor = getConvertor(spannerColumnType, srcColName);
+      return ColumnPlan.source(
+          spannerColName, srcColName, spannerColumnType, cassandraAnnotations, convertor, null);
+    } catch (RuntimeException e) {
+      return ColumnPlan.source(
+          spannerColName, srcColName, spannerColumnType, cassandraAnnotations, null, e);
+    }
+  }
+
   private String getUUID() {
     return UUID.randomUUID().toString();
   }
@@ -461,6 +522,16 @@ public class GenericRecordTypeConvertor {
     return getSpannerValueFromObject(recordValue, fieldSchema, recordColName, spannerType);
   }
 
+  /** Same as {@link #getSpannerValue}, with the column resolved by the conversion plan. */
+  private Value getSpannerValue(Object recordValue, Schema fieldSchema, ColumnPlan column) {
+    String recordColName = column.srcColName();
+    fieldSchema = filterNullSchema(fieldSchema, recordColName, recordValue);
+    recordValue =
+        handleNonPrimitiveAvroTypes(
+            recordValue, fieldSchema, recordColName, column.cassandraAnnotations());
+    return column.convertor().apply(recordValue, fieldSchema);
+  }
+
   /**
    * Filters a union schema to remove the nullable (NULL) option.
    *
@@ -565,22 +636,24 @@ public class GenericRecordTypeConvertor {
   /** Converts an avro object to Spanner Value of the specified type. */
   private Value getSpannerValueFromObject(
       Object value, Schema fieldSchema, String recordColName, Type spannerType) {
+    return getConvertor(spannerType, recordColName).apply(value, fieldSchema);
+  }
+
+  /** Resolves the convertor of avro objects to Spanner Values of the specified type. */
+  private AvroToValueFunction getConvertor(Type spannerType, String recordColName) {
     Dialect dialect = schemaMapper.getDialect();
     if (dialect == null) {
       throw new NullPointerException("schemaMapper returned null spanner dialect.");
     }
-    if (AvroToValueMapper.convertorMap().get(dialect).containsKey(spannerType)) {
-      return AvroToValueMapper.convertorMap()
-          .get(dialect)
-          .get(spannerType)
-          .apply(value, fieldSchema);
-    } else {
+    AvroToValueFunction convertor = AvroToValueMapper.convertorMap().get(dialect).get(spannerType);
+    if (convertor == null) {
       throw new IllegalArgumentException(
           "Found unsupported Spanner column type("
               + spannerType.getCode()
               + ") for column "
               + recordColName);
     }
+    return convertor;
   }
 
   static class CustomAvroTypes {
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.spanner.migrations.avro;
+
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.IdentityMapper;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
+import com.google.cloud.teleport.v2.spanner.type.Type;
+import com.google.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of {@link GenericRecordTypeConvertor#transformChangeEvent} over representative
+ * MySQL and Cassandra table schemas.
+ *
+ * <p>Each invocation converts one record, so the throughput score is in records per second. The
+ * {@code convertorPerRecord} benchmark creates a new convertor for every record, which is what
+ * {@code SourceRowToMutationDoFn} used to do and resolves every column through the {@link
+ * ISchemaMapper} each time. The {@code cachedConversionPlan} benchmark reuses one convertor, and so
+ * its compiled conversion plan. Running {@link #main} also enables the GC profiler.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -pl v2/spanner-common -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.google.cloud.teleport.v2.spanner.migrations.avro.GenericRecordTypeConvertorBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenericRecordTypeConvertorBenchmark {
+  private static final String MYSQL_TABLE = "mysql_orders";
+  private static final String CASSANDRA_TABLE = "cassandra_events";
+  private static final int RECORD_COUNT = 1024;
+
+  @Param({MYSQL_TABLE, CASSANDRA_TABLE})
+  public String table;
+
+  private ISchemaMapper schemaMapper;
+  private GenericRecordTypeConvertor cachedConvertor;
+  private GenericRecord[] records;
+  private int next;
+
+  @Setup
+  public void setup() {
+    schemaMapper = new IdentityMapper(ddl());
+    cachedConvertor = new GenericRecordTypeConvertor(schemaMapper, "", "shard", null);
+    Schema schema = table.equals(MYSQL_TABLE) ? mySqlSchema() : cassandraSchema();
+    Random random = new Random(42);
+    records = new GenericRecord[RECORD_COUNT];
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      records[i] =
+          table.equals(MYSQL_TABLE)
+              ? mySqlRecord(schema, i, random)
+              : cassandraRecord(schema, i, random);
+    }
+  }
+
+  private GenericRecord nextRecord() {
+    next = (next + 1) % RECORD_COUNT;
+    return records[next];
+  }
+
+  /** Previous {@code SourceRowToMutationDoFn} behavior: a new convertor per record. */
+  @Benchmark
+  public Map<String, Value> convertorPerRecord() throws InvalidTransformationException {
+    return new GenericRecordTypeConvertor(schemaMapper, "", "shard", null)
+        .transformChangeEvent(nextRecord(), table);
+  }
+
+  @Benchmark
+  public Map<String, Value> cachedConversionPlan() throws InvalidTransformationException {
+    return cachedConvertor.transformChangeEvent(nextRecord(), table);
+  }
+
+  private static Ddl ddl() {
+    return Ddl.builder(Dialect.GOOGLE_STANDARD_SQL)
+        .createTable(MYSQL_TABLE)
+        .column("id")
+        .int64()
+        .notNull()
+        .endColumn()
+        .column("customer_name")
+        .string()
+        .max()
+        .endColumn()
+        .column("amount")
+        .float64()
+        .endColumn()
+        .column("is_paid")
+        .bool()
+        .endColumn()
+        .column("created_at")
+        .timestamp()
+        .endColumn()
+        .column("ship_date")
+        .date()
+        .endColumn()
+        .column("receipt")
+        .bytes()
+        .max()
+        .endColumn()
+        .column("attributes")
+        .json()
+        .endColumn()
+        .primaryKey()
+        .asc("id")
+        .end()
+        .endTable()
+        .createTable(CASSANDRA_TABLE)
+        .column("id")
+        .int64()
+        .notNull()
+        .columnOptions(ImmutableList.of("cassandra_type='bigint'"))
+        .endColumn()
+        .column("device")
+        .string()
+        .max()
+        .columnOptions(ImmutableList.of("cassandra_type='text'"))
+        .endColumn()
+        .column("reading")
+        .float64()
+        .columnOptions(ImmutableList.of("cassandra_type='double'"))
+        .endColumn()
+        .column("healthy")
+        .bool()
+        .columnOptions(ImmutableList.of("cassandra_type='boolean'"))
+        .endColumn()
+        .column("recorded_at")
+        .timestamp()
+        .columnOptions(ImmutableList.of("cassandra_type='timestamp'"))
+        .endColumn()
+        .column("tags")
+        .type(Type.array(Type.string()))
+        .columnOptions(ImmutableList.of("cassandra_type='list<text>'"))
+        .endColumn()
+        .primaryKey()
+        .asc("id")
+        .end()
+        .endTable()
+        .build();
+  }
+
+  private static Schema nullable(Schema schema) {
+    return SchemaBuilder.unionOf().nullType().and().type(schema).endUnion();
+  }
+
+  private static Schema mySqlSchema() {
+    return SchemaBuilder.record(MYSQL_TABLE)
+        .fields()
+        .name("id")
+        .type(Schema.create(Schema.Type.LONG))
+        .noDefault()
+        .name("customer_name")
+        .type(nullable(Schema.create(Schema.Type.STRING)))
+        .noDefault()
+        .name("amount")
+        .type(nullable(Schema.create(Schema.Type.DOUBLE)))
+        .noDefault()
+        .name("is_paid")
+        .type(nullable(Schema.create(Schema.Type.BOOLEAN)))
+        .noDefault()
+        .name("created_at")
+        .type(
+            nullable(LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG))))
+        .noDefault()
+        .name("ship_date")
+        .type(nullable(LogicalTypes.date().addToSchema(Schema.create(Schema.Type.INT))))
+        .noDefault()
+        .name("receipt")
+        .type(nullable(Schema.create(Schema.Type.BYTES)))
+        .noDefault()
+        .name("attributes")
+        .type(nullable(Schema.create(Schema.Type.STRING)))
+        .noDefault()
+        .endRecord();
+  }
+
+  private static GenericRecord mySqlRecord(Schema schema, int i, Random random) {
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("id", (long) i);
+    record.put("customer_name", "customer-" + i);
+    record.put("amount", random.nextDouble() * 1000);
+    record.put("is_paid", random.nextBoolean());
+    record.put("created_at", TimeUnit.MILLISECONDS.toMicros(1_700_000_000_000L + i));
+    record.put("ship_date", 19_000 + i % 365);
+    record.put("receipt", ByteBuffer.wrap(("receipt-" + i).getBytes()));
+    record.put("attributes", i % 2 == 0 ? null : "{\"gift\": true, \"items\": " + i + "}");
+    return record;
+  }
+
+  private static Schema cassandraSchema() {
+    return SchemaBuilder.record(CASSANDRA_TABLE)
+        .fields()
+        .name("id")
+        .type(Schema.create(Schema.Type.LONG))
+        .noDefault()
+        .name("device")
+        .type(nullable(Schema.create(Schema.Type.STRING)))
+        .noDefault()
+        .name("reading")
+        .type(nullable(Schema.create(Schema.Type.DOUBLE)))
+        .noDefault()
+        .name("healthy")
+        .type(nullable(Schema.create(Schema.Type.BOOLEAN)))
+        .noDefault()
+        .name("recorded_at")
+        .type(
+            nullable(LogicalTypes.timestampMillis().addToSchema(Schema.create(Schema.Type.LONG))))
+        .noDefault()
+        .name("tags")
+        .type(nullable(SchemaBuilder.array().items(Schema.create(Schema.Type.STRING))))
+        .noDefault()
+        .endRecord();
+  }
+
+  private static GenericRecord cassandraRecord(Schema schema, int i, Random random) {
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("id", (long) i);
+    record.put("device", "device-" + i % 16);
+    record.put("reading", random.nextDouble());
+    record.put("healthy", random.nextBoolean());
+    record.put("recorded_at", 1_700_000_000_000L + i);
+    record.put("tags", List.of("tag-a", "tag-" + i % 8));
+    return record;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder()
+            .include(GenericRecordTypeConvertorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
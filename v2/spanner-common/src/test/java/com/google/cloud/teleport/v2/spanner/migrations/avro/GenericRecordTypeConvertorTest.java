@@ -1222,6 +1222,81 @@ public class GenericRecordTypeConvertorTest {
     Mockito.verify(mockSchemaMapper).getDialect();
   }
 
+  @Test
+  public void transformChangeEventTest_conversionPlanIsCached()
+      throws InvalidTransformationException {
+    ISchemaMapper mockSchemaMapper = mock(ISchemaMapper.class);
+    when(mockSchemaMapper.getDialect()).thenReturn(Dialect.GOOGLE_STANDARD_SQL);
+    when(mockSchemaMapper.getSpannerTableName(anyString(), anyString())).thenReturn("test");
+    when(mockSchemaMapper.getSpannerColumns(anyString(), anyString()))
+        .thenReturn(List.of("int_col"));
+    when(mockSchemaMapper.colExistsAtSource(anyString(), anyString(), anyString()))
+        .thenReturn(true);
+    when(mockSchemaMapper.getSourceColumnName(anyString(), anyString(), anyString()))
+        .thenReturn("int_col");
+    when(mockSchemaMapper.getSpannerColumnType(anyString(), anyString(), anyString()))
+        .thenReturn(Type.int64());
+    Schema schema =
+        SchemaBuilder.record("all_types")
+            .fields()
+            .name("int_col")
+            .type(unionNullType(Schema.create(Schema.Type.LONG)))
+            .noDefault()
+            .endRecord();
+    GenericRecordTypeConvertor genericRecordTypeConvertor =
+        new GenericRecordTypeConvertor(mockSchemaMapper, "", null, null);
+
+    for (long i = 0; i < 3; i++) {
+      GenericRecord genericRecord = new GenericData.Record(schema);
+      genericRecord.put("int_col", i);
+      assertEquals(
+          Map.of("int_col", Value.int64(i)),
+          genericRecordTypeConvertor.transformChangeEvent(genericRecord, "all_types"));
+    }
+
+    // The schema mapper is only consulted when compiling the conversion plan.
+    Mockito.verify(mockSchemaMapper).getSpannerColumns(anyString(), anyString());
+    Mockito.verify(mockSchemaMapper).getSpannerColumnType(anyString(), anyString(), anyString());
+    Mockito.verify(mockSchemaMapper).getDialect();
+  }
+
+  @Test
+  public void transformChangeEventTest_planErrorOnlyRaisedForRecordsWithColumn()
+      throws InvalidTransformationException {
+    ISchemaMapper mockSchemaMapper = mock(ISchemaMapper.class);
+    when(mockSchemaMapper.getSpannerTableName(anyString(), anyString())).thenReturn("test");
+    when(mockSchemaMapper.getSpannerColumns(anyString(), anyString()))
+        .thenReturn(List.of("bool_col"));
+    when(mockSchemaMapper.colExistsAtSource(anyString(), anyString(), anyString()))
+        .thenReturn(true);
+    when(mockSchemaMapper.getSourceColumnName(anyString(), anyString(), anyString()))
+        .thenReturn("bool_col");
+    when(mockSchemaMapper.getSpannerColumnType(anyString(), anyString(), anyString()))
+        .thenThrow(new IllegalStateException("lookup failed"));
+    GenericRecordTypeConvertor genericRecordTypeConvertor =
+        new GenericRecordTypeConvertor(mockSchemaMapper, "", null, null);
+
+    GenericRecord withoutColumn =
+        new GenericData.Record(
+            SchemaBuilder.record("all_types")
+                .fields()
+                .name("other_col")
+                .type(unionNullType(Schema.create(Schema.Type.LONG)))
+                .noDefault()
+                .endRecord());
+    assertEquals(
+        Map.of(), genericRecordTypeConvertor.transformChangeEvent(withoutColumn, "all_types"));
+
+    GenericRecord withColumn = new GenericData.Record(getAllSpannerTypesSchema());
+    withColumn.put("bool_col", true);
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () -> genericRecordTypeConvertor.transformChangeEvent(withColumn, "all_types"));
+    assertThat(e).hasMessageThat().contains("bool_col");
+    assertThat(e).hasCauseThat().isInstanceOf(IllegalStateException.class);
+  }
+
   @Test
   public void transformChangeEventTest_catchAllException() {
     ISchemaMapper mockSchemaMapper = mock(ISchemaMapper.class);
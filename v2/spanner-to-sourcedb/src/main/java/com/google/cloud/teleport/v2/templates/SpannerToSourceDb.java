@@ -530,6 +530,20 @@ public class SpannerToSourceDb {
     RpcPriority getSpannerPriority();
 
     void setSpannerPriority(RpcPriority value);
+
+    @TemplateParameter.Integer(
+        order = 36,
+        optional = true,
+        description = "Source write batch size",
+        helpText =
+            "The maximum number of change records written to a MySQL shard in a single source"
+                + " transaction. Records are grouped per worker key, coalesced per primary key and"
+                + " written as batched prepared statements. The default value of 1 writes each"
+                + " record in its own transaction. Ignored for Cassandra sources.")
+    @Default.Integer(1)
+    Integer getSourceWriteBatchSize();
+
+    void setSourceWriteBatchSize(Integer value);
   }
 
   /**
@@ -586,6 +600,10 @@ public class SpannerToSourceDb {
               + " database connections than desired. Either reduce the max allowed workers or"
               + " incease the max shard connections");
     }
+    if (options.getSourceWriteBatchSize() < 1) {
+      throw new IllegalArgumentException(
+          "sourceWriteBatchSize must be at least 1, found: " + options.getSourceWriteBatchSize());
+    }
 
     String workerMachineType =
         pipeline.getOptions().as(DataflowPipelineWorkerPoolOptions.class).getWorkerMachineType();
@@ -789,7 +807,8 @@ public class SpannerToSourceDb {
                     options.getSessionFilePath(),
                     options.getSchemaOverridesFilePath(),
                     options.getTableOverrides(),
-                    options.getColumnOverrides()));
+                    options.getColumnOverrides(),
+                    options.getSourceWriteBatchSize()));
 
     PCollection<FailsafeElement<String, String>> dlqPermErrorRecords =
         reconsumedElements
@@ -35,6 +35,19 @@ public class JdbcConnectionHelper implements IConnectionHelper<Connection> {
   private static final Logger LOG = LoggerFactory.getLogger(JdbcConnectionHelper.class);
   private static Map<String, HikariDataSource> connectionPoolMap = null;
 
+  /**
+   * Driver properties applied to every shard when the connections are used for batched writes.
+   * They are applied before the user supplied connection properties, so that they can still be
+   * overridden per shard. They let the MySQL driver rewrite batched statements into multi-row DML
+   * and reuse parsed prepared statements across transactions.
+   */
+  private static final Map<String, String> BATCH_WRITE_DATA_SOURCE_PROPERTIES =
+      Map.of(
+          "rewriteBatchedStatements", "true",
+          "cachePrepStmts", "true",
+          "prepStmtCacheSize", "250",
+          "prepStmtCacheSqlLimit", "2048");
+
   @Override
   public synchronized boolean isConnectionPoolInitialized() {
     if (connectionPoolMap != null) {
@@ -64,6 +77,9 @@ public class JdbcConnectionHelper implements IConnectionHelper<Connection> {
       config.setInitializationFailTimeout(-1); // do not fail during pool construction
       config.setMinimumIdle(0); // avoid pre-filling connections
       Properties jdbcProperties = new Properties();
+      if (connectionHelperRequest.isBatchWrites()) {
+        jdbcProperties.putAll(BATCH_WRITE_DATA_SOURCE_PROPERTIES);
+      }
       if (shard.getConnectionProperties() != null && !shard.getConnectionProperties().isEmpty()) {
         try (StringReader reader = new StringReader(shard.getConnectionProperties())) {
           jdbcProperties.load(reader);
@@ -17,8 +17,16 @@ package com.google.cloud.teleport.v2.templates.dbutils.dao.source;
 
 import com.google.cloud.teleport.v2.templates.dbutils.connection.IConnectionHelper;
 import com.google.cloud.teleport.v2.templates.exceptions.ConnectionException;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementValueObject;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,4 +73,76 @@ public class JdbcDao implements IDao<String> {
       }
     }
   }
+
+  /**
+   * Executes the given parameterized statements in a single transaction, then calls the
+   * transactionalCheck callback function (if not null) before committing.
+   *
+   * <p>Statements are executed in the given order. Consecutive statements with the same SQL text
+   * are sent together with {@link PreparedStatement#executeBatch()}, so with {@code
+   * rewriteBatchedStatements} enabled a run of upserts to the same table costs a single round trip.
+   *
+   * @param statements Parameterized statements, in the order they must be applied.
+   * @param transactionalCheck Callback function which will be executed and checked before
+   *     committing the transaction.
+   * @throws Exception If the statements could not be successfully committed.
+   */
+  public void writeBatch(
+      List<PreparedStatementGeneratedResponse> statements, TransactionalCheck transactionalCheck)
+      throws Exception {
+    Connection connObj = null;
+    Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+
+    try {
+      connObj = (Connection) connectionHelper.getConnection(this.sqlUrl + "/" + this.sqlUser);
+      if (connObj == null) {
+        throw new ConnectionException("Connection is null");
+      }
+      connObj.setAutoCommit(false);
+      PreparedStatement pendingBatch = null;
+      for (PreparedStatementGeneratedResponse statement : statements) {
+        PreparedStatement preparedStatement = preparedStatements.get(statement.getDmlStatement());
+        if (preparedStatement == null) {
+          preparedStatement = connObj.prepareStatement(statement.getDmlStatement());
+          preparedStatements.put(statement.getDmlStatement(), preparedStatement);
+        }
+        if (pendingBatch != null && pendingBatch != preparedStatement) {
+          // Flush before switching statements so that the source sees the writes in order.
+          pendingBatch.executeBatch();
+        }
+        bindValues(preparedStatement, statement.getValues());
+        preparedStatement.addBatch();
+        pendingBatch = preparedStatement;
+      }
+      if (pendingBatch != null) {
+        pendingBatch.executeBatch();
+      }
+
+      if (transactionalCheck != null) {
+        transactionalCheck.check();
+      }
+      connObj.commit();
+
+    } finally {
+      for (PreparedStatement preparedStatement : preparedStatements.values()) {
+        preparedStatement.close();
+      }
+      if (connObj != null) {
+        connObj.close();
+      }
+    }
+  }
+
+  private static void bindValues(
+      PreparedStatement preparedStatement, List<PreparedStatementValueObject<?>> values)
+      throws SQLException {
+    for (int i = 0; i < values.size(); i++) {
+      Object value = values.get(i).value();
+      if (value == null) {
+        preparedStatement.setNull(i + 1, Types.NULL);
+      } else {
+        preparedStatement.setObject(i + 1, value);
+      }
+    }
+  }
 }
@@ -25,13 +25,20 @@ import com.google.cloud.teleport.v2.spanner.type.Type;
 import com.google.cloud.teleport.v2.templates.exceptions.InvalidDMLGenerationException;
 import com.google.cloud.teleport.v2.templates.models.DMLGeneratorRequest;
 import com.google.cloud.teleport.v2.templates.models.DMLGeneratorResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementValueObject;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
@@ -42,7 +49,103 @@ import org.slf4j.LoggerFactory;
 public class MySQLDMLGenerator implements IDMLGenerator {
   private static final Logger LOG = LoggerFactory.getLogger(MySQLDMLGenerator.class);
 
+  private static final Pattern NUMERIC_LITERAL =
+      Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+
+  /** Renders column values as inlined SQL literals. */
+  private static final ColumnValueRenderer<String> LITERAL_VALUES =
+      new ColumnValueRenderer<String>() {
+        @Override
+        public String nullValue(SourceColumn sourceColDef) {
+          return "NULL";
+        }
+
+        @Override
+        public String customTransformationValue(SourceColumn sourceColDef, Object value) {
+          return value.toString();
+        }
+
+        @Override
+        public String mappedValue(
+            Column spannerColDef,
+            SourceColumn sourceColDef,
+            JSONObject valuesJson,
+            String sourceDbTimezoneOffset) {
+          return getMappedColumnValue(
+              spannerColDef, sourceColDef, valuesJson, sourceDbTimezoneOffset);
+        }
+
+        @Override
+        public DMLGeneratorResponse upsertStatement(
+            String tableName, Map<String, String> allColumnNameValues) {
+          return getUpsertStatement(tableName, allColumnNameValues);
+        }
+
+        @Override
+        public DMLGeneratorResponse deleteStatement(
+            String tableName, Map<String, String> pkcolumnNameValues) {
+          return getDeleteStatement(tableName, pkcolumnNameValues);
+        }
+      };
+
+  /** Renders column values as bind placeholders along with their parameters. */
+  private static final ColumnValueRenderer<PreparedColumnValue> PREPARED_VALUES =
+      new ColumnValueRenderer<PreparedColumnValue>() {
+        @Override
+        public PreparedColumnValue nullValue(SourceColumn sourceColDef) {
+          return PreparedColumnValue.of("?", sourceColDef.type(), null);
+        }
+
+        @Override
+        public PreparedColumnValue customTransformationValue(
+            SourceColumn sourceColDef, Object value) {
+          return getPreparedCustomTransformationValue(sourceColDef, value);
+        }
+
+        @Override
+        public PreparedColumnValue mappedValue(
+            Column spannerColDef,
+            SourceColumn sourceColDef,
+            JSONObject valuesJson,
+            String sourceDbTimezoneOffset) {
+          return getPreparedMappedColumnValue(
+              spannerColDef, sourceColDef, valuesJson, sourceDbTimezoneOffset);
+        }
+
+        @Override
+        public DMLGeneratorResponse upsertStatement(
+            String tableName, Map<String, PreparedColumnValue> allColumnNameValues) {
+          return getPreparedUpsertStatement(tableName, allColumnNameValues);
+        }
+
+        @Override
+        public DMLGeneratorResponse deleteStatement(
+            String tableName, Map<String, PreparedColumnValue> pkcolumnNameValues) {
+          return getPreparedDeleteStatement(tableName, pkcolumnNameValues);
+        }
+      };
+
   public DMLGeneratorResponse getDMLStatement(DMLGeneratorRequest dmlGeneratorRequest) {
+    return generateStatement(dmlGeneratorRequest, LITERAL_VALUES);
+  }
+
+  /**
+   * Generates the same DML as {@link #getDMLStatement(DMLGeneratorRequest)}, but with the column
+   * values bound as {@code ?} placeholders. Statements for the same table and column set share the
+   * same SQL text, which allows them to be batched on a single cached {@link
+   * java.sql.PreparedStatement}.
+   *
+   * @param dmlGeneratorRequest the request containing the record to convert.
+   * @return the parameterized statement along with its ordered bind values.
+   */
+  public PreparedStatementGeneratedResponse getPreparedDMLStatement(
+      DMLGeneratorRequest dmlGeneratorRequest) {
+    return (PreparedStatementGeneratedResponse)
+        generateStatement(dmlGeneratorRequest, PREPARED_VALUES);
+  }
+
+  private static <T> DMLGeneratorResponse generateStatement(
+      DMLGeneratorRequest dmlGeneratorRequest, ColumnValueRenderer<T> renderer) {
     if (dmlGeneratorRequest == null) {
       throw new InvalidDMLGenerationException(
           "DMLGeneratorRequest is null. Cannot process the request.");
@@ -92,8 +195,9 @@ public class MySQLDMLGenerator implements IDMLGenerator {
               sourceTableName));
     }
 
-    Map<String, String> pkcolumnNameValues =
+    Map<String, T> pkcolumnNameValues =
         getPkColumnValues(
+            renderer,
             schemaMapper,
             spannerTable,
             sourceTable,
@@ -111,10 +215,10 @@ public class MySQLDMLGenerator implements IDMLGenerator {
     if ("INSERT".equals(dmlGeneratorRequest.getModType())
         || "UPDATE".equals(dmlGeneratorRequest.getModType())) {
       return generateUpsertStatement(
-          spannerTable, sourceTable, dmlGeneratorRequest, pkcolumnNameValues);
+          renderer, spannerTable, sourceTable, dmlGeneratorRequest, pkcolumnNameValues);
 
     } else if ("DELETE".equals(dmlGeneratorRequest.getModType())) {
-      return getDeleteStatement(sourceTable.name(), pkcolumnNameValues);
+      return renderer.deleteStatement(sourceTable.name(), pkcolumnNameValues);
     } else {
       throw new InvalidDMLGenerationException(
           String.format(
@@ -182,13 +286,61 @@ public class MySQLDMLGenerator implements IDMLGenerator {
     return new DMLGeneratorResponse(returnVal);
   }
 
-  private static DMLGeneratorResponse generateUpsertStatement(
+  private static PreparedStatementGeneratedResponse getPreparedUpsertStatement(
+      String tableName, Map<String, PreparedColumnValue> allColumnNameValues) {
+    // Columns are sorted so that every record of a table with the same column set produces the
+    // same SQL text and can share a prepared statement.
+    Map<String, PreparedColumnValue> sortedColumnNameValues = new TreeMap<>(allColumnNameValues);
+    List<String> columns = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    List<String> updateValues = new ArrayList<>();
+    List<PreparedStatementValueObject<?>> params = new ArrayList<>();
+    for (Map.Entry<String, PreparedColumnValue> entry : sortedColumnNameValues.entrySet()) {
+      String colName = entry.getKey();
+      columns.add("`" + colName + "`");
+      values.add(entry.getValue().getExpression());
+      updateValues.add(" `" + colName + "` = VALUES(`" + colName + "`)");
+      params.addAll(entry.getValue().getParams());
+    }
+    String returnVal =
+        "INSERT INTO `"
+            + tableName
+            + "`("
+            + String.join(",", columns)
+            + ")"
+            + " VALUES ("
+            + String.join(",", values)
+            + ") "
+            + "ON DUPLICATE KEY UPDATE "
+            + String.join(",", updateValues);
+
+    return new PreparedStatementGeneratedResponse(returnVal, params);
+  }
+
+  private static PreparedStatementGeneratedResponse getPreparedDeleteStatement(
+      String tableName, Map<String, PreparedColumnValue> pkcolumnNameValues) {
+    Map<String, PreparedColumnValue> sortedColumnNameValues = new TreeMap<>(pkcolumnNameValues);
+    List<String> deleteValues = new ArrayList<>();
+    List<PreparedStatementValueObject<?>> params = new ArrayList<>();
+    for (Map.Entry<String, PreparedColumnValue> entry : sortedColumnNameValues.entrySet()) {
+      deleteValues.add(" `" + entry.getKey() + "` = " + entry.getValue().getExpression());
+      params.addAll(entry.getValue().getParams());
+    }
+    String returnVal =
+        "DELETE FROM `" + tableName + "` WHERE " + String.join(" AND ", deleteValues);
+
+    return new PreparedStatementGeneratedResponse(returnVal, params);
+  }
+
+  private static <T> DMLGeneratorResponse generateUpsertStatement(
+      ColumnValueRenderer<T> renderer,
       Table spannerTable,
       com.google.cloud.teleport.v2.spanner.sourceddl.SourceTable sourceTable,
       DMLGeneratorRequest dmlGeneratorRequest,
-      Map<String, String> pkcolumnNameValues) {
-    Map<String, String> columnNameValues =
+      Map<String, T> pkcolumnNameValues) {
+    Map<String, T> columnNameValues =
         getColumnValues(
+            renderer,
             dmlGeneratorRequest.getSchemaMapper(),
             spannerTable,
             sourceTable,
@@ -197,10 +349,11 @@ public class MySQLDMLGenerator implements IDMLGenerator {
             dmlGeneratorRequest.getSourceDbTimezoneOffset(),
             dmlGeneratorRequest.getCustomTransformationResponse());
     columnNameValues.putAll(pkcolumnNameValues);
-    return getUpsertStatement(sourceTable.name(), columnNameValues);
+    return renderer.upsertStatement(sourceTable.name(), columnNameValues);
   }
 
-  private static Map<String, String> getColumnValues(
+  private static <T> Map<String, T> getColumnValues(
+      ColumnValueRenderer<T> renderer,
       ISchemaMapper schemaMapper,
       Table spannerTable,
       com.google.cloud.teleport.v2.spanner.sourceddl.SourceTable sourceTable,
@@ -208,7 +361,7 @@ public class MySQLDMLGenerator implements IDMLGenerator {
       JSONObject keyValuesJson,
       String sourceDbTimezoneOffset,
       Map<String, Object> customTransformationResponse) {
-    Map<String, String> response = new HashMap<>();
+    Map<String, T> response = new HashMap<>();
 
     /*
     Get all non-primary key col ids from source table
@@ -237,7 +390,10 @@ public class MySQLDMLGenerator implements IDMLGenerator {
         continue;
       }
       if (customTransformColumns != null && customTransformColumns.contains(colName)) {
-        response.put(colName, customTransformationResponse.get(colName).toString());
+        response.put(
+            colName,
+            renderer.customTransformationValue(
+                sourceColDef, customTransformationResponse.get(colName)));
         continue;
       }
       String spannerColumnName = "";
@@ -250,24 +406,24 @@ public class MySQLDMLGenerator implements IDMLGenerator {
       if (spannerColDef == null) {
         continue;
       }
-      String columnValue = "";
+      T columnValue;
       if (keyValuesJson.has(spannerColumnName)) {
         // get the value based on Spanner and Source type
         if (keyValuesJson.isNull(spannerColumnName)) {
-          response.put(colName, "NULL");
+          response.put(colName, renderer.nullValue(sourceColDef));
           continue;
         }
         columnValue =
-            getMappedColumnValue(
+            renderer.mappedValue(
                 spannerColDef, sourceColDef, keyValuesJson, sourceDbTimezoneOffset);
       } else if (newValuesJson.has(spannerColumnName)) {
         // get the value based on Spanner and Source type
         if (newValuesJson.isNull(spannerColumnName)) {
-          response.put(colName, "NULL");
+          response.put(colName, renderer.nullValue(sourceColDef));
           continue;
         }
         columnValue =
-            getMappedColumnValue(
+            renderer.mappedValue(
                 spannerColDef, sourceColDef, newValuesJson, sourceDbTimezoneOffset);
       } else {
         continue;
@@ -279,7 +435,8 @@ public class MySQLDMLGenerator implements IDMLGenerator {
     return response;
   }
 
-  private static Map<String, String> getPkColumnValues(
+  private static <T> Map<String, T> getPkColumnValues(
+      ColumnValueRenderer<T> renderer,
       ISchemaMapper schemaMapper,
       Table spannerTable,
       com.google.cloud.teleport.v2.spanner.sourceddl.SourceTable sourceTable,
@@ -287,7 +444,7 @@ public class MySQLDMLGenerator implements IDMLGenerator {
       JSONObject keyValuesJson,
       String sourceDbTimezoneOffset,
       Map<String, Object> customTransformationResponse) {
-    Map<String, String> response = new HashMap<>();
+    Map<String, T> response = new HashMap<>();
     /*
     Get all primary key col ids from source table
     For each - get the corresponding column name from spanner Schema
@@ -322,7 +479,10 @@ public class MySQLDMLGenerator implements IDMLGenerator {
       }
 
       if (customTransformColumns != null && customTransformColumns.contains(sourceColName)) {
-        response.put(sourceColName, customTransformationResponse.get(sourceColName).toString());
+        response.put(
+            sourceColName,
+            renderer.customTransformationValue(
+                sourceColDef, customTransformationResponse.get(sourceColName)));
         continue;
       }
 
@@ -344,24 +504,24 @@ public class MySQLDMLGenerator implements IDMLGenerator {
             "The spanner column definition for {} was not found in spanner schema", spannerColName);
         return null;
       }
-      String columnValue = "";
+      T columnValue;
       if (keyValuesJson.has(spannerColName)) {
         // get the value based on Spanner and Source type
         if (keyValuesJson.isNull(spannerColName)) {
-          response.put(sourceColName, "NULL");
+          response.put(sourceColName, renderer.nullValue(sourceColDef));
           continue;
         }
         columnValue =
-            getMappedColumnValue(
+            renderer.mappedValue(
                 spannerColDef, sourceColDef, keyValuesJson, sourceDbTimezoneOffset);
       } else if (newValuesJson.has(spannerColName)) {
         // get the value based on Spanner and Source type
         if (newValuesJson.isNull(spannerColName)) {
-          response.put(sourceColName, "NULL");
+          response.put(sourceColName, renderer.nullValue(sourceColDef));
           continue;
         }
         columnValue =
-            getMappedColumnValue(
+            renderer.mappedValue(
                 spannerColDef, sourceColDef, newValuesJson, sourceDbTimezoneOffset);
       } else {
         LOG.warn("The column {} was not found in input record", spannerColName);
@@ -378,8 +538,9 @@ public class MySQLDMLGenerator implements IDMLGenerator {
       // have the respective dependent column values. Since we cannot identify the
       // dependent columns, we are adding all the non-generated columns to the
       // response.
-      Map<String, String> generatedColumnValues =
+      Map<String, T> generatedColumnValues =
           getColumnValues(
+              renderer,
               schemaMapper,
               spannerTable,
               sourceTable,
@@ -429,6 +590,128 @@ public class MySQLDMLGenerator implements IDMLGenerator {
     return response;
   }
 
+  /**
+   * Bind-parameter counterpart of {@link #getMappedColumnValue}. The values bound here are chosen
+   * so that MySQL interprets them the same way as the inlined literals: strings are bound as
+   * strings, numbers as {@link BigDecimal}, booleans as {@link Boolean} and BYTES as the decoded
+   * byte array.
+   */
+  private static PreparedColumnValue getPreparedMappedColumnValue(
+      Column spannerColDef,
+      SourceColumn sourceColDef,
+      JSONObject valuesJson,
+      String sourceDbTimezoneOffset) {
+    Type colType = spannerColDef.type();
+    String colName = spannerColDef.name();
+    String sourceColType = sourceColDef.type();
+    if (colType.getCode().equals(Type.Code.BYTES)) {
+      byte[] bytes = Base64.getDecoder().decode(valuesJson.getString(colName));
+      return PreparedColumnValue.of("?", sourceColType, bytes);
+    }
+
+    String colInputValue;
+    if (colType.getCode().equals(Type.Code.FLOAT64)
+        || colType.getCode().equals(Type.Code.FLOAT32)) {
+      colInputValue = valuesJson.getBigDecimal(colName).toString();
+    } else if (colType.getCode().equals(Type.Code.BOOL)) {
+      colInputValue = String.valueOf(valuesJson.getBoolean(colName));
+    } else if (colType.getCode().equals(Type.Code.ARRAY)
+        && colType.getArrayElementType().getCode().equals(Type.Code.STRING)) {
+      colInputValue =
+          valuesJson.getJSONArray(colName).toList().stream()
+              .map(String::valueOf)
+              .collect(Collectors.joining(","));
+    } else {
+      colInputValue = valuesJson.getString(colName);
+    }
+
+    switch (sourceColType) {
+      case "varchar":
+      case "char":
+      case "text":
+      case "tinytext":
+      case "mediumtext":
+      case "longtext":
+      case "enum":
+      case "date":
+      case "time":
+      case "year":
+      case "set":
+      case "json":
+      case "geometry":
+      case "geometrycollection":
+      case "point":
+      case "multipoint":
+      case "linestring":
+      case "multilinestring":
+      case "polygon":
+      case "multipolygon":
+      case "tinyblob":
+      case "mediumblob":
+      case "blob":
+      case "longblob":
+        return PreparedColumnValue.of("?", sourceColType, removeNullBytes(colInputValue));
+      case "timestamp":
+      case "datetime":
+        String utcValue = colInputValue.substring(0, colInputValue.length() - 1);
+        return new PreparedColumnValue(
+            " CONVERT_TZ(?,'+00:00',?)",
+            ImmutableList.of(
+                PreparedStatementValueObject.create(sourceColType, removeNullBytes(utcValue)),
+                PreparedStatementValueObject.create(sourceColType, sourceDbTimezoneOffset)));
+      case "binary":
+      case "varbinary":
+        return PreparedColumnValue.of("BINARY(?)", sourceColType, removeNullBytes(colInputValue));
+      default:
+        if (colType.getCode().equals(Type.Code.BOOL)) {
+          return PreparedColumnValue.of("?", sourceColType, Boolean.valueOf(colInputValue));
+        }
+        if (colType.getCode().equals(Type.Code.INT64)
+            || colType.getCode().equals(Type.Code.FLOAT64)
+            || colType.getCode().equals(Type.Code.FLOAT32)
+            || colType.getCode().equals(Type.Code.NUMERIC)) {
+          return PreparedColumnValue.of("?", sourceColType, new BigDecimal(colInputValue));
+        }
+        return PreparedColumnValue.of("?", sourceColType, colInputValue);
+    }
+  }
+
+  /**
+   * Bind-parameter counterpart of an inlined custom transformation value. Custom transformations
+   * return SQL literals, which are inlined as-is in the literal statement. NULL, numeric, boolean
+   * and simple single-quoted string literals are bound so that records share the same SQL text.
+   * Any other value is a SQL expression, such as {@code from_base64('...')}, whose meaning would
+   * change if it was bound, so it stays part of the SQL text.
+   */
+  private static PreparedColumnValue getPreparedCustomTransformationValue(
+      SourceColumn sourceColDef, Object value) {
+    String sourceColType = sourceColDef.type();
+    if (value == null) {
+      return PreparedColumnValue.of("?", sourceColType, null);
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      return PreparedColumnValue.of("?", sourceColType, value);
+    }
+    String literal = value.toString().trim();
+    if ("NULL".equalsIgnoreCase(literal)) {
+      return PreparedColumnValue.of("?", sourceColType, null);
+    }
+    if ("TRUE".equalsIgnoreCase(literal) || "FALSE".equalsIgnoreCase(literal)) {
+      return PreparedColumnValue.of("?", sourceColType, Boolean.valueOf(literal));
+    }
+    if (NUMERIC_LITERAL.matcher(literal).matches()) {
+      return PreparedColumnValue.of("?", sourceColType, new BigDecimal(literal));
+    }
+    if (literal.length() >= 2 && literal.startsWith("'") && literal.endsWith("'")) {
+      String unquoted = literal.substring(1, literal.length() - 1);
+      // Only literals without escapes are unquoted, so the bound value is exactly the inlined one.
+      if (unquoted.indexOf('\'') < 0 && unquoted.indexOf('\\') < 0) {
+        return PreparedColumnValue.of("?", sourceColType, unquoted);
+      }
+    }
+    return new PreparedColumnValue(value.toString(), ImmutableList.of());
+  }
+
   /**
    * Decodes a Base64 encoded string and formats the resulting bytes into a hexadecimal string
    * prefixed with 'x'.
@@ -524,8 +807,12 @@ public class MySQLDMLGenerator implements IDMLGenerator {
     return response;
   }
 
+  private static String removeNullBytes(String input) {
+    return StringUtils.replace(input, "\u0000", "");
+  }
+
   private static String escapeString(String input) {
-    String cleanedNullBytes = StringUtils.replace(input, "\u0000", "");
+    String cleanedNullBytes = removeNullBytes(input);
     cleanedNullBytes = StringUtils.replace(cleanedNullBytes, "'", "''");
     cleanedNullBytes = StringUtils.replace(cleanedNullBytes, "\\", "\\\\");
     return cleanedNullBytes;
@@ -544,4 +831,48 @@ public class MySQLDMLGenerator implements IDMLGenerator {
     String response = "BINARY(" + getQuotedEscapedString(input, spannerColType) + ")";
     return response;
   }
+
+  /**
+   * Strategy for turning resolved column values into SQL, shared by the literal and prepared
+   * statement generation paths so that both resolve columns identically.
+   */
+  private interface ColumnValueRenderer<T> {
+    T nullValue(SourceColumn sourceColDef);
+
+    T customTransformationValue(SourceColumn sourceColDef, Object value);
+
+    T mappedValue(
+        Column spannerColDef,
+        SourceColumn sourceColDef,
+        JSONObject valuesJson,
+        String sourceDbTimezoneOffset);
+
+    DMLGeneratorResponse upsertStatement(String tableName, Map<String, T> allColumnNameValues);
+
+    DMLGeneratorResponse deleteStatement(String tableName, Map<String, T> pkcolumnNameValues);
+  }
+
+  /** A SQL value expression and the parameters bound to its placeholders, in order. */
+  private static class PreparedColumnValue {
+    private final String expression;
+    private final List<PreparedStatementValueObject<?>> params;
+
+    PreparedColumnValue(String expression, List<PreparedStatementValueObject<?>> params) {
+      this.expression = expression;
+      this.params = params;
+    }
+
+    static <T> PreparedColumnValue of(String expression, String dataType, T value) {
+      return new PreparedColumnValue(
+          expression, ImmutableList.of(PreparedStatementValueObject.create(dataType, value)));
+    }
+
+    String getExpression() {
+      return expression;
+    }
+
+    List<PreparedStatementValueObject<?>> getParams() {
+      return params;
+    }
+  }
 }
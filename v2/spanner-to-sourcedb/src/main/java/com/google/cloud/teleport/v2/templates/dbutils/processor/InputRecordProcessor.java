@@ -29,9 +29,11 @@ import com.google.cloud.teleport.v2.templates.changestream.TrimmedShardedDataCha
 import com.google.cloud.teleport.v2.templates.dbutils.dao.source.IDao;
 import com.google.cloud.teleport.v2.templates.dbutils.dao.source.TransactionalCheck;
 import com.google.cloud.teleport.v2.templates.dbutils.dml.IDMLGenerator;
+import com.google.cloud.teleport.v2.templates.dbutils.dml.MySQLDMLGenerator;
 import com.google.cloud.teleport.v2.templates.exceptions.InvalidDMLGenerationException;
 import com.google.cloud.teleport.v2.templates.models.DMLGeneratorRequest;
 import com.google.cloud.teleport.v2.templates.models.DMLGeneratorResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
 import java.util.Map;
 import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -63,48 +65,19 @@ public class InputRecordProcessor {
       throws Exception {
 
     try {
-
       String tableName = spannerRecord.getTableName();
-      String modType = spannerRecord.getModType().name();
-      String keysJsonStr = spannerRecord.getMod().getKeysJson();
-      String newValueJsonStr = spannerRecord.getMod().getNewValuesJson();
-      JSONObject newValuesJson = new JSONObject(newValueJsonStr);
-      JSONObject keysJson = new JSONObject(keysJsonStr);
-      Map<String, Object> customTransformationResponse = null;
-
-      if (spannerToSourceTransformer != null) {
-        org.joda.time.Instant startTimestamp = org.joda.time.Instant.now();
-        Map<String, Object> mapRequest =
-            ChangeEventToMapConvertor.combineJsonObjects(keysJson, newValuesJson);
-        MigrationTransformationRequest migrationTransformationRequest =
-            new MigrationTransformationRequest(tableName, mapRequest, shardId, modType);
-        MigrationTransformationResponse migrationTransformationResponse = null;
-        try {
-          migrationTransformationResponse =
-              spannerToSourceTransformer.toSourceRow(migrationTransformationRequest);
-        } catch (Exception e) {
-          throw new InvalidTransformationException(e);
-        }
-        org.joda.time.Instant endTimestamp = org.joda.time.Instant.now();
-        applyCustomTransformationResponseTimeMetric.update(
-            new Duration(startTimestamp, endTimestamp).getMillis());
-        if (migrationTransformationResponse.isEventFiltered()) {
-          Metrics.counter(InputRecordProcessor.class, "filtered_events_" + shardId).inc();
-          return true;
-        }
-        if (migrationTransformationResponse != null) {
-          customTransformationResponse = migrationTransformationResponse.getResponseRow();
-        }
-      }
       DMLGeneratorRequest dmlGeneratorRequest =
-          new DMLGeneratorRequest.Builder(
-                  modType, tableName, newValuesJson, keysJson, sourceDbTimezoneOffset)
-              .setSchemaMapper(schemaMapper)
-              .setCustomTransformationResponse(customTransformationResponse)
-              .setCommitTimestamp(spannerRecord.getCommitTimestamp())
-              .setDdl(ddl)
-              .setSourceSchema(sourceSchema)
-              .build();
+          buildDMLGeneratorRequest(
+              spannerRecord,
+              schemaMapper,
+              ddl,
+              sourceSchema,
+              shardId,
+              sourceDbTimezoneOffset,
+              spannerToSourceTransformer);
+      if (dmlGeneratorRequest == null) {
+        return true;
+      }
 
       DMLGeneratorResponse dmlGeneratorResponse = dmlGenerator.getDMLStatement(dmlGeneratorRequest);
       if (dmlGeneratorResponse.getDmlStatement().isEmpty()) {
@@ -136,4 +109,97 @@ public class InputRecordProcessor {
       throw e; // throw the original exception since it needs to go to DLQ
     }
   }
+
+  /**
+   * Generates the parameterized MySQL DML for a record without executing it, so that the caller
+   * can batch it with other records.
+   *
+   * @return the prepared statement, or null if the record was filtered by the custom
+   *     transformation.
+   */
+  public static PreparedStatementGeneratedResponse getPreparedDMLStatement(
+      TrimmedShardedDataChangeRecord spannerRecord,
+      ISchemaMapper schemaMapper,
+      Ddl ddl,
+      SourceSchema sourceSchema,
+      String shardId,
+      String sourceDbTimezoneOffset,
+      MySQLDMLGenerator dmlGenerator,
+      ISpannerMigrationTransformer spannerToSourceTransformer)
+      throws Exception {
+    DMLGeneratorRequest dmlGeneratorRequest =
+        buildDMLGeneratorRequest(
+            spannerRecord,
+            schemaMapper,
+            ddl,
+            sourceSchema,
+            shardId,
+            sourceDbTimezoneOffset,
+            spannerToSourceTransformer);
+    if (dmlGeneratorRequest == null) {
+      return null;
+    }
+    PreparedStatementGeneratedResponse response =
+        dmlGenerator.getPreparedDMLStatement(dmlGeneratorRequest);
+    if (response.getDmlStatement().isEmpty()) {
+      throw new InvalidDMLGenerationException(
+          "DML statement is empty for table: " + spannerRecord.getTableName());
+    }
+    return response;
+  }
+
+  /**
+   * Applies the custom transformation, if any, and builds the DML generator request for the
+   * record. Returns null if the record was filtered by the custom transformation.
+   */
+  private static DMLGeneratorRequest buildDMLGeneratorRequest(
+      TrimmedShardedDataChangeRecord spannerRecord,
+      ISchemaMapper schemaMapper,
+      Ddl ddl,
+      SourceSchema sourceSchema,
+      String shardId,
+      String sourceDbTimezoneOffset,
+      ISpannerMigrationTransformer spannerToSourceTransformer)
+      throws InvalidTransformationException {
+    String tableName = spannerRecord.getTableName();
+    String modType = spannerRecord.getModType().name();
+    String keysJsonStr = spannerRecord.getMod().getKeysJson();
+    String newValueJsonStr = spannerRecord.getMod().getNewValuesJson();
+    JSONObject newValuesJson = new JSONObject(newValueJsonStr);
+    JSONObject keysJson = new JSONObject(keysJsonStr);
+    Map<String, Object> customTransformationResponse = null;
+
+    if (spannerToSourceTransformer != null) {
+      org.joda.time.Instant startTimestamp = org.joda.time.Instant.now();
+      Map<String, Object> mapRequest =
+          ChangeEventToMapConvertor.combineJsonObjects(keysJson, newValuesJson);
+      MigrationTransformationRequest migrationTransformationRequest =
+          new MigrationTransformationRequest(tableName, mapRequest, shardId, modType);
+      MigrationTransformationResponse migrationTransformationResponse = null;
+      try {
+        migrationTransformationResponse =
+            spannerToSourceTransformer.toSourceRow(migrationTransformationRequest);
+      } catch (Exception e) {
+        throw new InvalidTransformationException(e);
+      }
+      org.joda.time.Instant endTimestamp = org.joda.time.Instant.now();
+      applyCustomTransformationResponseTimeMetric.update(
+          new Duration(startTimestamp, endTimestamp).getMillis());
+      if (migrationTransformationResponse.isEventFiltered()) {
+        Metrics.counter(InputRecordProcessor.class, "filtered_events_" + shardId).inc();
+        return null;
+      }
+      if (migrationTransformationResponse != null) {
+        customTransformationResponse = migrationTransformationResponse.getResponseRow();
+      }
+    }
+    return new DMLGeneratorRequest.Builder(
+            modType, tableName, newValuesJson, keysJson, sourceDbTimezoneOffset)
+        .setSchemaMapper(schemaMapper)
+        .setCustomTransformationResponse(customTransformationResponse)
+        .setCommitTimestamp(spannerRecord.getCommitTimestamp())
+        .setDdl(ddl)
+        .setSourceSchema(sourceSchema)
+        .build();
+  }
 }
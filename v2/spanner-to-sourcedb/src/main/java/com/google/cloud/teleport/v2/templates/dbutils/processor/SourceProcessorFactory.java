@@ -114,8 +114,24 @@ public class SourceProcessorFactory {
    */
   public static SourceProcessor createSourceProcessor(
       String source, List<Shard> shards, int maxConnections) throws UnsupportedSourceException {
+    return createSourceProcessor(source, shards, maxConnections, false);
+  }
+
+  /**
+   * Creates a SourceProcessor instance for the specified source type.
+   *
+   * @param source the type of the source database
+   * @param shards the list of shards for the source
+   * @param maxConnections the maximum number of connections
+   * @param batchWrites whether the connections are used for batched writes
+   * @return a configured SourceProcessor instance
+   * @throws Exception if the source type is invalid
+   */
+  public static SourceProcessor createSourceProcessor(
+      String source, List<Shard> shards, int maxConnections, boolean batchWrites)
+      throws UnsupportedSourceException {
     IDMLGenerator dmlGenerator = getDMLGenerator(source);
-    initializeConnectionHelper(source, shards, maxConnections);
+    initializeConnectionHelper(source, shards, maxConnections, batchWrites);
     Map<String, IDao> sourceDaoMap = createSourceDaoMap(source, shards);
 
     return SourceProcessor.builder().dmlGenerator(dmlGenerator).sourceDaoMap(sourceDaoMap).build();
@@ -138,12 +154,13 @@ public class SourceProcessorFactory {
   }
 
   private static void initializeConnectionHelper(
-      String source, List<Shard> shards, int maxConnections) throws UnsupportedSourceException {
+      String source, List<Shard> shards, int maxConnections, boolean batchWrites)
+      throws UnsupportedSourceException {
     IConnectionHelper connectionHelper = getConnectionHelper(source);
     if (!connectionHelper.isConnectionPoolInitialized()) {
       ConnectionHelperRequest request =
           createConnectionHelperRequest(source, shards, maxConnections);
-      connectionHelper.init(request);
+      connectionHelper.init(batchWrites ? request.withBatchWrites() : request);
     }
   }
 
@@ -30,6 +30,7 @@ import java.util.List;
  *   <li>The maximum number of connections allowed.
  *   <li>The name of the driver to connect to source.
  *   <li>Optional connection initialisation queries as a {@link String}.
+ *   <li>Whether the connections are used for batched writes.
  * </ul>
  */
 public class ConnectionHelperRequest {
@@ -38,6 +39,7 @@ public class ConnectionHelperRequest {
   private int maxConnections;
   private String driver;
   private String connectionInitQuery;
+  private boolean batchWrites;
 
   public List<Shard> getShards() {
     return shards;
@@ -59,6 +61,10 @@ public class ConnectionHelperRequest {
     return connectionInitQuery;
   }
 
+  public boolean isBatchWrites() {
+    return batchWrites;
+  }
+
   public ConnectionHelperRequest(
       List<Shard> shards,
       String properties,
@@ -71,4 +77,21 @@ public class ConnectionHelperRequest {
     this.driver = driver;
     this.connectionInitQuery = connectionInitQuery;
   }
+
+  public ConnectionHelperRequest(
+      List<Shard> shards,
+      String properties,
+      int maxConnections,
+      String driver,
+      String connectionInitQuery,
+      boolean batchWrites) {
+    this(shards, properties, maxConnections, driver, connectionInitQuery);
+    this.batchWrites = batchWrites;
+  }
+
+  /** Returns a copy of this request for connections that are used for batched writes. */
+  public ConnectionHelperRequest withBatchWrites() {
+    return new ConnectionHelperRequest(
+        shards, properties, maxConnections, driver, connectionInitQuery, true);
+  }
 }
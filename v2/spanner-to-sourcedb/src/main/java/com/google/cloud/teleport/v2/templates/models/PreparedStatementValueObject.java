@@ -16,15 +16,17 @@
 package com.google.cloud.teleport.v2.templates.models;
 
 import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
 
 @AutoValue
 public abstract class PreparedStatementValueObject<T> {
 
   public abstract String dataType();
 
+  @Nullable
   public abstract T value();
 
-  public static <T> PreparedStatementValueObject<T> create(String dataType, T value) {
+  public static <T> PreparedStatementValueObject<T> create(String dataType, @Nullable T value) {
     return new AutoValue_PreparedStatementValueObject<>(dataType, value);
   }
 }
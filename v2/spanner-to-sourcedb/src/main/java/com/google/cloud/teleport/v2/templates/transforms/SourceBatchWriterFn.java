@@ -0,0 +1,546 @@
+/*
+ * Copyright (C) 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.transforms;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Options;
+import com.google.cloud.spanner.TransactionRunner;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.convertors.ChangeEventSpannerConvertor;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
+import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
+import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformation;
+import com.google.cloud.teleport.v2.spanner.migrations.utils.CustomTransformationImplFetcher;
+import com.google.cloud.teleport.v2.spanner.sourceddl.SourceSchema;
+import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
+import com.google.cloud.teleport.v2.templates.changestream.ChangeStreamErrorRecord;
+import com.google.cloud.teleport.v2.templates.changestream.TrimmedShardedDataChangeRecord;
+import com.google.cloud.teleport.v2.templates.constants.Constants;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.JdbcDao;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.TransactionalCheckException;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.spanner.SpannerDao;
+import com.google.cloud.teleport.v2.templates.dbutils.dml.MySQLDMLGenerator;
+import com.google.cloud.teleport.v2.templates.dbutils.processor.InputRecordProcessor;
+import com.google.cloud.teleport.v2.templates.dbutils.processor.SourceProcessor;
+import com.google.cloud.teleport.v2.templates.dbutils.processor.SourceProcessorFactory;
+import com.google.cloud.teleport.v2.templates.exceptions.UnsupportedSourceException;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
+import com.google.cloud.teleport.v2.templates.utils.SchemaMapperUtils;
+import com.google.cloud.teleport.v2.templates.utils.ShadowTableRecord;
+import com.google.cloud.teleport.v2.templates.utils.SpannerToSourceDbExceptionClassifier;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batched variant of {@link SourceWriterFn} for MySQL sources.
+ *
+ * <p>Records of a batch are grouped by shard and ordered by commit timestamp and record sequence.
+ * Each record is run through the custom transformation first, and filtered records are output
+ * right away. Since the change stream captures full new rows, only the latest remaining record per
+ * primary key needs to be applied; earlier records for the same key are coalesced into it, at the
+ * position of the last record for that key. Records are only coalesced within a run of records of
+ * the same table, so the order of changes across tables that may depend on each other through
+ * foreign keys is kept. The remaining records of a shard are written with a single source
+ * transaction of batched prepared statements, inside a single Spanner transaction that holds the
+ * shadow table locks. The shadow table commit timestamp checks are the same as in {@link
+ * SourceWriterFn}. If a batch fails, its records are retried one at a time so that only the
+ * failing records are sent to the DLQ.
+ */
+public class SourceBatchWriterFn
+    extends DoFn<KV<Long, Iterable<TrimmedShardedDataChangeRecord>>, String>
+    implements Serializable {
+  private static final Logger LOG = LoggerFactory.getLogger(SourceBatchWriterFn.class);
+  private static Gson gson = new Gson();
+
+  private transient ObjectMapper mapper;
+
+  private final Counter successRecordCountMetric =
+      Metrics.counter(SourceWriterFn.class, "success_record_count");
+
+  private final Counter retryableRecordCountMetric =
+      Metrics.counter(SourceWriterFn.class, "retryable_record_count");
+
+  private final Counter skippedRecordCountMetric =
+      Metrics.counter(SourceWriterFn.class, "skipped_record_count");
+
+  private final Counter coalescedRecordCountMetric =
+      Metrics.counter(SourceBatchWriterFn.class, "coalesced_record_count");
+
+  private final Counter batchFallbackCountMetric =
+      Metrics.counter(SourceBatchWriterFn.class, "batch_fallback_count");
+
+  private static final Distribution BATCH_SIZE =
+      Metrics.distribution(SourceBatchWriterFn.class, "source_write_batch_size");
+  private static final Distribution SUCCESSFUL_WRITE_LATENCY_MS =
+      Metrics.distribution(SourceWriterFn.class, "successful_write_to_source_latency_ms");
+  private static final Distribution UNSUCCESSFUL_WRITE_LATENCY_MS =
+      Metrics.distribution(SourceWriterFn.class, "unsuccessful_write_to_source_latency_ms");
+
+  private final String sourceDbTimezoneOffset;
+  private final List<Shard> shards;
+  private final SpannerConfig spannerConfig;
+  private transient SpannerDao spannerDao;
+  private final SourceSchema sourceSchema;
+  private final String shadowTablePrefix;
+  private final String skipDirName;
+  private final int maxThreadPerDataflowWorker;
+  private final String source;
+  private transient SourceProcessor sourceProcessor;
+  private final CustomTransformation customTransformation;
+  private transient ISpannerMigrationTransformer spannerToSourceTransformer;
+
+  private final PCollectionView<Ddl> ddlView;
+  private final PCollectionView<Ddl> shadowTableDdlView;
+
+  private final String sessionFilePath;
+  private final String schemaOverridesFilePath;
+  private final String tableOverrides;
+  private final String columnOverrides;
+
+  public SourceBatchWriterFn(
+      List<Shard> shards,
+      SpannerConfig spannerConfig,
+      String sourceDbTimezoneOffset,
+      SourceSchema sourceSchema,
+      String shadowTablePrefix,
+      String skipDirName,
+      int maxThreadPerDataflowWorker,
+      String source,
+      CustomTransformation customTransformation,
+      PCollectionView<Ddl> ddlView,
+      PCollectionView<Ddl> shadowTableDdlView,
+      String sessionFilePath,
+      String schemaOverridesFilePath,
+      String tableOverrides,
+      String columnOverrides) {
+
+    this.sourceDbTimezoneOffset = sourceDbTimezoneOffset;
+    this.shards = shards;
+    this.spannerConfig = spannerConfig;
+    this.sourceSchema = sourceSchema;
+    this.shadowTablePrefix = shadowTablePrefix;
+    this.skipDirName = skipDirName;
+    this.maxThreadPerDataflowWorker = maxThreadPerDataflowWorker;
+    this.source = source;
+    this.customTransformation = customTransformation;
+    this.ddlView = ddlView;
+    this.shadowTableDdlView = shadowTableDdlView;
+    this.sessionFilePath = sessionFilePath;
+    this.schemaOverridesFilePath = schemaOverridesFilePath;
+    this.tableOverrides = tableOverrides;
+    this.columnOverrides = columnOverrides;
+  }
+
+  // for unit testing purposes
+  public void setSpannerDao(SpannerDao spannerDao) {
+    this.spannerDao = spannerDao;
+  }
+
+  // for unit testing purposes
+  public void setObjectMapper(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  // for unit testing purposes
+  public void setSourceProcessor(SourceProcessor sourceProcessor) {
+    this.sourceProcessor = sourceProcessor;
+  }
+
+  // for unit testing purposes
+  public void setSpannerToSourceTransformer(
+      ISpannerMigrationTransformer spannerToSourceTransformer) {
+    this.spannerToSourceTransformer = spannerToSourceTransformer;
+  }
+
+  /** Setup function connects to Cloud Spanner. */
+  @Setup
+  public void setup() throws UnsupportedSourceException {
+    mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    sourceProcessor =
+        SourceProcessorFactory.createSourceProcessor(
+            source, shards, maxThreadPerDataflowWorker, /* batchWrites= */ true);
+    spannerDao = new SpannerDao(spannerConfig);
+    spannerToSourceTransformer =
+        CustomTransformationImplFetcher.getCustomTransformationLogicImpl(customTransformation);
+  }
+
+  /** Teardown function disconnects from the Cloud Spanner. */
+  @Teardown
+  public void teardown() throws Exception {
+    if (spannerDao != null) {
+      spannerDao.close();
+    }
+    if (sourceProcessor != null) {
+      sourceProcessor.close();
+    }
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) {
+    Ddl ddl = c.sideInput(ddlView);
+    Ddl shadowTableDdl = c.sideInput(shadowTableDdlView);
+
+    // SchemaMapper depends on Ddl side input, which is only available in processElement.
+    ISchemaMapper schemaMapper =
+        SchemaMapperUtils.getSchemaMapper(
+            sessionFilePath, schemaOverridesFilePath, tableOverrides, columnOverrides, ddl);
+
+    Map<String, List<BufferedRecord>> recordsByShard = new LinkedHashMap<>();
+    for (TrimmedShardedDataChangeRecord spannerRec : c.element().getValue()) {
+      String shardId = spannerRec.getShard();
+      if (shardId == null || shardId.equals(Constants.SEVERE_ERROR_SHARD_ID)) {
+        // if no shard or permanent error shard id found, move to permanent error
+        outputWithTag(
+            c,
+            Constants.PERMANENT_ERROR_TAG,
+            Constants.SHARD_NOT_PRESENT_ERROR_MESSAGE,
+            spannerRec);
+      } else if (shardId.equals(Constants.RETRYABLE_ERROR_SHARD_ID)) {
+        // if retryable error shard id found, move to retryable error
+        outputWithTag(
+            c,
+            Constants.RETRYABLE_ERROR_TAG,
+            Constants.SHARD_NOT_PRESENT_ERROR_MESSAGE,
+            spannerRec);
+      } else if (shardId.equals(skipDirName)) {
+        // the record is skipped
+        skippedRecordCountMetric.inc();
+        outputWithTag(c, Constants.SKIPPED_TAG, Constants.SKIPPED_TAG_MESSAGE, spannerRec);
+      } else {
+        try {
+          BufferedRecord record = toBufferedRecord(spannerRec, ddl, schemaMapper, shardId);
+          if (record.statement == null) {
+            outputFiltered(c, spannerRec);
+          } else {
+            recordsByShard.computeIfAbsent(shardId, k -> new ArrayList<>()).add(record);
+          }
+        } catch (Exception ex) {
+          outputError(c, ex, spannerRec);
+        }
+      }
+    }
+
+    for (Map.Entry<String, List<BufferedRecord>> entry : recordsByShard.entrySet()) {
+      List<PendingWrite> pendingWrites = coalesce(entry.getValue());
+      writeToShard(c, entry.getKey(), pendingWrites, ddl, shadowTableDdl);
+    }
+  }
+
+  /**
+   * Parses the primary key of the record and generates its prepared statement. The statement is
+   * null if the record was filtered by the custom transformation.
+   */
+  private BufferedRecord toBufferedRecord(
+      TrimmedShardedDataChangeRecord spannerRec,
+      Ddl ddl,
+      ISchemaMapper schemaMapper,
+      String shardId)
+      throws Exception {
+    JsonNode keysJson = mapper.readTree(spannerRec.getMod().getKeysJson());
+    String tableName = spannerRec.getTableName();
+    Key primaryKey =
+        ChangeEventSpannerConvertor.changeEventToPrimaryKey(
+            tableName, ddl, keysJson, /* convertNameToLowerCase= */ false);
+    PreparedStatementGeneratedResponse statement =
+        InputRecordProcessor.getPreparedDMLStatement(
+            spannerRec,
+            schemaMapper,
+            ddl,
+            sourceSchema,
+            shardId,
+            sourceDbTimezoneOffset,
+            (MySQLDMLGenerator) sourceProcessor.getDmlGenerator(),
+            spannerToSourceTransformer);
+    return new BufferedRecord(
+        spannerRec,
+        keysJson,
+        primaryKey,
+        Long.parseLong(spannerRec.getRecordSequence()),
+        statement);
+  }
+
+  /**
+   * Orders the records of a shard by commit timestamp and record sequence and keeps only the
+   * latest record per primary key within each run of records of the same table. Each key takes the
+   * position of its last record, so that it is never written ahead of a change that preceded it.
+   * A record of another table ends the run, so a delete of a parent row is not moved ahead of the
+   * changes to its child rows, and an insert of a child row is not moved ahead of its parent.
+   */
+  private List<PendingWrite> coalesce(List<BufferedRecord> records) {
+    records.sort(
+        Comparator.comparing((BufferedRecord r) -> r.record.getCommitTimestamp())
+            .thenComparingLong(r -> r.recordSequence));
+    List<PendingWrite> pendingWrites = new ArrayList<>();
+    Map<String, PendingWrite> latestByKey = new LinkedHashMap<>();
+    String tableName = null;
+    for (BufferedRecord record : records) {
+      if (!record.record.getTableName().equals(tableName)) {
+        pendingWrites.addAll(latestByKey.values());
+        latestByKey.clear();
+        tableName = record.record.getTableName();
+      }
+      String key = record.primaryKey.toString();
+      PendingWrite pendingWrite = latestByKey.remove(key);
+      if (pendingWrite == null) {
+        pendingWrite = new PendingWrite(record);
+      } else {
+        pendingWrite.supersede(record);
+        coalescedRecordCountMetric.inc();
+      }
+      latestByKey.put(key, pendingWrite);
+    }
+    pendingWrites.addAll(latestByKey.values());
+    return pendingWrites;
+  }
+
+  private void writeToShard(
+      ProcessContext c,
+      String shardId,
+      List<PendingWrite> pendingWrites,
+      Ddl ddl,
+      Ddl shadowTableDdl) {
+    Stopwatch timer = Stopwatch.createStarted();
+    try {
+      List<WriteOutcome> outcomes = writeBatch(shardId, pendingWrites, ddl, shadowTableDdl);
+      BATCH_SIZE.update(pendingWrites.size());
+      for (int i = 0; i < pendingWrites.size(); i++) {
+        outputResult(c, shardId, pendingWrites.get(i), outcomes.get(i), timer);
+      }
+    } catch (Exception ex) {
+      if (pendingWrites.size() > 1) {
+        // Retry the records one at a time so that a single bad record does not send the whole
+        // batch to the DLQ.
+        LOG.debug("Batch write to shard {} failed, retrying records individually", shardId, ex);
+        batchFallbackCountMetric.inc();
+        for (PendingWrite pendingWrite : pendingWrites) {
+          writeToShard(c, shardId, ImmutableList.of(pendingWrite), ddl, shadowTableDdl);
+        }
+        return;
+      }
+      for (TrimmedShardedDataChangeRecord spannerRec : pendingWrites.get(0).allRecords()) {
+        outputError(c, ex, spannerRec);
+      }
+      UNSUCCESSFUL_WRITE_LATENCY_MS.update(timer.elapsed(TimeUnit.MILLISECONDS));
+    }
+  }
+
+  /**
+   * Writes the given records to the source in one transaction and returns the outcome of each
+   * record. Nothing is output from inside the Spanner transaction since it may be retried.
+   */
+  private List<WriteOutcome> writeBatch(
+      String shardId,
+      List<PendingWrite> pendingWrites,
+      Ddl ddl,
+      Ddl shadowTableDdl) {
+    return spannerDao
+        .getDatabaseClient()
+        .readWriteTransaction(Options.priority(spannerConfig.getRpcPriority().get()))
+        .run(
+            (TransactionRunner.TransactionCallable<List<WriteOutcome>>)
+                shadowTransaction -> {
+                  List<WriteOutcome> outcomes = new ArrayList<>();
+                  List<PreparedStatementGeneratedResponse> statements = new ArrayList<>();
+                  List<Mutation> shadowTableMutations = new ArrayList<>();
+                  Map<PendingWrite, ShadowTableRecord> shadowTableRecords = new LinkedHashMap<>();
+                  for (PendingWrite pendingWrite : pendingWrites) {
+                    TrimmedShardedDataChangeRecord spannerRec = pendingWrite.latest.record;
+                    String tableName = spannerRec.getTableName();
+                    String shadowTableName = shadowTablePrefix + tableName;
+                    ShadowTableRecord shadowTableRecord =
+                        spannerDao.readShadowTableRecordWithExclusiveLock(
+                            shadowTableName,
+                            pendingWrite.latest.primaryKey,
+                            shadowTableDdl,
+                            shadowTransaction);
+                    if (SourceWriterFn.isSourceAhead(shadowTableRecord, spannerRec)) {
+                      outcomes.add(WriteOutcome.SOURCE_AHEAD);
+                      continue;
+                    }
+                    shadowTableRecords.put(pendingWrite, shadowTableRecord);
+                    statements.add(pendingWrite.latest.statement);
+                    outcomes.add(WriteOutcome.WRITTEN);
+                    shadowTableMutations.add(
+                        SourceWriterFn.getShadowTableMutation(
+                            tableName,
+                            shadowTableName,
+                            pendingWrite.latest.keysJson,
+                            spannerRec.getCommitTimestamp(),
+                            spannerRec.getRecordSequence(),
+                            ddl));
+                  }
+
+                  if (!statements.isEmpty()) {
+                    JdbcDao sourceDao = (JdbcDao) sourceProcessor.getSourceDao(shardId);
+                    sourceDao.writeBatch(
+                        statements,
+                        () -> {
+                          for (Map.Entry<PendingWrite, ShadowTableRecord> entry :
+                              shadowTableRecords.entrySet()) {
+                            ShadowTableRecord newShadowTableRecord =
+                                spannerDao.readShadowTableRecordWithExclusiveLock(
+                                    shadowTablePrefix + entry.getKey().latest.record.getTableName(),
+                                    entry.getKey().latest.primaryKey,
+                                    shadowTableDdl,
+                                    shadowTransaction);
+                            if (!ShadowTableRecord.isEquals(
+                                entry.getValue(), newShadowTableRecord)) {
+                              throw new TransactionalCheckException(
+                                  "Shadow table sequence changed during transaction");
+                            }
+                          }
+                        });
+                  }
+                  for (Mutation mutation : shadowTableMutations) {
+                    spannerDao.updateShadowTable(mutation, shadowTransaction);
+                  }
+                  return outcomes;
+                });
+  }
+
+  private void outputResult(
+      ProcessContext c,
+      String shardId,
+      PendingWrite pendingWrite,
+      WriteOutcome outcome,
+      Stopwatch timer) {
+    for (TrimmedShardedDataChangeRecord spannerRec : pendingWrite.allRecords()) {
+      if (outcome == WriteOutcome.WRITTEN) {
+        successRecordCountMetric.inc();
+        Counter recordsWrittenToSource =
+            Metrics.counter(shardId, "records_written_to_source_" + shardId);
+        recordsWrittenToSource.inc(1);
+        Distribution lagMetric =
+            Metrics.distribution(shardId, "replication_lag_in_seconds_" + shardId);
+        Instant commitTsInst = spannerRec.getCommitTimestamp().toSqlTimestamp().toInstant();
+        lagMetric.update(ChronoUnit.SECONDS.between(commitTsInst, Instant.now()));
+        SUCCESSFUL_WRITE_LATENCY_MS.update(timer.elapsed(TimeUnit.MILLISECONDS));
+      }
+      if (spannerRec.isRetryRecord()) {
+        retryableRecordCountMetric.dec();
+      }
+      c.output(Constants.SUCCESS_TAG, com.google.cloud.Timestamp.now().toString());
+    }
+  }
+
+  private void outputFiltered(ProcessContext c, TrimmedShardedDataChangeRecord spannerRec) {
+    outputWithTag(c, Constants.FILTERED_TAG, Constants.FILTERED_TAG_MESSAGE, spannerRec);
+    if (spannerRec.isRetryRecord()) {
+      retryableRecordCountMetric.dec();
+    }
+    c.output(Constants.SUCCESS_TAG, com.google.cloud.Timestamp.now().toString());
+  }
+
+  private void outputError(ProcessContext c, Exception ex, TrimmedShardedDataChangeRecord record) {
+    // Since we have wrapped the logic inside Spanner transaction, the exceptions would also be
+    // wrapped inside a SpannerException.
+    Throwable cause = ex.getCause();
+    String message = ex.getMessage();
+    if (cause != null) {
+      message += ", Caused by: " + cause.getMessage();
+    }
+    TupleTag<String> errorTag = SpannerToSourceDbExceptionClassifier.classify(ex);
+    outputWithTag(c, errorTag, message, record);
+  }
+
+  void outputWithTag(
+      ProcessContext c,
+      TupleTag<String> tag,
+      String message,
+      TrimmedShardedDataChangeRecord record) {
+    String jsonRec = gson.toJson(record, TrimmedShardedDataChangeRecord.class);
+    ChangeStreamErrorRecord errorRecord = new ChangeStreamErrorRecord(jsonRec, message);
+
+    // Permanent error metrics are inceremented differently based on regular or retryDLQ mode
+    if (!record.isRetryRecord() && tag.equals(Constants.RETRYABLE_ERROR_TAG)) {
+      retryableRecordCountMetric.inc();
+    }
+    c.output(tag, gson.toJson(errorRecord, ChangeStreamErrorRecord.class));
+  }
+
+  private enum WriteOutcome {
+    WRITTEN,
+    SOURCE_AHEAD
+  }
+
+  /** A record along with its parsed primary key and its statement, null if filtered. */
+  private static class BufferedRecord {
+    private final TrimmedShardedDataChangeRecord record;
+    private final JsonNode keysJson;
+    private final Key primaryKey;
+    private final long recordSequence;
+    private final PreparedStatementGeneratedResponse statement;
+
+    BufferedRecord(
+        TrimmedShardedDataChangeRecord record,
+        JsonNode keysJson,
+        Key primaryKey,
+        long recordSequence,
+        PreparedStatementGeneratedResponse statement) {
+      this.record = record;
+      this.keysJson = keysJson;
+      this.primaryKey = primaryKey;
+      this.recordSequence = recordSequence;
+      this.statement = statement;
+    }
+  }
+
+  /** The latest record of a primary key and the older records that it supersedes. */
+  private static class PendingWrite {
+    private BufferedRecord latest;
+    private final List<TrimmedShardedDataChangeRecord> coalesced = new ArrayList<>();
+
+    PendingWrite(BufferedRecord latest) {
+      this.latest = latest;
+    }
+
+    void supersede(BufferedRecord newer) {
+      coalesced.add(latest.record);
+      latest = newer;
+    }
+
+    List<TrimmedShardedDataChangeRecord> allRecords() {
+      List<TrimmedShardedDataChangeRecord> records = new ArrayList<>(coalesced);
+      records.add(latest.record);
+      return records;
+    }
+  }
+}
@@ -238,22 +238,7 @@ public class SourceWriterFn extends DoFn<KV<Long, TrimmedShardedDataChangeRecord
                           ShadowTableRecord shadowTableRecord =
                               spannerDao.readShadowTableRecordWithExclusiveLock(
                                   shadowTableName, primaryKey, shadowTableDdl, shadowTransaction);
-                          isSourceAhead =
-                              shadowTableRecord != null
-                                  && ((shadowTableRecord
-                                              .getProcessedCommitTimestamp()
-                                              .compareTo(spannerRec.getCommitTimestamp())
-                                          > 0) // either the source already has record with greater
-                                      // commit
-                                      // timestamp
-                                      || (shadowTableRecord // or the source has the same commit
-                                                  // timestamp but
-                                                  // greater record sequence
-                                                  .getProcessedCommitTimestamp()
-                                                  .compareTo(spannerRec.getCommitTimestamp())
-                                              == 0
-                                          && shadowTableRecord.getRecordSequence()
-                                              >= Long.parseLong(spannerRec.getRecordSequence())));
+                          isSourceAhead = isSourceAhead(shadowTableRecord, spannerRec);
 
                           if (!isSourceAhead) {
                             IDao sourceDao = sourceProcessor.getSourceDao(shardId);
@@ -339,7 +324,24 @@ public class SourceWriterFn extends DoFn<KV<Long, TrimmedShardedDataChangeRecord
     }
   }
 
-  private Mutation getShadowTableMutation(
+  /**
+   * Returns true if the source already has the record with a greater commit timestamp, or with
+   * the same commit timestamp but a greater or equal record sequence.
+   */
+  static boolean isSourceAhead(
+      ShadowTableRecord shadowTableRecord, TrimmedShardedDataChangeRecord spannerRec) {
+    if (shadowTableRecord == null) {
+      return false;
+    }
+    int commitTsComparison =
+        shadowTableRecord.getProcessedCommitTimestamp().compareTo(spannerRec.getCommitTimestamp());
+    return commitTsComparison > 0
+        || (commitTsComparison == 0
+            && shadowTableRecord.getRecordSequence()
+                >= Long.parseLong(spannerRec.getRecordSequence()));
+  }
+
+  static Mutation getShadowTableMutation(
       String tableName,
       String shadowTableName,
       JsonNode keysJson,
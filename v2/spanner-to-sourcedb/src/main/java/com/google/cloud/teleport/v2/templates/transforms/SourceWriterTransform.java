@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.transforms.GroupIntoBatches;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.KV;
@@ -39,12 +40,16 @@ import org.apache.beam.sdk.values.POutput;
 import org.apache.beam.sdk.values.PValue;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.joda.time.Duration;
 
 /** Takes an input of change stream events and writes them to the source database. */
 public class SourceWriterTransform
     extends PTransform<
         PCollection<KV<Long, TrimmedShardedDataChangeRecord>>, SourceWriterTransform.Result> {
 
+  /** Upper bound on how long a partial batch is held before it is written to the source. */
+  private static final Duration MAX_BATCH_BUFFERING_DURATION = Duration.standardSeconds(1);
+
   private final String sourceDbTimezoneOffset;
   private final List<Shard> shards;
   private final SpannerConfig spannerConfig;
@@ -60,6 +65,7 @@ public class SourceWriterTransform
   private final String schemaOverridesFilePath;
   private final String tableOverrides;
   private final String columnOverrides;
+  private final int batchSize;
 
   public SourceWriterTransform(
       List<Shard> shards,
@@ -77,6 +83,47 @@ public class SourceWriterTransform
       String schemaOverridesFilePath,
       String tableOverrides,
       String columnOverrides) {
+    this(
+        shards,
+        spannerConfig,
+        sourceDbTimezoneOffset,
+        ddlView,
+        shadowTableDdlView,
+        sourceSchema,
+        shadowTablePrefix,
+        skipDirName,
+        maxThreadPerDataflowWorker,
+        source,
+        customTransformation,
+        sessionFilePath,
+        schemaOverridesFilePath,
+        tableOverrides,
+        columnOverrides,
+        1);
+  }
+
+  /**
+   * Creates the transform with a source write batch size. A batch size greater than 1 groups
+   * records per key and writes them with {@link SourceBatchWriterFn}, which is only supported for
+   * MySQL sources.
+   */
+  public SourceWriterTransform(
+      List<Shard> shards,
+      SpannerConfig spannerConfig,
+      String sourceDbTimezoneOffset,
+      PCollectionView<Ddl> ddlView,
+      PCollectionView<Ddl> shadowTableDdlView,
+      SourceSchema sourceSchema,
+      String shadowTablePrefix,
+      String skipDirName,
+      int maxThreadPerDataflowWorker,
+      String source,
+      CustomTransformation customTransformation,
+      String sessionFilePath,
+      String schemaOverridesFilePath,
+      String tableOverrides,
+      String columnOverrides,
+      int batchSize) {
 
     this.sourceDbTimezoneOffset = sourceDbTimezoneOffset;
     this.shards = shards;
@@ -93,38 +140,70 @@ public class SourceWriterTransform
     this.schemaOverridesFilePath = schemaOverridesFilePath;
     this.tableOverrides = tableOverrides;
     this.columnOverrides = columnOverrides;
+    this.batchSize = batchSize;
   }
 
   @Override
   public SourceWriterTransform.Result expand(
       PCollection<KV<Long, TrimmedShardedDataChangeRecord>> input) {
-    PCollectionTuple sourceWriteResults =
-        input.apply(
-            "Write to sourcedb",
-            ParDo.of(
-                    new SourceWriterFn(
-                        this.shards,
-                        this.spannerConfig,
-                        this.sourceDbTimezoneOffset,
-                        this.sourceSchema,
-                        this.shadowTablePrefix,
-                        this.skipDirName,
-                        this.maxThreadPerDataflowWorker,
-                        this.source,
-                        this.customTransformation,
-                        this.ddlView,
-                        this.shadowTableDdlView,
-                        this.sessionFilePath,
-                        this.schemaOverridesFilePath,
-                        this.tableOverrides,
-                        this.columnOverrides))
-                .withSideInputs(ddlView, shadowTableDdlView)
-                .withOutputTags(
-                    Constants.SUCCESS_TAG,
-                    TupleTagList.of(Constants.PERMANENT_ERROR_TAG)
-                        .and(Constants.RETRYABLE_ERROR_TAG)
-                        .and(Constants.SKIPPED_TAG)
-                        .and(Constants.FILTERED_TAG)));
+    TupleTagList additionalOutputTags =
+        TupleTagList.of(Constants.PERMANENT_ERROR_TAG)
+            .and(Constants.RETRYABLE_ERROR_TAG)
+            .and(Constants.SKIPPED_TAG)
+            .and(Constants.FILTERED_TAG);
+    PCollectionTuple sourceWriteResults;
+    if (batchSize > 1 && Constants.SOURCE_MYSQL.equals(this.source)) {
+      sourceWriteResults =
+          input
+              .apply(
+                  "Batch records",
+                  GroupIntoBatches.<Long, TrimmedShardedDataChangeRecord>ofSize(batchSize)
+                      .withMaxBufferingDuration(MAX_BATCH_BUFFERING_DURATION))
+              .apply(
+                  "Write batches to sourcedb",
+                  ParDo.of(
+                          new SourceBatchWriterFn(
+                              this.shards,
+                              this.spannerConfig,
+                              this.sourceDbTimezoneOffset,
+                              this.sourceSchema,
+                              this.shadowTablePrefix,
+                              this.skipDirName,
+                              this.maxThreadPerDataflowWorker,
+                              this.source,
+                              this.customTransformation,
+                              this.ddlView,
+                              this.shadowTableDdlView,
+                              this.sessionFilePath,
+                              this.schemaOverridesFilePath,
+                              this.tableOverrides,
+                              this.columnOverrides))
+                      .withSideInputs(ddlView, shadowTableDdlView)
+                      .withOutputTags(Constants.SUCCESS_TAG, additionalOutputTags));
+    } else {
+      sourceWriteResults =
+          input.apply(
+              "Write to sourcedb",
+              ParDo.of(
+                      new SourceWriterFn(
+                          this.shards,
+                          this.spannerConfig,
+                          this.sourceDbTimezoneOffset,
+                          this.sourceSchema,
+                          this.shadowTablePrefix,
+                          this.skipDirName,
+                          this.maxThreadPerDataflowWorker,
+                          this.source,
+                          this.customTransformation,
+                          this.ddlView,
+                          this.shadowTableDdlView,
+                          this.sessionFilePath,
+                          this.schemaOverridesFilePath,
+                          this.tableOverrides,
+                          this.columnOverrides))
+                  .withSideInputs(ddlView, shadowTableDdlView)
+                  .withOutputTags(Constants.SUCCESS_TAG, additionalOutputTags));
+    }
 
     return Result.create(
         sourceWriteResults.get(Constants.SUCCESS_TAG),
@@ -20,8 +20,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -126,6 +129,9 @@ public class JdbcConnectionHelperTest {
         verify(capturedConfig).setMaximumPoolSize(10);
         verify(capturedConfig).setConnectionInitSql("SELECT 1");
         verify(capturedConfig).addDataSourceProperty("useSSL", "false");
+        verify(capturedConfig, never())
+            .addDataSourceProperty(eq("rewriteBatchedStatements"), any());
+        verify(capturedConfig, never()).addDataSourceProperty(eq("cachePrepStmts"), any());
 
         // Verify HikariDataSource was created with the config
         assertThat(mockedDsConstruction.constructed()).hasSize(1);
@@ -135,4 +141,36 @@ public class JdbcConnectionHelperTest {
       }
     }
   }
+
+  @Test
+  public void testInitConnectionPoolForBatchWrites() {
+    ConnectionHelperRequest mockRequest = mock(ConnectionHelperRequest.class);
+    Shard mockShard = mock(Shard.class);
+    when(mockShard.getHost()).thenReturn("localhost");
+    when(mockShard.getPort()).thenReturn("3306");
+    when(mockShard.getDbName()).thenReturn("testdb");
+    when(mockShard.getUserName()).thenReturn("testuser");
+    when(mockShard.getPassword()).thenReturn("testpassword");
+    when(mockShard.getConnectionProperties()).thenReturn("prepStmtCacheSize=100");
+
+    when(mockRequest.getShards()).thenReturn(Collections.singletonList(mockShard));
+    when(mockRequest.getDriver()).thenReturn("com.mysql.cj.jdbc.Driver");
+    when(mockRequest.getMaxConnections()).thenReturn(10);
+    when(mockRequest.isBatchWrites()).thenReturn(true);
+
+    try (MockedConstruction<HikariDataSource> mockedDsConstruction =
+        mockConstruction(HikariDataSource.class)) {
+      try (MockedConstruction<HikariConfig> mockedConfigConstruction =
+          mockConstruction(HikariConfig.class)) {
+        connectionHelper.init(mockRequest);
+
+        HikariConfig capturedConfig = mockedConfigConstruction.constructed().get(0);
+        verify(capturedConfig).addDataSourceProperty("rewriteBatchedStatements", "true");
+        verify(capturedConfig).addDataSourceProperty("cachePrepStmts", "true");
+        // Shard connection properties override the batch write defaults.
+        verify(capturedConfig).addDataSourceProperty("prepStmtCacheSize", "100");
+        verify(capturedConfig, never()).addDataSourceProperty("prepStmtCacheSize", "250");
+      }
+    }
+  }
 }
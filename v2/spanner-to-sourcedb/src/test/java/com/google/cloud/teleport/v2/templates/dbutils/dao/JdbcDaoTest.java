@@ -15,23 +15,35 @@
  */
 package com.google.cloud.teleport.v2.templates.dbutils.dao;
 
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.teleport.v2.templates.dbutils.connection.JdbcConnectionHelper;
 import com.google.cloud.teleport.v2.templates.dbutils.dao.source.JdbcDao;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.TransactionalCheck;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.TransactionalCheckException;
 import com.google.cloud.teleport.v2.templates.exceptions.ConnectionException;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementValueObject;
 import com.zaxxer.hikari.HikariDataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -68,4 +80,79 @@ public final class JdbcDaoTest {
     sqlDao.write("sql", null);
     verify(mockStatement).executeUpdate(eq("sql"));
   }
+
+  @Test
+  public void testWriteBatchGroupsConsecutiveStatements() throws Exception {
+    PreparedStatement mockUpsert = mock(PreparedStatement.class);
+    PreparedStatement mockDelete = mock(PreparedStatement.class);
+    when(mockConnection.prepareStatement("upsert")).thenReturn(mockUpsert);
+    when(mockConnection.prepareStatement("delete")).thenReturn(mockDelete);
+    Map<String, HikariDataSource> connectionPoolMap = new HashMap<>();
+    connectionPoolMap.put("url/user", mockHikariDataSource);
+    JdbcConnectionHelper jdbcConnectionHelper = new JdbcConnectionHelper();
+    jdbcConnectionHelper.setConnectionPoolMap(connectionPoolMap);
+    JdbcDao sqlDao = new JdbcDao("url", "user", jdbcConnectionHelper);
+    TransactionalCheck mockCheck = mock(TransactionalCheck.class);
+
+    sqlDao.writeBatch(
+        List.of(
+            new PreparedStatementGeneratedResponse(
+                "upsert", List.of(PreparedStatementValueObject.create("int", 1))),
+            new PreparedStatementGeneratedResponse(
+                "upsert", List.of(PreparedStatementValueObject.create("int", 2))),
+            new PreparedStatementGeneratedResponse(
+                "delete", List.of(PreparedStatementValueObject.create("int", 3))),
+            new PreparedStatementGeneratedResponse(
+                "upsert", List.of(PreparedStatementValueObject.create("int", 4)))),
+        mockCheck);
+
+    // Statements are only prepared once, and the pending batch is flushed whenever the SQL
+    // changes so that the writes are applied in order.
+    verify(mockConnection, times(1)).prepareStatement("upsert");
+    verify(mockConnection, times(1)).prepareStatement("delete");
+    InOrder inOrder = inOrder(mockUpsert, mockDelete, mockCheck, mockConnection);
+    inOrder.verify(mockUpsert).setObject(1, 1);
+    inOrder.verify(mockUpsert).addBatch();
+    inOrder.verify(mockUpsert).setObject(1, 2);
+    inOrder.verify(mockUpsert).addBatch();
+    inOrder.verify(mockUpsert).executeBatch();
+    inOrder.verify(mockDelete).setObject(1, 3);
+    inOrder.verify(mockDelete).addBatch();
+    inOrder.verify(mockDelete).executeBatch();
+    inOrder.verify(mockUpsert).setObject(1, 4);
+    inOrder.verify(mockUpsert).addBatch();
+    inOrder.verify(mockUpsert).executeBatch();
+    inOrder.verify(mockCheck).check();
+    inOrder.verify(mockConnection).commit();
+    verify(mockUpsert).close();
+    verify(mockDelete).close();
+    verify(mockConnection).close();
+  }
+
+  @Test
+  public void testWriteBatchDoesNotCommitWhenCheckFails() throws Exception {
+    PreparedStatement mockUpsert = mock(PreparedStatement.class);
+    when(mockConnection.prepareStatement("upsert")).thenReturn(mockUpsert);
+    Map<String, HikariDataSource> connectionPoolMap = new HashMap<>();
+    connectionPoolMap.put("url/user", mockHikariDataSource);
+    JdbcConnectionHelper jdbcConnectionHelper = new JdbcConnectionHelper();
+    jdbcConnectionHelper.setConnectionPoolMap(connectionPoolMap);
+    JdbcDao sqlDao = new JdbcDao("url", "user", jdbcConnectionHelper);
+
+    assertThrows(
+        TransactionalCheckException.class,
+        () ->
+            sqlDao.writeBatch(
+                List.of(
+                    new PreparedStatementGeneratedResponse(
+                        "upsert", List.of(PreparedStatementValueObject.create("int", 1)))),
+                () -> {
+                  throw new TransactionalCheckException("shadow table changed");
+                }));
+
+    verify(mockUpsert).executeBatch();
+    verify(mockConnection, never()).commit();
+    verify(mockUpsert).close();
+    verify(mockConnection).close();
+  }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.dbutils.dao;
+
+import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
+import com.google.cloud.teleport.v2.templates.dbutils.connection.JdbcConnectionHelper;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.JdbcDao;
+import com.google.cloud.teleport.v2.templates.models.ConnectionHelperRequest;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementValueObject;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * JMH benchmark of {@link JdbcDao#write} per record against {@link JdbcDao#writeBatch} for a batch
+ * of upserts to one table of a MySQL database.
+ *
+ * <p>MySQL runs in a local container started by Testcontainers, so Docker is required. Connections
+ * come from {@link JdbcConnectionHelper} configured for batched writes, as in the template. Those
+ * driver properties only change how batches are sent, so the per-record path is measured as it
+ * runs in production. The container is local, so the score understates the gain against a source
+ * database across a network. Each invocation writes {@link #BATCH_SIZE} records, so the
+ * throughput score is in records per second.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -pl v2/spanner-to-sourcedb -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.google.cloud.teleport.v2.templates.dbutils.dao.JdbcDaoWriteBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JdbcDaoWriteBenchmark {
+  private static final int BATCH_SIZE = 100;
+
+  private MySQLContainer<?> mysql;
+  private JdbcDao dao;
+  private List<String> literalStatements;
+  private List<PreparedStatementGeneratedResponse> preparedStatements;
+
+  @Setup
+  public void setup() throws Exception {
+    mysql = new MySQLContainer<>(DockerImageName.parse("mysql").withTag("8.0"));
+    mysql.start();
+    try (Connection connection =
+            DriverManager.getConnection(
+                mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE TABLE `Singers` (`SingerId` BIGINT PRIMARY KEY, `FirstName` VARCHAR(100),"
+              + " `LastName` VARCHAR(100))");
+    }
+
+    Shard shard =
+        new Shard(
+            "shard",
+            mysql.getHost(),
+            String.valueOf(mysql.getMappedPort(MySQLContainer.MYSQL_PORT)),
+            mysql.getUsername(),
+            mysql.getPassword(),
+            mysql.getDatabaseName(),
+            null,
+            null,
+            null);
+    JdbcConnectionHelper connectionHelper = new JdbcConnectionHelper();
+    connectionHelper.init(
+        new ConnectionHelperRequest(List.of(shard), null, 1, "com.mysql.cj.jdbc.Driver", null)
+            .withBatchWrites());
+    String sourceConnectionUrl =
+        "jdbc:mysql://" + shard.getHost() + ":" + shard.getPort() + "/" + shard.getDbName();
+    dao = new JdbcDao(sourceConnectionUrl, shard.getUserName(), connectionHelper);
+
+    literalStatements = new ArrayList<>();
+    preparedStatements = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      literalStatements.add(
+          "INSERT INTO `Singers`(`FirstName`,`LastName`,`SingerId`) VALUES ('first-"
+              + i
+              + "','last-"
+              + i
+              + "',"
+              + i
+              + ") ON DUPLICATE KEY UPDATE  `FirstName` = 'first-"
+              + i
+              + "', `LastName` = 'last-"
+              + i
+              + "', `SingerId` = "
+              + i);
+      preparedStatements.add(
+          new PreparedStatementGeneratedResponse(
+              "INSERT INTO `Singers`(`FirstName`,`LastName`,`SingerId`) VALUES (?,?,?) ON"
+                  + " DUPLICATE KEY UPDATE  `FirstName` = VALUES(`FirstName`), `LastName` ="
+                  + " VALUES(`LastName`), `SingerId` = VALUES(`SingerId`)",
+              List.of(
+                  PreparedStatementValueObject.create("varchar", "first-" + i),
+                  PreparedStatementValueObject.create("varchar", "last-" + i),
+                  PreparedStatementValueObject.create("bigint", new BigDecimal(i)))));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (mysql != null) {
+      mysql.stop();
+    }
+  }
+
+  /** Previous {@code SourceWriterFn} behavior: one transaction per record. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void perRecordWrites() throws Exception {
+    for (String statement : literalStatements) {
+      dao.write(statement, null);
+    }
+  }
+
+  /** {@code SourceBatchWriterFn} behavior: one transaction and one batch for all records. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void batchedWrites() throws Exception {
+    dao.writeBatch(preparedStatements, null);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(JdbcDaoWriteBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -32,12 +32,14 @@ import com.google.cloud.teleport.v2.templates.changestream.TrimmedShardedDataCha
 import com.google.cloud.teleport.v2.templates.exceptions.InvalidDMLGenerationException;
 import com.google.cloud.teleport.v2.templates.models.DMLGeneratorRequest;
 import com.google.cloud.teleport.v2.templates.models.DMLGeneratorResponse;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
 import com.google.cloud.teleport.v2.templates.utils.SchemaUtils;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.GsonBuilder;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -1491,4 +1493,214 @@ public final class MySQLDMLGeneratorTest {
     assertEquals(0, countInSQL(sql, "FirstName"));
     assertEquals(0, countInSQL(sql, "SingerId"));
   }
+
+  @Test
+  public void preparedUpsertStatement() {
+    String sessionFile = "src/test/resources/allMatchSession.json";
+    Ddl ddl = SchemaUtils.buildSpannerDdlFromSessionFile(sessionFile);
+    SourceSchema sourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(sessionFile);
+    ISchemaMapper schemaMapper = new SessionBasedMapper(sessionFile, ddl);
+
+    String tableName = "Singers";
+    String newValuesString = "{\"FirstName\":\"k'k\",\"LastName\":null}";
+    JSONObject newValuesJson = new JSONObject(newValuesString);
+    JSONObject keyValuesJson = new JSONObject("{\"SingerId\":\"999\"}");
+    String modType = "INSERT";
+
+    MySQLDMLGenerator mySQLDMLGenerator = new MySQLDMLGenerator();
+    PreparedStatementGeneratedResponse response =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    modType, tableName, newValuesJson, keyValuesJson, "+00:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .build());
+
+    assertEquals(
+        "INSERT INTO `Singers`(`FirstName`,`LastName`,`SingerId`) VALUES (?,?,?) ON DUPLICATE"
+            + " KEY UPDATE  `FirstName` = VALUES(`FirstName`), `LastName` = VALUES(`LastName`),"
+            + " `SingerId` = VALUES(`SingerId`)",
+        response.getDmlStatement());
+    assertThat(response.getValues().stream().map(v -> v.value()).toArray())
+        .asList()
+        .containsExactly("k'k", null, new BigDecimal("999"))
+        .inOrder();
+  }
+
+  @Test
+  public void preparedStatementTextIsStableAcrossRecords() {
+    String sessionFile = "src/test/resources/allMatchSession.json";
+    Ddl ddl = SchemaUtils.buildSpannerDdlFromSessionFile(sessionFile);
+    SourceSchema sourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(sessionFile);
+    ISchemaMapper schemaMapper = new SessionBasedMapper(sessionFile, ddl);
+    MySQLDMLGenerator mySQLDMLGenerator = new MySQLDMLGenerator();
+
+    PreparedStatementGeneratedResponse first =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    "INSERT",
+                    "Singers",
+                    new JSONObject("{\"FirstName\":\"a\",\"LastName\":\"b\"}"),
+                    new JSONObject("{\"SingerId\":\"1\"}"),
+                    "+00:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .build());
+    PreparedStatementGeneratedResponse second =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    "UPDATE",
+                    "Singers",
+                    new JSONObject("{\"FirstName\":\"c\",\"LastName\":\"d\"}"),
+                    new JSONObject("{\"SingerId\":\"2\"}"),
+                    "+00:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .build());
+
+    assertEquals(first.getDmlStatement(), second.getDmlStatement());
+  }
+
+  @Test
+  public void preparedCustomTransformationLiteralsAreBound() {
+    String sessionFile = "src/test/resources/customTransformation.json";
+    Ddl ddl = SchemaUtils.buildSpannerDdlFromSessionFile(sessionFile);
+    SourceSchema sourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(sessionFile);
+    ISchemaMapper schemaMapper = new SessionBasedMapper(sessionFile, ddl);
+    MySQLDMLGenerator mySQLDMLGenerator = new MySQLDMLGenerator();
+
+    Map<String, Object> firstTransformation = new HashMap<>();
+    firstTransformation.put("FullName", "'kk ll'");
+    firstTransformation.put("SingerId", "1");
+    PreparedStatementGeneratedResponse first =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    "INSERT",
+                    "Singers",
+                    new JSONObject("{\"FirstName\":\"kk\",\"LastName\":\"ll\"}"),
+                    new JSONObject("{\"SingerId\":\"999\"}"),
+                    "+00:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .setCustomTransformationResponse(firstTransformation)
+                .build());
+    Map<String, Object> secondTransformation = new HashMap<>();
+    secondTransformation.put("FullName", "NULL");
+    secondTransformation.put("SingerId", 2L);
+    PreparedStatementGeneratedResponse second =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    "INSERT",
+                    "Singers",
+                    new JSONObject("{\"FirstName\":\"mm\",\"LastName\":\"nn\"}"),
+                    new JSONObject("{\"SingerId\":\"998\"}"),
+                    "+00:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .setCustomTransformationResponse(secondTransformation)
+                .build());
+
+    assertEquals(first.getDmlStatement(), second.getDmlStatement());
+    assertThat(first.getValues().stream().map(v -> v.value()).toArray())
+        .asList()
+        .containsAtLeast("kk ll", new BigDecimal("1"));
+    assertThat(second.getValues().stream().map(v -> v.value()).toArray())
+        .asList()
+        .containsAtLeast(null, 2L);
+  }
+
+  @Test
+  public void preparedCustomTransformationExpressionIsInlined() {
+    String sessionFile = "src/test/resources/customTransformation.json";
+    Ddl ddl = SchemaUtils.buildSpannerDdlFromSessionFile(sessionFile);
+    SourceSchema sourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(sessionFile);
+    ISchemaMapper schemaMapper = new SessionBasedMapper(sessionFile, ddl);
+    Map<String, Object> customTransformation = new HashMap<>();
+    customTransformation.put("FullName", "CONCAT('kk', ' ', 'll')");
+    customTransformation.put("SingerId", "1");
+
+    PreparedStatementGeneratedResponse response =
+        new MySQLDMLGenerator()
+            .getPreparedDMLStatement(
+                new DMLGeneratorRequest.Builder(
+                        "INSERT",
+                        "Singers",
+                        new JSONObject("{\"FirstName\":\"kk\",\"LastName\":\"ll\"}"),
+                        new JSONObject("{\"SingerId\":\"999\"}"),
+                        "+00:00")
+                    .setSchemaMapper(schemaMapper)
+                    .setDdl(ddl)
+                    .setSourceSchema(sourceSchema)
+                    .setCustomTransformationResponse(customTransformation)
+                    .build());
+
+    assertTrue(response.getDmlStatement().contains("CONCAT('kk', ' ', 'll')"));
+  }
+
+  @Test
+  public void preparedDeleteMultiplePKColumns() {
+    String sessionFile = "src/test/resources/MultiColmPKSession.json";
+    Ddl ddl = SchemaUtils.buildSpannerDdlFromSessionFile(sessionFile);
+    SourceSchema sourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(sessionFile);
+    ISchemaMapper schemaMapper = new SessionBasedMapper(sessionFile, ddl);
+
+    String tableName = "Singers";
+    String newValuesString = "{\"LastName\":null}";
+    JSONObject newValuesJson = new JSONObject(newValuesString);
+    JSONObject keyValuesJson = new JSONObject("{\"SingerId\":\"999\",\"FirstName\":\"kk\"}");
+    String modType = "DELETE";
+
+    MySQLDMLGenerator mySQLDMLGenerator = new MySQLDMLGenerator();
+    PreparedStatementGeneratedResponse response =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    modType, tableName, newValuesJson, keyValuesJson, "+00:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .build());
+
+    assertEquals(
+        "DELETE FROM `Singers` WHERE  `FirstName` = ? AND  `SingerId` = ?",
+        response.getDmlStatement());
+    assertThat(response.getValues().stream().map(v -> v.value()).toArray())
+        .asList()
+        .containsExactly("kk", new BigDecimal("999"))
+        .inOrder();
+  }
+
+  @Test
+  public void preparedTimezoneOffset() {
+    String sessionFile = "src/test/resources/timeZoneSession.json";
+    Ddl ddl = SchemaUtils.buildSpannerDdlFromSessionFile(sessionFile);
+    SourceSchema sourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(sessionFile);
+    ISchemaMapper schemaMapper = new SessionBasedMapper(sessionFile, ddl);
+
+    String tableName = "Singers";
+    String newValuesString = "{\"Bday\":\"2023-05-18T12:01:13.088397258Z\"}";
+    JSONObject newValuesJson = new JSONObject(newValuesString);
+    JSONObject keyValuesJson = new JSONObject("{\"SingerId\":\"999\"}");
+    String modType = "INSERT";
+
+    MySQLDMLGenerator mySQLDMLGenerator = new MySQLDMLGenerator();
+    PreparedStatementGeneratedResponse response =
+        mySQLDMLGenerator.getPreparedDMLStatement(
+            new DMLGeneratorRequest.Builder(
+                    modType, tableName, newValuesJson, keyValuesJson, "+10:00")
+                .setSchemaMapper(schemaMapper)
+                .setDdl(ddl)
+                .setSourceSchema(sourceSchema)
+                .build());
+
+    assertTrue(response.getDmlStatement().contains("VALUES ( CONVERT_TZ(?,'+00:00',?),?)"));
+    assertThat(response.getValues().stream().map(v -> v.value()).toArray())
+        .asList()
+        .containsExactly("2023-05-18T12:01:13.088397258", "+10:00", new BigDecimal("999"))
+        .inOrder();
+  }
 }
@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.Options.RpcPriority;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.TransactionRunner;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
+import com.google.cloud.teleport.v2.spanner.sourceddl.SourceSchema;
+import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResponse;
+import com.google.cloud.teleport.v2.templates.changestream.TrimmedShardedDataChangeRecord;
+import com.google.cloud.teleport.v2.templates.constants.Constants;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.IDao;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.source.JdbcDao;
+import com.google.cloud.teleport.v2.templates.dbutils.dao.spanner.SpannerDao;
+import com.google.cloud.teleport.v2.templates.dbutils.dml.MySQLDMLGenerator;
+import com.google.cloud.teleport.v2.templates.dbutils.processor.SourceProcessor;
+import com.google.cloud.teleport.v2.templates.models.PreparedStatementGeneratedResponse;
+import com.google.cloud.teleport.v2.templates.utils.SchemaUtils;
+import com.google.cloud.teleport.v2.templates.utils.ShadowTableRecord;
+import com.google.common.collect.ImmutableList;
+import java.util.HashMap;
+import java.util.List;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.Mod;
+import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.ModType;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(JUnit4.class)
+public class SourceBatchWriterFnTest {
+  private static final String SESSION_FILE = "src/test/resources/sourceWriterUTSession.json";
+
+  @Rule public final MockitoRule mocktio = MockitoJUnit.rule();
+  @Mock private JdbcDao mockSqlDao;
+  @Mock private SpannerDao mockSpannerDao;
+  @Mock private DatabaseClient mockDatabaseClient;
+  @Mock private TransactionRunner mockTransactionRunner;
+  @Mock HashMap<String, IDao> mockDaoMap;
+  @Mock private SpannerConfig mockSpannerConfig;
+  @Mock private DoFn.ProcessContext processContext;
+  @Mock private PCollectionView<Ddl> mockDdlView;
+  @Mock private PCollectionView<Ddl> mockShadowTableDdlView;
+  @Mock private ISpannerMigrationTransformer mockSpannerToSourceTransformer;
+
+  private Shard testShard;
+  private SourceSchema testSourceSchema;
+
+  @Before
+  public void doBeforeEachTest() throws Exception {
+    when(mockDaoMap.get(any())).thenReturn(mockSqlDao);
+    when(mockSpannerDao.getDatabaseClient()).thenReturn(mockDatabaseClient);
+    when(mockDatabaseClient.readWriteTransaction(any())).thenReturn(mockTransactionRunner);
+    when(mockTransactionRunner.run(any(TransactionRunner.TransactionCallable.class)))
+        .thenAnswer(
+            invocation -> {
+              TransactionRunner.TransactionCallable<?> callable = invocation.getArgument(0);
+              try {
+                return callable.run(null);
+              } catch (Exception e) {
+                throw SpannerExceptionFactory.newSpannerException(
+                    ErrorCode.UNKNOWN, e.getMessage(), e);
+              }
+            });
+    when(mockSpannerDao.readShadowTableRecordWithExclusiveLock(
+            eq("shadow_parent1"), any(), any(), any()))
+        .thenReturn(null);
+    when(mockSpannerDao.readShadowTableRecordWithExclusiveLock(
+            eq("shadow_child11"), any(), any(), any()))
+        .thenReturn(new ShadowTableRecord(Timestamp.parseTimestamp("2025-02-02T00:00:00Z"), 1));
+    when(mockSpannerConfig.getRpcPriority())
+        .thenReturn(ValueProvider.StaticValueProvider.of(RpcPriority.HIGH));
+    doNothing().when(mockSpannerDao).updateShadowTable(any(), any());
+
+    testShard = new Shard();
+    testShard.setLogicalShardId("shardA");
+    testShard.setUser("test");
+    testShard.setHost("test");
+    testShard.setPassword("test");
+    testShard.setPort("1234");
+    testShard.setDbName("test");
+    testSourceSchema = SchemaUtils.buildSourceSchemaFromSessionFile(SESSION_FILE);
+
+    when(processContext.sideInput(mockDdlView))
+        .thenReturn(SchemaUtils.buildSpannerDdlFromSessionFile(SESSION_FILE));
+    when(processContext.sideInput(mockShadowTableDdlView))
+        .thenReturn(SchemaUtils.buildSpannerShadowTableDdlFromSessionFile(SESSION_FILE));
+  }
+
+  @Test
+  public void testCoalescesRecordsPerPrimaryKey() throws Exception {
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("42", "2020-12-01T10:15:32.000Z"),
+                    getParent1Record("42", "2020-12-01T10:15:30.000Z"),
+                    getParent1Record("43", "2020-12-01T10:15:31.000Z"),
+                    getParent1Record("42", "2020-12-01T10:15:31.000Z"))));
+
+    getSourceBatchWriterFn().processElement(processContext);
+
+    ArgumentCaptor<List<PreparedStatementGeneratedResponse>> statements =
+        ArgumentCaptor.forClass(List.class);
+    verify(mockSqlDao, times(1)).writeBatch(statements.capture(), any());
+    // One statement per primary key, in the order of their last change.
+    assertThat(statements.getValue()).hasSize(2);
+    assertThat(statements.getValue().get(0).getValues().get(0).value().toString())
+        .isEqualTo("43");
+    assertThat(statements.getValue().get(1).getValues().get(0).value().toString())
+        .isEqualTo("42");
+    verify(mockSpannerDao, times(2)).updateShadowTable(any(), any());
+    verify(processContext, times(4)).output(eq(Constants.SUCCESS_TAG), any());
+  }
+
+  @Test
+  public void testDoesNotCoalesceAcrossTables() throws Exception {
+    TrimmedShardedDataChangeRecord childRecord =
+        new TrimmedShardedDataChangeRecord(
+            Timestamp.parseTimestamp("2020-12-01T10:15:31.000Z"),
+            "serverTxnId",
+            "0",
+            "child11",
+            new Mod(
+                "{\"child_id\": \"42\" , \"parent_id\": \"42\"}",
+                "{}",
+                "{ \"migration_shard_id\": \"shardA\"}"),
+            ModType.valueOf("INSERT"),
+            1,
+            "");
+    childRecord.setShard("shardA");
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("42", "2020-12-01T10:15:30.000Z"),
+                    childRecord,
+                    getParent1Record("42", "2020-12-01T10:15:32.000Z"))));
+
+    getSourceBatchWriterFn().processElement(processContext);
+
+    ArgumentCaptor<List<PreparedStatementGeneratedResponse>> statements =
+        ArgumentCaptor.forClass(List.class);
+    verify(mockSqlDao, times(1)).writeBatch(statements.capture(), any());
+    // The source is already ahead for the child record so it is not written, but both parent
+    // records are written since a change to another table separates them.
+    assertThat(statements.getValue()).hasSize(2);
+    verify(mockSpannerDao, times(2)).updateShadowTable(any(), any());
+    verify(processContext, times(3)).output(eq(Constants.SUCCESS_TAG), any());
+  }
+
+  @Test
+  public void testFilteredRecordDoesNotSupersedeEarlierRecords() throws Exception {
+    // The first record of the key is kept, the later one is filtered by the custom transformation.
+    when(mockSpannerToSourceTransformer.toSourceRow(any()))
+        .thenReturn(new MigrationTransformationResponse(null, false))
+        .thenReturn(new MigrationTransformationResponse(null, true));
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("42", "2020-12-01T10:15:30.000Z"),
+                    getParent1Record("42", "2020-12-01T10:15:31.000Z"))));
+
+    SourceBatchWriterFn sourceBatchWriterFn = getSourceBatchWriterFn();
+    sourceBatchWriterFn.setSpannerToSourceTransformer(mockSpannerToSourceTransformer);
+    sourceBatchWriterFn.processElement(processContext);
+
+    ArgumentCaptor<List<PreparedStatementGeneratedResponse>> statements =
+        ArgumentCaptor.forClass(List.class);
+    verify(mockSqlDao, times(1)).writeBatch(statements.capture(), any());
+    assertThat(statements.getValue()).hasSize(1);
+    verify(mockSpannerDao, times(1)).updateShadowTable(any(), any());
+    verify(processContext, times(1)).output(eq(Constants.FILTERED_TAG), any());
+    verify(processContext, times(2)).output(eq(Constants.SUCCESS_TAG), any());
+  }
+
+  @Test
+  public void testSourceIsAhead() throws Exception {
+    TrimmedShardedDataChangeRecord record =
+        new TrimmedShardedDataChangeRecord(
+            Timestamp.parseTimestamp("2024-12-01T10:15:30.000Z"),
+            "serverTxnId",
+            "0",
+            "child11",
+            new Mod(
+                "{\"child_id\": \"42\" , \"parent_id\": \"42\"}",
+                "{}",
+                "{ \"migration_shard_id\": \"shardA\"}"),
+            ModType.valueOf("INSERT"),
+            1,
+            "");
+    record.setShard("shardA");
+    when(processContext.element()).thenReturn(KV.of(1L, ImmutableList.of(record)));
+
+    getSourceBatchWriterFn().processElement(processContext);
+
+    verify(mockSqlDao, never()).writeBatch(any(), any());
+    verify(mockSpannerDao, never()).updateShadowTable(any(), any());
+    verify(processContext, times(1)).output(eq(Constants.SUCCESS_TAG), any());
+  }
+
+  @Test
+  public void testFailedBatchIsRetriedPerRecord() throws Exception {
+    doThrow(new java.sql.SQLIntegrityConstraintViolationException("constraint fails"))
+        .doNothing()
+        .when(mockSqlDao)
+        .writeBatch(any(), any());
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("42", "2020-12-01T10:15:30.000Z"),
+                    getParent1Record("43", "2020-12-01T10:15:31.000Z"))));
+
+    getSourceBatchWriterFn().processElement(processContext);
+
+    verify(mockSqlDao, times(3)).writeBatch(any(), any());
+    verify(processContext, times(2)).output(eq(Constants.SUCCESS_TAG), any());
+    verify(processContext, never()).output(eq(Constants.PERMANENT_ERROR_TAG), any());
+  }
+
+  @Test
+  public void testNoShard() throws Exception {
+    TrimmedShardedDataChangeRecord record = getParent1Record("42", "2020-12-01T10:15:30.000Z");
+    record.setShard(null);
+    when(processContext.element()).thenReturn(KV.of(1L, ImmutableList.of(record)));
+
+    getSourceBatchWriterFn().processElement(processContext);
+
+    verify(mockSqlDao, never()).writeBatch(any(), any());
+    verify(processContext, times(1)).output(eq(Constants.PERMANENT_ERROR_TAG), any());
+  }
+
+  private SourceBatchWriterFn getSourceBatchWriterFn() {
+    SourceBatchWriterFn sourceBatchWriterFn =
+        new SourceBatchWriterFn(
+            ImmutableList.of(testShard),
+            mockSpannerConfig,
+            "+00:00",
+            testSourceSchema,
+            "shadow_",
+            "skip",
+            500,
+            "mysql",
+            null,
+            mockDdlView,
+            mockShadowTableDdlView,
+            SESSION_FILE,
+            "",
+            "",
+            "");
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    sourceBatchWriterFn.setObjectMapper(mapper);
+    sourceBatchWriterFn.setSpannerDao(mockSpannerDao);
+    sourceBatchWriterFn.setSourceProcessor(
+        SourceProcessor.builder()
+            .dmlGenerator(new MySQLDMLGenerator())
+            .sourceDaoMap(mockDaoMap)
+            .build());
+    return sourceBatchWriterFn;
+  }
+
+  private TrimmedShardedDataChangeRecord getParent1Record(String id, String commitTimestamp) {
+    TrimmedShardedDataChangeRecord record =
+        new TrimmedShardedDataChangeRecord(
+            Timestamp.parseTimestamp(commitTimestamp),
+            "serverTxnId",
+            "0",
+            "parent1",
+            new Mod("{\"id\": \"" + id + "\"}", "{}", "{ \"migration_shard_id\": \"shardA\"}"),
+            ModType.valueOf("INSERT"),
+            1,
+            "");
+    record.setShard("shardA");
+    return record;
+  }
+}